@@ -28,6 +28,7 @@ import android.content.ComponentName;
 import android.content.Context;
 import android.content.Intent;
 import android.content.ServiceConnection;
+import android.os.Bundle;
 import android.os.Handler;
 import android.os.IBinder;
 import android.os.Message;
@@ -37,6 +38,7 @@ import android.os.RemoteException;
 import com.orbekk.same.ClientInterface;
 import com.orbekk.same.ConnectionState;
 import com.orbekk.same.ConnectionStateListener;
+import com.orbekk.same.Operation;
 import com.orbekk.same.State;
 import com.orbekk.same.State.Component;
 import com.orbekk.same.StateChangedListener;
@@ -70,8 +72,12 @@ public class ClientInterfaceBridge implements ClientInterface {
                 int statusCode = message.getData().getInt("statusCode");
                 String statusMessage = message.getData().getString("statusMessage");
                 DelayedOperation.Status status =
+                        statusCode == DelayedOperation.Status.OVERLOADED ?
+                        DelayedOperation.Status.createOverloaded(statusMessage,
+                                message.getData().getLong("retryAfterMillis")) :
                         new DelayedOperation.Status(statusCode, statusMessage);
-                completeOperation(operationNumber, status);
+                completeOperation(operationNumber, status,
+                        message.getData().getLong("revision"));
                 break;
             default:
                 logger.warn("Received unknown message from service: {}",
@@ -109,8 +115,7 @@ public class ClientInterfaceBridge implements ClientInterface {
     };
     
     private void updateState(State.Component component) {
-        state.forceUpdate(component.getName(), component.getData(),
-                component.getRevision());
+        state.forceUpdate(component);
         for (StateChangedListener listener : listeners) {
             listener.stateChanged(component);
         }
@@ -126,8 +131,14 @@ public class ClientInterfaceBridge implements ClientInterface {
     
     private synchronized void completeOperation(int operationNumber,
         DelayedOperation.Status status) {
+        completeOperation(operationNumber, status, 0);
+    }
+
+    private synchronized void completeOperation(int operationNumber,
+            DelayedOperation.Status status, long revision) {
         DelayedOperation op = ongoingOperations.remove(operationNumber);
         if (op != null) {
+            op.setRevision(revision);
             op.complete(status);
         }
     }
@@ -168,16 +179,67 @@ public class ClientInterfaceBridge implements ClientInterface {
 
     @Override
     public synchronized DelayedOperation set(Component component) {
+        return sendOperation(SameService.SET_STATE,
+                new ComponentBundle(component).getBundle());
+    }
+    
+    @Override
+    public synchronized DelayedOperation setAll(List<Component> components) {
+        ArrayList<Bundle> bundles = new ArrayList<Bundle>();
+        for (Component component : components) {
+            bundles.add(new ComponentBundle(component).getBundle());
+        }
+        Bundle data = new Bundle();
+        data.putParcelableArrayList("components", bundles);
+        return sendOperation(SameService.SET_STATES, data);
+    }
+
+    @Override
+    public synchronized DelayedOperation merge(Component delta,
+            String crdtType) {
+        Bundle data = new ComponentBundle(delta).getBundle();
+        data.putString("crdtType", crdtType);
+        return sendOperation(SameService.MERGE, data);
+    }
+
+    @Override
+    public synchronized DelayedOperation apply(String id,
+            Operation operation) {
+        Bundle data = new Bundle();
+        data.putByteArray("operation", operation.toRequest(id).toByteArray());
+        return sendOperation(SameService.APPLY, data);
+    }
+
+    @Override
+    public synchronized DelayedOperation subscribe(String id) {
+        Bundle data = new Bundle();
+        data.putString("id", id);
+        return sendOperation(SameService.SUBSCRIBE, data);
+    }
+
+    @Override
+    public synchronized DelayedOperation subscribePrefix(String prefix) {
+        Bundle data = new Bundle();
+        data.putString("prefix", prefix);
+        return sendOperation(SameService.SUBSCRIBE_PREFIX, data);
+    }
+
+    /**
+     * Sends an operation to the service, or queues it until connected. The
+     * service answers with OPERATION_STATUS_CALLBACK.
+     */
+    private synchronized DelayedOperation sendOperation(int what,
+            Bundle data) {
         DelayedOperation op = createOperation();
-        Message message = Message.obtain(null, SameService.SET_STATE);
+        Message message = Message.obtain(null, what);
         message.arg1 = op.getIdentifier();
-        message.setData(new ComponentBundle(component).getBundle());
+        message.setData(data);
         message.replyTo = responseMessenger;
         pendingOperations.add(message);
         sendPendingOperations();
         return op;
     }
-    
+
     private synchronized void sendPendingOperations() {
         if (serviceMessenger == null) {
             logger.warn("Not connected to service. Delaying operations {}",
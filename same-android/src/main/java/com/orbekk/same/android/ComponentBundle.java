@@ -35,7 +35,8 @@ public class ComponentBundle {
         if (bundle == null) {
             bundle = new Bundle();
             bundle.putString("identifier", component.getName());
-            bundle.putString("data", component.getData());
+            bundle.putInt("codec", component.getCodec());
+            bundle.putByteArray("value", component.getValue());
             bundle.putLong("revision", component.getRevision());
         }
     }
@@ -43,9 +44,10 @@ public class ComponentBundle {
     private void makeComponent() {
         if (component == null) {
             String name = bundle.getString("identifier");
-            String data = bundle.getString("data");
+            int codec = bundle.getInt("codec");
+            byte[] value = bundle.getByteArray("value");
             long revision = bundle.getLong("revision");
-            component = new State.Component(name, revision, data);
+            component = new State.Component(name, revision, codec, value);
         }
     }
     
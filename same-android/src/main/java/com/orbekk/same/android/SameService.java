@@ -25,6 +25,7 @@ import org.slf4j.LoggerFactory;
 
 import android.app.Service;
 import android.content.Intent;
+import android.os.Bundle;
 import android.os.Handler;
 import android.os.IBinder;
 import android.os.Message;
@@ -32,8 +33,11 @@ import android.os.Messenger;
 import android.os.RemoteException;
 import android.widget.Toast;
 
+import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.RpcCallback;
 import com.orbekk.protobuf.Rpc;
+import com.orbekk.same.ClientInterface;
+import com.orbekk.same.Operation;
 import com.orbekk.same.SameController;
 import com.orbekk.same.Services;
 import com.orbekk.same.Services.MasterState;
@@ -68,13 +72,45 @@ public class SameService extends Service {
     
     /**
      * arg1: Operation number.
-     * arg2: Status code.
-     * obj: Status message.
+     * data.statusCode: Status code.
+     * data.statusMessage: Status message.
+     * data.retryAfterMillis: The retry time of an overloaded operation.
+     * data.revision: The revision of a successful update.
      */
     public final static int OPERATION_STATUS_CALLBACK = 9;
 
     public final static int KILL_MASTER = 10;
 
+    /**
+     * arg1: Operation number.
+     * data.components: Bundles created with ComponentBundle.
+     */
+    public final static int SET_STATES = 11;
+
+    /**
+     * arg1: Operation number.
+     * bundle: A Bundle created with ComponentBundle, and crdtType.
+     */
+    public final static int MERGE = 12;
+
+    /**
+     * arg1: Operation number.
+     * data.operation: A serialized Services.OperationRequest.
+     */
+    public final static int APPLY = 13;
+
+    /**
+     * arg1: Operation number.
+     * data.id: The component to subscribe to.
+     */
+    public final static int SUBSCRIBE = 14;
+
+    /**
+     * arg1: Operation number.
+     * data.prefix: The prefix of the components to subscribe to.
+     */
+    public final static int SUBSCRIBE_PREFIX = 15;
+
     public final static int PPORT = 15070;
     public final static int SERVICE_PORT = 15068;
     
@@ -126,6 +162,51 @@ public class SameService extends Service {
                             .set(updatedComponent);
                     operationStatusCallback(op, id, message.replyTo);
                     break;
+                case SET_STATES:
+                    List<Component> components = new ArrayList<Component>();
+                    for (Bundle bundle : message.getData()
+                            .<Bundle>getParcelableArrayList("components")) {
+                        components.add(
+                                new ComponentBundle(bundle).getComponent());
+                    }
+                    operationStatusCallback(getInterface().setAll(components),
+                            message.arg1, message.replyTo);
+                    break;
+                case MERGE:
+                    Component delta =
+                            new ComponentBundle(message.getData()).getComponent();
+                    String crdtType = message.getData().getString("crdtType");
+                    operationStatusCallback(
+                            getInterface().merge(delta, crdtType),
+                            message.arg1, message.replyTo);
+                    break;
+                case APPLY:
+                    DelayedOperation applied;
+                    try {
+                        Services.OperationRequest request =
+                                Services.OperationRequest.parseFrom(
+                                        message.getData()
+                                                .getByteArray("operation"));
+                        applied = getInterface().apply(request.getId(),
+                                Operation.fromRequest(request));
+                    } catch (InvalidProtocolBufferException e) {
+                        applied = new DelayedOperation();
+                        applied.complete(DelayedOperation.Status.createError(
+                                "Invalid operation: " + e.getMessage()));
+                    }
+                    operationStatusCallback(applied, message.arg1,
+                            message.replyTo);
+                    break;
+                case SUBSCRIBE:
+                    operationStatusCallback(getInterface().subscribe(
+                            message.getData().getString("id")),
+                            message.arg1, message.replyTo);
+                    break;
+                case SUBSCRIBE_PREFIX:
+                    operationStatusCallback(getInterface().subscribePrefix(
+                            message.getData().getString("prefix")),
+                            message.arg1, message.replyTo);
+                    break;
                 case KILL_MASTER:
                     logger.info("Kill master.");
                     sameController.killMaster();
@@ -137,6 +218,10 @@ public class SameService extends Service {
     
     private final Messenger messenger = new Messenger(new InterfaceHandler());
 
+    private ClientInterface getInterface() {
+        return sameController.getClient().getInterface();
+    }
+
     private StateChangedListener stateListener = new StateChangedListener() {
         @Override
         public void stateChanged(Component component) {
@@ -166,6 +251,9 @@ public class SameService extends Service {
             message.arg1 = id;
             message.getData().putInt("statusCode", op.getStatus().getStatusCode());
             message.getData().putString("statusMessage", op.getStatus().getMessage());
+            message.getData().putLong("retryAfterMillis",
+                    op.getStatus().getRetryAfterMillis());
+            message.getData().putLong("revision", op.getRevision());
             try {
                 replyTo.send(message);
             } catch (RemoteException e) {
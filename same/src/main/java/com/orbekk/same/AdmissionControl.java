@@ -0,0 +1,282 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Admission control for the updates to the master.
+ * 
+ * Each origin (the participant that sent an update) has a token bucket
+ * that limits its rate of updates. Admitted updates then wait for one of
+ * 'maxConcurrent' slots in the update path. The slots are granted in
+ * weighted fair queuing order: each update gets a virtual finish time of
+ * max(virtual time, the origin's last finish time) + 1 / weight, and the
+ * waiting update with the earliest finish time goes first. An origin that
+ * floods the master only delays its own updates.
+ * 
+ * No thread waits for a slot. An update that cannot run at once is queued
+ * and later run by the executor when a slot is released.
+ * 
+ * An update is rejected with a retry-after time if its origin is out of
+ * tokens, or if 'maxQueuedPerOrigin' of its updates are already waiting.
+ * 
+ * Origins that are idle and in the same state as a new origin are
+ * forgotten, so that the number of origins stays bounded by the number of
+ * recent senders.
+ */
+public class AdmissionControl {
+    /** The update is running or queued. */
+    public static final long ADMITTED = 0;
+    /** How often admit() looks for idle origins. */
+    private static final long EVICT_INTERVAL_NANOS = 1000000000L;
+    private final Executor executor;
+    private final double ratePerSecond;
+    private final double burst;
+    private final int maxConcurrent;
+    private final int maxQueuedPerOrigin;
+    private final Map<String, Origin> origins = new TreeMap<String, Origin>();
+    private final PriorityQueue<Waiter> waiters = new PriorityQueue<Waiter>();
+    private int active = 0;
+    private double virtualTime = 0;
+    private long sequence = 0;
+    /** Moving average of the time an update holds a slot. */
+    private double serviceNanos = 0;
+    private long lastEviction = System.nanoTime();
+
+    private static class Origin {
+        double weight = 1.0;
+        double tokens;
+        long lastRefill;
+        double lastFinish = 0;
+        int queued = 0;
+        long accepted = 0;
+        long rejected = 0;
+
+        Origin(double tokens, long now) {
+            this.tokens = tokens;
+            this.lastRefill = now;
+        }
+    }
+
+    private static class Waiter implements Comparable<Waiter> {
+        final Origin origin;
+        final double start;
+        final double finish;
+        final long sequence;
+        final Runnable update;
+
+        Waiter(Origin origin, double start, double finish, long sequence,
+                Runnable update) {
+            this.origin = origin;
+            this.start = start;
+            this.finish = finish;
+            this.sequence = sequence;
+            this.update = update;
+        }
+
+        @Override public int compareTo(Waiter other) {
+            if (finish != other.finish) {
+                return finish < other.finish ? -1 : 1;
+            }
+            return sequence < other.sequence ? -1 :
+                    (sequence == other.sequence ? 0 : 1);
+        }
+    }
+
+    /**
+     * @param ratePerSecond the sustained rate of updates from an origin,
+     *      or 0 for no limit.
+     * @param burst the number of updates an origin can send at once.
+     * @param maxConcurrent the number of updates in the update path.
+     * @param maxQueuedPerOrigin the number of updates from an origin that
+     *      may wait for a slot.
+     * @param executor runs the queued updates.
+     */
+    public AdmissionControl(double ratePerSecond, int burst,
+            int maxConcurrent, int maxQueuedPerOrigin, Executor executor) {
+        this.executor = executor;
+        this.ratePerSecond = ratePerSecond;
+        this.burst = burst;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueuedPerOrigin = maxQueuedPerOrigin;
+    }
+
+    private Origin getOrigin(String name, long now) {
+        Origin origin = origins.get(name);
+        if (origin == null) {
+            origin = new Origin(burst, now);
+            origins.put(name, origin);
+        }
+        return origin;
+    }
+
+    /**
+     * Forgets the origins that behave like a new origin: they have no
+     * waiting updates, a full token bucket and the default weight. An
+     * origin that comes back gets at most one update ahead of its fair
+     * share.
+     */
+    synchronized void evictIdle(long now) {
+        lastEviction = now;
+        Iterator<Origin> it = origins.values().iterator();
+        while (it.hasNext()) {
+            Origin origin = it.next();
+            if (origin.queued > 0 || origin.weight != 1.0) {
+                continue;
+            }
+            if (ratePerSecond > 0) {
+                refill(origin, now);
+                if (origin.tokens < burst) {
+                    continue;
+                }
+            }
+            it.remove();
+        }
+    }
+
+    private void refill(Origin origin, long now) {
+        double elapsed = (now - origin.lastRefill) / 1e9;
+        origin.tokens = Math.min(burst,
+                origin.tokens + elapsed * ratePerSecond);
+        origin.lastRefill = now;
+    }
+
+    /**
+     * Runs 'update' from 'originName' when it gets a slot: at once in the
+     * calling thread if a slot is free, otherwise in the executor. The
+     * update must call release() when it is done.
+     * 
+     * @return ADMITTED, or the number of milliseconds to wait before
+     *      retrying if the update was rejected and will not run.
+     */
+    public long admit(String originName, Runnable update) {
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (now - lastEviction > EVICT_INTERVAL_NANOS) {
+                evictIdle(now);
+            }
+            Origin origin = getOrigin(originName, now);
+            if (ratePerSecond > 0) {
+                refill(origin, now);
+                if (origin.tokens < 1.0) {
+                    origin.rejected += 1;
+                    return Math.max(1, (long)Math.ceil(
+                            (1.0 - origin.tokens) / ratePerSecond * 1000));
+                }
+            }
+            if (origin.queued >= maxQueuedPerOrigin) {
+                origin.rejected += 1;
+                // About the time until the queued updates are done.
+                double waitNanos = serviceNanos * origin.queued / maxConcurrent;
+                return Math.max(1, (long)Math.ceil(waitNanos / 1e6));
+            }
+            if (ratePerSecond > 0) {
+                origin.tokens -= 1.0;
+            }
+            double start = Math.max(virtualTime, origin.lastFinish);
+            double finish = start + 1.0 / origin.weight;
+            origin.lastFinish = finish;
+            origin.accepted += 1;
+            if (active >= maxConcurrent || !waiters.isEmpty()) {
+                waiters.add(new Waiter(origin, start, finish, sequence++,
+                        update));
+                origin.queued += 1;
+                return ADMITTED;
+            }
+            active += 1;
+            virtualTime = start;
+        }
+        update.run();
+        return ADMITTED;
+    }
+
+    /**
+     * Gives up the slot of an admitted update that held it since
+     * 'startNanos' (from System.nanoTime()), or 0 if unknown.
+     */
+    public void release(long startNanos) {
+        Waiter next;
+        synchronized (this) {
+            if (startNanos > 0) {
+                long elapsed = System.nanoTime() - startNanos;
+                serviceNanos = serviceNanos == 0 ? elapsed :
+                        0.9 * serviceNanos + 0.1 * elapsed;
+            }
+            next = waiters.poll();
+            if (next == null) {
+                active -= 1;
+                return;
+            }
+            next.origin.queued -= 1;
+            virtualTime = next.start;
+        }
+        executor.execute(next.update);
+    }
+
+    /**
+     * Sets the share of the update path that 'originName' gets when
+     * updates wait for it, relative to the default weight 1.
+     */
+    public synchronized void setWeight(String originName, double weight) {
+        getOrigin(originName, System.nanoTime()).weight = weight;
+    }
+
+    /** Forgets an origin that has no waiting updates. */
+    public synchronized void remove(String originName) {
+        Origin origin = origins.get(originName);
+        if (origin != null && origin.queued == 0) {
+            origins.remove(originName);
+        }
+    }
+
+    /** Returns the number of origins with a bucket. */
+    public synchronized int getOrigins() {
+        return origins.size();
+    }
+
+    public synchronized int getQueued(String originName) {
+        Origin origin = origins.get(originName);
+        return origin == null ? 0 : origin.queued;
+    }
+
+    public synchronized long getRejected(String originName) {
+        Origin origin = origins.get(originName);
+        return origin == null ? 0 : origin.rejected;
+    }
+
+    /** Returns a line with the statistics of each origin. */
+    public synchronized List<String> getStats() {
+        List<String> stats = new ArrayList<String>();
+        for (Map.Entry<String, Origin> entry : origins.entrySet()) {
+            Origin origin = entry.getValue();
+            long total = origin.accepted + origin.rejected;
+            stats.add(String.format("admission %s: accepted=%d, " +
+                    "rejected=%d, acceptance=%.1f%%, queued=%d, weight=%.1f",
+                    entry.getKey().isEmpty() ? "(unknown)" : entry.getKey(),
+                    origin.accepted, origin.rejected,
+                    total == 0 ? 100.0 : 100.0 * origin.accepted / total,
+                    origin.queued, origin.weight));
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,183 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.orbekk.same.State.Component;
+
+/**
+ * A bounded log of component updates ordered by revision.
+ *
+ * The log lets a peer that is only slightly behind catch up by receiving
+ * the components that changed after its revision instead of the full state.
+ * When older entries have been evicted, getChangesSince()
+ * returns null and the caller must fall back to a full snapshot.
+ */
+public class ChangeLog implements StateChangedListener {
+    private final int capacity;
+    /**
+     * The components of a transaction share a revision, so entries are
+     * keyed by revision and name.
+     */
+    private final ConcurrentSkipListMap<Key, Component> changes =
+            new ConcurrentSkipListMap<Key, Component>();
+    private final AtomicInteger size = new AtomicInteger(0);
+    /** Changes with revision <= truncatedRevision may be missing. */
+    private final AtomicLong truncatedRevision;
+
+    private static class Key implements Comparable<Key> {
+        final long revision;
+        final String name;
+
+        Key(long revision, String name) {
+            this.revision = revision;
+            this.name = name;
+        }
+
+        @Override public int compareTo(Key other) {
+            if (revision != other.revision) {
+                return revision < other.revision ? -1 : 1;
+            }
+            return name.compareTo(other.name);
+        }
+
+        @Override public boolean equals(Object other) {
+            return other instanceof Key && compareTo((Key)other) == 0;
+        }
+
+        @Override public int hashCode() {
+            return (int)(revision ^ (revision >>> 32)) * 31 + name.hashCode();
+        }
+    }
+
+    /**
+     * @param capacity the maximum number of entries to keep.
+     * @param initialRevision the revision of the state when the log was
+     *      created. Earlier changes are not in the log.
+     */
+    public ChangeLog(int capacity, long initialRevision) {
+        this.capacity = capacity;
+        this.truncatedRevision = new AtomicLong(initialRevision);
+    }
+
+    /**
+     * Creates a log that records all further updates to 'state'.
+     */
+    public static ChangeLog forState(int capacity, State state) {
+        long initialRevision = 0;
+        for (Component component : state.getComponents()) {
+            initialRevision = Math.max(initialRevision, component.getRevision());
+        }
+        ChangeLog log = new ChangeLog(capacity, initialRevision);
+        state.addStateListener(log);
+        return log;
+    }
+
+    @Override
+    public void stateChanged(Component component) {
+        Key key = new Key(component.getRevision(), component.getName());
+        if (changes.put(key, component) == null) {
+            size.incrementAndGet();
+        }
+        while (size.get() > capacity) {
+            Map.Entry<Key, Component> evicted = changes.pollFirstEntry();
+            if (evicted == null) {
+                break;
+            }
+            size.decrementAndGet();
+            // Other components with the same revision may still be in the
+            // log, but the revision is no longer complete.
+            raiseTruncatedRevision(evicted.getKey().revision);
+        }
+    }
+
+    private void raiseTruncatedRevision(long revision) {
+        while (true) {
+            long current = truncatedRevision.get();
+            if (revision <= current ||
+                    truncatedRevision.compareAndSet(current, revision)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the latest version of each component changed after
+     * 'revision', or null if the log no longer covers that revision.
+     */
+    public List<Component> getChangesSince(long revision) {
+        if (revision < truncatedRevision.get()) {
+            return null;
+        }
+        // "" sorts before every other name.
+        ConcurrentNavigableMap<Key, Component> tail =
+                changes.tailMap(new Key(revision + 1, ""), true);
+        Map<String, Component> latest = new LinkedHashMap<String, Component>();
+        for (Component component : tail.values()) {
+            latest.put(component.getName(), component);
+        }
+        // Entries may have been evicted while we were reading.
+        if (revision < truncatedRevision.get()) {
+            return null;
+        }
+        return new ArrayList<Component>(latest.values());
+    }
+
+    /** Returns the oldest revision the log can serve changes since. */
+    public long getTruncatedRevision() {
+        return truncatedRevision.get();
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    /** Discards all entries. Changes up to 'revision' are not covered. */
+    public void clear(long revision) {
+        changes.clear();
+        size.set(0);
+        truncatedRevision.set(revision);
+    }
+
+    /**
+     * Creates a response with the changes after 'revision', or with the full
+     * state if the log no longer covers it.
+     */
+    public Services.ChangesResponse getChangesResponse(long revision,
+            State state, long currentRevision) {
+        Services.ChangesResponse.Builder response =
+                Services.ChangesResponse.newBuilder()
+                .setRevision(currentRevision);
+        List<Component> components = getChangesSince(revision);
+        if (components != null) {
+            response.addAllComponent(
+                    ServicesPbConversion.componentsToPb(components));
+        } else {
+            response.setFullState(true);
+            response.addAllComponent(
+                    ServicesPbConversion.componentsToPb(state.getComponents()));
+        }
+        return response.build();
+    }
+}
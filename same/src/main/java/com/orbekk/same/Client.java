@@ -15,7 +15,9 @@
  */
 package com.orbekk.same;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.CancellationException;
@@ -34,15 +36,29 @@ import com.google.protobuf.RpcCallback;
 import com.google.protobuf.RpcController;
 import com.orbekk.paxos.MasterProposer;
 import com.orbekk.protobuf.Rpc;
+import com.orbekk.same.Services.BucketRequest;
+import com.orbekk.same.Services.ChangesRequest;
+import com.orbekk.same.Services.ChangesResponse;
 import com.orbekk.same.Services.Empty;
 import com.orbekk.same.Services.FullStateResponse;
+import com.orbekk.same.Services.HeartbeatRequest;
 import com.orbekk.same.Services.MasterState;
 import com.orbekk.same.Services.MasterTakeoverResponse;
+import com.orbekk.same.Services.MembershipEvent;
+import com.orbekk.same.Services.OperationResponse;
+import com.orbekk.same.Services.RelayRequest;
+import com.orbekk.same.Services.Subscription;
+import com.orbekk.same.Services.TransactionRequest;
 import com.orbekk.same.State.Component;
+import com.orbekk.same.codec.JsonCodec;
+import com.orbekk.same.codec.JsonPatch;
+import com.orbekk.same.config.Configuration;
 import com.orbekk.util.DelayedOperation;
 
 public class Client {
     public static int MASTER_TAKEOVER_TIMEOUT = 500;
+    /** JSON values smaller than this (in bytes) are never sent as patches. */
+    private final int patchThreshold;
     private Logger logger = LoggerFactory.getLogger(getClass());
     /** TODO: Not really useful yet. Remove? */
     private volatile ConnectionState connectionState = ConnectionState.DISCONNECTED;
@@ -56,7 +72,30 @@ public class Client {
     private final RpcFactory rpcf;
     private final ExecutorService executor = Executors.newSingleThreadExecutor();
     private final ClientInterface clientInterface = new ClientInterfaceImpl();
+    /**
+     * The revision this client has caught up to: it has every component
+     * the master installed up to it. Only components that arrive in
+     * revision order advance it.
+     */
     private final AtomicLong revision = new AtomicLong(0);
+    /**
+     * The highest revision received while joining. A snapshot arrives in
+     * any order, so it only counts once the join has finished.
+     */
+    private final AtomicLong joinRevision = new AtomicLong(0);
+    private final ChangeLog changeLog;
+    private final Membership membership = new Membership();
+    private final RelayTree relayTree;
+    private final Object subscriptionLock = new Object();
+    private volatile Subscription subscription = null;
+    private volatile MasterMonitor masterMonitor = null;
+    /**
+     * How often to check the heartbeats from the master, in milliseconds.
+     * A master election is started when the failure detector suspects the
+     * master. 0 disables the checks.
+     */
+    private final long failureCheckInterval;
+    private Thread failureMonitorThread = null;
     
     private List<StateChangedListener> updateListeners =
             new CopyOnWriteArrayList<StateChangedListener>();
@@ -78,6 +117,125 @@ public class Client {
             // Callbacks need to report the correct master.
             final MasterState currentMasterInfo = masterInfo;
             final DelayedOperation op = new DelayedOperation();
+            Services.Master master = awaitMaster(op, currentMasterInfo);
+            if (master == null) {
+                return op;
+            }
+            final Rpc rpc = rpcf.create();
+            Services.Component request = createUpdateRequest(component);
+            master.updateStateRequest(rpc, request,
+                    completeOperation(op, rpc, currentMasterInfo));
+            return op;
+        }
+
+        @Override
+        public DelayedOperation setAll(List<Component> components) {
+            final MasterState currentMasterInfo = masterInfo;
+            final DelayedOperation op = new DelayedOperation();
+            Services.Master master = awaitMaster(op, currentMasterInfo);
+            if (master == null) {
+                return op;
+            }
+            TransactionRequest.Builder request =
+                    TransactionRequest.newBuilder().setOrigin(myLocation);
+            for (Component component : components) {
+                request.addComponent(
+                        ServicesPbConversion.componentToPb(component));
+            }
+            final Rpc rpc = rpcf.create();
+            master.transaction(rpc, request.build(),
+                    completeOperation(op, rpc, currentMasterInfo));
+            return op;
+        }
+
+        @Override
+        public DelayedOperation merge(Component delta, String crdtType) {
+            final MasterState currentMasterInfo = masterInfo;
+            final DelayedOperation op = new DelayedOperation();
+            Services.Master master = awaitMaster(op, currentMasterInfo);
+            if (master == null) {
+                return op;
+            }
+            final Rpc rpc = rpcf.create();
+            Services.Component request = ServicesPbConversion
+                    .componentToPb(delta).toBuilder()
+                    .setMerge(crdtType)
+                    .setOrigin(myLocation)
+                    .build();
+            master.updateStateRequest(rpc, request,
+                    completeOperation(op, rpc, currentMasterInfo));
+            return op;
+        }
+
+        @Override
+        public DelayedOperation apply(String id, Operation operation) {
+            final MasterState currentMasterInfo = masterInfo;
+            final DelayedOperation op = new DelayedOperation();
+            Services.Master master = awaitMaster(op, currentMasterInfo);
+            if (master == null) {
+                return op;
+            }
+            final Rpc rpc = rpcf.create();
+            RpcCallback<OperationResponse> done =
+                    new RpcCallback<OperationResponse>() {
+                @Override public void run(OperationResponse response) {
+                    if (!rpc.isOk()) {
+                        logger.warn("Master failed to apply operation: {}",
+                                rpc.errorText());
+                        op.complete(DelayedOperation.Status.createError(
+                                "Error contacting master. Try again later."));
+                        startMasterElection(currentMasterInfo);
+                    } else if (response.getSuccess()) {
+                        op.complete(DelayedOperation.Status.createOk());
+                    } else if (response.hasRetryAfterMillis()) {
+                        op.complete(DelayedOperation.Status.createOverloaded(
+                                "Too many updates.",
+                                response.getRetryAfterMillis()));
+                    } else {
+                        op.complete(DelayedOperation.Status.createError(
+                                "Operation does not fit the value."));
+                    }
+                }
+            };
+            master.applyOperation(rpc, operation.toRequest(id).toBuilder()
+                    .setOrigin(myLocation).build(), done);
+            return op;
+        }
+
+        @Override
+        public DelayedOperation subscribe(String id) {
+            synchronized (subscriptionLock) {
+                if (subscription == null ||
+                        !subscription.getIdList().contains(id)) {
+                    subscription = getSubscriptionBuilder().addId(id).build();
+                }
+            }
+            return sendSubscription();
+        }
+
+        @Override
+        public DelayedOperation subscribePrefix(String prefix) {
+            synchronized (subscriptionLock) {
+                if (subscription == null ||
+                        !subscription.getPrefixList().contains(prefix)) {
+                    subscription = getSubscriptionBuilder()
+                            .addPrefix(prefix).build();
+                }
+            }
+            return sendSubscription();
+        }
+
+        private Subscription.Builder getSubscriptionBuilder() {
+            return subscription == null ? Subscription.newBuilder() :
+                    subscription.toBuilder();
+        }
+
+        /**
+         * Waits for a stable connection and returns the master, or
+         * completes 'op' with an error and returns null.
+         */
+        private Services.Master awaitMaster(DelayedOperation op,
+                MasterState currentMasterInfo) {
             if (connectionState != ConnectionState.STABLE) {
                 logger.warn("Connection is {}. Delaying update.", connectionState);
                 try {
@@ -92,11 +250,14 @@ public class Client {
                 op.complete(DelayedOperation.Status.createError(
                         "Not connected to master."));
                 startMasterElection(currentMasterInfo);
-                return op;
             }
-            final Rpc rpc = rpcf.create();
-            RpcCallback<Services.UpdateComponentResponse> done =
-                    new RpcCallback<Services.UpdateComponentResponse>() {
+            return master;
+        }
+
+        private RpcCallback<Services.UpdateComponentResponse> completeOperation(
+                final DelayedOperation op, final Rpc rpc,
+                final MasterState currentMasterInfo) {
+            return new RpcCallback<Services.UpdateComponentResponse>() {
                 @Override
                 public void run(Services.UpdateComponentResponse response) {
                     if (!rpc.isOk()) {
@@ -107,7 +268,12 @@ public class Client {
                         startMasterElection(currentMasterInfo);
                     } else {
                         if (response.getSuccess()) {
+                            op.setRevision(response.getRevision());
                             op.complete(DelayedOperation.Status.createOk());
+                        } else if (response.hasRetryAfterMillis()) {
+                            op.complete(DelayedOperation.Status
+                                    .createOverloaded("Too many updates.",
+                                            response.getRetryAfterMillis()));
                         } else {
                             op.complete(DelayedOperation.Status.createConflict(
                                     "Conflicting update."));
@@ -115,13 +281,6 @@ public class Client {
                     }
                 }
             };
-            Services.Component request = Services.Component.newBuilder()
-                    .setId(component.getName())
-                    .setData(component.getData())
-                    .setRevision(component.getRevision())
-                    .build();
-            master.updateStateRequest(rpc, request, done);
-            return op;
         }
 
         @Override
@@ -150,22 +309,54 @@ public class Client {
         }
     }
 
+    private final RelayTree.FailureListener relayFailureListener =
+            new RelayTree.FailureListener() {
+        @Override public void relayFailed(String location) {
+            logger.warn("Failed to relay to {}.", location);
+        }
+    };
+
     private Services.Client newServiceImpl = new Services.Client() {
         @Override public void setState(RpcController controller,
                 Services.Component request, RpcCallback<Empty> done) {
-            boolean status = state.update(request.getId(), request.getData(),
-                    request.getRevision());
-            if (status) {
-                for (StateChangedListener listener : updateListeners) {
-                    listener.stateChanged(state.getComponent(request.getId()));
-                }
-                updateRevision(request.getRevision());
-            } else {
-                logger.warn("Ignoring update: {) => {}",
-                        state.getComponent(request.getId()),
-                        new State.Component(request.getId(), request.getRevision(),
-                                request.getData()));
+            receiveComponent(ServicesPbConversion.componentFromPb(request));
+            done.run(Empty.getDefaultInstance());
+        }
+
+        @Override public void setStates(RpcController controller,
+                Services.ComponentBatch request, RpcCallback<Empty> done) {
+            receiveComponents(request.getComponentList());
+            done.run(Empty.getDefaultInstance());
+        }
+
+        @Override public void relay(RpcController controller,
+                RelayRequest request, RpcCallback<Empty> done) {
+            if (request.getTargetCount() > 0) {
+                relayTree.send(request.getComponentList(),
+                        request.getTargetList(), request.getFanout(),
+                        relayFailureListener);
             }
+            receiveComponents(request.getComponentList());
+            done.run(Empty.getDefaultInstance());
+        }
+
+        @Override public void applyPatch(RpcController controller,
+                Services.Component request,
+                RpcCallback<Services.UpdateComponentResponse> done) {
+            boolean success = receivePatch(request);
+            done.run(Services.UpdateComponentResponse.newBuilder()
+                    .setSuccess(success).build());
+        }
+
+        @Override public void membershipChanged(RpcController controller,
+                MembershipEvent request, RpcCallback<Empty> done) {
+            receiveMembershipEvent(request);
+            done.run(Empty.getDefaultInstance());
+        }
+
+        @Override public void heartbeat(RpcController controller,
+                HeartbeatRequest request, RpcCallback<Empty> done) {
+            receiveHeartbeat(request);
             done.run(Empty.getDefaultInstance());
         }
 
@@ -185,6 +376,8 @@ public class Client {
             done.run(MasterTakeoverResponse.newBuilder()
                     .setSuccess(true)
                     .setClientState(getClientState())
+                    .setSummary(StateDigest.summarize(state,
+                            StateDigest.DEFAULT_BUCKETS))
                     .build());
         }
 
@@ -211,6 +404,27 @@ public class Client {
             done.run(response.build());
         }
 
+        @Override
+        public void getBuckets(RpcController controller,
+                BucketRequest request, RpcCallback<FullStateResponse> done) {
+            List<List<Component>> buckets = StateDigest.getBuckets(state,
+                    request.getNumBuckets(), request.getBucketList());
+            FullStateResponse.Builder response = FullStateResponse.newBuilder();
+            response.setRevision(revision.get());
+            for (int bucket : request.getBucketList()) {
+                response.addAllComponent(ServicesPbConversion.componentsToPb(
+                        buckets.get(bucket)));
+            }
+            done.run(response.build());
+        }
+
+        @Override
+        public void getChangesSince(RpcController controller,
+                ChangesRequest request, RpcCallback<ChangesResponse> done) {
+            done.run(changeLog.getChangesResponse(request.getRevision(),
+                    state, revision.get()));
+        }
+
         @Override
         public void masterTakeoverFinished(RpcController controller,
                 MasterState request, RpcCallback<Empty> done) {
@@ -223,6 +437,12 @@ public class Client {
             }
             masterInfo = request;
             setConnectionState(ConnectionState.STABLE);
+            // The master has sent the whole snapshot.
+            updateRevision(joinRevision.getAndSet(0));
+            if (subscription != null) {
+                // In case it changed after the master asked for it.
+                sendSubscription();
+            }
             done.run(Empty.getDefaultInstance());
         }
     };
@@ -235,9 +455,16 @@ public class Client {
         }
         
         @Override public void run() {
+            if (subscription != null) {
+                // A subscribed participant only has part of the state, so
+                // it must not serve it as the master.
+                logger.info("Not becoming master: Subscribed to {}.",
+                        subscription);
+                return;
+            }
             logger.info("Trying to become master. Failed master: {}.",
                     failedMaster);
-            List<String> paxosUrls = state.getList(State.PARTICIPANTS);
+            List<String> paxosUrls = membership.getLocations();
             paxosUrls.remove(failedMaster.getMasterLocation());
             MasterProposer proposer = new MasterProposer(getClientState(), paxosUrls,
                     connections, rpcf);
@@ -286,19 +513,253 @@ public class Client {
         }
     }
     
+    /** The heartbeats from one master. */
+    private static class MasterMonitor {
+        final int masterId;
+        final PhiAccrualFailureDetector detector;
+        boolean electionStarted = false;
+
+        public MasterMonitor(int masterId, long interval) {
+            this.masterId = masterId;
+            this.detector = new PhiAccrualFailureDetector(interval);
+        }
+    }
+
+    private void receiveHeartbeat(HeartbeatRequest request) {
+        MasterState currentMasterInfo = masterInfo;
+        int masterId = request.getMaster().getMasterId();
+        if (currentMasterInfo == null ||
+                masterId < currentMasterInfo.getMasterId()) {
+            return;
+        }
+        MasterMonitor monitor = masterMonitor;
+        if (monitor == null || monitor.masterId != masterId) {
+            monitor = new MasterMonitor(masterId, request.getIntervalMillis());
+            masterMonitor = monitor;
+        }
+        monitor.detector.heartbeat(System.currentTimeMillis());
+    }
+
+    private class FailureMonitor implements Runnable {
+        private final long interval;
+
+        public FailureMonitor(long interval) {
+            this.interval = interval;
+        }
+
+        @Override public void run() {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    Thread.sleep(interval);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                checkMaster();
+            }
+        }
+    }
+
+    /**
+     * Starts a master election if the current master has stopped sending
+     * heartbeats. Only one election is started for each master.
+     */
+    void checkMaster() {
+        MasterState currentMasterInfo = masterInfo;
+        MasterMonitor monitor = masterMonitor;
+        if (connectionState != ConnectionState.STABLE ||
+                currentMasterInfo == null || monitor == null ||
+                monitor.masterId != currentMasterInfo.getMasterId() ||
+                monitor.electionStarted) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (!monitor.detector.isAvailable(now)) {
+            logger.warn("No heartbeat from master {} in {} ms.",
+                    currentMasterInfo.getMasterLocation(),
+                    now - monitor.detector.getLastHeartbeat());
+            monitor.electionStarted = true;
+            startMasterElection(currentMasterInfo);
+        }
+    }
+    
+    private void receiveComponent(Component component) {
+        if (state.update(component)) {
+            componentReceived(component);
+        } else {
+            logger.warn("Ignoring update: {) => {}",
+                    state.getComponent(component.getName()), component);
+        }
+    }
+
+    /**
+     * Applies a batch of components atomically, so that the components of a
+     * transaction become visible together.
+     */
+    private void receiveComponents(List<Services.Component> componentsPb) {
+        List<Component> components = new ArrayList<Component>(
+                componentsPb.size());
+        for (Services.Component componentPb : componentsPb) {
+            components.add(ServicesPbConversion.componentFromPb(componentPb));
+        }
+        for (Component component : state.updateAll(components)) {
+            componentReceived(component);
+        }
+    }
+
+    private void componentReceived(Component component) {
+        if (component.getName().equals(State.PARTICIPANTS)) {
+            synchronized (membership) {
+                if (component.getRevision() > membership.getRevision()) {
+                    membership.reset(state.getList(State.PARTICIPANTS),
+                            component.getRevision());
+                }
+            }
+        }
+        for (StateChangedListener listener : updateListeners) {
+            listener.stateChanged(component);
+        }
+        if (connectionState == ConnectionState.STABLE) {
+            updateRevision(component.getRevision());
+        } else {
+            raise(joinRevision, component.getRevision());
+        }
+    }
+
+    /**
+     * Applies a join or leave, and updates the State.PARTICIPANTS view to
+     * match the one on the master.
+     * 
+     * Membership events are not sent through the queue of updates, so the
+     * revision of an event says nothing about the updates before it, and
+     * does not advance the revision of this client.
+     */
+    private void receiveMembershipEvent(MembershipEvent event) {
+        Component participants;
+        synchronized (membership) {
+            boolean changed = event.getJoined() ?
+                    membership.join(event.getLocation(), event.getRevision()) :
+                    membership.leave(event.getLocation(), event.getRevision());
+            if (!changed) {
+                return;
+            }
+            participants = membership.toComponent();
+            state.forceUpdate(participants);
+        }
+        for (StateChangedListener listener : updateListeners) {
+            listener.stateChanged(participants);
+        }
+    }
+
+    /**
+     * Applies a patch from the master.
+     * 
+     * @return false if this client does not have the base revision.
+     */
+    private boolean receivePatch(Services.Component request) {
+        Component base = state.getComponent(request.getId());
+        if (base != null && base.getRevision() >= request.getRevision()) {
+            // Already up to date.
+            return true;
+        }
+        if (base == null || base.getRevision() != request.getBaseRevision() ||
+                base.getCodec() != JsonCodec.ID) {
+            return false;
+        }
+        try {
+            byte[] value = JsonPatch.apply(base.getValue(),
+                    request.getPatch().toByteArray());
+            receiveComponent(new Component(request.getId(),
+                    request.getRevision(), JsonCodec.ID, value));
+            return true;
+        } catch (IOException e) {
+            logger.warn("Failed to apply patch to {}: {}", base, e);
+            return false;
+        }
+    }
+
+    /**
+     * Creates an update request for 'component'. Large JSON values that are
+     * based on the local revision are sent as a patch if it is much smaller
+     * than the value.
+     */
+    private Services.Component createUpdateRequest(Component component) {
+        Services.Component request = createPatchRequest(component);
+        if (request == null) {
+            request = ServicesPbConversion.componentToPb(component);
+        }
+        return request.toBuilder().setOrigin(myLocation).build();
+    }
+
+    /** Returns a patch request for 'component', or null if not worth it. */
+    private Services.Component createPatchRequest(Component component) {
+        Component base = state.getComponent(component.getName());
+        if (base == null || base.getRevision() != component.getRevision() ||
+                base.getCodec() != JsonCodec.ID ||
+                component.getCodec() != JsonCodec.ID ||
+                component.getValue().length < patchThreshold) {
+            return null;
+        }
+        try {
+            byte[] patch = JsonPatch.diff(base.getValue(), component.getValue());
+            if (patch.length * 2 > component.getValue().length) {
+                return null;
+            }
+            return ServicesPbConversion.patchToPb(component.getName(),
+                    component.getRevision(), component.getRevision(), patch);
+        } catch (IOException e) {
+            logger.warn("Failed to create patch for {}: {}", component, e);
+            return null;
+        }
+    }
+
     public Client(State state, ConnectionManager connections,
             String myUrl, String myLocation, RpcFactory rpcf) {
+        this(state, connections, myUrl, myLocation, rpcf,
+                Configuration.empty());
+    }
+
+    /**
+     * Creates a client with the optional settings in 'configuration':
+     * 
+     * - "heartbeatInterval": The interval of the master's heartbeats, in
+     *   milliseconds. Enables failure detection if it is set.
+     * - "patchThreshold": See the field.
+     * - "changeLogSize": The number of updates kept for catching up a new
+     *   master.
+     */
+    public Client(State state, ConnectionManager connections,
+            String myUrl, String myLocation, RpcFactory rpcf,
+            Configuration configuration) {
+        this.failureCheckInterval =
+                configuration.getLong("heartbeatInterval", 0) / 4;
+        this.patchThreshold = configuration.getInt("patchThreshold", 1024);
         this.state = state;
         this.connections = connections;
         this.myUrl = myUrl;
         this.myLocation = myLocation;
         this.rpcf = rpcf;
+        this.changeLog = ChangeLog.forState(
+                configuration.getInt("changeLogSize", 10000), state);
+        this.relayTree = new RelayTree(connections, rpcf);
     }
     
-    public void start() {
+    public synchronized void start() {
+        if (failureCheckInterval > 0 && failureMonitorThread == null) {
+            failureMonitorThread = new Thread(
+                    new FailureMonitor(failureCheckInterval),
+                    "FailureMonitor");
+            failureMonitorThread.setDaemon(true);
+            failureMonitorThread.start();
+        }
     }
 
     public void interrupt() {
+        synchronized (this) {
+            if (failureMonitorThread != null) {
+                failureMonitorThread.interrupt();
+                failureMonitorThread = null;
+            }
+        }
         setConnectionState(ConnectionState.DISCONNECTED);
         executor.shutdown();
     }
@@ -311,11 +772,52 @@ public class Client {
     }
 
     public Services.ClientState getClientState() {
-        return Services.ClientState.newBuilder()
-                .setUrl(myUrl)
-                .setLocation(myLocation)
-                .setRevision(revision.get())
-                .build();
+        Services.ClientState.Builder clientState =
+                Services.ClientState.newBuilder()
+                        .setUrl(myUrl)
+                        .setLocation(myLocation)
+                        .setRevision(revision.get());
+        Subscription currentSubscription = subscription;
+        if (currentSubscription != null) {
+            clientState.setSubscription(currentSubscription);
+        }
+        return clientState.build();
+    }
+
+    /**
+     * Sends the subscription to the master. The master also gets it when
+     * this client joins or a new master takes over, so nothing is sent
+     * until the connection is stable.
+     */
+    private DelayedOperation sendSubscription() {
+        final DelayedOperation op = new DelayedOperation();
+        MasterState currentMasterInfo = masterInfo;
+        if (connectionState != ConnectionState.STABLE ||
+                currentMasterInfo == null) {
+            op.complete(DelayedOperation.Status.createOk());
+            return op;
+        }
+        Services.Master master = connections.getMaster0(
+                currentMasterInfo.getMasterLocation());
+        if (master == null) {
+            op.complete(DelayedOperation.Status.createError(
+                    "Not connected to master."));
+            return op;
+        }
+        final Rpc rpc = rpcf.create();
+        RpcCallback<Empty> done = new RpcCallback<Empty>() {
+            @Override public void run(Empty unused) {
+                if (!rpc.isOk()) {
+                    logger.warn("Failed to subscribe: {}", rpc.errorText());
+                    op.complete(DelayedOperation.Status.createError(
+                            "Error contacting master. Try again later."));
+                } else {
+                    op.complete(DelayedOperation.Status.createOk());
+                }
+            }
+        };
+        master.subscribe(rpc, getClientState(), done);
+        return op;
     }
     
     public MasterState getMaster() {
@@ -330,15 +832,33 @@ public class Client {
         this.masterController = masterController;
     }
     
-    private synchronized void reset() {
-        state.clear();
+    /**
+     * Prepares to join the network of 'newMaster'. The state is kept when
+     * rejoining the same master, so that only the changes since our revision
+     * need to be sent.
+     */
+    private synchronized void reset(MasterState newMaster) {
+        if (!isSameMaster(masterInfo, newMaster)) {
+            state.clear();
+            membership.reset(Collections.<String>emptyList(), 0);
+            changeLog.clear(0);
+            revision.set(0);
+        }
+        joinRevision.set(0);
         masterInfo = null;
     }
     
+    private static boolean isSameMaster(MasterState a, MasterState b) {
+        return a != null && b != null &&
+                a.getNetworkName().equals(b.getNetworkName()) &&
+                a.getMasterLocation().equals(b.getMasterLocation()) &&
+                a.getMasterId() == b.getMasterId();
+    }
+    
     public Rpc joinNetwork(Services.MasterState masterInfo) {
         logger.info("joinNetwork({})", masterInfo);
         setConnectionState(ConnectionState.UNSTABLE);
-        reset();
+        reset(masterInfo);
         
         Services.Master master =
                 connections.getMaster0(masterInfo.getMasterLocation());
@@ -378,7 +898,7 @@ public class Client {
     }
     
     public void startMasterElection(MasterState failedMaster) {
-        List<String> participants = state.getList(State.PARTICIPANTS);
+        List<String> participants = membership.getLocations();
         
         RpcCallback<Empty> done = new RpcCallback<Empty>() {
             @Override public void run(Empty unused) {
@@ -397,11 +917,15 @@ public class Client {
     }
     
     public void updateRevision(long newRevision) {
+        raise(revision, newRevision);
+    }
+
+    private static void raise(AtomicLong value, long newValue) {
         boolean updated = false;
         while (!updated) {
-            long expected = revision.get();
-            long update = Math.max(expected, newRevision);
-            updated = revision.compareAndSet(expected, update);
+            long expected = value.get();
+            long update = Math.max(expected, newValue);
+            updated = value.compareAndSet(expected, update);
         }
     }
     
@@ -15,11 +15,34 @@
  */
 package com.orbekk.same;
 
+import java.util.List;
+
 import com.orbekk.util.DelayedOperation;
 
 public interface ClientInterface {
     State getState();
     DelayedOperation set(State.Component component);
+    /**
+     * Sets all of 'components' atomically under one revision. The revision
+     * of each component is the revision the update is based on. Fails
+     * with a conflict if any of them has changed.
+     */
+    DelayedOperation setAll(List<State.Component> components);
+    /**
+     * Merges the JSON value of 'delta' into the component with the CRDT
+     * type named 'crdtType'. Merges never conflict.
+     */
+    DelayedOperation merge(State.Component delta, String crdtType);
+    /** Applies 'operation' to the component 'id' on the master. */
+    DelayedOperation apply(String id, Operation operation);
+    /**
+     * Subscribes to the component 'id'. A client that has subscribed to
+     * anything only receives the components it has subscribed to, and the
+     * system components. Other clients receive every component.
+     */
+    DelayedOperation subscribe(String id);
+    /** Subscribes to the components whose ids start with 'prefix'. */
+    DelayedOperation subscribePrefix(String prefix);
     void addStateListener(StateChangedListener listener);
     void removeStateListener(StateChangedListener listener);
     void addConnectionStateListener(ConnectionStateListener listener);
@@ -0,0 +1,220 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import com.orbekk.same.State.Component;
+
+/**
+ * Orders the updates to the master state by revision, and passes them to
+ * the Committer in batches.
+ * 
+ * Callers apply their updates concurrently on their own threads. An
+ * update takes a revision with begin() once it knows that it will be
+ * installed, installs its components, and calls finish(). Updates finish
+ * in any order, but the installed revision only moves past a revision
+ * when every update before it has finished, and the Committer gets the
+ * components in revision order up to the installed revision. Whichever
+ * caller finishes first passes everything that is ready to the Committer
+ * at once, so concurrent updates share a send to each participant.
+ */
+public class CommitPipeline {
+    /** An update that is applied to the state on the calling thread. */
+    public interface Update {
+        /**
+         * Applies the update.
+         * 
+         * @return the installed components, or null if the update was
+         *      rejected.
+         * @throws IOException if the update could not be made durable.
+         */
+        List<Component> apply() throws IOException;
+    }
+
+    /** Makes installed components visible to participants. */
+    public interface Committer {
+        void commit(List<Component> components);
+    }
+
+    private final Committer committer;
+    private final int maxBatchSize;
+    private final Object lock = new Object();
+    // All fields below are guarded by lock.
+    /** The last revision taken by begin(). */
+    private long revision = 0;
+    /** Revisions taken by begin() that have not finished. */
+    private final TreeSet<Long> unfinished = new TreeSet<Long>();
+    /** Finished updates that have not been committed, by revision. */
+    private final TreeMap<Long, List<Component>> ready =
+            new TreeMap<Long, List<Component>>();
+    /** Every revision up to this one has finished. */
+    private long installedRevision = 0;
+    /** Every revision up to this one has been passed to the Committer. */
+    private long committedRevision = 0;
+    private boolean committing = false;
+
+    /**
+     * @param maxBatchSize the maximum number of components passed to the
+     *      Committer at once. The components of one update are never
+     *      split.
+     */
+    public CommitPipeline(Committer committer, int maxBatchSize) {
+        this.committer = committer;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Applies 'update' and waits until it has been committed.
+     * 
+     * @return the installed components, or null if the update was rejected.
+     * @throws IOException if the update could not be made durable.
+     */
+    public List<Component> submit(Update update) throws InterruptedException,
+            IOException {
+        List<Component> result = update.apply();
+        if (result != null && !result.isEmpty()) {
+            awaitCommitted(result.get(0).getRevision());
+        }
+        return result;
+    }
+
+    /** Takes the next revision. It must be passed to finish(). */
+    public long begin() {
+        synchronized (lock) {
+            revision += 1;
+            unfinished.add(revision);
+            return revision;
+        }
+    }
+
+    /**
+     * Finishes 'revision', and commits the updates that are ready.
+     * 
+     * @param components the components installed under 'revision', which
+     *      are passed to the Committer, or null if nothing was installed.
+     */
+    public void finish(long revision, List<Component> components) {
+        synchronized (lock) {
+            if (!unfinished.remove(revision)) {
+                throw new IllegalArgumentException("Revision " + revision +
+                        " is not in progress.");
+            }
+            if (components != null && !components.isEmpty()) {
+                ready.put(revision, components);
+            }
+            updateInstalledRevision();
+        }
+        commitReady();
+    }
+
+    /** Must be called while holding lock. */
+    private void updateInstalledRevision() {
+        installedRevision = unfinished.isEmpty() ?
+                revision : unfinished.first() - 1;
+    }
+
+    /**
+     * Passes the components that are ready to the Committer, unless
+     * another thread is already doing so. That thread then commits them
+     * when it is done.
+     */
+    private void commitReady() {
+        while (true) {
+            List<Component> batch = new ArrayList<Component>();
+            long batchRevision = 0;
+            synchronized (lock) {
+                if (committing) {
+                    return;
+                }
+                Iterator<Map.Entry<Long, List<Component>>> entries =
+                        ready.headMap(installedRevision, true)
+                        .entrySet().iterator();
+                while (entries.hasNext() && batch.size() < maxBatchSize) {
+                    Map.Entry<Long, List<Component>> entry = entries.next();
+                    batch.addAll(entry.getValue());
+                    batchRevision = entry.getKey();
+                    entries.remove();
+                }
+                if (batch.isEmpty()) {
+                    committedRevision = Math.max(committedRevision,
+                            installedRevision);
+                    lock.notifyAll();
+                    return;
+                }
+                committing = true;
+            }
+            try {
+                committer.commit(batch);
+            } finally {
+                synchronized (lock) {
+                    committing = false;
+                    committedRevision = Math.max(committedRevision,
+                            batchRevision);
+                    lock.notifyAll();
+                }
+            }
+        }
+    }
+
+    private void awaitCommitted(long target) throws InterruptedException {
+        synchronized (lock) {
+            while (committedRevision < target) {
+                lock.wait();
+            }
+        }
+    }
+
+    /** Returns the last revision taken. */
+    public long getRevision() {
+        synchronized (lock) {
+            return revision;
+        }
+    }
+
+    /**
+     * Returns the installed revision. Every update up to it has been
+     * installed or has failed, so a read of the state that starts after
+     * this call sees all of them.
+     */
+    public long getInstalledRevision() {
+        synchronized (lock) {
+            return installedRevision;
+        }
+    }
+
+    /**
+     * Raises the revision to 'newRevision', e.g., when the master resumes
+     * from a state with a higher revision. The revisions skipped count as
+     * installed once the updates in progress have finished.
+     */
+    public void updateRevision(long newRevision) {
+        synchronized (lock) {
+            if (newRevision <= revision) {
+                return;
+            }
+            revision = newRevision;
+            updateInstalledRevision();
+        }
+        commitReady();
+    }
+}
@@ -15,11 +15,27 @@
  */
 package com.orbekk.same;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,21 +43,134 @@ import org.slf4j.LoggerFactory;
 import com.google.protobuf.RpcCallback;
 import com.google.protobuf.RpcController;
 import com.orbekk.protobuf.Rpc;
+import com.orbekk.same.Services.BucketRequest;
+import com.orbekk.same.Services.ChangesRequest;
+import com.orbekk.same.Services.ChangesResponse;
 import com.orbekk.same.Services.ClientState;
+import com.orbekk.same.Services.ComponentQuery;
+import com.orbekk.same.Services.ComponentRequest;
+import com.orbekk.same.Services.ComponentResponse;
 import com.orbekk.same.Services.Empty;
 import com.orbekk.same.Services.FullStateResponse;
+import com.orbekk.same.Services.HeartbeatRequest;
 import com.orbekk.same.Services.MasterState;
 import com.orbekk.same.Services.MasterTakeoverResponse;
+import com.orbekk.same.Services.MembershipEvent;
+import com.orbekk.same.Services.OperationRequest;
+import com.orbekk.same.Services.OperationResponse;
+import com.orbekk.same.Services.ScanRequest;
+import com.orbekk.same.Services.ScanResponse;
+import com.orbekk.same.Services.StateSummary;
+import com.orbekk.same.Services.TransactionRequest;
 import com.orbekk.same.State.Component;
+import com.orbekk.same.codec.JsonCodec;
+import com.orbekk.same.codec.JsonOperations;
+import com.orbekk.same.codec.JsonPatch;
+import com.orbekk.same.config.Configuration;
+import com.orbekk.same.crdt.CrdtType;
+import com.orbekk.same.crdt.Crdts;
+import com.orbekk.same.storage.StateStorage;
 import com.orbekk.util.RpcList;
 
 public class Master {
+    /** The number of updates kept for catching up participants. */
+    private final int changeLogSize;
+    /** The maximum number of updates committed together. */
+    private final int commitMaxBatchSize;
+    /** The maximum size of a SetStates request, in bytes. */
+    private final int maxBatchBytes;
+    /**
+     * The number of participants the master sends each update to, which
+     * relay it to the others. 0 sends to every participant directly.
+     */
+    private final int relayFanout;
+    /**
+     * The maximum number of components queued for a participant. A
+     * participant that falls further behind is resynchronized instead.
+     */
+    private final int maxQueuedComponents;
+    /** The maximum number of unacknowledged sends to a participant. */
+    private final int maxInFlight;
+    /** The maximum number of components returned by one Scan. */
+    private final int maxScanLimit;
+    /**
+     * The maximum number of unacknowledged snapshot chunks sent to joining
+     * participants in total. Bounds the bandwidth used by joins.
+     */
+    private final int maxJoinChunksInFlight;
+    /**
+     * The sustained number of updates per second from each participant.
+     * Faster participants are told to retry later. 0 disables the limit.
+     * Admission control is skipped when both this and
+     * maxConcurrentUpdates are 0.
+     */
+    private final double maxUpdatesPerSecond;
+    /** The number of updates a participant may send at once. */
+    private final int updateBurst;
+    /**
+     * The number of updates that are applied concurrently. Further updates
+     * wait, and are let through fairly between the participants. 0 does
+     * not limit the number of updates.
+     */
+    private final int maxConcurrentUpdates;
+    /** The number of updates from one participant that may wait. */
+    private final int maxQueuedUpdates;
+    /**
+     * The time between heartbeats to the participants, in milliseconds. A
+     * participant that stops answering them is removed. 0 disables
+     * heartbeats.
+     */
+    private final long heartbeatInterval;
     private Logger logger = LoggerFactory.getLogger(getClass());
     private final ConnectionManager connections;
     private String myLocation; // Protobuf server location, i.e., myIp:port
     private String networkName;
-    private AtomicLong revision = new AtomicLong(1);
+    /**
+     * An update holds the locks of its keys while it checks the current
+     * revisions, takes a new revision and installs its components, so
+     * that only updates that succeed take a revision. Updates to
+     * different keys take their revisions concurrently.
+     */
+    private final ReentrantLock[] keyLocks = new ReentrantLock[KEY_LOCKS];
     State state;
+    private volatile ChangeLog changeLog;
+    private final Membership membership = new Membership();
+    private final CommitPipeline pipeline;
+    private final boolean admissionEnabled;
+    private final AdmissionControl admission;
+    /** Runs the updates that waited for admission. */
+    private final ExecutorService admissionExecutor =
+            Executors.newCachedThreadPool(daemonThreads("AdmissionControl"));
+    private final RelayTree relayTree;
+    private final ConcurrentMap<String, OutboundQueue> queues =
+            new ConcurrentHashMap<String, OutboundQueue>();
+    private final SubscriptionIndex subscriptions = new SubscriptionIndex();
+    private final ConcurrentMap<String, PhiAccrualFailureDetector> detectors =
+            new ConcurrentHashMap<String, PhiAccrualFailureDetector>();
+    private Thread heartbeatThread = null;
+    /** Sends snapshots to joining participants. */
+    private final ExecutorService joinExecutor =
+            Executors.newSingleThreadExecutor(daemonThreads("Join"));
+    /** The joins in progress. Notified when one finishes. */
+    private final Set<SnapshotSender> snapshotSenders = Collections.newSetFromMap(
+            new ConcurrentHashMap<SnapshotSender, Boolean>());
+    private final AtomicInteger joinChunksInFlight = new AtomicInteger(0);
+    /** Participants that are being sent a snapshot. */
+    private final Set<String> joining = Collections.newSetFromMap(
+            new ConcurrentHashMap<String, Boolean>());
+    private volatile BroadcastTargets broadcastTargets =
+            new BroadcastTargets(-1, -1, Collections.<String>emptyList());
+    private volatile StateStorage storage = null;
+    /** Set when an update could not be persisted. */
+    private volatile boolean storageFailed = false;
+    private static final String STORAGE_FAILED =
+            "Master failed to persist updates.";
+    /** The admission bucket of senders that are not participants. */
+    private static final String UNKNOWN_ORIGIN = "";
+    /** The number of locks the keys are spread over. A power of two. */
+    private static final int KEY_LOCKS = 64;
+    private static final List<String> PARTICIPANTS_KEY =
+            Collections.singletonList(State.PARTICIPANTS);
     private volatile int masterId = 1;
     private final RpcFactory rpcf;
     
@@ -64,10 +193,15 @@ public class Master {
     }
     
     private class MasterTakeover implements Runnable {
-        final List<Services.ClientState> clientStates = new ArrayList<Services.ClientState>();
+        final List<Services.ClientState> clientStates =
+                new CopyOnWriteArrayList<Services.ClientState>();
+        final Map<String, StateSummary> summaries =
+                new ConcurrentHashMap<String, StateSummary>();
         final AtomicBoolean aborted = new AtomicBoolean(false);
         final List<String> clients = new CopyOnWriteArrayList<String>();
         final MasterState newMaster;
+        /** The revision of the state this master starts from. */
+        final long initialRevision;
         
         private class TakeoverCallback implements RpcCallback<MasterTakeoverResponse> {
             final String client;
@@ -83,17 +217,46 @@ public class Master {
                     aborted.set(true);
                 } else {
                     clientStates.add(response.getClientState());
+                    if (response.getClientState().hasSubscription()) {
+                        subscriptions.subscribe(client,
+                                response.getClientState().getSubscription(),
+                                state);
+                    }
+                    if (response.hasSummary()) {
+                        summaries.put(client, response.getSummary());
+                    }
                 }
             }
         }
-        
-        private class FullStateCallback implements RpcCallback<FullStateResponse> {
+
+        private class PullCallback implements RpcCallback<FullStateResponse> {
+            final String client;
+            final AtomicBoolean failed;
+
+            public PullCallback(String client, AtomicBoolean failed) {
+                this.client = client;
+                this.failed = failed;
+            }
+
             @Override public void run(FullStateResponse response) {
+                if (response == null) {
+                    clients.remove(client);
+                    failed.set(true);
+                    return;
+                }
+                for (Services.Component componentPb : response.getComponentList()) {
+                    installPulled(ServicesPbConversion.componentFromPb(
+                            componentPb));
+                }
+            }
+        }
+        
+        private class ChangesCallback implements RpcCallback<ChangesResponse> {
+            @Override public void run(ChangesResponse response) {
                 if (response != null) {
                     for (Services.Component componentPb : response.getComponentList()) {
-                        state.update(componentPb.getId(), componentPb.getData(),
-                                componentPb.getRevision());
-                        updateRevision(componentPb.getRevision());
+                        installPulled(ServicesPbConversion.componentFromPb(
+                                componentPb));
                     }
                 }
             }
@@ -116,6 +279,7 @@ public class Master {
         public MasterTakeover(List<String> clients, MasterState newMaster) {
             this.clients.addAll(clients);
             this.newMaster = newMaster;
+            this.initialRevision = pipeline.getRevision();
         }
 
         private void sendTakeovers() throws InterruptedException {
@@ -133,13 +297,16 @@ public class Master {
             rpcs.awaitAll();
         }
         
+        /**
+         * Returns the client with the highest revision. Subscribed clients
+         * only have part of the state, and are not considered.
+         */
         private ClientState getBestClient(List<ClientState> clients) {
-            if (clients.isEmpty()) {
-                return null;
-            }
-            ClientState best = clients.get(0);
+            ClientState best = null;
             for (ClientState client : clients) {
-                if (client.getRevision() > best.getRevision()) {
+                if (!client.hasSubscription() &&
+                        (best == null ||
+                        client.getRevision() > best.getRevision())) {
                     best = client;
                 }
             }
@@ -157,39 +324,165 @@ public class Master {
                 Services.Client client = connections.getClient0(bestClient.getLocation());
                 if (client == null) {
                     clients.remove(bestClient.getLocation());
+                    clientStates.remove(bestClient);
                     continue;
                 }
                 
+                // Only fetch what this master is missing. The client falls
+                // back to its full state if its log is too short.
                 Rpc rpc = rpcf.create();
-                FullStateCallback done = new FullStateCallback();
-                client.getFullState(rpc, Empty.getDefaultInstance(), done);
+                ChangesCallback done = new ChangesCallback();
+                ChangesRequest request = ChangesRequest.newBuilder()
+                        .setRevision(initialRevision)
+                        .build();
+                client.getChangesSince(rpc, request, done);
                 rpc.await();
                 successful = rpc.isOk();
                 
                 if (!successful) {
                     clients.remove(bestClient.getLocation());
+                    clientStates.remove(bestClient);
+                }
+            }
+        }
+        
+        /** Returns the summary of 'location' if it is usable. */
+        private StateSummary getSummary(String location) {
+            StateSummary summary = summaries.get(location);
+            if (summary == null ||
+                    summary.getNumBuckets() != StateDigest.DEFAULT_BUCKETS ||
+                    summary.getDigestCount() != summary.getNumBuckets() ||
+                    summary.getMaxRevisionCount() != summary.getNumBuckets()) {
+                return null;
+            }
+            return summary;
+        }
+
+        private boolean haveAllSummaries() {
+            for (String location : clients) {
+                if (getSummary(location) == null) {
+                    return false;
                 }
             }
+            return true;
+        }
+
+        /**
+         * Pulls each bucket whose digest differs from this master's from
+         * every client that has it. The pulls run in parallel, and each
+         * component is merged by revision.
+         * 
+         * A higher maximum revision is not enough to find the buckets to
+         * pull: a client may have a component that this master lacks, or
+         * has an older version of, below the master's maximum revision.
+         * 
+         * @return false if a pull failed.
+         */
+        private boolean pullDifferentBuckets() throws InterruptedException {
+            int buckets = StateDigest.DEFAULT_BUCKETS;
+            StateSummary mine = StateDigest.summarize(state, buckets);
+            Map<String, BucketRequest.Builder> pulls =
+                    new HashMap<String, BucketRequest.Builder>();
+            for (String location : clients) {
+                List<Integer> different = StateDigest.differentBuckets(mine,
+                        getSummary(location));
+                if (!different.isEmpty()) {
+                    pulls.put(location, BucketRequest.newBuilder()
+                            .setNumBuckets(buckets)
+                            .addAllBucket(different));
+                }
+            }
+            
+            AtomicBoolean failed = new AtomicBoolean(false);
+            RpcList rpcs = new RpcList();
+            for (Map.Entry<String, BucketRequest.Builder> pull :
+                    pulls.entrySet()) {
+                Services.Client client = connections.getClient0(pull.getKey());
+                if (client == null) {
+                    clients.remove(pull.getKey());
+                    failed.set(true);
+                    continue;
+                }
+                Rpc rpc = rpcf.create();
+                client.getBuckets(rpc, pull.getValue().build(),
+                        new PullCallback(pull.getKey(), failed));
+                rpcs.add(rpc);
+            }
+            rpcs.awaitAll();
+            return !failed.get();
         }
         
         private void updateParticipants() throws InterruptedException {
-            long newRevision = revision.incrementAndGet();
-            state.updateFromObject(State.PARTICIPANTS, clients, newRevision);
+            int[] locks = lockKeys(PARTICIPANTS_KEY);
+            long newRevision = pipeline.begin();
+            try {
+                synchronized (membership) {
+                    membership.reset(clients, newRevision);
+                    updateParticipantsComponent();
+                }
+            } finally {
+                unlockKeys(locks);
+                pipeline.finish(newRevision, null);
+            }
         }
         
-        private void sendFullState() throws InterruptedException {
+        /**
+         * Sends each client the buckets in which its state differs from
+         * this master's, or the full state if it did not send a summary.
+         */
+        private void sendMissingState() throws InterruptedException {
+            int buckets = StateDigest.DEFAULT_BUCKETS;
+            StateSummary mine = StateDigest.summarize(state, buckets);
+            Map<String, List<Integer>> gaps =
+                    new HashMap<String, List<Integer>>();
+            Set<Integer> needed = new HashSet<Integer>();
+            for (String location : clients) {
+                StateSummary summary = getSummary(location);
+                if (summary != null) {
+                    List<Integer> gap = StateDigest.differentBuckets(mine,
+                            summary);
+                    gaps.put(location, gap);
+                    needed.addAll(gap);
+                }
+            }
+            List<List<Component>> bucketContents =
+                    StateDigest.getBuckets(state, buckets, needed);
+            List<Services.ComponentBatch> fullState = null;
+            // Clients with the same gap, e.g., new clients, share batches.
+            Map<List<Integer>, List<Services.ComponentBatch>> gapBatches =
+                    new HashMap<List<Integer>, List<Services.ComponentBatch>>();
+            
             RpcList rpcs = new RpcList();
             for (String location : clients) {
                 Services.Client client = connections.getClient0(location);
                 if (client == null) {
-                    clients.remove(client);
+                    clients.remove(location);
                     continue;
                 }
+                List<Services.ComponentBatch> batches;
+                List<Integer> gap = gaps.get(location);
+                if (gap == null) {
+                    if (fullState == null) {
+                        fullState = ServicesPbConversion.componentsToBatches(
+                                state.getComponents(), maxBatchBytes);
+                    }
+                    batches = fullState;
+                } else {
+                    batches = gapBatches.get(gap);
+                    if (batches == null) {
+                        List<Component> missing = new ArrayList<Component>();
+                        for (int bucket : gap) {
+                            missing.addAll(bucketContents.get(bucket));
+                        }
+                        batches = ServicesPbConversion.componentsToBatches(
+                                missing, maxBatchBytes);
+                        gapBatches.put(gap, batches);
+                    }
+                }
                 RemoveClientCallback<Empty> done = new RemoveClientCallback<Empty>(location);
-                for (Component component : state.getComponents()) {
-                    Services.Component componentPb = ServicesPbConversion.componentToPb(component);
+                for (Services.ComponentBatch batch : batches) {
                     Rpc rpc = rpcf.create();
-                    client.setState(rpc, componentPb, done);
+                    client.setStates(rpc, batch, done);
                     rpcs.add(rpc);
                 }
             }
@@ -201,7 +494,7 @@ public class Master {
             for (String location : clients) {
                 Services.Client client = connections.getClient0(location);
                 if (client == null) {
-                    clients.remove(client);
+                    clients.remove(location);
                     continue;
                 }
                 RemoveClientCallback<Empty> done = new RemoveClientCallback<Empty>(location);
@@ -217,13 +510,15 @@ public class Master {
                 logger.info("Starting master takeover.");
                 sendTakeovers();
                 if (!aborted.get()) {
-                    getMostRecentState();
+                    if (!haveAllSummaries() || !pullDifferentBuckets()) {
+                        getMostRecentState();
+                    }
                 }
                 if (!aborted.get()) {
                     updateParticipants();
                 }
                 if (!aborted.get()) {
-                    sendFullState();
+                    sendMissingState();
                 }
                 if (!aborted.get()) {
                     finishTakeover();
@@ -243,17 +538,69 @@ public class Master {
     public static Master create(ConnectionManager connections,
             String myUrl, String networkName,
             String myLocation, RpcFactory rpcf) {
+        return create(connections, myUrl, networkName, myLocation, rpcf,
+                Configuration.empty());
+    }
+
+    /**
+     * Creates a master with the optional settings in 'configuration'. See
+     * the fields of this class for the settings and their defaults.
+     */
+    public static Master create(ConnectionManager connections,
+            String myUrl, String networkName,
+            String myLocation, RpcFactory rpcf, Configuration configuration) {
         State state = new State();
-        return new Master(state, connections, networkName, myLocation, rpcf);
+        return new Master(state, connections, networkName, myLocation, rpcf,
+                configuration);
     }
 
     Master(State initialState, ConnectionManager connections,
             String networkName, String myLocation, RpcFactory rpcf) {
+        this(initialState, connections, networkName, myLocation, rpcf,
+                Configuration.empty());
+    }
+
+    Master(State initialState, ConnectionManager connections,
+            String networkName, String myLocation, RpcFactory rpcf,
+            Configuration configuration) {
+        this.heartbeatInterval = configuration.getLong(
+                "heartbeatInterval", 0);
+        this.changeLogSize = configuration.getInt("changeLogSize", 10000);
+        this.commitMaxBatchSize = configuration.getInt(
+                "commitMaxBatchSize", 256);
+        this.maxBatchBytes = configuration.getInt("maxBatchBytes", 256 * 1024);
+        this.relayFanout = configuration.getInt("relayFanout", 0);
+        this.maxQueuedComponents = configuration.getInt(
+                "maxQueuedComponents", 10000);
+        this.maxInFlight = configuration.getInt("maxInFlight", 4);
+        this.maxScanLimit = configuration.getInt("maxScanLimit", 1000);
+        this.maxJoinChunksInFlight = configuration.getInt(
+                "maxJoinChunksInFlight", 4);
+        this.maxUpdatesPerSecond = configuration.getDouble(
+                "maxUpdatesPerSecond", 0);
+        this.updateBurst = configuration.getInt("updateBurst", 100);
+        this.maxConcurrentUpdates = configuration.getInt(
+                "maxConcurrentUpdates", 0);
+        this.maxQueuedUpdates = configuration.getInt("maxQueuedUpdates", 1000);
         this.state = initialState;
         this.connections = connections;
         this.myLocation = myLocation;
         this.networkName = networkName;
         this.rpcf = rpcf;
+        this.changeLog = ChangeLog.forState(changeLogSize, state);
+        this.pipeline = new CommitPipeline(committer, commitMaxBatchSize);
+        pipeline.updateRevision(1);
+        this.admissionEnabled =
+                maxUpdatesPerSecond > 0 || maxConcurrentUpdates > 0;
+        this.admission = new AdmissionControl(maxUpdatesPerSecond,
+                updateBurst, maxConcurrentUpdates > 0 ?
+                        maxConcurrentUpdates : Integer.MAX_VALUE,
+                maxQueuedUpdates, admissionExecutor);
+        this.relayTree = new RelayTree(connections, rpcf);
+        for (int i = 0; i < KEY_LOCKS; i++) {
+            keyLocks[i] = new ReentrantLock();
+        }
+        loadMembership();
     }
     
     public String getNetworkName() {
@@ -269,151 +616,1332 @@ public class Master {
                 .setMasterLocation(getLocation())
                 .setNetworkName(getNetworkName())
                 .setMasterId(masterId)
-                .setRevision(revision.get())
+                .setRevision(pipeline.getInstalledRevision())
                 .build();
     }
     
     private Services.Master newMasterImpl = new Services.Master() {
         @Override public void joinNetworkRequest(RpcController controller,
                 ClientState request, RpcCallback<Empty> done) {
-            sendInitialMasterTakeover(request.getLocation());
-            addParticipant(request.getLocation());
+            if (request.hasSubscription()) {
+                subscriptions.subscribe(request.getLocation(),
+                        request.getSubscription(), state);
+            } else {
+                subscriptions.remove(request.getLocation());
+            }
+            startJoin(request.getLocation(), request.getRevision());
             done.run(Empty.getDefaultInstance());
         }
 
         @Override public void updateStateRequest(RpcController controller,
-                Services.Component request,
+                final Services.Component request,
+                RpcCallback<Services.UpdateComponentResponse> done) {
+            if (failIfStorageFailed(controller, done)) {
+                return;
+            }
+            admit(request.getOrigin(), new AdmittedRequest<
+                    Services.UpdateComponentResponse>(controller, done) {
+                @Override Services.UpdateComponentResponse apply()
+                        throws InterruptedException, IOException {
+                    List<Component> result;
+                    if (request.hasPatch()) {
+                        result = pipeline.submit(new PatchUpdate(request));
+                    } else if (request.hasMerge()) {
+                        result = pipeline.submit(new MergeUpdate(request));
+                    } else {
+                        result = pipeline.submit(new ComponentUpdate(request));
+                    }
+                    return updateResponse(result);
+                }
+
+                @Override Services.UpdateComponentResponse rejected(
+                        long retryAfter) {
+                    return rejectedUpdate(retryAfter);
+                }
+            });
+        }
+
+        @Override public void transaction(RpcController controller,
+                final TransactionRequest request,
                 RpcCallback<Services.UpdateComponentResponse> done) {
-            boolean success = false;
-            if (state.checkRevision(request.getId(), request.getRevision())) {
-                success = true;
-                long newRevision = revision.incrementAndGet();
-                state.forceUpdate(request.getId(), request.getData(), newRevision);
-                sendStateToClients(state.getComponent(request.getId()));
+            if (failIfStorageFailed(controller, done)) {
+                return;
+            }
+            admit(request.getOrigin(), new AdmittedRequest<
+                    Services.UpdateComponentResponse>(controller, done) {
+                @Override Services.UpdateComponentResponse apply()
+                        throws InterruptedException, IOException {
+                    return updateResponse(pipeline.submit(
+                            new TransactionUpdate(request)));
+                }
+
+                @Override Services.UpdateComponentResponse rejected(
+                        long retryAfter) {
+                    return rejectedUpdate(retryAfter);
+                }
+            });
+        }
+
+        @Override public void getChangesSince(RpcController controller,
+                ChangesRequest request, RpcCallback<ChangesResponse> done) {
+            // Read before the state, which then has every update up to it.
+            long installedRevision = pipeline.getInstalledRevision();
+            done.run(changeLog.getChangesResponse(request.getRevision(),
+                    state, installedRevision));
+        }
+
+        @Override public void getComponents(RpcController controller,
+                ComponentQuery request, RpcCallback<FullStateResponse> done) {
+            FullStateResponse.Builder response = FullStateResponse.newBuilder()
+                    .setRevision(pipeline.getInstalledRevision());
+            Map<String, Component> components =
+                    new LinkedHashMap<String, Component>();
+            for (Component component : state.getComponents(
+                    request.getIdList())) {
+                components.put(component.getName(), component);
             }
-            done.run(Services.UpdateComponentResponse.newBuilder()
-                    .setSuccess(success).build());
+            if (request.hasPrefix()) {
+                for (Component component : state.getByPrefix(
+                        request.getPrefix())) {
+                    components.put(component.getName(), component);
+                }
+            }
+            response.addAllComponent(ServicesPbConversion.componentsToPb(
+                    components.values()));
+            done.run(response.build());
+        }
+
+        @Override public void getComponent(RpcController controller,
+                ComponentRequest request, RpcCallback<ComponentResponse> done) {
+            ComponentResponse.Builder response = ComponentResponse.newBuilder()
+                    .setRevision(pipeline.getInstalledRevision());
+            Component component = state.getComponent(request.getId());
+            if (component != null) {
+                response.setComponent(
+                        ServicesPbConversion.componentToPb(component));
+            }
+            done.run(response.build());
+        }
+
+        @Override public void scan(RpcController controller,
+                ScanRequest request, RpcCallback<ScanResponse> done) {
+            ScanResponse.Builder response = ScanResponse.newBuilder()
+                    .setRevision(pipeline.getInstalledRevision());
+            int limit = maxScanLimit;
+            if (request.hasLimit() && request.getLimit() > 0) {
+                limit = Math.min(request.getLimit(), maxScanLimit);
+            }
+            // Reads one extra component to know whether there are more.
+            List<Component> components = state.scan(request.getPrefix(),
+                    request.hasStartAfter() ? request.getStartAfter() : null,
+                    limit + 1);
+            if (components.size() > limit) {
+                components = components.subList(0, limit);
+                response.setNextStartAfter(
+                        components.get(limit - 1).getName());
+            }
+            response.addAllComponent(
+                    ServicesPbConversion.componentsToPb(components));
+            done.run(response.build());
+        }
+
+        @Override public void applyOperation(RpcController controller,
+                final OperationRequest request,
+                RpcCallback<OperationResponse> done) {
+            if (failIfStorageFailed(controller, done)) {
+                return;
+            }
+            admit(request.getOrigin(), new AdmittedRequest<OperationResponse>(
+                    controller, done) {
+                @Override OperationResponse apply()
+                        throws InterruptedException, IOException {
+                    OperationResponse.Builder response =
+                            OperationResponse.newBuilder().setSuccess(false);
+                    List<Component> result = pipeline.submit(
+                            new OperationUpdate(request));
+                    if (result != null) {
+                        response.setSuccess(true).setComponent(
+                                ServicesPbConversion.componentToPb(
+                                        result.get(0)));
+                    }
+                    return response.build();
+                }
+
+                @Override OperationResponse rejected(long retryAfter) {
+                    return OperationResponse.newBuilder()
+                            .setSuccess(false)
+                            .setRetryAfterMillis(retryAfter)
+                            .build();
+                }
+            });
+        }
+
+        @Override public void subscribe(RpcController controller,
+                ClientState request, RpcCallback<Empty> done) {
+            String location = request.getLocation();
+            if (!membership.contains(location)) {
+                logger.warn("Ignoring subscription from {}: Not a " +
+                        "participant.", location);
+            } else {
+                List<Component> added = subscriptions.subscribe(location,
+                        request.getSubscription(), state);
+                OutboundQueue queue = getQueue(location);
+                if (!added.isEmpty() && queue != null) {
+                    queue.add(added);
+                }
+            }
+            done.run(Empty.getDefaultInstance());
         }
     };
     
-    private void sendStateToClients(State.Component component) {
-        for (String clientLocation : state.getList(
-                com.orbekk.same.State.PARTICIPANTS)) {
-            sendComponent(clientLocation, component);
+    /**
+     * Fails an update request if this master can no longer persist
+     * updates. The participants then elect a new master.
+     * 
+     * @return true if the request was failed.
+     */
+    private <T> boolean failIfStorageFailed(RpcController controller,
+            RpcCallback<T> done) {
+        if (!storageFailed) {
+            return false;
         }
+        controller.setFailed(STORAGE_FAILED);
+        done.run(null);
+        return true;
     }
-    
-    private void sendComponent(String clientLocation, Component component) {
+
+    /**
+     * An update request that runs when admission control lets it through,
+     * and then answers the request.
+     */
+    private abstract class AdmittedRequest<T> implements Runnable {
+        private final RpcController controller;
+        private final RpcCallback<T> done;
+
+        AdmittedRequest(RpcController controller, RpcCallback<T> done) {
+            this.controller = controller;
+            this.done = done;
+        }
+
+        /** Applies the update and returns the response. */
+        abstract T apply() throws InterruptedException, IOException;
+
+        /** Returns the response to an update that was not applied. */
+        abstract T rejected(long retryAfter);
+
+        /** Answers a request that admission control rejected. */
+        void reject(long retryAfter) {
+            done.run(rejected(retryAfter));
+        }
+
+        @Override public void run() {
+            long startTime = System.nanoTime();
+            T response;
+            try {
+                response = apply();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                response = rejected(1);
+            } catch (IOException e) {
+                controller.setFailed(e.getMessage());
+                response = null;
+            } finally {
+                if (admissionEnabled) {
+                    admission.release(startTime);
+                }
+            }
+            done.run(response);
+        }
+    }
+
+    /**
+     * Runs 'request' now, or later when admission control lets an update
+     * from 'origin' through. Answers it with a retry-after time if it is
+     * rejected.
+     * 
+     * The origin is chosen by the sender, so only participants get a
+     * bucket of their own. Other senders share the UNKNOWN_ORIGIN bucket,
+     * and cannot take a share of the update path from the participants by
+     * making up origins.
+     */
+    private void admit(String origin, AdmittedRequest<?> request) {
+        if (!admissionEnabled) {
+            request.run();
+            return;
+        }
+        if (!membership.contains(origin)) {
+            origin = UNKNOWN_ORIGIN;
+        }
+        long retryAfter = admission.admit(origin, request);
+        if (retryAfter != AdmissionControl.ADMITTED) {
+            request.reject(retryAfter);
+        }
+    }
+
+    /** Returns the response to an update that installed 'result'. */
+    private static Services.UpdateComponentResponse updateResponse(
+            List<Component> result) {
+        Services.UpdateComponentResponse.Builder response =
+                Services.UpdateComponentResponse.newBuilder()
+                .setSuccess(result != null);
+        if (result != null && !result.isEmpty()) {
+            response.setRevision(result.get(0).getRevision());
+        }
+        return response.build();
+    }
+
+    private static Services.UpdateComponentResponse rejectedUpdate(
+            long retryAfter) {
+        return Services.UpdateComponentResponse.newBuilder()
+                .setSuccess(false)
+                .setRetryAfterMillis(retryAfter)
+                .build();
+    }
+
+    /** Returns the admission statistics of each participant. */
+    public List<String> getAdmissionStats() {
+        return admission.getStats();
+    }
+
+    /**
+     * Sets the share of the updates that 'location' gets when the master
+     * is busy, relative to the default weight 1.
+     */
+    public void setUpdateWeight(String location, double weight) {
+        admission.setWeight(location, weight);
+    }
+
+    /**
+     * Sends a patch to a client. Falls back to the full value if the client
+     * does not have the base revision.
+     */
+    private void sendPatch(final String clientLocation,
+            final PatchedComponent component, final Runnable done) {
         Services.Client client = connections.getClient0(clientLocation);
         if (client == null) {
             removeParticipant(clientLocation);
+            return;
+        }
+        final Rpc rpc = rpcf.create();
+        RpcCallback<Services.UpdateComponentResponse> callback =
+                new RpcCallback<Services.UpdateComponentResponse>() {
+            @Override public void run(Services.UpdateComponentResponse response) {
+                if (rpc.failed()) {
+                    removeParticipant(clientLocation);
+                    return;
+                }
+                OutboundQueue queue = getQueue(clientLocation);
+                if (!response.getSuccess() && queue != null) {
+                    queue.add(Collections.singletonList(
+                            new Component(component)));
+                }
+                done.run();
+            }
+        };
+        client.applyPatch(rpc, component.patchToPb(), callback);
+    }
+
+    /**
+     * Applies a patch if the request is based on the current revision of
+     * its component.
+     */
+    private class PatchUpdate implements CommitPipeline.Update {
+        private final Services.Component request;
+
+        public PatchUpdate(Services.Component request) {
+            this.request = request;
+        }
+
+        @Override public List<Component> apply() throws IOException {
+            Component base = state.getComponent(request.getId());
+            if (base == null || base.getRevision() != request.getRevision() ||
+                    base.getCodec() != JsonCodec.ID) {
+                return null;
+            }
+            byte[] patch = request.getPatch().toByteArray();
+            byte[] value;
+            try {
+                value = JsonPatch.apply(base.getValue(), patch);
+            } catch (IOException e) {
+                logger.warn("Invalid patch for {}: {}", base, e);
+                return null;
+            }
+            return install(Collections.singletonList(new Component(
+                    request.getId(), 0, JsonCodec.ID, value)),
+                    new long[] { base.getRevision() }, patch);
+        }
+    }
+
+    /**
+     * Installs 'component' under a new revision if the current component
+     * has 'expectedRevision', or does not exist.
+     * 
+     * @return the installed component, or null if the component has changed.
+     */
+    private List<Component> install(Component component,
+            long expectedRevision) throws IOException {
+        return install(Collections.singletonList(component),
+                new long[] { expectedRevision }, null);
+    }
+
+    /**
+     * Installs 'components' under one new revision if each current
+     * component has the corresponding element of 'expectedRevisions', or
+     * does not exist. The revisions of 'components' are ignored.
+     * 
+     * The new revision is only taken when the check passes, so failed and
+     * retried updates do not use up revisions. The components are on disk
+     * before they are installed.
+     * 
+     * @param patch the patch from the current value to the single
+     *      component, which is sent to the participants instead of the
+     *      value, or null.
+     * @return the installed components, or null if a component has changed.
+     * @throws IOException if the components could not be made durable.
+     */
+    private List<Component> install(List<Component> components,
+            long[] expectedRevisions, byte[] patch) throws IOException {
+        List<String> names = new ArrayList<String>(components.size());
+        for (Component component : components) {
+            names.add(component.getName());
+        }
+        long newRevision = 0;
+        List<Component> installed = null;
+        try {
+            int[] locks = lockKeys(names);
+            try {
+                for (int i = 0; i < expectedRevisions.length; i++) {
+                    Component current = state.getComponent(names.get(i));
+                    if (current != null &&
+                            current.getRevision() != expectedRevisions[i]) {
+                        return null;
+                    }
+                }
+                newRevision = pipeline.begin();
+                List<Component> newComponents =
+                        new ArrayList<Component>(components.size());
+                for (Component component : components) {
+                    newComponents.add(new Component(component.getName(),
+                            newRevision, component.getCodec(),
+                            component.getValue()));
+                }
+                // On disk before anyone can read them. Updates to other
+                // keys share the fsync.
+                persist(newComponents);
+                boolean success = newComponents.size() == 1 ?
+                        state.compareAndSet(newComponents.get(0),
+                                expectedRevisions[0]) :
+                        state.compareAndSetAll(newComponents,
+                                expectedRevisions);
+                if (!success) {
+                    // Changed by someone other than this master.
+                    abandon(newComponents);
+                } else if (patch != null) {
+                    installed = Collections.<Component>singletonList(
+                            new PatchedComponent(newComponents.get(0),
+                                    expectedRevisions[0], patch));
+                } else {
+                    installed = newComponents;
+                }
+            } finally {
+                unlockKeys(locks);
+            }
+        } finally {
+            if (newRevision != 0) {
+                pipeline.finish(newRevision, installed);
+            }
+        }
+        return installed;
+    }
+
+    /**
+     * Takes the locks of the keys 'names' in a fixed order, so that
+     * updates to overlapping keys do not deadlock.
+     * 
+     * @return the locks taken, which must be passed to unlockKeys().
+     */
+    private int[] lockKeys(List<String> names) {
+        TreeSet<Integer> indexes = new TreeSet<Integer>();
+        for (String name : names) {
+            indexes.add((name.hashCode() * 0x9E3779B9) >>> 26);
+        }
+        int[] locks = new int[indexes.size()];
+        int i = 0;
+        for (int index : indexes) {
+            keyLocks[index].lock();
+            locks[i++] = index;
+        }
+        return locks;
+    }
+
+    private void unlockKeys(int[] locks) {
+        for (int i = locks.length - 1; i >= 0; i--) {
+            keyLocks[locks[i]].unlock();
+        }
+    }
+
+    /**
+     * Installs a component pulled from a participant during a takeover if
+     * it is newer, while holding its lock so that it does not change
+     * under an update that has checked its revision.
+     */
+    private void installPulled(Component component) {
+        int[] locks = lockKeys(Collections.singletonList(
+                component.getName()));
+        try {
+            state.update(component);
+        } finally {
+            unlockKeys(locks);
+        }
+        updateRevision(component.getRevision());
+    }
+
+    /** Replaces a component if the request is based on its revision. */
+    private class ComponentUpdate implements CommitPipeline.Update {
+        private final Services.Component request;
+
+        public ComponentUpdate(Services.Component request) {
+            this.request = request;
+        }
+
+        @Override public List<Component> apply() throws IOException {
+            return install(ServicesPbConversion.componentFromPb(request, 0),
+                    request.getRevision());
+        }
+    }
+
+    /** Merges a CRDT delta into the current value of a component. */
+    private class MergeUpdate implements CommitPipeline.Update {
+        private final Services.Component request;
+
+        public MergeUpdate(Services.Component request) {
+            this.request = request;
+        }
+
+        @Override public List<Component> apply() throws IOException {
+            CrdtType<?> type;
+            try {
+                type = Crdts.get(request.getMerge());
+            } catch (IllegalArgumentException e) {
+                logger.warn("Rejecting merge: {}", e.getMessage());
+                return null;
+            }
+            if (request.getCodec() != JsonCodec.ID) {
+                logger.warn("Rejecting merge of non-JSON value: {}",
+                        request.getId());
+                return null;
+            }
+            byte[] delta = request.getValue().toByteArray();
+            while (true) {
+                Component base = state.getComponent(request.getId());
+                if (base != null && base.getCodec() != JsonCodec.ID) {
+                    logger.warn("Rejecting merge into non-JSON value: {}",
+                            base);
+                    return null;
+                }
+                byte[] value;
+                try {
+                    value = type.merge(base == null ? null : base.getValue(),
+                            delta);
+                } catch (IOException e) {
+                    logger.warn("Invalid delta for {}: {}",
+                            request.getId(), e);
+                    return null;
+                }
+                // Retries with the new value if the component has changed.
+                List<Component> installed = install(new Component(
+                        request.getId(), 0, JsonCodec.ID, value),
+                        base == null ? 0 : base.getRevision());
+                if (installed != null) {
+                    return installed;
+                }
+            }
+        }
+    }
+
+    /** Applies an operation to the current value of a component. */
+    private class OperationUpdate implements CommitPipeline.Update {
+        private final OperationRequest request;
+
+        public OperationUpdate(OperationRequest request) {
+            this.request = request;
+        }
+
+        @Override public List<Component> apply() throws IOException {
+            JsonOperations.Operator operator = JsonOperations.Operator.valueOf(
+                    request.getOperator().name());
+            byte[] operand = request.hasOperand() ?
+                    request.getOperand().toByteArray() : null;
+            String key = request.hasKey() ? request.getKey() : null;
+            while (true) {
+                Component base = state.getComponent(request.getId());
+                if (base != null && base.getCodec() != JsonCodec.ID) {
+                    logger.warn("Rejecting {} on non-JSON value: {}",
+                            operator, base);
+                    return null;
+                }
+                byte[] value;
+                try {
+                    value = JsonOperations.apply(operator,
+                            base == null ? null : base.getValue(),
+                            operand, key);
+                } catch (IOException e) {
+                    logger.warn("Failed to apply operation to {}: {}",
+                            request.getId(), e);
+                    return null;
+                }
+                // Retries with the new value if the component has changed.
+                List<Component> installed = install(new Component(
+                        request.getId(), 0, JsonCodec.ID, value),
+                        base == null ? 0 : base.getRevision());
+                if (installed != null) {
+                    return installed;
+                }
+            }
+        }
+    }
+
+    /**
+     * Replaces several components under one new revision if every request
+     * is based on the current revision of its component.
+     */
+    private class TransactionUpdate implements CommitPipeline.Update {
+        private final TransactionRequest request;
+
+        public TransactionUpdate(TransactionRequest request) {
+            this.request = request;
+        }
+
+        @Override public List<Component> apply() throws IOException {
+            int size = request.getComponentCount();
+            Set<String> ids = new HashSet<String>();
+            for (Services.Component componentPb : request.getComponentList()) {
+                if (!ids.add(componentPb.getId())) {
+                    logger.warn("Transaction updates {} twice.",
+                            componentPb.getId());
+                    return null;
+                }
+            }
+            List<Component> components = new ArrayList<Component>(size);
+            long[] expectedRevisions = new long[size];
+            for (int i = 0; i < size; i++) {
+                Services.Component componentPb = request.getComponent(i);
+                components.add(ServicesPbConversion.componentFromPb(
+                        componentPb, 0));
+                expectedRevisions[i] = componentPb.getRevision();
+            }
+            return install(components, expectedRevisions, null);
+        }
+    }
+
+    private final CommitPipeline.Committer committer =
+            new CommitPipeline.Committer() {
+        @Override public void commit(List<Component> components) {
+            if (relayFanout > 0) {
+                relayComponents(components);
+            } else {
+                for (String clientLocation : getBroadcastTargets()) {
+                    OutboundQueue queue = getQueue(clientLocation);
+                    if (queue != null) {
+                        queue.add(components);
+                    }
+                }
+            }
+            if (!subscriptions.isEmpty()) {
+                sendToSubscribers(components);
+            }
+        }
+    };
+
+    /** Queues each component for the subscribers that want it. */
+    private void sendToSubscribers(List<Component> components) {
+        Map<String, List<Component>> routed =
+                new HashMap<String, List<Component>>();
+        for (Component component : components) {
+            for (String location :
+                    subscriptions.getSubscribers(component.getName())) {
+                List<Component> selected = routed.get(location);
+                if (selected == null) {
+                    selected = new ArrayList<Component>();
+                    routed.put(location, selected);
+                }
+                selected.add(component);
+            }
+        }
+        for (Map.Entry<String, List<Component>> entry : routed.entrySet()) {
+            OutboundQueue queue = getQueue(entry.getKey());
+            if (queue != null) {
+                queue.add(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Returns the queue of a participant, or null if 'clientLocation' is
+     * not a participant. Queues are created and removed while holding the
+     * membership lock, so that a removed participant does not get a new
+     * queue.
+     */
+    private OutboundQueue getQueue(String clientLocation) {
+        OutboundQueue queue = queues.get(clientLocation);
+        if (queue != null) {
+            return queue;
+        }
+        synchronized (membership) {
+            if (!membership.contains(clientLocation)) {
+                return null;
+            }
+            return createQueue(clientLocation);
+        }
+    }
+
+    boolean testHasQueue(String clientLocation) {
+        return queues.containsKey(clientLocation);
+    }
+
+    /** Must be called while holding the membership lock. */
+    private OutboundQueue createQueue(String clientLocation) {
+        OutboundQueue queue = queues.get(clientLocation);
+        if (queue == null) {
+            queue = new OutboundQueue(new QueueTransport(clientLocation),
+                    maxQueuedComponents, maxInFlight,
+                    commitMaxBatchSize);
+            queues.put(clientLocation, queue);
+        }
+        return queue;
+    }
+
+    /** Sends the updates of an OutboundQueue to a client. */
+    private class QueueTransport implements OutboundQueue.Transport {
+        private final String clientLocation;
+
+        public QueueTransport(String clientLocation) {
+            this.clientLocation = clientLocation;
+        }
+
+        @Override public void send(List<Component> components, Runnable done) {
+            if (components.size() == 1 &&
+                    components.get(0) instanceof PatchedComponent) {
+                sendPatch(clientLocation, (PatchedComponent)components.get(0),
+                        done);
+            } else if (components.size() == 1) {
+                sendComponent(clientLocation, components.get(0), done);
+            } else {
+                sendComponents(clientLocation, components, done);
+            }
+        }
+
+        @Override public void resync(long revision, Runnable done) {
+            logger.info("Resynchronizing slow participant {} from {}.",
+                    clientLocation, revision);
+            sendComponents(clientLocation,
+                    getStateSince(clientLocation, revision), done);
+        }
+    }
+
+    /** Removes the participant if the RPC fails, and runs 'done' otherwise. */
+    private class SendCallback implements RpcCallback<Empty> {
+        private final String clientLocation;
+        private final Rpc rpc;
+        private final Runnable done;
+
+        public SendCallback(String clientLocation, Rpc rpc, Runnable done) {
+            this.clientLocation = clientLocation;
+            this.rpc = rpc;
+            this.done = done;
+        }
+
+        @Override public void run(Empty unused) {
+            if (rpc.failed()) {
+                removeParticipant(clientLocation);
+            } else if (done != null) {
+                done.run();
+            }
+        }
+    }
+
+    /**
+     * The sorted participants without a subscription as of a membership
+     * revision and a subscription version.
+     */
+    private static class BroadcastTargets {
+        final long revision;
+        final long subscriptionVersion;
+        final List<String> locations;
+
+        BroadcastTargets(long revision, long subscriptionVersion,
+                List<String> locations) {
+            this.revision = revision;
+            this.subscriptionVersion = subscriptionVersion;
+            this.locations = locations;
+        }
+    }
+
+    /**
+     * Returns the participants that receive every update, in a fixed order
+     * so that the relay tree only changes when the membership or the
+     * subscriptions do.
+     */
+    private List<String> getBroadcastTargets() {
+        BroadcastTargets current = broadcastTargets;
+        long membershipRevision = membership.getRevision();
+        long subscriptionVersion = subscriptions.getVersion();
+        if (current.revision != membershipRevision ||
+                current.subscriptionVersion != subscriptionVersion) {
+            List<String> locations = membership.getLocations();
+            locations.removeAll(subscriptions.getLocations());
+            Collections.sort(locations);
+            current = new BroadcastTargets(membershipRevision,
+                    subscriptionVersion,
+                    Collections.unmodifiableList(locations));
+            broadcastTargets = current;
+        }
+        return current.locations;
+    }
+
+    private final RelayTree.FailureListener relayFailureListener =
+            new RelayTree.FailureListener() {
+        @Override public void relayFailed(String location) {
+            removeParticipant(location);
+        }
+    };
+
+    private void relayComponents(List<Component> components) {
+        List<String> targets = getBroadcastTargets();
+        if (targets.isEmpty()) {
+            return;
+        }
+        for (Services.ComponentBatch batch :
+                ServicesPbConversion.componentsToBatches(components,
+                        maxBatchBytes)) {
+            relayTree.send(batch.getComponentList(), targets, relayFanout,
+                    relayFailureListener);
+        }
+    }
+
+    /**
+     * Logs 'components' and waits until they are on disk, if storage is
+     * enabled. If they cannot be written, this master stops accepting
+     * updates.
+     */
+    private void persist(List<Component> components) throws IOException {
+        StateStorage currentStorage = storage;
+        if (currentStorage != null && !currentStorage.log(components)) {
+            if (!storageFailed) {
+                storageFailed = true;
+                logger.error("Failed to persist update. Not accepting " +
+                        "more updates.");
+            }
+            throw new IOException(STORAGE_FAILED);
+        }
+    }
+
+    /** Abandons components passed to persist() that were not installed. */
+    private void abandon(List<Component> components) {
+        StateStorage currentStorage = storage;
+        if (currentStorage != null) {
+            currentStorage.abandon(components);
+        }
+    }
+
+    /**
+     * Sends 'component' to a client and runs 'done' when it has been
+     * received. 'done' may be null.
+     */
+    private void sendComponent(String clientLocation, Component component,
+            Runnable done) {
+        Services.Client client = connections.getClient0(clientLocation);
+        if (client == null) {
+            removeParticipant(clientLocation);
+            return;
         }
 
         Services.Component componentProto = ServicesPbConversion.componentToPb(component);
         Rpc rpc = rpcf.create();
-        RpcCallback<Empty> done =
-                new RemoveParticipantIfFailsCallback<Empty>(clientLocation,
-                        rpc);
-        client.setState(rpc, componentProto, done);
+        client.setState(rpc, componentProto,
+                new SendCallback(clientLocation, rpc, done));
     }
     
+    /**
+     * Sends 'components' to a client and runs 'done' when all of them have
+     * been received. 'done' may be null.
+     */
     private void sendComponents(String clientLocation,
-            List<Component> components) {
+            Iterable<Component> components, final Runnable done) {
         Services.Client client = connections.getClient0(clientLocation);
         if (client == null) {
             removeParticipant(clientLocation);
+            return;
         }
 
-        for (Component component : components) {
-            Services.Component componentProto = ServicesPbConversion.componentToPb(component);
+        List<Services.ComponentBatch> batches =
+                ServicesPbConversion.componentsToBatches(components,
+                        maxBatchBytes);
+        if (batches.isEmpty()) {
+            if (done != null) {
+                done.run();
+            }
+            return;
+        }
+        Runnable batchDone = null;
+        if (done != null) {
+            final AtomicInteger remaining = new AtomicInteger(batches.size());
+            batchDone = new Runnable() {
+                @Override public void run() {
+                    if (remaining.decrementAndGet() == 0) {
+                        done.run();
+                    }
+                }
+            };
+        }
+        for (Services.ComponentBatch batch : batches) {
             Rpc rpc = rpcf.create();
-            RpcCallback<Empty> done =
-                    new RemoveParticipantIfFailsCallback<Empty>(clientLocation,
-                            rpc);
-            client.setState(rpc, componentProto, done);
+            client.setStates(rpc, batch,
+                    new SendCallback(clientLocation, rpc, batchDone));
         }
     }
     
-    private void sendFullState(String clientLocation) {
-        List<Component> components = state.getComponents();
-        sendComponents(clientLocation, components);
+    /**
+     * Returns the changes since 'clientRevision' if they are still in the
+     * change log, and the full state otherwise.
+     */
+    private Iterable<Component> getStateSince(long clientRevision) {
+        List<Component> changes = null;
+        if (clientRevision > 0 && clientRevision <= pipeline.getRevision()) {
+            changes = changeLog.getChangesSince(clientRevision);
+        }
+        if (changes != null) {
+            return changes;
+        } else {
+            return state.getComponents();
+        }
     }
     
-    private synchronized void sendInitialMasterTakeover(String clientLocation) {
+    /**
+     * Returns the components of getStateSince(clientRevision) that the
+     * client is subscribed to.
+     */
+    private Iterable<Component> getStateSince(String clientLocation,
+            long clientRevision) {
+        Iterable<Component> components = getStateSince(clientRevision);
+        if (subscriptions.isSubscribed(clientLocation)) {
+            return subscriptions.filter(clientLocation, components);
+        }
+        return components;
+    }
+
+    /**
+     * Adds a participant and sends it the state it is missing.
+     * 
+     * The participant receives live updates from now on, but they are
+     * held back while a snapshot of the state is sent in the background.
+     * Any update is either in the snapshot or queued. Membership events
+     * are not sent to the participant until the snapshot is done; it gets
+     * the current State.PARTICIPANTS instead.
+     */
+    private void startJoin(String clientLocation, long clientRevision) {
         Services.Client client = connections.getClient0(clientLocation);
-        
-        // Step 1: Send takeover.
-        Rpc rpc1 = rpcf.create();
-        RpcCallback<MasterTakeoverResponse> done1 =
+        if (client == null) {
+            logger.warn("Could not contact joining participant {}.",
+                    clientLocation);
+            return;
+        }
+        Rpc rpc = rpcf.create();
+        RpcCallback<MasterTakeoverResponse> done =
                 new RemoveParticipantIfFailsCallback<MasterTakeoverResponse>(
-                        clientLocation, rpc1);
-        client.masterTakeover(rpc1, getMasterInfo(), done1);
-        
-        // Step 2: Send all state.
-        sendFullState(clientLocation);
-        
-        // Step 3: Finish takeover.
-        Rpc rpc2 = rpcf.create();
-        RpcCallback<Empty> done2 = new RemoveParticipantIfFailsCallback<Empty>(
-                clientLocation, rpc2);
-        client.masterTakeoverFinished(rpc2, getMasterInfo(), done2);
+                        clientLocation, rpc);
+        client.masterTakeover(rpc, getMasterInfo(), done);
+        joining.add(clientLocation);
+        OutboundQueue queue = addParticipant(clientLocation);
+        SnapshotSender sender = new SnapshotSender(clientLocation,
+                clientRevision, queue);
+        snapshotSenders.add(sender);
+        try {
+            joinExecutor.execute(sender);
+        } catch (RejectedExecutionException e) {
+            // This master has stopped.
+            sender.finish();
+        }
+    }
+
+    /** Lets the snapshot senders use the chunks that are available. */
+    private void scheduleSnapshotSenders() {
+        for (SnapshotSender sender : snapshotSenders) {
+            try {
+                joinExecutor.execute(sender);
+            } catch (RejectedExecutionException e) {
+                synchronized (snapshotSenders) {
+                    snapshotSenders.clear();
+                    snapshotSenders.notifyAll();
+                }
+                return;
+            }
+        }
+    }
+
+    private boolean reserveJoinChunk() {
+        while (true) {
+            int current = joinChunksInFlight.get();
+            if (current >= maxJoinChunksInFlight) {
+                return false;
+            }
+            if (joinChunksInFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Sends the state since a revision to a joining participant, and
+     * finishes the join. The state is sent in chunks of maxBatchBytes.
+     * The joining participants share maxJoinChunksInFlight
+     * unacknowledged chunks, and the next chunk is only converted when
+     * there is room for it.
+     */
+    private class SnapshotSender implements Runnable {
+        private final String clientLocation;
+        private final long clientRevision;
+        private final OutboundQueue queue;
+        private Iterator<Services.ComponentBatch> chunks = null;
+        private int inFlight = 0;
+        private boolean finished = false;
+
+        public SnapshotSender(String clientLocation, long clientRevision,
+                OutboundQueue queue) {
+            this.clientLocation = clientLocation;
+            this.clientRevision = clientRevision;
+            this.queue = queue;
+        }
+
+        @Override public synchronized void run() {
+            if (finished) {
+                return;
+            }
+            Services.Client client = connections.getClient0(clientLocation);
+            if (client == null || !membership.contains(clientLocation)) {
+                removeParticipant(clientLocation);
+                finish();
+                return;
+            }
+            if (chunks == null) {
+                chunks = new ServicesPbConversion.BatchIterator(
+                        getStateSince(clientLocation, clientRevision)
+                                .iterator(),
+                        maxBatchBytes);
+            }
+            while (chunks.hasNext() && reserveJoinChunk()) {
+                inFlight += 1;
+                final Rpc rpc = rpcf.create();
+                RpcCallback<Empty> done = new RpcCallback<Empty>() {
+                    @Override public void run(Empty unused) {
+                        chunkSent(rpc);
+                    }
+                };
+                client.setStates(rpc, chunks.next(), done);
+                if (finished) {
+                    return;
+                }
+            }
+            if (inFlight == 0 && !chunks.hasNext()) {
+                joining.remove(clientLocation);
+                queue.add(Collections.singletonList(
+                        state.getComponent(State.PARTICIPANTS)));
+                queue.release();
+                Rpc rpc = rpcf.create();
+                RpcCallback<Empty> done =
+                        new RemoveParticipantIfFailsCallback<Empty>(
+                                clientLocation, rpc);
+                client.masterTakeoverFinished(rpc, getMasterInfo(), done);
+                finish();
+            }
+        }
+
+        private void chunkSent(Rpc rpc) {
+            joinChunksInFlight.decrementAndGet();
+            synchronized (this) {
+                inFlight -= 1;
+                if (rpc.failed()) {
+                    removeParticipant(clientLocation);
+                    finish();
+                }
+            }
+            scheduleSnapshotSenders();
+        }
+
+        private synchronized void finish() {
+            if (!finished) {
+                finished = true;
+                joining.remove(clientLocation);
+                synchronized (snapshotSenders) {
+                    snapshotSenders.remove(this);
+                    snapshotSenders.notifyAll();
+                }
+            }
+        }
     }
     
+    /** Waits for the joins in progress to finish. */
     void performWork() {
+        synchronized (snapshotSenders) {
+            while (!snapshotSenders.isEmpty()) {
+                try {
+                    snapshotSenders.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /** Creates daemon threads, which do not keep the process alive. */
+    private static ThreadFactory daemonThreads(final String name) {
+        return new ThreadFactory() {
+            @Override public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, name);
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
     }
 
-    public void start() {
+    public synchronized void start() {
+        if (heartbeatInterval > 0 && heartbeatThread == null) {
+            heartbeatThread = new Thread(new HeartbeatSender(heartbeatInterval),
+                    "Heartbeat");
+            heartbeatThread.setDaemon(true);
+            heartbeatThread.start();
+        }
     }
 
     public void interrupt() {
+        synchronized (this) {
+            if (heartbeatThread != null) {
+                heartbeatThread.interrupt();
+                heartbeatThread = null;
+            }
+        }
+        joinExecutor.shutdown();
+        admissionExecutor.shutdown();
     }
 
     public Services.Master getNewService() {
         return newMasterImpl;
     }
+
+    private class HeartbeatSender implements Runnable {
+        private final long interval;
+
+        public HeartbeatSender(long interval) {
+            this.interval = interval;
+        }
+
+        @Override public void run() {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    Thread.sleep(interval);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                sendHeartbeats(interval);
+            }
+        }
+    }
+
+    /**
+     * Sends a heartbeat to every participant, and removes the participants
+     * whose failure detector suspects them. The detector of a participant
+     * learns from the times its replies arrive.
+     */
+    void sendHeartbeats(long interval) {
+        long now = System.currentTimeMillis();
+        HeartbeatRequest request = HeartbeatRequest.newBuilder()
+                .setMaster(getMasterInfo())
+                .setIntervalMillis(interval)
+                .build();
+        for (final String clientLocation : membership.getLocations()) {
+            PhiAccrualFailureDetector detector = detectors.get(clientLocation);
+            if (detector == null) {
+                // Assume a reply to a heartbeat right now.
+                PhiAccrualFailureDetector newDetector =
+                        new PhiAccrualFailureDetector(interval);
+                newDetector.heartbeat(now);
+                detector = detectors.putIfAbsent(clientLocation, newDetector);
+                if (detector == null) {
+                    detector = newDetector;
+                }
+            }
+            if (!detector.isAvailable(now)) {
+                logger.warn("No heartbeat from {} in {} ms.", clientLocation,
+                        now - detector.getLastHeartbeat());
+                removeParticipant(clientLocation);
+                continue;
+            }
+            Services.Client client = connections.getClient0(clientLocation);
+            if (client == null) {
+                removeParticipant(clientLocation);
+                continue;
+            }
+            final Rpc rpc = rpcf.create();
+            final PhiAccrualFailureDetector currentDetector = detector;
+            RpcCallback<Empty> done = new RpcCallback<Empty>() {
+                @Override public void run(Empty unused) {
+                    if (rpc.isOk()) {
+                        currentDetector.heartbeat(System.currentTimeMillis());
+                    }
+                }
+            };
+            client.heartbeat(rpc, request, done);
+        }
+    }
     
-    private synchronized void addParticipant(String location) {
-        List<String> participants = state.getList(State.PARTICIPANTS);
-        if (!participants.contains(location)) {
-            participants.add(location);
-            long newRevision = revision.incrementAndGet();
-            state.updateFromObject(State.PARTICIPANTS, participants,
-                    newRevision);
-            sendStateToClients(state.getComponent(State.PARTICIPANTS));
+    /**
+     * Adds 'location' to the membership, and returns its queue. The queue
+     * is held until the participant has received a snapshot.
+     */
+    private OutboundQueue addParticipant(String location) {
+        long newRevision = 0;
+        OutboundQueue queue;
+        int[] locks = lockKeys(PARTICIPANTS_KEY);
+        try {
+            synchronized (membership) {
+                queue = createQueue(location);
+                queue.hold();
+                if (membership.contains(location)) {
+                    return queue;
+                }
+                newRevision = pipeline.begin();
+                if (!membership.join(location, newRevision)) {
+                    return queue;
+                }
+                updateParticipantsComponent();
+            }
+        } finally {
+            unlockKeys(locks);
+            if (newRevision != 0) {
+                pipeline.finish(newRevision, null);
+            }
         }
-        
+        sendMembershipEvent(location, true, newRevision);
+        return queue;
     }
 
-    private synchronized void removeParticipant(String url) {
-        List<String> participants0 = state.getList(State.PARTICIPANTS);
-        if (participants0.contains(url)) {
-            logger.info("removeParticipant({})", url);
-            participants0.remove(url);
-            long newRevision = revision.incrementAndGet();
-            state.updateFromObject(State.PARTICIPANTS, participants0, 
-                    newRevision);
-            sendStateToClients(state.getComponent(State.PARTICIPANTS));
+    private void removeParticipant(String location) {
+        long newRevision = 0;
+        int[] locks = lockKeys(PARTICIPANTS_KEY);
+        try {
+            synchronized (membership) {
+                if (!membership.contains(location)) {
+                    return;
+                }
+                newRevision = pipeline.begin();
+                if (!membership.leave(location, newRevision)) {
+                    return;
+                }
+                queues.remove(location);
+                updateParticipantsComponent();
+            }
+        } finally {
+            unlockKeys(locks);
+            if (newRevision != 0) {
+                pipeline.finish(newRevision, null);
+            }
+        }
+        logger.info("removeParticipant({})", location);
+        subscriptions.remove(location);
+        detectors.remove(location);
+        admission.remove(location);
+        sendMembershipEvent(location, false, newRevision);
+    }
+
+    /** Loads the membership from the State.PARTICIPANTS component. */
+    private void loadMembership() {
+        Component participants = state.getComponent(State.PARTICIPANTS);
+        if (participants == null) {
+            membership.reset(Collections.<String>emptyList(), 0);
+        } else {
+            membership.reset(state.getList(State.PARTICIPANTS),
+                    participants.getRevision());
+        }
+    }
+
+    /**
+     * Updates the State.PARTICIPANTS view of the membership. Must be called
+     * while holding the lock of State.PARTICIPANTS and the membership lock,
+     * in the same section that took the revision of the change.
+     */
+    private void updateParticipantsComponent() {
+        state.update(membership.toComponent());
+    }
+
+    private void sendMembershipEvent(String location, boolean joined,
+            long eventRevision) {
+        MembershipEvent event = MembershipEvent.newBuilder()
+                .setLocation(location)
+                .setJoined(joined)
+                .setRevision(eventRevision)
+                .build();
+        for (String clientLocation : membership.getLocations()) {
+            if (joining.contains(clientLocation)) {
+                // Covered by the State.PARTICIPANTS sent after the snapshot.
+                continue;
+            }
+            Services.Client client = connections.getClient0(clientLocation);
+            if (client == null) {
+                removeParticipant(clientLocation);
+                continue;
+            }
+            Rpc rpc = rpcf.create();
+            RpcCallback<Empty> done =
+                    new RemoveParticipantIfFailsCallback<Empty>(
+                            clientLocation, rpc);
+            client.membershipChanged(rpc, event, done);
         }
     }
     
+    /**
+     * Persists the state of this master in 'storage'. The state must already
+     * contain anything recovered from it.
+     */
+    public void setStorage(StateStorage storage) throws IOException {
+        storage.attach(state);
+        this.storage = storage;
+    }
+    
     /** This master should take over from an earlier master. */
     public void resumeFrom(State lastKnownState, final int masterId) {
+        resumeState(lastKnownState, masterId);
+    }
+
+    /**
+     * Takes over from an earlier master, persisting 'lastKnownState' in
+     * 'storage'. The storage is attached before the takeover starts, so
+     * that the components pulled from the clients are logged.
+     */
+    public void resumeFrom(State lastKnownState, final int masterId,
+            StateStorage storage) throws IOException {
+        storage.attach(lastKnownState);
+        this.storage = storage;
+        resumeState(lastKnownState, masterId);
+    }
+
+    private void resumeState(State lastKnownState, final int masterId) {
         for (Component c : lastKnownState.getComponents()) {
             updateRevision(c.getRevision());
         }
         state = lastKnownState;
+        changeLog = ChangeLog.forState(changeLogSize, state);
         this.masterId = masterId;
+        loadMembership();
+        queues.clear();
+        subscriptions.clear();
+        detectors.clear();
         MasterTakeover takeover = new MasterTakeover(
-                state.getList(State.PARTICIPANTS), getMasterInfo());
+                membership.getLocations(), getMasterInfo());
         new Thread(takeover).start();
     }
     
     public void updateRevision(long newRevision) {
-        boolean updated = false;
-        while (!updated) {
-            long expected = revision.get();
-            long update = Math.max(expected, newRevision);
-            updated = revision.compareAndSet(expected, update);
-        }
+        pipeline.updateRevision(newRevision);
     }
 }
@@ -0,0 +1,149 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.orbekk.same.State.Component;
+import com.orbekk.same.codec.Codecs;
+import com.orbekk.same.codec.JsonCodec;
+
+/**
+ * The participants of a network, with the revision of the last change to
+ * each of them.
+ * 
+ * Joins and leaves are O(1) and may arrive out of order: a change is
+ * ignored if the participant already has a newer one. Participants that
+ * left are kept as tombstones for this purpose.
+ * 
+ * The State.PARTICIPANTS component is a JSON view of this registry, and
+ * is only needed to bootstrap new participants.
+ */
+public class Membership {
+    private static class Member {
+        final long revision;
+        final boolean present;
+
+        Member(long revision, boolean present) {
+            this.revision = revision;
+            this.present = present;
+        }
+    }
+
+    private final ConcurrentMap<String, Member> members =
+            new ConcurrentHashMap<String, Member>();
+    private final AtomicLong revision = new AtomicLong(0);
+    private volatile long baseRevision = 0;
+
+    /** @return true if 'location' was added. */
+    public boolean join(String location, long revision) {
+        return apply(location, new Member(revision, true));
+    }
+
+    /** @return true if 'location' was removed. */
+    public boolean leave(String location, long revision) {
+        return apply(location, new Member(revision, false));
+    }
+
+    private boolean apply(String location, Member update) {
+        if (update.revision <= baseRevision) {
+            return false;
+        }
+        while (true) {
+            Member current = members.get(location);
+            if (current == null) {
+                if (members.putIfAbsent(location, update) == null) {
+                    raiseRevision(update.revision);
+                    return update.present;
+                }
+            } else if (current.revision >= update.revision) {
+                return false;
+            } else if (members.replace(location, current, update)) {
+                raiseRevision(update.revision);
+                return current.present != update.present;
+            }
+        }
+    }
+
+    private void raiseRevision(long newRevision) {
+        while (true) {
+            long current = revision.get();
+            if (newRevision <= current ||
+                    revision.compareAndSet(current, newRevision)) {
+                return;
+            }
+        }
+    }
+
+    public boolean contains(String location) {
+        Member member = members.get(location);
+        return member != null && member.present;
+    }
+
+    /** Returns the current participants in no particular order. */
+    public List<String> getLocations() {
+        List<String> locations = new ArrayList<String>(members.size());
+        for (Map.Entry<String, Member> entry : members.entrySet()) {
+            if (entry.getValue().present) {
+                locations.add(entry.getKey());
+            }
+        }
+        return locations;
+    }
+
+    /** Returns the revision of the latest change. */
+    public long getRevision() {
+        return revision.get();
+    }
+
+    /**
+     * Replaces the participants with 'locations' as of 'revision'. Changes
+     * older than 'revision' are ignored from now on.
+     */
+    public synchronized void reset(Collection<String> locations,
+            long revision) {
+        baseRevision = revision;
+        members.clear();
+        for (String location : locations) {
+            members.put(location, new Member(revision, true));
+        }
+        this.revision.set(revision);
+    }
+
+    /**
+     * Returns the State.PARTICIPANTS component for this membership. It
+     * is the same on every participant with the same membership.
+     */
+    public Component toComponent() {
+        List<String> locations = getLocations();
+        Collections.sort(locations);
+        try {
+            return new Component(State.PARTICIPANTS, getRevision(),
+                    JsonCodec.ID, Codecs.JSON.encode(locations));
+        } catch (IOException e) {
+            throw new IllegalStateException(
+                    "Failed to encode participants.", e);
+        }
+    }
+}
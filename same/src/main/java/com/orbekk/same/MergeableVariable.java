@@ -0,0 +1,39 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same;
+
+import com.orbekk.same.crdt.Crdt;
+import com.orbekk.util.DelayedOperation;
+
+/**
+ * A variable that holds a CRDT. Updates are deltas that the master merges
+ * into the current value, so they never conflict. For example, to
+ * increment a MergeableVariable&lt;PNCounter&gt; counter:
+ * 
+ *     counter.merge(counter.get().add(counter.getReplicaId(), 1));
+ * 
+ * The CRDTs return deltas from methods such as PNCounter.add() and
+ * ORSet.add() without modifying the value they are called on.
+ * 
+ * get() includes the deltas merged through this variable even before the
+ * master has sent them back. set() merges the value like merge().
+ */
+public interface MergeableVariable<T extends Crdt<T>> extends Variable<T> {
+    DelayedOperation merge(T delta);
+
+    /** A unique id of this variable, for CRDTs that track replicas. */
+    String getReplicaId();
+}
@@ -0,0 +1,119 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same;
+
+import java.io.IOException;
+
+import com.google.protobuf.ByteString;
+import com.orbekk.same.codec.Codecs;
+import com.orbekk.same.codec.JsonOperations.Operator;
+
+/**
+ * An operation that the master applies atomically to the current value of
+ * a component, so that concurrent operations never conflict. The value
+ * must be JSON.
+ */
+public class Operation {
+    private final Operator operator;
+    private final byte[] operand;
+    private final String key;
+
+    private Operation(Operator operator, Object operand, String key) {
+        this.operator = operator;
+        this.key = key;
+        try {
+            this.operand = operand == null ? null :
+                    Codecs.JSON.encode(operand);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(
+                    "Failed to encode operand: " + operand, e);
+        }
+    }
+
+    private Operation(Operator operator, String key, byte[] operand) {
+        this.operator = operator;
+        this.key = key;
+        this.operand = operand;
+    }
+
+    /** Returns the operation in a request created by toRequest(). */
+    public static Operation fromRequest(Services.OperationRequest request) {
+        return new Operation(
+                Operator.valueOf(request.getOperator().name()),
+                request.hasKey() ? request.getKey() : null,
+                request.hasOperand() ?
+                        request.getOperand().toByteArray() : null);
+    }
+
+    /** Adds 'amount' to a number. */
+    public static Operation add(Number amount) {
+        return new Operation(Operator.ADD, amount, null);
+    }
+
+    /** Appends 'element' to a list. */
+    public static Operation append(Object element) {
+        return new Operation(Operator.APPEND, element, null);
+    }
+
+    /** Removes every element that is equal to 'element' from a list. */
+    public static Operation remove(Object element) {
+        return new Operation(Operator.REMOVE, element, null);
+    }
+
+    /** Sets 'key' to 'value' in an object. */
+    public static Operation put(String key, Object value) {
+        return new Operation(Operator.PUT, value, key);
+    }
+
+    /** Removes 'key' from an object. */
+    public static Operation removeKey(String key) {
+        return new Operation(Operator.REMOVE_KEY, null, key);
+    }
+
+    /** Keeps the smaller of a number and 'value'. */
+    public static Operation min(Number value) {
+        return new Operation(Operator.MIN, value, null);
+    }
+
+    /** Keeps the larger of a number and 'value'. */
+    public static Operation max(Number value) {
+        return new Operation(Operator.MAX, value, null);
+    }
+
+    public Operator getOperator() {
+        return operator;
+    }
+
+    /** Returns a request to apply this operation to 'id'. */
+    public Services.OperationRequest toRequest(String id) {
+        Services.OperationRequest.Builder request =
+                Services.OperationRequest.newBuilder()
+                        .setId(id)
+                        .setOperator(Services.OperationRequest.Operator
+                                .valueOf(operator.name()));
+        if (operand != null) {
+            request.setOperand(ByteString.copyFrom(operand));
+        }
+        if (key != null) {
+            request.setKey(key);
+        }
+        return request.build();
+    }
+
+    @Override public String toString() {
+        return "Operation(" + operator + ")";
+    }
+}
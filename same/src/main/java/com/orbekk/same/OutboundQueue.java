@@ -0,0 +1,208 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.orbekk.same.State.Component;
+
+/**
+ * Updates waiting to be sent to one participant.
+ * 
+ * At most 'maxInFlight' sends are outstanding at a time. Updates that
+ * arrive in the meantime are queued, and a queued update replaces any
+ * older queued update of the same component. If more than 'maxQueued'
+ * components are waiting, the participant is too slow to keep up: the
+ * queue is dropped, and the participant is resynchronized with the
+ * changes since the oldest dropped update once its outstanding sends have
+ * finished. This bounds the memory and RPCs used for a slow participant.
+ * 
+ * Components with the same revision belong to one transaction and are
+ * always sent in the same batch.
+ * 
+ * A PatchedComponent is sent as a patch if it is sent alone. It is sent
+ * with its full value if it replaces a queued update, since the
+ * participant does not have the base revision of the patch.
+ * 
+ * A queue can be held, e.g., while a snapshot is sent to a joining
+ * participant. Updates are queued but not sent until it is released.
+ */
+public class OutboundQueue {
+    /** Sends updates to the participant. */
+    public interface Transport {
+        /**
+         * Sends 'components'. Runs 'done' when the participant has
+         * received them. 'done' is not run if the send fails.
+         */
+        void send(List<Component> components, Runnable done);
+
+        /**
+         * Sends all changes after 'revision'. Runs 'done' when the
+         * participant has received them. 'done' is not run if the send
+         * fails.
+         */
+        void resync(long revision, Runnable done);
+    }
+
+    private final Transport transport;
+    private final int maxQueued;
+    private final int maxInFlight;
+    private final int maxBatchSize;
+    private final Map<String, Component> queued =
+            new LinkedHashMap<String, Component>();
+    private int inFlight = 0;
+    private boolean resyncNeeded = false;
+    private boolean held = false;
+    private long resyncRevision = Long.MAX_VALUE;
+    private long resyncs = 0;
+
+    public OutboundQueue(Transport transport, int maxQueued, int maxInFlight,
+            int maxBatchSize) {
+        this.transport = transport;
+        this.maxQueued = maxQueued;
+        this.maxInFlight = maxInFlight;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    private final Runnable sendFinished = new Runnable() {
+        @Override public void run() {
+            synchronized (OutboundQueue.this) {
+                inFlight -= 1;
+            }
+            drain();
+        }
+    };
+
+    /** Queues 'components' and sends them as soon as the window allows. */
+    public void add(List<Component> components) {
+        synchronized (this) {
+            for (Component component : components) {
+                if (resyncNeeded) {
+                    // The resynchronization covers this update.
+                    resyncRevision = Math.min(resyncRevision,
+                            component.getRevision() - 1);
+                    continue;
+                }
+                Component previous = queued.get(component.getName());
+                if (previous == null ||
+                        previous.getRevision() < component.getRevision()) {
+                    if (previous != null &&
+                            component instanceof PatchedComponent) {
+                        component = new Component(component);
+                    }
+                    // Move it to the end to keep transactions together.
+                    queued.remove(component.getName());
+                    queued.put(component.getName(), component);
+                }
+                if (queued.size() > maxQueued) {
+                    demote();
+                }
+            }
+        }
+        drain();
+    }
+
+    /** Drops the queued updates in favor of a resynchronization. */
+    private void demote() {
+        for (Component component : queued.values()) {
+            resyncRevision = Math.min(resyncRevision,
+                    component.getRevision() - 1);
+        }
+        queued.clear();
+        resyncNeeded = true;
+    }
+
+    /**
+     * Returns true if nothing is queued or outstanding, i.e., a message
+     * sent now is not reordered with queued updates.
+     */
+    public synchronized boolean isIdle() {
+        return inFlight == 0 && queued.isEmpty() && !resyncNeeded && !held;
+    }
+
+    /** Stops sending updates until release() is called. */
+    public synchronized void hold() {
+        held = true;
+    }
+
+    /** Sends the updates queued while the queue was held. */
+    public void release() {
+        synchronized (this) {
+            held = false;
+        }
+        drain();
+    }
+
+    public synchronized int getQueued() {
+        return queued.size();
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    /** Returns the number of times the participant has been resynchronized. */
+    public synchronized long getResyncs() {
+        return resyncs;
+    }
+
+    private void drain() {
+        while (true) {
+            List<Component> batch = null;
+            long revision = 0;
+            synchronized (this) {
+                if (held || inFlight >= maxInFlight) {
+                    return;
+                }
+                if (resyncNeeded) {
+                    if (inFlight > 0) {
+                        return;
+                    }
+                    revision = resyncRevision;
+                    resyncNeeded = false;
+                    resyncRevision = Long.MAX_VALUE;
+                    resyncs += 1;
+                } else if (queued.isEmpty()) {
+                    return;
+                } else {
+                    batch = new ArrayList<Component>(
+                            Math.min(queued.size(), maxBatchSize));
+                    Iterator<Component> it = queued.values().iterator();
+                    while (it.hasNext()) {
+                        Component next = it.next();
+                        if (batch.size() >= maxBatchSize &&
+                                next.getRevision() != batch.get(
+                                        batch.size() - 1).getRevision()) {
+                            break;
+                        }
+                        batch.add(next);
+                        it.remove();
+                    }
+                }
+                inFlight += 1;
+            }
+            if (batch != null) {
+                transport.send(batch, sendFinished);
+            } else {
+                transport.resync(revision, sendFinished);
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same;
+
+import com.orbekk.same.State.Component;
+
+/**
+ * A component that was created by a JsonPatch of its value at
+ * 'baseRevision'. It can be sent as the patch to a participant that has the
+ * base revision.
+ */
+public class PatchedComponent extends Component {
+    private final long baseRevision;
+    private final byte[] patch;
+
+    /**
+     * @param patch The patch. The array must not be modified after it is
+     *      passed to this constructor.
+     */
+    public PatchedComponent(Component component, long baseRevision,
+            byte[] patch) {
+        super(component);
+        this.baseRevision = baseRevision;
+        this.patch = patch;
+    }
+
+    public long getBaseRevision() {
+        return baseRevision;
+    }
+
+    /** Returns the patch as a Services.Component. */
+    public Services.Component patchToPb() {
+        return ServicesPbConversion.patchToPb(getName(), getRevision(),
+                baseRevision, patch);
+    }
+}
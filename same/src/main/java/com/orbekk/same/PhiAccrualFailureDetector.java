@@ -0,0 +1,128 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same;
+
+/**
+ * A phi accrual failure detector.
+ * 
+ * Instead of using a fixed timeout, the detector learns the distribution
+ * of the intervals between heartbeats and reports phi, the suspicion that
+ * the sender has failed: phi = -log10(P), where P is the probability that
+ * the next heartbeat arrives even later than now. A threshold of 8 means
+ * that a live sender is wrongly suspected with a probability of about
+ * 1e-8 if the intervals follow the learned distribution. The detector
+ * adapts to the latency and jitter of the network.
+ * 
+ * Times are in milliseconds and are supplied by the caller. This class is
+ * thread-safe.
+ */
+public class PhiAccrualFailureDetector {
+    public static final double DEFAULT_THRESHOLD = 8.0;
+    public static final int DEFAULT_WINDOW_SIZE = 100;
+    private final long[] intervals;
+    private final long minStdDeviation;
+    private final long acceptablePause;
+    private int size = 0;
+    private int next = 0;
+    private double sum = 0;
+    private double squaredSum = 0;
+    private long lastHeartbeat = -1;
+
+    /**
+     * Creates a detector for heartbeats that are sent every
+     * 'heartbeatInterval' milliseconds. It tolerates one lost heartbeat.
+     */
+    public PhiAccrualFailureDetector(long heartbeatInterval) {
+        this(DEFAULT_WINDOW_SIZE, heartbeatInterval,
+                Math.max(1, heartbeatInterval / 10), heartbeatInterval);
+    }
+
+    /**
+     * @param windowSize the number of intervals to remember.
+     * @param firstEstimate the expected interval before any intervals have
+     *      been observed.
+     * @param minStdDeviation a lower bound on the standard deviation, so
+     *      that a very regular sender is not suspected after a small delay.
+     * @param acceptablePause a delay that is added to the expected
+     *      interval, e.g., to tolerate lost heartbeats.
+     */
+    public PhiAccrualFailureDetector(int windowSize, long firstEstimate,
+            long minStdDeviation, long acceptablePause) {
+        this.intervals = new long[windowSize];
+        this.minStdDeviation = minStdDeviation;
+        this.acceptablePause = acceptablePause;
+        // Seed the window with mean 'firstEstimate' and standard deviation
+        // 'firstEstimate / 4'.
+        long deviation = firstEstimate / 4;
+        addInterval(firstEstimate - deviation);
+        addInterval(firstEstimate + deviation);
+    }
+
+    private void addInterval(long interval) {
+        if (size == intervals.length) {
+            long oldest = intervals[next];
+            sum -= oldest;
+            squaredSum -= (double)oldest * oldest;
+        } else {
+            size += 1;
+        }
+        intervals[next] = interval;
+        next = (next + 1) % intervals.length;
+        sum += interval;
+        squaredSum += (double)interval * interval;
+    }
+
+    /** Records a heartbeat that arrived at time 'now'. */
+    public synchronized void heartbeat(long now) {
+        if (lastHeartbeat >= 0 && now > lastHeartbeat) {
+            addInterval(now - lastHeartbeat);
+        }
+        lastHeartbeat = Math.max(lastHeartbeat, now);
+    }
+
+    /**
+     * Returns the suspicion level at time 'now'. It is 0 before the first
+     * heartbeat.
+     */
+    public synchronized double phi(long now) {
+        if (lastHeartbeat < 0) {
+            return 0.0;
+        }
+        double mean = sum / size + acceptablePause;
+        double variance = squaredSum / size - (sum / size) * (sum / size);
+        double stdDeviation = Math.max(Math.sqrt(Math.max(variance, 0)),
+                minStdDeviation);
+        double elapsed = now - lastHeartbeat;
+        // A logistic approximation of the tail of the normal distribution.
+        double y = (elapsed - mean) / stdDeviation;
+        double e = Math.exp(-y * (1.5976 + 0.070566 * y * y));
+        if (elapsed > mean) {
+            return -Math.log10(e / (1.0 + e));
+        } else {
+            return -Math.log10(1.0 - 1.0 / (1.0 + e));
+        }
+    }
+
+    /** Returns whether phi is below the default threshold at time 'now'. */
+    public boolean isAvailable(long now) {
+        return phi(now) < DEFAULT_THRESHOLD;
+    }
+
+    /** Returns the time of the last heartbeat, or -1 if there is none. */
+    public synchronized long getLastHeartbeat() {
+        return lastHeartbeat;
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.protobuf.RpcCallback;
+import com.orbekk.protobuf.Rpc;
+import com.orbekk.same.Services.Empty;
+import com.orbekk.same.Services.RelayRequest;
+
+/**
+ * Disseminates components through a tree of participants.
+ * 
+ * The sender splits the targets into 'fanout' subtrees and sends the
+ * components to the first participant of each, together with the rest of
+ * its subtree. That participant applies the components and does the same
+ * with its own targets. With n participants, the sender only sends
+ * 'fanout' messages and an update reaches everyone in about
+ * log(n) / log(fanout) hops.
+ * 
+ * If a relay cannot be reached, its subtree is sent to directly by the
+ * participant that tried to reach it. Components carry their revisions,
+ * and State.update() ignores older revisions, so components that arrive
+ * out of order cannot overwrite newer ones.
+ */
+public class RelayTree {
+    /** Notified when a relay cannot be reached. */
+    public interface FailureListener {
+        void relayFailed(String location);
+    }
+
+    private final ConnectionManager connections;
+    private final RpcFactory rpcf;
+
+    public RelayTree(ConnectionManager connections, RpcFactory rpcf) {
+        this.connections = connections;
+        this.rpcf = rpcf;
+    }
+
+    /**
+     * Splits 'targets' into at most 'fanout' subtrees of nearly equal
+     * size. The first element of each subtree is its relay.
+     */
+    public static List<List<String>> split(List<String> targets, int fanout) {
+        List<List<String>> subtrees = new ArrayList<List<String>>();
+        int count = Math.min(fanout, targets.size());
+        int start = 0;
+        for (int i = 0; i < count; i++) {
+            int size = (targets.size() - start) / (count - i);
+            subtrees.add(targets.subList(start, start + size));
+            start += size;
+        }
+        return subtrees;
+    }
+
+    /** Sends 'components' to all of 'targets'. */
+    public void send(List<Services.Component> components,
+            List<String> targets, int fanout, FailureListener listener) {
+        for (List<String> subtree : split(targets, fanout)) {
+            sendToSubtree(components, subtree, fanout, listener);
+        }
+    }
+
+    private void sendToSubtree(final List<Services.Component> components,
+            List<String> subtree, final int fanout,
+            final FailureListener listener) {
+        final String relay = subtree.get(0);
+        final List<String> rest = new ArrayList<String>(
+                subtree.subList(1, subtree.size()));
+        Services.Client client = connections.getClient0(relay);
+        if (client == null) {
+            relayFailed(components, relay, rest, fanout, listener);
+            return;
+        }
+        RelayRequest request = RelayRequest.newBuilder()
+                .addAllComponent(components)
+                .addAllTarget(rest)
+                .setFanout(fanout)
+                .build();
+        final Rpc rpc = rpcf.create();
+        RpcCallback<Empty> done = new RpcCallback<Empty>() {
+            @Override public void run(Empty unused) {
+                if (rpc.failed()) {
+                    relayFailed(components, relay, rest, fanout, listener);
+                }
+            }
+        };
+        client.relay(rpc, request, done);
+    }
+
+    private void relayFailed(List<Services.Component> components,
+            String relay, List<String> rest, int fanout,
+            FailureListener listener) {
+        listener.relayFailed(relay);
+        if (!rest.isEmpty()) {
+            send(components, rest, fanout, listener);
+        }
+    }
+}
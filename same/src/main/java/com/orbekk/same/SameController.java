@@ -15,6 +15,8 @@
  */
 package com.orbekk.same;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
@@ -33,6 +35,7 @@ import com.orbekk.same.Services.Empty;
 import com.orbekk.same.Services.MasterState;
 import com.orbekk.same.Services.SystemStatus;
 import com.orbekk.same.config.Configuration;
+import com.orbekk.same.storage.StateStorage;
 
 public class SameController {
     private final Logger logger = LoggerFactory.getLogger(getClass());
@@ -44,6 +47,7 @@ public class SameController {
     private final ConnectionManager connections;
     private final RpcFactory rpcf;
     private final RpcFactory masterRpcf;
+    private final StateStorage storage;
 
     /**
      * Timeout for remote operations in milliseconds.
@@ -51,13 +55,21 @@ public class SameController {
     private static final int timeout = 10000;
 
     private class SystemServiceImpl extends Services.SystemService {
+        private String parsedValueInfo(State state) {
+            return "parsed_value_cache: hits=" + state.getParsedValueHits() +
+                    ", misses=" + state.getParsedValueMisses();
+        }
+        
         private void addMasterInfo(SystemStatus.Builder response) {
             Master currentMaster = master;
             if (currentMaster != null) {
                 response.setMasterStatus(currentMaster.getMasterInfo());
-                State masterState = new State(currentMaster.state);
                 response.addAllMasterStateComponent(
-                        ServicesPbConversion.componentsToPb(masterState.getComponents()));
+                        ServicesPbConversion.componentsToPb(
+                                currentMaster.state.getComponents()));
+                response.addExtraMasterInfo(parsedValueInfo(currentMaster.state));
+                response.addAllExtraMasterInfo(
+                        currentMaster.getAdmissionStats());
             }
         }
         
@@ -66,10 +78,11 @@ public class SameController {
             if (client.getMaster() != null) {
                 response.setClientMasterStatus(client.getMaster());
             }
-            State clientState = new State(client.state);
             response.addAllClientStateComponent(
-                    ServicesPbConversion.componentsToPb(clientState.getComponents()));
+                    ServicesPbConversion.componentsToPb(
+                            client.state.getComponents()));
             response.addExtraClientInfo("connection_state: " + client.getConnectionState());
+            response.addExtraClientInfo(parsedValueInfo(client.state));
         }
         
         @Override
@@ -120,9 +133,21 @@ public class SameController {
                     "MasterService.json";
             master = Master.create(connections,
                     masterUrl, configuration.get("networkName"), myLocation,
-                    masterRpcf);
+                    masterRpcf, configuration);
             pServer.registerService(master.getNewService());
-            master.resumeFrom(lastKnownState, masterId);
+            boolean resumed = false;
+            if (storage != null) {
+                try {
+                    storage.recoverInto(lastKnownState);
+                    master.resumeFrom(lastKnownState, masterId, storage);
+                    resumed = true;
+                } catch (IOException e) {
+                    logger.error("Failed to persist state: ", e);
+                }
+            }
+            if (!resumed) {
+                master.resumeFrom(lastKnownState, masterId);
+            }
             master.start();
             registerNetwork(master);
         }
@@ -166,17 +191,32 @@ public class SameController {
                 configuration.get("localIp"), configuration.getInt("port"));
         String clientUrl = baseUrl + "ClientService.json";
 
+        // Set "heartbeatInterval" to detect failures from heartbeats rather
+        // than from RPC timeouts.
         Client client = new Client(clientState, connections,
-                clientUrl, myLocation, rpcf);
+                clientUrl, myLocation, rpcf, configuration);
         PaxosServiceImpl paxos = new PaxosServiceImpl("");
         
         SimpleProtobufServer pServer = SimpleProtobufServer.create(pport);
         pServer.registerService(client.getNewService());
         pServer.registerService(paxos.getService());
         
+        StateStorage storage = null;
+        String dataDirectory = configuration.get("dataDirectory", null);
+        if (dataDirectory != null) {
+            try {
+                storage = new StateStorage(new File(dataDirectory),
+                        configuration.getInt("snapshotInterval",
+                                StateStorage.DEFAULT_SNAPSHOT_INTERVAL));
+            } catch (IOException e) {
+                throw new IllegalArgumentException(
+                        "Invalid dataDirectory: " + dataDirectory, e);
+            }
+        }
+        
         SameController controller = new SameController(
                 configuration, connections, client,
-                paxos, pServer, rpcf, masterRpcf);
+                paxos, pServer, rpcf, masterRpcf, storage);
         
         pServer.registerService(controller.new SystemServiceImpl());
         return controller;
@@ -189,7 +229,8 @@ public class SameController {
             PaxosServiceImpl paxos,
             SimpleProtobufServer pServer,
             RpcFactory rpcf,
-            RpcFactory masterRpcf) {
+            RpcFactory masterRpcf,
+            StateStorage storage) {
         this.configuration = configuration;
         this.connections = connections;
         this.client = client;
@@ -197,6 +238,7 @@ public class SameController {
         this.pServer = pServer;
         this.rpcf = rpcf;
         this.masterRpcf = masterRpcf;
+        this.storage = storage;
     }
 
     public void start() throws Exception {
@@ -212,6 +254,9 @@ public class SameController {
                 master.interrupt();
             }
             pServer.interrupt();
+            if (storage != null) {
+                storage.close();
+            }
         } catch (Exception e) {
             logger.error("Failed to stop webserver", e);
         }
@@ -290,6 +290,14 @@ public final class Services {
     // required bool success = 1;
     boolean hasSuccess();
     boolean getSuccess();
+    
+    // optional int64 retry_after_millis = 2;
+    boolean hasRetryAfterMillis();
+    long getRetryAfterMillis();
+    
+    // optional int64 revision = 3;
+    boolean hasRevision();
+    long getRevision();
   }
   public static final class UpdateComponentResponse extends
       com.google.protobuf.GeneratedMessage
@@ -330,8 +338,30 @@ public final class Services {
       return success_;
     }
     
+    // optional int64 retry_after_millis = 2;
+    public static final int RETRY_AFTER_MILLIS_FIELD_NUMBER = 2;
+    private long retryAfterMillis_;
+    public boolean hasRetryAfterMillis() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
+    }
+    public long getRetryAfterMillis() {
+      return retryAfterMillis_;
+    }
+    
+    // optional int64 revision = 3;
+    public static final int REVISION_FIELD_NUMBER = 3;
+    private long revision_;
+    public boolean hasRevision() {
+      return ((bitField0_ & 0x00000004) == 0x00000004);
+    }
+    public long getRevision() {
+      return revision_;
+    }
+    
     private void initFields() {
       success_ = false;
+      retryAfterMillis_ = 0L;
+      revision_ = 0L;
     }
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
@@ -352,6 +382,12 @@ public final class Services {
       if (((bitField0_ & 0x00000001) == 0x00000001)) {
         output.writeBool(1, success_);
       }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeInt64(2, retryAfterMillis_);
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        output.writeInt64(3, revision_);
+      }
       getUnknownFields().writeTo(output);
     }
     
@@ -365,6 +401,14 @@ public final class Services {
         size += com.google.protobuf.CodedOutputStream
           .computeBoolSize(1, success_);
       }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(2, retryAfterMillis_);
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(3, revision_);
+      }
       size += getUnknownFields().getSerializedSize();
       memoizedSerializedSize = size;
       return size;
@@ -491,6 +535,10 @@ public final class Services {
         super.clear();
         success_ = false;
         bitField0_ = (bitField0_ & ~0x00000001);
+        retryAfterMillis_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000002);
+        revision_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000004);
         return this;
       }
       
@@ -533,6 +581,14 @@ public final class Services {
           to_bitField0_ |= 0x00000001;
         }
         result.success_ = success_;
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        result.retryAfterMillis_ = retryAfterMillis_;
+        if (((from_bitField0_ & 0x00000004) == 0x00000004)) {
+          to_bitField0_ |= 0x00000004;
+        }
+        result.revision_ = revision_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
@@ -552,6 +608,12 @@ public final class Services {
         if (other.hasSuccess()) {
           setSuccess(other.getSuccess());
         }
+        if (other.hasRetryAfterMillis()) {
+          setRetryAfterMillis(other.getRetryAfterMillis());
+        }
+        if (other.hasRevision()) {
+          setRevision(other.getRevision());
+        }
         this.mergeUnknownFields(other.getUnknownFields());
         return this;
       }
@@ -592,6 +654,16 @@ public final class Services {
               success_ = input.readBool();
               break;
             }
+            case 16: {
+              bitField0_ |= 0x00000002;
+              retryAfterMillis_ = input.readInt64();
+              break;
+            }
+            case 24: {
+              bitField0_ |= 0x00000004;
+              revision_ = input.readInt64();
+              break;
+            }
           }
         }
       }
@@ -619,6 +691,48 @@ public final class Services {
         return this;
       }
       
+      // optional int64 retry_after_millis = 2;
+      private long retryAfterMillis_ ;
+      public boolean hasRetryAfterMillis() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      public long getRetryAfterMillis() {
+        return retryAfterMillis_;
+      }
+      public Builder setRetryAfterMillis(long value) {
+        bitField0_ |= 0x00000002;
+        retryAfterMillis_ = value;
+        onChanged();
+        return this;
+      }
+      public Builder clearRetryAfterMillis() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        retryAfterMillis_ = 0L;
+        onChanged();
+        return this;
+      }
+      
+      // optional int64 revision = 3;
+      private long revision_ ;
+      public boolean hasRevision() {
+        return ((bitField0_ & 0x00000004) == 0x00000004);
+      }
+      public long getRevision() {
+        return revision_;
+      }
+      public Builder setRevision(long value) {
+        bitField0_ |= 0x00000004;
+        revision_ = value;
+        onChanged();
+        return this;
+      }
+      public Builder clearRevision() {
+        bitField0_ = (bitField0_ & ~0x00000004);
+        revision_ = 0L;
+        onChanged();
+        return this;
+      }
+      
       // @@protoc_insertion_point(builder_scope:com.orbekk.same.UpdateComponentResponse)
     }
     
@@ -2250,13 +2364,37 @@ public final class Services {
     boolean hasId();
     String getId();
     
-    // required string data = 2;
+    // optional string data = 2;
     boolean hasData();
     String getData();
     
     // required int64 revision = 3;
     boolean hasRevision();
     long getRevision();
+    
+    // optional bytes value = 4;
+    boolean hasValue();
+    com.google.protobuf.ByteString getValue();
+    
+    // optional int32 codec = 5 [default = 0];
+    boolean hasCodec();
+    int getCodec();
+    
+    // optional bytes patch = 6;
+    boolean hasPatch();
+    com.google.protobuf.ByteString getPatch();
+    
+    // optional int64 base_revision = 7;
+    boolean hasBaseRevision();
+    long getBaseRevision();
+    
+    // optional string merge = 8;
+    boolean hasMerge();
+    String getMerge();
+    
+    // optional string origin = 9;
+    boolean hasOrigin();
+    String getOrigin();
   }
   public static final class Component extends
       com.google.protobuf.GeneratedMessage
@@ -2319,7 +2457,7 @@ public final class Services {
       }
     }
     
-    // required string data = 2;
+    // optional string data = 2;
     public static final int DATA_FIELD_NUMBER = 2;
     private java.lang.Object data_;
     public boolean hasData() {
@@ -2361,10 +2499,120 @@ public final class Services {
       return revision_;
     }
     
+    // optional bytes value = 4;
+    public static final int VALUE_FIELD_NUMBER = 4;
+    private com.google.protobuf.ByteString value_;
+    public boolean hasValue() {
+      return ((bitField0_ & 0x00000008) == 0x00000008);
+    }
+    public com.google.protobuf.ByteString getValue() {
+      return value_;
+    }
+    
+    // optional int32 codec = 5 [default = 0];
+    public static final int CODEC_FIELD_NUMBER = 5;
+    private int codec_;
+    public boolean hasCodec() {
+      return ((bitField0_ & 0x00000010) == 0x00000010);
+    }
+    public int getCodec() {
+      return codec_;
+    }
+    
+    // optional bytes patch = 6;
+    public static final int PATCH_FIELD_NUMBER = 6;
+    private com.google.protobuf.ByteString patch_;
+    public boolean hasPatch() {
+      return ((bitField0_ & 0x00000020) == 0x00000020);
+    }
+    public com.google.protobuf.ByteString getPatch() {
+      return patch_;
+    }
+    
+    // optional int64 base_revision = 7;
+    public static final int BASE_REVISION_FIELD_NUMBER = 7;
+    private long baseRevision_;
+    public boolean hasBaseRevision() {
+      return ((bitField0_ & 0x00000040) == 0x00000040);
+    }
+    public long getBaseRevision() {
+      return baseRevision_;
+    }
+    
+    // optional string merge = 8;
+    public static final int MERGE_FIELD_NUMBER = 8;
+    private java.lang.Object merge_;
+    public boolean hasMerge() {
+      return ((bitField0_ & 0x00000080) == 0x00000080);
+    }
+    public String getMerge() {
+      java.lang.Object ref = merge_;
+      if (ref instanceof String) {
+        return (String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        String s = bs.toStringUtf8();
+        if (com.google.protobuf.Internal.isValidUtf8(bs)) {
+          merge_ = s;
+        }
+        return s;
+      }
+    }
+    private com.google.protobuf.ByteString getMergeBytes() {
+      java.lang.Object ref = merge_;
+      if (ref instanceof String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8((String) ref);
+        merge_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+    
+    // optional string origin = 9;
+    public static final int ORIGIN_FIELD_NUMBER = 9;
+    private java.lang.Object origin_;
+    public boolean hasOrigin() {
+      return ((bitField0_ & 0x00000100) == 0x00000100);
+    }
+    public String getOrigin() {
+      java.lang.Object ref = origin_;
+      if (ref instanceof String) {
+        return (String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        String s = bs.toStringUtf8();
+        if (com.google.protobuf.Internal.isValidUtf8(bs)) {
+          origin_ = s;
+        }
+        return s;
+      }
+    }
+    private com.google.protobuf.ByteString getOriginBytes() {
+      java.lang.Object ref = origin_;
+      if (ref instanceof String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8((String) ref);
+        origin_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+    
     private void initFields() {
       id_ = "";
       data_ = "";
       revision_ = 0L;
+      value_ = com.google.protobuf.ByteString.EMPTY;
+      codec_ = 0;
+      patch_ = com.google.protobuf.ByteString.EMPTY;
+      baseRevision_ = 0L;
+      merge_ = "";
+      origin_ = "";
     }
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
@@ -2375,10 +2623,6 @@ public final class Services {
         memoizedIsInitialized = 0;
         return false;
       }
-      if (!hasData()) {
-        memoizedIsInitialized = 0;
-        return false;
-      }
       if (!hasRevision()) {
         memoizedIsInitialized = 0;
         return false;
@@ -2399,6 +2643,24 @@ public final class Services {
       if (((bitField0_ & 0x00000004) == 0x00000004)) {
         output.writeInt64(3, revision_);
       }
+      if (((bitField0_ & 0x00000008) == 0x00000008)) {
+        output.writeBytes(4, value_);
+      }
+      if (((bitField0_ & 0x00000010) == 0x00000010)) {
+        output.writeInt32(5, codec_);
+      }
+      if (((bitField0_ & 0x00000020) == 0x00000020)) {
+        output.writeBytes(6, patch_);
+      }
+      if (((bitField0_ & 0x00000040) == 0x00000040)) {
+        output.writeInt64(7, baseRevision_);
+      }
+      if (((bitField0_ & 0x00000080) == 0x00000080)) {
+        output.writeBytes(8, getMergeBytes());
+      }
+      if (((bitField0_ & 0x00000100) == 0x00000100)) {
+        output.writeBytes(9, getOriginBytes());
+      }
       getUnknownFields().writeTo(output);
     }
     
@@ -2420,6 +2682,30 @@ public final class Services {
         size += com.google.protobuf.CodedOutputStream
           .computeInt64Size(3, revision_);
       }
+      if (((bitField0_ & 0x00000008) == 0x00000008)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(4, value_);
+      }
+      if (((bitField0_ & 0x00000010) == 0x00000010)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(5, codec_);
+      }
+      if (((bitField0_ & 0x00000020) == 0x00000020)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(6, patch_);
+      }
+      if (((bitField0_ & 0x00000040) == 0x00000040)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(7, baseRevision_);
+      }
+      if (((bitField0_ & 0x00000080) == 0x00000080)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(8, getMergeBytes());
+      }
+      if (((bitField0_ & 0x00000100) == 0x00000100)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(9, getOriginBytes());
+      }
       size += getUnknownFields().getSerializedSize();
       memoizedSerializedSize = size;
       return size;
@@ -2550,6 +2836,18 @@ public final class Services {
         bitField0_ = (bitField0_ & ~0x00000002);
         revision_ = 0L;
         bitField0_ = (bitField0_ & ~0x00000004);
+        value_ = com.google.protobuf.ByteString.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000008);
+        codec_ = 0;
+        bitField0_ = (bitField0_ & ~0x00000010);
+        patch_ = com.google.protobuf.ByteString.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000020);
+        baseRevision_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000040);
+        merge_ = "";
+        bitField0_ = (bitField0_ & ~0x00000080);
+        origin_ = "";
+        bitField0_ = (bitField0_ & ~0x00000100);
         return this;
       }
       
@@ -2600,6 +2898,30 @@ public final class Services {
           to_bitField0_ |= 0x00000004;
         }
         result.revision_ = revision_;
+        if (((from_bitField0_ & 0x00000008) == 0x00000008)) {
+          to_bitField0_ |= 0x00000008;
+        }
+        result.value_ = value_;
+        if (((from_bitField0_ & 0x00000010) == 0x00000010)) {
+          to_bitField0_ |= 0x00000010;
+        }
+        result.codec_ = codec_;
+        if (((from_bitField0_ & 0x00000020) == 0x00000020)) {
+          to_bitField0_ |= 0x00000020;
+        }
+        result.patch_ = patch_;
+        if (((from_bitField0_ & 0x00000040) == 0x00000040)) {
+          to_bitField0_ |= 0x00000040;
+        }
+        result.baseRevision_ = baseRevision_;
+        if (((from_bitField0_ & 0x00000080) == 0x00000080)) {
+          to_bitField0_ |= 0x00000080;
+        }
+        result.merge_ = merge_;
+        if (((from_bitField0_ & 0x00000100) == 0x00000100)) {
+          to_bitField0_ |= 0x00000100;
+        }
+        result.origin_ = origin_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
@@ -2625,6 +2947,24 @@ public final class Services {
         if (other.hasRevision()) {
           setRevision(other.getRevision());
         }
+        if (other.hasValue()) {
+          setValue(other.getValue());
+        }
+        if (other.hasCodec()) {
+          setCodec(other.getCodec());
+        }
+        if (other.hasPatch()) {
+          setPatch(other.getPatch());
+        }
+        if (other.hasBaseRevision()) {
+          setBaseRevision(other.getBaseRevision());
+        }
+        if (other.hasMerge()) {
+          setMerge(other.getMerge());
+        }
+        if (other.hasOrigin()) {
+          setOrigin(other.getOrigin());
+        }
         this.mergeUnknownFields(other.getUnknownFields());
         return this;
       }
@@ -2634,10 +2974,6 @@ public final class Services {
           
           return false;
         }
-        if (!hasData()) {
-          
-          return false;
-        }
         if (!hasRevision()) {
           
           return false;
@@ -2683,6 +3019,36 @@ public final class Services {
               revision_ = input.readInt64();
               break;
             }
+            case 34: {
+              bitField0_ |= 0x00000008;
+              value_ = input.readBytes();
+              break;
+            }
+            case 40: {
+              bitField0_ |= 0x00000010;
+              codec_ = input.readInt32();
+              break;
+            }
+            case 50: {
+              bitField0_ |= 0x00000020;
+              patch_ = input.readBytes();
+              break;
+            }
+            case 56: {
+              bitField0_ |= 0x00000040;
+              baseRevision_ = input.readInt64();
+              break;
+            }
+            case 66: {
+              bitField0_ |= 0x00000080;
+              merge_ = input.readBytes();
+              break;
+            }
+            case 74: {
+              bitField0_ |= 0x00000100;
+              origin_ = input.readBytes();
+              break;
+            }
           }
         }
       }
@@ -2725,7 +3091,7 @@ public final class Services {
         onChanged();
       }
       
-      // required string data = 2;
+      // optional string data = 2;
       private java.lang.Object data_ = "";
       public boolean hasData() {
         return ((bitField0_ & 0x00000002) == 0x00000002);
@@ -2782,77 +3148,10070 @@ public final class Services {
         return this;
       }
       
-      // @@protoc_insertion_point(builder_scope:com.orbekk.same.Component)
-    }
-    
-    static {
-      defaultInstance = new Component(true);
-      defaultInstance.initFields();
-    }
-    
-    // @@protoc_insertion_point(class_scope:com.orbekk.same.Component)
-  }
-  
-  public interface MasterStateOrBuilder
-      extends com.google.protobuf.MessageOrBuilder {
-    
-    // optional string master_url = 1;
-    boolean hasMasterUrl();
-    String getMasterUrl();
-    
-    // optional int32 master_id = 2;
-    boolean hasMasterId();
-    int getMasterId();
-    
-    // optional string network_name = 3;
-    boolean hasNetworkName();
-    String getNetworkName();
-    
-    // optional string master_location = 4;
-    boolean hasMasterLocation();
-    String getMasterLocation();
-    
-    // optional int64 revision = 5;
-    boolean hasRevision();
-    long getRevision();
+      // optional bytes value = 4;
+      private com.google.protobuf.ByteString value_ = com.google.protobuf.ByteString.EMPTY;
+      public boolean hasValue() {
+        return ((bitField0_ & 0x00000008) == 0x00000008);
+      }
+      public com.google.protobuf.ByteString getValue() {
+        return value_;
+      }
+      public Builder setValue(com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
   }
-  public static final class MasterState extends
+  bitField0_ |= 0x00000008;
+        value_ = value;
+        onChanged();
+        return this;
+      }
+      public Builder clearValue() {
+        bitField0_ = (bitField0_ & ~0x00000008);
+        value_ = getDefaultInstance().getValue();
+        onChanged();
+        return this;
+      }
+      
+      // optional int32 codec = 5 [default = 0];
+      private int codec_ ;
+      public boolean hasCodec() {
+        return ((bitField0_ & 0x00000010) == 0x00000010);
+      }
+      public int getCodec() {
+        return codec_;
+      }
+      public Builder setCodec(int value) {
+        bitField0_ |= 0x00000010;
+        codec_ = value;
+        onChanged();
+        return this;
+      }
+      public Builder clearCodec() {
+        bitField0_ = (bitField0_ & ~0x00000010);
+        codec_ = 0;
+        onChanged();
+        return this;
+      }
+      
+      // optional bytes patch = 6;
+      private com.google.protobuf.ByteString patch_ = com.google.protobuf.ByteString.EMPTY;
+      public boolean hasPatch() {
+        return ((bitField0_ & 0x00000020) == 0x00000020);
+      }
+      public com.google.protobuf.ByteString getPatch() {
+        return patch_;
+      }
+      public Builder setPatch(com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000020;
+        patch_ = value;
+        onChanged();
+        return this;
+      }
+      public Builder clearPatch() {
+        bitField0_ = (bitField0_ & ~0x00000020);
+        patch_ = getDefaultInstance().getPatch();
+        onChanged();
+        return this;
+      }
+      
+      // optional int64 base_revision = 7;
+      private long baseRevision_ ;
+      public boolean hasBaseRevision() {
+        return ((bitField0_ & 0x00000040) == 0x00000040);
+      }
+      public long getBaseRevision() {
+        return baseRevision_;
+      }
+      public Builder setBaseRevision(long value) {
+        bitField0_ |= 0x00000040;
+        baseRevision_ = value;
+        onChanged();
+        return this;
+      }
+      public Builder clearBaseRevision() {
+        bitField0_ = (bitField0_ & ~0x00000040);
+        baseRevision_ = 0L;
+        onChanged();
+        return this;
+      }
+      
+      // optional string merge = 8;
+      private java.lang.Object merge_ = "";
+      public boolean hasMerge() {
+        return ((bitField0_ & 0x00000080) == 0x00000080);
+      }
+      public String getMerge() {
+        java.lang.Object ref = merge_;
+        if (!(ref instanceof String)) {
+          String s = ((com.google.protobuf.ByteString) ref).toStringUtf8();
+          merge_ = s;
+          return s;
+        } else {
+          return (String) ref;
+        }
+      }
+      public Builder setMerge(String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000080;
+        merge_ = value;
+        onChanged();
+        return this;
+      }
+      public Builder clearMerge() {
+        bitField0_ = (bitField0_ & ~0x00000080);
+        merge_ = getDefaultInstance().getMerge();
+        onChanged();
+        return this;
+      }
+      void setMerge(com.google.protobuf.ByteString value) {
+        bitField0_ |= 0x00000080;
+        merge_ = value;
+        onChanged();
+      }
+      
+      // optional string origin = 9;
+      private java.lang.Object origin_ = "";
+      public boolean hasOrigin() {
+        return ((bitField0_ & 0x00000100) == 0x00000100);
+      }
+      public String getOrigin() {
+        java.lang.Object ref = origin_;
+        if (!(ref instanceof String)) {
+          String s = ((com.google.protobuf.ByteString) ref).toStringUtf8();
+          origin_ = s;
+          return s;
+        } else {
+          return (String) ref;
+        }
+      }
+      public Builder setOrigin(String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000100;
+        origin_ = value;
+        onChanged();
+        return this;
+      }
+      public Builder clearOrigin() {
+        bitField0_ = (bitField0_ & ~0x00000100);
+        origin_ = getDefaultInstance().getOrigin();
+        onChanged();
+        return this;
+      }
+      void setOrigin(com.google.protobuf.ByteString value) {
+        bitField0_ |= 0x00000100;
+        origin_ = value;
+        onChanged();
+      }
+      
+      // @@protoc_insertion_point(builder_scope:com.orbekk.same.Component)
+    }
+    
+    static {
+      defaultInstance = new Component(true);
+      defaultInstance.initFields();
+    }
+    
+    // @@protoc_insertion_point(class_scope:com.orbekk.same.Component)
+  }
+  
+  public interface ComponentBatchOrBuilder
+      extends com.google.protobuf.MessageOrBuilder {
+    
+    // repeated .com.orbekk.same.Component component = 1;
+    java.util.List<com.orbekk.same.Services.Component> 
+        getComponentList();
+    com.orbekk.same.Services.Component getComponent(int index);
+    int getComponentCount();
+    java.util.List<? extends com.orbekk.same.Services.ComponentOrBuilder> 
+        getComponentOrBuilderList();
+    com.orbekk.same.Services.ComponentOrBuilder getComponentOrBuilder(
+        int index);
+  }
+  public static final class ComponentBatch extends
+      com.google.protobuf.GeneratedMessage
+      implements ComponentBatchOrBuilder {
+    // Use ComponentBatch.newBuilder() to construct.
+    private ComponentBatch(Builder builder) {
+      super(builder);
+    }
+    private ComponentBatch(boolean noInit) {}
+    
+    private static final ComponentBatch defaultInstance;
+    public static ComponentBatch getDefaultInstance() {
+      return defaultInstance;
+    }
+    
+    public ComponentBatch getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+    
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.orbekk.same.Services.internal_static_com_orbekk_same_ComponentBatch_descriptor;
+    }
+    
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.orbekk.same.Services.internal_static_com_orbekk_same_ComponentBatch_fieldAccessorTable;
+    }
+    
+    // repeated .com.orbekk.same.Component component = 1;
+    public static final int COMPONENT_FIELD_NUMBER = 1;
+    private java.util.List<com.orbekk.same.Services.Component> component_;
+    public java.util.List<com.orbekk.same.Services.Component> getComponentList() {
+      return component_;
+    }
+    public java.util.List<? extends com.orbekk.same.Services.ComponentOrBuilder> 
+        getComponentOrBuilderList() {
+      return component_;
+    }
+    public int getComponentCount() {
+      return component_.size();
+    }
+    public com.orbekk.same.Services.Component getComponent(int index) {
+      return component_.get(index);
+    }
+    public com.orbekk.same.Services.ComponentOrBuilder getComponentOrBuilder(
+        int index) {
+      return component_.get(index);
+    }
+    
+    private void initFields() {
+      component_ = java.util.Collections.emptyList();
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized != -1) return isInitialized == 1;
+      
+      for (int i = 0; i < getComponentCount(); i++) {
+        if (!getComponent(i).isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
+      memoizedIsInitialized = 1;
+      return true;
+    }
+    
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      for (int i = 0; i < component_.size(); i++) {
+        output.writeMessage(1, component_.get(i));
+      }
+      getUnknownFields().writeTo(output);
+    }
+    
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+    
+      size = 0;
+      for (int i = 0; i < component_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(1, component_.get(i));
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+    
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+    
+    public static com.orbekk.same.Services.ComponentBatch parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data).buildParsed();
+    }
+    public static com.orbekk.same.Services.ComponentBatch parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.ComponentBatch parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data).buildParsed();
+    }
+    public static com.orbekk.same.Services.ComponentBatch parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.ComponentBatch parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input).buildParsed();
+    }
+    public static com.orbekk.same.Services.ComponentBatch parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.ComponentBatch parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      Builder builder = newBuilder();
+      if (builder.mergeDelimitedFrom(input)) {
+        return builder.buildParsed();
+      } else {
+        return null;
+      }
+    }
+    public static com.orbekk.same.Services.ComponentBatch parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      Builder builder = newBuilder();
+      if (builder.mergeDelimitedFrom(input, extensionRegistry)) {
+        return builder.buildParsed();
+      } else {
+        return null;
+      }
+    }
+    public static com.orbekk.same.Services.ComponentBatch parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input).buildParsed();
+    }
+    public static com.orbekk.same.Services.ComponentBatch parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input, extensionRegistry)
+               .buildParsed();
+    }
+    
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(com.orbekk.same.Services.ComponentBatch prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+    
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder>
+       implements com.orbekk.same.Services.ComponentBatchOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.orbekk.same.Services.internal_static_com_orbekk_same_ComponentBatch_descriptor;
+      }
+      
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.orbekk.same.Services.internal_static_com_orbekk_same_ComponentBatch_fieldAccessorTable;
+      }
+      
+      // Construct using com.orbekk.same.Services.ComponentBatch.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+      
+      private Builder(BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+          getComponentFieldBuilder();
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+      
+      public Builder clear() {
+        super.clear();
+        if (componentBuilder_ == null) {
+          component_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000001);
+        } else {
+          componentBuilder_.clear();
+        }
+        return this;
+      }
+      
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+      
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.orbekk.same.Services.ComponentBatch.getDescriptor();
+      }
+      
+      public com.orbekk.same.Services.ComponentBatch getDefaultInstanceForType() {
+        return com.orbekk.same.Services.ComponentBatch.getDefaultInstance();
+      }
+      
+      public com.orbekk.same.Services.ComponentBatch build() {
+        com.orbekk.same.Services.ComponentBatch result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+      
+      private com.orbekk.same.Services.ComponentBatch buildParsed()
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        com.orbekk.same.Services.ComponentBatch result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(
+            result).asInvalidProtocolBufferException();
+        }
+        return result;
+      }
+      
+      public com.orbekk.same.Services.ComponentBatch buildPartial() {
+        com.orbekk.same.Services.ComponentBatch result = new com.orbekk.same.Services.ComponentBatch(this);
+        int from_bitField0_ = bitField0_;
+        if (componentBuilder_ == null) {
+          if (((bitField0_ & 0x00000001) == 0x00000001)) {
+            component_ = java.util.Collections.unmodifiableList(component_);
+            bitField0_ = (bitField0_ & ~0x00000001);
+          }
+          result.component_ = component_;
+        } else {
+          result.component_ = componentBuilder_.build();
+        }
+        onBuilt();
+        return result;
+      }
+      
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.orbekk.same.Services.ComponentBatch) {
+          return mergeFrom((com.orbekk.same.Services.ComponentBatch)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+      
+      public Builder mergeFrom(com.orbekk.same.Services.ComponentBatch other) {
+        if (other == com.orbekk.same.Services.ComponentBatch.getDefaultInstance()) return this;
+        if (componentBuilder_ == null) {
+          if (!other.component_.isEmpty()) {
+            if (component_.isEmpty()) {
+              component_ = other.component_;
+              bitField0_ = (bitField0_ & ~0x00000001);
+            } else {
+              ensureComponentIsMutable();
+              component_.addAll(other.component_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.component_.isEmpty()) {
+            if (componentBuilder_.isEmpty()) {
+              componentBuilder_.dispose();
+              componentBuilder_ = null;
+              component_ = other.component_;
+              bitField0_ = (bitField0_ & ~0x00000001);
+              componentBuilder_ = 
+                com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders ?
+                   getComponentFieldBuilder() : null;
+            } else {
+              componentBuilder_.addAllMessages(other.component_);
+            }
+          }
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+      
+      public final boolean isInitialized() {
+        for (int i = 0; i < getComponentCount(); i++) {
+          if (!getComponent(i).isInitialized()) {
+            
+            return false;
+          }
+        }
+        return true;
+      }
+      
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder(
+            this.getUnknownFields());
+        while (true) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              this.setUnknownFields(unknownFields.build());
+              onChanged();
+              return this;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                this.setUnknownFields(unknownFields.build());
+                onChanged();
+                return this;
+              }
+              break;
+            }
+            case 10: {
+              com.orbekk.same.Services.Component.Builder subBuilder = com.orbekk.same.Services.Component.newBuilder();
+              input.readMessage(subBuilder, extensionRegistry);
+              addComponent(subBuilder.buildPartial());
+              break;
+            }
+          }
+        }
+      }
+      
+      private int bitField0_;
+      
+      // repeated .com.orbekk.same.Component component = 1;
+      private java.util.List<com.orbekk.same.Services.Component> component_ =
+        java.util.Collections.emptyList();
+      private void ensureComponentIsMutable() {
+        if (!((bitField0_ & 0x00000001) == 0x00000001)) {
+          component_ = new java.util.ArrayList<com.orbekk.same.Services.Component>(component_);
+          bitField0_ |= 0x00000001;
+         }
+      }
+      
+      private com.google.protobuf.RepeatedFieldBuilder<
+          com.orbekk.same.Services.Component, com.orbekk.same.Services.Component.Builder, com.orbekk.same.Services.ComponentOrBuilder> componentBuilder_;
+      
+      public java.util.List<com.orbekk.same.Services.Component> getComponentList() {
+        if (componentBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(component_);
+        } else {
+          return componentBuilder_.getMessageList();
+        }
+      }
+      public int getComponentCount() {
+        if (componentBuilder_ == null) {
+          return component_.size();
+        } else {
+          return componentBuilder_.getCount();
+        }
+      }
+      public com.orbekk.same.Services.Component getComponent(int index) {
+        if (componentBuilder_ == null) {
+          return component_.get(index);
+        } else {
+          return componentBuilder_.getMessage(index);
+        }
+      }
+      public Builder setComponent(
+          int index, com.orbekk.same.Services.Component value) {
+        if (componentBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureComponentIsMutable();
+          component_.set(index, value);
+          onChanged();
+        } else {
+          componentBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      public Builder setComponent(
+          int index, com.orbekk.same.Services.Component.Builder builderForValue) {
+        if (componentBuilder_ == null) {
+          ensureComponentIsMutable();
+          component_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          componentBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      public Builder addComponent(com.orbekk.same.Services.Component value) {
+        if (componentBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureComponentIsMutable();
+          component_.add(value);
+          onChanged();
+        } else {
+          componentBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      public Builder addComponent(
+          int index, com.orbekk.same.Services.Component value) {
+        if (componentBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureComponentIsMutable();
+          component_.add(index, value);
+          onChanged();
+        } else {
+          componentBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      public Builder addComponent(
+          com.orbekk.same.Services.Component.Builder builderForValue) {
+        if (componentBuilder_ == null) {
+          ensureComponentIsMutable();
+          component_.add(builderForValue.build());
+          onChanged();
+        } else {
+          componentBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      public Builder addComponent(
+          int index, com.orbekk.same.Services.Component.Builder builderForValue) {
+        if (componentBuilder_ == null) {
+          ensureComponentIsMutable();
+          component_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          componentBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      public Builder addAllComponent(
+          java.lang.Iterable<? extends com.orbekk.same.Services.Component> values) {
+        if (componentBuilder_ == null) {
+          ensureComponentIsMutable();
+          super.addAll(values, component_);
+          onChanged();
+        } else {
+          componentBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      public Builder clearComponent() {
+        if (componentBuilder_ == null) {
+          component_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000001);
+          onChanged();
+        } else {
+          componentBuilder_.clear();
+        }
+        return this;
+      }
+      public Builder removeComponent(int index) {
+        if (componentBuilder_ == null) {
+          ensureComponentIsMutable();
+          component_.remove(index);
+          onChanged();
+        } else {
+          componentBuilder_.remove(index);
+        }
+        return this;
+      }
+      public com.orbekk.same.Services.Component.Builder getComponentBuilder(
+          int index) {
+        return getComponentFieldBuilder().getBuilder(index);
+      }
+      public com.orbekk.same.Services.ComponentOrBuilder getComponentOrBuilder(
+          int index) {
+        if (componentBuilder_ == null) {
+          return component_.get(index);  } else {
+          return componentBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      public java.util.List<? extends com.orbekk.same.Services.ComponentOrBuilder> 
+           getComponentOrBuilderList() {
+        if (componentBuilder_ != null) {
+          return componentBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(component_);
+        }
+      }
+      public com.orbekk.same.Services.Component.Builder addComponentBuilder() {
+        return getComponentFieldBuilder().addBuilder(
+            com.orbekk.same.Services.Component.getDefaultInstance());
+      }
+      public com.orbekk.same.Services.Component.Builder addComponentBuilder(
+          int index) {
+        return getComponentFieldBuilder().addBuilder(
+            index, com.orbekk.same.Services.Component.getDefaultInstance());
+      }
+      public java.util.List<com.orbekk.same.Services.Component.Builder> 
+           getComponentBuilderList() {
+        return getComponentFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilder<
+          com.orbekk.same.Services.Component, com.orbekk.same.Services.Component.Builder, com.orbekk.same.Services.ComponentOrBuilder> 
+          getComponentFieldBuilder() {
+        if (componentBuilder_ == null) {
+          componentBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
+              com.orbekk.same.Services.Component, com.orbekk.same.Services.Component.Builder, com.orbekk.same.Services.ComponentOrBuilder>(
+                  component_,
+                  ((bitField0_ & 0x00000001) == 0x00000001),
+                  getParentForChildren(),
+                  isClean());
+          component_ = null;
+        }
+        return componentBuilder_;
+      }
+      
+      // @@protoc_insertion_point(builder_scope:com.orbekk.same.ComponentBatch)
+    }
+    
+    static {
+      defaultInstance = new ComponentBatch(true);
+      defaultInstance.initFields();
+    }
+    
+    // @@protoc_insertion_point(class_scope:com.orbekk.same.ComponentBatch)
+  }
+  
+  public interface TransactionRequestOrBuilder
+      extends com.google.protobuf.MessageOrBuilder {
+    
+    // repeated .com.orbekk.same.Component component = 1;
+    java.util.List<com.orbekk.same.Services.Component> 
+        getComponentList();
+    com.orbekk.same.Services.Component getComponent(int index);
+    int getComponentCount();
+    java.util.List<? extends com.orbekk.same.Services.ComponentOrBuilder> 
+        getComponentOrBuilderList();
+    com.orbekk.same.Services.ComponentOrBuilder getComponentOrBuilder(
+        int index);
+    
+    // optional string origin = 2;
+    boolean hasOrigin();
+    String getOrigin();
+  }
+  public static final class TransactionRequest extends
+      com.google.protobuf.GeneratedMessage
+      implements TransactionRequestOrBuilder {
+    // Use TransactionRequest.newBuilder() to construct.
+    private TransactionRequest(Builder builder) {
+      super(builder);
+    }
+    private TransactionRequest(boolean noInit) {}
+    
+    private static final TransactionRequest defaultInstance;
+    public static TransactionRequest getDefaultInstance() {
+      return defaultInstance;
+    }
+    
+    public TransactionRequest getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+    
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.orbekk.same.Services.internal_static_com_orbekk_same_TransactionRequest_descriptor;
+    }
+    
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.orbekk.same.Services.internal_static_com_orbekk_same_TransactionRequest_fieldAccessorTable;
+    }
+    
+    private int bitField0_;
+    // repeated .com.orbekk.same.Component component = 1;
+    public static final int COMPONENT_FIELD_NUMBER = 1;
+    private java.util.List<com.orbekk.same.Services.Component> component_;
+    public java.util.List<com.orbekk.same.Services.Component> getComponentList() {
+      return component_;
+    }
+    public java.util.List<? extends com.orbekk.same.Services.ComponentOrBuilder> 
+        getComponentOrBuilderList() {
+      return component_;
+    }
+    public int getComponentCount() {
+      return component_.size();
+    }
+    public com.orbekk.same.Services.Component getComponent(int index) {
+      return component_.get(index);
+    }
+    public com.orbekk.same.Services.ComponentOrBuilder getComponentOrBuilder(
+        int index) {
+      return component_.get(index);
+    }
+    
+    // optional string origin = 2;
+    public static final int ORIGIN_FIELD_NUMBER = 2;
+    private java.lang.Object origin_;
+    public boolean hasOrigin() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    public String getOrigin() {
+      java.lang.Object ref = origin_;
+      if (ref instanceof String) {
+        return (String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        String s = bs.toStringUtf8();
+        if (com.google.protobuf.Internal.isValidUtf8(bs)) {
+          origin_ = s;
+        }
+        return s;
+      }
+    }
+    private com.google.protobuf.ByteString getOriginBytes() {
+      java.lang.Object ref = origin_;
+      if (ref instanceof String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8((String) ref);
+        origin_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+    
+    private void initFields() {
+      component_ = java.util.Collections.emptyList();
+      origin_ = "";
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized != -1) return isInitialized == 1;
+      
+      for (int i = 0; i < getComponentCount(); i++) {
+        if (!getComponent(i).isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
+      memoizedIsInitialized = 1;
+      return true;
+    }
+    
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      for (int i = 0; i < component_.size(); i++) {
+        output.writeMessage(1, component_.get(i));
+      }
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeBytes(2, getOriginBytes());
+      }
+      getUnknownFields().writeTo(output);
+    }
+    
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+    
+      size = 0;
+      for (int i = 0; i < component_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(1, component_.get(i));
+      }
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(2, getOriginBytes());
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+    
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+    
+    public static com.orbekk.same.Services.TransactionRequest parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data).buildParsed();
+    }
+    public static com.orbekk.same.Services.TransactionRequest parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.TransactionRequest parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data).buildParsed();
+    }
+    public static com.orbekk.same.Services.TransactionRequest parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.TransactionRequest parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input).buildParsed();
+    }
+    public static com.orbekk.same.Services.TransactionRequest parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.TransactionRequest parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      Builder builder = newBuilder();
+      if (builder.mergeDelimitedFrom(input)) {
+        return builder.buildParsed();
+      } else {
+        return null;
+      }
+    }
+    public static com.orbekk.same.Services.TransactionRequest parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      Builder builder = newBuilder();
+      if (builder.mergeDelimitedFrom(input, extensionRegistry)) {
+        return builder.buildParsed();
+      } else {
+        return null;
+      }
+    }
+    public static com.orbekk.same.Services.TransactionRequest parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input).buildParsed();
+    }
+    public static com.orbekk.same.Services.TransactionRequest parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input, extensionRegistry)
+               .buildParsed();
+    }
+    
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(com.orbekk.same.Services.TransactionRequest prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+    
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder>
+       implements com.orbekk.same.Services.TransactionRequestOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.orbekk.same.Services.internal_static_com_orbekk_same_TransactionRequest_descriptor;
+      }
+      
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.orbekk.same.Services.internal_static_com_orbekk_same_TransactionRequest_fieldAccessorTable;
+      }
+      
+      // Construct using com.orbekk.same.Services.TransactionRequest.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+      
+      private Builder(BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+          getComponentFieldBuilder();
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+      
+      public Builder clear() {
+        super.clear();
+        if (componentBuilder_ == null) {
+          component_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000001);
+        } else {
+          componentBuilder_.clear();
+        }
+        origin_ = "";
+        bitField0_ = (bitField0_ & ~0x00000002);
+        return this;
+      }
+      
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+      
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.orbekk.same.Services.TransactionRequest.getDescriptor();
+      }
+      
+      public com.orbekk.same.Services.TransactionRequest getDefaultInstanceForType() {
+        return com.orbekk.same.Services.TransactionRequest.getDefaultInstance();
+      }
+      
+      public com.orbekk.same.Services.TransactionRequest build() {
+        com.orbekk.same.Services.TransactionRequest result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+      
+      private com.orbekk.same.Services.TransactionRequest buildParsed()
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        com.orbekk.same.Services.TransactionRequest result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(
+            result).asInvalidProtocolBufferException();
+        }
+        return result;
+      }
+      
+      public com.orbekk.same.Services.TransactionRequest buildPartial() {
+        com.orbekk.same.Services.TransactionRequest result = new com.orbekk.same.Services.TransactionRequest(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (componentBuilder_ == null) {
+          if (((bitField0_ & 0x00000001) == 0x00000001)) {
+            component_ = java.util.Collections.unmodifiableList(component_);
+            bitField0_ = (bitField0_ & ~0x00000001);
+          }
+          result.component_ = component_;
+        } else {
+          result.component_ = componentBuilder_.build();
+        }
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.origin_ = origin_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+      
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.orbekk.same.Services.TransactionRequest) {
+          return mergeFrom((com.orbekk.same.Services.TransactionRequest)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+      
+      public Builder mergeFrom(com.orbekk.same.Services.TransactionRequest other) {
+        if (other == com.orbekk.same.Services.TransactionRequest.getDefaultInstance()) return this;
+        if (componentBuilder_ == null) {
+          if (!other.component_.isEmpty()) {
+            if (component_.isEmpty()) {
+              component_ = other.component_;
+              bitField0_ = (bitField0_ & ~0x00000001);
+            } else {
+              ensureComponentIsMutable();
+              component_.addAll(other.component_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.component_.isEmpty()) {
+            if (componentBuilder_.isEmpty()) {
+              componentBuilder_.dispose();
+              componentBuilder_ = null;
+              component_ = other.component_;
+              bitField0_ = (bitField0_ & ~0x00000001);
+              componentBuilder_ = 
+                com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders ?
+                   getComponentFieldBuilder() : null;
+            } else {
+              componentBuilder_.addAllMessages(other.component_);
+            }
+          }
+        }
+        if (other.hasOrigin()) {
+          setOrigin(other.getOrigin());
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+      
+      public final boolean isInitialized() {
+        for (int i = 0; i < getComponentCount(); i++) {
+          if (!getComponent(i).isInitialized()) {
+            
+            return false;
+          }
+        }
+        return true;
+      }
+      
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder(
+            this.getUnknownFields());
+        while (true) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              this.setUnknownFields(unknownFields.build());
+              onChanged();
+              return this;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                this.setUnknownFields(unknownFields.build());
+                onChanged();
+                return this;
+              }
+              break;
+            }
+            case 10: {
+              com.orbekk.same.Services.Component.Builder subBuilder = com.orbekk.same.Services.Component.newBuilder();
+              input.readMessage(subBuilder, extensionRegistry);
+              addComponent(subBuilder.buildPartial());
+              break;
+            }
+            case 18: {
+              bitField0_ |= 0x00000002;
+              origin_ = input.readBytes();
+              break;
+            }
+          }
+        }
+      }
+      
+      private int bitField0_;
+      
+      // repeated .com.orbekk.same.Component component = 1;
+      private java.util.List<com.orbekk.same.Services.Component> component_ =
+        java.util.Collections.emptyList();
+      private void ensureComponentIsMutable() {
+        if (!((bitField0_ & 0x00000001) == 0x00000001)) {
+          component_ = new java.util.ArrayList<com.orbekk.same.Services.Component>(component_);
+          bitField0_ |= 0x00000001;
+         }
+      }
+      
+      private com.google.protobuf.RepeatedFieldBuilder<
+          com.orbekk.same.Services.Component, com.orbekk.same.Services.Component.Builder, com.orbekk.same.Services.ComponentOrBuilder> componentBuilder_;
+      
+      public java.util.List<com.orbekk.same.Services.Component> getComponentList() {
+        if (componentBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(component_);
+        } else {
+          return componentBuilder_.getMessageList();
+        }
+      }
+      public int getComponentCount() {
+        if (componentBuilder_ == null) {
+          return component_.size();
+        } else {
+          return componentBuilder_.getCount();
+        }
+      }
+      public com.orbekk.same.Services.Component getComponent(int index) {
+        if (componentBuilder_ == null) {
+          return component_.get(index);
+        } else {
+          return componentBuilder_.getMessage(index);
+        }
+      }
+      public Builder setComponent(
+          int index, com.orbekk.same.Services.Component value) {
+        if (componentBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureComponentIsMutable();
+          component_.set(index, value);
+          onChanged();
+        } else {
+          componentBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      public Builder setComponent(
+          int index, com.orbekk.same.Services.Component.Builder builderForValue) {
+        if (componentBuilder_ == null) {
+          ensureComponentIsMutable();
+          component_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          componentBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      public Builder addComponent(com.orbekk.same.Services.Component value) {
+        if (componentBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureComponentIsMutable();
+          component_.add(value);
+          onChanged();
+        } else {
+          componentBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      public Builder addComponent(
+          int index, com.orbekk.same.Services.Component value) {
+        if (componentBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureComponentIsMutable();
+          component_.add(index, value);
+          onChanged();
+        } else {
+          componentBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      public Builder addComponent(
+          com.orbekk.same.Services.Component.Builder builderForValue) {
+        if (componentBuilder_ == null) {
+          ensureComponentIsMutable();
+          component_.add(builderForValue.build());
+          onChanged();
+        } else {
+          componentBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      public Builder addComponent(
+          int index, com.orbekk.same.Services.Component.Builder builderForValue) {
+        if (componentBuilder_ == null) {
+          ensureComponentIsMutable();
+          component_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          componentBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      public Builder addAllComponent(
+          java.lang.Iterable<? extends com.orbekk.same.Services.Component> values) {
+        if (componentBuilder_ == null) {
+          ensureComponentIsMutable();
+          super.addAll(values, component_);
+          onChanged();
+        } else {
+          componentBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      public Builder clearComponent() {
+        if (componentBuilder_ == null) {
+          component_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000001);
+          onChanged();
+        } else {
+          componentBuilder_.clear();
+        }
+        return this;
+      }
+      public Builder removeComponent(int index) {
+        if (componentBuilder_ == null) {
+          ensureComponentIsMutable();
+          component_.remove(index);
+          onChanged();
+        } else {
+          componentBuilder_.remove(index);
+        }
+        return this;
+      }
+      public com.orbekk.same.Services.Component.Builder getComponentBuilder(
+          int index) {
+        return getComponentFieldBuilder().getBuilder(index);
+      }
+      public com.orbekk.same.Services.ComponentOrBuilder getComponentOrBuilder(
+          int index) {
+        if (componentBuilder_ == null) {
+          return component_.get(index);  } else {
+          return componentBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      public java.util.List<? extends com.orbekk.same.Services.ComponentOrBuilder> 
+           getComponentOrBuilderList() {
+        if (componentBuilder_ != null) {
+          return componentBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(component_);
+        }
+      }
+      public com.orbekk.same.Services.Component.Builder addComponentBuilder() {
+        return getComponentFieldBuilder().addBuilder(
+            com.orbekk.same.Services.Component.getDefaultInstance());
+      }
+      public com.orbekk.same.Services.Component.Builder addComponentBuilder(
+          int index) {
+        return getComponentFieldBuilder().addBuilder(
+            index, com.orbekk.same.Services.Component.getDefaultInstance());
+      }
+      public java.util.List<com.orbekk.same.Services.Component.Builder> 
+           getComponentBuilderList() {
+        return getComponentFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilder<
+          com.orbekk.same.Services.Component, com.orbekk.same.Services.Component.Builder, com.orbekk.same.Services.ComponentOrBuilder> 
+          getComponentFieldBuilder() {
+        if (componentBuilder_ == null) {
+          componentBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
+              com.orbekk.same.Services.Component, com.orbekk.same.Services.Component.Builder, com.orbekk.same.Services.ComponentOrBuilder>(
+                  component_,
+                  ((bitField0_ & 0x00000001) == 0x00000001),
+                  getParentForChildren(),
+                  isClean());
+          component_ = null;
+        }
+        return componentBuilder_;
+      }
+      
+      // optional string origin = 2;
+      private java.lang.Object origin_ = "";
+      public boolean hasOrigin() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      public String getOrigin() {
+        java.lang.Object ref = origin_;
+        if (!(ref instanceof String)) {
+          String s = ((com.google.protobuf.ByteString) ref).toStringUtf8();
+          origin_ = s;
+          return s;
+        } else {
+          return (String) ref;
+        }
+      }
+      public Builder setOrigin(String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000002;
+        origin_ = value;
+        onChanged();
+        return this;
+      }
+      public Builder clearOrigin() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        origin_ = getDefaultInstance().getOrigin();
+        onChanged();
+        return this;
+      }
+      void setOrigin(com.google.protobuf.ByteString value) {
+        bitField0_ |= 0x00000002;
+        origin_ = value;
+        onChanged();
+      }
+      
+      // @@protoc_insertion_point(builder_scope:com.orbekk.same.TransactionRequest)
+    }
+    
+    static {
+      defaultInstance = new TransactionRequest(true);
+      defaultInstance.initFields();
+    }
+    
+    // @@protoc_insertion_point(class_scope:com.orbekk.same.TransactionRequest)
+  }
+  
+  public interface RelayRequestOrBuilder
+      extends com.google.protobuf.MessageOrBuilder {
+    
+    // repeated .com.orbekk.same.Component component = 1;
+    java.util.List<com.orbekk.same.Services.Component> 
+        getComponentList();
+    com.orbekk.same.Services.Component getComponent(int index);
+    int getComponentCount();
+    java.util.List<? extends com.orbekk.same.Services.ComponentOrBuilder> 
+        getComponentOrBuilderList();
+    com.orbekk.same.Services.ComponentOrBuilder getComponentOrBuilder(
+        int index);
+    
+    // repeated string target = 2;
+    java.util.List<String> getTargetList();
+    int getTargetCount();
+    String getTarget(int index);
+    
+    // optional int32 fanout = 3;
+    boolean hasFanout();
+    int getFanout();
+  }
+  public static final class RelayRequest extends
+      com.google.protobuf.GeneratedMessage
+      implements RelayRequestOrBuilder {
+    // Use RelayRequest.newBuilder() to construct.
+    private RelayRequest(Builder builder) {
+      super(builder);
+    }
+    private RelayRequest(boolean noInit) {}
+    
+    private static final RelayRequest defaultInstance;
+    public static RelayRequest getDefaultInstance() {
+      return defaultInstance;
+    }
+    
+    public RelayRequest getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+    
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.orbekk.same.Services.internal_static_com_orbekk_same_RelayRequest_descriptor;
+    }
+    
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.orbekk.same.Services.internal_static_com_orbekk_same_RelayRequest_fieldAccessorTable;
+    }
+    
+    private int bitField0_;
+    // repeated .com.orbekk.same.Component component = 1;
+    public static final int COMPONENT_FIELD_NUMBER = 1;
+    private java.util.List<com.orbekk.same.Services.Component> component_;
+    public java.util.List<com.orbekk.same.Services.Component> getComponentList() {
+      return component_;
+    }
+    public java.util.List<? extends com.orbekk.same.Services.ComponentOrBuilder> 
+        getComponentOrBuilderList() {
+      return component_;
+    }
+    public int getComponentCount() {
+      return component_.size();
+    }
+    public com.orbekk.same.Services.Component getComponent(int index) {
+      return component_.get(index);
+    }
+    public com.orbekk.same.Services.ComponentOrBuilder getComponentOrBuilder(
+        int index) {
+      return component_.get(index);
+    }
+    
+    // repeated string target = 2;
+    public static final int TARGET_FIELD_NUMBER = 2;
+    private com.google.protobuf.LazyStringList target_;
+    public java.util.List<String>
+        getTargetList() {
+      return target_;
+    }
+    public int getTargetCount() {
+      return target_.size();
+    }
+    public String getTarget(int index) {
+      return target_.get(index);
+    }
+    
+    // optional int32 fanout = 3;
+    public static final int FANOUT_FIELD_NUMBER = 3;
+    private int fanout_;
+    public boolean hasFanout() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    public int getFanout() {
+      return fanout_;
+    }
+    
+    private void initFields() {
+      component_ = java.util.Collections.emptyList();
+      target_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      fanout_ = 0;
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized != -1) return isInitialized == 1;
+      
+      for (int i = 0; i < getComponentCount(); i++) {
+        if (!getComponent(i).isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
+      memoizedIsInitialized = 1;
+      return true;
+    }
+    
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      for (int i = 0; i < component_.size(); i++) {
+        output.writeMessage(1, component_.get(i));
+      }
+      for (int i = 0; i < target_.size(); i++) {
+        output.writeBytes(2, target_.getByteString(i));
+      }
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeInt32(3, fanout_);
+      }
+      getUnknownFields().writeTo(output);
+    }
+    
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+    
+      size = 0;
+      for (int i = 0; i < component_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(1, component_.get(i));
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < target_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeBytesSizeNoTag(target_.getByteString(i));
+        }
+        size += dataSize;
+        size += 1 * getTargetList().size();
+      }
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(3, fanout_);
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+    
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+    
+    public static com.orbekk.same.Services.RelayRequest parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data).buildParsed();
+    }
+    public static com.orbekk.same.Services.RelayRequest parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.RelayRequest parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data).buildParsed();
+    }
+    public static com.orbekk.same.Services.RelayRequest parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.RelayRequest parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input).buildParsed();
+    }
+    public static com.orbekk.same.Services.RelayRequest parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.RelayRequest parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      Builder builder = newBuilder();
+      if (builder.mergeDelimitedFrom(input)) {
+        return builder.buildParsed();
+      } else {
+        return null;
+      }
+    }
+    public static com.orbekk.same.Services.RelayRequest parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      Builder builder = newBuilder();
+      if (builder.mergeDelimitedFrom(input, extensionRegistry)) {
+        return builder.buildParsed();
+      } else {
+        return null;
+      }
+    }
+    public static com.orbekk.same.Services.RelayRequest parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input).buildParsed();
+    }
+    public static com.orbekk.same.Services.RelayRequest parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input, extensionRegistry)
+               .buildParsed();
+    }
+    
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(com.orbekk.same.Services.RelayRequest prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+    
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder>
+       implements com.orbekk.same.Services.RelayRequestOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.orbekk.same.Services.internal_static_com_orbekk_same_RelayRequest_descriptor;
+      }
+      
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.orbekk.same.Services.internal_static_com_orbekk_same_RelayRequest_fieldAccessorTable;
+      }
+      
+      // Construct using com.orbekk.same.Services.RelayRequest.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+      
+      private Builder(BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+          getComponentFieldBuilder();
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+      
+      public Builder clear() {
+        super.clear();
+        if (componentBuilder_ == null) {
+          component_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000001);
+        } else {
+          componentBuilder_.clear();
+        }
+        target_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000002);
+        fanout_ = 0;
+        bitField0_ = (bitField0_ & ~0x00000004);
+        return this;
+      }
+      
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+      
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.orbekk.same.Services.RelayRequest.getDescriptor();
+      }
+      
+      public com.orbekk.same.Services.RelayRequest getDefaultInstanceForType() {
+        return com.orbekk.same.Services.RelayRequest.getDefaultInstance();
+      }
+      
+      public com.orbekk.same.Services.RelayRequest build() {
+        com.orbekk.same.Services.RelayRequest result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+      
+      private com.orbekk.same.Services.RelayRequest buildParsed()
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        com.orbekk.same.Services.RelayRequest result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(
+            result).asInvalidProtocolBufferException();
+        }
+        return result;
+      }
+      
+      public com.orbekk.same.Services.RelayRequest buildPartial() {
+        com.orbekk.same.Services.RelayRequest result = new com.orbekk.same.Services.RelayRequest(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (componentBuilder_ == null) {
+          if (((bitField0_ & 0x00000001) == 0x00000001)) {
+            component_ = java.util.Collections.unmodifiableList(component_);
+            bitField0_ = (bitField0_ & ~0x00000001);
+          }
+          result.component_ = component_;
+        } else {
+          result.component_ = componentBuilder_.build();
+        }
+        if (((bitField0_ & 0x00000002) == 0x00000002)) {
+          target_ = new com.google.protobuf.UnmodifiableLazyStringList(
+              target_);
+          bitField0_ = (bitField0_ & ~0x00000002);
+        }
+        result.target_ = target_;
+        if (((from_bitField0_ & 0x00000004) == 0x00000004)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.fanout_ = fanout_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+      
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.orbekk.same.Services.RelayRequest) {
+          return mergeFrom((com.orbekk.same.Services.RelayRequest)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+      
+      public Builder mergeFrom(com.orbekk.same.Services.RelayRequest other) {
+        if (other == com.orbekk.same.Services.RelayRequest.getDefaultInstance()) return this;
+        if (componentBuilder_ == null) {
+          if (!other.component_.isEmpty()) {
+            if (component_.isEmpty()) {
+              component_ = other.component_;
+              bitField0_ = (bitField0_ & ~0x00000001);
+            } else {
+              ensureComponentIsMutable();
+              component_.addAll(other.component_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.component_.isEmpty()) {
+            if (componentBuilder_.isEmpty()) {
+              componentBuilder_.dispose();
+              componentBuilder_ = null;
+              component_ = other.component_;
+              bitField0_ = (bitField0_ & ~0x00000001);
+              componentBuilder_ = 
+                com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders ?
+                   getComponentFieldBuilder() : null;
+            } else {
+              componentBuilder_.addAllMessages(other.component_);
+            }
+          }
+        }
+        if (!other.target_.isEmpty()) {
+          if (target_.isEmpty()) {
+            target_ = other.target_;
+            bitField0_ = (bitField0_ & ~0x00000002);
+          } else {
+            ensureTargetIsMutable();
+            target_.addAll(other.target_);
+          }
+          onChanged();
+        }
+        if (other.hasFanout()) {
+          setFanout(other.getFanout());
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+      
+      public final boolean isInitialized() {
+        for (int i = 0; i < getComponentCount(); i++) {
+          if (!getComponent(i).isInitialized()) {
+            
+            return false;
+          }
+        }
+        return true;
+      }
+      
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder(
+            this.getUnknownFields());
+        while (true) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              this.setUnknownFields(unknownFields.build());
+              onChanged();
+              return this;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                this.setUnknownFields(unknownFields.build());
+                onChanged();
+                return this;
+              }
+              break;
+            }
+            case 10: {
+              com.orbekk.same.Services.Component.Builder subBuilder = com.orbekk.same.Services.Component.newBuilder();
+              input.readMessage(subBuilder, extensionRegistry);
+              addComponent(subBuilder.buildPartial());
+              break;
+            }
+            case 18: {
+              ensureTargetIsMutable();
+              target_.add(input.readBytes());
+              break;
+            }
+            case 24: {
+              bitField0_ |= 0x00000004;
+              fanout_ = input.readInt32();
+              break;
+            }
+          }
+        }
+      }
+      
+      private int bitField0_;
+      
+      // repeated .com.orbekk.same.Component component = 1;
+      private java.util.List<com.orbekk.same.Services.Component> component_ =
+        java.util.Collections.emptyList();
+      private void ensureComponentIsMutable() {
+        if (!((bitField0_ & 0x00000001) == 0x00000001)) {
+          component_ = new java.util.ArrayList<com.orbekk.same.Services.Component>(component_);
+          bitField0_ |= 0x00000001;
+         }
+      }
+      
+      private com.google.protobuf.RepeatedFieldBuilder<
+          com.orbekk.same.Services.Component, com.orbekk.same.Services.Component.Builder, com.orbekk.same.Services.ComponentOrBuilder> componentBuilder_;
+      
+      public java.util.List<com.orbekk.same.Services.Component> getComponentList() {
+        if (componentBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(component_);
+        } else {
+          return componentBuilder_.getMessageList();
+        }
+      }
+      public int getComponentCount() {
+        if (componentBuilder_ == null) {
+          return component_.size();
+        } else {
+          return componentBuilder_.getCount();
+        }
+      }
+      public com.orbekk.same.Services.Component getComponent(int index) {
+        if (componentBuilder_ == null) {
+          return component_.get(index);
+        } else {
+          return componentBuilder_.getMessage(index);
+        }
+      }
+      public Builder setComponent(
+          int index, com.orbekk.same.Services.Component value) {
+        if (componentBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureComponentIsMutable();
+          component_.set(index, value);
+          onChanged();
+        } else {
+          componentBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      public Builder setComponent(
+          int index, com.orbekk.same.Services.Component.Builder builderForValue) {
+        if (componentBuilder_ == null) {
+          ensureComponentIsMutable();
+          component_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          componentBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      public Builder addComponent(com.orbekk.same.Services.Component value) {
+        if (componentBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureComponentIsMutable();
+          component_.add(value);
+          onChanged();
+        } else {
+          componentBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      public Builder addComponent(
+          int index, com.orbekk.same.Services.Component value) {
+        if (componentBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureComponentIsMutable();
+          component_.add(index, value);
+          onChanged();
+        } else {
+          componentBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      public Builder addComponent(
+          com.orbekk.same.Services.Component.Builder builderForValue) {
+        if (componentBuilder_ == null) {
+          ensureComponentIsMutable();
+          component_.add(builderForValue.build());
+          onChanged();
+        } else {
+          componentBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      public Builder addComponent(
+          int index, com.orbekk.same.Services.Component.Builder builderForValue) {
+        if (componentBuilder_ == null) {
+          ensureComponentIsMutable();
+          component_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          componentBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      public Builder addAllComponent(
+          java.lang.Iterable<? extends com.orbekk.same.Services.Component> values) {
+        if (componentBuilder_ == null) {
+          ensureComponentIsMutable();
+          super.addAll(values, component_);
+          onChanged();
+        } else {
+          componentBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      public Builder clearComponent() {
+        if (componentBuilder_ == null) {
+          component_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000001);
+          onChanged();
+        } else {
+          componentBuilder_.clear();
+        }
+        return this;
+      }
+      public Builder removeComponent(int index) {
+        if (componentBuilder_ == null) {
+          ensureComponentIsMutable();
+          component_.remove(index);
+          onChanged();
+        } else {
+          componentBuilder_.remove(index);
+        }
+        return this;
+      }
+      public com.orbekk.same.Services.Component.Builder getComponentBuilder(
+          int index) {
+        return getComponentFieldBuilder().getBuilder(index);
+      }
+      public com.orbekk.same.Services.ComponentOrBuilder getComponentOrBuilder(
+          int index) {
+        if (componentBuilder_ == null) {
+          return component_.get(index);  } else {
+          return componentBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      public java.util.List<? extends com.orbekk.same.Services.ComponentOrBuilder> 
+           getComponentOrBuilderList() {
+        if (componentBuilder_ != null) {
+          return componentBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(component_);
+        }
+      }
+      public com.orbekk.same.Services.Component.Builder addComponentBuilder() {
+        return getComponentFieldBuilder().addBuilder(
+            com.orbekk.same.Services.Component.getDefaultInstance());
+      }
+      public com.orbekk.same.Services.Component.Builder addComponentBuilder(
+          int index) {
+        return getComponentFieldBuilder().addBuilder(
+            index, com.orbekk.same.Services.Component.getDefaultInstance());
+      }
+      public java.util.List<com.orbekk.same.Services.Component.Builder> 
+           getComponentBuilderList() {
+        return getComponentFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilder<
+          com.orbekk.same.Services.Component, com.orbekk.same.Services.Component.Builder, com.orbekk.same.Services.ComponentOrBuilder> 
+          getComponentFieldBuilder() {
+        if (componentBuilder_ == null) {
+          componentBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
+              com.orbekk.same.Services.Component, com.orbekk.same.Services.Component.Builder, com.orbekk.same.Services.ComponentOrBuilder>(
+                  component_,
+                  ((bitField0_ & 0x00000001) == 0x00000001),
+                  getParentForChildren(),
+                  isClean());
+          component_ = null;
+        }
+        return componentBuilder_;
+      }
+      
+      // repeated string target = 2;
+      private com.google.protobuf.LazyStringList target_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      private void ensureTargetIsMutable() {
+        if (!((bitField0_ & 0x00000002) == 0x00000002)) {
+          target_ = new com.google.protobuf.LazyStringArrayList(target_);
+          bitField0_ |= 0x00000002;
+         }
+      }
+      public java.util.List<String>
+          getTargetList() {
+        return java.util.Collections.unmodifiableList(target_);
+      }
+      public int getTargetCount() {
+        return target_.size();
+      }
+      public String getTarget(int index) {
+        return target_.get(index);
+      }
+      public Builder setTarget(
+          int index, String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureTargetIsMutable();
+        target_.set(index, value);
+        onChanged();
+        return this;
+      }
+      public Builder addTarget(String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureTargetIsMutable();
+        target_.add(value);
+        onChanged();
+        return this;
+      }
+      public Builder addAllTarget(
+          java.lang.Iterable<String> values) {
+        ensureTargetIsMutable();
+        super.addAll(values, target_);
+        onChanged();
+        return this;
+      }
+      public Builder clearTarget() {
+        target_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000002);
+        onChanged();
+        return this;
+      }
+      void addTarget(com.google.protobuf.ByteString value) {
+        ensureTargetIsMutable();
+        target_.add(value);
+        onChanged();
+      }
+      
+      // optional int32 fanout = 3;
+      private int fanout_ ;
+      public boolean hasFanout() {
+        return ((bitField0_ & 0x00000004) == 0x00000004);
+      }
+      public int getFanout() {
+        return fanout_;
+      }
+      public Builder setFanout(int value) {
+        bitField0_ |= 0x00000004;
+        fanout_ = value;
+        onChanged();
+        return this;
+      }
+      public Builder clearFanout() {
+        bitField0_ = (bitField0_ & ~0x00000004);
+        fanout_ = 0;
+        onChanged();
+        return this;
+      }
+      
+      // @@protoc_insertion_point(builder_scope:com.orbekk.same.RelayRequest)
+    }
+    
+    static {
+      defaultInstance = new RelayRequest(true);
+      defaultInstance.initFields();
+    }
+    
+    // @@protoc_insertion_point(class_scope:com.orbekk.same.RelayRequest)
+  }
+  
+  public interface MasterStateOrBuilder
+      extends com.google.protobuf.MessageOrBuilder {
+    
+    // optional string master_url = 1;
+    boolean hasMasterUrl();
+    String getMasterUrl();
+    
+    // optional int32 master_id = 2;
+    boolean hasMasterId();
+    int getMasterId();
+    
+    // optional string network_name = 3;
+    boolean hasNetworkName();
+    String getNetworkName();
+    
+    // optional string master_location = 4;
+    boolean hasMasterLocation();
+    String getMasterLocation();
+    
+    // optional int64 revision = 5;
+    boolean hasRevision();
+    long getRevision();
+  }
+  public static final class MasterState extends
+      com.google.protobuf.GeneratedMessage
+      implements MasterStateOrBuilder {
+    // Use MasterState.newBuilder() to construct.
+    private MasterState(Builder builder) {
+      super(builder);
+    }
+    private MasterState(boolean noInit) {}
+    
+    private static final MasterState defaultInstance;
+    public static MasterState getDefaultInstance() {
+      return defaultInstance;
+    }
+    
+    public MasterState getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+    
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.orbekk.same.Services.internal_static_com_orbekk_same_MasterState_descriptor;
+    }
+    
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.orbekk.same.Services.internal_static_com_orbekk_same_MasterState_fieldAccessorTable;
+    }
+    
+    private int bitField0_;
+    // optional string master_url = 1;
+    public static final int MASTER_URL_FIELD_NUMBER = 1;
+    private java.lang.Object masterUrl_;
+    public boolean hasMasterUrl() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    public String getMasterUrl() {
+      java.lang.Object ref = masterUrl_;
+      if (ref instanceof String) {
+        return (String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        String s = bs.toStringUtf8();
+        if (com.google.protobuf.Internal.isValidUtf8(bs)) {
+          masterUrl_ = s;
+        }
+        return s;
+      }
+    }
+    private com.google.protobuf.ByteString getMasterUrlBytes() {
+      java.lang.Object ref = masterUrl_;
+      if (ref instanceof String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8((String) ref);
+        masterUrl_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+    
+    // optional int32 master_id = 2;
+    public static final int MASTER_ID_FIELD_NUMBER = 2;
+    private int masterId_;
+    public boolean hasMasterId() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
+    }
+    public int getMasterId() {
+      return masterId_;
+    }
+    
+    // optional string network_name = 3;
+    public static final int NETWORK_NAME_FIELD_NUMBER = 3;
+    private java.lang.Object networkName_;
+    public boolean hasNetworkName() {
+      return ((bitField0_ & 0x00000004) == 0x00000004);
+    }
+    public String getNetworkName() {
+      java.lang.Object ref = networkName_;
+      if (ref instanceof String) {
+        return (String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        String s = bs.toStringUtf8();
+        if (com.google.protobuf.Internal.isValidUtf8(bs)) {
+          networkName_ = s;
+        }
+        return s;
+      }
+    }
+    private com.google.protobuf.ByteString getNetworkNameBytes() {
+      java.lang.Object ref = networkName_;
+      if (ref instanceof String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8((String) ref);
+        networkName_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+    
+    // optional string master_location = 4;
+    public static final int MASTER_LOCATION_FIELD_NUMBER = 4;
+    private java.lang.Object masterLocation_;
+    public boolean hasMasterLocation() {
+      return ((bitField0_ & 0x00000008) == 0x00000008);
+    }
+    public String getMasterLocation() {
+      java.lang.Object ref = masterLocation_;
+      if (ref instanceof String) {
+        return (String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        String s = bs.toStringUtf8();
+        if (com.google.protobuf.Internal.isValidUtf8(bs)) {
+          masterLocation_ = s;
+        }
+        return s;
+      }
+    }
+    private com.google.protobuf.ByteString getMasterLocationBytes() {
+      java.lang.Object ref = masterLocation_;
+      if (ref instanceof String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8((String) ref);
+        masterLocation_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+    
+    // optional int64 revision = 5;
+    public static final int REVISION_FIELD_NUMBER = 5;
+    private long revision_;
+    public boolean hasRevision() {
+      return ((bitField0_ & 0x00000010) == 0x00000010);
+    }
+    public long getRevision() {
+      return revision_;
+    }
+    
+    private void initFields() {
+      masterUrl_ = "";
+      masterId_ = 0;
+      networkName_ = "";
+      masterLocation_ = "";
+      revision_ = 0L;
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized != -1) return isInitialized == 1;
+      
+      memoizedIsInitialized = 1;
+      return true;
+    }
+    
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeBytes(1, getMasterUrlBytes());
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeInt32(2, masterId_);
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        output.writeBytes(3, getNetworkNameBytes());
+      }
+      if (((bitField0_ & 0x00000008) == 0x00000008)) {
+        output.writeBytes(4, getMasterLocationBytes());
+      }
+      if (((bitField0_ & 0x00000010) == 0x00000010)) {
+        output.writeInt64(5, revision_);
+      }
+      getUnknownFields().writeTo(output);
+    }
+    
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+    
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(1, getMasterUrlBytes());
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(2, masterId_);
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(3, getNetworkNameBytes());
+      }
+      if (((bitField0_ & 0x00000008) == 0x00000008)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(4, getMasterLocationBytes());
+      }
+      if (((bitField0_ & 0x00000010) == 0x00000010)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(5, revision_);
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+    
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+    
+    public static com.orbekk.same.Services.MasterState parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data).buildParsed();
+    }
+    public static com.orbekk.same.Services.MasterState parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.MasterState parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data).buildParsed();
+    }
+    public static com.orbekk.same.Services.MasterState parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.MasterState parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input).buildParsed();
+    }
+    public static com.orbekk.same.Services.MasterState parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.MasterState parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      Builder builder = newBuilder();
+      if (builder.mergeDelimitedFrom(input)) {
+        return builder.buildParsed();
+      } else {
+        return null;
+      }
+    }
+    public static com.orbekk.same.Services.MasterState parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      Builder builder = newBuilder();
+      if (builder.mergeDelimitedFrom(input, extensionRegistry)) {
+        return builder.buildParsed();
+      } else {
+        return null;
+      }
+    }
+    public static com.orbekk.same.Services.MasterState parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input).buildParsed();
+    }
+    public static com.orbekk.same.Services.MasterState parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input, extensionRegistry)
+               .buildParsed();
+    }
+    
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(com.orbekk.same.Services.MasterState prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+    
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder>
+       implements com.orbekk.same.Services.MasterStateOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.orbekk.same.Services.internal_static_com_orbekk_same_MasterState_descriptor;
+      }
+      
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.orbekk.same.Services.internal_static_com_orbekk_same_MasterState_fieldAccessorTable;
+      }
+      
+      // Construct using com.orbekk.same.Services.MasterState.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+      
+      private Builder(BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+      
+      public Builder clear() {
+        super.clear();
+        masterUrl_ = "";
+        bitField0_ = (bitField0_ & ~0x00000001);
+        masterId_ = 0;
+        bitField0_ = (bitField0_ & ~0x00000002);
+        networkName_ = "";
+        bitField0_ = (bitField0_ & ~0x00000004);
+        masterLocation_ = "";
+        bitField0_ = (bitField0_ & ~0x00000008);
+        revision_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000010);
+        return this;
+      }
+      
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+      
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.orbekk.same.Services.MasterState.getDescriptor();
+      }
+      
+      public com.orbekk.same.Services.MasterState getDefaultInstanceForType() {
+        return com.orbekk.same.Services.MasterState.getDefaultInstance();
+      }
+      
+      public com.orbekk.same.Services.MasterState build() {
+        com.orbekk.same.Services.MasterState result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+      
+      private com.orbekk.same.Services.MasterState buildParsed()
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        com.orbekk.same.Services.MasterState result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(
+            result).asInvalidProtocolBufferException();
+        }
+        return result;
+      }
+      
+      public com.orbekk.same.Services.MasterState buildPartial() {
+        com.orbekk.same.Services.MasterState result = new com.orbekk.same.Services.MasterState(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.masterUrl_ = masterUrl_;
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        result.masterId_ = masterId_;
+        if (((from_bitField0_ & 0x00000004) == 0x00000004)) {
+          to_bitField0_ |= 0x00000004;
+        }
+        result.networkName_ = networkName_;
+        if (((from_bitField0_ & 0x00000008) == 0x00000008)) {
+          to_bitField0_ |= 0x00000008;
+        }
+        result.masterLocation_ = masterLocation_;
+        if (((from_bitField0_ & 0x00000010) == 0x00000010)) {
+          to_bitField0_ |= 0x00000010;
+        }
+        result.revision_ = revision_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+      
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.orbekk.same.Services.MasterState) {
+          return mergeFrom((com.orbekk.same.Services.MasterState)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+      
+      public Builder mergeFrom(com.orbekk.same.Services.MasterState other) {
+        if (other == com.orbekk.same.Services.MasterState.getDefaultInstance()) return this;
+        if (other.hasMasterUrl()) {
+          setMasterUrl(other.getMasterUrl());
+        }
+        if (other.hasMasterId()) {
+          setMasterId(other.getMasterId());
+        }
+        if (other.hasNetworkName()) {
+          setNetworkName(other.getNetworkName());
+        }
+        if (other.hasMasterLocation()) {
+          setMasterLocation(other.getMasterLocation());
+        }
+        if (other.hasRevision()) {
+          setRevision(other.getRevision());
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+      
+      public final boolean isInitialized() {
+        return true;
+      }
+      
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder(
+            this.getUnknownFields());
+        while (true) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              this.setUnknownFields(unknownFields.build());
+              onChanged();
+              return this;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                this.setUnknownFields(unknownFields.build());
+                onChanged();
+                return this;
+              }
+              break;
+            }
+            case 10: {
+              bitField0_ |= 0x00000001;
+              masterUrl_ = input.readBytes();
+              break;
+            }
+            case 16: {
+              bitField0_ |= 0x00000002;
+              masterId_ = input.readInt32();
+              break;
+            }
+            case 26: {
+              bitField0_ |= 0x00000004;
+              networkName_ = input.readBytes();
+              break;
+            }
+            case 34: {
+              bitField0_ |= 0x00000008;
+              masterLocation_ = input.readBytes();
+              break;
+            }
+            case 40: {
+              bitField0_ |= 0x00000010;
+              revision_ = input.readInt64();
+              break;
+            }
+          }
+        }
+      }
+      
+      private int bitField0_;
+      
+      // optional string master_url = 1;
+      private java.lang.Object masterUrl_ = "";
+      public boolean hasMasterUrl() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      public String getMasterUrl() {
+        java.lang.Object ref = masterUrl_;
+        if (!(ref instanceof String)) {
+          String s = ((com.google.protobuf.ByteString) ref).toStringUtf8();
+          masterUrl_ = s;
+          return s;
+        } else {
+          return (String) ref;
+        }
+      }
+      public Builder setMasterUrl(String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000001;
+        masterUrl_ = value;
+        onChanged();
+        return this;
+      }
+      public Builder clearMasterUrl() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        masterUrl_ = getDefaultInstance().getMasterUrl();
+        onChanged();
+        return this;
+      }
+      void setMasterUrl(com.google.protobuf.ByteString value) {
+        bitField0_ |= 0x00000001;
+        masterUrl_ = value;
+        onChanged();
+      }
+      
+      // optional int32 master_id = 2;
+      private int masterId_ ;
+      public boolean hasMasterId() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      public int getMasterId() {
+        return masterId_;
+      }
+      public Builder setMasterId(int value) {
+        bitField0_ |= 0x00000002;
+        masterId_ = value;
+        onChanged();
+        return this;
+      }
+      public Builder clearMasterId() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        masterId_ = 0;
+        onChanged();
+        return this;
+      }
+      
+      // optional string network_name = 3;
+      private java.lang.Object networkName_ = "";
+      public boolean hasNetworkName() {
+        return ((bitField0_ & 0x00000004) == 0x00000004);
+      }
+      public String getNetworkName() {
+        java.lang.Object ref = networkName_;
+        if (!(ref instanceof String)) {
+          String s = ((com.google.protobuf.ByteString) ref).toStringUtf8();
+          networkName_ = s;
+          return s;
+        } else {
+          return (String) ref;
+        }
+      }
+      public Builder setNetworkName(String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000004;
+        networkName_ = value;
+        onChanged();
+        return this;
+      }
+      public Builder clearNetworkName() {
+        bitField0_ = (bitField0_ & ~0x00000004);
+        networkName_ = getDefaultInstance().getNetworkName();
+        onChanged();
+        return this;
+      }
+      void setNetworkName(com.google.protobuf.ByteString value) {
+        bitField0_ |= 0x00000004;
+        networkName_ = value;
+        onChanged();
+      }
+      
+      // optional string master_location = 4;
+      private java.lang.Object masterLocation_ = "";
+      public boolean hasMasterLocation() {
+        return ((bitField0_ & 0x00000008) == 0x00000008);
+      }
+      public String getMasterLocation() {
+        java.lang.Object ref = masterLocation_;
+        if (!(ref instanceof String)) {
+          String s = ((com.google.protobuf.ByteString) ref).toStringUtf8();
+          masterLocation_ = s;
+          return s;
+        } else {
+          return (String) ref;
+        }
+      }
+      public Builder setMasterLocation(String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000008;
+        masterLocation_ = value;
+        onChanged();
+        return this;
+      }
+      public Builder clearMasterLocation() {
+        bitField0_ = (bitField0_ & ~0x00000008);
+        masterLocation_ = getDefaultInstance().getMasterLocation();
+        onChanged();
+        return this;
+      }
+      void setMasterLocation(com.google.protobuf.ByteString value) {
+        bitField0_ |= 0x00000008;
+        masterLocation_ = value;
+        onChanged();
+      }
+      
+      // optional int64 revision = 5;
+      private long revision_ ;
+      public boolean hasRevision() {
+        return ((bitField0_ & 0x00000010) == 0x00000010);
+      }
+      public long getRevision() {
+        return revision_;
+      }
+      public Builder setRevision(long value) {
+        bitField0_ |= 0x00000010;
+        revision_ = value;
+        onChanged();
+        return this;
+      }
+      public Builder clearRevision() {
+        bitField0_ = (bitField0_ & ~0x00000010);
+        revision_ = 0L;
+        onChanged();
+        return this;
+      }
+      
+      // @@protoc_insertion_point(builder_scope:com.orbekk.same.MasterState)
+    }
+    
+    static {
+      defaultInstance = new MasterState(true);
+      defaultInstance.initFields();
+    }
+    
+    // @@protoc_insertion_point(class_scope:com.orbekk.same.MasterState)
+  }
+  
+  public interface MasterTakeoverResponseOrBuilder
+      extends com.google.protobuf.MessageOrBuilder {
+    
+    // optional bool success = 2;
+    boolean hasSuccess();
+    boolean getSuccess();
+    
+    // optional .com.orbekk.same.ClientState client_state = 3;
+    boolean hasClientState();
+    com.orbekk.same.Services.ClientState getClientState();
+    com.orbekk.same.Services.ClientStateOrBuilder getClientStateOrBuilder();
+    
+    // optional .com.orbekk.same.StateSummary summary = 4;
+    boolean hasSummary();
+    com.orbekk.same.Services.StateSummary getSummary();
+    com.orbekk.same.Services.StateSummaryOrBuilder getSummaryOrBuilder();
+  }
+  public static final class MasterTakeoverResponse extends
+      com.google.protobuf.GeneratedMessage
+      implements MasterTakeoverResponseOrBuilder {
+    // Use MasterTakeoverResponse.newBuilder() to construct.
+    private MasterTakeoverResponse(Builder builder) {
+      super(builder);
+    }
+    private MasterTakeoverResponse(boolean noInit) {}
+    
+    private static final MasterTakeoverResponse defaultInstance;
+    public static MasterTakeoverResponse getDefaultInstance() {
+      return defaultInstance;
+    }
+    
+    public MasterTakeoverResponse getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+    
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.orbekk.same.Services.internal_static_com_orbekk_same_MasterTakeoverResponse_descriptor;
+    }
+    
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.orbekk.same.Services.internal_static_com_orbekk_same_MasterTakeoverResponse_fieldAccessorTable;
+    }
+    
+    private int bitField0_;
+    // optional bool success = 2;
+    public static final int SUCCESS_FIELD_NUMBER = 2;
+    private boolean success_;
+    public boolean hasSuccess() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    public boolean getSuccess() {
+      return success_;
+    }
+    
+    // optional .com.orbekk.same.ClientState client_state = 3;
+    public static final int CLIENT_STATE_FIELD_NUMBER = 3;
+    private com.orbekk.same.Services.ClientState clientState_;
+    public boolean hasClientState() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
+    }
+    public com.orbekk.same.Services.ClientState getClientState() {
+      return clientState_;
+    }
+    public com.orbekk.same.Services.ClientStateOrBuilder getClientStateOrBuilder() {
+      return clientState_;
+    }
+    
+    // optional .com.orbekk.same.StateSummary summary = 4;
+    public static final int SUMMARY_FIELD_NUMBER = 4;
+    private com.orbekk.same.Services.StateSummary summary_;
+    public boolean hasSummary() {
+      return ((bitField0_ & 0x00000004) == 0x00000004);
+    }
+    public com.orbekk.same.Services.StateSummary getSummary() {
+      return summary_;
+    }
+    public com.orbekk.same.Services.StateSummaryOrBuilder getSummaryOrBuilder() {
+      return summary_;
+    }
+    
+    private void initFields() {
+      success_ = false;
+      clientState_ = com.orbekk.same.Services.ClientState.getDefaultInstance();
+      summary_ = com.orbekk.same.Services.StateSummary.getDefaultInstance();
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized != -1) return isInitialized == 1;
+      
+      memoizedIsInitialized = 1;
+      return true;
+    }
+    
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeBool(2, success_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeMessage(3, clientState_);
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        output.writeMessage(4, summary_);
+      }
+      getUnknownFields().writeTo(output);
+    }
+    
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+    
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBoolSize(2, success_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(3, clientState_);
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(4, summary_);
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+    
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+    
+    public static com.orbekk.same.Services.MasterTakeoverResponse parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data).buildParsed();
+    }
+    public static com.orbekk.same.Services.MasterTakeoverResponse parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.MasterTakeoverResponse parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data).buildParsed();
+    }
+    public static com.orbekk.same.Services.MasterTakeoverResponse parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.MasterTakeoverResponse parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input).buildParsed();
+    }
+    public static com.orbekk.same.Services.MasterTakeoverResponse parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.MasterTakeoverResponse parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      Builder builder = newBuilder();
+      if (builder.mergeDelimitedFrom(input)) {
+        return builder.buildParsed();
+      } else {
+        return null;
+      }
+    }
+    public static com.orbekk.same.Services.MasterTakeoverResponse parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      Builder builder = newBuilder();
+      if (builder.mergeDelimitedFrom(input, extensionRegistry)) {
+        return builder.buildParsed();
+      } else {
+        return null;
+      }
+    }
+    public static com.orbekk.same.Services.MasterTakeoverResponse parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input).buildParsed();
+    }
+    public static com.orbekk.same.Services.MasterTakeoverResponse parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input, extensionRegistry)
+               .buildParsed();
+    }
+    
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(com.orbekk.same.Services.MasterTakeoverResponse prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+    
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder>
+       implements com.orbekk.same.Services.MasterTakeoverResponseOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.orbekk.same.Services.internal_static_com_orbekk_same_MasterTakeoverResponse_descriptor;
+      }
+      
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.orbekk.same.Services.internal_static_com_orbekk_same_MasterTakeoverResponse_fieldAccessorTable;
+      }
+      
+      // Construct using com.orbekk.same.Services.MasterTakeoverResponse.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+      
+      private Builder(BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+          getClientStateFieldBuilder();
+          getSummaryFieldBuilder();
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+      
+      public Builder clear() {
+        super.clear();
+        success_ = false;
+        bitField0_ = (bitField0_ & ~0x00000001);
+        if (clientStateBuilder_ == null) {
+          clientState_ = com.orbekk.same.Services.ClientState.getDefaultInstance();
+        } else {
+          clientStateBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000002);
+        if (summaryBuilder_ == null) {
+          summary_ = com.orbekk.same.Services.StateSummary.getDefaultInstance();
+        } else {
+          summaryBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000004);
+        return this;
+      }
+      
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+      
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.orbekk.same.Services.MasterTakeoverResponse.getDescriptor();
+      }
+      
+      public com.orbekk.same.Services.MasterTakeoverResponse getDefaultInstanceForType() {
+        return com.orbekk.same.Services.MasterTakeoverResponse.getDefaultInstance();
+      }
+      
+      public com.orbekk.same.Services.MasterTakeoverResponse build() {
+        com.orbekk.same.Services.MasterTakeoverResponse result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+      
+      private com.orbekk.same.Services.MasterTakeoverResponse buildParsed()
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        com.orbekk.same.Services.MasterTakeoverResponse result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(
+            result).asInvalidProtocolBufferException();
+        }
+        return result;
+      }
+      
+      public com.orbekk.same.Services.MasterTakeoverResponse buildPartial() {
+        com.orbekk.same.Services.MasterTakeoverResponse result = new com.orbekk.same.Services.MasterTakeoverResponse(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.success_ = success_;
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        if (clientStateBuilder_ == null) {
+          result.clientState_ = clientState_;
+        } else {
+          result.clientState_ = clientStateBuilder_.build();
+        }
+        if (((from_bitField0_ & 0x00000004) == 0x00000004)) {
+          to_bitField0_ |= 0x00000004;
+        }
+        if (summaryBuilder_ == null) {
+          result.summary_ = summary_;
+        } else {
+          result.summary_ = summaryBuilder_.build();
+        }
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+      
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.orbekk.same.Services.MasterTakeoverResponse) {
+          return mergeFrom((com.orbekk.same.Services.MasterTakeoverResponse)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+      
+      public Builder mergeFrom(com.orbekk.same.Services.MasterTakeoverResponse other) {
+        if (other == com.orbekk.same.Services.MasterTakeoverResponse.getDefaultInstance()) return this;
+        if (other.hasSuccess()) {
+          setSuccess(other.getSuccess());
+        }
+        if (other.hasClientState()) {
+          mergeClientState(other.getClientState());
+        }
+        if (other.hasSummary()) {
+          mergeSummary(other.getSummary());
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+      
+      public final boolean isInitialized() {
+        return true;
+      }
+      
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder(
+            this.getUnknownFields());
+        while (true) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              this.setUnknownFields(unknownFields.build());
+              onChanged();
+              return this;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                this.setUnknownFields(unknownFields.build());
+                onChanged();
+                return this;
+              }
+              break;
+            }
+            case 16: {
+              bitField0_ |= 0x00000001;
+              success_ = input.readBool();
+              break;
+            }
+            case 26: {
+              com.orbekk.same.Services.ClientState.Builder subBuilder = com.orbekk.same.Services.ClientState.newBuilder();
+              if (hasClientState()) {
+                subBuilder.mergeFrom(getClientState());
+              }
+              input.readMessage(subBuilder, extensionRegistry);
+              setClientState(subBuilder.buildPartial());
+              break;
+            }
+            case 34: {
+              com.orbekk.same.Services.StateSummary.Builder subBuilder = com.orbekk.same.Services.StateSummary.newBuilder();
+              if (hasSummary()) {
+                subBuilder.mergeFrom(getSummary());
+              }
+              input.readMessage(subBuilder, extensionRegistry);
+              setSummary(subBuilder.buildPartial());
+              break;
+            }
+          }
+        }
+      }
+      
+      private int bitField0_;
+      
+      // optional bool success = 2;
+      private boolean success_ ;
+      public boolean hasSuccess() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      public boolean getSuccess() {
+        return success_;
+      }
+      public Builder setSuccess(boolean value) {
+        bitField0_ |= 0x00000001;
+        success_ = value;
+        onChanged();
+        return this;
+      }
+      public Builder clearSuccess() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        success_ = false;
+        onChanged();
+        return this;
+      }
+      
+      // optional .com.orbekk.same.ClientState client_state = 3;
+      private com.orbekk.same.Services.ClientState clientState_ = com.orbekk.same.Services.ClientState.getDefaultInstance();
+      private com.google.protobuf.SingleFieldBuilder<
+          com.orbekk.same.Services.ClientState, com.orbekk.same.Services.ClientState.Builder, com.orbekk.same.Services.ClientStateOrBuilder> clientStateBuilder_;
+      public boolean hasClientState() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      public com.orbekk.same.Services.ClientState getClientState() {
+        if (clientStateBuilder_ == null) {
+          return clientState_;
+        } else {
+          return clientStateBuilder_.getMessage();
+        }
+      }
+      public Builder setClientState(com.orbekk.same.Services.ClientState value) {
+        if (clientStateBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          clientState_ = value;
+          onChanged();
+        } else {
+          clientStateBuilder_.setMessage(value);
+        }
+        bitField0_ |= 0x00000002;
+        return this;
+      }
+      public Builder setClientState(
+          com.orbekk.same.Services.ClientState.Builder builderForValue) {
+        if (clientStateBuilder_ == null) {
+          clientState_ = builderForValue.build();
+          onChanged();
+        } else {
+          clientStateBuilder_.setMessage(builderForValue.build());
+        }
+        bitField0_ |= 0x00000002;
+        return this;
+      }
+      public Builder mergeClientState(com.orbekk.same.Services.ClientState value) {
+        if (clientStateBuilder_ == null) {
+          if (((bitField0_ & 0x00000002) == 0x00000002) &&
+              clientState_ != com.orbekk.same.Services.ClientState.getDefaultInstance()) {
+            clientState_ =
+              com.orbekk.same.Services.ClientState.newBuilder(clientState_).mergeFrom(value).buildPartial();
+          } else {
+            clientState_ = value;
+          }
+          onChanged();
+        } else {
+          clientStateBuilder_.mergeFrom(value);
+        }
+        bitField0_ |= 0x00000002;
+        return this;
+      }
+      public Builder clearClientState() {
+        if (clientStateBuilder_ == null) {
+          clientState_ = com.orbekk.same.Services.ClientState.getDefaultInstance();
+          onChanged();
+        } else {
+          clientStateBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000002);
+        return this;
+      }
+      public com.orbekk.same.Services.ClientState.Builder getClientStateBuilder() {
+        bitField0_ |= 0x00000002;
+        onChanged();
+        return getClientStateFieldBuilder().getBuilder();
+      }
+      public com.orbekk.same.Services.ClientStateOrBuilder getClientStateOrBuilder() {
+        if (clientStateBuilder_ != null) {
+          return clientStateBuilder_.getMessageOrBuilder();
+        } else {
+          return clientState_;
+        }
+      }
+      private com.google.protobuf.SingleFieldBuilder<
+          com.orbekk.same.Services.ClientState, com.orbekk.same.Services.ClientState.Builder, com.orbekk.same.Services.ClientStateOrBuilder> 
+          getClientStateFieldBuilder() {
+        if (clientStateBuilder_ == null) {
+          clientStateBuilder_ = new com.google.protobuf.SingleFieldBuilder<
+              com.orbekk.same.Services.ClientState, com.orbekk.same.Services.ClientState.Builder, com.orbekk.same.Services.ClientStateOrBuilder>(
+                  clientState_,
+                  getParentForChildren(),
+                  isClean());
+          clientState_ = null;
+        }
+        return clientStateBuilder_;
+      }
+      
+      // optional .com.orbekk.same.StateSummary summary = 4;
+      private com.orbekk.same.Services.StateSummary summary_ = com.orbekk.same.Services.StateSummary.getDefaultInstance();
+      private com.google.protobuf.SingleFieldBuilder<
+          com.orbekk.same.Services.StateSummary, com.orbekk.same.Services.StateSummary.Builder, com.orbekk.same.Services.StateSummaryOrBuilder> summaryBuilder_;
+      public boolean hasSummary() {
+        return ((bitField0_ & 0x00000004) == 0x00000004);
+      }
+      public com.orbekk.same.Services.StateSummary getSummary() {
+        if (summaryBuilder_ == null) {
+          return summary_;
+        } else {
+          return summaryBuilder_.getMessage();
+        }
+      }
+      public Builder setSummary(com.orbekk.same.Services.StateSummary value) {
+        if (summaryBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          summary_ = value;
+          onChanged();
+        } else {
+          summaryBuilder_.setMessage(value);
+        }
+        bitField0_ |= 0x00000004;
+        return this;
+      }
+      public Builder setSummary(
+          com.orbekk.same.Services.StateSummary.Builder builderForValue) {
+        if (summaryBuilder_ == null) {
+          summary_ = builderForValue.build();
+          onChanged();
+        } else {
+          summaryBuilder_.setMessage(builderForValue.build());
+        }
+        bitField0_ |= 0x00000004;
+        return this;
+      }
+      public Builder mergeSummary(com.orbekk.same.Services.StateSummary value) {
+        if (summaryBuilder_ == null) {
+          if (((bitField0_ & 0x00000004) == 0x00000004) &&
+              summary_ != com.orbekk.same.Services.StateSummary.getDefaultInstance()) {
+            summary_ =
+              com.orbekk.same.Services.StateSummary.newBuilder(summary_).mergeFrom(value).buildPartial();
+          } else {
+            summary_ = value;
+          }
+          onChanged();
+        } else {
+          summaryBuilder_.mergeFrom(value);
+        }
+        bitField0_ |= 0x00000004;
+        return this;
+      }
+      public Builder clearSummary() {
+        if (summaryBuilder_ == null) {
+          summary_ = com.orbekk.same.Services.StateSummary.getDefaultInstance();
+          onChanged();
+        } else {
+          summaryBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000004);
+        return this;
+      }
+      public com.orbekk.same.Services.StateSummary.Builder getSummaryBuilder() {
+        bitField0_ |= 0x00000004;
+        onChanged();
+        return getSummaryFieldBuilder().getBuilder();
+      }
+      public com.orbekk.same.Services.StateSummaryOrBuilder getSummaryOrBuilder() {
+        if (summaryBuilder_ != null) {
+          return summaryBuilder_.getMessageOrBuilder();
+        } else {
+          return summary_;
+        }
+      }
+      private com.google.protobuf.SingleFieldBuilder<
+          com.orbekk.same.Services.StateSummary, com.orbekk.same.Services.StateSummary.Builder, com.orbekk.same.Services.StateSummaryOrBuilder> 
+          getSummaryFieldBuilder() {
+        if (summaryBuilder_ == null) {
+          summaryBuilder_ = new com.google.protobuf.SingleFieldBuilder<
+              com.orbekk.same.Services.StateSummary, com.orbekk.same.Services.StateSummary.Builder, com.orbekk.same.Services.StateSummaryOrBuilder>(
+                  summary_,
+                  getParentForChildren(),
+                  isClean());
+          summary_ = null;
+        }
+        return summaryBuilder_;
+      }
+      
+      // @@protoc_insertion_point(builder_scope:com.orbekk.same.MasterTakeoverResponse)
+    }
+    
+    static {
+      defaultInstance = new MasterTakeoverResponse(true);
+      defaultInstance.initFields();
+    }
+    
+    // @@protoc_insertion_point(class_scope:com.orbekk.same.MasterTakeoverResponse)
+  }
+  
+  public interface StateSummaryOrBuilder
+      extends com.google.protobuf.MessageOrBuilder {
+    
+    // optional int32 num_buckets = 1;
+    boolean hasNumBuckets();
+    int getNumBuckets();
+    
+    // repeated int64 max_revision = 2 [packed = true];
+    java.util.List<java.lang.Long> getMaxRevisionList();
+    int getMaxRevisionCount();
+    long getMaxRevision(int index);
+    
+    // repeated int64 digest = 3 [packed = true];
+    java.util.List<java.lang.Long> getDigestList();
+    int getDigestCount();
+    long getDigest(int index);
+  }
+  public static final class StateSummary extends
+      com.google.protobuf.GeneratedMessage
+      implements StateSummaryOrBuilder {
+    // Use StateSummary.newBuilder() to construct.
+    private StateSummary(Builder builder) {
+      super(builder);
+    }
+    private StateSummary(boolean noInit) {}
+    
+    private static final StateSummary defaultInstance;
+    public static StateSummary getDefaultInstance() {
+      return defaultInstance;
+    }
+    
+    public StateSummary getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+    
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.orbekk.same.Services.internal_static_com_orbekk_same_StateSummary_descriptor;
+    }
+    
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.orbekk.same.Services.internal_static_com_orbekk_same_StateSummary_fieldAccessorTable;
+    }
+    
+    private int bitField0_;
+    // optional int32 num_buckets = 1;
+    public static final int NUM_BUCKETS_FIELD_NUMBER = 1;
+    private int numBuckets_;
+    public boolean hasNumBuckets() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    public int getNumBuckets() {
+      return numBuckets_;
+    }
+    
+    // repeated int64 max_revision = 2 [packed = true];
+    public static final int MAX_REVISION_FIELD_NUMBER = 2;
+    private java.util.List<java.lang.Long> maxRevision_;
+    public java.util.List<java.lang.Long>
+        getMaxRevisionList() {
+      return maxRevision_;
+    }
+    public int getMaxRevisionCount() {
+      return maxRevision_.size();
+    }
+    public long getMaxRevision(int index) {
+      return maxRevision_.get(index);
+    }
+    private int maxRevisionMemoizedSerializedSize = -1;
+    
+    // repeated int64 digest = 3 [packed = true];
+    public static final int DIGEST_FIELD_NUMBER = 3;
+    private java.util.List<java.lang.Long> digest_;
+    public java.util.List<java.lang.Long>
+        getDigestList() {
+      return digest_;
+    }
+    public int getDigestCount() {
+      return digest_.size();
+    }
+    public long getDigest(int index) {
+      return digest_.get(index);
+    }
+    private int digestMemoizedSerializedSize = -1;
+    
+    private void initFields() {
+      numBuckets_ = 0;
+      maxRevision_ = java.util.Collections.emptyList();;
+      digest_ = java.util.Collections.emptyList();;
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized != -1) return isInitialized == 1;
+      
+      memoizedIsInitialized = 1;
+      return true;
+    }
+    
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeInt32(1, numBuckets_);
+      }
+      if (getMaxRevisionList().size() > 0) {
+        output.writeRawVarint32(18);
+        output.writeRawVarint32(maxRevisionMemoizedSerializedSize);
+      }
+      for (int i = 0; i < maxRevision_.size(); i++) {
+        output.writeInt64NoTag(maxRevision_.get(i));
+      }
+      if (getDigestList().size() > 0) {
+        output.writeRawVarint32(26);
+        output.writeRawVarint32(digestMemoizedSerializedSize);
+      }
+      for (int i = 0; i < digest_.size(); i++) {
+        output.writeInt64NoTag(digest_.get(i));
+      }
+      getUnknownFields().writeTo(output);
+    }
+    
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+    
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(1, numBuckets_);
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < maxRevision_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeInt64SizeNoTag(maxRevision_.get(i));
+        }
+        size += dataSize;
+        if (!getMaxRevisionList().isEmpty()) {
+          size += 1;
+          size += com.google.protobuf.CodedOutputStream
+              .computeInt32SizeNoTag(dataSize);
+        }
+        maxRevisionMemoizedSerializedSize = dataSize;
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < digest_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeInt64SizeNoTag(digest_.get(i));
+        }
+        size += dataSize;
+        if (!getDigestList().isEmpty()) {
+          size += 1;
+          size += com.google.protobuf.CodedOutputStream
+              .computeInt32SizeNoTag(dataSize);
+        }
+        digestMemoizedSerializedSize = dataSize;
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+    
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+    
+    public static com.orbekk.same.Services.StateSummary parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data).buildParsed();
+    }
+    public static com.orbekk.same.Services.StateSummary parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.StateSummary parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data).buildParsed();
+    }
+    public static com.orbekk.same.Services.StateSummary parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.StateSummary parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input).buildParsed();
+    }
+    public static com.orbekk.same.Services.StateSummary parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.StateSummary parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      Builder builder = newBuilder();
+      if (builder.mergeDelimitedFrom(input)) {
+        return builder.buildParsed();
+      } else {
+        return null;
+      }
+    }
+    public static com.orbekk.same.Services.StateSummary parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      Builder builder = newBuilder();
+      if (builder.mergeDelimitedFrom(input, extensionRegistry)) {
+        return builder.buildParsed();
+      } else {
+        return null;
+      }
+    }
+    public static com.orbekk.same.Services.StateSummary parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input).buildParsed();
+    }
+    public static com.orbekk.same.Services.StateSummary parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input, extensionRegistry)
+               .buildParsed();
+    }
+    
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(com.orbekk.same.Services.StateSummary prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+    
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder>
+       implements com.orbekk.same.Services.StateSummaryOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.orbekk.same.Services.internal_static_com_orbekk_same_StateSummary_descriptor;
+      }
+      
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.orbekk.same.Services.internal_static_com_orbekk_same_StateSummary_fieldAccessorTable;
+      }
+      
+      // Construct using com.orbekk.same.Services.StateSummary.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+      
+      private Builder(BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+      
+      public Builder clear() {
+        super.clear();
+        numBuckets_ = 0;
+        bitField0_ = (bitField0_ & ~0x00000001);
+        maxRevision_ = java.util.Collections.emptyList();;
+        bitField0_ = (bitField0_ & ~0x00000002);
+        digest_ = java.util.Collections.emptyList();;
+        bitField0_ = (bitField0_ & ~0x00000004);
+        return this;
+      }
+      
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+      
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.orbekk.same.Services.StateSummary.getDescriptor();
+      }
+      
+      public com.orbekk.same.Services.StateSummary getDefaultInstanceForType() {
+        return com.orbekk.same.Services.StateSummary.getDefaultInstance();
+      }
+      
+      public com.orbekk.same.Services.StateSummary build() {
+        com.orbekk.same.Services.StateSummary result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+      
+      private com.orbekk.same.Services.StateSummary buildParsed()
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        com.orbekk.same.Services.StateSummary result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(
+            result).asInvalidProtocolBufferException();
+        }
+        return result;
+      }
+      
+      public com.orbekk.same.Services.StateSummary buildPartial() {
+        com.orbekk.same.Services.StateSummary result = new com.orbekk.same.Services.StateSummary(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.numBuckets_ = numBuckets_;
+        if (((bitField0_ & 0x00000002) == 0x00000002)) {
+          maxRevision_ = java.util.Collections.unmodifiableList(maxRevision_);
+          bitField0_ = (bitField0_ & ~0x00000002);
+        }
+        result.maxRevision_ = maxRevision_;
+        if (((bitField0_ & 0x00000004) == 0x00000004)) {
+          digest_ = java.util.Collections.unmodifiableList(digest_);
+          bitField0_ = (bitField0_ & ~0x00000004);
+        }
+        result.digest_ = digest_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+      
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.orbekk.same.Services.StateSummary) {
+          return mergeFrom((com.orbekk.same.Services.StateSummary)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+      
+      public Builder mergeFrom(com.orbekk.same.Services.StateSummary other) {
+        if (other == com.orbekk.same.Services.StateSummary.getDefaultInstance()) return this;
+        if (other.hasNumBuckets()) {
+          setNumBuckets(other.getNumBuckets());
+        }
+        if (!other.maxRevision_.isEmpty()) {
+          if (maxRevision_.isEmpty()) {
+            maxRevision_ = other.maxRevision_;
+            bitField0_ = (bitField0_ & ~0x00000002);
+          } else {
+            ensureMaxRevisionIsMutable();
+            maxRevision_.addAll(other.maxRevision_);
+          }
+          onChanged();
+        }
+        if (!other.digest_.isEmpty()) {
+          if (digest_.isEmpty()) {
+            digest_ = other.digest_;
+            bitField0_ = (bitField0_ & ~0x00000004);
+          } else {
+            ensureDigestIsMutable();
+            digest_.addAll(other.digest_);
+          }
+          onChanged();
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+      
+      public final boolean isInitialized() {
+        return true;
+      }
+      
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder(
+            this.getUnknownFields());
+        while (true) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              this.setUnknownFields(unknownFields.build());
+              onChanged();
+              return this;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                this.setUnknownFields(unknownFields.build());
+                onChanged();
+                return this;
+              }
+              break;
+            }
+            case 8: {
+              bitField0_ |= 0x00000001;
+              numBuckets_ = input.readInt32();
+              break;
+            }
+            case 16: {
+              ensureMaxRevisionIsMutable();
+              maxRevision_.add(input.readInt64());
+              break;
+            }
+            case 18: {
+              int length = input.readRawVarint32();
+              int limit = input.pushLimit(length);
+              while (input.getBytesUntilLimit() > 0) {
+                addMaxRevision(input.readInt64());
+              }
+              input.popLimit(limit);
+              break;
+            }
+            case 24: {
+              ensureDigestIsMutable();
+              digest_.add(input.readInt64());
+              break;
+            }
+            case 26: {
+              int length = input.readRawVarint32();
+              int limit = input.pushLimit(length);
+              while (input.getBytesUntilLimit() > 0) {
+                addDigest(input.readInt64());
+              }
+              input.popLimit(limit);
+              break;
+            }
+          }
+        }
+      }
+      
+      private int bitField0_;
+      
+      // optional int32 num_buckets = 1;
+      private int numBuckets_ ;
+      public boolean hasNumBuckets() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      public int getNumBuckets() {
+        return numBuckets_;
+      }
+      public Builder setNumBuckets(int value) {
+        bitField0_ |= 0x00000001;
+        numBuckets_ = value;
+        onChanged();
+        return this;
+      }
+      public Builder clearNumBuckets() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        numBuckets_ = 0;
+        onChanged();
+        return this;
+      }
+      
+      // repeated int64 max_revision = 2 [packed = true];
+      private java.util.List<java.lang.Long> maxRevision_ = java.util.Collections.emptyList();;
+      private void ensureMaxRevisionIsMutable() {
+        if (!((bitField0_ & 0x00000002) == 0x00000002)) {
+          maxRevision_ = new java.util.ArrayList<java.lang.Long>(maxRevision_);
+          bitField0_ |= 0x00000002;
+         }
+      }
+      public java.util.List<java.lang.Long>
+          getMaxRevisionList() {
+        return java.util.Collections.unmodifiableList(maxRevision_);
+      }
+      public int getMaxRevisionCount() {
+        return maxRevision_.size();
+      }
+      public long getMaxRevision(int index) {
+        return maxRevision_.get(index);
+      }
+      public Builder setMaxRevision(
+          int index, long value) {
+        ensureMaxRevisionIsMutable();
+        maxRevision_.set(index, value);
+        onChanged();
+        return this;
+      }
+      public Builder addMaxRevision(long value) {
+        ensureMaxRevisionIsMutable();
+        maxRevision_.add(value);
+        onChanged();
+        return this;
+      }
+      public Builder addAllMaxRevision(
+          java.lang.Iterable<? extends java.lang.Long> values) {
+        ensureMaxRevisionIsMutable();
+        super.addAll(values, maxRevision_);
+        onChanged();
+        return this;
+      }
+      public Builder clearMaxRevision() {
+        maxRevision_ = java.util.Collections.emptyList();;
+        bitField0_ = (bitField0_ & ~0x00000002);
+        onChanged();
+        return this;
+      }
+      
+      // repeated int64 digest = 3 [packed = true];
+      private java.util.List<java.lang.Long> digest_ = java.util.Collections.emptyList();;
+      private void ensureDigestIsMutable() {
+        if (!((bitField0_ & 0x00000004) == 0x00000004)) {
+          digest_ = new java.util.ArrayList<java.lang.Long>(digest_);
+          bitField0_ |= 0x00000004;
+         }
+      }
+      public java.util.List<java.lang.Long>
+          getDigestList() {
+        return java.util.Collections.unmodifiableList(digest_);
+      }
+      public int getDigestCount() {
+        return digest_.size();
+      }
+      public long getDigest(int index) {
+        return digest_.get(index);
+      }
+      public Builder setDigest(
+          int index, long value) {
+        ensureDigestIsMutable();
+        digest_.set(index, value);
+        onChanged();
+        return this;
+      }
+      public Builder addDigest(long value) {
+        ensureDigestIsMutable();
+        digest_.add(value);
+        onChanged();
+        return this;
+      }
+      public Builder addAllDigest(
+          java.lang.Iterable<? extends java.lang.Long> values) {
+        ensureDigestIsMutable();
+        super.addAll(values, digest_);
+        onChanged();
+        return this;
+      }
+      public Builder clearDigest() {
+        digest_ = java.util.Collections.emptyList();;
+        bitField0_ = (bitField0_ & ~0x00000004);
+        onChanged();
+        return this;
+      }
+      
+      // @@protoc_insertion_point(builder_scope:com.orbekk.same.StateSummary)
+    }
+    
+    static {
+      defaultInstance = new StateSummary(true);
+      defaultInstance.initFields();
+    }
+    
+    // @@protoc_insertion_point(class_scope:com.orbekk.same.StateSummary)
+  }
+  
+  public interface BucketRequestOrBuilder
+      extends com.google.protobuf.MessageOrBuilder {
+    
+    // optional int32 num_buckets = 1;
+    boolean hasNumBuckets();
+    int getNumBuckets();
+    
+    // repeated int32 bucket = 2;
+    java.util.List<java.lang.Integer> getBucketList();
+    int getBucketCount();
+    int getBucket(int index);
+  }
+  public static final class BucketRequest extends
+      com.google.protobuf.GeneratedMessage
+      implements BucketRequestOrBuilder {
+    // Use BucketRequest.newBuilder() to construct.
+    private BucketRequest(Builder builder) {
+      super(builder);
+    }
+    private BucketRequest(boolean noInit) {}
+    
+    private static final BucketRequest defaultInstance;
+    public static BucketRequest getDefaultInstance() {
+      return defaultInstance;
+    }
+    
+    public BucketRequest getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+    
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.orbekk.same.Services.internal_static_com_orbekk_same_BucketRequest_descriptor;
+    }
+    
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.orbekk.same.Services.internal_static_com_orbekk_same_BucketRequest_fieldAccessorTable;
+    }
+    
+    private int bitField0_;
+    // optional int32 num_buckets = 1;
+    public static final int NUM_BUCKETS_FIELD_NUMBER = 1;
+    private int numBuckets_;
+    public boolean hasNumBuckets() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    public int getNumBuckets() {
+      return numBuckets_;
+    }
+    
+    // repeated int32 bucket = 2;
+    public static final int BUCKET_FIELD_NUMBER = 2;
+    private java.util.List<java.lang.Integer> bucket_;
+    public java.util.List<java.lang.Integer>
+        getBucketList() {
+      return bucket_;
+    }
+    public int getBucketCount() {
+      return bucket_.size();
+    }
+    public int getBucket(int index) {
+      return bucket_.get(index);
+    }
+    
+    private void initFields() {
+      numBuckets_ = 0;
+      bucket_ = java.util.Collections.emptyList();;
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized != -1) return isInitialized == 1;
+      
+      memoizedIsInitialized = 1;
+      return true;
+    }
+    
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeInt32(1, numBuckets_);
+      }
+      for (int i = 0; i < bucket_.size(); i++) {
+        output.writeInt32(2, bucket_.get(i));
+      }
+      getUnknownFields().writeTo(output);
+    }
+    
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+    
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(1, numBuckets_);
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < bucket_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeInt32SizeNoTag(bucket_.get(i));
+        }
+        size += dataSize;
+        size += 1 * getBucketList().size();
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+    
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+    
+    public static com.orbekk.same.Services.BucketRequest parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data).buildParsed();
+    }
+    public static com.orbekk.same.Services.BucketRequest parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.BucketRequest parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data).buildParsed();
+    }
+    public static com.orbekk.same.Services.BucketRequest parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.BucketRequest parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input).buildParsed();
+    }
+    public static com.orbekk.same.Services.BucketRequest parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.BucketRequest parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      Builder builder = newBuilder();
+      if (builder.mergeDelimitedFrom(input)) {
+        return builder.buildParsed();
+      } else {
+        return null;
+      }
+    }
+    public static com.orbekk.same.Services.BucketRequest parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      Builder builder = newBuilder();
+      if (builder.mergeDelimitedFrom(input, extensionRegistry)) {
+        return builder.buildParsed();
+      } else {
+        return null;
+      }
+    }
+    public static com.orbekk.same.Services.BucketRequest parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input).buildParsed();
+    }
+    public static com.orbekk.same.Services.BucketRequest parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input, extensionRegistry)
+               .buildParsed();
+    }
+    
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(com.orbekk.same.Services.BucketRequest prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+    
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder>
+       implements com.orbekk.same.Services.BucketRequestOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.orbekk.same.Services.internal_static_com_orbekk_same_BucketRequest_descriptor;
+      }
+      
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.orbekk.same.Services.internal_static_com_orbekk_same_BucketRequest_fieldAccessorTable;
+      }
+      
+      // Construct using com.orbekk.same.Services.BucketRequest.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+      
+      private Builder(BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+      
+      public Builder clear() {
+        super.clear();
+        numBuckets_ = 0;
+        bitField0_ = (bitField0_ & ~0x00000001);
+        bucket_ = java.util.Collections.emptyList();;
+        bitField0_ = (bitField0_ & ~0x00000002);
+        return this;
+      }
+      
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+      
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.orbekk.same.Services.BucketRequest.getDescriptor();
+      }
+      
+      public com.orbekk.same.Services.BucketRequest getDefaultInstanceForType() {
+        return com.orbekk.same.Services.BucketRequest.getDefaultInstance();
+      }
+      
+      public com.orbekk.same.Services.BucketRequest build() {
+        com.orbekk.same.Services.BucketRequest result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+      
+      private com.orbekk.same.Services.BucketRequest buildParsed()
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        com.orbekk.same.Services.BucketRequest result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(
+            result).asInvalidProtocolBufferException();
+        }
+        return result;
+      }
+      
+      public com.orbekk.same.Services.BucketRequest buildPartial() {
+        com.orbekk.same.Services.BucketRequest result = new com.orbekk.same.Services.BucketRequest(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.numBuckets_ = numBuckets_;
+        if (((bitField0_ & 0x00000002) == 0x00000002)) {
+          bucket_ = java.util.Collections.unmodifiableList(bucket_);
+          bitField0_ = (bitField0_ & ~0x00000002);
+        }
+        result.bucket_ = bucket_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+      
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.orbekk.same.Services.BucketRequest) {
+          return mergeFrom((com.orbekk.same.Services.BucketRequest)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+      
+      public Builder mergeFrom(com.orbekk.same.Services.BucketRequest other) {
+        if (other == com.orbekk.same.Services.BucketRequest.getDefaultInstance()) return this;
+        if (other.hasNumBuckets()) {
+          setNumBuckets(other.getNumBuckets());
+        }
+        if (!other.bucket_.isEmpty()) {
+          if (bucket_.isEmpty()) {
+            bucket_ = other.bucket_;
+            bitField0_ = (bitField0_ & ~0x00000002);
+          } else {
+            ensureBucketIsMutable();
+            bucket_.addAll(other.bucket_);
+          }
+          onChanged();
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+      
+      public final boolean isInitialized() {
+        return true;
+      }
+      
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder(
+            this.getUnknownFields());
+        while (true) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              this.setUnknownFields(unknownFields.build());
+              onChanged();
+              return this;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                this.setUnknownFields(unknownFields.build());
+                onChanged();
+                return this;
+              }
+              break;
+            }
+            case 8: {
+              bitField0_ |= 0x00000001;
+              numBuckets_ = input.readInt32();
+              break;
+            }
+            case 16: {
+              ensureBucketIsMutable();
+              bucket_.add(input.readInt32());
+              break;
+            }
+            case 18: {
+              int length = input.readRawVarint32();
+              int limit = input.pushLimit(length);
+              while (input.getBytesUntilLimit() > 0) {
+                addBucket(input.readInt32());
+              }
+              input.popLimit(limit);
+              break;
+            }
+          }
+        }
+      }
+      
+      private int bitField0_;
+      
+      // optional int32 num_buckets = 1;
+      private int numBuckets_ ;
+      public boolean hasNumBuckets() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      public int getNumBuckets() {
+        return numBuckets_;
+      }
+      public Builder setNumBuckets(int value) {
+        bitField0_ |= 0x00000001;
+        numBuckets_ = value;
+        onChanged();
+        return this;
+      }
+      public Builder clearNumBuckets() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        numBuckets_ = 0;
+        onChanged();
+        return this;
+      }
+      
+      // repeated int32 bucket = 2;
+      private java.util.List<java.lang.Integer> bucket_ = java.util.Collections.emptyList();;
+      private void ensureBucketIsMutable() {
+        if (!((bitField0_ & 0x00000002) == 0x00000002)) {
+          bucket_ = new java.util.ArrayList<java.lang.Integer>(bucket_);
+          bitField0_ |= 0x00000002;
+         }
+      }
+      public java.util.List<java.lang.Integer>
+          getBucketList() {
+        return java.util.Collections.unmodifiableList(bucket_);
+      }
+      public int getBucketCount() {
+        return bucket_.size();
+      }
+      public int getBucket(int index) {
+        return bucket_.get(index);
+      }
+      public Builder setBucket(
+          int index, int value) {
+        ensureBucketIsMutable();
+        bucket_.set(index, value);
+        onChanged();
+        return this;
+      }
+      public Builder addBucket(int value) {
+        ensureBucketIsMutable();
+        bucket_.add(value);
+        onChanged();
+        return this;
+      }
+      public Builder addAllBucket(
+          java.lang.Iterable<? extends java.lang.Integer> values) {
+        ensureBucketIsMutable();
+        super.addAll(values, bucket_);
+        onChanged();
+        return this;
+      }
+      public Builder clearBucket() {
+        bucket_ = java.util.Collections.emptyList();;
+        bitField0_ = (bitField0_ & ~0x00000002);
+        onChanged();
+        return this;
+      }
+      
+      // @@protoc_insertion_point(builder_scope:com.orbekk.same.BucketRequest)
+    }
+    
+    static {
+      defaultInstance = new BucketRequest(true);
+      defaultInstance.initFields();
+    }
+    
+    // @@protoc_insertion_point(class_scope:com.orbekk.same.BucketRequest)
+  }
+  
+  public interface FullStateResponseOrBuilder
+      extends com.google.protobuf.MessageOrBuilder {
+    
+    // optional int64 revision = 1;
+    boolean hasRevision();
+    long getRevision();
+    
+    // repeated .com.orbekk.same.Component component = 2;
+    java.util.List<com.orbekk.same.Services.Component> 
+        getComponentList();
+    com.orbekk.same.Services.Component getComponent(int index);
+    int getComponentCount();
+    java.util.List<? extends com.orbekk.same.Services.ComponentOrBuilder> 
+        getComponentOrBuilderList();
+    com.orbekk.same.Services.ComponentOrBuilder getComponentOrBuilder(
+        int index);
+  }
+  public static final class FullStateResponse extends
+      com.google.protobuf.GeneratedMessage
+      implements FullStateResponseOrBuilder {
+    // Use FullStateResponse.newBuilder() to construct.
+    private FullStateResponse(Builder builder) {
+      super(builder);
+    }
+    private FullStateResponse(boolean noInit) {}
+    
+    private static final FullStateResponse defaultInstance;
+    public static FullStateResponse getDefaultInstance() {
+      return defaultInstance;
+    }
+    
+    public FullStateResponse getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+    
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.orbekk.same.Services.internal_static_com_orbekk_same_FullStateResponse_descriptor;
+    }
+    
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.orbekk.same.Services.internal_static_com_orbekk_same_FullStateResponse_fieldAccessorTable;
+    }
+    
+    private int bitField0_;
+    // optional int64 revision = 1;
+    public static final int REVISION_FIELD_NUMBER = 1;
+    private long revision_;
+    public boolean hasRevision() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    public long getRevision() {
+      return revision_;
+    }
+    
+    // repeated .com.orbekk.same.Component component = 2;
+    public static final int COMPONENT_FIELD_NUMBER = 2;
+    private java.util.List<com.orbekk.same.Services.Component> component_;
+    public java.util.List<com.orbekk.same.Services.Component> getComponentList() {
+      return component_;
+    }
+    public java.util.List<? extends com.orbekk.same.Services.ComponentOrBuilder> 
+        getComponentOrBuilderList() {
+      return component_;
+    }
+    public int getComponentCount() {
+      return component_.size();
+    }
+    public com.orbekk.same.Services.Component getComponent(int index) {
+      return component_.get(index);
+    }
+    public com.orbekk.same.Services.ComponentOrBuilder getComponentOrBuilder(
+        int index) {
+      return component_.get(index);
+    }
+    
+    private void initFields() {
+      revision_ = 0L;
+      component_ = java.util.Collections.emptyList();
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized != -1) return isInitialized == 1;
+      
+      for (int i = 0; i < getComponentCount(); i++) {
+        if (!getComponent(i).isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
+      memoizedIsInitialized = 1;
+      return true;
+    }
+    
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeInt64(1, revision_);
+      }
+      for (int i = 0; i < component_.size(); i++) {
+        output.writeMessage(2, component_.get(i));
+      }
+      getUnknownFields().writeTo(output);
+    }
+    
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+    
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(1, revision_);
+      }
+      for (int i = 0; i < component_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(2, component_.get(i));
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+    
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+    
+    public static com.orbekk.same.Services.FullStateResponse parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data).buildParsed();
+    }
+    public static com.orbekk.same.Services.FullStateResponse parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.FullStateResponse parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data).buildParsed();
+    }
+    public static com.orbekk.same.Services.FullStateResponse parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.FullStateResponse parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input).buildParsed();
+    }
+    public static com.orbekk.same.Services.FullStateResponse parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.FullStateResponse parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      Builder builder = newBuilder();
+      if (builder.mergeDelimitedFrom(input)) {
+        return builder.buildParsed();
+      } else {
+        return null;
+      }
+    }
+    public static com.orbekk.same.Services.FullStateResponse parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      Builder builder = newBuilder();
+      if (builder.mergeDelimitedFrom(input, extensionRegistry)) {
+        return builder.buildParsed();
+      } else {
+        return null;
+      }
+    }
+    public static com.orbekk.same.Services.FullStateResponse parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input).buildParsed();
+    }
+    public static com.orbekk.same.Services.FullStateResponse parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input, extensionRegistry)
+               .buildParsed();
+    }
+    
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(com.orbekk.same.Services.FullStateResponse prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+    
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder>
+       implements com.orbekk.same.Services.FullStateResponseOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.orbekk.same.Services.internal_static_com_orbekk_same_FullStateResponse_descriptor;
+      }
+      
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.orbekk.same.Services.internal_static_com_orbekk_same_FullStateResponse_fieldAccessorTable;
+      }
+      
+      // Construct using com.orbekk.same.Services.FullStateResponse.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+      
+      private Builder(BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+          getComponentFieldBuilder();
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+      
+      public Builder clear() {
+        super.clear();
+        revision_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000001);
+        if (componentBuilder_ == null) {
+          component_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000002);
+        } else {
+          componentBuilder_.clear();
+        }
+        return this;
+      }
+      
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+      
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.orbekk.same.Services.FullStateResponse.getDescriptor();
+      }
+      
+      public com.orbekk.same.Services.FullStateResponse getDefaultInstanceForType() {
+        return com.orbekk.same.Services.FullStateResponse.getDefaultInstance();
+      }
+      
+      public com.orbekk.same.Services.FullStateResponse build() {
+        com.orbekk.same.Services.FullStateResponse result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+      
+      private com.orbekk.same.Services.FullStateResponse buildParsed()
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        com.orbekk.same.Services.FullStateResponse result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(
+            result).asInvalidProtocolBufferException();
+        }
+        return result;
+      }
+      
+      public com.orbekk.same.Services.FullStateResponse buildPartial() {
+        com.orbekk.same.Services.FullStateResponse result = new com.orbekk.same.Services.FullStateResponse(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.revision_ = revision_;
+        if (componentBuilder_ == null) {
+          if (((bitField0_ & 0x00000002) == 0x00000002)) {
+            component_ = java.util.Collections.unmodifiableList(component_);
+            bitField0_ = (bitField0_ & ~0x00000002);
+          }
+          result.component_ = component_;
+        } else {
+          result.component_ = componentBuilder_.build();
+        }
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+      
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.orbekk.same.Services.FullStateResponse) {
+          return mergeFrom((com.orbekk.same.Services.FullStateResponse)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+      
+      public Builder mergeFrom(com.orbekk.same.Services.FullStateResponse other) {
+        if (other == com.orbekk.same.Services.FullStateResponse.getDefaultInstance()) return this;
+        if (other.hasRevision()) {
+          setRevision(other.getRevision());
+        }
+        if (componentBuilder_ == null) {
+          if (!other.component_.isEmpty()) {
+            if (component_.isEmpty()) {
+              component_ = other.component_;
+              bitField0_ = (bitField0_ & ~0x00000002);
+            } else {
+              ensureComponentIsMutable();
+              component_.addAll(other.component_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.component_.isEmpty()) {
+            if (componentBuilder_.isEmpty()) {
+              componentBuilder_.dispose();
+              componentBuilder_ = null;
+              component_ = other.component_;
+              bitField0_ = (bitField0_ & ~0x00000002);
+              componentBuilder_ = 
+                com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders ?
+                   getComponentFieldBuilder() : null;
+            } else {
+              componentBuilder_.addAllMessages(other.component_);
+            }
+          }
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+      
+      public final boolean isInitialized() {
+        for (int i = 0; i < getComponentCount(); i++) {
+          if (!getComponent(i).isInitialized()) {
+            
+            return false;
+          }
+        }
+        return true;
+      }
+      
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder(
+            this.getUnknownFields());
+        while (true) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              this.setUnknownFields(unknownFields.build());
+              onChanged();
+              return this;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                this.setUnknownFields(unknownFields.build());
+                onChanged();
+                return this;
+              }
+              break;
+            }
+            case 8: {
+              bitField0_ |= 0x00000001;
+              revision_ = input.readInt64();
+              break;
+            }
+            case 18: {
+              com.orbekk.same.Services.Component.Builder subBuilder = com.orbekk.same.Services.Component.newBuilder();
+              input.readMessage(subBuilder, extensionRegistry);
+              addComponent(subBuilder.buildPartial());
+              break;
+            }
+          }
+        }
+      }
+      
+      private int bitField0_;
+      
+      // optional int64 revision = 1;
+      private long revision_ ;
+      public boolean hasRevision() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      public long getRevision() {
+        return revision_;
+      }
+      public Builder setRevision(long value) {
+        bitField0_ |= 0x00000001;
+        revision_ = value;
+        onChanged();
+        return this;
+      }
+      public Builder clearRevision() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        revision_ = 0L;
+        onChanged();
+        return this;
+      }
+      
+      // repeated .com.orbekk.same.Component component = 2;
+      private java.util.List<com.orbekk.same.Services.Component> component_ =
+        java.util.Collections.emptyList();
+      private void ensureComponentIsMutable() {
+        if (!((bitField0_ & 0x00000002) == 0x00000002)) {
+          component_ = new java.util.ArrayList<com.orbekk.same.Services.Component>(component_);
+          bitField0_ |= 0x00000002;
+         }
+      }
+      
+      private com.google.protobuf.RepeatedFieldBuilder<
+          com.orbekk.same.Services.Component, com.orbekk.same.Services.Component.Builder, com.orbekk.same.Services.ComponentOrBuilder> componentBuilder_;
+      
+      public java.util.List<com.orbekk.same.Services.Component> getComponentList() {
+        if (componentBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(component_);
+        } else {
+          return componentBuilder_.getMessageList();
+        }
+      }
+      public int getComponentCount() {
+        if (componentBuilder_ == null) {
+          return component_.size();
+        } else {
+          return componentBuilder_.getCount();
+        }
+      }
+      public com.orbekk.same.Services.Component getComponent(int index) {
+        if (componentBuilder_ == null) {
+          return component_.get(index);
+        } else {
+          return componentBuilder_.getMessage(index);
+        }
+      }
+      public Builder setComponent(
+          int index, com.orbekk.same.Services.Component value) {
+        if (componentBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureComponentIsMutable();
+          component_.set(index, value);
+          onChanged();
+        } else {
+          componentBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      public Builder setComponent(
+          int index, com.orbekk.same.Services.Component.Builder builderForValue) {
+        if (componentBuilder_ == null) {
+          ensureComponentIsMutable();
+          component_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          componentBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      public Builder addComponent(com.orbekk.same.Services.Component value) {
+        if (componentBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureComponentIsMutable();
+          component_.add(value);
+          onChanged();
+        } else {
+          componentBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      public Builder addComponent(
+          int index, com.orbekk.same.Services.Component value) {
+        if (componentBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureComponentIsMutable();
+          component_.add(index, value);
+          onChanged();
+        } else {
+          componentBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      public Builder addComponent(
+          com.orbekk.same.Services.Component.Builder builderForValue) {
+        if (componentBuilder_ == null) {
+          ensureComponentIsMutable();
+          component_.add(builderForValue.build());
+          onChanged();
+        } else {
+          componentBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      public Builder addComponent(
+          int index, com.orbekk.same.Services.Component.Builder builderForValue) {
+        if (componentBuilder_ == null) {
+          ensureComponentIsMutable();
+          component_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          componentBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      public Builder addAllComponent(
+          java.lang.Iterable<? extends com.orbekk.same.Services.Component> values) {
+        if (componentBuilder_ == null) {
+          ensureComponentIsMutable();
+          super.addAll(values, component_);
+          onChanged();
+        } else {
+          componentBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      public Builder clearComponent() {
+        if (componentBuilder_ == null) {
+          component_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000002);
+          onChanged();
+        } else {
+          componentBuilder_.clear();
+        }
+        return this;
+      }
+      public Builder removeComponent(int index) {
+        if (componentBuilder_ == null) {
+          ensureComponentIsMutable();
+          component_.remove(index);
+          onChanged();
+        } else {
+          componentBuilder_.remove(index);
+        }
+        return this;
+      }
+      public com.orbekk.same.Services.Component.Builder getComponentBuilder(
+          int index) {
+        return getComponentFieldBuilder().getBuilder(index);
+      }
+      public com.orbekk.same.Services.ComponentOrBuilder getComponentOrBuilder(
+          int index) {
+        if (componentBuilder_ == null) {
+          return component_.get(index);  } else {
+          return componentBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      public java.util.List<? extends com.orbekk.same.Services.ComponentOrBuilder> 
+           getComponentOrBuilderList() {
+        if (componentBuilder_ != null) {
+          return componentBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(component_);
+        }
+      }
+      public com.orbekk.same.Services.Component.Builder addComponentBuilder() {
+        return getComponentFieldBuilder().addBuilder(
+            com.orbekk.same.Services.Component.getDefaultInstance());
+      }
+      public com.orbekk.same.Services.Component.Builder addComponentBuilder(
+          int index) {
+        return getComponentFieldBuilder().addBuilder(
+            index, com.orbekk.same.Services.Component.getDefaultInstance());
+      }
+      public java.util.List<com.orbekk.same.Services.Component.Builder> 
+           getComponentBuilderList() {
+        return getComponentFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilder<
+          com.orbekk.same.Services.Component, com.orbekk.same.Services.Component.Builder, com.orbekk.same.Services.ComponentOrBuilder> 
+          getComponentFieldBuilder() {
+        if (componentBuilder_ == null) {
+          componentBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
+              com.orbekk.same.Services.Component, com.orbekk.same.Services.Component.Builder, com.orbekk.same.Services.ComponentOrBuilder>(
+                  component_,
+                  ((bitField0_ & 0x00000002) == 0x00000002),
+                  getParentForChildren(),
+                  isClean());
+          component_ = null;
+        }
+        return componentBuilder_;
+      }
+      
+      // @@protoc_insertion_point(builder_scope:com.orbekk.same.FullStateResponse)
+    }
+    
+    static {
+      defaultInstance = new FullStateResponse(true);
+      defaultInstance.initFields();
+    }
+    
+    // @@protoc_insertion_point(class_scope:com.orbekk.same.FullStateResponse)
+  }
+  
+  public interface ChangesRequestOrBuilder
+      extends com.google.protobuf.MessageOrBuilder {
+    
+    // optional int64 revision = 1;
+    boolean hasRevision();
+    long getRevision();
+  }
+  public static final class ChangesRequest extends
+      com.google.protobuf.GeneratedMessage
+      implements ChangesRequestOrBuilder {
+    // Use ChangesRequest.newBuilder() to construct.
+    private ChangesRequest(Builder builder) {
+      super(builder);
+    }
+    private ChangesRequest(boolean noInit) {}
+    
+    private static final ChangesRequest defaultInstance;
+    public static ChangesRequest getDefaultInstance() {
+      return defaultInstance;
+    }
+    
+    public ChangesRequest getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+    
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.orbekk.same.Services.internal_static_com_orbekk_same_ChangesRequest_descriptor;
+    }
+    
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.orbekk.same.Services.internal_static_com_orbekk_same_ChangesRequest_fieldAccessorTable;
+    }
+    
+    private int bitField0_;
+    // optional int64 revision = 1;
+    public static final int REVISION_FIELD_NUMBER = 1;
+    private long revision_;
+    public boolean hasRevision() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    public long getRevision() {
+      return revision_;
+    }
+    
+    private void initFields() {
+      revision_ = 0L;
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized != -1) return isInitialized == 1;
+      
+      memoizedIsInitialized = 1;
+      return true;
+    }
+    
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeInt64(1, revision_);
+      }
+      getUnknownFields().writeTo(output);
+    }
+    
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+    
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(1, revision_);
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+    
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+    
+    public static com.orbekk.same.Services.ChangesRequest parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data).buildParsed();
+    }
+    public static com.orbekk.same.Services.ChangesRequest parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.ChangesRequest parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data).buildParsed();
+    }
+    public static com.orbekk.same.Services.ChangesRequest parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.ChangesRequest parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input).buildParsed();
+    }
+    public static com.orbekk.same.Services.ChangesRequest parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.ChangesRequest parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      Builder builder = newBuilder();
+      if (builder.mergeDelimitedFrom(input)) {
+        return builder.buildParsed();
+      } else {
+        return null;
+      }
+    }
+    public static com.orbekk.same.Services.ChangesRequest parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      Builder builder = newBuilder();
+      if (builder.mergeDelimitedFrom(input, extensionRegistry)) {
+        return builder.buildParsed();
+      } else {
+        return null;
+      }
+    }
+    public static com.orbekk.same.Services.ChangesRequest parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input).buildParsed();
+    }
+    public static com.orbekk.same.Services.ChangesRequest parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input, extensionRegistry)
+               .buildParsed();
+    }
+    
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(com.orbekk.same.Services.ChangesRequest prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+    
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder>
+       implements com.orbekk.same.Services.ChangesRequestOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.orbekk.same.Services.internal_static_com_orbekk_same_ChangesRequest_descriptor;
+      }
+      
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.orbekk.same.Services.internal_static_com_orbekk_same_ChangesRequest_fieldAccessorTable;
+      }
+      
+      // Construct using com.orbekk.same.Services.ChangesRequest.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+      
+      private Builder(BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+      
+      public Builder clear() {
+        super.clear();
+        revision_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000001);
+        return this;
+      }
+      
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+      
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.orbekk.same.Services.ChangesRequest.getDescriptor();
+      }
+      
+      public com.orbekk.same.Services.ChangesRequest getDefaultInstanceForType() {
+        return com.orbekk.same.Services.ChangesRequest.getDefaultInstance();
+      }
+      
+      public com.orbekk.same.Services.ChangesRequest build() {
+        com.orbekk.same.Services.ChangesRequest result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+      
+      private com.orbekk.same.Services.ChangesRequest buildParsed()
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        com.orbekk.same.Services.ChangesRequest result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(
+            result).asInvalidProtocolBufferException();
+        }
+        return result;
+      }
+      
+      public com.orbekk.same.Services.ChangesRequest buildPartial() {
+        com.orbekk.same.Services.ChangesRequest result = new com.orbekk.same.Services.ChangesRequest(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.revision_ = revision_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+      
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.orbekk.same.Services.ChangesRequest) {
+          return mergeFrom((com.orbekk.same.Services.ChangesRequest)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+      
+      public Builder mergeFrom(com.orbekk.same.Services.ChangesRequest other) {
+        if (other == com.orbekk.same.Services.ChangesRequest.getDefaultInstance()) return this;
+        if (other.hasRevision()) {
+          setRevision(other.getRevision());
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+      
+      public final boolean isInitialized() {
+        return true;
+      }
+      
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder(
+            this.getUnknownFields());
+        while (true) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              this.setUnknownFields(unknownFields.build());
+              onChanged();
+              return this;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                this.setUnknownFields(unknownFields.build());
+                onChanged();
+                return this;
+              }
+              break;
+            }
+            case 8: {
+              bitField0_ |= 0x00000001;
+              revision_ = input.readInt64();
+              break;
+            }
+          }
+        }
+      }
+      
+      private int bitField0_;
+      
+      // optional int64 revision = 1;
+      private long revision_ ;
+      public boolean hasRevision() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      public long getRevision() {
+        return revision_;
+      }
+      public Builder setRevision(long value) {
+        bitField0_ |= 0x00000001;
+        revision_ = value;
+        onChanged();
+        return this;
+      }
+      public Builder clearRevision() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        revision_ = 0L;
+        onChanged();
+        return this;
+      }
+      
+      // @@protoc_insertion_point(builder_scope:com.orbekk.same.ChangesRequest)
+    }
+    
+    static {
+      defaultInstance = new ChangesRequest(true);
+      defaultInstance.initFields();
+    }
+    
+    // @@protoc_insertion_point(class_scope:com.orbekk.same.ChangesRequest)
+  }
+  
+  public interface ChangesResponseOrBuilder
+      extends com.google.protobuf.MessageOrBuilder {
+    
+    // optional int64 revision = 1;
+    boolean hasRevision();
+    long getRevision();
+    
+    // optional bool full_state = 2;
+    boolean hasFullState();
+    boolean getFullState();
+    
+    // repeated .com.orbekk.same.Component component = 3;
+    java.util.List<com.orbekk.same.Services.Component> 
+        getComponentList();
+    com.orbekk.same.Services.Component getComponent(int index);
+    int getComponentCount();
+    java.util.List<? extends com.orbekk.same.Services.ComponentOrBuilder> 
+        getComponentOrBuilderList();
+    com.orbekk.same.Services.ComponentOrBuilder getComponentOrBuilder(
+        int index);
+  }
+  public static final class ChangesResponse extends
+      com.google.protobuf.GeneratedMessage
+      implements ChangesResponseOrBuilder {
+    // Use ChangesResponse.newBuilder() to construct.
+    private ChangesResponse(Builder builder) {
+      super(builder);
+    }
+    private ChangesResponse(boolean noInit) {}
+    
+    private static final ChangesResponse defaultInstance;
+    public static ChangesResponse getDefaultInstance() {
+      return defaultInstance;
+    }
+    
+    public ChangesResponse getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+    
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.orbekk.same.Services.internal_static_com_orbekk_same_ChangesResponse_descriptor;
+    }
+    
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.orbekk.same.Services.internal_static_com_orbekk_same_ChangesResponse_fieldAccessorTable;
+    }
+    
+    private int bitField0_;
+    // optional int64 revision = 1;
+    public static final int REVISION_FIELD_NUMBER = 1;
+    private long revision_;
+    public boolean hasRevision() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    public long getRevision() {
+      return revision_;
+    }
+    
+    // optional bool full_state = 2;
+    public static final int FULL_STATE_FIELD_NUMBER = 2;
+    private boolean fullState_;
+    public boolean hasFullState() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
+    }
+    public boolean getFullState() {
+      return fullState_;
+    }
+    
+    // repeated .com.orbekk.same.Component component = 3;
+    public static final int COMPONENT_FIELD_NUMBER = 3;
+    private java.util.List<com.orbekk.same.Services.Component> component_;
+    public java.util.List<com.orbekk.same.Services.Component> getComponentList() {
+      return component_;
+    }
+    public java.util.List<? extends com.orbekk.same.Services.ComponentOrBuilder> 
+        getComponentOrBuilderList() {
+      return component_;
+    }
+    public int getComponentCount() {
+      return component_.size();
+    }
+    public com.orbekk.same.Services.Component getComponent(int index) {
+      return component_.get(index);
+    }
+    public com.orbekk.same.Services.ComponentOrBuilder getComponentOrBuilder(
+        int index) {
+      return component_.get(index);
+    }
+    
+    private void initFields() {
+      revision_ = 0L;
+      fullState_ = false;
+      component_ = java.util.Collections.emptyList();
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized != -1) return isInitialized == 1;
+      
+      for (int i = 0; i < getComponentCount(); i++) {
+        if (!getComponent(i).isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
+      memoizedIsInitialized = 1;
+      return true;
+    }
+    
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeInt64(1, revision_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeBool(2, fullState_);
+      }
+      for (int i = 0; i < component_.size(); i++) {
+        output.writeMessage(3, component_.get(i));
+      }
+      getUnknownFields().writeTo(output);
+    }
+    
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+    
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(1, revision_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBoolSize(2, fullState_);
+      }
+      for (int i = 0; i < component_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(3, component_.get(i));
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+    
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+    
+    public static com.orbekk.same.Services.ChangesResponse parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data).buildParsed();
+    }
+    public static com.orbekk.same.Services.ChangesResponse parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.ChangesResponse parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data).buildParsed();
+    }
+    public static com.orbekk.same.Services.ChangesResponse parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.ChangesResponse parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input).buildParsed();
+    }
+    public static com.orbekk.same.Services.ChangesResponse parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.ChangesResponse parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      Builder builder = newBuilder();
+      if (builder.mergeDelimitedFrom(input)) {
+        return builder.buildParsed();
+      } else {
+        return null;
+      }
+    }
+    public static com.orbekk.same.Services.ChangesResponse parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      Builder builder = newBuilder();
+      if (builder.mergeDelimitedFrom(input, extensionRegistry)) {
+        return builder.buildParsed();
+      } else {
+        return null;
+      }
+    }
+    public static com.orbekk.same.Services.ChangesResponse parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input).buildParsed();
+    }
+    public static com.orbekk.same.Services.ChangesResponse parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input, extensionRegistry)
+               .buildParsed();
+    }
+    
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(com.orbekk.same.Services.ChangesResponse prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+    
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder>
+       implements com.orbekk.same.Services.ChangesResponseOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.orbekk.same.Services.internal_static_com_orbekk_same_ChangesResponse_descriptor;
+      }
+      
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.orbekk.same.Services.internal_static_com_orbekk_same_ChangesResponse_fieldAccessorTable;
+      }
+      
+      // Construct using com.orbekk.same.Services.ChangesResponse.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+      
+      private Builder(BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+          getComponentFieldBuilder();
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+      
+      public Builder clear() {
+        super.clear();
+        revision_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000001);
+        fullState_ = false;
+        bitField0_ = (bitField0_ & ~0x00000002);
+        if (componentBuilder_ == null) {
+          component_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000004);
+        } else {
+          componentBuilder_.clear();
+        }
+        return this;
+      }
+      
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+      
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.orbekk.same.Services.ChangesResponse.getDescriptor();
+      }
+      
+      public com.orbekk.same.Services.ChangesResponse getDefaultInstanceForType() {
+        return com.orbekk.same.Services.ChangesResponse.getDefaultInstance();
+      }
+      
+      public com.orbekk.same.Services.ChangesResponse build() {
+        com.orbekk.same.Services.ChangesResponse result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+      
+      private com.orbekk.same.Services.ChangesResponse buildParsed()
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        com.orbekk.same.Services.ChangesResponse result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(
+            result).asInvalidProtocolBufferException();
+        }
+        return result;
+      }
+      
+      public com.orbekk.same.Services.ChangesResponse buildPartial() {
+        com.orbekk.same.Services.ChangesResponse result = new com.orbekk.same.Services.ChangesResponse(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.revision_ = revision_;
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        result.fullState_ = fullState_;
+        if (componentBuilder_ == null) {
+          if (((bitField0_ & 0x00000004) == 0x00000004)) {
+            component_ = java.util.Collections.unmodifiableList(component_);
+            bitField0_ = (bitField0_ & ~0x00000004);
+          }
+          result.component_ = component_;
+        } else {
+          result.component_ = componentBuilder_.build();
+        }
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+      
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.orbekk.same.Services.ChangesResponse) {
+          return mergeFrom((com.orbekk.same.Services.ChangesResponse)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+      
+      public Builder mergeFrom(com.orbekk.same.Services.ChangesResponse other) {
+        if (other == com.orbekk.same.Services.ChangesResponse.getDefaultInstance()) return this;
+        if (other.hasRevision()) {
+          setRevision(other.getRevision());
+        }
+        if (other.hasFullState()) {
+          setFullState(other.getFullState());
+        }
+        if (componentBuilder_ == null) {
+          if (!other.component_.isEmpty()) {
+            if (component_.isEmpty()) {
+              component_ = other.component_;
+              bitField0_ = (bitField0_ & ~0x00000004);
+            } else {
+              ensureComponentIsMutable();
+              component_.addAll(other.component_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.component_.isEmpty()) {
+            if (componentBuilder_.isEmpty()) {
+              componentBuilder_.dispose();
+              componentBuilder_ = null;
+              component_ = other.component_;
+              bitField0_ = (bitField0_ & ~0x00000004);
+              componentBuilder_ = 
+                com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders ?
+                   getComponentFieldBuilder() : null;
+            } else {
+              componentBuilder_.addAllMessages(other.component_);
+            }
+          }
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+      
+      public final boolean isInitialized() {
+        for (int i = 0; i < getComponentCount(); i++) {
+          if (!getComponent(i).isInitialized()) {
+            
+            return false;
+          }
+        }
+        return true;
+      }
+      
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder(
+            this.getUnknownFields());
+        while (true) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              this.setUnknownFields(unknownFields.build());
+              onChanged();
+              return this;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                this.setUnknownFields(unknownFields.build());
+                onChanged();
+                return this;
+              }
+              break;
+            }
+            case 8: {
+              bitField0_ |= 0x00000001;
+              revision_ = input.readInt64();
+              break;
+            }
+            case 16: {
+              bitField0_ |= 0x00000002;
+              fullState_ = input.readBool();
+              break;
+            }
+            case 26: {
+              com.orbekk.same.Services.Component.Builder subBuilder = com.orbekk.same.Services.Component.newBuilder();
+              input.readMessage(subBuilder, extensionRegistry);
+              addComponent(subBuilder.buildPartial());
+              break;
+            }
+          }
+        }
+      }
+      
+      private int bitField0_;
+      
+      // optional int64 revision = 1;
+      private long revision_ ;
+      public boolean hasRevision() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      public long getRevision() {
+        return revision_;
+      }
+      public Builder setRevision(long value) {
+        bitField0_ |= 0x00000001;
+        revision_ = value;
+        onChanged();
+        return this;
+      }
+      public Builder clearRevision() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        revision_ = 0L;
+        onChanged();
+        return this;
+      }
+      
+      // optional bool full_state = 2;
+      private boolean fullState_ ;
+      public boolean hasFullState() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      public boolean getFullState() {
+        return fullState_;
+      }
+      public Builder setFullState(boolean value) {
+        bitField0_ |= 0x00000002;
+        fullState_ = value;
+        onChanged();
+        return this;
+      }
+      public Builder clearFullState() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        fullState_ = false;
+        onChanged();
+        return this;
+      }
+      
+      // repeated .com.orbekk.same.Component component = 3;
+      private java.util.List<com.orbekk.same.Services.Component> component_ =
+        java.util.Collections.emptyList();
+      private void ensureComponentIsMutable() {
+        if (!((bitField0_ & 0x00000004) == 0x00000004)) {
+          component_ = new java.util.ArrayList<com.orbekk.same.Services.Component>(component_);
+          bitField0_ |= 0x00000004;
+         }
+      }
+      
+      private com.google.protobuf.RepeatedFieldBuilder<
+          com.orbekk.same.Services.Component, com.orbekk.same.Services.Component.Builder, com.orbekk.same.Services.ComponentOrBuilder> componentBuilder_;
+      
+      public java.util.List<com.orbekk.same.Services.Component> getComponentList() {
+        if (componentBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(component_);
+        } else {
+          return componentBuilder_.getMessageList();
+        }
+      }
+      public int getComponentCount() {
+        if (componentBuilder_ == null) {
+          return component_.size();
+        } else {
+          return componentBuilder_.getCount();
+        }
+      }
+      public com.orbekk.same.Services.Component getComponent(int index) {
+        if (componentBuilder_ == null) {
+          return component_.get(index);
+        } else {
+          return componentBuilder_.getMessage(index);
+        }
+      }
+      public Builder setComponent(
+          int index, com.orbekk.same.Services.Component value) {
+        if (componentBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureComponentIsMutable();
+          component_.set(index, value);
+          onChanged();
+        } else {
+          componentBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      public Builder setComponent(
+          int index, com.orbekk.same.Services.Component.Builder builderForValue) {
+        if (componentBuilder_ == null) {
+          ensureComponentIsMutable();
+          component_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          componentBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      public Builder addComponent(com.orbekk.same.Services.Component value) {
+        if (componentBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureComponentIsMutable();
+          component_.add(value);
+          onChanged();
+        } else {
+          componentBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      public Builder addComponent(
+          int index, com.orbekk.same.Services.Component value) {
+        if (componentBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureComponentIsMutable();
+          component_.add(index, value);
+          onChanged();
+        } else {
+          componentBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      public Builder addComponent(
+          com.orbekk.same.Services.Component.Builder builderForValue) {
+        if (componentBuilder_ == null) {
+          ensureComponentIsMutable();
+          component_.add(builderForValue.build());
+          onChanged();
+        } else {
+          componentBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      public Builder addComponent(
+          int index, com.orbekk.same.Services.Component.Builder builderForValue) {
+        if (componentBuilder_ == null) {
+          ensureComponentIsMutable();
+          component_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          componentBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      public Builder addAllComponent(
+          java.lang.Iterable<? extends com.orbekk.same.Services.Component> values) {
+        if (componentBuilder_ == null) {
+          ensureComponentIsMutable();
+          super.addAll(values, component_);
+          onChanged();
+        } else {
+          componentBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      public Builder clearComponent() {
+        if (componentBuilder_ == null) {
+          component_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000004);
+          onChanged();
+        } else {
+          componentBuilder_.clear();
+        }
+        return this;
+      }
+      public Builder removeComponent(int index) {
+        if (componentBuilder_ == null) {
+          ensureComponentIsMutable();
+          component_.remove(index);
+          onChanged();
+        } else {
+          componentBuilder_.remove(index);
+        }
+        return this;
+      }
+      public com.orbekk.same.Services.Component.Builder getComponentBuilder(
+          int index) {
+        return getComponentFieldBuilder().getBuilder(index);
+      }
+      public com.orbekk.same.Services.ComponentOrBuilder getComponentOrBuilder(
+          int index) {
+        if (componentBuilder_ == null) {
+          return component_.get(index);  } else {
+          return componentBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      public java.util.List<? extends com.orbekk.same.Services.ComponentOrBuilder> 
+           getComponentOrBuilderList() {
+        if (componentBuilder_ != null) {
+          return componentBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(component_);
+        }
+      }
+      public com.orbekk.same.Services.Component.Builder addComponentBuilder() {
+        return getComponentFieldBuilder().addBuilder(
+            com.orbekk.same.Services.Component.getDefaultInstance());
+      }
+      public com.orbekk.same.Services.Component.Builder addComponentBuilder(
+          int index) {
+        return getComponentFieldBuilder().addBuilder(
+            index, com.orbekk.same.Services.Component.getDefaultInstance());
+      }
+      public java.util.List<com.orbekk.same.Services.Component.Builder> 
+           getComponentBuilderList() {
+        return getComponentFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilder<
+          com.orbekk.same.Services.Component, com.orbekk.same.Services.Component.Builder, com.orbekk.same.Services.ComponentOrBuilder> 
+          getComponentFieldBuilder() {
+        if (componentBuilder_ == null) {
+          componentBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
+              com.orbekk.same.Services.Component, com.orbekk.same.Services.Component.Builder, com.orbekk.same.Services.ComponentOrBuilder>(
+                  component_,
+                  ((bitField0_ & 0x00000004) == 0x00000004),
+                  getParentForChildren(),
+                  isClean());
+          component_ = null;
+        }
+        return componentBuilder_;
+      }
+      
+      // @@protoc_insertion_point(builder_scope:com.orbekk.same.ChangesResponse)
+    }
+    
+    static {
+      defaultInstance = new ChangesResponse(true);
+      defaultInstance.initFields();
+    }
+    
+    // @@protoc_insertion_point(class_scope:com.orbekk.same.ChangesResponse)
+  }
+  
+  public interface ComponentQueryOrBuilder
+      extends com.google.protobuf.MessageOrBuilder {
+    
+    // repeated string id = 1;
+    java.util.List<String> getIdList();
+    int getIdCount();
+    String getId(int index);
+    
+    // optional string prefix = 2;
+    boolean hasPrefix();
+    String getPrefix();
+  }
+  public static final class ComponentQuery extends
+      com.google.protobuf.GeneratedMessage
+      implements ComponentQueryOrBuilder {
+    // Use ComponentQuery.newBuilder() to construct.
+    private ComponentQuery(Builder builder) {
+      super(builder);
+    }
+    private ComponentQuery(boolean noInit) {}
+    
+    private static final ComponentQuery defaultInstance;
+    public static ComponentQuery getDefaultInstance() {
+      return defaultInstance;
+    }
+    
+    public ComponentQuery getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+    
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.orbekk.same.Services.internal_static_com_orbekk_same_ComponentQuery_descriptor;
+    }
+    
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.orbekk.same.Services.internal_static_com_orbekk_same_ComponentQuery_fieldAccessorTable;
+    }
+    
+    private int bitField0_;
+    // repeated string id = 1;
+    public static final int ID_FIELD_NUMBER = 1;
+    private com.google.protobuf.LazyStringList id_;
+    public java.util.List<String>
+        getIdList() {
+      return id_;
+    }
+    public int getIdCount() {
+      return id_.size();
+    }
+    public String getId(int index) {
+      return id_.get(index);
+    }
+    
+    // optional string prefix = 2;
+    public static final int PREFIX_FIELD_NUMBER = 2;
+    private java.lang.Object prefix_;
+    public boolean hasPrefix() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    public String getPrefix() {
+      java.lang.Object ref = prefix_;
+      if (ref instanceof String) {
+        return (String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        String s = bs.toStringUtf8();
+        if (com.google.protobuf.Internal.isValidUtf8(bs)) {
+          prefix_ = s;
+        }
+        return s;
+      }
+    }
+    private com.google.protobuf.ByteString getPrefixBytes() {
+      java.lang.Object ref = prefix_;
+      if (ref instanceof String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8((String) ref);
+        prefix_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+    
+    private void initFields() {
+      id_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      prefix_ = "";
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized != -1) return isInitialized == 1;
+      
+      memoizedIsInitialized = 1;
+      return true;
+    }
+    
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      for (int i = 0; i < id_.size(); i++) {
+        output.writeBytes(1, id_.getByteString(i));
+      }
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeBytes(2, getPrefixBytes());
+      }
+      getUnknownFields().writeTo(output);
+    }
+    
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+    
+      size = 0;
+      {
+        int dataSize = 0;
+        for (int i = 0; i < id_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeBytesSizeNoTag(id_.getByteString(i));
+        }
+        size += dataSize;
+        size += 1 * getIdList().size();
+      }
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(2, getPrefixBytes());
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+    
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+    
+    public static com.orbekk.same.Services.ComponentQuery parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data).buildParsed();
+    }
+    public static com.orbekk.same.Services.ComponentQuery parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.ComponentQuery parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data).buildParsed();
+    }
+    public static com.orbekk.same.Services.ComponentQuery parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.ComponentQuery parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input).buildParsed();
+    }
+    public static com.orbekk.same.Services.ComponentQuery parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.ComponentQuery parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      Builder builder = newBuilder();
+      if (builder.mergeDelimitedFrom(input)) {
+        return builder.buildParsed();
+      } else {
+        return null;
+      }
+    }
+    public static com.orbekk.same.Services.ComponentQuery parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      Builder builder = newBuilder();
+      if (builder.mergeDelimitedFrom(input, extensionRegistry)) {
+        return builder.buildParsed();
+      } else {
+        return null;
+      }
+    }
+    public static com.orbekk.same.Services.ComponentQuery parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input).buildParsed();
+    }
+    public static com.orbekk.same.Services.ComponentQuery parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input, extensionRegistry)
+               .buildParsed();
+    }
+    
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(com.orbekk.same.Services.ComponentQuery prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+    
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder>
+       implements com.orbekk.same.Services.ComponentQueryOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.orbekk.same.Services.internal_static_com_orbekk_same_ComponentQuery_descriptor;
+      }
+      
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.orbekk.same.Services.internal_static_com_orbekk_same_ComponentQuery_fieldAccessorTable;
+      }
+      
+      // Construct using com.orbekk.same.Services.ComponentQuery.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+      
+      private Builder(BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+      
+      public Builder clear() {
+        super.clear();
+        id_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000001);
+        prefix_ = "";
+        bitField0_ = (bitField0_ & ~0x00000002);
+        return this;
+      }
+      
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+      
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.orbekk.same.Services.ComponentQuery.getDescriptor();
+      }
+      
+      public com.orbekk.same.Services.ComponentQuery getDefaultInstanceForType() {
+        return com.orbekk.same.Services.ComponentQuery.getDefaultInstance();
+      }
+      
+      public com.orbekk.same.Services.ComponentQuery build() {
+        com.orbekk.same.Services.ComponentQuery result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+      
+      private com.orbekk.same.Services.ComponentQuery buildParsed()
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        com.orbekk.same.Services.ComponentQuery result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(
+            result).asInvalidProtocolBufferException();
+        }
+        return result;
+      }
+      
+      public com.orbekk.same.Services.ComponentQuery buildPartial() {
+        com.orbekk.same.Services.ComponentQuery result = new com.orbekk.same.Services.ComponentQuery(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((bitField0_ & 0x00000001) == 0x00000001)) {
+          id_ = new com.google.protobuf.UnmodifiableLazyStringList(
+              id_);
+          bitField0_ = (bitField0_ & ~0x00000001);
+        }
+        result.id_ = id_;
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.prefix_ = prefix_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+      
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.orbekk.same.Services.ComponentQuery) {
+          return mergeFrom((com.orbekk.same.Services.ComponentQuery)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+      
+      public Builder mergeFrom(com.orbekk.same.Services.ComponentQuery other) {
+        if (other == com.orbekk.same.Services.ComponentQuery.getDefaultInstance()) return this;
+        if (!other.id_.isEmpty()) {
+          if (id_.isEmpty()) {
+            id_ = other.id_;
+            bitField0_ = (bitField0_ & ~0x00000001);
+          } else {
+            ensureIdIsMutable();
+            id_.addAll(other.id_);
+          }
+          onChanged();
+        }
+        if (other.hasPrefix()) {
+          setPrefix(other.getPrefix());
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+      
+      public final boolean isInitialized() {
+        return true;
+      }
+      
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder(
+            this.getUnknownFields());
+        while (true) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              this.setUnknownFields(unknownFields.build());
+              onChanged();
+              return this;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                this.setUnknownFields(unknownFields.build());
+                onChanged();
+                return this;
+              }
+              break;
+            }
+            case 10: {
+              ensureIdIsMutable();
+              id_.add(input.readBytes());
+              break;
+            }
+            case 18: {
+              bitField0_ |= 0x00000002;
+              prefix_ = input.readBytes();
+              break;
+            }
+          }
+        }
+      }
+      
+      private int bitField0_;
+      
+      // repeated string id = 1;
+      private com.google.protobuf.LazyStringList id_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      private void ensureIdIsMutable() {
+        if (!((bitField0_ & 0x00000001) == 0x00000001)) {
+          id_ = new com.google.protobuf.LazyStringArrayList(id_);
+          bitField0_ |= 0x00000001;
+         }
+      }
+      public java.util.List<String>
+          getIdList() {
+        return java.util.Collections.unmodifiableList(id_);
+      }
+      public int getIdCount() {
+        return id_.size();
+      }
+      public String getId(int index) {
+        return id_.get(index);
+      }
+      public Builder setId(
+          int index, String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureIdIsMutable();
+        id_.set(index, value);
+        onChanged();
+        return this;
+      }
+      public Builder addId(String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureIdIsMutable();
+        id_.add(value);
+        onChanged();
+        return this;
+      }
+      public Builder addAllId(
+          java.lang.Iterable<String> values) {
+        ensureIdIsMutable();
+        super.addAll(values, id_);
+        onChanged();
+        return this;
+      }
+      public Builder clearId() {
+        id_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000001);
+        onChanged();
+        return this;
+      }
+      void addId(com.google.protobuf.ByteString value) {
+        ensureIdIsMutable();
+        id_.add(value);
+        onChanged();
+      }
+      
+      // optional string prefix = 2;
+      private java.lang.Object prefix_ = "";
+      public boolean hasPrefix() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      public String getPrefix() {
+        java.lang.Object ref = prefix_;
+        if (!(ref instanceof String)) {
+          String s = ((com.google.protobuf.ByteString) ref).toStringUtf8();
+          prefix_ = s;
+          return s;
+        } else {
+          return (String) ref;
+        }
+      }
+      public Builder setPrefix(String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000002;
+        prefix_ = value;
+        onChanged();
+        return this;
+      }
+      public Builder clearPrefix() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        prefix_ = getDefaultInstance().getPrefix();
+        onChanged();
+        return this;
+      }
+      void setPrefix(com.google.protobuf.ByteString value) {
+        bitField0_ |= 0x00000002;
+        prefix_ = value;
+        onChanged();
+      }
+      
+      // @@protoc_insertion_point(builder_scope:com.orbekk.same.ComponentQuery)
+    }
+    
+    static {
+      defaultInstance = new ComponentQuery(true);
+      defaultInstance.initFields();
+    }
+    
+    // @@protoc_insertion_point(class_scope:com.orbekk.same.ComponentQuery)
+  }
+  
+  public interface ComponentRequestOrBuilder
+      extends com.google.protobuf.MessageOrBuilder {
+    
+    // optional string id = 1;
+    boolean hasId();
+    String getId();
+  }
+  public static final class ComponentRequest extends
+      com.google.protobuf.GeneratedMessage
+      implements ComponentRequestOrBuilder {
+    // Use ComponentRequest.newBuilder() to construct.
+    private ComponentRequest(Builder builder) {
+      super(builder);
+    }
+    private ComponentRequest(boolean noInit) {}
+    
+    private static final ComponentRequest defaultInstance;
+    public static ComponentRequest getDefaultInstance() {
+      return defaultInstance;
+    }
+    
+    public ComponentRequest getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+    
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.orbekk.same.Services.internal_static_com_orbekk_same_ComponentRequest_descriptor;
+    }
+    
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.orbekk.same.Services.internal_static_com_orbekk_same_ComponentRequest_fieldAccessorTable;
+    }
+    
+    private int bitField0_;
+    // optional string id = 1;
+    public static final int ID_FIELD_NUMBER = 1;
+    private java.lang.Object id_;
+    public boolean hasId() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    public String getId() {
+      java.lang.Object ref = id_;
+      if (ref instanceof String) {
+        return (String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        String s = bs.toStringUtf8();
+        if (com.google.protobuf.Internal.isValidUtf8(bs)) {
+          id_ = s;
+        }
+        return s;
+      }
+    }
+    private com.google.protobuf.ByteString getIdBytes() {
+      java.lang.Object ref = id_;
+      if (ref instanceof String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8((String) ref);
+        id_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+    
+    private void initFields() {
+      id_ = "";
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized != -1) return isInitialized == 1;
+      
+      memoizedIsInitialized = 1;
+      return true;
+    }
+    
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeBytes(1, getIdBytes());
+      }
+      getUnknownFields().writeTo(output);
+    }
+    
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+    
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(1, getIdBytes());
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+    
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+    
+    public static com.orbekk.same.Services.ComponentRequest parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data).buildParsed();
+    }
+    public static com.orbekk.same.Services.ComponentRequest parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.ComponentRequest parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data).buildParsed();
+    }
+    public static com.orbekk.same.Services.ComponentRequest parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.ComponentRequest parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input).buildParsed();
+    }
+    public static com.orbekk.same.Services.ComponentRequest parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.ComponentRequest parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      Builder builder = newBuilder();
+      if (builder.mergeDelimitedFrom(input)) {
+        return builder.buildParsed();
+      } else {
+        return null;
+      }
+    }
+    public static com.orbekk.same.Services.ComponentRequest parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      Builder builder = newBuilder();
+      if (builder.mergeDelimitedFrom(input, extensionRegistry)) {
+        return builder.buildParsed();
+      } else {
+        return null;
+      }
+    }
+    public static com.orbekk.same.Services.ComponentRequest parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input).buildParsed();
+    }
+    public static com.orbekk.same.Services.ComponentRequest parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input, extensionRegistry)
+               .buildParsed();
+    }
+    
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(com.orbekk.same.Services.ComponentRequest prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+    
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder>
+       implements com.orbekk.same.Services.ComponentRequestOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.orbekk.same.Services.internal_static_com_orbekk_same_ComponentRequest_descriptor;
+      }
+      
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.orbekk.same.Services.internal_static_com_orbekk_same_ComponentRequest_fieldAccessorTable;
+      }
+      
+      // Construct using com.orbekk.same.Services.ComponentRequest.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+      
+      private Builder(BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+      
+      public Builder clear() {
+        super.clear();
+        id_ = "";
+        bitField0_ = (bitField0_ & ~0x00000001);
+        return this;
+      }
+      
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+      
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.orbekk.same.Services.ComponentRequest.getDescriptor();
+      }
+      
+      public com.orbekk.same.Services.ComponentRequest getDefaultInstanceForType() {
+        return com.orbekk.same.Services.ComponentRequest.getDefaultInstance();
+      }
+      
+      public com.orbekk.same.Services.ComponentRequest build() {
+        com.orbekk.same.Services.ComponentRequest result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+      
+      private com.orbekk.same.Services.ComponentRequest buildParsed()
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        com.orbekk.same.Services.ComponentRequest result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(
+            result).asInvalidProtocolBufferException();
+        }
+        return result;
+      }
+      
+      public com.orbekk.same.Services.ComponentRequest buildPartial() {
+        com.orbekk.same.Services.ComponentRequest result = new com.orbekk.same.Services.ComponentRequest(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.id_ = id_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+      
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.orbekk.same.Services.ComponentRequest) {
+          return mergeFrom((com.orbekk.same.Services.ComponentRequest)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+      
+      public Builder mergeFrom(com.orbekk.same.Services.ComponentRequest other) {
+        if (other == com.orbekk.same.Services.ComponentRequest.getDefaultInstance()) return this;
+        if (other.hasId()) {
+          setId(other.getId());
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+      
+      public final boolean isInitialized() {
+        return true;
+      }
+      
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder(
+            this.getUnknownFields());
+        while (true) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              this.setUnknownFields(unknownFields.build());
+              onChanged();
+              return this;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                this.setUnknownFields(unknownFields.build());
+                onChanged();
+                return this;
+              }
+              break;
+            }
+            case 10: {
+              bitField0_ |= 0x00000001;
+              id_ = input.readBytes();
+              break;
+            }
+          }
+        }
+      }
+      
+      private int bitField0_;
+      
+      // optional string id = 1;
+      private java.lang.Object id_ = "";
+      public boolean hasId() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      public String getId() {
+        java.lang.Object ref = id_;
+        if (!(ref instanceof String)) {
+          String s = ((com.google.protobuf.ByteString) ref).toStringUtf8();
+          id_ = s;
+          return s;
+        } else {
+          return (String) ref;
+        }
+      }
+      public Builder setId(String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000001;
+        id_ = value;
+        onChanged();
+        return this;
+      }
+      public Builder clearId() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        id_ = getDefaultInstance().getId();
+        onChanged();
+        return this;
+      }
+      void setId(com.google.protobuf.ByteString value) {
+        bitField0_ |= 0x00000001;
+        id_ = value;
+        onChanged();
+      }
+      
+      // @@protoc_insertion_point(builder_scope:com.orbekk.same.ComponentRequest)
+    }
+    
+    static {
+      defaultInstance = new ComponentRequest(true);
+      defaultInstance.initFields();
+    }
+    
+    // @@protoc_insertion_point(class_scope:com.orbekk.same.ComponentRequest)
+  }
+  
+  public interface ComponentResponseOrBuilder
+      extends com.google.protobuf.MessageOrBuilder {
+    
+    // optional int64 revision = 1;
+    boolean hasRevision();
+    long getRevision();
+    
+    // optional .com.orbekk.same.Component component = 2;
+    boolean hasComponent();
+    com.orbekk.same.Services.Component getComponent();
+    com.orbekk.same.Services.ComponentOrBuilder getComponentOrBuilder();
+  }
+  public static final class ComponentResponse extends
+      com.google.protobuf.GeneratedMessage
+      implements ComponentResponseOrBuilder {
+    // Use ComponentResponse.newBuilder() to construct.
+    private ComponentResponse(Builder builder) {
+      super(builder);
+    }
+    private ComponentResponse(boolean noInit) {}
+    
+    private static final ComponentResponse defaultInstance;
+    public static ComponentResponse getDefaultInstance() {
+      return defaultInstance;
+    }
+    
+    public ComponentResponse getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+    
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.orbekk.same.Services.internal_static_com_orbekk_same_ComponentResponse_descriptor;
+    }
+    
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.orbekk.same.Services.internal_static_com_orbekk_same_ComponentResponse_fieldAccessorTable;
+    }
+    
+    private int bitField0_;
+    // optional int64 revision = 1;
+    public static final int REVISION_FIELD_NUMBER = 1;
+    private long revision_;
+    public boolean hasRevision() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    public long getRevision() {
+      return revision_;
+    }
+    
+    // optional .com.orbekk.same.Component component = 2;
+    public static final int COMPONENT_FIELD_NUMBER = 2;
+    private com.orbekk.same.Services.Component component_;
+    public boolean hasComponent() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
+    }
+    public com.orbekk.same.Services.Component getComponent() {
+      return component_;
+    }
+    public com.orbekk.same.Services.ComponentOrBuilder getComponentOrBuilder() {
+      return component_;
+    }
+    
+    private void initFields() {
+      revision_ = 0L;
+      component_ = com.orbekk.same.Services.Component.getDefaultInstance();
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized != -1) return isInitialized == 1;
+      
+      if (hasComponent()) {
+        if (!getComponent().isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
+      memoizedIsInitialized = 1;
+      return true;
+    }
+    
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeInt64(1, revision_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeMessage(2, component_);
+      }
+      getUnknownFields().writeTo(output);
+    }
+    
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+    
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(1, revision_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(2, component_);
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+    
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+    
+    public static com.orbekk.same.Services.ComponentResponse parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data).buildParsed();
+    }
+    public static com.orbekk.same.Services.ComponentResponse parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.ComponentResponse parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data).buildParsed();
+    }
+    public static com.orbekk.same.Services.ComponentResponse parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.ComponentResponse parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input).buildParsed();
+    }
+    public static com.orbekk.same.Services.ComponentResponse parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.ComponentResponse parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      Builder builder = newBuilder();
+      if (builder.mergeDelimitedFrom(input)) {
+        return builder.buildParsed();
+      } else {
+        return null;
+      }
+    }
+    public static com.orbekk.same.Services.ComponentResponse parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      Builder builder = newBuilder();
+      if (builder.mergeDelimitedFrom(input, extensionRegistry)) {
+        return builder.buildParsed();
+      } else {
+        return null;
+      }
+    }
+    public static com.orbekk.same.Services.ComponentResponse parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input).buildParsed();
+    }
+    public static com.orbekk.same.Services.ComponentResponse parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input, extensionRegistry)
+               .buildParsed();
+    }
+    
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(com.orbekk.same.Services.ComponentResponse prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+    
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder>
+       implements com.orbekk.same.Services.ComponentResponseOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.orbekk.same.Services.internal_static_com_orbekk_same_ComponentResponse_descriptor;
+      }
+      
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.orbekk.same.Services.internal_static_com_orbekk_same_ComponentResponse_fieldAccessorTable;
+      }
+      
+      // Construct using com.orbekk.same.Services.ComponentResponse.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+      
+      private Builder(BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+          getComponentFieldBuilder();
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+      
+      public Builder clear() {
+        super.clear();
+        revision_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000001);
+        if (componentBuilder_ == null) {
+          component_ = com.orbekk.same.Services.Component.getDefaultInstance();
+        } else {
+          componentBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000002);
+        return this;
+      }
+      
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+      
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.orbekk.same.Services.ComponentResponse.getDescriptor();
+      }
+      
+      public com.orbekk.same.Services.ComponentResponse getDefaultInstanceForType() {
+        return com.orbekk.same.Services.ComponentResponse.getDefaultInstance();
+      }
+      
+      public com.orbekk.same.Services.ComponentResponse build() {
+        com.orbekk.same.Services.ComponentResponse result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+      
+      private com.orbekk.same.Services.ComponentResponse buildParsed()
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        com.orbekk.same.Services.ComponentResponse result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(
+            result).asInvalidProtocolBufferException();
+        }
+        return result;
+      }
+      
+      public com.orbekk.same.Services.ComponentResponse buildPartial() {
+        com.orbekk.same.Services.ComponentResponse result = new com.orbekk.same.Services.ComponentResponse(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.revision_ = revision_;
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        if (componentBuilder_ == null) {
+          result.component_ = component_;
+        } else {
+          result.component_ = componentBuilder_.build();
+        }
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+      
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.orbekk.same.Services.ComponentResponse) {
+          return mergeFrom((com.orbekk.same.Services.ComponentResponse)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+      
+      public Builder mergeFrom(com.orbekk.same.Services.ComponentResponse other) {
+        if (other == com.orbekk.same.Services.ComponentResponse.getDefaultInstance()) return this;
+        if (other.hasRevision()) {
+          setRevision(other.getRevision());
+        }
+        if (other.hasComponent()) {
+          mergeComponent(other.getComponent());
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+      
+      public final boolean isInitialized() {
+        if (hasComponent()) {
+          if (!getComponent().isInitialized()) {
+            
+            return false;
+          }
+        }
+        return true;
+      }
+      
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder(
+            this.getUnknownFields());
+        while (true) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              this.setUnknownFields(unknownFields.build());
+              onChanged();
+              return this;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                this.setUnknownFields(unknownFields.build());
+                onChanged();
+                return this;
+              }
+              break;
+            }
+            case 8: {
+              bitField0_ |= 0x00000001;
+              revision_ = input.readInt64();
+              break;
+            }
+            case 18: {
+              com.orbekk.same.Services.Component.Builder subBuilder = com.orbekk.same.Services.Component.newBuilder();
+              if (hasComponent()) {
+                subBuilder.mergeFrom(getComponent());
+              }
+              input.readMessage(subBuilder, extensionRegistry);
+              setComponent(subBuilder.buildPartial());
+              break;
+            }
+          }
+        }
+      }
+      
+      private int bitField0_;
+      
+      // optional int64 revision = 1;
+      private long revision_ ;
+      public boolean hasRevision() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      public long getRevision() {
+        return revision_;
+      }
+      public Builder setRevision(long value) {
+        bitField0_ |= 0x00000001;
+        revision_ = value;
+        onChanged();
+        return this;
+      }
+      public Builder clearRevision() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        revision_ = 0L;
+        onChanged();
+        return this;
+      }
+      
+      // optional .com.orbekk.same.Component component = 2;
+      private com.orbekk.same.Services.Component component_ = com.orbekk.same.Services.Component.getDefaultInstance();
+      private com.google.protobuf.SingleFieldBuilder<
+          com.orbekk.same.Services.Component, com.orbekk.same.Services.Component.Builder, com.orbekk.same.Services.ComponentOrBuilder> componentBuilder_;
+      public boolean hasComponent() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      public com.orbekk.same.Services.Component getComponent() {
+        if (componentBuilder_ == null) {
+          return component_;
+        } else {
+          return componentBuilder_.getMessage();
+        }
+      }
+      public Builder setComponent(com.orbekk.same.Services.Component value) {
+        if (componentBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          component_ = value;
+          onChanged();
+        } else {
+          componentBuilder_.setMessage(value);
+        }
+        bitField0_ |= 0x00000002;
+        return this;
+      }
+      public Builder setComponent(
+          com.orbekk.same.Services.Component.Builder builderForValue) {
+        if (componentBuilder_ == null) {
+          component_ = builderForValue.build();
+          onChanged();
+        } else {
+          componentBuilder_.setMessage(builderForValue.build());
+        }
+        bitField0_ |= 0x00000002;
+        return this;
+      }
+      public Builder mergeComponent(com.orbekk.same.Services.Component value) {
+        if (componentBuilder_ == null) {
+          if (((bitField0_ & 0x00000002) == 0x00000002) &&
+              component_ != com.orbekk.same.Services.Component.getDefaultInstance()) {
+            component_ =
+              com.orbekk.same.Services.Component.newBuilder(component_).mergeFrom(value).buildPartial();
+          } else {
+            component_ = value;
+          }
+          onChanged();
+        } else {
+          componentBuilder_.mergeFrom(value);
+        }
+        bitField0_ |= 0x00000002;
+        return this;
+      }
+      public Builder clearComponent() {
+        if (componentBuilder_ == null) {
+          component_ = com.orbekk.same.Services.Component.getDefaultInstance();
+          onChanged();
+        } else {
+          componentBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000002);
+        return this;
+      }
+      public com.orbekk.same.Services.Component.Builder getComponentBuilder() {
+        bitField0_ |= 0x00000002;
+        onChanged();
+        return getComponentFieldBuilder().getBuilder();
+      }
+      public com.orbekk.same.Services.ComponentOrBuilder getComponentOrBuilder() {
+        if (componentBuilder_ != null) {
+          return componentBuilder_.getMessageOrBuilder();
+        } else {
+          return component_;
+        }
+      }
+      private com.google.protobuf.SingleFieldBuilder<
+          com.orbekk.same.Services.Component, com.orbekk.same.Services.Component.Builder, com.orbekk.same.Services.ComponentOrBuilder> 
+          getComponentFieldBuilder() {
+        if (componentBuilder_ == null) {
+          componentBuilder_ = new com.google.protobuf.SingleFieldBuilder<
+              com.orbekk.same.Services.Component, com.orbekk.same.Services.Component.Builder, com.orbekk.same.Services.ComponentOrBuilder>(
+                  component_,
+                  getParentForChildren(),
+                  isClean());
+          component_ = null;
+        }
+        return componentBuilder_;
+      }
+      
+      // @@protoc_insertion_point(builder_scope:com.orbekk.same.ComponentResponse)
+    }
+    
+    static {
+      defaultInstance = new ComponentResponse(true);
+      defaultInstance.initFields();
+    }
+    
+    // @@protoc_insertion_point(class_scope:com.orbekk.same.ComponentResponse)
+  }
+  
+  public interface ScanRequestOrBuilder
+      extends com.google.protobuf.MessageOrBuilder {
+    
+    // optional string prefix = 1;
+    boolean hasPrefix();
+    String getPrefix();
+    
+    // optional string start_after = 2;
+    boolean hasStartAfter();
+    String getStartAfter();
+    
+    // optional int32 limit = 3;
+    boolean hasLimit();
+    int getLimit();
+  }
+  public static final class ScanRequest extends
+      com.google.protobuf.GeneratedMessage
+      implements ScanRequestOrBuilder {
+    // Use ScanRequest.newBuilder() to construct.
+    private ScanRequest(Builder builder) {
+      super(builder);
+    }
+    private ScanRequest(boolean noInit) {}
+    
+    private static final ScanRequest defaultInstance;
+    public static ScanRequest getDefaultInstance() {
+      return defaultInstance;
+    }
+    
+    public ScanRequest getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+    
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.orbekk.same.Services.internal_static_com_orbekk_same_ScanRequest_descriptor;
+    }
+    
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.orbekk.same.Services.internal_static_com_orbekk_same_ScanRequest_fieldAccessorTable;
+    }
+    
+    private int bitField0_;
+    // optional string prefix = 1;
+    public static final int PREFIX_FIELD_NUMBER = 1;
+    private java.lang.Object prefix_;
+    public boolean hasPrefix() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    public String getPrefix() {
+      java.lang.Object ref = prefix_;
+      if (ref instanceof String) {
+        return (String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        String s = bs.toStringUtf8();
+        if (com.google.protobuf.Internal.isValidUtf8(bs)) {
+          prefix_ = s;
+        }
+        return s;
+      }
+    }
+    private com.google.protobuf.ByteString getPrefixBytes() {
+      java.lang.Object ref = prefix_;
+      if (ref instanceof String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8((String) ref);
+        prefix_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+    
+    // optional string start_after = 2;
+    public static final int START_AFTER_FIELD_NUMBER = 2;
+    private java.lang.Object startAfter_;
+    public boolean hasStartAfter() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
+    }
+    public String getStartAfter() {
+      java.lang.Object ref = startAfter_;
+      if (ref instanceof String) {
+        return (String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        String s = bs.toStringUtf8();
+        if (com.google.protobuf.Internal.isValidUtf8(bs)) {
+          startAfter_ = s;
+        }
+        return s;
+      }
+    }
+    private com.google.protobuf.ByteString getStartAfterBytes() {
+      java.lang.Object ref = startAfter_;
+      if (ref instanceof String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8((String) ref);
+        startAfter_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+    
+    // optional int32 limit = 3;
+    public static final int LIMIT_FIELD_NUMBER = 3;
+    private int limit_;
+    public boolean hasLimit() {
+      return ((bitField0_ & 0x00000004) == 0x00000004);
+    }
+    public int getLimit() {
+      return limit_;
+    }
+    
+    private void initFields() {
+      prefix_ = "";
+      startAfter_ = "";
+      limit_ = 0;
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized != -1) return isInitialized == 1;
+      
+      memoizedIsInitialized = 1;
+      return true;
+    }
+    
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeBytes(1, getPrefixBytes());
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeBytes(2, getStartAfterBytes());
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        output.writeInt32(3, limit_);
+      }
+      getUnknownFields().writeTo(output);
+    }
+    
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+    
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(1, getPrefixBytes());
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(2, getStartAfterBytes());
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(3, limit_);
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+    
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+    
+    public static com.orbekk.same.Services.ScanRequest parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data).buildParsed();
+    }
+    public static com.orbekk.same.Services.ScanRequest parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.ScanRequest parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data).buildParsed();
+    }
+    public static com.orbekk.same.Services.ScanRequest parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.ScanRequest parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input).buildParsed();
+    }
+    public static com.orbekk.same.Services.ScanRequest parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.ScanRequest parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      Builder builder = newBuilder();
+      if (builder.mergeDelimitedFrom(input)) {
+        return builder.buildParsed();
+      } else {
+        return null;
+      }
+    }
+    public static com.orbekk.same.Services.ScanRequest parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      Builder builder = newBuilder();
+      if (builder.mergeDelimitedFrom(input, extensionRegistry)) {
+        return builder.buildParsed();
+      } else {
+        return null;
+      }
+    }
+    public static com.orbekk.same.Services.ScanRequest parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input).buildParsed();
+    }
+    public static com.orbekk.same.Services.ScanRequest parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input, extensionRegistry)
+               .buildParsed();
+    }
+    
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(com.orbekk.same.Services.ScanRequest prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+    
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder>
+       implements com.orbekk.same.Services.ScanRequestOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.orbekk.same.Services.internal_static_com_orbekk_same_ScanRequest_descriptor;
+      }
+      
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.orbekk.same.Services.internal_static_com_orbekk_same_ScanRequest_fieldAccessorTable;
+      }
+      
+      // Construct using com.orbekk.same.Services.ScanRequest.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+      
+      private Builder(BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+      
+      public Builder clear() {
+        super.clear();
+        prefix_ = "";
+        bitField0_ = (bitField0_ & ~0x00000001);
+        startAfter_ = "";
+        bitField0_ = (bitField0_ & ~0x00000002);
+        limit_ = 0;
+        bitField0_ = (bitField0_ & ~0x00000004);
+        return this;
+      }
+      
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+      
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.orbekk.same.Services.ScanRequest.getDescriptor();
+      }
+      
+      public com.orbekk.same.Services.ScanRequest getDefaultInstanceForType() {
+        return com.orbekk.same.Services.ScanRequest.getDefaultInstance();
+      }
+      
+      public com.orbekk.same.Services.ScanRequest build() {
+        com.orbekk.same.Services.ScanRequest result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+      
+      private com.orbekk.same.Services.ScanRequest buildParsed()
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        com.orbekk.same.Services.ScanRequest result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(
+            result).asInvalidProtocolBufferException();
+        }
+        return result;
+      }
+      
+      public com.orbekk.same.Services.ScanRequest buildPartial() {
+        com.orbekk.same.Services.ScanRequest result = new com.orbekk.same.Services.ScanRequest(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.prefix_ = prefix_;
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        result.startAfter_ = startAfter_;
+        if (((from_bitField0_ & 0x00000004) == 0x00000004)) {
+          to_bitField0_ |= 0x00000004;
+        }
+        result.limit_ = limit_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+      
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.orbekk.same.Services.ScanRequest) {
+          return mergeFrom((com.orbekk.same.Services.ScanRequest)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+      
+      public Builder mergeFrom(com.orbekk.same.Services.ScanRequest other) {
+        if (other == com.orbekk.same.Services.ScanRequest.getDefaultInstance()) return this;
+        if (other.hasPrefix()) {
+          setPrefix(other.getPrefix());
+        }
+        if (other.hasStartAfter()) {
+          setStartAfter(other.getStartAfter());
+        }
+        if (other.hasLimit()) {
+          setLimit(other.getLimit());
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+      
+      public final boolean isInitialized() {
+        return true;
+      }
+      
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder(
+            this.getUnknownFields());
+        while (true) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              this.setUnknownFields(unknownFields.build());
+              onChanged();
+              return this;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                this.setUnknownFields(unknownFields.build());
+                onChanged();
+                return this;
+              }
+              break;
+            }
+            case 10: {
+              bitField0_ |= 0x00000001;
+              prefix_ = input.readBytes();
+              break;
+            }
+            case 18: {
+              bitField0_ |= 0x00000002;
+              startAfter_ = input.readBytes();
+              break;
+            }
+            case 24: {
+              bitField0_ |= 0x00000004;
+              limit_ = input.readInt32();
+              break;
+            }
+          }
+        }
+      }
+      
+      private int bitField0_;
+      
+      // optional string prefix = 1;
+      private java.lang.Object prefix_ = "";
+      public boolean hasPrefix() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      public String getPrefix() {
+        java.lang.Object ref = prefix_;
+        if (!(ref instanceof String)) {
+          String s = ((com.google.protobuf.ByteString) ref).toStringUtf8();
+          prefix_ = s;
+          return s;
+        } else {
+          return (String) ref;
+        }
+      }
+      public Builder setPrefix(String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000001;
+        prefix_ = value;
+        onChanged();
+        return this;
+      }
+      public Builder clearPrefix() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        prefix_ = getDefaultInstance().getPrefix();
+        onChanged();
+        return this;
+      }
+      void setPrefix(com.google.protobuf.ByteString value) {
+        bitField0_ |= 0x00000001;
+        prefix_ = value;
+        onChanged();
+      }
+      
+      // optional string start_after = 2;
+      private java.lang.Object startAfter_ = "";
+      public boolean hasStartAfter() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      public String getStartAfter() {
+        java.lang.Object ref = startAfter_;
+        if (!(ref instanceof String)) {
+          String s = ((com.google.protobuf.ByteString) ref).toStringUtf8();
+          startAfter_ = s;
+          return s;
+        } else {
+          return (String) ref;
+        }
+      }
+      public Builder setStartAfter(String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000002;
+        startAfter_ = value;
+        onChanged();
+        return this;
+      }
+      public Builder clearStartAfter() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        startAfter_ = getDefaultInstance().getStartAfter();
+        onChanged();
+        return this;
+      }
+      void setStartAfter(com.google.protobuf.ByteString value) {
+        bitField0_ |= 0x00000002;
+        startAfter_ = value;
+        onChanged();
+      }
+      
+      // optional int32 limit = 3;
+      private int limit_ ;
+      public boolean hasLimit() {
+        return ((bitField0_ & 0x00000004) == 0x00000004);
+      }
+      public int getLimit() {
+        return limit_;
+      }
+      public Builder setLimit(int value) {
+        bitField0_ |= 0x00000004;
+        limit_ = value;
+        onChanged();
+        return this;
+      }
+      public Builder clearLimit() {
+        bitField0_ = (bitField0_ & ~0x00000004);
+        limit_ = 0;
+        onChanged();
+        return this;
+      }
+      
+      // @@protoc_insertion_point(builder_scope:com.orbekk.same.ScanRequest)
+    }
+    
+    static {
+      defaultInstance = new ScanRequest(true);
+      defaultInstance.initFields();
+    }
+    
+    // @@protoc_insertion_point(class_scope:com.orbekk.same.ScanRequest)
+  }
+  
+  public interface ScanResponseOrBuilder
+      extends com.google.protobuf.MessageOrBuilder {
+    
+    // optional int64 revision = 1;
+    boolean hasRevision();
+    long getRevision();
+    
+    // repeated .com.orbekk.same.Component component = 2;
+    java.util.List<com.orbekk.same.Services.Component> 
+        getComponentList();
+    com.orbekk.same.Services.Component getComponent(int index);
+    int getComponentCount();
+    java.util.List<? extends com.orbekk.same.Services.ComponentOrBuilder> 
+        getComponentOrBuilderList();
+    com.orbekk.same.Services.ComponentOrBuilder getComponentOrBuilder(
+        int index);
+    
+    // optional string next_start_after = 3;
+    boolean hasNextStartAfter();
+    String getNextStartAfter();
+  }
+  public static final class ScanResponse extends
+      com.google.protobuf.GeneratedMessage
+      implements ScanResponseOrBuilder {
+    // Use ScanResponse.newBuilder() to construct.
+    private ScanResponse(Builder builder) {
+      super(builder);
+    }
+    private ScanResponse(boolean noInit) {}
+    
+    private static final ScanResponse defaultInstance;
+    public static ScanResponse getDefaultInstance() {
+      return defaultInstance;
+    }
+    
+    public ScanResponse getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+    
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.orbekk.same.Services.internal_static_com_orbekk_same_ScanResponse_descriptor;
+    }
+    
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.orbekk.same.Services.internal_static_com_orbekk_same_ScanResponse_fieldAccessorTable;
+    }
+    
+    private int bitField0_;
+    // optional int64 revision = 1;
+    public static final int REVISION_FIELD_NUMBER = 1;
+    private long revision_;
+    public boolean hasRevision() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    public long getRevision() {
+      return revision_;
+    }
+    
+    // repeated .com.orbekk.same.Component component = 2;
+    public static final int COMPONENT_FIELD_NUMBER = 2;
+    private java.util.List<com.orbekk.same.Services.Component> component_;
+    public java.util.List<com.orbekk.same.Services.Component> getComponentList() {
+      return component_;
+    }
+    public java.util.List<? extends com.orbekk.same.Services.ComponentOrBuilder> 
+        getComponentOrBuilderList() {
+      return component_;
+    }
+    public int getComponentCount() {
+      return component_.size();
+    }
+    public com.orbekk.same.Services.Component getComponent(int index) {
+      return component_.get(index);
+    }
+    public com.orbekk.same.Services.ComponentOrBuilder getComponentOrBuilder(
+        int index) {
+      return component_.get(index);
+    }
+    
+    // optional string next_start_after = 3;
+    public static final int NEXT_START_AFTER_FIELD_NUMBER = 3;
+    private java.lang.Object nextStartAfter_;
+    public boolean hasNextStartAfter() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
+    }
+    public String getNextStartAfter() {
+      java.lang.Object ref = nextStartAfter_;
+      if (ref instanceof String) {
+        return (String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        String s = bs.toStringUtf8();
+        if (com.google.protobuf.Internal.isValidUtf8(bs)) {
+          nextStartAfter_ = s;
+        }
+        return s;
+      }
+    }
+    private com.google.protobuf.ByteString getNextStartAfterBytes() {
+      java.lang.Object ref = nextStartAfter_;
+      if (ref instanceof String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8((String) ref);
+        nextStartAfter_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+    
+    private void initFields() {
+      revision_ = 0L;
+      component_ = java.util.Collections.emptyList();
+      nextStartAfter_ = "";
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized != -1) return isInitialized == 1;
+      
+      for (int i = 0; i < getComponentCount(); i++) {
+        if (!getComponent(i).isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
+      memoizedIsInitialized = 1;
+      return true;
+    }
+    
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeInt64(1, revision_);
+      }
+      for (int i = 0; i < component_.size(); i++) {
+        output.writeMessage(2, component_.get(i));
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeBytes(3, getNextStartAfterBytes());
+      }
+      getUnknownFields().writeTo(output);
+    }
+    
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+    
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(1, revision_);
+      }
+      for (int i = 0; i < component_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(2, component_.get(i));
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(3, getNextStartAfterBytes());
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+    
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+    
+    public static com.orbekk.same.Services.ScanResponse parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data).buildParsed();
+    }
+    public static com.orbekk.same.Services.ScanResponse parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.ScanResponse parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data).buildParsed();
+    }
+    public static com.orbekk.same.Services.ScanResponse parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.ScanResponse parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input).buildParsed();
+    }
+    public static com.orbekk.same.Services.ScanResponse parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.ScanResponse parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      Builder builder = newBuilder();
+      if (builder.mergeDelimitedFrom(input)) {
+        return builder.buildParsed();
+      } else {
+        return null;
+      }
+    }
+    public static com.orbekk.same.Services.ScanResponse parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      Builder builder = newBuilder();
+      if (builder.mergeDelimitedFrom(input, extensionRegistry)) {
+        return builder.buildParsed();
+      } else {
+        return null;
+      }
+    }
+    public static com.orbekk.same.Services.ScanResponse parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input).buildParsed();
+    }
+    public static com.orbekk.same.Services.ScanResponse parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input, extensionRegistry)
+               .buildParsed();
+    }
+    
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(com.orbekk.same.Services.ScanResponse prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+    
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder>
+       implements com.orbekk.same.Services.ScanResponseOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.orbekk.same.Services.internal_static_com_orbekk_same_ScanResponse_descriptor;
+      }
+      
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.orbekk.same.Services.internal_static_com_orbekk_same_ScanResponse_fieldAccessorTable;
+      }
+      
+      // Construct using com.orbekk.same.Services.ScanResponse.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+      
+      private Builder(BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+          getComponentFieldBuilder();
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+      
+      public Builder clear() {
+        super.clear();
+        revision_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000001);
+        if (componentBuilder_ == null) {
+          component_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000002);
+        } else {
+          componentBuilder_.clear();
+        }
+        nextStartAfter_ = "";
+        bitField0_ = (bitField0_ & ~0x00000004);
+        return this;
+      }
+      
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+      
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.orbekk.same.Services.ScanResponse.getDescriptor();
+      }
+      
+      public com.orbekk.same.Services.ScanResponse getDefaultInstanceForType() {
+        return com.orbekk.same.Services.ScanResponse.getDefaultInstance();
+      }
+      
+      public com.orbekk.same.Services.ScanResponse build() {
+        com.orbekk.same.Services.ScanResponse result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+      
+      private com.orbekk.same.Services.ScanResponse buildParsed()
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        com.orbekk.same.Services.ScanResponse result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(
+            result).asInvalidProtocolBufferException();
+        }
+        return result;
+      }
+      
+      public com.orbekk.same.Services.ScanResponse buildPartial() {
+        com.orbekk.same.Services.ScanResponse result = new com.orbekk.same.Services.ScanResponse(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.revision_ = revision_;
+        if (componentBuilder_ == null) {
+          if (((bitField0_ & 0x00000002) == 0x00000002)) {
+            component_ = java.util.Collections.unmodifiableList(component_);
+            bitField0_ = (bitField0_ & ~0x00000002);
+          }
+          result.component_ = component_;
+        } else {
+          result.component_ = componentBuilder_.build();
+        }
+        if (((from_bitField0_ & 0x00000004) == 0x00000004)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        result.nextStartAfter_ = nextStartAfter_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+      
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.orbekk.same.Services.ScanResponse) {
+          return mergeFrom((com.orbekk.same.Services.ScanResponse)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+      
+      public Builder mergeFrom(com.orbekk.same.Services.ScanResponse other) {
+        if (other == com.orbekk.same.Services.ScanResponse.getDefaultInstance()) return this;
+        if (other.hasRevision()) {
+          setRevision(other.getRevision());
+        }
+        if (componentBuilder_ == null) {
+          if (!other.component_.isEmpty()) {
+            if (component_.isEmpty()) {
+              component_ = other.component_;
+              bitField0_ = (bitField0_ & ~0x00000002);
+            } else {
+              ensureComponentIsMutable();
+              component_.addAll(other.component_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.component_.isEmpty()) {
+            if (componentBuilder_.isEmpty()) {
+              componentBuilder_.dispose();
+              componentBuilder_ = null;
+              component_ = other.component_;
+              bitField0_ = (bitField0_ & ~0x00000002);
+              componentBuilder_ = 
+                com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders ?
+                   getComponentFieldBuilder() : null;
+            } else {
+              componentBuilder_.addAllMessages(other.component_);
+            }
+          }
+        }
+        if (other.hasNextStartAfter()) {
+          setNextStartAfter(other.getNextStartAfter());
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+      
+      public final boolean isInitialized() {
+        for (int i = 0; i < getComponentCount(); i++) {
+          if (!getComponent(i).isInitialized()) {
+            
+            return false;
+          }
+        }
+        return true;
+      }
+      
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder(
+            this.getUnknownFields());
+        while (true) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              this.setUnknownFields(unknownFields.build());
+              onChanged();
+              return this;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                this.setUnknownFields(unknownFields.build());
+                onChanged();
+                return this;
+              }
+              break;
+            }
+            case 8: {
+              bitField0_ |= 0x00000001;
+              revision_ = input.readInt64();
+              break;
+            }
+            case 18: {
+              com.orbekk.same.Services.Component.Builder subBuilder = com.orbekk.same.Services.Component.newBuilder();
+              input.readMessage(subBuilder, extensionRegistry);
+              addComponent(subBuilder.buildPartial());
+              break;
+            }
+            case 26: {
+              bitField0_ |= 0x00000004;
+              nextStartAfter_ = input.readBytes();
+              break;
+            }
+          }
+        }
+      }
+      
+      private int bitField0_;
+      
+      // optional int64 revision = 1;
+      private long revision_ ;
+      public boolean hasRevision() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      public long getRevision() {
+        return revision_;
+      }
+      public Builder setRevision(long value) {
+        bitField0_ |= 0x00000001;
+        revision_ = value;
+        onChanged();
+        return this;
+      }
+      public Builder clearRevision() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        revision_ = 0L;
+        onChanged();
+        return this;
+      }
+      
+      // repeated .com.orbekk.same.Component component = 2;
+      private java.util.List<com.orbekk.same.Services.Component> component_ =
+        java.util.Collections.emptyList();
+      private void ensureComponentIsMutable() {
+        if (!((bitField0_ & 0x00000002) == 0x00000002)) {
+          component_ = new java.util.ArrayList<com.orbekk.same.Services.Component>(component_);
+          bitField0_ |= 0x00000002;
+         }
+      }
+      
+      private com.google.protobuf.RepeatedFieldBuilder<
+          com.orbekk.same.Services.Component, com.orbekk.same.Services.Component.Builder, com.orbekk.same.Services.ComponentOrBuilder> componentBuilder_;
+      
+      public java.util.List<com.orbekk.same.Services.Component> getComponentList() {
+        if (componentBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(component_);
+        } else {
+          return componentBuilder_.getMessageList();
+        }
+      }
+      public int getComponentCount() {
+        if (componentBuilder_ == null) {
+          return component_.size();
+        } else {
+          return componentBuilder_.getCount();
+        }
+      }
+      public com.orbekk.same.Services.Component getComponent(int index) {
+        if (componentBuilder_ == null) {
+          return component_.get(index);
+        } else {
+          return componentBuilder_.getMessage(index);
+        }
+      }
+      public Builder setComponent(
+          int index, com.orbekk.same.Services.Component value) {
+        if (componentBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureComponentIsMutable();
+          component_.set(index, value);
+          onChanged();
+        } else {
+          componentBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      public Builder setComponent(
+          int index, com.orbekk.same.Services.Component.Builder builderForValue) {
+        if (componentBuilder_ == null) {
+          ensureComponentIsMutable();
+          component_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          componentBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      public Builder addComponent(com.orbekk.same.Services.Component value) {
+        if (componentBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureComponentIsMutable();
+          component_.add(value);
+          onChanged();
+        } else {
+          componentBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      public Builder addComponent(
+          int index, com.orbekk.same.Services.Component value) {
+        if (componentBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureComponentIsMutable();
+          component_.add(index, value);
+          onChanged();
+        } else {
+          componentBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      public Builder addComponent(
+          com.orbekk.same.Services.Component.Builder builderForValue) {
+        if (componentBuilder_ == null) {
+          ensureComponentIsMutable();
+          component_.add(builderForValue.build());
+          onChanged();
+        } else {
+          componentBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      public Builder addComponent(
+          int index, com.orbekk.same.Services.Component.Builder builderForValue) {
+        if (componentBuilder_ == null) {
+          ensureComponentIsMutable();
+          component_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          componentBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      public Builder addAllComponent(
+          java.lang.Iterable<? extends com.orbekk.same.Services.Component> values) {
+        if (componentBuilder_ == null) {
+          ensureComponentIsMutable();
+          super.addAll(values, component_);
+          onChanged();
+        } else {
+          componentBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      public Builder clearComponent() {
+        if (componentBuilder_ == null) {
+          component_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000002);
+          onChanged();
+        } else {
+          componentBuilder_.clear();
+        }
+        return this;
+      }
+      public Builder removeComponent(int index) {
+        if (componentBuilder_ == null) {
+          ensureComponentIsMutable();
+          component_.remove(index);
+          onChanged();
+        } else {
+          componentBuilder_.remove(index);
+        }
+        return this;
+      }
+      public com.orbekk.same.Services.Component.Builder getComponentBuilder(
+          int index) {
+        return getComponentFieldBuilder().getBuilder(index);
+      }
+      public com.orbekk.same.Services.ComponentOrBuilder getComponentOrBuilder(
+          int index) {
+        if (componentBuilder_ == null) {
+          return component_.get(index);  } else {
+          return componentBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      public java.util.List<? extends com.orbekk.same.Services.ComponentOrBuilder> 
+           getComponentOrBuilderList() {
+        if (componentBuilder_ != null) {
+          return componentBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(component_);
+        }
+      }
+      public com.orbekk.same.Services.Component.Builder addComponentBuilder() {
+        return getComponentFieldBuilder().addBuilder(
+            com.orbekk.same.Services.Component.getDefaultInstance());
+      }
+      public com.orbekk.same.Services.Component.Builder addComponentBuilder(
+          int index) {
+        return getComponentFieldBuilder().addBuilder(
+            index, com.orbekk.same.Services.Component.getDefaultInstance());
+      }
+      public java.util.List<com.orbekk.same.Services.Component.Builder> 
+           getComponentBuilderList() {
+        return getComponentFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilder<
+          com.orbekk.same.Services.Component, com.orbekk.same.Services.Component.Builder, com.orbekk.same.Services.ComponentOrBuilder> 
+          getComponentFieldBuilder() {
+        if (componentBuilder_ == null) {
+          componentBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
+              com.orbekk.same.Services.Component, com.orbekk.same.Services.Component.Builder, com.orbekk.same.Services.ComponentOrBuilder>(
+                  component_,
+                  ((bitField0_ & 0x00000002) == 0x00000002),
+                  getParentForChildren(),
+                  isClean());
+          component_ = null;
+        }
+        return componentBuilder_;
+      }
+      
+      // optional string next_start_after = 3;
+      private java.lang.Object nextStartAfter_ = "";
+      public boolean hasNextStartAfter() {
+        return ((bitField0_ & 0x00000004) == 0x00000004);
+      }
+      public String getNextStartAfter() {
+        java.lang.Object ref = nextStartAfter_;
+        if (!(ref instanceof String)) {
+          String s = ((com.google.protobuf.ByteString) ref).toStringUtf8();
+          nextStartAfter_ = s;
+          return s;
+        } else {
+          return (String) ref;
+        }
+      }
+      public Builder setNextStartAfter(String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000004;
+        nextStartAfter_ = value;
+        onChanged();
+        return this;
+      }
+      public Builder clearNextStartAfter() {
+        bitField0_ = (bitField0_ & ~0x00000004);
+        nextStartAfter_ = getDefaultInstance().getNextStartAfter();
+        onChanged();
+        return this;
+      }
+      void setNextStartAfter(com.google.protobuf.ByteString value) {
+        bitField0_ |= 0x00000004;
+        nextStartAfter_ = value;
+        onChanged();
+      }
+      
+      // @@protoc_insertion_point(builder_scope:com.orbekk.same.ScanResponse)
+    }
+    
+    static {
+      defaultInstance = new ScanResponse(true);
+      defaultInstance.initFields();
+    }
+    
+    // @@protoc_insertion_point(class_scope:com.orbekk.same.ScanResponse)
+  }
+  
+  public interface OperationRequestOrBuilder
+      extends com.google.protobuf.MessageOrBuilder {
+    
+    // optional string id = 1;
+    boolean hasId();
+    String getId();
+    
+    // optional .com.orbekk.same.OperationRequest.Operator operator = 2;
+    boolean hasOperator();
+    com.orbekk.same.Services.OperationRequest.Operator getOperator();
+    
+    // optional bytes operand = 3;
+    boolean hasOperand();
+    com.google.protobuf.ByteString getOperand();
+    
+    // optional string key = 4;
+    boolean hasKey();
+    String getKey();
+    
+    // optional string origin = 5;
+    boolean hasOrigin();
+    String getOrigin();
+  }
+  public static final class OperationRequest extends
+      com.google.protobuf.GeneratedMessage
+      implements OperationRequestOrBuilder {
+    // Use OperationRequest.newBuilder() to construct.
+    private OperationRequest(Builder builder) {
+      super(builder);
+    }
+    private OperationRequest(boolean noInit) {}
+    
+    private static final OperationRequest defaultInstance;
+    public static OperationRequest getDefaultInstance() {
+      return defaultInstance;
+    }
+    
+    public OperationRequest getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+    
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.orbekk.same.Services.internal_static_com_orbekk_same_OperationRequest_descriptor;
+    }
+    
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.orbekk.same.Services.internal_static_com_orbekk_same_OperationRequest_fieldAccessorTable;
+    }
+    
+    public enum Operator
+        implements com.google.protobuf.ProtocolMessageEnum {
+      ADD(0, 1),
+      APPEND(1, 2),
+      REMOVE(2, 3),
+      PUT(3, 4),
+      REMOVE_KEY(4, 5),
+      MIN(5, 6),
+      MAX(6, 7),
+      ;
+      
+      public static final int ADD_VALUE = 1;
+      public static final int APPEND_VALUE = 2;
+      public static final int REMOVE_VALUE = 3;
+      public static final int PUT_VALUE = 4;
+      public static final int REMOVE_KEY_VALUE = 5;
+      public static final int MIN_VALUE = 6;
+      public static final int MAX_VALUE = 7;
+      
+      
+      public final int getNumber() { return value; }
+      
+      public static Operator valueOf(int value) {
+        switch (value) {
+          case 1: return ADD;
+          case 2: return APPEND;
+          case 3: return REMOVE;
+          case 4: return PUT;
+          case 5: return REMOVE_KEY;
+          case 6: return MIN;
+          case 7: return MAX;
+          default: return null;
+        }
+      }
+      
+      public static com.google.protobuf.Internal.EnumLiteMap<Operator>
+          internalGetValueMap() {
+        return internalValueMap;
+      }
+      private static com.google.protobuf.Internal.EnumLiteMap<Operator>
+          internalValueMap =
+            new com.google.protobuf.Internal.EnumLiteMap<Operator>() {
+              public Operator findValueByNumber(int number) {
+                return Operator.valueOf(number);
+              }
+            };
+      
+      public final com.google.protobuf.Descriptors.EnumValueDescriptor
+          getValueDescriptor() {
+        return getDescriptor().getValues().get(index);
+      }
+      public final com.google.protobuf.Descriptors.EnumDescriptor
+          getDescriptorForType() {
+        return getDescriptor();
+      }
+      public static final com.google.protobuf.Descriptors.EnumDescriptor
+          getDescriptor() {
+        return com.orbekk.same.Services.OperationRequest.getDescriptor().getEnumTypes().get(0);
+      }
+      
+      private static final Operator[] VALUES = {
+        ADD, APPEND, REMOVE, PUT, REMOVE_KEY, MIN, MAX, 
+      };
+      
+      public static Operator valueOf(
+          com.google.protobuf.Descriptors.EnumValueDescriptor desc) {
+        if (desc.getType() != getDescriptor()) {
+          throw new java.lang.IllegalArgumentException(
+            "EnumValueDescriptor is not for this type.");
+        }
+        return VALUES[desc.getIndex()];
+      }
+      
+      private final int index;
+      private final int value;
+      
+      private Operator(int index, int value) {
+        this.index = index;
+        this.value = value;
+      }
+      
+      // @@protoc_insertion_point(enum_scope:com.orbekk.same.OperationRequest.Operator)
+    }
+    
+    private int bitField0_;
+    // optional string id = 1;
+    public static final int ID_FIELD_NUMBER = 1;
+    private java.lang.Object id_;
+    public boolean hasId() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    public String getId() {
+      java.lang.Object ref = id_;
+      if (ref instanceof String) {
+        return (String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        String s = bs.toStringUtf8();
+        if (com.google.protobuf.Internal.isValidUtf8(bs)) {
+          id_ = s;
+        }
+        return s;
+      }
+    }
+    private com.google.protobuf.ByteString getIdBytes() {
+      java.lang.Object ref = id_;
+      if (ref instanceof String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8((String) ref);
+        id_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+    
+    // optional .com.orbekk.same.OperationRequest.Operator operator = 2;
+    public static final int OPERATOR_FIELD_NUMBER = 2;
+    private com.orbekk.same.Services.OperationRequest.Operator operator_;
+    public boolean hasOperator() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
+    }
+    public com.orbekk.same.Services.OperationRequest.Operator getOperator() {
+      return operator_;
+    }
+    
+    // optional bytes operand = 3;
+    public static final int OPERAND_FIELD_NUMBER = 3;
+    private com.google.protobuf.ByteString operand_;
+    public boolean hasOperand() {
+      return ((bitField0_ & 0x00000004) == 0x00000004);
+    }
+    public com.google.protobuf.ByteString getOperand() {
+      return operand_;
+    }
+    
+    // optional string key = 4;
+    public static final int KEY_FIELD_NUMBER = 4;
+    private java.lang.Object key_;
+    public boolean hasKey() {
+      return ((bitField0_ & 0x00000008) == 0x00000008);
+    }
+    public String getKey() {
+      java.lang.Object ref = key_;
+      if (ref instanceof String) {
+        return (String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        String s = bs.toStringUtf8();
+        if (com.google.protobuf.Internal.isValidUtf8(bs)) {
+          key_ = s;
+        }
+        return s;
+      }
+    }
+    private com.google.protobuf.ByteString getKeyBytes() {
+      java.lang.Object ref = key_;
+      if (ref instanceof String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8((String) ref);
+        key_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+    
+    // optional string origin = 5;
+    public static final int ORIGIN_FIELD_NUMBER = 5;
+    private java.lang.Object origin_;
+    public boolean hasOrigin() {
+      return ((bitField0_ & 0x00000010) == 0x00000010);
+    }
+    public String getOrigin() {
+      java.lang.Object ref = origin_;
+      if (ref instanceof String) {
+        return (String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        String s = bs.toStringUtf8();
+        if (com.google.protobuf.Internal.isValidUtf8(bs)) {
+          origin_ = s;
+        }
+        return s;
+      }
+    }
+    private com.google.protobuf.ByteString getOriginBytes() {
+      java.lang.Object ref = origin_;
+      if (ref instanceof String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8((String) ref);
+        origin_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+    
+    private void initFields() {
+      id_ = "";
+      operator_ = com.orbekk.same.Services.OperationRequest.Operator.ADD;
+      operand_ = com.google.protobuf.ByteString.EMPTY;
+      key_ = "";
+      origin_ = "";
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized != -1) return isInitialized == 1;
+      
+      memoizedIsInitialized = 1;
+      return true;
+    }
+    
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeBytes(1, getIdBytes());
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeEnum(2, operator_.getNumber());
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        output.writeBytes(3, operand_);
+      }
+      if (((bitField0_ & 0x00000008) == 0x00000008)) {
+        output.writeBytes(4, getKeyBytes());
+      }
+      if (((bitField0_ & 0x00000010) == 0x00000010)) {
+        output.writeBytes(5, getOriginBytes());
+      }
+      getUnknownFields().writeTo(output);
+    }
+    
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+    
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(1, getIdBytes());
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeEnumSize(2, operator_.getNumber());
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(3, operand_);
+      }
+      if (((bitField0_ & 0x00000008) == 0x00000008)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(4, getKeyBytes());
+      }
+      if (((bitField0_ & 0x00000010) == 0x00000010)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(5, getOriginBytes());
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+    
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+    
+    public static com.orbekk.same.Services.OperationRequest parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data).buildParsed();
+    }
+    public static com.orbekk.same.Services.OperationRequest parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.OperationRequest parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data).buildParsed();
+    }
+    public static com.orbekk.same.Services.OperationRequest parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.OperationRequest parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input).buildParsed();
+    }
+    public static com.orbekk.same.Services.OperationRequest parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.OperationRequest parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      Builder builder = newBuilder();
+      if (builder.mergeDelimitedFrom(input)) {
+        return builder.buildParsed();
+      } else {
+        return null;
+      }
+    }
+    public static com.orbekk.same.Services.OperationRequest parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      Builder builder = newBuilder();
+      if (builder.mergeDelimitedFrom(input, extensionRegistry)) {
+        return builder.buildParsed();
+      } else {
+        return null;
+      }
+    }
+    public static com.orbekk.same.Services.OperationRequest parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input).buildParsed();
+    }
+    public static com.orbekk.same.Services.OperationRequest parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input, extensionRegistry)
+               .buildParsed();
+    }
+    
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(com.orbekk.same.Services.OperationRequest prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+    
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder>
+       implements com.orbekk.same.Services.OperationRequestOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.orbekk.same.Services.internal_static_com_orbekk_same_OperationRequest_descriptor;
+      }
+      
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.orbekk.same.Services.internal_static_com_orbekk_same_OperationRequest_fieldAccessorTable;
+      }
+      
+      // Construct using com.orbekk.same.Services.OperationRequest.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+      
+      private Builder(BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+      
+      public Builder clear() {
+        super.clear();
+        id_ = "";
+        bitField0_ = (bitField0_ & ~0x00000001);
+        operator_ = com.orbekk.same.Services.OperationRequest.Operator.ADD;
+        bitField0_ = (bitField0_ & ~0x00000002);
+        operand_ = com.google.protobuf.ByteString.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000004);
+        key_ = "";
+        bitField0_ = (bitField0_ & ~0x00000008);
+        origin_ = "";
+        bitField0_ = (bitField0_ & ~0x00000010);
+        return this;
+      }
+      
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+      
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.orbekk.same.Services.OperationRequest.getDescriptor();
+      }
+      
+      public com.orbekk.same.Services.OperationRequest getDefaultInstanceForType() {
+        return com.orbekk.same.Services.OperationRequest.getDefaultInstance();
+      }
+      
+      public com.orbekk.same.Services.OperationRequest build() {
+        com.orbekk.same.Services.OperationRequest result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+      
+      private com.orbekk.same.Services.OperationRequest buildParsed()
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        com.orbekk.same.Services.OperationRequest result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(
+            result).asInvalidProtocolBufferException();
+        }
+        return result;
+      }
+      
+      public com.orbekk.same.Services.OperationRequest buildPartial() {
+        com.orbekk.same.Services.OperationRequest result = new com.orbekk.same.Services.OperationRequest(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.id_ = id_;
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        result.operator_ = operator_;
+        if (((from_bitField0_ & 0x00000004) == 0x00000004)) {
+          to_bitField0_ |= 0x00000004;
+        }
+        result.operand_ = operand_;
+        if (((from_bitField0_ & 0x00000008) == 0x00000008)) {
+          to_bitField0_ |= 0x00000008;
+        }
+        result.key_ = key_;
+        if (((from_bitField0_ & 0x00000010) == 0x00000010)) {
+          to_bitField0_ |= 0x00000010;
+        }
+        result.origin_ = origin_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+      
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.orbekk.same.Services.OperationRequest) {
+          return mergeFrom((com.orbekk.same.Services.OperationRequest)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+      
+      public Builder mergeFrom(com.orbekk.same.Services.OperationRequest other) {
+        if (other == com.orbekk.same.Services.OperationRequest.getDefaultInstance()) return this;
+        if (other.hasId()) {
+          setId(other.getId());
+        }
+        if (other.hasOperator()) {
+          setOperator(other.getOperator());
+        }
+        if (other.hasOperand()) {
+          setOperand(other.getOperand());
+        }
+        if (other.hasKey()) {
+          setKey(other.getKey());
+        }
+        if (other.hasOrigin()) {
+          setOrigin(other.getOrigin());
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+      
+      public final boolean isInitialized() {
+        return true;
+      }
+      
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder(
+            this.getUnknownFields());
+        while (true) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              this.setUnknownFields(unknownFields.build());
+              onChanged();
+              return this;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                this.setUnknownFields(unknownFields.build());
+                onChanged();
+                return this;
+              }
+              break;
+            }
+            case 10: {
+              bitField0_ |= 0x00000001;
+              id_ = input.readBytes();
+              break;
+            }
+            case 16: {
+              int rawValue = input.readEnum();
+              com.orbekk.same.Services.OperationRequest.Operator value = com.orbekk.same.Services.OperationRequest.Operator.valueOf(rawValue);
+              if (value == null) {
+                unknownFields.mergeVarintField(2, rawValue);
+              } else {
+                bitField0_ |= 0x00000002;
+                operator_ = value;
+              }
+              break;
+            }
+            case 26: {
+              bitField0_ |= 0x00000004;
+              operand_ = input.readBytes();
+              break;
+            }
+            case 34: {
+              bitField0_ |= 0x00000008;
+              key_ = input.readBytes();
+              break;
+            }
+            case 42: {
+              bitField0_ |= 0x00000010;
+              origin_ = input.readBytes();
+              break;
+            }
+          }
+        }
+      }
+      
+      private int bitField0_;
+      
+      // optional string id = 1;
+      private java.lang.Object id_ = "";
+      public boolean hasId() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      public String getId() {
+        java.lang.Object ref = id_;
+        if (!(ref instanceof String)) {
+          String s = ((com.google.protobuf.ByteString) ref).toStringUtf8();
+          id_ = s;
+          return s;
+        } else {
+          return (String) ref;
+        }
+      }
+      public Builder setId(String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000001;
+        id_ = value;
+        onChanged();
+        return this;
+      }
+      public Builder clearId() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        id_ = getDefaultInstance().getId();
+        onChanged();
+        return this;
+      }
+      void setId(com.google.protobuf.ByteString value) {
+        bitField0_ |= 0x00000001;
+        id_ = value;
+        onChanged();
+      }
+      
+      // optional .com.orbekk.same.OperationRequest.Operator operator = 2;
+      private com.orbekk.same.Services.OperationRequest.Operator operator_ = com.orbekk.same.Services.OperationRequest.Operator.ADD;
+      public boolean hasOperator() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      public com.orbekk.same.Services.OperationRequest.Operator getOperator() {
+        return operator_;
+      }
+      public Builder setOperator(com.orbekk.same.Services.OperationRequest.Operator value) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
+        bitField0_ |= 0x00000002;
+        operator_ = value;
+        onChanged();
+        return this;
+      }
+      public Builder clearOperator() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        operator_ = com.orbekk.same.Services.OperationRequest.Operator.ADD;
+        onChanged();
+        return this;
+      }
+      
+      // optional bytes operand = 3;
+      private com.google.protobuf.ByteString operand_ = com.google.protobuf.ByteString.EMPTY;
+      public boolean hasOperand() {
+        return ((bitField0_ & 0x00000004) == 0x00000004);
+      }
+      public com.google.protobuf.ByteString getOperand() {
+        return operand_;
+      }
+      public Builder setOperand(com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000004;
+        operand_ = value;
+        onChanged();
+        return this;
+      }
+      public Builder clearOperand() {
+        bitField0_ = (bitField0_ & ~0x00000004);
+        operand_ = getDefaultInstance().getOperand();
+        onChanged();
+        return this;
+      }
+      
+      // optional string key = 4;
+      private java.lang.Object key_ = "";
+      public boolean hasKey() {
+        return ((bitField0_ & 0x00000008) == 0x00000008);
+      }
+      public String getKey() {
+        java.lang.Object ref = key_;
+        if (!(ref instanceof String)) {
+          String s = ((com.google.protobuf.ByteString) ref).toStringUtf8();
+          key_ = s;
+          return s;
+        } else {
+          return (String) ref;
+        }
+      }
+      public Builder setKey(String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000008;
+        key_ = value;
+        onChanged();
+        return this;
+      }
+      public Builder clearKey() {
+        bitField0_ = (bitField0_ & ~0x00000008);
+        key_ = getDefaultInstance().getKey();
+        onChanged();
+        return this;
+      }
+      void setKey(com.google.protobuf.ByteString value) {
+        bitField0_ |= 0x00000008;
+        key_ = value;
+        onChanged();
+      }
+      
+      // optional string origin = 5;
+      private java.lang.Object origin_ = "";
+      public boolean hasOrigin() {
+        return ((bitField0_ & 0x00000010) == 0x00000010);
+      }
+      public String getOrigin() {
+        java.lang.Object ref = origin_;
+        if (!(ref instanceof String)) {
+          String s = ((com.google.protobuf.ByteString) ref).toStringUtf8();
+          origin_ = s;
+          return s;
+        } else {
+          return (String) ref;
+        }
+      }
+      public Builder setOrigin(String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000010;
+        origin_ = value;
+        onChanged();
+        return this;
+      }
+      public Builder clearOrigin() {
+        bitField0_ = (bitField0_ & ~0x00000010);
+        origin_ = getDefaultInstance().getOrigin();
+        onChanged();
+        return this;
+      }
+      void setOrigin(com.google.protobuf.ByteString value) {
+        bitField0_ |= 0x00000010;
+        origin_ = value;
+        onChanged();
+      }
+      
+      // @@protoc_insertion_point(builder_scope:com.orbekk.same.OperationRequest)
+    }
+    
+    static {
+      defaultInstance = new OperationRequest(true);
+      defaultInstance.initFields();
+    }
+    
+    // @@protoc_insertion_point(class_scope:com.orbekk.same.OperationRequest)
+  }
+  
+  public interface OperationResponseOrBuilder
+      extends com.google.protobuf.MessageOrBuilder {
+    
+    // optional bool success = 1;
+    boolean hasSuccess();
+    boolean getSuccess();
+    
+    // optional .com.orbekk.same.Component component = 2;
+    boolean hasComponent();
+    com.orbekk.same.Services.Component getComponent();
+    com.orbekk.same.Services.ComponentOrBuilder getComponentOrBuilder();
+    
+    // optional int64 retry_after_millis = 3;
+    boolean hasRetryAfterMillis();
+    long getRetryAfterMillis();
+  }
+  public static final class OperationResponse extends
+      com.google.protobuf.GeneratedMessage
+      implements OperationResponseOrBuilder {
+    // Use OperationResponse.newBuilder() to construct.
+    private OperationResponse(Builder builder) {
+      super(builder);
+    }
+    private OperationResponse(boolean noInit) {}
+    
+    private static final OperationResponse defaultInstance;
+    public static OperationResponse getDefaultInstance() {
+      return defaultInstance;
+    }
+    
+    public OperationResponse getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+    
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.orbekk.same.Services.internal_static_com_orbekk_same_OperationResponse_descriptor;
+    }
+    
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.orbekk.same.Services.internal_static_com_orbekk_same_OperationResponse_fieldAccessorTable;
+    }
+    
+    private int bitField0_;
+    // optional bool success = 1;
+    public static final int SUCCESS_FIELD_NUMBER = 1;
+    private boolean success_;
+    public boolean hasSuccess() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    public boolean getSuccess() {
+      return success_;
+    }
+    
+    // optional .com.orbekk.same.Component component = 2;
+    public static final int COMPONENT_FIELD_NUMBER = 2;
+    private com.orbekk.same.Services.Component component_;
+    public boolean hasComponent() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
+    }
+    public com.orbekk.same.Services.Component getComponent() {
+      return component_;
+    }
+    public com.orbekk.same.Services.ComponentOrBuilder getComponentOrBuilder() {
+      return component_;
+    }
+    
+    // optional int64 retry_after_millis = 3;
+    public static final int RETRY_AFTER_MILLIS_FIELD_NUMBER = 3;
+    private long retryAfterMillis_;
+    public boolean hasRetryAfterMillis() {
+      return ((bitField0_ & 0x00000004) == 0x00000004);
+    }
+    public long getRetryAfterMillis() {
+      return retryAfterMillis_;
+    }
+    
+    private void initFields() {
+      success_ = false;
+      component_ = com.orbekk.same.Services.Component.getDefaultInstance();
+      retryAfterMillis_ = 0L;
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized != -1) return isInitialized == 1;
+      
+      if (hasComponent()) {
+        if (!getComponent().isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
+      memoizedIsInitialized = 1;
+      return true;
+    }
+    
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeBool(1, success_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeMessage(2, component_);
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        output.writeInt64(3, retryAfterMillis_);
+      }
+      getUnknownFields().writeTo(output);
+    }
+    
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+    
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBoolSize(1, success_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(2, component_);
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(3, retryAfterMillis_);
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+    
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+    
+    public static com.orbekk.same.Services.OperationResponse parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data).buildParsed();
+    }
+    public static com.orbekk.same.Services.OperationResponse parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.OperationResponse parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data).buildParsed();
+    }
+    public static com.orbekk.same.Services.OperationResponse parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.OperationResponse parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input).buildParsed();
+    }
+    public static com.orbekk.same.Services.OperationResponse parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.orbekk.same.Services.OperationResponse parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      Builder builder = newBuilder();
+      if (builder.mergeDelimitedFrom(input)) {
+        return builder.buildParsed();
+      } else {
+        return null;
+      }
+    }
+    public static com.orbekk.same.Services.OperationResponse parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      Builder builder = newBuilder();
+      if (builder.mergeDelimitedFrom(input, extensionRegistry)) {
+        return builder.buildParsed();
+      } else {
+        return null;
+      }
+    }
+    public static com.orbekk.same.Services.OperationResponse parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input).buildParsed();
+    }
+    public static com.orbekk.same.Services.OperationResponse parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input, extensionRegistry)
+               .buildParsed();
+    }
+    
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(com.orbekk.same.Services.OperationResponse prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+    
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder>
+       implements com.orbekk.same.Services.OperationResponseOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.orbekk.same.Services.internal_static_com_orbekk_same_OperationResponse_descriptor;
+      }
+      
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.orbekk.same.Services.internal_static_com_orbekk_same_OperationResponse_fieldAccessorTable;
+      }
+      
+      // Construct using com.orbekk.same.Services.OperationResponse.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+      
+      private Builder(BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+          getComponentFieldBuilder();
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+      
+      public Builder clear() {
+        super.clear();
+        success_ = false;
+        bitField0_ = (bitField0_ & ~0x00000001);
+        if (componentBuilder_ == null) {
+          component_ = com.orbekk.same.Services.Component.getDefaultInstance();
+        } else {
+          componentBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000002);
+        retryAfterMillis_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000004);
+        return this;
+      }
+      
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+      
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.orbekk.same.Services.OperationResponse.getDescriptor();
+      }
+      
+      public com.orbekk.same.Services.OperationResponse getDefaultInstanceForType() {
+        return com.orbekk.same.Services.OperationResponse.getDefaultInstance();
+      }
+      
+      public com.orbekk.same.Services.OperationResponse build() {
+        com.orbekk.same.Services.OperationResponse result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+      
+      private com.orbekk.same.Services.OperationResponse buildParsed()
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        com.orbekk.same.Services.OperationResponse result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(
+            result).asInvalidProtocolBufferException();
+        }
+        return result;
+      }
+      
+      public com.orbekk.same.Services.OperationResponse buildPartial() {
+        com.orbekk.same.Services.OperationResponse result = new com.orbekk.same.Services.OperationResponse(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.success_ = success_;
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        if (componentBuilder_ == null) {
+          result.component_ = component_;
+        } else {
+          result.component_ = componentBuilder_.build();
+        }
+        if (((from_bitField0_ & 0x00000004) == 0x00000004)) {
+          to_bitField0_ |= 0x00000004;
+        }
+        result.retryAfterMillis_ = retryAfterMillis_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+      
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.orbekk.same.Services.OperationResponse) {
+          return mergeFrom((com.orbekk.same.Services.OperationResponse)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+      
+      public Builder mergeFrom(com.orbekk.same.Services.OperationResponse other) {
+        if (other == com.orbekk.same.Services.OperationResponse.getDefaultInstance()) return this;
+        if (other.hasSuccess()) {
+          setSuccess(other.getSuccess());
+        }
+        if (other.hasComponent()) {
+          mergeComponent(other.getComponent());
+        }
+        if (other.hasRetryAfterMillis()) {
+          setRetryAfterMillis(other.getRetryAfterMillis());
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+      
+      public final boolean isInitialized() {
+        if (hasComponent()) {
+          if (!getComponent().isInitialized()) {
+            
+            return false;
+          }
+        }
+        return true;
+      }
+      
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder(
+            this.getUnknownFields());
+        while (true) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              this.setUnknownFields(unknownFields.build());
+              onChanged();
+              return this;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                this.setUnknownFields(unknownFields.build());
+                onChanged();
+                return this;
+              }
+              break;
+            }
+            case 8: {
+              bitField0_ |= 0x00000001;
+              success_ = input.readBool();
+              break;
+            }
+            case 18: {
+              com.orbekk.same.Services.Component.Builder subBuilder = com.orbekk.same.Services.Component.newBuilder();
+              if (hasComponent()) {
+                subBuilder.mergeFrom(getComponent());
+              }
+              input.readMessage(subBuilder, extensionRegistry);
+              setComponent(subBuilder.buildPartial());
+              break;
+            }
+            case 24: {
+              bitField0_ |= 0x00000004;
+              retryAfterMillis_ = input.readInt64();
+              break;
+            }
+          }
+        }
+      }
+      
+      private int bitField0_;
+      
+      // optional bool success = 1;
+      private boolean success_ ;
+      public boolean hasSuccess() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      public boolean getSuccess() {
+        return success_;
+      }
+      public Builder setSuccess(boolean value) {
+        bitField0_ |= 0x00000001;
+        success_ = value;
+        onChanged();
+        return this;
+      }
+      public Builder clearSuccess() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        success_ = false;
+        onChanged();
+        return this;
+      }
+      
+      // optional .com.orbekk.same.Component component = 2;
+      private com.orbekk.same.Services.Component component_ = com.orbekk.same.Services.Component.getDefaultInstance();
+      private com.google.protobuf.SingleFieldBuilder<
+          com.orbekk.same.Services.Component, com.orbekk.same.Services.Component.Builder, com.orbekk.same.Services.ComponentOrBuilder> componentBuilder_;
+      public boolean hasComponent() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      public com.orbekk.same.Services.Component getComponent() {
+        if (componentBuilder_ == null) {
+          return component_;
+        } else {
+          return componentBuilder_.getMessage();
+        }
+      }
+      public Builder setComponent(com.orbekk.same.Services.Component value) {
+        if (componentBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          component_ = value;
+          onChanged();
+        } else {
+          componentBuilder_.setMessage(value);
+        }
+        bitField0_ |= 0x00000002;
+        return this;
+      }
+      public Builder setComponent(
+          com.orbekk.same.Services.Component.Builder builderForValue) {
+        if (componentBuilder_ == null) {
+          component_ = builderForValue.build();
+          onChanged();
+        } else {
+          componentBuilder_.setMessage(builderForValue.build());
+        }
+        bitField0_ |= 0x00000002;
+        return this;
+      }
+      public Builder mergeComponent(com.orbekk.same.Services.Component value) {
+        if (componentBuilder_ == null) {
+          if (((bitField0_ & 0x00000002) == 0x00000002) &&
+              component_ != com.orbekk.same.Services.Component.getDefaultInstance()) {
+            component_ =
+              com.orbekk.same.Services.Component.newBuilder(component_).mergeFrom(value).buildPartial();
+          } else {
+            component_ = value;
+          }
+          onChanged();
+        } else {
+          componentBuilder_.mergeFrom(value);
+        }
+        bitField0_ |= 0x00000002;
+        return this;
+      }
+      public Builder clearComponent() {
+        if (componentBuilder_ == null) {
+          component_ = com.orbekk.same.Services.Component.getDefaultInstance();
+          onChanged();
+        } else {
+          componentBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000002);
+        return this;
+      }
+      public com.orbekk.same.Services.Component.Builder getComponentBuilder() {
+        bitField0_ |= 0x00000002;
+        onChanged();
+        return getComponentFieldBuilder().getBuilder();
+      }
+      public com.orbekk.same.Services.ComponentOrBuilder getComponentOrBuilder() {
+        if (componentBuilder_ != null) {
+          return componentBuilder_.getMessageOrBuilder();
+        } else {
+          return component_;
+        }
+      }
+      private com.google.protobuf.SingleFieldBuilder<
+          com.orbekk.same.Services.Component, com.orbekk.same.Services.Component.Builder, com.orbekk.same.Services.ComponentOrBuilder> 
+          getComponentFieldBuilder() {
+        if (componentBuilder_ == null) {
+          componentBuilder_ = new com.google.protobuf.SingleFieldBuilder<
+              com.orbekk.same.Services.Component, com.orbekk.same.Services.Component.Builder, com.orbekk.same.Services.ComponentOrBuilder>(
+                  component_,
+                  getParentForChildren(),
+                  isClean());
+          component_ = null;
+        }
+        return componentBuilder_;
+      }
+      
+      // optional int64 retry_after_millis = 3;
+      private long retryAfterMillis_ ;
+      public boolean hasRetryAfterMillis() {
+        return ((bitField0_ & 0x00000004) == 0x00000004);
+      }
+      public long getRetryAfterMillis() {
+        return retryAfterMillis_;
+      }
+      public Builder setRetryAfterMillis(long value) {
+        bitField0_ |= 0x00000004;
+        retryAfterMillis_ = value;
+        onChanged();
+        return this;
+      }
+      public Builder clearRetryAfterMillis() {
+        bitField0_ = (bitField0_ & ~0x00000004);
+        retryAfterMillis_ = 0L;
+        onChanged();
+        return this;
+      }
+      
+      // @@protoc_insertion_point(builder_scope:com.orbekk.same.OperationResponse)
+    }
+    
+    static {
+      defaultInstance = new OperationResponse(true);
+      defaultInstance.initFields();
+    }
+    
+    // @@protoc_insertion_point(class_scope:com.orbekk.same.OperationResponse)
+  }
+  
+  public interface MembershipEventOrBuilder
+      extends com.google.protobuf.MessageOrBuilder {
+    
+    // optional string location = 1;
+    boolean hasLocation();
+    String getLocation();
+    
+    // optional bool joined = 2;
+    boolean hasJoined();
+    boolean getJoined();
+    
+    // optional int64 revision = 3;
+    boolean hasRevision();
+    long getRevision();
+  }
+  public static final class MembershipEvent extends
       com.google.protobuf.GeneratedMessage
-      implements MasterStateOrBuilder {
-    // Use MasterState.newBuilder() to construct.
-    private MasterState(Builder builder) {
+      implements MembershipEventOrBuilder {
+    // Use MembershipEvent.newBuilder() to construct.
+    private MembershipEvent(Builder builder) {
       super(builder);
     }
-    private MasterState(boolean noInit) {}
+    private MembershipEvent(boolean noInit) {}
     
-    private static final MasterState defaultInstance;
-    public static MasterState getDefaultInstance() {
+    private static final MembershipEvent defaultInstance;
+    public static MembershipEvent getDefaultInstance() {
       return defaultInstance;
     }
     
-    public MasterState getDefaultInstanceForType() {
+    public MembershipEvent getDefaultInstanceForType() {
       return defaultInstance;
     }
     
     public static final com.google.protobuf.Descriptors.Descriptor
         getDescriptor() {
-      return com.orbekk.same.Services.internal_static_com_orbekk_same_MasterState_descriptor;
+      return com.orbekk.same.Services.internal_static_com_orbekk_same_MembershipEvent_descriptor;
     }
     
     protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
         internalGetFieldAccessorTable() {
-      return com.orbekk.same.Services.internal_static_com_orbekk_same_MasterState_fieldAccessorTable;
+      return com.orbekk.same.Services.internal_static_com_orbekk_same_MembershipEvent_fieldAccessorTable;
     }
     
     private int bitField0_;
-    // optional string master_url = 1;
-    public static final int MASTER_URL_FIELD_NUMBER = 1;
-    private java.lang.Object masterUrl_;
-    public boolean hasMasterUrl() {
+    // optional string location = 1;
+    public static final int LOCATION_FIELD_NUMBER = 1;
+    private java.lang.Object location_;
+    public boolean hasLocation() {
       return ((bitField0_ & 0x00000001) == 0x00000001);
     }
-    public String getMasterUrl() {
-      java.lang.Object ref = masterUrl_;
+    public String getLocation() {
+      java.lang.Object ref = location_;
       if (ref instanceof String) {
         return (String) ref;
       } else {
@@ -2860,112 +13219,46 @@ public final class Services {
             (com.google.protobuf.ByteString) ref;
         String s = bs.toStringUtf8();
         if (com.google.protobuf.Internal.isValidUtf8(bs)) {
-          masterUrl_ = s;
+          location_ = s;
         }
         return s;
       }
     }
-    private com.google.protobuf.ByteString getMasterUrlBytes() {
-      java.lang.Object ref = masterUrl_;
+    private com.google.protobuf.ByteString getLocationBytes() {
+      java.lang.Object ref = location_;
       if (ref instanceof String) {
         com.google.protobuf.ByteString b = 
             com.google.protobuf.ByteString.copyFromUtf8((String) ref);
-        masterUrl_ = b;
+        location_ = b;
         return b;
       } else {
         return (com.google.protobuf.ByteString) ref;
       }
     }
     
-    // optional int32 master_id = 2;
-    public static final int MASTER_ID_FIELD_NUMBER = 2;
-    private int masterId_;
-    public boolean hasMasterId() {
+    // optional bool joined = 2;
+    public static final int JOINED_FIELD_NUMBER = 2;
+    private boolean joined_;
+    public boolean hasJoined() {
       return ((bitField0_ & 0x00000002) == 0x00000002);
     }
-    public int getMasterId() {
-      return masterId_;
-    }
-    
-    // optional string network_name = 3;
-    public static final int NETWORK_NAME_FIELD_NUMBER = 3;
-    private java.lang.Object networkName_;
-    public boolean hasNetworkName() {
-      return ((bitField0_ & 0x00000004) == 0x00000004);
-    }
-    public String getNetworkName() {
-      java.lang.Object ref = networkName_;
-      if (ref instanceof String) {
-        return (String) ref;
-      } else {
-        com.google.protobuf.ByteString bs = 
-            (com.google.protobuf.ByteString) ref;
-        String s = bs.toStringUtf8();
-        if (com.google.protobuf.Internal.isValidUtf8(bs)) {
-          networkName_ = s;
-        }
-        return s;
-      }
-    }
-    private com.google.protobuf.ByteString getNetworkNameBytes() {
-      java.lang.Object ref = networkName_;
-      if (ref instanceof String) {
-        com.google.protobuf.ByteString b = 
-            com.google.protobuf.ByteString.copyFromUtf8((String) ref);
-        networkName_ = b;
-        return b;
-      } else {
-        return (com.google.protobuf.ByteString) ref;
-      }
-    }
-    
-    // optional string master_location = 4;
-    public static final int MASTER_LOCATION_FIELD_NUMBER = 4;
-    private java.lang.Object masterLocation_;
-    public boolean hasMasterLocation() {
-      return ((bitField0_ & 0x00000008) == 0x00000008);
-    }
-    public String getMasterLocation() {
-      java.lang.Object ref = masterLocation_;
-      if (ref instanceof String) {
-        return (String) ref;
-      } else {
-        com.google.protobuf.ByteString bs = 
-            (com.google.protobuf.ByteString) ref;
-        String s = bs.toStringUtf8();
-        if (com.google.protobuf.Internal.isValidUtf8(bs)) {
-          masterLocation_ = s;
-        }
-        return s;
-      }
-    }
-    private com.google.protobuf.ByteString getMasterLocationBytes() {
-      java.lang.Object ref = masterLocation_;
-      if (ref instanceof String) {
-        com.google.protobuf.ByteString b = 
-            com.google.protobuf.ByteString.copyFromUtf8((String) ref);
-        masterLocation_ = b;
-        return b;
-      } else {
-        return (com.google.protobuf.ByteString) ref;
-      }
+    public boolean getJoined() {
+      return joined_;
     }
     
-    // optional int64 revision = 5;
-    public static final int REVISION_FIELD_NUMBER = 5;
+    // optional int64 revision = 3;
+    public static final int REVISION_FIELD_NUMBER = 3;
     private long revision_;
     public boolean hasRevision() {
-      return ((bitField0_ & 0x00000010) == 0x00000010);
+      return ((bitField0_ & 0x00000004) == 0x00000004);
     }
     public long getRevision() {
       return revision_;
     }
     
     private void initFields() {
-      masterUrl_ = "";
-      masterId_ = 0;
-      networkName_ = "";
-      masterLocation_ = "";
+      location_ = "";
+      joined_ = false;
       revision_ = 0L;
     }
     private byte memoizedIsInitialized = -1;
@@ -2981,19 +13274,13 @@ public final class Services {
                         throws java.io.IOException {
       getSerializedSize();
       if (((bitField0_ & 0x00000001) == 0x00000001)) {
-        output.writeBytes(1, getMasterUrlBytes());
+        output.writeBytes(1, getLocationBytes());
       }
       if (((bitField0_ & 0x00000002) == 0x00000002)) {
-        output.writeInt32(2, masterId_);
+        output.writeBool(2, joined_);
       }
       if (((bitField0_ & 0x00000004) == 0x00000004)) {
-        output.writeBytes(3, getNetworkNameBytes());
-      }
-      if (((bitField0_ & 0x00000008) == 0x00000008)) {
-        output.writeBytes(4, getMasterLocationBytes());
-      }
-      if (((bitField0_ & 0x00000010) == 0x00000010)) {
-        output.writeInt64(5, revision_);
+        output.writeInt64(3, revision_);
       }
       getUnknownFields().writeTo(output);
     }
@@ -3006,23 +13293,15 @@ public final class Services {
       size = 0;
       if (((bitField0_ & 0x00000001) == 0x00000001)) {
         size += com.google.protobuf.CodedOutputStream
-          .computeBytesSize(1, getMasterUrlBytes());
+          .computeBytesSize(1, getLocationBytes());
       }
       if (((bitField0_ & 0x00000002) == 0x00000002)) {
         size += com.google.protobuf.CodedOutputStream
-          .computeInt32Size(2, masterId_);
+          .computeBoolSize(2, joined_);
       }
       if (((bitField0_ & 0x00000004) == 0x00000004)) {
         size += com.google.protobuf.CodedOutputStream
-          .computeBytesSize(3, getNetworkNameBytes());
-      }
-      if (((bitField0_ & 0x00000008) == 0x00000008)) {
-        size += com.google.protobuf.CodedOutputStream
-          .computeBytesSize(4, getMasterLocationBytes());
-      }
-      if (((bitField0_ & 0x00000010) == 0x00000010)) {
-        size += com.google.protobuf.CodedOutputStream
-          .computeInt64Size(5, revision_);
+          .computeInt64Size(3, revision_);
       }
       size += getUnknownFields().getSerializedSize();
       memoizedSerializedSize = size;
@@ -3036,41 +13315,41 @@ public final class Services {
       return super.writeReplace();
     }
     
-    public static com.orbekk.same.Services.MasterState parseFrom(
+    public static com.orbekk.same.Services.MembershipEvent parseFrom(
         com.google.protobuf.ByteString data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return newBuilder().mergeFrom(data).buildParsed();
     }
-    public static com.orbekk.same.Services.MasterState parseFrom(
+    public static com.orbekk.same.Services.MembershipEvent parseFrom(
         com.google.protobuf.ByteString data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return newBuilder().mergeFrom(data, extensionRegistry)
                .buildParsed();
     }
-    public static com.orbekk.same.Services.MasterState parseFrom(byte[] data)
+    public static com.orbekk.same.Services.MembershipEvent parseFrom(byte[] data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return newBuilder().mergeFrom(data).buildParsed();
     }
-    public static com.orbekk.same.Services.MasterState parseFrom(
+    public static com.orbekk.same.Services.MembershipEvent parseFrom(
         byte[] data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return newBuilder().mergeFrom(data, extensionRegistry)
                .buildParsed();
     }
-    public static com.orbekk.same.Services.MasterState parseFrom(java.io.InputStream input)
+    public static com.orbekk.same.Services.MembershipEvent parseFrom(java.io.InputStream input)
         throws java.io.IOException {
       return newBuilder().mergeFrom(input).buildParsed();
     }
-    public static com.orbekk.same.Services.MasterState parseFrom(
+    public static com.orbekk.same.Services.MembershipEvent parseFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return newBuilder().mergeFrom(input, extensionRegistry)
                .buildParsed();
     }
-    public static com.orbekk.same.Services.MasterState parseDelimitedFrom(java.io.InputStream input)
+    public static com.orbekk.same.Services.MembershipEvent parseDelimitedFrom(java.io.InputStream input)
         throws java.io.IOException {
       Builder builder = newBuilder();
       if (builder.mergeDelimitedFrom(input)) {
@@ -3079,7 +13358,7 @@ public final class Services {
         return null;
       }
     }
-    public static com.orbekk.same.Services.MasterState parseDelimitedFrom(
+    public static com.orbekk.same.Services.MembershipEvent parseDelimitedFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
@@ -3090,12 +13369,12 @@ public final class Services {
         return null;
       }
     }
-    public static com.orbekk.same.Services.MasterState parseFrom(
+    public static com.orbekk.same.Services.MembershipEvent parseFrom(
         com.google.protobuf.CodedInputStream input)
         throws java.io.IOException {
       return newBuilder().mergeFrom(input).buildParsed();
     }
-    public static com.orbekk.same.Services.MasterState parseFrom(
+    public static com.orbekk.same.Services.MembershipEvent parseFrom(
         com.google.protobuf.CodedInputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
@@ -3105,7 +13384,7 @@ public final class Services {
     
     public static Builder newBuilder() { return Builder.create(); }
     public Builder newBuilderForType() { return newBuilder(); }
-    public static Builder newBuilder(com.orbekk.same.Services.MasterState prototype) {
+    public static Builder newBuilder(com.orbekk.same.Services.MembershipEvent prototype) {
       return newBuilder().mergeFrom(prototype);
     }
     public Builder toBuilder() { return newBuilder(this); }
@@ -3118,18 +13397,18 @@ public final class Services {
     }
     public static final class Builder extends
         com.google.protobuf.GeneratedMessage.Builder<Builder>
-       implements com.orbekk.same.Services.MasterStateOrBuilder {
+       implements com.orbekk.same.Services.MembershipEventOrBuilder {
       public static final com.google.protobuf.Descriptors.Descriptor
           getDescriptor() {
-        return com.orbekk.same.Services.internal_static_com_orbekk_same_MasterState_descriptor;
+        return com.orbekk.same.Services.internal_static_com_orbekk_same_MembershipEvent_descriptor;
       }
       
       protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
           internalGetFieldAccessorTable() {
-        return com.orbekk.same.Services.internal_static_com_orbekk_same_MasterState_fieldAccessorTable;
+        return com.orbekk.same.Services.internal_static_com_orbekk_same_MembershipEvent_fieldAccessorTable;
       }
       
-      // Construct using com.orbekk.same.Services.MasterState.newBuilder()
+      // Construct using com.orbekk.same.Services.MembershipEvent.newBuilder()
       private Builder() {
         maybeForceBuilderInitialization();
       }
@@ -3148,16 +13427,12 @@ public final class Services {
       
       public Builder clear() {
         super.clear();
-        masterUrl_ = "";
+        location_ = "";
         bitField0_ = (bitField0_ & ~0x00000001);
-        masterId_ = 0;
+        joined_ = false;
         bitField0_ = (bitField0_ & ~0x00000002);
-        networkName_ = "";
-        bitField0_ = (bitField0_ & ~0x00000004);
-        masterLocation_ = "";
-        bitField0_ = (bitField0_ & ~0x00000008);
         revision_ = 0L;
-        bitField0_ = (bitField0_ & ~0x00000010);
+        bitField0_ = (bitField0_ & ~0x00000004);
         return this;
       }
       
@@ -3167,24 +13442,24 @@ public final class Services {
       
       public com.google.protobuf.Descriptors.Descriptor
           getDescriptorForType() {
-        return com.orbekk.same.Services.MasterState.getDescriptor();
+        return com.orbekk.same.Services.MembershipEvent.getDescriptor();
       }
       
-      public com.orbekk.same.Services.MasterState getDefaultInstanceForType() {
-        return com.orbekk.same.Services.MasterState.getDefaultInstance();
+      public com.orbekk.same.Services.MembershipEvent getDefaultInstanceForType() {
+        return com.orbekk.same.Services.MembershipEvent.getDefaultInstance();
       }
       
-      public com.orbekk.same.Services.MasterState build() {
-        com.orbekk.same.Services.MasterState result = buildPartial();
+      public com.orbekk.same.Services.MembershipEvent build() {
+        com.orbekk.same.Services.MembershipEvent result = buildPartial();
         if (!result.isInitialized()) {
           throw newUninitializedMessageException(result);
         }
         return result;
       }
       
-      private com.orbekk.same.Services.MasterState buildParsed()
+      private com.orbekk.same.Services.MembershipEvent buildParsed()
           throws com.google.protobuf.InvalidProtocolBufferException {
-        com.orbekk.same.Services.MasterState result = buildPartial();
+        com.orbekk.same.Services.MembershipEvent result = buildPartial();
         if (!result.isInitialized()) {
           throw newUninitializedMessageException(
             result).asInvalidProtocolBufferException();
@@ -3192,29 +13467,21 @@ public final class Services {
         return result;
       }
       
-      public com.orbekk.same.Services.MasterState buildPartial() {
-        com.orbekk.same.Services.MasterState result = new com.orbekk.same.Services.MasterState(this);
+      public com.orbekk.same.Services.MembershipEvent buildPartial() {
+        com.orbekk.same.Services.MembershipEvent result = new com.orbekk.same.Services.MembershipEvent(this);
         int from_bitField0_ = bitField0_;
         int to_bitField0_ = 0;
         if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
           to_bitField0_ |= 0x00000001;
         }
-        result.masterUrl_ = masterUrl_;
+        result.location_ = location_;
         if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
           to_bitField0_ |= 0x00000002;
         }
-        result.masterId_ = masterId_;
+        result.joined_ = joined_;
         if (((from_bitField0_ & 0x00000004) == 0x00000004)) {
           to_bitField0_ |= 0x00000004;
         }
-        result.networkName_ = networkName_;
-        if (((from_bitField0_ & 0x00000008) == 0x00000008)) {
-          to_bitField0_ |= 0x00000008;
-        }
-        result.masterLocation_ = masterLocation_;
-        if (((from_bitField0_ & 0x00000010) == 0x00000010)) {
-          to_bitField0_ |= 0x00000010;
-        }
         result.revision_ = revision_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
@@ -3222,27 +13489,21 @@ public final class Services {
       }
       
       public Builder mergeFrom(com.google.protobuf.Message other) {
-        if (other instanceof com.orbekk.same.Services.MasterState) {
-          return mergeFrom((com.orbekk.same.Services.MasterState)other);
+        if (other instanceof com.orbekk.same.Services.MembershipEvent) {
+          return mergeFrom((com.orbekk.same.Services.MembershipEvent)other);
         } else {
           super.mergeFrom(other);
           return this;
         }
       }
       
-      public Builder mergeFrom(com.orbekk.same.Services.MasterState other) {
-        if (other == com.orbekk.same.Services.MasterState.getDefaultInstance()) return this;
-        if (other.hasMasterUrl()) {
-          setMasterUrl(other.getMasterUrl());
-        }
-        if (other.hasMasterId()) {
-          setMasterId(other.getMasterId());
-        }
-        if (other.hasNetworkName()) {
-          setNetworkName(other.getNetworkName());
+      public Builder mergeFrom(com.orbekk.same.Services.MembershipEvent other) {
+        if (other == com.orbekk.same.Services.MembershipEvent.getDefaultInstance()) return this;
+        if (other.hasLocation()) {
+          setLocation(other.getLocation());
         }
-        if (other.hasMasterLocation()) {
-          setMasterLocation(other.getMasterLocation());
+        if (other.hasJoined()) {
+          setJoined(other.getJoined());
         }
         if (other.hasRevision()) {
           setRevision(other.getRevision());
@@ -3280,26 +13541,16 @@ public final class Services {
             }
             case 10: {
               bitField0_ |= 0x00000001;
-              masterUrl_ = input.readBytes();
+              location_ = input.readBytes();
               break;
             }
             case 16: {
               bitField0_ |= 0x00000002;
-              masterId_ = input.readInt32();
+              joined_ = input.readBool();
               break;
             }
-            case 26: {
+            case 24: {
               bitField0_ |= 0x00000004;
-              networkName_ = input.readBytes();
-              break;
-            }
-            case 34: {
-              bitField0_ |= 0x00000008;
-              masterLocation_ = input.readBytes();
-              break;
-            }
-            case 40: {
-              bitField0_ |= 0x00000010;
               revision_ = input.readInt64();
               break;
             }
@@ -3309,234 +13560,167 @@ public final class Services {
       
       private int bitField0_;
       
-      // optional string master_url = 1;
-      private java.lang.Object masterUrl_ = "";
-      public boolean hasMasterUrl() {
+      // optional string location = 1;
+      private java.lang.Object location_ = "";
+      public boolean hasLocation() {
         return ((bitField0_ & 0x00000001) == 0x00000001);
       }
-      public String getMasterUrl() {
-        java.lang.Object ref = masterUrl_;
+      public String getLocation() {
+        java.lang.Object ref = location_;
         if (!(ref instanceof String)) {
           String s = ((com.google.protobuf.ByteString) ref).toStringUtf8();
-          masterUrl_ = s;
+          location_ = s;
           return s;
         } else {
           return (String) ref;
         }
       }
-      public Builder setMasterUrl(String value) {
+      public Builder setLocation(String value) {
         if (value == null) {
     throw new NullPointerException();
   }
   bitField0_ |= 0x00000001;
-        masterUrl_ = value;
+        location_ = value;
         onChanged();
         return this;
       }
-      public Builder clearMasterUrl() {
+      public Builder clearLocation() {
         bitField0_ = (bitField0_ & ~0x00000001);
-        masterUrl_ = getDefaultInstance().getMasterUrl();
+        location_ = getDefaultInstance().getLocation();
         onChanged();
         return this;
       }
-      void setMasterUrl(com.google.protobuf.ByteString value) {
+      void setLocation(com.google.protobuf.ByteString value) {
         bitField0_ |= 0x00000001;
-        masterUrl_ = value;
+        location_ = value;
         onChanged();
       }
       
-      // optional int32 master_id = 2;
-      private int masterId_ ;
-      public boolean hasMasterId() {
+      // optional bool joined = 2;
+      private boolean joined_ ;
+      public boolean hasJoined() {
         return ((bitField0_ & 0x00000002) == 0x00000002);
       }
-      public int getMasterId() {
-        return masterId_;
+      public boolean getJoined() {
+        return joined_;
       }
-      public Builder setMasterId(int value) {
+      public Builder setJoined(boolean value) {
         bitField0_ |= 0x00000002;
-        masterId_ = value;
+        joined_ = value;
         onChanged();
         return this;
       }
-      public Builder clearMasterId() {
+      public Builder clearJoined() {
         bitField0_ = (bitField0_ & ~0x00000002);
-        masterId_ = 0;
-        onChanged();
-        return this;
-      }
-      
-      // optional string network_name = 3;
-      private java.lang.Object networkName_ = "";
-      public boolean hasNetworkName() {
-        return ((bitField0_ & 0x00000004) == 0x00000004);
-      }
-      public String getNetworkName() {
-        java.lang.Object ref = networkName_;
-        if (!(ref instanceof String)) {
-          String s = ((com.google.protobuf.ByteString) ref).toStringUtf8();
-          networkName_ = s;
-          return s;
-        } else {
-          return (String) ref;
-        }
-      }
-      public Builder setNetworkName(String value) {
-        if (value == null) {
-    throw new NullPointerException();
-  }
-  bitField0_ |= 0x00000004;
-        networkName_ = value;
-        onChanged();
-        return this;
-      }
-      public Builder clearNetworkName() {
-        bitField0_ = (bitField0_ & ~0x00000004);
-        networkName_ = getDefaultInstance().getNetworkName();
-        onChanged();
-        return this;
-      }
-      void setNetworkName(com.google.protobuf.ByteString value) {
-        bitField0_ |= 0x00000004;
-        networkName_ = value;
-        onChanged();
-      }
-      
-      // optional string master_location = 4;
-      private java.lang.Object masterLocation_ = "";
-      public boolean hasMasterLocation() {
-        return ((bitField0_ & 0x00000008) == 0x00000008);
-      }
-      public String getMasterLocation() {
-        java.lang.Object ref = masterLocation_;
-        if (!(ref instanceof String)) {
-          String s = ((com.google.protobuf.ByteString) ref).toStringUtf8();
-          masterLocation_ = s;
-          return s;
-        } else {
-          return (String) ref;
-        }
-      }
-      public Builder setMasterLocation(String value) {
-        if (value == null) {
-    throw new NullPointerException();
-  }
-  bitField0_ |= 0x00000008;
-        masterLocation_ = value;
-        onChanged();
-        return this;
-      }
-      public Builder clearMasterLocation() {
-        bitField0_ = (bitField0_ & ~0x00000008);
-        masterLocation_ = getDefaultInstance().getMasterLocation();
+        joined_ = false;
         onChanged();
         return this;
       }
-      void setMasterLocation(com.google.protobuf.ByteString value) {
-        bitField0_ |= 0x00000008;
-        masterLocation_ = value;
-        onChanged();
-      }
       
-      // optional int64 revision = 5;
+      // optional int64 revision = 3;
       private long revision_ ;
       public boolean hasRevision() {
-        return ((bitField0_ & 0x00000010) == 0x00000010);
+        return ((bitField0_ & 0x00000004) == 0x00000004);
       }
       public long getRevision() {
         return revision_;
       }
       public Builder setRevision(long value) {
-        bitField0_ |= 0x00000010;
+        bitField0_ |= 0x00000004;
         revision_ = value;
         onChanged();
         return this;
       }
       public Builder clearRevision() {
-        bitField0_ = (bitField0_ & ~0x00000010);
+        bitField0_ = (bitField0_ & ~0x00000004);
         revision_ = 0L;
         onChanged();
         return this;
       }
       
-      // @@protoc_insertion_point(builder_scope:com.orbekk.same.MasterState)
+      // @@protoc_insertion_point(builder_scope:com.orbekk.same.MembershipEvent)
     }
     
     static {
-      defaultInstance = new MasterState(true);
+      defaultInstance = new MembershipEvent(true);
       defaultInstance.initFields();
     }
     
-    // @@protoc_insertion_point(class_scope:com.orbekk.same.MasterState)
+    // @@protoc_insertion_point(class_scope:com.orbekk.same.MembershipEvent)
   }
   
-  public interface MasterTakeoverResponseOrBuilder
+  public interface SubscriptionOrBuilder
       extends com.google.protobuf.MessageOrBuilder {
     
-    // optional bool success = 2;
-    boolean hasSuccess();
-    boolean getSuccess();
+    // repeated string id = 1;
+    java.util.List<String> getIdList();
+    int getIdCount();
+    String getId(int index);
     
-    // optional .com.orbekk.same.ClientState client_state = 3;
-    boolean hasClientState();
-    com.orbekk.same.Services.ClientState getClientState();
-    com.orbekk.same.Services.ClientStateOrBuilder getClientStateOrBuilder();
+    // repeated string prefix = 2;
+    java.util.List<String> getPrefixList();
+    int getPrefixCount();
+    String getPrefix(int index);
   }
-  public static final class MasterTakeoverResponse extends
+  public static final class Subscription extends
       com.google.protobuf.GeneratedMessage
-      implements MasterTakeoverResponseOrBuilder {
-    // Use MasterTakeoverResponse.newBuilder() to construct.
-    private MasterTakeoverResponse(Builder builder) {
+      implements SubscriptionOrBuilder {
+    // Use Subscription.newBuilder() to construct.
+    private Subscription(Builder builder) {
       super(builder);
     }
-    private MasterTakeoverResponse(boolean noInit) {}
+    private Subscription(boolean noInit) {}
     
-    private static final MasterTakeoverResponse defaultInstance;
-    public static MasterTakeoverResponse getDefaultInstance() {
+    private static final Subscription defaultInstance;
+    public static Subscription getDefaultInstance() {
       return defaultInstance;
     }
     
-    public MasterTakeoverResponse getDefaultInstanceForType() {
+    public Subscription getDefaultInstanceForType() {
       return defaultInstance;
     }
     
     public static final com.google.protobuf.Descriptors.Descriptor
         getDescriptor() {
-      return com.orbekk.same.Services.internal_static_com_orbekk_same_MasterTakeoverResponse_descriptor;
+      return com.orbekk.same.Services.internal_static_com_orbekk_same_Subscription_descriptor;
     }
     
     protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
         internalGetFieldAccessorTable() {
-      return com.orbekk.same.Services.internal_static_com_orbekk_same_MasterTakeoverResponse_fieldAccessorTable;
+      return com.orbekk.same.Services.internal_static_com_orbekk_same_Subscription_fieldAccessorTable;
     }
     
-    private int bitField0_;
-    // optional bool success = 2;
-    public static final int SUCCESS_FIELD_NUMBER = 2;
-    private boolean success_;
-    public boolean hasSuccess() {
-      return ((bitField0_ & 0x00000001) == 0x00000001);
+    // repeated string id = 1;
+    public static final int ID_FIELD_NUMBER = 1;
+    private com.google.protobuf.LazyStringList id_;
+    public java.util.List<String>
+        getIdList() {
+      return id_;
     }
-    public boolean getSuccess() {
-      return success_;
+    public int getIdCount() {
+      return id_.size();
+    }
+    public String getId(int index) {
+      return id_.get(index);
     }
     
-    // optional .com.orbekk.same.ClientState client_state = 3;
-    public static final int CLIENT_STATE_FIELD_NUMBER = 3;
-    private com.orbekk.same.Services.ClientState clientState_;
-    public boolean hasClientState() {
-      return ((bitField0_ & 0x00000002) == 0x00000002);
+    // repeated string prefix = 2;
+    public static final int PREFIX_FIELD_NUMBER = 2;
+    private com.google.protobuf.LazyStringList prefix_;
+    public java.util.List<String>
+        getPrefixList() {
+      return prefix_;
     }
-    public com.orbekk.same.Services.ClientState getClientState() {
-      return clientState_;
+    public int getPrefixCount() {
+      return prefix_.size();
     }
-    public com.orbekk.same.Services.ClientStateOrBuilder getClientStateOrBuilder() {
-      return clientState_;
+    public String getPrefix(int index) {
+      return prefix_.get(index);
     }
     
     private void initFields() {
-      success_ = false;
-      clientState_ = com.orbekk.same.Services.ClientState.getDefaultInstance();
+      id_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      prefix_ = com.google.protobuf.LazyStringArrayList.EMPTY;
     }
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
@@ -3550,11 +13734,11 @@ public final class Services {
     public void writeTo(com.google.protobuf.CodedOutputStream output)
                         throws java.io.IOException {
       getSerializedSize();
-      if (((bitField0_ & 0x00000001) == 0x00000001)) {
-        output.writeBool(2, success_);
+      for (int i = 0; i < id_.size(); i++) {
+        output.writeBytes(1, id_.getByteString(i));
       }
-      if (((bitField0_ & 0x00000002) == 0x00000002)) {
-        output.writeMessage(3, clientState_);
+      for (int i = 0; i < prefix_.size(); i++) {
+        output.writeBytes(2, prefix_.getByteString(i));
       }
       getUnknownFields().writeTo(output);
     }
@@ -3565,13 +13749,23 @@ public final class Services {
       if (size != -1) return size;
     
       size = 0;
-      if (((bitField0_ & 0x00000001) == 0x00000001)) {
-        size += com.google.protobuf.CodedOutputStream
-          .computeBoolSize(2, success_);
+      {
+        int dataSize = 0;
+        for (int i = 0; i < id_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeBytesSizeNoTag(id_.getByteString(i));
+        }
+        size += dataSize;
+        size += 1 * getIdList().size();
       }
-      if (((bitField0_ & 0x00000002) == 0x00000002)) {
-        size += com.google.protobuf.CodedOutputStream
-          .computeMessageSize(3, clientState_);
+      {
+        int dataSize = 0;
+        for (int i = 0; i < prefix_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeBytesSizeNoTag(prefix_.getByteString(i));
+        }
+        size += dataSize;
+        size += 1 * getPrefixList().size();
       }
       size += getUnknownFields().getSerializedSize();
       memoizedSerializedSize = size;
@@ -3585,41 +13779,41 @@ public final class Services {
       return super.writeReplace();
     }
     
-    public static com.orbekk.same.Services.MasterTakeoverResponse parseFrom(
+    public static com.orbekk.same.Services.Subscription parseFrom(
         com.google.protobuf.ByteString data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return newBuilder().mergeFrom(data).buildParsed();
     }
-    public static com.orbekk.same.Services.MasterTakeoverResponse parseFrom(
+    public static com.orbekk.same.Services.Subscription parseFrom(
         com.google.protobuf.ByteString data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return newBuilder().mergeFrom(data, extensionRegistry)
                .buildParsed();
     }
-    public static com.orbekk.same.Services.MasterTakeoverResponse parseFrom(byte[] data)
+    public static com.orbekk.same.Services.Subscription parseFrom(byte[] data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return newBuilder().mergeFrom(data).buildParsed();
     }
-    public static com.orbekk.same.Services.MasterTakeoverResponse parseFrom(
+    public static com.orbekk.same.Services.Subscription parseFrom(
         byte[] data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return newBuilder().mergeFrom(data, extensionRegistry)
                .buildParsed();
     }
-    public static com.orbekk.same.Services.MasterTakeoverResponse parseFrom(java.io.InputStream input)
+    public static com.orbekk.same.Services.Subscription parseFrom(java.io.InputStream input)
         throws java.io.IOException {
       return newBuilder().mergeFrom(input).buildParsed();
     }
-    public static com.orbekk.same.Services.MasterTakeoverResponse parseFrom(
+    public static com.orbekk.same.Services.Subscription parseFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return newBuilder().mergeFrom(input, extensionRegistry)
                .buildParsed();
     }
-    public static com.orbekk.same.Services.MasterTakeoverResponse parseDelimitedFrom(java.io.InputStream input)
+    public static com.orbekk.same.Services.Subscription parseDelimitedFrom(java.io.InputStream input)
         throws java.io.IOException {
       Builder builder = newBuilder();
       if (builder.mergeDelimitedFrom(input)) {
@@ -3628,7 +13822,7 @@ public final class Services {
         return null;
       }
     }
-    public static com.orbekk.same.Services.MasterTakeoverResponse parseDelimitedFrom(
+    public static com.orbekk.same.Services.Subscription parseDelimitedFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
@@ -3639,12 +13833,12 @@ public final class Services {
         return null;
       }
     }
-    public static com.orbekk.same.Services.MasterTakeoverResponse parseFrom(
+    public static com.orbekk.same.Services.Subscription parseFrom(
         com.google.protobuf.CodedInputStream input)
         throws java.io.IOException {
       return newBuilder().mergeFrom(input).buildParsed();
     }
-    public static com.orbekk.same.Services.MasterTakeoverResponse parseFrom(
+    public static com.orbekk.same.Services.Subscription parseFrom(
         com.google.protobuf.CodedInputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
@@ -3654,7 +13848,7 @@ public final class Services {
     
     public static Builder newBuilder() { return Builder.create(); }
     public Builder newBuilderForType() { return newBuilder(); }
-    public static Builder newBuilder(com.orbekk.same.Services.MasterTakeoverResponse prototype) {
+    public static Builder newBuilder(com.orbekk.same.Services.Subscription prototype) {
       return newBuilder().mergeFrom(prototype);
     }
     public Builder toBuilder() { return newBuilder(this); }
@@ -3667,18 +13861,18 @@ public final class Services {
     }
     public static final class Builder extends
         com.google.protobuf.GeneratedMessage.Builder<Builder>
-       implements com.orbekk.same.Services.MasterTakeoverResponseOrBuilder {
+       implements com.orbekk.same.Services.SubscriptionOrBuilder {
       public static final com.google.protobuf.Descriptors.Descriptor
           getDescriptor() {
-        return com.orbekk.same.Services.internal_static_com_orbekk_same_MasterTakeoverResponse_descriptor;
+        return com.orbekk.same.Services.internal_static_com_orbekk_same_Subscription_descriptor;
       }
       
       protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
           internalGetFieldAccessorTable() {
-        return com.orbekk.same.Services.internal_static_com_orbekk_same_MasterTakeoverResponse_fieldAccessorTable;
+        return com.orbekk.same.Services.internal_static_com_orbekk_same_Subscription_fieldAccessorTable;
       }
       
-      // Construct using com.orbekk.same.Services.MasterTakeoverResponse.newBuilder()
+      // Construct using com.orbekk.same.Services.Subscription.newBuilder()
       private Builder() {
         maybeForceBuilderInitialization();
       }
@@ -3689,7 +13883,6 @@ public final class Services {
       }
       private void maybeForceBuilderInitialization() {
         if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
-          getClientStateFieldBuilder();
         }
       }
       private static Builder create() {
@@ -3698,13 +13891,9 @@ public final class Services {
       
       public Builder clear() {
         super.clear();
-        success_ = false;
+        id_ = com.google.protobuf.LazyStringArrayList.EMPTY;
         bitField0_ = (bitField0_ & ~0x00000001);
-        if (clientStateBuilder_ == null) {
-          clientState_ = com.orbekk.same.Services.ClientState.getDefaultInstance();
-        } else {
-          clientStateBuilder_.clear();
-        }
+        prefix_ = com.google.protobuf.LazyStringArrayList.EMPTY;
         bitField0_ = (bitField0_ & ~0x00000002);
         return this;
       }
@@ -3715,24 +13904,24 @@ public final class Services {
       
       public com.google.protobuf.Descriptors.Descriptor
           getDescriptorForType() {
-        return com.orbekk.same.Services.MasterTakeoverResponse.getDescriptor();
+        return com.orbekk.same.Services.Subscription.getDescriptor();
       }
       
-      public com.orbekk.same.Services.MasterTakeoverResponse getDefaultInstanceForType() {
-        return com.orbekk.same.Services.MasterTakeoverResponse.getDefaultInstance();
+      public com.orbekk.same.Services.Subscription getDefaultInstanceForType() {
+        return com.orbekk.same.Services.Subscription.getDefaultInstance();
       }
       
-      public com.orbekk.same.Services.MasterTakeoverResponse build() {
-        com.orbekk.same.Services.MasterTakeoverResponse result = buildPartial();
+      public com.orbekk.same.Services.Subscription build() {
+        com.orbekk.same.Services.Subscription result = buildPartial();
         if (!result.isInitialized()) {
           throw newUninitializedMessageException(result);
         }
         return result;
       }
       
-      private com.orbekk.same.Services.MasterTakeoverResponse buildParsed()
+      private com.orbekk.same.Services.Subscription buildParsed()
           throws com.google.protobuf.InvalidProtocolBufferException {
-        com.orbekk.same.Services.MasterTakeoverResponse result = buildPartial();
+        com.orbekk.same.Services.Subscription result = buildPartial();
         if (!result.isInitialized()) {
           throw newUninitializedMessageException(
             result).asInvalidProtocolBufferException();
@@ -3740,43 +13929,55 @@ public final class Services {
         return result;
       }
       
-      public com.orbekk.same.Services.MasterTakeoverResponse buildPartial() {
-        com.orbekk.same.Services.MasterTakeoverResponse result = new com.orbekk.same.Services.MasterTakeoverResponse(this);
+      public com.orbekk.same.Services.Subscription buildPartial() {
+        com.orbekk.same.Services.Subscription result = new com.orbekk.same.Services.Subscription(this);
         int from_bitField0_ = bitField0_;
-        int to_bitField0_ = 0;
-        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
-          to_bitField0_ |= 0x00000001;
-        }
-        result.success_ = success_;
-        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
-          to_bitField0_ |= 0x00000002;
+        if (((bitField0_ & 0x00000001) == 0x00000001)) {
+          id_ = new com.google.protobuf.UnmodifiableLazyStringList(
+              id_);
+          bitField0_ = (bitField0_ & ~0x00000001);
         }
-        if (clientStateBuilder_ == null) {
-          result.clientState_ = clientState_;
-        } else {
-          result.clientState_ = clientStateBuilder_.build();
+        result.id_ = id_;
+        if (((bitField0_ & 0x00000002) == 0x00000002)) {
+          prefix_ = new com.google.protobuf.UnmodifiableLazyStringList(
+              prefix_);
+          bitField0_ = (bitField0_ & ~0x00000002);
         }
-        result.bitField0_ = to_bitField0_;
+        result.prefix_ = prefix_;
         onBuilt();
         return result;
       }
       
       public Builder mergeFrom(com.google.protobuf.Message other) {
-        if (other instanceof com.orbekk.same.Services.MasterTakeoverResponse) {
-          return mergeFrom((com.orbekk.same.Services.MasterTakeoverResponse)other);
+        if (other instanceof com.orbekk.same.Services.Subscription) {
+          return mergeFrom((com.orbekk.same.Services.Subscription)other);
         } else {
           super.mergeFrom(other);
           return this;
         }
       }
       
-      public Builder mergeFrom(com.orbekk.same.Services.MasterTakeoverResponse other) {
-        if (other == com.orbekk.same.Services.MasterTakeoverResponse.getDefaultInstance()) return this;
-        if (other.hasSuccess()) {
-          setSuccess(other.getSuccess());
+      public Builder mergeFrom(com.orbekk.same.Services.Subscription other) {
+        if (other == com.orbekk.same.Services.Subscription.getDefaultInstance()) return this;
+        if (!other.id_.isEmpty()) {
+          if (id_.isEmpty()) {
+            id_ = other.id_;
+            bitField0_ = (bitField0_ & ~0x00000001);
+          } else {
+            ensureIdIsMutable();
+            id_.addAll(other.id_);
+          }
+          onChanged();
         }
-        if (other.hasClientState()) {
-          mergeClientState(other.getClientState());
+        if (!other.prefix_.isEmpty()) {
+          if (prefix_.isEmpty()) {
+            prefix_ = other.prefix_;
+            bitField0_ = (bitField0_ & ~0x00000002);
+          } else {
+            ensurePrefixIsMutable();
+            prefix_.addAll(other.prefix_);
+          }
+          onChanged();
         }
         this.mergeUnknownFields(other.getUnknownFields());
         return this;
@@ -3809,18 +14010,14 @@ public final class Services {
               }
               break;
             }
-            case 16: {
-              bitField0_ |= 0x00000001;
-              success_ = input.readBool();
+            case 10: {
+              ensureIdIsMutable();
+              id_.add(input.readBytes());
               break;
             }
-            case 26: {
-              com.orbekk.same.Services.ClientState.Builder subBuilder = com.orbekk.same.Services.ClientState.newBuilder();
-              if (hasClientState()) {
-                subBuilder.mergeFrom(getClientState());
-              }
-              input.readMessage(subBuilder, extensionRegistry);
-              setClientState(subBuilder.buildPartial());
+            case 18: {
+              ensurePrefixIsMutable();
+              prefix_.add(input.readBytes());
               break;
             }
           }
@@ -3829,220 +14026,202 @@ public final class Services {
       
       private int bitField0_;
       
-      // optional bool success = 2;
-      private boolean success_ ;
-      public boolean hasSuccess() {
-        return ((bitField0_ & 0x00000001) == 0x00000001);
+      // repeated string id = 1;
+      private com.google.protobuf.LazyStringList id_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      private void ensureIdIsMutable() {
+        if (!((bitField0_ & 0x00000001) == 0x00000001)) {
+          id_ = new com.google.protobuf.LazyStringArrayList(id_);
+          bitField0_ |= 0x00000001;
+         }
       }
-      public boolean getSuccess() {
-        return success_;
+      public java.util.List<String>
+          getIdList() {
+        return java.util.Collections.unmodifiableList(id_);
       }
-      public Builder setSuccess(boolean value) {
-        bitField0_ |= 0x00000001;
-        success_ = value;
+      public int getIdCount() {
+        return id_.size();
+      }
+      public String getId(int index) {
+        return id_.get(index);
+      }
+      public Builder setId(
+          int index, String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureIdIsMutable();
+        id_.set(index, value);
         onChanged();
         return this;
       }
-      public Builder clearSuccess() {
+      public Builder addId(String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureIdIsMutable();
+        id_.add(value);
+        onChanged();
+        return this;
+      }
+      public Builder addAllId(
+          java.lang.Iterable<String> values) {
+        ensureIdIsMutable();
+        super.addAll(values, id_);
+        onChanged();
+        return this;
+      }
+      public Builder clearId() {
+        id_ = com.google.protobuf.LazyStringArrayList.EMPTY;
         bitField0_ = (bitField0_ & ~0x00000001);
-        success_ = false;
         onChanged();
         return this;
       }
+      void addId(com.google.protobuf.ByteString value) {
+        ensureIdIsMutable();
+        id_.add(value);
+        onChanged();
+      }
       
-      // optional .com.orbekk.same.ClientState client_state = 3;
-      private com.orbekk.same.Services.ClientState clientState_ = com.orbekk.same.Services.ClientState.getDefaultInstance();
-      private com.google.protobuf.SingleFieldBuilder<
-          com.orbekk.same.Services.ClientState, com.orbekk.same.Services.ClientState.Builder, com.orbekk.same.Services.ClientStateOrBuilder> clientStateBuilder_;
-      public boolean hasClientState() {
-        return ((bitField0_ & 0x00000002) == 0x00000002);
+      // repeated string prefix = 2;
+      private com.google.protobuf.LazyStringList prefix_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      private void ensurePrefixIsMutable() {
+        if (!((bitField0_ & 0x00000002) == 0x00000002)) {
+          prefix_ = new com.google.protobuf.LazyStringArrayList(prefix_);
+          bitField0_ |= 0x00000002;
+         }
       }
-      public com.orbekk.same.Services.ClientState getClientState() {
-        if (clientStateBuilder_ == null) {
-          return clientState_;
-        } else {
-          return clientStateBuilder_.getMessage();
-        }
+      public java.util.List<String>
+          getPrefixList() {
+        return java.util.Collections.unmodifiableList(prefix_);
       }
-      public Builder setClientState(com.orbekk.same.Services.ClientState value) {
-        if (clientStateBuilder_ == null) {
-          if (value == null) {
-            throw new NullPointerException();
-          }
-          clientState_ = value;
-          onChanged();
-        } else {
-          clientStateBuilder_.setMessage(value);
-        }
-        bitField0_ |= 0x00000002;
+      public int getPrefixCount() {
+        return prefix_.size();
+      }
+      public String getPrefix(int index) {
+        return prefix_.get(index);
+      }
+      public Builder setPrefix(
+          int index, String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensurePrefixIsMutable();
+        prefix_.set(index, value);
+        onChanged();
         return this;
       }
-      public Builder setClientState(
-          com.orbekk.same.Services.ClientState.Builder builderForValue) {
-        if (clientStateBuilder_ == null) {
-          clientState_ = builderForValue.build();
-          onChanged();
-        } else {
-          clientStateBuilder_.setMessage(builderForValue.build());
-        }
-        bitField0_ |= 0x00000002;
+      public Builder addPrefix(String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensurePrefixIsMutable();
+        prefix_.add(value);
+        onChanged();
         return this;
       }
-      public Builder mergeClientState(com.orbekk.same.Services.ClientState value) {
-        if (clientStateBuilder_ == null) {
-          if (((bitField0_ & 0x00000002) == 0x00000002) &&
-              clientState_ != com.orbekk.same.Services.ClientState.getDefaultInstance()) {
-            clientState_ =
-              com.orbekk.same.Services.ClientState.newBuilder(clientState_).mergeFrom(value).buildPartial();
-          } else {
-            clientState_ = value;
-          }
-          onChanged();
-        } else {
-          clientStateBuilder_.mergeFrom(value);
-        }
-        bitField0_ |= 0x00000002;
+      public Builder addAllPrefix(
+          java.lang.Iterable<String> values) {
+        ensurePrefixIsMutable();
+        super.addAll(values, prefix_);
+        onChanged();
         return this;
       }
-      public Builder clearClientState() {
-        if (clientStateBuilder_ == null) {
-          clientState_ = com.orbekk.same.Services.ClientState.getDefaultInstance();
-          onChanged();
-        } else {
-          clientStateBuilder_.clear();
-        }
+      public Builder clearPrefix() {
+        prefix_ = com.google.protobuf.LazyStringArrayList.EMPTY;
         bitField0_ = (bitField0_ & ~0x00000002);
+        onChanged();
         return this;
       }
-      public com.orbekk.same.Services.ClientState.Builder getClientStateBuilder() {
-        bitField0_ |= 0x00000002;
+      void addPrefix(com.google.protobuf.ByteString value) {
+        ensurePrefixIsMutable();
+        prefix_.add(value);
         onChanged();
-        return getClientStateFieldBuilder().getBuilder();
-      }
-      public com.orbekk.same.Services.ClientStateOrBuilder getClientStateOrBuilder() {
-        if (clientStateBuilder_ != null) {
-          return clientStateBuilder_.getMessageOrBuilder();
-        } else {
-          return clientState_;
-        }
-      }
-      private com.google.protobuf.SingleFieldBuilder<
-          com.orbekk.same.Services.ClientState, com.orbekk.same.Services.ClientState.Builder, com.orbekk.same.Services.ClientStateOrBuilder> 
-          getClientStateFieldBuilder() {
-        if (clientStateBuilder_ == null) {
-          clientStateBuilder_ = new com.google.protobuf.SingleFieldBuilder<
-              com.orbekk.same.Services.ClientState, com.orbekk.same.Services.ClientState.Builder, com.orbekk.same.Services.ClientStateOrBuilder>(
-                  clientState_,
-                  getParentForChildren(),
-                  isClean());
-          clientState_ = null;
-        }
-        return clientStateBuilder_;
       }
       
-      // @@protoc_insertion_point(builder_scope:com.orbekk.same.MasterTakeoverResponse)
+      // @@protoc_insertion_point(builder_scope:com.orbekk.same.Subscription)
     }
     
     static {
-      defaultInstance = new MasterTakeoverResponse(true);
+      defaultInstance = new Subscription(true);
       defaultInstance.initFields();
     }
     
-    // @@protoc_insertion_point(class_scope:com.orbekk.same.MasterTakeoverResponse)
+    // @@protoc_insertion_point(class_scope:com.orbekk.same.Subscription)
   }
   
-  public interface FullStateResponseOrBuilder
+  public interface HeartbeatRequestOrBuilder
       extends com.google.protobuf.MessageOrBuilder {
     
-    // optional int64 revision = 1;
-    boolean hasRevision();
-    long getRevision();
+    // optional .com.orbekk.same.MasterState master = 1;
+    boolean hasMaster();
+    com.orbekk.same.Services.MasterState getMaster();
+    com.orbekk.same.Services.MasterStateOrBuilder getMasterOrBuilder();
     
-    // repeated .com.orbekk.same.Component component = 2;
-    java.util.List<com.orbekk.same.Services.Component> 
-        getComponentList();
-    com.orbekk.same.Services.Component getComponent(int index);
-    int getComponentCount();
-    java.util.List<? extends com.orbekk.same.Services.ComponentOrBuilder> 
-        getComponentOrBuilderList();
-    com.orbekk.same.Services.ComponentOrBuilder getComponentOrBuilder(
-        int index);
+    // optional int64 interval_millis = 2;
+    boolean hasIntervalMillis();
+    long getIntervalMillis();
   }
-  public static final class FullStateResponse extends
+  public static final class HeartbeatRequest extends
       com.google.protobuf.GeneratedMessage
-      implements FullStateResponseOrBuilder {
-    // Use FullStateResponse.newBuilder() to construct.
-    private FullStateResponse(Builder builder) {
+      implements HeartbeatRequestOrBuilder {
+    // Use HeartbeatRequest.newBuilder() to construct.
+    private HeartbeatRequest(Builder builder) {
       super(builder);
     }
-    private FullStateResponse(boolean noInit) {}
+    private HeartbeatRequest(boolean noInit) {}
     
-    private static final FullStateResponse defaultInstance;
-    public static FullStateResponse getDefaultInstance() {
+    private static final HeartbeatRequest defaultInstance;
+    public static HeartbeatRequest getDefaultInstance() {
       return defaultInstance;
     }
     
-    public FullStateResponse getDefaultInstanceForType() {
+    public HeartbeatRequest getDefaultInstanceForType() {
       return defaultInstance;
     }
     
     public static final com.google.protobuf.Descriptors.Descriptor
         getDescriptor() {
-      return com.orbekk.same.Services.internal_static_com_orbekk_same_FullStateResponse_descriptor;
+      return com.orbekk.same.Services.internal_static_com_orbekk_same_HeartbeatRequest_descriptor;
     }
     
     protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
         internalGetFieldAccessorTable() {
-      return com.orbekk.same.Services.internal_static_com_orbekk_same_FullStateResponse_fieldAccessorTable;
+      return com.orbekk.same.Services.internal_static_com_orbekk_same_HeartbeatRequest_fieldAccessorTable;
     }
     
     private int bitField0_;
-    // optional int64 revision = 1;
-    public static final int REVISION_FIELD_NUMBER = 1;
-    private long revision_;
-    public boolean hasRevision() {
+    // optional .com.orbekk.same.MasterState master = 1;
+    public static final int MASTER_FIELD_NUMBER = 1;
+    private com.orbekk.same.Services.MasterState master_;
+    public boolean hasMaster() {
       return ((bitField0_ & 0x00000001) == 0x00000001);
     }
-    public long getRevision() {
-      return revision_;
-    }
-    
-    // repeated .com.orbekk.same.Component component = 2;
-    public static final int COMPONENT_FIELD_NUMBER = 2;
-    private java.util.List<com.orbekk.same.Services.Component> component_;
-    public java.util.List<com.orbekk.same.Services.Component> getComponentList() {
-      return component_;
-    }
-    public java.util.List<? extends com.orbekk.same.Services.ComponentOrBuilder> 
-        getComponentOrBuilderList() {
-      return component_;
+    public com.orbekk.same.Services.MasterState getMaster() {
+      return master_;
     }
-    public int getComponentCount() {
-      return component_.size();
+    public com.orbekk.same.Services.MasterStateOrBuilder getMasterOrBuilder() {
+      return master_;
     }
-    public com.orbekk.same.Services.Component getComponent(int index) {
-      return component_.get(index);
+    
+    // optional int64 interval_millis = 2;
+    public static final int INTERVAL_MILLIS_FIELD_NUMBER = 2;
+    private long intervalMillis_;
+    public boolean hasIntervalMillis() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
     }
-    public com.orbekk.same.Services.ComponentOrBuilder getComponentOrBuilder(
-        int index) {
-      return component_.get(index);
+    public long getIntervalMillis() {
+      return intervalMillis_;
     }
     
     private void initFields() {
-      revision_ = 0L;
-      component_ = java.util.Collections.emptyList();
+      master_ = com.orbekk.same.Services.MasterState.getDefaultInstance();
+      intervalMillis_ = 0L;
     }
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
       byte isInitialized = memoizedIsInitialized;
       if (isInitialized != -1) return isInitialized == 1;
       
-      for (int i = 0; i < getComponentCount(); i++) {
-        if (!getComponent(i).isInitialized()) {
-          memoizedIsInitialized = 0;
-          return false;
-        }
-      }
       memoizedIsInitialized = 1;
       return true;
     }
@@ -4051,10 +14230,10 @@ public final class Services {
                         throws java.io.IOException {
       getSerializedSize();
       if (((bitField0_ & 0x00000001) == 0x00000001)) {
-        output.writeInt64(1, revision_);
+        output.writeMessage(1, master_);
       }
-      for (int i = 0; i < component_.size(); i++) {
-        output.writeMessage(2, component_.get(i));
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeInt64(2, intervalMillis_);
       }
       getUnknownFields().writeTo(output);
     }
@@ -4067,11 +14246,11 @@ public final class Services {
       size = 0;
       if (((bitField0_ & 0x00000001) == 0x00000001)) {
         size += com.google.protobuf.CodedOutputStream
-          .computeInt64Size(1, revision_);
+          .computeMessageSize(1, master_);
       }
-      for (int i = 0; i < component_.size(); i++) {
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
         size += com.google.protobuf.CodedOutputStream
-          .computeMessageSize(2, component_.get(i));
+          .computeInt64Size(2, intervalMillis_);
       }
       size += getUnknownFields().getSerializedSize();
       memoizedSerializedSize = size;
@@ -4085,41 +14264,41 @@ public final class Services {
       return super.writeReplace();
     }
     
-    public static com.orbekk.same.Services.FullStateResponse parseFrom(
+    public static com.orbekk.same.Services.HeartbeatRequest parseFrom(
         com.google.protobuf.ByteString data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return newBuilder().mergeFrom(data).buildParsed();
     }
-    public static com.orbekk.same.Services.FullStateResponse parseFrom(
+    public static com.orbekk.same.Services.HeartbeatRequest parseFrom(
         com.google.protobuf.ByteString data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return newBuilder().mergeFrom(data, extensionRegistry)
                .buildParsed();
     }
-    public static com.orbekk.same.Services.FullStateResponse parseFrom(byte[] data)
+    public static com.orbekk.same.Services.HeartbeatRequest parseFrom(byte[] data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return newBuilder().mergeFrom(data).buildParsed();
     }
-    public static com.orbekk.same.Services.FullStateResponse parseFrom(
+    public static com.orbekk.same.Services.HeartbeatRequest parseFrom(
         byte[] data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return newBuilder().mergeFrom(data, extensionRegistry)
                .buildParsed();
     }
-    public static com.orbekk.same.Services.FullStateResponse parseFrom(java.io.InputStream input)
+    public static com.orbekk.same.Services.HeartbeatRequest parseFrom(java.io.InputStream input)
         throws java.io.IOException {
       return newBuilder().mergeFrom(input).buildParsed();
     }
-    public static com.orbekk.same.Services.FullStateResponse parseFrom(
+    public static com.orbekk.same.Services.HeartbeatRequest parseFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return newBuilder().mergeFrom(input, extensionRegistry)
                .buildParsed();
     }
-    public static com.orbekk.same.Services.FullStateResponse parseDelimitedFrom(java.io.InputStream input)
+    public static com.orbekk.same.Services.HeartbeatRequest parseDelimitedFrom(java.io.InputStream input)
         throws java.io.IOException {
       Builder builder = newBuilder();
       if (builder.mergeDelimitedFrom(input)) {
@@ -4128,7 +14307,7 @@ public final class Services {
         return null;
       }
     }
-    public static com.orbekk.same.Services.FullStateResponse parseDelimitedFrom(
+    public static com.orbekk.same.Services.HeartbeatRequest parseDelimitedFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
@@ -4139,12 +14318,12 @@ public final class Services {
         return null;
       }
     }
-    public static com.orbekk.same.Services.FullStateResponse parseFrom(
+    public static com.orbekk.same.Services.HeartbeatRequest parseFrom(
         com.google.protobuf.CodedInputStream input)
         throws java.io.IOException {
       return newBuilder().mergeFrom(input).buildParsed();
     }
-    public static com.orbekk.same.Services.FullStateResponse parseFrom(
+    public static com.orbekk.same.Services.HeartbeatRequest parseFrom(
         com.google.protobuf.CodedInputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
@@ -4154,7 +14333,7 @@ public final class Services {
     
     public static Builder newBuilder() { return Builder.create(); }
     public Builder newBuilderForType() { return newBuilder(); }
-    public static Builder newBuilder(com.orbekk.same.Services.FullStateResponse prototype) {
+    public static Builder newBuilder(com.orbekk.same.Services.HeartbeatRequest prototype) {
       return newBuilder().mergeFrom(prototype);
     }
     public Builder toBuilder() { return newBuilder(this); }
@@ -4167,18 +14346,18 @@ public final class Services {
     }
     public static final class Builder extends
         com.google.protobuf.GeneratedMessage.Builder<Builder>
-       implements com.orbekk.same.Services.FullStateResponseOrBuilder {
+       implements com.orbekk.same.Services.HeartbeatRequestOrBuilder {
       public static final com.google.protobuf.Descriptors.Descriptor
           getDescriptor() {
-        return com.orbekk.same.Services.internal_static_com_orbekk_same_FullStateResponse_descriptor;
+        return com.orbekk.same.Services.internal_static_com_orbekk_same_HeartbeatRequest_descriptor;
       }
       
       protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
           internalGetFieldAccessorTable() {
-        return com.orbekk.same.Services.internal_static_com_orbekk_same_FullStateResponse_fieldAccessorTable;
+        return com.orbekk.same.Services.internal_static_com_orbekk_same_HeartbeatRequest_fieldAccessorTable;
       }
       
-      // Construct using com.orbekk.same.Services.FullStateResponse.newBuilder()
+      // Construct using com.orbekk.same.Services.HeartbeatRequest.newBuilder()
       private Builder() {
         maybeForceBuilderInitialization();
       }
@@ -4189,23 +14368,23 @@ public final class Services {
       }
       private void maybeForceBuilderInitialization() {
         if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
-          getComponentFieldBuilder();
+          getMasterFieldBuilder();
         }
       }
       private static Builder create() {
         return new Builder();
       }
-      
-      public Builder clear() {
-        super.clear();
-        revision_ = 0L;
-        bitField0_ = (bitField0_ & ~0x00000001);
-        if (componentBuilder_ == null) {
-          component_ = java.util.Collections.emptyList();
-          bitField0_ = (bitField0_ & ~0x00000002);
+      
+      public Builder clear() {
+        super.clear();
+        if (masterBuilder_ == null) {
+          master_ = com.orbekk.same.Services.MasterState.getDefaultInstance();
         } else {
-          componentBuilder_.clear();
+          masterBuilder_.clear();
         }
+        bitField0_ = (bitField0_ & ~0x00000001);
+        intervalMillis_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000002);
         return this;
       }
       
@@ -4215,24 +14394,24 @@ public final class Services {
       
       public com.google.protobuf.Descriptors.Descriptor
           getDescriptorForType() {
-        return com.orbekk.same.Services.FullStateResponse.getDescriptor();
+        return com.orbekk.same.Services.HeartbeatRequest.getDescriptor();
       }
       
-      public com.orbekk.same.Services.FullStateResponse getDefaultInstanceForType() {
-        return com.orbekk.same.Services.FullStateResponse.getDefaultInstance();
+      public com.orbekk.same.Services.HeartbeatRequest getDefaultInstanceForType() {
+        return com.orbekk.same.Services.HeartbeatRequest.getDefaultInstance();
       }
       
-      public com.orbekk.same.Services.FullStateResponse build() {
-        com.orbekk.same.Services.FullStateResponse result = buildPartial();
+      public com.orbekk.same.Services.HeartbeatRequest build() {
+        com.orbekk.same.Services.HeartbeatRequest result = buildPartial();
         if (!result.isInitialized()) {
           throw newUninitializedMessageException(result);
         }
         return result;
       }
       
-      private com.orbekk.same.Services.FullStateResponse buildParsed()
+      private com.orbekk.same.Services.HeartbeatRequest buildParsed()
           throws com.google.protobuf.InvalidProtocolBufferException {
-        com.orbekk.same.Services.FullStateResponse result = buildPartial();
+        com.orbekk.same.Services.HeartbeatRequest result = buildPartial();
         if (!result.isInitialized()) {
           throw newUninitializedMessageException(
             result).asInvalidProtocolBufferException();
@@ -4240,79 +14419,49 @@ public final class Services {
         return result;
       }
       
-      public com.orbekk.same.Services.FullStateResponse buildPartial() {
-        com.orbekk.same.Services.FullStateResponse result = new com.orbekk.same.Services.FullStateResponse(this);
+      public com.orbekk.same.Services.HeartbeatRequest buildPartial() {
+        com.orbekk.same.Services.HeartbeatRequest result = new com.orbekk.same.Services.HeartbeatRequest(this);
         int from_bitField0_ = bitField0_;
         int to_bitField0_ = 0;
         if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
           to_bitField0_ |= 0x00000001;
         }
-        result.revision_ = revision_;
-        if (componentBuilder_ == null) {
-          if (((bitField0_ & 0x00000002) == 0x00000002)) {
-            component_ = java.util.Collections.unmodifiableList(component_);
-            bitField0_ = (bitField0_ & ~0x00000002);
-          }
-          result.component_ = component_;
+        if (masterBuilder_ == null) {
+          result.master_ = master_;
         } else {
-          result.component_ = componentBuilder_.build();
+          result.master_ = masterBuilder_.build();
+        }
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
         }
+        result.intervalMillis_ = intervalMillis_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
       }
       
       public Builder mergeFrom(com.google.protobuf.Message other) {
-        if (other instanceof com.orbekk.same.Services.FullStateResponse) {
-          return mergeFrom((com.orbekk.same.Services.FullStateResponse)other);
+        if (other instanceof com.orbekk.same.Services.HeartbeatRequest) {
+          return mergeFrom((com.orbekk.same.Services.HeartbeatRequest)other);
         } else {
           super.mergeFrom(other);
           return this;
         }
       }
       
-      public Builder mergeFrom(com.orbekk.same.Services.FullStateResponse other) {
-        if (other == com.orbekk.same.Services.FullStateResponse.getDefaultInstance()) return this;
-        if (other.hasRevision()) {
-          setRevision(other.getRevision());
+      public Builder mergeFrom(com.orbekk.same.Services.HeartbeatRequest other) {
+        if (other == com.orbekk.same.Services.HeartbeatRequest.getDefaultInstance()) return this;
+        if (other.hasMaster()) {
+          mergeMaster(other.getMaster());
         }
-        if (componentBuilder_ == null) {
-          if (!other.component_.isEmpty()) {
-            if (component_.isEmpty()) {
-              component_ = other.component_;
-              bitField0_ = (bitField0_ & ~0x00000002);
-            } else {
-              ensureComponentIsMutable();
-              component_.addAll(other.component_);
-            }
-            onChanged();
-          }
-        } else {
-          if (!other.component_.isEmpty()) {
-            if (componentBuilder_.isEmpty()) {
-              componentBuilder_.dispose();
-              componentBuilder_ = null;
-              component_ = other.component_;
-              bitField0_ = (bitField0_ & ~0x00000002);
-              componentBuilder_ = 
-                com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders ?
-                   getComponentFieldBuilder() : null;
-            } else {
-              componentBuilder_.addAllMessages(other.component_);
-            }
-          }
+        if (other.hasIntervalMillis()) {
+          setIntervalMillis(other.getIntervalMillis());
         }
         this.mergeUnknownFields(other.getUnknownFields());
         return this;
       }
       
       public final boolean isInitialized() {
-        for (int i = 0; i < getComponentCount(); i++) {
-          if (!getComponent(i).isInitialized()) {
-            
-            return false;
-          }
-        }
         return true;
       }
       
@@ -4339,15 +14488,18 @@ public final class Services {
               }
               break;
             }
-            case 8: {
-              bitField0_ |= 0x00000001;
-              revision_ = input.readInt64();
+            case 10: {
+              com.orbekk.same.Services.MasterState.Builder subBuilder = com.orbekk.same.Services.MasterState.newBuilder();
+              if (hasMaster()) {
+                subBuilder.mergeFrom(getMaster());
+              }
+              input.readMessage(subBuilder, extensionRegistry);
+              setMaster(subBuilder.buildPartial());
               break;
             }
-            case 18: {
-              com.orbekk.same.Services.Component.Builder subBuilder = com.orbekk.same.Services.Component.newBuilder();
-              input.readMessage(subBuilder, extensionRegistry);
-              addComponent(subBuilder.buildPartial());
+            case 16: {
+              bitField0_ |= 0x00000002;
+              intervalMillis_ = input.readInt64();
               break;
             }
           }
@@ -4356,222 +14508,126 @@ public final class Services {
       
       private int bitField0_;
       
-      // optional int64 revision = 1;
-      private long revision_ ;
-      public boolean hasRevision() {
+      // optional .com.orbekk.same.MasterState master = 1;
+      private com.orbekk.same.Services.MasterState master_ = com.orbekk.same.Services.MasterState.getDefaultInstance();
+      private com.google.protobuf.SingleFieldBuilder<
+          com.orbekk.same.Services.MasterState, com.orbekk.same.Services.MasterState.Builder, com.orbekk.same.Services.MasterStateOrBuilder> masterBuilder_;
+      public boolean hasMaster() {
         return ((bitField0_ & 0x00000001) == 0x00000001);
       }
-      public long getRevision() {
-        return revision_;
-      }
-      public Builder setRevision(long value) {
-        bitField0_ |= 0x00000001;
-        revision_ = value;
-        onChanged();
-        return this;
-      }
-      public Builder clearRevision() {
-        bitField0_ = (bitField0_ & ~0x00000001);
-        revision_ = 0L;
-        onChanged();
-        return this;
-      }
-      
-      // repeated .com.orbekk.same.Component component = 2;
-      private java.util.List<com.orbekk.same.Services.Component> component_ =
-        java.util.Collections.emptyList();
-      private void ensureComponentIsMutable() {
-        if (!((bitField0_ & 0x00000002) == 0x00000002)) {
-          component_ = new java.util.ArrayList<com.orbekk.same.Services.Component>(component_);
-          bitField0_ |= 0x00000002;
-         }
-      }
-      
-      private com.google.protobuf.RepeatedFieldBuilder<
-          com.orbekk.same.Services.Component, com.orbekk.same.Services.Component.Builder, com.orbekk.same.Services.ComponentOrBuilder> componentBuilder_;
-      
-      public java.util.List<com.orbekk.same.Services.Component> getComponentList() {
-        if (componentBuilder_ == null) {
-          return java.util.Collections.unmodifiableList(component_);
-        } else {
-          return componentBuilder_.getMessageList();
-        }
-      }
-      public int getComponentCount() {
-        if (componentBuilder_ == null) {
-          return component_.size();
-        } else {
-          return componentBuilder_.getCount();
-        }
-      }
-      public com.orbekk.same.Services.Component getComponent(int index) {
-        if (componentBuilder_ == null) {
-          return component_.get(index);
+      public com.orbekk.same.Services.MasterState getMaster() {
+        if (masterBuilder_ == null) {
+          return master_;
         } else {
-          return componentBuilder_.getMessage(index);
+          return masterBuilder_.getMessage();
         }
       }
-      public Builder setComponent(
-          int index, com.orbekk.same.Services.Component value) {
-        if (componentBuilder_ == null) {
+      public Builder setMaster(com.orbekk.same.Services.MasterState value) {
+        if (masterBuilder_ == null) {
           if (value == null) {
             throw new NullPointerException();
           }
-          ensureComponentIsMutable();
-          component_.set(index, value);
-          onChanged();
-        } else {
-          componentBuilder_.setMessage(index, value);
-        }
-        return this;
-      }
-      public Builder setComponent(
-          int index, com.orbekk.same.Services.Component.Builder builderForValue) {
-        if (componentBuilder_ == null) {
-          ensureComponentIsMutable();
-          component_.set(index, builderForValue.build());
+          master_ = value;
           onChanged();
         } else {
-          componentBuilder_.setMessage(index, builderForValue.build());
+          masterBuilder_.setMessage(value);
         }
+        bitField0_ |= 0x00000001;
         return this;
       }
-      public Builder addComponent(com.orbekk.same.Services.Component value) {
-        if (componentBuilder_ == null) {
-          if (value == null) {
-            throw new NullPointerException();
-          }
-          ensureComponentIsMutable();
-          component_.add(value);
+      public Builder setMaster(
+          com.orbekk.same.Services.MasterState.Builder builderForValue) {
+        if (masterBuilder_ == null) {
+          master_ = builderForValue.build();
           onChanged();
         } else {
-          componentBuilder_.addMessage(value);
+          masterBuilder_.setMessage(builderForValue.build());
         }
+        bitField0_ |= 0x00000001;
         return this;
       }
-      public Builder addComponent(
-          int index, com.orbekk.same.Services.Component value) {
-        if (componentBuilder_ == null) {
-          if (value == null) {
-            throw new NullPointerException();
+      public Builder mergeMaster(com.orbekk.same.Services.MasterState value) {
+        if (masterBuilder_ == null) {
+          if (((bitField0_ & 0x00000001) == 0x00000001) &&
+              master_ != com.orbekk.same.Services.MasterState.getDefaultInstance()) {
+            master_ =
+              com.orbekk.same.Services.MasterState.newBuilder(master_).mergeFrom(value).buildPartial();
+          } else {
+            master_ = value;
           }
-          ensureComponentIsMutable();
-          component_.add(index, value);
-          onChanged();
-        } else {
-          componentBuilder_.addMessage(index, value);
-        }
-        return this;
-      }
-      public Builder addComponent(
-          com.orbekk.same.Services.Component.Builder builderForValue) {
-        if (componentBuilder_ == null) {
-          ensureComponentIsMutable();
-          component_.add(builderForValue.build());
-          onChanged();
-        } else {
-          componentBuilder_.addMessage(builderForValue.build());
-        }
-        return this;
-      }
-      public Builder addComponent(
-          int index, com.orbekk.same.Services.Component.Builder builderForValue) {
-        if (componentBuilder_ == null) {
-          ensureComponentIsMutable();
-          component_.add(index, builderForValue.build());
-          onChanged();
-        } else {
-          componentBuilder_.addMessage(index, builderForValue.build());
-        }
-        return this;
-      }
-      public Builder addAllComponent(
-          java.lang.Iterable<? extends com.orbekk.same.Services.Component> values) {
-        if (componentBuilder_ == null) {
-          ensureComponentIsMutable();
-          super.addAll(values, component_);
-          onChanged();
-        } else {
-          componentBuilder_.addAllMessages(values);
-        }
-        return this;
-      }
-      public Builder clearComponent() {
-        if (componentBuilder_ == null) {
-          component_ = java.util.Collections.emptyList();
-          bitField0_ = (bitField0_ & ~0x00000002);
           onChanged();
         } else {
-          componentBuilder_.clear();
+          masterBuilder_.mergeFrom(value);
         }
+        bitField0_ |= 0x00000001;
         return this;
       }
-      public Builder removeComponent(int index) {
-        if (componentBuilder_ == null) {
-          ensureComponentIsMutable();
-          component_.remove(index);
+      public Builder clearMaster() {
+        if (masterBuilder_ == null) {
+          master_ = com.orbekk.same.Services.MasterState.getDefaultInstance();
           onChanged();
         } else {
-          componentBuilder_.remove(index);
+          masterBuilder_.clear();
         }
+        bitField0_ = (bitField0_ & ~0x00000001);
         return this;
       }
-      public com.orbekk.same.Services.Component.Builder getComponentBuilder(
-          int index) {
-        return getComponentFieldBuilder().getBuilder(index);
-      }
-      public com.orbekk.same.Services.ComponentOrBuilder getComponentOrBuilder(
-          int index) {
-        if (componentBuilder_ == null) {
-          return component_.get(index);  } else {
-          return componentBuilder_.getMessageOrBuilder(index);
-        }
+      public com.orbekk.same.Services.MasterState.Builder getMasterBuilder() {
+        bitField0_ |= 0x00000001;
+        onChanged();
+        return getMasterFieldBuilder().getBuilder();
       }
-      public java.util.List<? extends com.orbekk.same.Services.ComponentOrBuilder> 
-           getComponentOrBuilderList() {
-        if (componentBuilder_ != null) {
-          return componentBuilder_.getMessageOrBuilderList();
+      public com.orbekk.same.Services.MasterStateOrBuilder getMasterOrBuilder() {
+        if (masterBuilder_ != null) {
+          return masterBuilder_.getMessageOrBuilder();
         } else {
-          return java.util.Collections.unmodifiableList(component_);
+          return master_;
         }
       }
-      public com.orbekk.same.Services.Component.Builder addComponentBuilder() {
-        return getComponentFieldBuilder().addBuilder(
-            com.orbekk.same.Services.Component.getDefaultInstance());
-      }
-      public com.orbekk.same.Services.Component.Builder addComponentBuilder(
-          int index) {
-        return getComponentFieldBuilder().addBuilder(
-            index, com.orbekk.same.Services.Component.getDefaultInstance());
-      }
-      public java.util.List<com.orbekk.same.Services.Component.Builder> 
-           getComponentBuilderList() {
-        return getComponentFieldBuilder().getBuilderList();
-      }
-      private com.google.protobuf.RepeatedFieldBuilder<
-          com.orbekk.same.Services.Component, com.orbekk.same.Services.Component.Builder, com.orbekk.same.Services.ComponentOrBuilder> 
-          getComponentFieldBuilder() {
-        if (componentBuilder_ == null) {
-          componentBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
-              com.orbekk.same.Services.Component, com.orbekk.same.Services.Component.Builder, com.orbekk.same.Services.ComponentOrBuilder>(
-                  component_,
-                  ((bitField0_ & 0x00000002) == 0x00000002),
+      private com.google.protobuf.SingleFieldBuilder<
+          com.orbekk.same.Services.MasterState, com.orbekk.same.Services.MasterState.Builder, com.orbekk.same.Services.MasterStateOrBuilder> 
+          getMasterFieldBuilder() {
+        if (masterBuilder_ == null) {
+          masterBuilder_ = new com.google.protobuf.SingleFieldBuilder<
+              com.orbekk.same.Services.MasterState, com.orbekk.same.Services.MasterState.Builder, com.orbekk.same.Services.MasterStateOrBuilder>(
+                  master_,
                   getParentForChildren(),
                   isClean());
-          component_ = null;
+          master_ = null;
         }
-        return componentBuilder_;
+        return masterBuilder_;
       }
       
-      // @@protoc_insertion_point(builder_scope:com.orbekk.same.FullStateResponse)
+      // optional int64 interval_millis = 2;
+      private long intervalMillis_ ;
+      public boolean hasIntervalMillis() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      public long getIntervalMillis() {
+        return intervalMillis_;
+      }
+      public Builder setIntervalMillis(long value) {
+        bitField0_ |= 0x00000002;
+        intervalMillis_ = value;
+        onChanged();
+        return this;
+      }
+      public Builder clearIntervalMillis() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        intervalMillis_ = 0L;
+        onChanged();
+        return this;
+      }
+      
+      // @@protoc_insertion_point(builder_scope:com.orbekk.same.HeartbeatRequest)
     }
     
     static {
-      defaultInstance = new FullStateResponse(true);
+      defaultInstance = new HeartbeatRequest(true);
       defaultInstance.initFields();
     }
     
-    // @@protoc_insertion_point(class_scope:com.orbekk.same.FullStateResponse)
+    // @@protoc_insertion_point(class_scope:com.orbekk.same.HeartbeatRequest)
   }
   
   public interface ClientStateOrBuilder
@@ -4588,6 +14644,11 @@ public final class Services {
     // optional int64 revision = 3;
     boolean hasRevision();
     long getRevision();
+    
+    // optional .com.orbekk.same.Subscription subscription = 4;
+    boolean hasSubscription();
+    com.orbekk.same.Services.Subscription getSubscription();
+    com.orbekk.same.Services.SubscriptionOrBuilder getSubscriptionOrBuilder();
   }
   public static final class ClientState extends
       com.google.protobuf.GeneratedMessage
@@ -4692,10 +14753,24 @@ public final class Services {
       return revision_;
     }
     
+    // optional .com.orbekk.same.Subscription subscription = 4;
+    public static final int SUBSCRIPTION_FIELD_NUMBER = 4;
+    private com.orbekk.same.Services.Subscription subscription_;
+    public boolean hasSubscription() {
+      return ((bitField0_ & 0x00000008) == 0x00000008);
+    }
+    public com.orbekk.same.Services.Subscription getSubscription() {
+      return subscription_;
+    }
+    public com.orbekk.same.Services.SubscriptionOrBuilder getSubscriptionOrBuilder() {
+      return subscription_;
+    }
+    
     private void initFields() {
       url_ = "";
       location_ = "";
       revision_ = 0L;
+      subscription_ = com.orbekk.same.Services.Subscription.getDefaultInstance();
     }
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
@@ -4718,6 +14793,9 @@ public final class Services {
       if (((bitField0_ & 0x00000004) == 0x00000004)) {
         output.writeInt64(3, revision_);
       }
+      if (((bitField0_ & 0x00000008) == 0x00000008)) {
+        output.writeMessage(4, subscription_);
+      }
       getUnknownFields().writeTo(output);
     }
     
@@ -4739,6 +14817,10 @@ public final class Services {
         size += com.google.protobuf.CodedOutputStream
           .computeInt64Size(3, revision_);
       }
+      if (((bitField0_ & 0x00000008) == 0x00000008)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(4, subscription_);
+      }
       size += getUnknownFields().getSerializedSize();
       memoizedSerializedSize = size;
       return size;
@@ -4855,6 +14937,7 @@ public final class Services {
       }
       private void maybeForceBuilderInitialization() {
         if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+          getSubscriptionFieldBuilder();
         }
       }
       private static Builder create() {
@@ -4869,6 +14952,12 @@ public final class Services {
         bitField0_ = (bitField0_ & ~0x00000002);
         revision_ = 0L;
         bitField0_ = (bitField0_ & ~0x00000004);
+        if (subscriptionBuilder_ == null) {
+          subscription_ = com.orbekk.same.Services.Subscription.getDefaultInstance();
+        } else {
+          subscriptionBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000008);
         return this;
       }
       
@@ -4919,6 +15008,14 @@ public final class Services {
           to_bitField0_ |= 0x00000004;
         }
         result.revision_ = revision_;
+        if (((from_bitField0_ & 0x00000008) == 0x00000008)) {
+          to_bitField0_ |= 0x00000008;
+        }
+        if (subscriptionBuilder_ == null) {
+          result.subscription_ = subscription_;
+        } else {
+          result.subscription_ = subscriptionBuilder_.build();
+        }
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
@@ -4944,6 +15041,9 @@ public final class Services {
         if (other.hasRevision()) {
           setRevision(other.getRevision());
         }
+        if (other.hasSubscription()) {
+          mergeSubscription(other.getSubscription());
+        }
         this.mergeUnknownFields(other.getUnknownFields());
         return this;
       }
@@ -4990,6 +15090,15 @@ public final class Services {
               revision_ = input.readInt64();
               break;
             }
+            case 34: {
+              com.orbekk.same.Services.Subscription.Builder subBuilder = com.orbekk.same.Services.Subscription.newBuilder();
+              if (hasSubscription()) {
+                subBuilder.mergeFrom(getSubscription());
+              }
+              input.readMessage(subBuilder, extensionRegistry);
+              setSubscription(subBuilder.buildPartial());
+              break;
+            }
           }
         }
       }
@@ -5089,6 +15198,96 @@ public final class Services {
         return this;
       }
       
+      // optional .com.orbekk.same.Subscription subscription = 4;
+      private com.orbekk.same.Services.Subscription subscription_ = com.orbekk.same.Services.Subscription.getDefaultInstance();
+      private com.google.protobuf.SingleFieldBuilder<
+          com.orbekk.same.Services.Subscription, com.orbekk.same.Services.Subscription.Builder, com.orbekk.same.Services.SubscriptionOrBuilder> subscriptionBuilder_;
+      public boolean hasSubscription() {
+        return ((bitField0_ & 0x00000008) == 0x00000008);
+      }
+      public com.orbekk.same.Services.Subscription getSubscription() {
+        if (subscriptionBuilder_ == null) {
+          return subscription_;
+        } else {
+          return subscriptionBuilder_.getMessage();
+        }
+      }
+      public Builder setSubscription(com.orbekk.same.Services.Subscription value) {
+        if (subscriptionBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          subscription_ = value;
+          onChanged();
+        } else {
+          subscriptionBuilder_.setMessage(value);
+        }
+        bitField0_ |= 0x00000008;
+        return this;
+      }
+      public Builder setSubscription(
+          com.orbekk.same.Services.Subscription.Builder builderForValue) {
+        if (subscriptionBuilder_ == null) {
+          subscription_ = builderForValue.build();
+          onChanged();
+        } else {
+          subscriptionBuilder_.setMessage(builderForValue.build());
+        }
+        bitField0_ |= 0x00000008;
+        return this;
+      }
+      public Builder mergeSubscription(com.orbekk.same.Services.Subscription value) {
+        if (subscriptionBuilder_ == null) {
+          if (((bitField0_ & 0x00000008) == 0x00000008) &&
+              subscription_ != com.orbekk.same.Services.Subscription.getDefaultInstance()) {
+            subscription_ =
+              com.orbekk.same.Services.Subscription.newBuilder(subscription_).mergeFrom(value).buildPartial();
+          } else {
+            subscription_ = value;
+          }
+          onChanged();
+        } else {
+          subscriptionBuilder_.mergeFrom(value);
+        }
+        bitField0_ |= 0x00000008;
+        return this;
+      }
+      public Builder clearSubscription() {
+        if (subscriptionBuilder_ == null) {
+          subscription_ = com.orbekk.same.Services.Subscription.getDefaultInstance();
+          onChanged();
+        } else {
+          subscriptionBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000008);
+        return this;
+      }
+      public com.orbekk.same.Services.Subscription.Builder getSubscriptionBuilder() {
+        bitField0_ |= 0x00000008;
+        onChanged();
+        return getSubscriptionFieldBuilder().getBuilder();
+      }
+      public com.orbekk.same.Services.SubscriptionOrBuilder getSubscriptionOrBuilder() {
+        if (subscriptionBuilder_ != null) {
+          return subscriptionBuilder_.getMessageOrBuilder();
+        } else {
+          return subscription_;
+        }
+      }
+      private com.google.protobuf.SingleFieldBuilder<
+          com.orbekk.same.Services.Subscription, com.orbekk.same.Services.Subscription.Builder, com.orbekk.same.Services.SubscriptionOrBuilder> 
+          getSubscriptionFieldBuilder() {
+        if (subscriptionBuilder_ == null) {
+          subscriptionBuilder_ = new com.google.protobuf.SingleFieldBuilder<
+              com.orbekk.same.Services.Subscription, com.orbekk.same.Services.Subscription.Builder, com.orbekk.same.Services.SubscriptionOrBuilder>(
+                  subscription_,
+                  getParentForChildren(),
+                  isClean());
+          subscription_ = null;
+        }
+        return subscriptionBuilder_;
+      }
+      
       // @@protoc_insertion_point(builder_scope:com.orbekk.same.ClientState)
     }
     
@@ -6480,6 +16679,21 @@ public final class Services {
           com.orbekk.same.Services.Component request,
           com.google.protobuf.RpcCallback<com.orbekk.same.Services.Empty> done);
       
+      public abstract void setStates(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.ComponentBatch request,
+          com.google.protobuf.RpcCallback<com.orbekk.same.Services.Empty> done);
+      
+      public abstract void relay(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.RelayRequest request,
+          com.google.protobuf.RpcCallback<com.orbekk.same.Services.Empty> done);
+      
+      public abstract void getBuckets(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.BucketRequest request,
+          com.google.protobuf.RpcCallback<com.orbekk.same.Services.FullStateResponse> done);
+      
       public abstract void masterDown(
           com.google.protobuf.RpcController controller,
           com.orbekk.same.Services.MasterState request,
@@ -6500,6 +16714,26 @@ public final class Services {
           com.orbekk.same.Services.MasterState request,
           com.google.protobuf.RpcCallback<com.orbekk.same.Services.Empty> done);
       
+      public abstract void applyPatch(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.Component request,
+          com.google.protobuf.RpcCallback<com.orbekk.same.Services.UpdateComponentResponse> done);
+      
+      public abstract void getChangesSince(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.ChangesRequest request,
+          com.google.protobuf.RpcCallback<com.orbekk.same.Services.ChangesResponse> done);
+      
+      public abstract void membershipChanged(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.MembershipEvent request,
+          com.google.protobuf.RpcCallback<com.orbekk.same.Services.Empty> done);
+      
+      public abstract void heartbeat(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.HeartbeatRequest request,
+          com.google.protobuf.RpcCallback<com.orbekk.same.Services.Empty> done);
+      
     }
     
     public static com.google.protobuf.Service newReflectiveService(
@@ -6513,6 +16747,30 @@ public final class Services {
           impl.setState(controller, request, done);
         }
         
+        @java.lang.Override
+        public  void setStates(
+            com.google.protobuf.RpcController controller,
+            com.orbekk.same.Services.ComponentBatch request,
+            com.google.protobuf.RpcCallback<com.orbekk.same.Services.Empty> done) {
+          impl.setStates(controller, request, done);
+        }
+        
+        @java.lang.Override
+        public  void relay(
+            com.google.protobuf.RpcController controller,
+            com.orbekk.same.Services.RelayRequest request,
+            com.google.protobuf.RpcCallback<com.orbekk.same.Services.Empty> done) {
+          impl.relay(controller, request, done);
+        }
+        
+        @java.lang.Override
+        public  void getBuckets(
+            com.google.protobuf.RpcController controller,
+            com.orbekk.same.Services.BucketRequest request,
+            com.google.protobuf.RpcCallback<com.orbekk.same.Services.FullStateResponse> done) {
+          impl.getBuckets(controller, request, done);
+        }
+        
         @java.lang.Override
         public  void masterDown(
             com.google.protobuf.RpcController controller,
@@ -6545,6 +16803,38 @@ public final class Services {
           impl.masterTakeoverFinished(controller, request, done);
         }
         
+        @java.lang.Override
+        public  void applyPatch(
+            com.google.protobuf.RpcController controller,
+            com.orbekk.same.Services.Component request,
+            com.google.protobuf.RpcCallback<com.orbekk.same.Services.UpdateComponentResponse> done) {
+          impl.applyPatch(controller, request, done);
+        }
+        
+        @java.lang.Override
+        public  void getChangesSince(
+            com.google.protobuf.RpcController controller,
+            com.orbekk.same.Services.ChangesRequest request,
+            com.google.protobuf.RpcCallback<com.orbekk.same.Services.ChangesResponse> done) {
+          impl.getChangesSince(controller, request, done);
+        }
+        
+        @java.lang.Override
+        public  void membershipChanged(
+            com.google.protobuf.RpcController controller,
+            com.orbekk.same.Services.MembershipEvent request,
+            com.google.protobuf.RpcCallback<com.orbekk.same.Services.Empty> done) {
+          impl.membershipChanged(controller, request, done);
+        }
+        
+        @java.lang.Override
+        public  void heartbeat(
+            com.google.protobuf.RpcController controller,
+            com.orbekk.same.Services.HeartbeatRequest request,
+            com.google.protobuf.RpcCallback<com.orbekk.same.Services.Empty> done) {
+          impl.heartbeat(controller, request, done);
+        }
+        
       };
     }
     
@@ -6570,13 +16860,27 @@ public final class Services {
             case 0:
               return impl.setState(controller, (com.orbekk.same.Services.Component)request);
             case 1:
-              return impl.masterDown(controller, (com.orbekk.same.Services.MasterState)request);
+              return impl.setStates(controller, (com.orbekk.same.Services.ComponentBatch)request);
             case 2:
-              return impl.masterTakeover(controller, (com.orbekk.same.Services.MasterState)request);
+              return impl.relay(controller, (com.orbekk.same.Services.RelayRequest)request);
             case 3:
-              return impl.getFullState(controller, (com.orbekk.same.Services.Empty)request);
+              return impl.getBuckets(controller, (com.orbekk.same.Services.BucketRequest)request);
             case 4:
+              return impl.masterDown(controller, (com.orbekk.same.Services.MasterState)request);
+            case 5:
+              return impl.masterTakeover(controller, (com.orbekk.same.Services.MasterState)request);
+            case 6:
+              return impl.getFullState(controller, (com.orbekk.same.Services.Empty)request);
+            case 7:
               return impl.masterTakeoverFinished(controller, (com.orbekk.same.Services.MasterState)request);
+            case 8:
+              return impl.applyPatch(controller, (com.orbekk.same.Services.Component)request);
+            case 9:
+              return impl.getChangesSince(controller, (com.orbekk.same.Services.ChangesRequest)request);
+            case 10:
+              return impl.membershipChanged(controller, (com.orbekk.same.Services.MembershipEvent)request);
+            case 11:
+              return impl.heartbeat(controller, (com.orbekk.same.Services.HeartbeatRequest)request);
             default:
               throw new java.lang.AssertionError("Can't get here.");
           }
@@ -6594,13 +16898,27 @@ public final class Services {
             case 0:
               return com.orbekk.same.Services.Component.getDefaultInstance();
             case 1:
-              return com.orbekk.same.Services.MasterState.getDefaultInstance();
+              return com.orbekk.same.Services.ComponentBatch.getDefaultInstance();
             case 2:
-              return com.orbekk.same.Services.MasterState.getDefaultInstance();
+              return com.orbekk.same.Services.RelayRequest.getDefaultInstance();
             case 3:
-              return com.orbekk.same.Services.Empty.getDefaultInstance();
+              return com.orbekk.same.Services.BucketRequest.getDefaultInstance();
             case 4:
               return com.orbekk.same.Services.MasterState.getDefaultInstance();
+            case 5:
+              return com.orbekk.same.Services.MasterState.getDefaultInstance();
+            case 6:
+              return com.orbekk.same.Services.Empty.getDefaultInstance();
+            case 7:
+              return com.orbekk.same.Services.MasterState.getDefaultInstance();
+            case 8:
+              return com.orbekk.same.Services.Component.getDefaultInstance();
+            case 9:
+              return com.orbekk.same.Services.ChangesRequest.getDefaultInstance();
+            case 10:
+              return com.orbekk.same.Services.MembershipEvent.getDefaultInstance();
+            case 11:
+              return com.orbekk.same.Services.HeartbeatRequest.getDefaultInstance();
             default:
               throw new java.lang.AssertionError("Can't get here.");
           }
@@ -6620,11 +16938,25 @@ public final class Services {
             case 1:
               return com.orbekk.same.Services.Empty.getDefaultInstance();
             case 2:
-              return com.orbekk.same.Services.MasterTakeoverResponse.getDefaultInstance();
+              return com.orbekk.same.Services.Empty.getDefaultInstance();
             case 3:
               return com.orbekk.same.Services.FullStateResponse.getDefaultInstance();
             case 4:
               return com.orbekk.same.Services.Empty.getDefaultInstance();
+            case 5:
+              return com.orbekk.same.Services.MasterTakeoverResponse.getDefaultInstance();
+            case 6:
+              return com.orbekk.same.Services.FullStateResponse.getDefaultInstance();
+            case 7:
+              return com.orbekk.same.Services.Empty.getDefaultInstance();
+            case 8:
+              return com.orbekk.same.Services.UpdateComponentResponse.getDefaultInstance();
+            case 9:
+              return com.orbekk.same.Services.ChangesResponse.getDefaultInstance();
+            case 10:
+              return com.orbekk.same.Services.Empty.getDefaultInstance();
+            case 11:
+              return com.orbekk.same.Services.Empty.getDefaultInstance();
             default:
               throw new java.lang.AssertionError("Can't get here.");
           }
@@ -6638,6 +16970,21 @@ public final class Services {
         com.orbekk.same.Services.Component request,
         com.google.protobuf.RpcCallback<com.orbekk.same.Services.Empty> done);
     
+    public abstract void setStates(
+        com.google.protobuf.RpcController controller,
+        com.orbekk.same.Services.ComponentBatch request,
+        com.google.protobuf.RpcCallback<com.orbekk.same.Services.Empty> done);
+    
+    public abstract void relay(
+        com.google.protobuf.RpcController controller,
+        com.orbekk.same.Services.RelayRequest request,
+        com.google.protobuf.RpcCallback<com.orbekk.same.Services.Empty> done);
+    
+    public abstract void getBuckets(
+        com.google.protobuf.RpcController controller,
+        com.orbekk.same.Services.BucketRequest request,
+        com.google.protobuf.RpcCallback<com.orbekk.same.Services.FullStateResponse> done);
+    
     public abstract void masterDown(
         com.google.protobuf.RpcController controller,
         com.orbekk.same.Services.MasterState request,
@@ -6658,6 +17005,26 @@ public final class Services {
         com.orbekk.same.Services.MasterState request,
         com.google.protobuf.RpcCallback<com.orbekk.same.Services.Empty> done);
     
+    public abstract void applyPatch(
+        com.google.protobuf.RpcController controller,
+        com.orbekk.same.Services.Component request,
+        com.google.protobuf.RpcCallback<com.orbekk.same.Services.UpdateComponentResponse> done);
+    
+    public abstract void getChangesSince(
+        com.google.protobuf.RpcController controller,
+        com.orbekk.same.Services.ChangesRequest request,
+        com.google.protobuf.RpcCallback<com.orbekk.same.Services.ChangesResponse> done);
+    
+    public abstract void membershipChanged(
+        com.google.protobuf.RpcController controller,
+        com.orbekk.same.Services.MembershipEvent request,
+        com.google.protobuf.RpcCallback<com.orbekk.same.Services.Empty> done);
+    
+    public abstract void heartbeat(
+        com.google.protobuf.RpcController controller,
+        com.orbekk.same.Services.HeartbeatRequest request,
+        com.google.protobuf.RpcCallback<com.orbekk.same.Services.Empty> done);
+    
     public static final
         com.google.protobuf.Descriptors.ServiceDescriptor
         getDescriptor() {
@@ -6686,25 +17053,60 @@ public final class Services {
               done));
           return;
         case 1:
-          this.masterDown(controller, (com.orbekk.same.Services.MasterState)request,
+          this.setStates(controller, (com.orbekk.same.Services.ComponentBatch)request,
             com.google.protobuf.RpcUtil.<com.orbekk.same.Services.Empty>specializeCallback(
               done));
           return;
         case 2:
+          this.relay(controller, (com.orbekk.same.Services.RelayRequest)request,
+            com.google.protobuf.RpcUtil.<com.orbekk.same.Services.Empty>specializeCallback(
+              done));
+          return;
+        case 3:
+          this.getBuckets(controller, (com.orbekk.same.Services.BucketRequest)request,
+            com.google.protobuf.RpcUtil.<com.orbekk.same.Services.FullStateResponse>specializeCallback(
+              done));
+          return;
+        case 4:
+          this.masterDown(controller, (com.orbekk.same.Services.MasterState)request,
+            com.google.protobuf.RpcUtil.<com.orbekk.same.Services.Empty>specializeCallback(
+              done));
+          return;
+        case 5:
           this.masterTakeover(controller, (com.orbekk.same.Services.MasterState)request,
             com.google.protobuf.RpcUtil.<com.orbekk.same.Services.MasterTakeoverResponse>specializeCallback(
               done));
           return;
-        case 3:
+        case 6:
           this.getFullState(controller, (com.orbekk.same.Services.Empty)request,
             com.google.protobuf.RpcUtil.<com.orbekk.same.Services.FullStateResponse>specializeCallback(
               done));
           return;
-        case 4:
+        case 7:
           this.masterTakeoverFinished(controller, (com.orbekk.same.Services.MasterState)request,
             com.google.protobuf.RpcUtil.<com.orbekk.same.Services.Empty>specializeCallback(
               done));
           return;
+        case 8:
+          this.applyPatch(controller, (com.orbekk.same.Services.Component)request,
+            com.google.protobuf.RpcUtil.<com.orbekk.same.Services.UpdateComponentResponse>specializeCallback(
+              done));
+          return;
+        case 9:
+          this.getChangesSince(controller, (com.orbekk.same.Services.ChangesRequest)request,
+            com.google.protobuf.RpcUtil.<com.orbekk.same.Services.ChangesResponse>specializeCallback(
+              done));
+          return;
+        case 10:
+          this.membershipChanged(controller, (com.orbekk.same.Services.MembershipEvent)request,
+            com.google.protobuf.RpcUtil.<com.orbekk.same.Services.Empty>specializeCallback(
+              done));
+          return;
+        case 11:
+          this.heartbeat(controller, (com.orbekk.same.Services.HeartbeatRequest)request,
+            com.google.protobuf.RpcUtil.<com.orbekk.same.Services.Empty>specializeCallback(
+              done));
+          return;
         default:
           throw new java.lang.AssertionError("Can't get here.");
       }
@@ -6722,13 +17124,27 @@ public final class Services {
         case 0:
           return com.orbekk.same.Services.Component.getDefaultInstance();
         case 1:
-          return com.orbekk.same.Services.MasterState.getDefaultInstance();
+          return com.orbekk.same.Services.ComponentBatch.getDefaultInstance();
         case 2:
-          return com.orbekk.same.Services.MasterState.getDefaultInstance();
+          return com.orbekk.same.Services.RelayRequest.getDefaultInstance();
         case 3:
-          return com.orbekk.same.Services.Empty.getDefaultInstance();
+          return com.orbekk.same.Services.BucketRequest.getDefaultInstance();
         case 4:
           return com.orbekk.same.Services.MasterState.getDefaultInstance();
+        case 5:
+          return com.orbekk.same.Services.MasterState.getDefaultInstance();
+        case 6:
+          return com.orbekk.same.Services.Empty.getDefaultInstance();
+        case 7:
+          return com.orbekk.same.Services.MasterState.getDefaultInstance();
+        case 8:
+          return com.orbekk.same.Services.Component.getDefaultInstance();
+        case 9:
+          return com.orbekk.same.Services.ChangesRequest.getDefaultInstance();
+        case 10:
+          return com.orbekk.same.Services.MembershipEvent.getDefaultInstance();
+        case 11:
+          return com.orbekk.same.Services.HeartbeatRequest.getDefaultInstance();
         default:
           throw new java.lang.AssertionError("Can't get here.");
       }
@@ -6748,11 +17164,25 @@ public final class Services {
         case 1:
           return com.orbekk.same.Services.Empty.getDefaultInstance();
         case 2:
-          return com.orbekk.same.Services.MasterTakeoverResponse.getDefaultInstance();
+          return com.orbekk.same.Services.Empty.getDefaultInstance();
         case 3:
           return com.orbekk.same.Services.FullStateResponse.getDefaultInstance();
         case 4:
           return com.orbekk.same.Services.Empty.getDefaultInstance();
+        case 5:
+          return com.orbekk.same.Services.MasterTakeoverResponse.getDefaultInstance();
+        case 6:
+          return com.orbekk.same.Services.FullStateResponse.getDefaultInstance();
+        case 7:
+          return com.orbekk.same.Services.Empty.getDefaultInstance();
+        case 8:
+          return com.orbekk.same.Services.UpdateComponentResponse.getDefaultInstance();
+        case 9:
+          return com.orbekk.same.Services.ChangesResponse.getDefaultInstance();
+        case 10:
+          return com.orbekk.same.Services.Empty.getDefaultInstance();
+        case 11:
+          return com.orbekk.same.Services.Empty.getDefaultInstance();
         default:
           throw new java.lang.AssertionError("Can't get here.");
       }
@@ -6774,12 +17204,42 @@ public final class Services {
         return channel;
       }
       
-      public  void setState(
+      public  void setState(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.Component request,
+          com.google.protobuf.RpcCallback<com.orbekk.same.Services.Empty> done) {
+        channel.callMethod(
+          getDescriptor().getMethods().get(0),
+          controller,
+          request,
+          com.orbekk.same.Services.Empty.getDefaultInstance(),
+          com.google.protobuf.RpcUtil.generalizeCallback(
+            done,
+            com.orbekk.same.Services.Empty.class,
+            com.orbekk.same.Services.Empty.getDefaultInstance()));
+      }
+      
+      public  void setStates(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.ComponentBatch request,
+          com.google.protobuf.RpcCallback<com.orbekk.same.Services.Empty> done) {
+        channel.callMethod(
+          getDescriptor().getMethods().get(1),
+          controller,
+          request,
+          com.orbekk.same.Services.Empty.getDefaultInstance(),
+          com.google.protobuf.RpcUtil.generalizeCallback(
+            done,
+            com.orbekk.same.Services.Empty.class,
+            com.orbekk.same.Services.Empty.getDefaultInstance()));
+      }
+      
+      public  void relay(
           com.google.protobuf.RpcController controller,
-          com.orbekk.same.Services.Component request,
+          com.orbekk.same.Services.RelayRequest request,
           com.google.protobuf.RpcCallback<com.orbekk.same.Services.Empty> done) {
         channel.callMethod(
-          getDescriptor().getMethods().get(0),
+          getDescriptor().getMethods().get(2),
           controller,
           request,
           com.orbekk.same.Services.Empty.getDefaultInstance(),
@@ -6789,12 +17249,27 @@ public final class Services {
             com.orbekk.same.Services.Empty.getDefaultInstance()));
       }
       
+      public  void getBuckets(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.BucketRequest request,
+          com.google.protobuf.RpcCallback<com.orbekk.same.Services.FullStateResponse> done) {
+        channel.callMethod(
+          getDescriptor().getMethods().get(3),
+          controller,
+          request,
+          com.orbekk.same.Services.FullStateResponse.getDefaultInstance(),
+          com.google.protobuf.RpcUtil.generalizeCallback(
+            done,
+            com.orbekk.same.Services.FullStateResponse.class,
+            com.orbekk.same.Services.FullStateResponse.getDefaultInstance()));
+      }
+      
       public  void masterDown(
           com.google.protobuf.RpcController controller,
           com.orbekk.same.Services.MasterState request,
           com.google.protobuf.RpcCallback<com.orbekk.same.Services.Empty> done) {
         channel.callMethod(
-          getDescriptor().getMethods().get(1),
+          getDescriptor().getMethods().get(4),
           controller,
           request,
           com.orbekk.same.Services.Empty.getDefaultInstance(),
@@ -6809,7 +17284,7 @@ public final class Services {
           com.orbekk.same.Services.MasterState request,
           com.google.protobuf.RpcCallback<com.orbekk.same.Services.MasterTakeoverResponse> done) {
         channel.callMethod(
-          getDescriptor().getMethods().get(2),
+          getDescriptor().getMethods().get(5),
           controller,
           request,
           com.orbekk.same.Services.MasterTakeoverResponse.getDefaultInstance(),
@@ -6824,7 +17299,7 @@ public final class Services {
           com.orbekk.same.Services.Empty request,
           com.google.protobuf.RpcCallback<com.orbekk.same.Services.FullStateResponse> done) {
         channel.callMethod(
-          getDescriptor().getMethods().get(3),
+          getDescriptor().getMethods().get(6),
           controller,
           request,
           com.orbekk.same.Services.FullStateResponse.getDefaultInstance(),
@@ -6839,7 +17314,67 @@ public final class Services {
           com.orbekk.same.Services.MasterState request,
           com.google.protobuf.RpcCallback<com.orbekk.same.Services.Empty> done) {
         channel.callMethod(
-          getDescriptor().getMethods().get(4),
+          getDescriptor().getMethods().get(7),
+          controller,
+          request,
+          com.orbekk.same.Services.Empty.getDefaultInstance(),
+          com.google.protobuf.RpcUtil.generalizeCallback(
+            done,
+            com.orbekk.same.Services.Empty.class,
+            com.orbekk.same.Services.Empty.getDefaultInstance()));
+      }
+      
+      public  void applyPatch(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.Component request,
+          com.google.protobuf.RpcCallback<com.orbekk.same.Services.UpdateComponentResponse> done) {
+        channel.callMethod(
+          getDescriptor().getMethods().get(8),
+          controller,
+          request,
+          com.orbekk.same.Services.UpdateComponentResponse.getDefaultInstance(),
+          com.google.protobuf.RpcUtil.generalizeCallback(
+            done,
+            com.orbekk.same.Services.UpdateComponentResponse.class,
+            com.orbekk.same.Services.UpdateComponentResponse.getDefaultInstance()));
+      }
+      
+      public  void getChangesSince(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.ChangesRequest request,
+          com.google.protobuf.RpcCallback<com.orbekk.same.Services.ChangesResponse> done) {
+        channel.callMethod(
+          getDescriptor().getMethods().get(9),
+          controller,
+          request,
+          com.orbekk.same.Services.ChangesResponse.getDefaultInstance(),
+          com.google.protobuf.RpcUtil.generalizeCallback(
+            done,
+            com.orbekk.same.Services.ChangesResponse.class,
+            com.orbekk.same.Services.ChangesResponse.getDefaultInstance()));
+      }
+      
+      public  void membershipChanged(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.MembershipEvent request,
+          com.google.protobuf.RpcCallback<com.orbekk.same.Services.Empty> done) {
+        channel.callMethod(
+          getDescriptor().getMethods().get(10),
+          controller,
+          request,
+          com.orbekk.same.Services.Empty.getDefaultInstance(),
+          com.google.protobuf.RpcUtil.generalizeCallback(
+            done,
+            com.orbekk.same.Services.Empty.class,
+            com.orbekk.same.Services.Empty.getDefaultInstance()));
+      }
+      
+      public  void heartbeat(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.HeartbeatRequest request,
+          com.google.protobuf.RpcCallback<com.orbekk.same.Services.Empty> done) {
+        channel.callMethod(
+          getDescriptor().getMethods().get(11),
           controller,
           request,
           com.orbekk.same.Services.Empty.getDefaultInstance(),
@@ -6861,6 +17396,21 @@ public final class Services {
           com.orbekk.same.Services.Component request)
           throws com.google.protobuf.ServiceException;
       
+      public com.orbekk.same.Services.Empty setStates(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.ComponentBatch request)
+          throws com.google.protobuf.ServiceException;
+      
+      public com.orbekk.same.Services.Empty relay(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.RelayRequest request)
+          throws com.google.protobuf.ServiceException;
+      
+      public com.orbekk.same.Services.FullStateResponse getBuckets(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.BucketRequest request)
+          throws com.google.protobuf.ServiceException;
+      
       public com.orbekk.same.Services.Empty masterDown(
           com.google.protobuf.RpcController controller,
           com.orbekk.same.Services.MasterState request)
@@ -6880,6 +17430,26 @@ public final class Services {
           com.google.protobuf.RpcController controller,
           com.orbekk.same.Services.MasterState request)
           throws com.google.protobuf.ServiceException;
+      
+      public com.orbekk.same.Services.UpdateComponentResponse applyPatch(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.Component request)
+          throws com.google.protobuf.ServiceException;
+      
+      public com.orbekk.same.Services.ChangesResponse getChangesSince(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.ChangesRequest request)
+          throws com.google.protobuf.ServiceException;
+      
+      public com.orbekk.same.Services.Empty membershipChanged(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.MembershipEvent request)
+          throws com.google.protobuf.ServiceException;
+      
+      public com.orbekk.same.Services.Empty heartbeat(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.HeartbeatRequest request)
+          throws com.google.protobuf.ServiceException;
     }
     
     private static final class BlockingStub implements BlockingInterface {
@@ -6901,12 +17471,48 @@ public final class Services {
       }
       
       
+      public com.orbekk.same.Services.Empty setStates(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.ComponentBatch request)
+          throws com.google.protobuf.ServiceException {
+        return (com.orbekk.same.Services.Empty) channel.callBlockingMethod(
+          getDescriptor().getMethods().get(1),
+          controller,
+          request,
+          com.orbekk.same.Services.Empty.getDefaultInstance());
+      }
+      
+      
+      public com.orbekk.same.Services.Empty relay(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.RelayRequest request)
+          throws com.google.protobuf.ServiceException {
+        return (com.orbekk.same.Services.Empty) channel.callBlockingMethod(
+          getDescriptor().getMethods().get(2),
+          controller,
+          request,
+          com.orbekk.same.Services.Empty.getDefaultInstance());
+      }
+      
+      
+      public com.orbekk.same.Services.FullStateResponse getBuckets(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.BucketRequest request)
+          throws com.google.protobuf.ServiceException {
+        return (com.orbekk.same.Services.FullStateResponse) channel.callBlockingMethod(
+          getDescriptor().getMethods().get(3),
+          controller,
+          request,
+          com.orbekk.same.Services.FullStateResponse.getDefaultInstance());
+      }
+      
+      
       public com.orbekk.same.Services.Empty masterDown(
           com.google.protobuf.RpcController controller,
           com.orbekk.same.Services.MasterState request)
           throws com.google.protobuf.ServiceException {
         return (com.orbekk.same.Services.Empty) channel.callBlockingMethod(
-          getDescriptor().getMethods().get(1),
+          getDescriptor().getMethods().get(4),
           controller,
           request,
           com.orbekk.same.Services.Empty.getDefaultInstance());
@@ -6918,7 +17524,7 @@ public final class Services {
           com.orbekk.same.Services.MasterState request)
           throws com.google.protobuf.ServiceException {
         return (com.orbekk.same.Services.MasterTakeoverResponse) channel.callBlockingMethod(
-          getDescriptor().getMethods().get(2),
+          getDescriptor().getMethods().get(5),
           controller,
           request,
           com.orbekk.same.Services.MasterTakeoverResponse.getDefaultInstance());
@@ -6930,7 +17536,7 @@ public final class Services {
           com.orbekk.same.Services.Empty request)
           throws com.google.protobuf.ServiceException {
         return (com.orbekk.same.Services.FullStateResponse) channel.callBlockingMethod(
-          getDescriptor().getMethods().get(3),
+          getDescriptor().getMethods().get(6),
           controller,
           request,
           com.orbekk.same.Services.FullStateResponse.getDefaultInstance());
@@ -6942,7 +17548,55 @@ public final class Services {
           com.orbekk.same.Services.MasterState request)
           throws com.google.protobuf.ServiceException {
         return (com.orbekk.same.Services.Empty) channel.callBlockingMethod(
-          getDescriptor().getMethods().get(4),
+          getDescriptor().getMethods().get(7),
+          controller,
+          request,
+          com.orbekk.same.Services.Empty.getDefaultInstance());
+      }
+      
+      
+      public com.orbekk.same.Services.UpdateComponentResponse applyPatch(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.Component request)
+          throws com.google.protobuf.ServiceException {
+        return (com.orbekk.same.Services.UpdateComponentResponse) channel.callBlockingMethod(
+          getDescriptor().getMethods().get(8),
+          controller,
+          request,
+          com.orbekk.same.Services.UpdateComponentResponse.getDefaultInstance());
+      }
+      
+      
+      public com.orbekk.same.Services.ChangesResponse getChangesSince(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.ChangesRequest request)
+          throws com.google.protobuf.ServiceException {
+        return (com.orbekk.same.Services.ChangesResponse) channel.callBlockingMethod(
+          getDescriptor().getMethods().get(9),
+          controller,
+          request,
+          com.orbekk.same.Services.ChangesResponse.getDefaultInstance());
+      }
+      
+      
+      public com.orbekk.same.Services.Empty membershipChanged(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.MembershipEvent request)
+          throws com.google.protobuf.ServiceException {
+        return (com.orbekk.same.Services.Empty) channel.callBlockingMethod(
+          getDescriptor().getMethods().get(10),
+          controller,
+          request,
+          com.orbekk.same.Services.Empty.getDefaultInstance());
+      }
+      
+      
+      public com.orbekk.same.Services.Empty heartbeat(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.HeartbeatRequest request)
+          throws com.google.protobuf.ServiceException {
+        return (com.orbekk.same.Services.Empty) channel.callBlockingMethod(
+          getDescriptor().getMethods().get(11),
           controller,
           request,
           com.orbekk.same.Services.Empty.getDefaultInstance());
@@ -6966,6 +17620,41 @@ public final class Services {
           com.orbekk.same.Services.Component request,
           com.google.protobuf.RpcCallback<com.orbekk.same.Services.UpdateComponentResponse> done);
       
+      public abstract void transaction(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.TransactionRequest request,
+          com.google.protobuf.RpcCallback<com.orbekk.same.Services.UpdateComponentResponse> done);
+      
+      public abstract void getChangesSince(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.ChangesRequest request,
+          com.google.protobuf.RpcCallback<com.orbekk.same.Services.ChangesResponse> done);
+      
+      public abstract void getComponents(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.ComponentQuery request,
+          com.google.protobuf.RpcCallback<com.orbekk.same.Services.FullStateResponse> done);
+      
+      public abstract void getComponent(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.ComponentRequest request,
+          com.google.protobuf.RpcCallback<com.orbekk.same.Services.ComponentResponse> done);
+      
+      public abstract void scan(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.ScanRequest request,
+          com.google.protobuf.RpcCallback<com.orbekk.same.Services.ScanResponse> done);
+      
+      public abstract void subscribe(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.ClientState request,
+          com.google.protobuf.RpcCallback<com.orbekk.same.Services.Empty> done);
+      
+      public abstract void applyOperation(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.OperationRequest request,
+          com.google.protobuf.RpcCallback<com.orbekk.same.Services.OperationResponse> done);
+      
     }
     
     public static com.google.protobuf.Service newReflectiveService(
@@ -6987,6 +17676,62 @@ public final class Services {
           impl.updateStateRequest(controller, request, done);
         }
         
+        @java.lang.Override
+        public  void transaction(
+            com.google.protobuf.RpcController controller,
+            com.orbekk.same.Services.TransactionRequest request,
+            com.google.protobuf.RpcCallback<com.orbekk.same.Services.UpdateComponentResponse> done) {
+          impl.transaction(controller, request, done);
+        }
+        
+        @java.lang.Override
+        public  void getChangesSince(
+            com.google.protobuf.RpcController controller,
+            com.orbekk.same.Services.ChangesRequest request,
+            com.google.protobuf.RpcCallback<com.orbekk.same.Services.ChangesResponse> done) {
+          impl.getChangesSince(controller, request, done);
+        }
+        
+        @java.lang.Override
+        public  void getComponents(
+            com.google.protobuf.RpcController controller,
+            com.orbekk.same.Services.ComponentQuery request,
+            com.google.protobuf.RpcCallback<com.orbekk.same.Services.FullStateResponse> done) {
+          impl.getComponents(controller, request, done);
+        }
+        
+        @java.lang.Override
+        public  void getComponent(
+            com.google.protobuf.RpcController controller,
+            com.orbekk.same.Services.ComponentRequest request,
+            com.google.protobuf.RpcCallback<com.orbekk.same.Services.ComponentResponse> done) {
+          impl.getComponent(controller, request, done);
+        }
+        
+        @java.lang.Override
+        public  void scan(
+            com.google.protobuf.RpcController controller,
+            com.orbekk.same.Services.ScanRequest request,
+            com.google.protobuf.RpcCallback<com.orbekk.same.Services.ScanResponse> done) {
+          impl.scan(controller, request, done);
+        }
+        
+        @java.lang.Override
+        public  void subscribe(
+            com.google.protobuf.RpcController controller,
+            com.orbekk.same.Services.ClientState request,
+            com.google.protobuf.RpcCallback<com.orbekk.same.Services.Empty> done) {
+          impl.subscribe(controller, request, done);
+        }
+        
+        @java.lang.Override
+        public  void applyOperation(
+            com.google.protobuf.RpcController controller,
+            com.orbekk.same.Services.OperationRequest request,
+            com.google.protobuf.RpcCallback<com.orbekk.same.Services.OperationResponse> done) {
+          impl.applyOperation(controller, request, done);
+        }
+        
       };
     }
     
@@ -7013,6 +17758,20 @@ public final class Services {
               return impl.joinNetworkRequest(controller, (com.orbekk.same.Services.ClientState)request);
             case 1:
               return impl.updateStateRequest(controller, (com.orbekk.same.Services.Component)request);
+            case 2:
+              return impl.transaction(controller, (com.orbekk.same.Services.TransactionRequest)request);
+            case 3:
+              return impl.getChangesSince(controller, (com.orbekk.same.Services.ChangesRequest)request);
+            case 4:
+              return impl.getComponents(controller, (com.orbekk.same.Services.ComponentQuery)request);
+            case 5:
+              return impl.getComponent(controller, (com.orbekk.same.Services.ComponentRequest)request);
+            case 6:
+              return impl.scan(controller, (com.orbekk.same.Services.ScanRequest)request);
+            case 7:
+              return impl.subscribe(controller, (com.orbekk.same.Services.ClientState)request);
+            case 8:
+              return impl.applyOperation(controller, (com.orbekk.same.Services.OperationRequest)request);
             default:
               throw new java.lang.AssertionError("Can't get here.");
           }
@@ -7031,6 +17790,20 @@ public final class Services {
               return com.orbekk.same.Services.ClientState.getDefaultInstance();
             case 1:
               return com.orbekk.same.Services.Component.getDefaultInstance();
+            case 2:
+              return com.orbekk.same.Services.TransactionRequest.getDefaultInstance();
+            case 3:
+              return com.orbekk.same.Services.ChangesRequest.getDefaultInstance();
+            case 4:
+              return com.orbekk.same.Services.ComponentQuery.getDefaultInstance();
+            case 5:
+              return com.orbekk.same.Services.ComponentRequest.getDefaultInstance();
+            case 6:
+              return com.orbekk.same.Services.ScanRequest.getDefaultInstance();
+            case 7:
+              return com.orbekk.same.Services.ClientState.getDefaultInstance();
+            case 8:
+              return com.orbekk.same.Services.OperationRequest.getDefaultInstance();
             default:
               throw new java.lang.AssertionError("Can't get here.");
           }
@@ -7049,6 +17822,20 @@ public final class Services {
               return com.orbekk.same.Services.Empty.getDefaultInstance();
             case 1:
               return com.orbekk.same.Services.UpdateComponentResponse.getDefaultInstance();
+            case 2:
+              return com.orbekk.same.Services.UpdateComponentResponse.getDefaultInstance();
+            case 3:
+              return com.orbekk.same.Services.ChangesResponse.getDefaultInstance();
+            case 4:
+              return com.orbekk.same.Services.FullStateResponse.getDefaultInstance();
+            case 5:
+              return com.orbekk.same.Services.ComponentResponse.getDefaultInstance();
+            case 6:
+              return com.orbekk.same.Services.ScanResponse.getDefaultInstance();
+            case 7:
+              return com.orbekk.same.Services.Empty.getDefaultInstance();
+            case 8:
+              return com.orbekk.same.Services.OperationResponse.getDefaultInstance();
             default:
               throw new java.lang.AssertionError("Can't get here.");
           }
@@ -7067,6 +17854,41 @@ public final class Services {
         com.orbekk.same.Services.Component request,
         com.google.protobuf.RpcCallback<com.orbekk.same.Services.UpdateComponentResponse> done);
     
+    public abstract void transaction(
+        com.google.protobuf.RpcController controller,
+        com.orbekk.same.Services.TransactionRequest request,
+        com.google.protobuf.RpcCallback<com.orbekk.same.Services.UpdateComponentResponse> done);
+    
+    public abstract void getChangesSince(
+        com.google.protobuf.RpcController controller,
+        com.orbekk.same.Services.ChangesRequest request,
+        com.google.protobuf.RpcCallback<com.orbekk.same.Services.ChangesResponse> done);
+    
+    public abstract void getComponents(
+        com.google.protobuf.RpcController controller,
+        com.orbekk.same.Services.ComponentQuery request,
+        com.google.protobuf.RpcCallback<com.orbekk.same.Services.FullStateResponse> done);
+    
+    public abstract void getComponent(
+        com.google.protobuf.RpcController controller,
+        com.orbekk.same.Services.ComponentRequest request,
+        com.google.protobuf.RpcCallback<com.orbekk.same.Services.ComponentResponse> done);
+    
+    public abstract void scan(
+        com.google.protobuf.RpcController controller,
+        com.orbekk.same.Services.ScanRequest request,
+        com.google.protobuf.RpcCallback<com.orbekk.same.Services.ScanResponse> done);
+    
+    public abstract void subscribe(
+        com.google.protobuf.RpcController controller,
+        com.orbekk.same.Services.ClientState request,
+        com.google.protobuf.RpcCallback<com.orbekk.same.Services.Empty> done);
+    
+    public abstract void applyOperation(
+        com.google.protobuf.RpcController controller,
+        com.orbekk.same.Services.OperationRequest request,
+        com.google.protobuf.RpcCallback<com.orbekk.same.Services.OperationResponse> done);
+    
     public static final
         com.google.protobuf.Descriptors.ServiceDescriptor
         getDescriptor() {
@@ -7094,9 +17916,44 @@ public final class Services {
             com.google.protobuf.RpcUtil.<com.orbekk.same.Services.Empty>specializeCallback(
               done));
           return;
-        case 1:
-          this.updateStateRequest(controller, (com.orbekk.same.Services.Component)request,
-            com.google.protobuf.RpcUtil.<com.orbekk.same.Services.UpdateComponentResponse>specializeCallback(
+        case 1:
+          this.updateStateRequest(controller, (com.orbekk.same.Services.Component)request,
+            com.google.protobuf.RpcUtil.<com.orbekk.same.Services.UpdateComponentResponse>specializeCallback(
+              done));
+          return;
+        case 2:
+          this.transaction(controller, (com.orbekk.same.Services.TransactionRequest)request,
+            com.google.protobuf.RpcUtil.<com.orbekk.same.Services.UpdateComponentResponse>specializeCallback(
+              done));
+          return;
+        case 3:
+          this.getChangesSince(controller, (com.orbekk.same.Services.ChangesRequest)request,
+            com.google.protobuf.RpcUtil.<com.orbekk.same.Services.ChangesResponse>specializeCallback(
+              done));
+          return;
+        case 4:
+          this.getComponents(controller, (com.orbekk.same.Services.ComponentQuery)request,
+            com.google.protobuf.RpcUtil.<com.orbekk.same.Services.FullStateResponse>specializeCallback(
+              done));
+          return;
+        case 5:
+          this.getComponent(controller, (com.orbekk.same.Services.ComponentRequest)request,
+            com.google.protobuf.RpcUtil.<com.orbekk.same.Services.ComponentResponse>specializeCallback(
+              done));
+          return;
+        case 6:
+          this.scan(controller, (com.orbekk.same.Services.ScanRequest)request,
+            com.google.protobuf.RpcUtil.<com.orbekk.same.Services.ScanResponse>specializeCallback(
+              done));
+          return;
+        case 7:
+          this.subscribe(controller, (com.orbekk.same.Services.ClientState)request,
+            com.google.protobuf.RpcUtil.<com.orbekk.same.Services.Empty>specializeCallback(
+              done));
+          return;
+        case 8:
+          this.applyOperation(controller, (com.orbekk.same.Services.OperationRequest)request,
+            com.google.protobuf.RpcUtil.<com.orbekk.same.Services.OperationResponse>specializeCallback(
               done));
           return;
         default:
@@ -7117,6 +17974,20 @@ public final class Services {
           return com.orbekk.same.Services.ClientState.getDefaultInstance();
         case 1:
           return com.orbekk.same.Services.Component.getDefaultInstance();
+        case 2:
+          return com.orbekk.same.Services.TransactionRequest.getDefaultInstance();
+        case 3:
+          return com.orbekk.same.Services.ChangesRequest.getDefaultInstance();
+        case 4:
+          return com.orbekk.same.Services.ComponentQuery.getDefaultInstance();
+        case 5:
+          return com.orbekk.same.Services.ComponentRequest.getDefaultInstance();
+        case 6:
+          return com.orbekk.same.Services.ScanRequest.getDefaultInstance();
+        case 7:
+          return com.orbekk.same.Services.ClientState.getDefaultInstance();
+        case 8:
+          return com.orbekk.same.Services.OperationRequest.getDefaultInstance();
         default:
           throw new java.lang.AssertionError("Can't get here.");
       }
@@ -7135,6 +18006,20 @@ public final class Services {
           return com.orbekk.same.Services.Empty.getDefaultInstance();
         case 1:
           return com.orbekk.same.Services.UpdateComponentResponse.getDefaultInstance();
+        case 2:
+          return com.orbekk.same.Services.UpdateComponentResponse.getDefaultInstance();
+        case 3:
+          return com.orbekk.same.Services.ChangesResponse.getDefaultInstance();
+        case 4:
+          return com.orbekk.same.Services.FullStateResponse.getDefaultInstance();
+        case 5:
+          return com.orbekk.same.Services.ComponentResponse.getDefaultInstance();
+        case 6:
+          return com.orbekk.same.Services.ScanResponse.getDefaultInstance();
+        case 7:
+          return com.orbekk.same.Services.Empty.getDefaultInstance();
+        case 8:
+          return com.orbekk.same.Services.OperationResponse.getDefaultInstance();
         default:
           throw new java.lang.AssertionError("Can't get here.");
       }
@@ -7185,6 +18070,111 @@ public final class Services {
             com.orbekk.same.Services.UpdateComponentResponse.class,
             com.orbekk.same.Services.UpdateComponentResponse.getDefaultInstance()));
       }
+      
+      public  void transaction(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.TransactionRequest request,
+          com.google.protobuf.RpcCallback<com.orbekk.same.Services.UpdateComponentResponse> done) {
+        channel.callMethod(
+          getDescriptor().getMethods().get(2),
+          controller,
+          request,
+          com.orbekk.same.Services.UpdateComponentResponse.getDefaultInstance(),
+          com.google.protobuf.RpcUtil.generalizeCallback(
+            done,
+            com.orbekk.same.Services.UpdateComponentResponse.class,
+            com.orbekk.same.Services.UpdateComponentResponse.getDefaultInstance()));
+      }
+      
+      public  void getChangesSince(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.ChangesRequest request,
+          com.google.protobuf.RpcCallback<com.orbekk.same.Services.ChangesResponse> done) {
+        channel.callMethod(
+          getDescriptor().getMethods().get(3),
+          controller,
+          request,
+          com.orbekk.same.Services.ChangesResponse.getDefaultInstance(),
+          com.google.protobuf.RpcUtil.generalizeCallback(
+            done,
+            com.orbekk.same.Services.ChangesResponse.class,
+            com.orbekk.same.Services.ChangesResponse.getDefaultInstance()));
+      }
+      
+      public  void getComponents(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.ComponentQuery request,
+          com.google.protobuf.RpcCallback<com.orbekk.same.Services.FullStateResponse> done) {
+        channel.callMethod(
+          getDescriptor().getMethods().get(4),
+          controller,
+          request,
+          com.orbekk.same.Services.FullStateResponse.getDefaultInstance(),
+          com.google.protobuf.RpcUtil.generalizeCallback(
+            done,
+            com.orbekk.same.Services.FullStateResponse.class,
+            com.orbekk.same.Services.FullStateResponse.getDefaultInstance()));
+      }
+      
+      public  void getComponent(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.ComponentRequest request,
+          com.google.protobuf.RpcCallback<com.orbekk.same.Services.ComponentResponse> done) {
+        channel.callMethod(
+          getDescriptor().getMethods().get(5),
+          controller,
+          request,
+          com.orbekk.same.Services.ComponentResponse.getDefaultInstance(),
+          com.google.protobuf.RpcUtil.generalizeCallback(
+            done,
+            com.orbekk.same.Services.ComponentResponse.class,
+            com.orbekk.same.Services.ComponentResponse.getDefaultInstance()));
+      }
+      
+      public  void scan(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.ScanRequest request,
+          com.google.protobuf.RpcCallback<com.orbekk.same.Services.ScanResponse> done) {
+        channel.callMethod(
+          getDescriptor().getMethods().get(6),
+          controller,
+          request,
+          com.orbekk.same.Services.ScanResponse.getDefaultInstance(),
+          com.google.protobuf.RpcUtil.generalizeCallback(
+            done,
+            com.orbekk.same.Services.ScanResponse.class,
+            com.orbekk.same.Services.ScanResponse.getDefaultInstance()));
+      }
+      
+      public  void subscribe(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.ClientState request,
+          com.google.protobuf.RpcCallback<com.orbekk.same.Services.Empty> done) {
+        channel.callMethod(
+          getDescriptor().getMethods().get(7),
+          controller,
+          request,
+          com.orbekk.same.Services.Empty.getDefaultInstance(),
+          com.google.protobuf.RpcUtil.generalizeCallback(
+            done,
+            com.orbekk.same.Services.Empty.class,
+            com.orbekk.same.Services.Empty.getDefaultInstance()));
+      }
+      
+      public  void applyOperation(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.OperationRequest request,
+          com.google.protobuf.RpcCallback<com.orbekk.same.Services.OperationResponse> done) {
+        channel.callMethod(
+          getDescriptor().getMethods().get(8),
+          controller,
+          request,
+          com.orbekk.same.Services.OperationResponse.getDefaultInstance(),
+          com.google.protobuf.RpcUtil.generalizeCallback(
+            done,
+            com.orbekk.same.Services.OperationResponse.class,
+            com.orbekk.same.Services.OperationResponse.getDefaultInstance()));
+      }
     }
     
     public static BlockingInterface newBlockingStub(
@@ -7202,6 +18192,41 @@ public final class Services {
           com.google.protobuf.RpcController controller,
           com.orbekk.same.Services.Component request)
           throws com.google.protobuf.ServiceException;
+      
+      public com.orbekk.same.Services.UpdateComponentResponse transaction(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.TransactionRequest request)
+          throws com.google.protobuf.ServiceException;
+      
+      public com.orbekk.same.Services.ChangesResponse getChangesSince(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.ChangesRequest request)
+          throws com.google.protobuf.ServiceException;
+      
+      public com.orbekk.same.Services.FullStateResponse getComponents(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.ComponentQuery request)
+          throws com.google.protobuf.ServiceException;
+      
+      public com.orbekk.same.Services.ComponentResponse getComponent(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.ComponentRequest request)
+          throws com.google.protobuf.ServiceException;
+      
+      public com.orbekk.same.Services.ScanResponse scan(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.ScanRequest request)
+          throws com.google.protobuf.ServiceException;
+      
+      public com.orbekk.same.Services.Empty subscribe(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.ClientState request)
+          throws com.google.protobuf.ServiceException;
+      
+      public com.orbekk.same.Services.OperationResponse applyOperation(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.OperationRequest request)
+          throws com.google.protobuf.ServiceException;
     }
     
     private static final class BlockingStub implements BlockingInterface {
@@ -7234,6 +18259,90 @@ public final class Services {
           com.orbekk.same.Services.UpdateComponentResponse.getDefaultInstance());
       }
       
+      
+      public com.orbekk.same.Services.UpdateComponentResponse transaction(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.TransactionRequest request)
+          throws com.google.protobuf.ServiceException {
+        return (com.orbekk.same.Services.UpdateComponentResponse) channel.callBlockingMethod(
+          getDescriptor().getMethods().get(2),
+          controller,
+          request,
+          com.orbekk.same.Services.UpdateComponentResponse.getDefaultInstance());
+      }
+      
+      
+      public com.orbekk.same.Services.ChangesResponse getChangesSince(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.ChangesRequest request)
+          throws com.google.protobuf.ServiceException {
+        return (com.orbekk.same.Services.ChangesResponse) channel.callBlockingMethod(
+          getDescriptor().getMethods().get(3),
+          controller,
+          request,
+          com.orbekk.same.Services.ChangesResponse.getDefaultInstance());
+      }
+      
+      
+      public com.orbekk.same.Services.FullStateResponse getComponents(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.ComponentQuery request)
+          throws com.google.protobuf.ServiceException {
+        return (com.orbekk.same.Services.FullStateResponse) channel.callBlockingMethod(
+          getDescriptor().getMethods().get(4),
+          controller,
+          request,
+          com.orbekk.same.Services.FullStateResponse.getDefaultInstance());
+      }
+      
+      
+      public com.orbekk.same.Services.ComponentResponse getComponent(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.ComponentRequest request)
+          throws com.google.protobuf.ServiceException {
+        return (com.orbekk.same.Services.ComponentResponse) channel.callBlockingMethod(
+          getDescriptor().getMethods().get(5),
+          controller,
+          request,
+          com.orbekk.same.Services.ComponentResponse.getDefaultInstance());
+      }
+      
+      
+      public com.orbekk.same.Services.ScanResponse scan(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.ScanRequest request)
+          throws com.google.protobuf.ServiceException {
+        return (com.orbekk.same.Services.ScanResponse) channel.callBlockingMethod(
+          getDescriptor().getMethods().get(6),
+          controller,
+          request,
+          com.orbekk.same.Services.ScanResponse.getDefaultInstance());
+      }
+      
+      
+      public com.orbekk.same.Services.Empty subscribe(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.ClientState request)
+          throws com.google.protobuf.ServiceException {
+        return (com.orbekk.same.Services.Empty) channel.callBlockingMethod(
+          getDescriptor().getMethods().get(7),
+          controller,
+          request,
+          com.orbekk.same.Services.Empty.getDefaultInstance());
+      }
+      
+      
+      public com.orbekk.same.Services.OperationResponse applyOperation(
+          com.google.protobuf.RpcController controller,
+          com.orbekk.same.Services.OperationRequest request)
+          throws com.google.protobuf.ServiceException {
+        return (com.orbekk.same.Services.OperationResponse) channel.callBlockingMethod(
+          getDescriptor().getMethods().get(8),
+          controller,
+          request,
+          com.orbekk.same.Services.OperationResponse.getDefaultInstance());
+      }
+      
     }
   }
   
@@ -8115,6 +19224,21 @@ public final class Services {
   private static
     com.google.protobuf.GeneratedMessage.FieldAccessorTable
       internal_static_com_orbekk_same_Component_fieldAccessorTable;
+  private static com.google.protobuf.Descriptors.Descriptor
+    internal_static_com_orbekk_same_ComponentBatch_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_com_orbekk_same_ComponentBatch_fieldAccessorTable;
+  private static com.google.protobuf.Descriptors.Descriptor
+    internal_static_com_orbekk_same_TransactionRequest_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_com_orbekk_same_TransactionRequest_fieldAccessorTable;
+  private static com.google.protobuf.Descriptors.Descriptor
+    internal_static_com_orbekk_same_RelayRequest_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_com_orbekk_same_RelayRequest_fieldAccessorTable;
   private static com.google.protobuf.Descriptors.Descriptor
     internal_static_com_orbekk_same_MasterState_descriptor;
   private static
@@ -8125,11 +19249,81 @@ public final class Services {
   private static
     com.google.protobuf.GeneratedMessage.FieldAccessorTable
       internal_static_com_orbekk_same_MasterTakeoverResponse_fieldAccessorTable;
+  private static com.google.protobuf.Descriptors.Descriptor
+    internal_static_com_orbekk_same_StateSummary_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_com_orbekk_same_StateSummary_fieldAccessorTable;
+  private static com.google.protobuf.Descriptors.Descriptor
+    internal_static_com_orbekk_same_BucketRequest_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_com_orbekk_same_BucketRequest_fieldAccessorTable;
   private static com.google.protobuf.Descriptors.Descriptor
     internal_static_com_orbekk_same_FullStateResponse_descriptor;
   private static
     com.google.protobuf.GeneratedMessage.FieldAccessorTable
       internal_static_com_orbekk_same_FullStateResponse_fieldAccessorTable;
+  private static com.google.protobuf.Descriptors.Descriptor
+    internal_static_com_orbekk_same_ChangesRequest_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_com_orbekk_same_ChangesRequest_fieldAccessorTable;
+  private static com.google.protobuf.Descriptors.Descriptor
+    internal_static_com_orbekk_same_ChangesResponse_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_com_orbekk_same_ChangesResponse_fieldAccessorTable;
+  private static com.google.protobuf.Descriptors.Descriptor
+    internal_static_com_orbekk_same_ComponentQuery_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_com_orbekk_same_ComponentQuery_fieldAccessorTable;
+  private static com.google.protobuf.Descriptors.Descriptor
+    internal_static_com_orbekk_same_ComponentRequest_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_com_orbekk_same_ComponentRequest_fieldAccessorTable;
+  private static com.google.protobuf.Descriptors.Descriptor
+    internal_static_com_orbekk_same_ComponentResponse_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_com_orbekk_same_ComponentResponse_fieldAccessorTable;
+  private static com.google.protobuf.Descriptors.Descriptor
+    internal_static_com_orbekk_same_ScanRequest_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_com_orbekk_same_ScanRequest_fieldAccessorTable;
+  private static com.google.protobuf.Descriptors.Descriptor
+    internal_static_com_orbekk_same_ScanResponse_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_com_orbekk_same_ScanResponse_fieldAccessorTable;
+  private static com.google.protobuf.Descriptors.Descriptor
+    internal_static_com_orbekk_same_OperationRequest_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_com_orbekk_same_OperationRequest_fieldAccessorTable;
+  private static com.google.protobuf.Descriptors.Descriptor
+    internal_static_com_orbekk_same_OperationResponse_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_com_orbekk_same_OperationResponse_fieldAccessorTable;
+  private static com.google.protobuf.Descriptors.Descriptor
+    internal_static_com_orbekk_same_MembershipEvent_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_com_orbekk_same_MembershipEvent_fieldAccessorTable;
+  private static com.google.protobuf.Descriptors.Descriptor
+    internal_static_com_orbekk_same_Subscription_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_com_orbekk_same_Subscription_fieldAccessorTable;
+  private static com.google.protobuf.Descriptors.Descriptor
+    internal_static_com_orbekk_same_HeartbeatRequest_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_com_orbekk_same_HeartbeatRequest_fieldAccessorTable;
   private static com.google.protobuf.Descriptors.Descriptor
     internal_static_com_orbekk_same_ClientState_descriptor;
   private static
@@ -8160,59 +19354,129 @@ public final class Services {
   static {
     java.lang.String[] descriptorData = {
       "\n,src/main/java/com/orbekk/same/services" +
-      ".proto\022\017com.orbekk.same\"\007\n\005Empty\"*\n\027Upda" +
-      "teComponentResponse\022\017\n\007success\030\001 \002(\010\"\366\002\n" +
-      "\014SystemStatus\022\022\n\nextra_info\030\007 \003(\t\0223\n\rmas" +
-      "ter_status\030\001 \001(\0132\034.com.orbekk.same.Maste" +
-      "rState\022:\n\026master_state_component\030\002 \003(\0132\032" +
-      ".com.orbekk.same.Component\022\031\n\021extra_mast" +
-      "er_info\030\003 \003(\t\0223\n\rclient_status\030\004 \001(\0132\034.c" +
-      "om.orbekk.same.ClientState\022:\n\024client_mas" +
-      "ter_status\030\010 \001(\0132\034.com.orbekk.same.Maste",
-      "rState\022:\n\026client_state_component\030\005 \003(\0132\032" +
-      ".com.orbekk.same.Component\022\031\n\021extra_clie" +
-      "nt_info\030\006 \003(\t\"7\n\tComponent\022\n\n\002id\030\001 \002(\t\022\014" +
-      "\n\004data\030\002 \002(\t\022\020\n\010revision\030\003 \002(\003\"u\n\013Master" +
-      "State\022\022\n\nmaster_url\030\001 \001(\t\022\021\n\tmaster_id\030\002" +
-      " \001(\005\022\024\n\014network_name\030\003 \001(\t\022\027\n\017master_loc" +
-      "ation\030\004 \001(\t\022\020\n\010revision\030\005 \001(\003\"]\n\026MasterT" +
-      "akeoverResponse\022\017\n\007success\030\002 \001(\010\0222\n\014clie" +
-      "nt_state\030\003 \001(\0132\034.com.orbekk.same.ClientS" +
-      "tate\"T\n\021FullStateResponse\022\020\n\010revision\030\001 ",
-      "\001(\003\022-\n\tcomponent\030\002 \003(\0132\032.com.orbekk.same" +
-      ".Component\">\n\013ClientState\022\013\n\003url\030\001 \001(\t\022\020" +
-      "\n\010location\030\002 \001(\t\022\020\n\010revision\030\003 \001(\003\"A\n\020Ne" +
-      "tworkDirectory\022-\n\007network\030\001 \003(\0132\034.com.or" +
-      "bekk.same.MasterState\"T\n\014PaxosRequest\022,\n" +
-      "\006client\030\001 \001(\0132\034.com.orbekk.same.ClientSt" +
-      "ate\022\026\n\016proposalNumber\030\002 \001(\005\"\037\n\rPaxosResp" +
-      "onse\022\016\n\006result\030\001 \001(\0052\201\003\n\006Client\022>\n\010SetSt" +
-      "ate\022\032.com.orbekk.same.Component\032\026.com.or" +
-      "bekk.same.Empty\022B\n\nMasterDown\022\034.com.orbe",
+      ".proto\022\017com.orbekk.same\"\007\n\005Empty\"X\n\027Upda" +
+      "teComponentResponse\022\017\n\007success\030\001 \002(\010\022\032\n\022" +
+      "retry_after_millis\030\002 \001(\003\022\020\n\010revision\030\003 \001" +
+      "(\003\"\366\002\n\014SystemStatus\022\022\n\nextra_info\030\007 \003(\t\022" +
+      "3\n\rmaster_status\030\001 \001(\0132\034.com.orbekk.same" +
+      ".MasterState\022:\n\026master_state_component\030\002" +
+      " \003(\0132\032.com.orbekk.same.Component\022\031\n\021extr" +
+      "a_master_info\030\003 \003(\t\0223\n\rclient_status\030\004 \001" +
+      "(\0132\034.com.orbekk.same.ClientState\022:\n\024clie",
+      "nt_master_status\030\010 \001(\0132\034.com.orbekk.same" +
+      ".MasterState\022:\n\026client_state_component\030\005" +
+      " \003(\0132\032.com.orbekk.same.Component\022\031\n\021extr" +
+      "a_client_info\030\006 \003(\t\"\235\001\n\tComponent\022\n\n\002id\030" +
+      "\001 \002(\t\022\014\n\004data\030\002 \001(\t\022\020\n\010revision\030\003 \002(\003\022\r\n" +
+      "\005value\030\004 \001(\014\022\020\n\005codec\030\005 \001(\005:\0010\022\r\n\005patch\030" +
+      "\006 \001(\014\022\025\n\rbase_revision\030\007 \001(\003\022\r\n\005merge\030\010 " +
+      "\001(\t\022\016\n\006origin\030\t \001(\t\"?\n\016ComponentBatch\022-\n" +
+      "\tcomponent\030\001 \003(\0132\032.com.orbekk.same.Compo" +
+      "nent\"S\n\022TransactionRequest\022-\n\tcomponent\030",
+      "\001 \003(\0132\032.com.orbekk.same.Component\022\016\n\006ori" +
+      "gin\030\002 \001(\t\"]\n\014RelayRequest\022-\n\tcomponent\030\001" +
+      " \003(\0132\032.com.orbekk.same.Component\022\016\n\006targ" +
+      "et\030\002 \003(\t\022\016\n\006fanout\030\003 \001(\005\"u\n\013MasterState\022" +
+      "\022\n\nmaster_url\030\001 \001(\t\022\021\n\tmaster_id\030\002 \001(\005\022\024" +
+      "\n\014network_name\030\003 \001(\t\022\027\n\017master_location\030" +
+      "\004 \001(\t\022\020\n\010revision\030\005 \001(\003\"\215\001\n\026MasterTakeov" +
+      "erResponse\022\017\n\007success\030\002 \001(\010\0222\n\014client_st" +
+      "ate\030\003 \001(\0132\034.com.orbekk.same.ClientState\022" +
+      ".\n\007summary\030\004 \001(\0132\035.com.orbekk.same.State",
+      "Summary\"Q\n\014StateSummary\022\023\n\013num_buckets\030\001" +
+      " \001(\005\022\030\n\014max_revision\030\002 \003(\003B\002\020\001\022\022\n\006digest" +
+      "\030\003 \003(\003B\002\020\001\"4\n\rBucketRequest\022\023\n\013num_bucke" +
+      "ts\030\001 \001(\005\022\016\n\006bucket\030\002 \003(\005\"T\n\021FullStateRes" +
+      "ponse\022\020\n\010revision\030\001 \001(\003\022-\n\tcomponent\030\002 \003" +
+      "(\0132\032.com.orbekk.same.Component\"\"\n\016Change" +
+      "sRequest\022\020\n\010revision\030\001 \001(\003\"f\n\017ChangesRes" +
+      "ponse\022\020\n\010revision\030\001 \001(\003\022\022\n\nfull_state\030\002 " +
+      "\001(\010\022-\n\tcomponent\030\003 \003(\0132\032.com.orbekk.same" +
+      ".Component\",\n\016ComponentQuery\022\n\n\002id\030\001 \003(\t",
+      "\022\016\n\006prefix\030\002 \001(\t\"\036\n\020ComponentRequest\022\n\n\002" +
+      "id\030\001 \001(\t\"T\n\021ComponentResponse\022\020\n\010revisio" +
+      "n\030\001 \001(\003\022-\n\tcomponent\030\002 \001(\0132\032.com.orbekk." +
+      "same.Component\"A\n\013ScanRequest\022\016\n\006prefix\030" +
+      "\001 \001(\t\022\023\n\013start_after\030\002 \001(\t\022\r\n\005limit\030\003 \001(" +
+      "\005\"i\n\014ScanResponse\022\020\n\010revision\030\001 \001(\003\022-\n\tc" +
+      "omponent\030\002 \003(\0132\032.com.orbekk.same.Compone" +
+      "nt\022\030\n\020next_start_after\030\003 \001(\t\"\342\001\n\020Operati" +
+      "onRequest\022\n\n\002id\030\001 \001(\t\022<\n\010operator\030\002 \001(\0162" +
+      "*.com.orbekk.same.OperationRequest.Opera",
+      "tor\022\017\n\007operand\030\003 \001(\014\022\013\n\003key\030\004 \001(\t\022\016\n\006ori" +
+      "gin\030\005 \001(\t\"V\n\010Operator\022\007\n\003ADD\020\001\022\n\n\006APPEND" +
+      "\020\002\022\n\n\006REMOVE\020\003\022\007\n\003PUT\020\004\022\016\n\nREMOVE_KEY\020\005\022" +
+      "\007\n\003MIN\020\006\022\007\n\003MAX\020\007\"o\n\021OperationResponse\022\017" +
+      "\n\007success\030\001 \001(\010\022-\n\tcomponent\030\002 \001(\0132\032.com" +
+      ".orbekk.same.Component\022\032\n\022retry_after_mi" +
+      "llis\030\003 \001(\003\"E\n\017MembershipEvent\022\020\n\010locatio" +
+      "n\030\001 \001(\t\022\016\n\006joined\030\002 \001(\010\022\020\n\010revision\030\003 \001(" +
+      "\003\"*\n\014Subscription\022\n\n\002id\030\001 \003(\t\022\016\n\006prefix\030" +
+      "\002 \003(\t\"Y\n\020HeartbeatRequest\022,\n\006master\030\001 \001(",
+      "\0132\034.com.orbekk.same.MasterState\022\027\n\017inter" +
+      "val_millis\030\002 \001(\003\"s\n\013ClientState\022\013\n\003url\030\001" +
+      " \001(\t\022\020\n\010location\030\002 \001(\t\022\020\n\010revision\030\003 \001(\003" +
+      "\0223\n\014subscription\030\004 \001(\0132\035.com.orbekk.same" +
+      ".Subscription\"A\n\020NetworkDirectory\022-\n\007net" +
+      "work\030\001 \003(\0132\034.com.orbekk.same.MasterState" +
+      "\"T\n\014PaxosRequest\022,\n\006client\030\001 \001(\0132\034.com.o" +
+      "rbekk.same.ClientState\022\026\n\016proposalNumber" +
+      "\030\002 \001(\005\"\037\n\rPaxosResponse\022\016\n\006result\030\001 \001(\0052" +
+      "\232\007\n\006Client\022>\n\010SetState\022\032.com.orbekk.same",
+      ".Component\032\026.com.orbekk.same.Empty\022D\n\tSe" +
+      "tStates\022\037.com.orbekk.same.ComponentBatch" +
+      "\032\026.com.orbekk.same.Empty\022>\n\005Relay\022\035.com." +
+      "orbekk.same.RelayRequest\032\026.com.orbekk.sa" +
+      "me.Empty\022P\n\nGetBuckets\022\036.com.orbekk.same" +
+      ".BucketRequest\032\".com.orbekk.same.FullSta" +
+      "teResponse\022B\n\nMasterDown\022\034.com.orbekk.sa" +
+      "me.MasterState\032\026.com.orbekk.same.Empty\022W" +
+      "\n\016MasterTakeover\022\034.com.orbekk.same.Maste" +
+      "rState\032\'.com.orbekk.same.MasterTakeoverR",
+      "esponse\022J\n\014GetFullState\022\026.com.orbekk.sam" +
+      "e.Empty\032\".com.orbekk.same.FullStateRespo" +
+      "nse\022N\n\026MasterTakeoverFinished\022\034.com.orbe" +
       "kk.same.MasterState\032\026.com.orbekk.same.Em" +
-      "pty\022W\n\016MasterTakeover\022\034.com.orbekk.same." +
-      "MasterState\032\'.com.orbekk.same.MasterTake" +
-      "overResponse\022J\n\014GetFullState\022\026.com.orbek" +
-      "k.same.Empty\032\".com.orbekk.same.FullState" +
-      "Response\022N\n\026MasterTakeoverFinished\022\034.com" +
+      "pty\022R\n\nApplyPatch\022\032.com.orbekk.same.Comp" +
+      "onent\032(.com.orbekk.same.UpdateComponentR" +
+      "esponse\022T\n\017GetChangesSince\022\037.com.orbekk." +
+      "same.ChangesRequest\032 .com.orbekk.same.Ch" +
+      "angesResponse\022M\n\021MembershipChanged\022 .com" +
+      ".orbekk.same.MembershipEvent\032\026.com.orbek",
+      "k.same.Empty\022F\n\tHeartbeat\022!.com.orbekk.s" +
+      "ame.HeartbeatRequest\032\026.com.orbekk.same.E" +
+      "mpty2\362\005\n\006Master\022J\n\022JoinNetworkRequest\022\034." +
+      "com.orbekk.same.ClientState\032\026.com.orbekk" +
+      ".same.Empty\022Z\n\022UpdateStateRequest\022\032.com." +
+      "orbekk.same.Component\032(.com.orbekk.same." +
+      "UpdateComponentResponse\022\\\n\013Transaction\022#" +
+      ".com.orbekk.same.TransactionRequest\032(.co" +
+      "m.orbekk.same.UpdateComponentResponse\022T\n" +
+      "\017GetChangesSince\022\037.com.orbekk.same.Chang",
+      "esRequest\032 .com.orbekk.same.ChangesRespo" +
+      "nse\022T\n\rGetComponents\022\037.com.orbekk.same.C" +
+      "omponentQuery\032\".com.orbekk.same.FullStat" +
+      "eResponse\022U\n\014GetComponent\022!.com.orbekk.s" +
+      "ame.ComponentRequest\032\".com.orbekk.same.C" +
+      "omponentResponse\022C\n\004Scan\022\034.com.orbekk.sa" +
+      "me.ScanRequest\032\035.com.orbekk.same.ScanRes" +
+      "ponse\022A\n\tSubscribe\022\034.com.orbekk.same.Cli" +
+      "entState\032\026.com.orbekk.same.Empty\022W\n\016Appl" +
+      "yOperation\022!.com.orbekk.same.OperationRe",
+      "quest\032\".com.orbekk.same.OperationRespons" +
+      "e2\236\001\n\tDirectory\022G\n\017RegisterNetwork\022\034.com" +
       ".orbekk.same.MasterState\032\026.com.orbekk.sa" +
-      "me.Empty2\260\001\n\006Master\022J\n\022JoinNetworkReques" +
-      "t\022\034.com.orbekk.same.ClientState\032\026.com.or" +
-      "bekk.same.Empty\022Z\n\022UpdateStateRequest\022\032.",
-      "com.orbekk.same.Component\032(.com.orbekk.s" +
-      "ame.UpdateComponentResponse2\236\001\n\tDirector" +
-      "y\022G\n\017RegisterNetwork\022\034.com.orbekk.same.M" +
-      "asterState\032\026.com.orbekk.same.Empty\022H\n\013Ge" +
-      "tNetworks\022\026.com.orbekk.same.Empty\032!.com." +
-      "orbekk.same.NetworkDirectory2\241\001\n\005Paxos\022H" +
-      "\n\007Propose\022\035.com.orbekk.same.PaxosRequest" +
-      "\032\036.com.orbekk.same.PaxosResponse\022N\n\rAcce" +
-      "ptRequest\022\035.com.orbekk.same.PaxosRequest" +
-      "\032\036.com.orbekk.same.PaxosResponse2\227\001\n\rSys",
-      "temService\022H\n\017GetSystemStatus\022\026.com.orbe" +
-      "kk.same.Empty\032\035.com.orbekk.same.SystemSt" +
-      "atus\022<\n\nKillMaster\022\026.com.orbekk.same.Emp" +
-      "ty\032\026.com.orbekk.same.EmptyB\003\210\001\001"
+      "me.Empty\022H\n\013GetNetworks\022\026.com.orbekk.sam" +
+      "e.Empty\032!.com.orbekk.same.NetworkDirecto" +
+      "ry2\241\001\n\005Paxos\022H\n\007Propose\022\035.com.orbekk.sam" +
+      "e.PaxosRequest\032\036.com.orbekk.same.PaxosRe" +
+      "sponse\022N\n\rAcceptRequest\022\035.com.orbekk.sam" +
+      "e.PaxosRequest\032\036.com.orbekk.same.PaxosRe" +
+      "sponse2\227\001\n\rSystemService\022H\n\017GetSystemSta",
+      "tus\022\026.com.orbekk.same.Empty\032\035.com.orbekk" +
+      ".same.SystemStatus\022<\n\nKillMaster\022\026.com.o" +
+      "rbekk.same.Empty\032\026.com.orbekk.same.Empty" +
+      "B\003\210\001\001"
     };
     com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
       new com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner() {
@@ -8232,7 +19496,7 @@ public final class Services {
           internal_static_com_orbekk_same_UpdateComponentResponse_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_com_orbekk_same_UpdateComponentResponse_descriptor,
-              new java.lang.String[] { "Success", },
+              new java.lang.String[] { "Success", "RetryAfterMillis", "Revision", },
               com.orbekk.same.Services.UpdateComponentResponse.class,
               com.orbekk.same.Services.UpdateComponentResponse.Builder.class);
           internal_static_com_orbekk_same_SystemStatus_descriptor =
@@ -8248,11 +19512,35 @@ public final class Services {
           internal_static_com_orbekk_same_Component_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_com_orbekk_same_Component_descriptor,
-              new java.lang.String[] { "Id", "Data", "Revision", },
+              new java.lang.String[] { "Id", "Data", "Revision", "Value", "Codec", "Patch", "BaseRevision", "Merge", "Origin", },
               com.orbekk.same.Services.Component.class,
               com.orbekk.same.Services.Component.Builder.class);
-          internal_static_com_orbekk_same_MasterState_descriptor =
+          internal_static_com_orbekk_same_ComponentBatch_descriptor =
             getDescriptor().getMessageTypes().get(4);
+          internal_static_com_orbekk_same_ComponentBatch_fieldAccessorTable = new
+            com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+              internal_static_com_orbekk_same_ComponentBatch_descriptor,
+              new java.lang.String[] { "Component", },
+              com.orbekk.same.Services.ComponentBatch.class,
+              com.orbekk.same.Services.ComponentBatch.Builder.class);
+          internal_static_com_orbekk_same_TransactionRequest_descriptor =
+            getDescriptor().getMessageTypes().get(5);
+          internal_static_com_orbekk_same_TransactionRequest_fieldAccessorTable = new
+            com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+              internal_static_com_orbekk_same_TransactionRequest_descriptor,
+              new java.lang.String[] { "Component", "Origin", },
+              com.orbekk.same.Services.TransactionRequest.class,
+              com.orbekk.same.Services.TransactionRequest.Builder.class);
+          internal_static_com_orbekk_same_RelayRequest_descriptor =
+            getDescriptor().getMessageTypes().get(6);
+          internal_static_com_orbekk_same_RelayRequest_fieldAccessorTable = new
+            com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+              internal_static_com_orbekk_same_RelayRequest_descriptor,
+              new java.lang.String[] { "Component", "Target", "Fanout", },
+              com.orbekk.same.Services.RelayRequest.class,
+              com.orbekk.same.Services.RelayRequest.Builder.class);
+          internal_static_com_orbekk_same_MasterState_descriptor =
+            getDescriptor().getMessageTypes().get(7);
           internal_static_com_orbekk_same_MasterState_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_com_orbekk_same_MasterState_descriptor,
@@ -8260,31 +19548,143 @@ public final class Services {
               com.orbekk.same.Services.MasterState.class,
               com.orbekk.same.Services.MasterState.Builder.class);
           internal_static_com_orbekk_same_MasterTakeoverResponse_descriptor =
-            getDescriptor().getMessageTypes().get(5);
+            getDescriptor().getMessageTypes().get(8);
           internal_static_com_orbekk_same_MasterTakeoverResponse_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_com_orbekk_same_MasterTakeoverResponse_descriptor,
-              new java.lang.String[] { "Success", "ClientState", },
+              new java.lang.String[] { "Success", "ClientState", "Summary", },
               com.orbekk.same.Services.MasterTakeoverResponse.class,
               com.orbekk.same.Services.MasterTakeoverResponse.Builder.class);
+          internal_static_com_orbekk_same_StateSummary_descriptor =
+            getDescriptor().getMessageTypes().get(9);
+          internal_static_com_orbekk_same_StateSummary_fieldAccessorTable = new
+            com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+              internal_static_com_orbekk_same_StateSummary_descriptor,
+              new java.lang.String[] { "NumBuckets", "MaxRevision", "Digest", },
+              com.orbekk.same.Services.StateSummary.class,
+              com.orbekk.same.Services.StateSummary.Builder.class);
+          internal_static_com_orbekk_same_BucketRequest_descriptor =
+            getDescriptor().getMessageTypes().get(10);
+          internal_static_com_orbekk_same_BucketRequest_fieldAccessorTable = new
+            com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+              internal_static_com_orbekk_same_BucketRequest_descriptor,
+              new java.lang.String[] { "NumBuckets", "Bucket", },
+              com.orbekk.same.Services.BucketRequest.class,
+              com.orbekk.same.Services.BucketRequest.Builder.class);
           internal_static_com_orbekk_same_FullStateResponse_descriptor =
-            getDescriptor().getMessageTypes().get(6);
+            getDescriptor().getMessageTypes().get(11);
           internal_static_com_orbekk_same_FullStateResponse_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_com_orbekk_same_FullStateResponse_descriptor,
               new java.lang.String[] { "Revision", "Component", },
               com.orbekk.same.Services.FullStateResponse.class,
               com.orbekk.same.Services.FullStateResponse.Builder.class);
+          internal_static_com_orbekk_same_ChangesRequest_descriptor =
+            getDescriptor().getMessageTypes().get(12);
+          internal_static_com_orbekk_same_ChangesRequest_fieldAccessorTable = new
+            com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+              internal_static_com_orbekk_same_ChangesRequest_descriptor,
+              new java.lang.String[] { "Revision", },
+              com.orbekk.same.Services.ChangesRequest.class,
+              com.orbekk.same.Services.ChangesRequest.Builder.class);
+          internal_static_com_orbekk_same_ChangesResponse_descriptor =
+            getDescriptor().getMessageTypes().get(13);
+          internal_static_com_orbekk_same_ChangesResponse_fieldAccessorTable = new
+            com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+              internal_static_com_orbekk_same_ChangesResponse_descriptor,
+              new java.lang.String[] { "Revision", "FullState", "Component", },
+              com.orbekk.same.Services.ChangesResponse.class,
+              com.orbekk.same.Services.ChangesResponse.Builder.class);
+          internal_static_com_orbekk_same_ComponentQuery_descriptor =
+            getDescriptor().getMessageTypes().get(14);
+          internal_static_com_orbekk_same_ComponentQuery_fieldAccessorTable = new
+            com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+              internal_static_com_orbekk_same_ComponentQuery_descriptor,
+              new java.lang.String[] { "Id", "Prefix", },
+              com.orbekk.same.Services.ComponentQuery.class,
+              com.orbekk.same.Services.ComponentQuery.Builder.class);
+          internal_static_com_orbekk_same_ComponentRequest_descriptor =
+            getDescriptor().getMessageTypes().get(15);
+          internal_static_com_orbekk_same_ComponentRequest_fieldAccessorTable = new
+            com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+              internal_static_com_orbekk_same_ComponentRequest_descriptor,
+              new java.lang.String[] { "Id", },
+              com.orbekk.same.Services.ComponentRequest.class,
+              com.orbekk.same.Services.ComponentRequest.Builder.class);
+          internal_static_com_orbekk_same_ComponentResponse_descriptor =
+            getDescriptor().getMessageTypes().get(16);
+          internal_static_com_orbekk_same_ComponentResponse_fieldAccessorTable = new
+            com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+              internal_static_com_orbekk_same_ComponentResponse_descriptor,
+              new java.lang.String[] { "Revision", "Component", },
+              com.orbekk.same.Services.ComponentResponse.class,
+              com.orbekk.same.Services.ComponentResponse.Builder.class);
+          internal_static_com_orbekk_same_ScanRequest_descriptor =
+            getDescriptor().getMessageTypes().get(17);
+          internal_static_com_orbekk_same_ScanRequest_fieldAccessorTable = new
+            com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+              internal_static_com_orbekk_same_ScanRequest_descriptor,
+              new java.lang.String[] { "Prefix", "StartAfter", "Limit", },
+              com.orbekk.same.Services.ScanRequest.class,
+              com.orbekk.same.Services.ScanRequest.Builder.class);
+          internal_static_com_orbekk_same_ScanResponse_descriptor =
+            getDescriptor().getMessageTypes().get(18);
+          internal_static_com_orbekk_same_ScanResponse_fieldAccessorTable = new
+            com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+              internal_static_com_orbekk_same_ScanResponse_descriptor,
+              new java.lang.String[] { "Revision", "Component", "NextStartAfter", },
+              com.orbekk.same.Services.ScanResponse.class,
+              com.orbekk.same.Services.ScanResponse.Builder.class);
+          internal_static_com_orbekk_same_OperationRequest_descriptor =
+            getDescriptor().getMessageTypes().get(19);
+          internal_static_com_orbekk_same_OperationRequest_fieldAccessorTable = new
+            com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+              internal_static_com_orbekk_same_OperationRequest_descriptor,
+              new java.lang.String[] { "Id", "Operator", "Operand", "Key", "Origin", },
+              com.orbekk.same.Services.OperationRequest.class,
+              com.orbekk.same.Services.OperationRequest.Builder.class);
+          internal_static_com_orbekk_same_OperationResponse_descriptor =
+            getDescriptor().getMessageTypes().get(20);
+          internal_static_com_orbekk_same_OperationResponse_fieldAccessorTable = new
+            com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+              internal_static_com_orbekk_same_OperationResponse_descriptor,
+              new java.lang.String[] { "Success", "Component", "RetryAfterMillis", },
+              com.orbekk.same.Services.OperationResponse.class,
+              com.orbekk.same.Services.OperationResponse.Builder.class);
+          internal_static_com_orbekk_same_MembershipEvent_descriptor =
+            getDescriptor().getMessageTypes().get(21);
+          internal_static_com_orbekk_same_MembershipEvent_fieldAccessorTable = new
+            com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+              internal_static_com_orbekk_same_MembershipEvent_descriptor,
+              new java.lang.String[] { "Location", "Joined", "Revision", },
+              com.orbekk.same.Services.MembershipEvent.class,
+              com.orbekk.same.Services.MembershipEvent.Builder.class);
+          internal_static_com_orbekk_same_Subscription_descriptor =
+            getDescriptor().getMessageTypes().get(22);
+          internal_static_com_orbekk_same_Subscription_fieldAccessorTable = new
+            com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+              internal_static_com_orbekk_same_Subscription_descriptor,
+              new java.lang.String[] { "Id", "Prefix", },
+              com.orbekk.same.Services.Subscription.class,
+              com.orbekk.same.Services.Subscription.Builder.class);
+          internal_static_com_orbekk_same_HeartbeatRequest_descriptor =
+            getDescriptor().getMessageTypes().get(23);
+          internal_static_com_orbekk_same_HeartbeatRequest_fieldAccessorTable = new
+            com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+              internal_static_com_orbekk_same_HeartbeatRequest_descriptor,
+              new java.lang.String[] { "Master", "IntervalMillis", },
+              com.orbekk.same.Services.HeartbeatRequest.class,
+              com.orbekk.same.Services.HeartbeatRequest.Builder.class);
           internal_static_com_orbekk_same_ClientState_descriptor =
-            getDescriptor().getMessageTypes().get(7);
+            getDescriptor().getMessageTypes().get(24);
           internal_static_com_orbekk_same_ClientState_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_com_orbekk_same_ClientState_descriptor,
-              new java.lang.String[] { "Url", "Location", "Revision", },
+              new java.lang.String[] { "Url", "Location", "Revision", "Subscription", },
               com.orbekk.same.Services.ClientState.class,
               com.orbekk.same.Services.ClientState.Builder.class);
           internal_static_com_orbekk_same_NetworkDirectory_descriptor =
-            getDescriptor().getMessageTypes().get(8);
+            getDescriptor().getMessageTypes().get(25);
           internal_static_com_orbekk_same_NetworkDirectory_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_com_orbekk_same_NetworkDirectory_descriptor,
@@ -8292,7 +19692,7 @@ public final class Services {
               com.orbekk.same.Services.NetworkDirectory.class,
               com.orbekk.same.Services.NetworkDirectory.Builder.class);
           internal_static_com_orbekk_same_PaxosRequest_descriptor =
-            getDescriptor().getMessageTypes().get(9);
+            getDescriptor().getMessageTypes().get(26);
           internal_static_com_orbekk_same_PaxosRequest_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_com_orbekk_same_PaxosRequest_descriptor,
@@ -8300,7 +19700,7 @@ public final class Services {
               com.orbekk.same.Services.PaxosRequest.class,
               com.orbekk.same.Services.PaxosRequest.Builder.class);
           internal_static_com_orbekk_same_PaxosResponse_descriptor =
-            getDescriptor().getMessageTypes().get(10);
+            getDescriptor().getMessageTypes().get(27);
           internal_static_com_orbekk_same_PaxosResponse_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_com_orbekk_same_PaxosResponse_descriptor,
@@ -1,10 +1,16 @@
 package com.orbekk.same;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import com.orbekk.same.codec.JsonCodec;
 
 public class ServicesPbConversion {
-    public static List<Services.Component> componentsToPb(List<State.Component> components) {
+    public static List<Services.Component> componentsToPb(Iterable<State.Component> components) {
         List<Services.Component> results = new ArrayList<Services.Component>();
         for (State.Component c : components) {
             results.add(componentToPb(c));
@@ -12,11 +18,117 @@ public class ServicesPbConversion {
         return results;
     }
     
+    /**
+     * Splits 'components' into batches of at most 'maxBytes' serialized
+     * bytes each. A component larger than 'maxBytes' gets its own batch.
+     * Adjacent components with the same revision are part of a transaction
+     * and are kept in one batch even if it gets larger.
+     */
+    public static List<Services.ComponentBatch> componentsToBatches(
+            Iterable<State.Component> components, int maxBytes) {
+        List<Services.ComponentBatch> batches =
+                new ArrayList<Services.ComponentBatch>();
+        BatchIterator it = new BatchIterator(components.iterator(), maxBytes);
+        while (it.hasNext()) {
+            batches.add(it.next());
+        }
+        return batches;
+    }
+
+    /**
+     * Splits components into batches like componentsToBatches(), but only
+     * converts the components of a batch when it is requested.
+     */
+    public static class BatchIterator
+            implements Iterator<Services.ComponentBatch> {
+        private final Iterator<State.Component> components;
+        private final int maxBytes;
+        private Services.Component next = null;
+        private long nextRevision = -1;
+        private int nextSize = 0;
+
+        public BatchIterator(Iterator<State.Component> components,
+                int maxBytes) {
+            this.components = components;
+            this.maxBytes = maxBytes;
+        }
+
+        @Override public boolean hasNext() {
+            return next != null || components.hasNext();
+        }
+
+        @Override public Services.ComponentBatch next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Services.ComponentBatch.Builder batch =
+                    Services.ComponentBatch.newBuilder();
+            int batchSize = 0;
+            long lastRevision = -1;
+            while (hasNext()) {
+                if (next == null) {
+                    State.Component c = components.next();
+                    next = componentToPb(c);
+                    nextRevision = c.getRevision();
+                    nextSize = CodedOutputStream.computeMessageSize(
+                            Services.ComponentBatch.COMPONENT_FIELD_NUMBER,
+                            next);
+                }
+                boolean sameTransaction = nextRevision == lastRevision;
+                if (batchSize > 0 && batchSize + nextSize > maxBytes &&
+                        !sameTransaction) {
+                    break;
+                }
+                batch.addComponent(next);
+                batchSize += nextSize;
+                lastRevision = nextRevision;
+                next = null;
+            }
+            return batch.build();
+        }
+
+        @Override public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
     public static Services.Component componentToPb(State.Component component) {
         return Services.Component.newBuilder()
                 .setId(component.getName())
                 .setRevision(component.getRevision())
-                .setData(component.getData())
+                .setCodec(component.getCodec())
+                .setValue(ByteString.copyFrom(component.getValue()))
+                .build();
+    }
+
+    public static State.Component componentFromPb(Services.Component component) {
+        return componentFromPb(component, component.getRevision());
+    }
+
+    /** Converts 'component', but gives it a new revision. */
+    public static State.Component componentFromPb(Services.Component component,
+            long revision) {
+        if (component.hasValue()) {
+            return new State.Component(component.getId(), revision,
+                    component.getCodec(), component.getValue().toByteArray());
+        } else {
+            return new State.Component(component.getId(), revision,
+                    component.getData());
+        }
+    }
+
+    /**
+     * Creates a component that holds a JsonPatch of the value at
+     * 'baseRevision'.
+     */
+    public static Services.Component patchToPb(String id, long revision,
+            long baseRevision, byte[] patch) {
+        return Services.Component.newBuilder()
+                .setId(id)
+                .setRevision(revision)
+                .setBaseRevision(baseRevision)
+                .setCodec(JsonCodec.ID)
+                .setPatch(ByteString.copyFrom(patch))
                 .build();
     }
 }
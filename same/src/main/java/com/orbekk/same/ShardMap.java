@@ -0,0 +1,82 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Assigns components to shards with consistent hashing.
+ * 
+ * Each shard owns 'virtualNodes' points on a ring of 32-bit hashes, and a
+ * component belongs to the shard owning the first point at or after the
+ * hash of its name. Adding or removing a shard only moves the components
+ * of that shard, about 1/n of the keyspace.
+ */
+public class ShardMap {
+    public static final int DEFAULT_VIRTUAL_NODES = 64;
+    private final TreeMap<Integer, String> ring = new TreeMap<Integer, String>();
+    private final List<String> shards;
+
+    public ShardMap(List<String> shards) {
+        this(shards, DEFAULT_VIRTUAL_NODES);
+    }
+
+    public ShardMap(List<String> shards, int virtualNodes) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("Need at least one shard.");
+        }
+        this.shards = Collections.unmodifiableList(
+                new ArrayList<String>(shards));
+        for (String shard : shards) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(shard + "#" + i), shard);
+            }
+        }
+    }
+
+    /**
+     * A stable 32-bit hash. String.hashCode() is specified by the language,
+     * and the finalizer from MurmurHash3 spreads similar names over the
+     * ring.
+     */
+    static int hash(String name) {
+        int h = name.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /** Returns the shard that owns 'componentName'. */
+    public String getShard(String componentName) {
+        Map.Entry<Integer, String> entry =
+                ring.ceilingEntry(hash(componentName));
+        if (entry == null) {
+            entry = ring.firstEntry();
+        }
+        return entry.getValue();
+    }
+
+    public List<String> getShards() {
+        return shards;
+    }
+}
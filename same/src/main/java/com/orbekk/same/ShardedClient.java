@@ -0,0 +1,203 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.orbekk.same.State.Component;
+import com.orbekk.util.DelayedOperation;
+
+/**
+ * A client of a network whose components are split across several
+ * masters.
+ * 
+ * Each shard is a separate network with its own master, revisions and
+ * master election, joined by its own Client. A ShardMap decides which
+ * shard owns a component. Updates go to the owning shard, and the user
+ * components of all shards are merged into one State. System components,
+ * whose names start with '.', differ between shards and are left out of
+ * the merged State.
+ * 
+ * Revisions are only comparable within a shard. Since a component is
+ * always owned by the same shard, the merged State can still order the
+ * updates of each component.
+ */
+public class ShardedClient implements ClientInterface {
+    private final ShardMap shardMap;
+    private final Map<String, ClientInterface> shards =
+            new ConcurrentHashMap<String, ClientInterface>();
+    private final State state = new State();
+    private final List<StateChangedListener> stateListeners =
+            new CopyOnWriteArrayList<StateChangedListener>();
+    private final List<ConnectionStateListener> connectionStateListeners =
+            new CopyOnWriteArrayList<ConnectionStateListener>();
+
+    private final StateChangedListener shardListener =
+            new StateChangedListener() {
+        @Override public void stateChanged(Component component) {
+            if (isSystemComponent(component) || !state.update(component)) {
+                return;
+            }
+            for (StateChangedListener listener : stateListeners) {
+                listener.stateChanged(component);
+            }
+        }
+    };
+
+    private final ConnectionStateListener shardConnectionListener =
+            new ConnectionStateListener() {
+        @Override public void connectionStatusChanged(ConnectionState unused) {
+            ConnectionState connectionState = getConnectionState();
+            for (ConnectionStateListener listener : connectionStateListeners) {
+                listener.connectionStatusChanged(connectionState);
+            }
+        }
+    };
+
+    /**
+     * @param shards the client of each shard in 'shardMap', by shard name.
+     */
+    public ShardedClient(ShardMap shardMap, Map<String, ClientInterface> shards) {
+        this.shardMap = shardMap;
+        // The merged State only holds user components.
+        state.clear();
+        for (String shard : shardMap.getShards()) {
+            ClientInterface client = shards.get(shard);
+            if (client == null) {
+                throw new IllegalArgumentException("No client for " + shard);
+            }
+            this.shards.put(shard, client);
+        }
+        for (ClientInterface client : this.shards.values()) {
+            client.addStateListener(shardListener);
+            client.addConnectionStateListener(shardConnectionListener);
+            for (Component component : client.getState().getComponents()) {
+                if (!isSystemComponent(component)) {
+                    state.update(component);
+                }
+            }
+        }
+    }
+
+    private static boolean isSystemComponent(Component component) {
+        return component.getName().startsWith(".");
+    }
+
+    /** Returns the client of the shard that owns 'componentName'. */
+    public ClientInterface getShard(String componentName) {
+        return shards.get(shardMap.getShard(componentName));
+    }
+
+    @Override public State getState() {
+        return state;
+    }
+
+    @Override public DelayedOperation set(Component component) {
+        return getShard(component.getName()).set(component);
+    }
+
+    /**
+     * Transactions are only atomic within a shard, so all of 'components'
+     * must belong to the same shard.
+     */
+    @Override public DelayedOperation setAll(List<Component> components) {
+        if (components.isEmpty()) {
+            DelayedOperation op = new DelayedOperation();
+            op.complete(DelayedOperation.Status.createOk());
+            return op;
+        }
+        String shard = shardMap.getShard(components.get(0).getName());
+        for (Component component : components) {
+            if (!shard.equals(shardMap.getShard(component.getName()))) {
+                DelayedOperation op = new DelayedOperation();
+                op.complete(DelayedOperation.Status.createError(
+                        "Transaction spans several shards."));
+                return op;
+            }
+        }
+        return shards.get(shard).setAll(components);
+    }
+
+    @Override public DelayedOperation merge(Component delta,
+            String crdtType) {
+        return getShard(delta.getName()).merge(delta, crdtType);
+    }
+
+    @Override public DelayedOperation apply(String id, Operation operation) {
+        return getShard(id).apply(id, operation);
+    }
+
+    @Override public DelayedOperation subscribe(String id) {
+        return getShard(id).subscribe(id);
+    }
+
+    /** Subscribes on every shard, and waits for all of them. */
+    @Override public DelayedOperation subscribePrefix(String prefix) {
+        List<DelayedOperation> ops = new ArrayList<DelayedOperation>();
+        for (ClientInterface shard : shards.values()) {
+            ops.add(shard.subscribePrefix(prefix));
+        }
+        DelayedOperation op = new DelayedOperation();
+        DelayedOperation.Status status = DelayedOperation.Status.createOk();
+        for (DelayedOperation shardOp : ops) {
+            shardOp.waitFor();
+            if (!shardOp.getStatus().isOk()) {
+                status = shardOp.getStatus();
+            }
+        }
+        op.complete(status);
+        return op;
+    }
+
+    @Override public void addStateListener(StateChangedListener listener) {
+        stateListeners.add(listener);
+    }
+
+    @Override public void removeStateListener(StateChangedListener listener) {
+        stateListeners.remove(listener);
+    }
+
+    @Override public void addConnectionStateListener(
+            ConnectionStateListener listener) {
+        connectionStateListeners.add(listener);
+    }
+
+    @Override public void removeConnectionStateListener(
+            ConnectionStateListener listener) {
+        connectionStateListeners.remove(listener);
+    }
+
+    /**
+     * Returns DISCONNECTED if any shard is disconnected, UNSTABLE if any
+     * shard is unstable and STABLE otherwise.
+     */
+    @Override public ConnectionState getConnectionState() {
+        ConnectionState result = ConnectionState.STABLE;
+        for (ClientInterface client : shards.values()) {
+            ConnectionState shardState = client.getConnectionState();
+            if (shardState == ConnectionState.DISCONNECTED) {
+                return shardState;
+            } else if (shardState == ConnectionState.UNSTABLE) {
+                result = shardState;
+            }
+        }
+        return result;
+    }
+}
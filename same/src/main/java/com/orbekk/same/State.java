@@ -16,48 +16,467 @@
 package com.orbekk.same;
 
 import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.HashMap;
+import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.TreeSet;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.codehaus.jackson.JsonGenerationException;
-import org.codehaus.jackson.JsonParseException;
 import org.codehaus.jackson.map.JsonMappingException;
 import org.codehaus.jackson.map.ObjectMapper;
 import org.codehaus.jackson.type.TypeReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.orbekk.same.codec.Codecs;
+import com.orbekk.same.codec.JsonCodec;
+import com.orbekk.same.codec.ValueCodec;
+import com.orbekk.util.PersistentHashMap;
+
 /**
  * This class is thread-safe.
+ * 
+ * The components are kept in SHARDS persistent maps, chosen by the hash of
+ * the component name. Updates replace the map of their shard with
+ * compare-and-set, so updates to different shards do not contend. Reads
+ * never lock, and copying a State or iterating its components takes a
+ * snapshot in time proportional to the number of shards.
+ * 
+ * An update of several components marks each of its shards with a Pending
+ * entry, in shard order, and then commits all of them with a single
+ * write. Readers see the old maps until the commit and the new maps
+ * after it, and writers of a marked shard wait for the commit.
  */
 public class State {
     private Logger logger = LoggerFactory.getLogger(getClass());
-    private Map<String, Component> state = new HashMap<String, Component>(); 
+    /** The number of shards. Must be a power of two. */
+    static final int SHARDS = 16;
+    private static final int SHARD_BITS = 4;
+    /** Each shard holds a PersistentHashMap or a Pending update. */
+    private final AtomicReferenceArray<Object> shards;
     private ObjectMapper mapper = new ObjectMapper();
+    private final ConcurrentMap<String, ParsedValue> parsedValues =
+            new ConcurrentHashMap<String, ParsedValue>();
+    private final AtomicLong parsedValueHits = new AtomicLong(0);
+    private final AtomicLong parsedValueMisses = new AtomicLong(0);
+    /**
+     * The sorted names of the components, mapped to themselves. Names are
+     * added before the components are published, and only by updates that
+     * can no longer fail, so the index of the State that owns it has the
+     * same names as its maps.
+     * 
+     * Snapshots share the index of the State they were copied from until
+     * they add a name of their own, and then make a copy with their own
+     * names. Until then their index may have names that were added to the
+     * original later, and lookups in the maps filter them out.
+     * 
+     * It is also a dictionary: every component in the maps uses the String
+     * instance from here as its name, so each name is stored once no matter
+     * how many times the component is updated.
+     */
+    private volatile ConcurrentSkipListMap<String, String> names;
+    /** False while 'names' is shared with the State this was copied from. */
+    private volatile boolean ownsNames;
+    private final List<StateChangedListener> listeners =
+            new CopyOnWriteArrayList<StateChangedListener>();
+
+    /** An update of several shards that commits all of them at once. */
+    private static class Transaction {
+        volatile boolean committed = false;
+    }
+
+    /** Marks a shard that a Transaction is updating. */
+    private static class Pending {
+        final int shard;
+        final PersistentHashMap<String, Component> before;
+        final Transaction transaction;
+        /** The new map. Written before the transaction commits. */
+        PersistentHashMap<String, Component> after = null;
+        /** The components installed in this shard. */
+        List<Component> installed = null;
+
+        Pending(int shard, PersistentHashMap<String, Component> before,
+                Transaction transaction) {
+            this.shard = shard;
+            this.before = before;
+            this.transaction = transaction;
+        }
+
+        PersistentHashMap<String, Component> current() {
+            return transaction.committed ? after : before;
+        }
+    }
+
+    /** A decoded value of a specific component revision. */
+    private static class ParsedValue {
+        final Component component;
+        final Type type;
+        final Object value;
+
+        ParsedValue(Component component, Type type, Object value) {
+            this.component = component;
+            this.type = type;
+            this.value = value;
+        }
+
+        boolean isValidFor(Component component, Type type) {
+            return this.component == component && this.type.equals(type);
+        }
+    }
 
     public static final String PARTICIPANTS = ".participants0";
     
     public State() {
+        shards = new AtomicReferenceArray<Object>(SHARDS);
+        for (int i = 0; i < SHARDS; i++) {
+            shards.set(i, PersistentHashMap.<String, Component>empty());
+        }
+        names = new ConcurrentSkipListMap<String, String>();
+        ownsNames = true;
         updateFromObject(PARTICIPANTS, new ArrayList<String>(), 1);
     }
 
+    /**
+     * Creates a snapshot of 'other'. This is a constant time operation.
+     */
     public State(State other) {
-        for (Component c : other.getComponents()) {
-            state.put(c.getName(), c);
+        shards = new AtomicReferenceArray<Object>(other.snapshot());
+        names = other.names;
+        ownsNames = false;
+    }
+
+    /**
+     * Adds a listener that is notified after each component update, on the
+     * updating thread. Listeners are not copied to snapshots.
+     */
+    public void addStateListener(StateChangedListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeStateListener(StateChangedListener listener) {
+        listeners.remove(listener);
+    }
+
+    static int shardOf(String name) {
+        return (name.hashCode() * 0x9E3779B9) >>> (32 - SHARD_BITS);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static PersistentHashMap<String, Component> asMap(Object slot) {
+        if (slot instanceof Pending) {
+            return ((Pending)slot).current();
+        }
+        return (PersistentHashMap<String, Component>)slot;
+    }
+
+    /** Returns the current map of 'shard'. */
+    private PersistentHashMap<String, Component> read(int shard) {
+        return asMap(shards.get(shard));
+    }
+
+    /**
+     * Returns the map of 'shard' once no transaction is updating it. A
+     * committed transaction is finished on behalf of its thread.
+     */
+    private PersistentHashMap<String, Component> awaitMap(int shard) {
+        while (true) {
+            Object slot = shards.get(shard);
+            if (!(slot instanceof Pending)) {
+                return asMap(slot);
+            }
+            Pending pending = (Pending)slot;
+            if (pending.transaction.committed) {
+                shards.compareAndSet(shard, pending, pending.after);
+            } else {
+                Thread.yield();
+            }
         }
     }
 
-    public synchronized void clear() {
-        state.clear();
+    /**
+     * Returns the maps of all shards at a single point in time. The shards
+     * are read until two passes in a row see the same maps. Every update
+     * creates a new map, so the maps did not change between the passes.
+     */
+    private Object[] snapshot() {
+        Object[] previous = collect();
+        while (true) {
+            Object[] current = collect();
+            boolean same = true;
+            for (int i = 0; i < SHARDS && same; i++) {
+                same = previous[i] == current[i];
+            }
+            if (same) {
+                return current;
+            }
+            previous = current;
+        }
     }
 
-    public synchronized boolean checkRevision(String componentName,
+    private Object[] collect() {
+        Object[] maps = new Object[SHARDS];
+        for (int i = 0; i < SHARDS; i++) {
+            maps[i] = read(i);
+        }
+        return maps;
+    }
+
+    /**
+     * Replaces the map 'current' of 'shard' with one that contains
+     * 'newComponent'.
+     * 
+     * @return false if the map has been changed by another thread.
+     */
+    private boolean tryInstall(int shard,
+            PersistentHashMap<String, Component> current,
+            Component newComponent) {
+        newComponent = withCanonicalName(current, newComponent);
+        if (shards.compareAndSet(shard, current,
+                current.put(newComponent.getName(), newComponent))) {
+            installed(newComponent);
+            return true;
+        }
+        return false;
+    }
+
+    /** Decides which components a batch update installs in a shard. */
+    private interface Selector {
+        /**
+         * Returns the components to install given the map of their shard,
+         * or null if the whole batch must fail.
+         */
+        List<Component> select(PersistentHashMap<String, Component> current,
+                List<Component> candidates);
+    }
+
+    /** Installs all components if each has its expected revision. */
+    private static class ExpectedRevisions implements Selector {
+        private final Map<Component, Long> expected =
+                new IdentityHashMap<Component, Long>();
+
+        ExpectedRevisions(List<Component> components, long[] revisions) {
+            for (int i = 0; i < revisions.length; i++) {
+                expected.put(components.get(i), revisions[i]);
+            }
+        }
+
+        @Override public List<Component> select(
+                PersistentHashMap<String, Component> current,
+                List<Component> candidates) {
+            for (Component candidate : candidates) {
+                Component component = current.get(candidate.getName());
+                if (component != null && component.getRevision() !=
+                        expected.get(candidate)) {
+                    return null;
+                }
+            }
+            return candidates;
+        }
+    }
+
+    /** Installs the components that are newer than the current ones. */
+    private static final Selector NEWER = new Selector() {
+        @Override public List<Component> select(
+                PersistentHashMap<String, Component> current,
+                List<Component> candidates) {
+            List<Component> newer = new ArrayList<Component>(
+                    candidates.size());
+            for (Component candidate : candidates) {
+                Component component = current.get(candidate.getName());
+                if (component == null ||
+                        candidate.getRevision() > component.getRevision()) {
+                    newer.add(candidate);
+                }
+            }
+            return newer;
+        }
+    };
+
+    /**
+     * Atomically installs the components of 'newComponents' chosen by
+     * 'selector'. Other threads see either none or all of them.
+     * 
+     * @return the installed components, or null if the selector failed.
+     */
+    private List<Component> installAll(List<Component> newComponents,
+            Selector selector) {
+        // Sorted by shard, so that concurrent transactions mark their
+        // shards in the same order.
+        TreeMap<Integer, List<Component>> byShard =
+                new TreeMap<Integer, List<Component>>();
+        for (Component newComponent : newComponents) {
+            int shard = shardOf(newComponent.getName());
+            List<Component> components = byShard.get(shard);
+            if (components == null) {
+                components = new ArrayList<Component>();
+                byShard.put(shard, components);
+            }
+            components.add(newComponent);
+        }
+        Transaction transaction = new Transaction();
+        List<Pending> marked = new ArrayList<Pending>(byShard.size());
+        for (Map.Entry<Integer, List<Component>> entry : byShard.entrySet()) {
+            int shard = entry.getKey();
+            while (true) {
+                PersistentHashMap<String, Component> current = awaitMap(shard);
+                List<Component> selected = selector.select(current,
+                        entry.getValue());
+                if (selected == null) {
+                    abort(marked);
+                    return null;
+                }
+                if (selected.isEmpty()) {
+                    break;
+                }
+                Pending pending = new Pending(shard, current, transaction);
+                if (shards.compareAndSet(shard, current, pending)) {
+                    pending.installed = selected;
+                    marked.add(pending);
+                    break;
+                }
+            }
+        }
+        // No shard can fail any more, so new names are added to the index
+        // only for components that will be installed.
+        List<Component> installed = new ArrayList<Component>();
+        for (Pending pending : marked) {
+            List<Component> canonical = new ArrayList<Component>(
+                    pending.installed.size());
+            pending.after = putAll(pending.before, pending.installed,
+                    canonical);
+            pending.installed = canonical;
+            installed.addAll(canonical);
+        }
+        transaction.committed = true;
+        for (Pending pending : marked) {
+            shards.compareAndSet(pending.shard, pending, pending.after);
+        }
+        for (Component component : installed) {
+            installed(component);
+        }
+        return installed;
+    }
+
+    /** Unmarks the shards of a transaction that did not commit. */
+    private void abort(List<Pending> marked) {
+        for (Pending pending : marked) {
+            shards.compareAndSet(pending.shard, pending, pending.before);
+        }
+    }
+
+    /**
+     * Returns 'current' with 'newComponents' added, and adds the added
+     * components to 'canonical'.
+     */
+    private PersistentHashMap<String, Component> putAll(
+            PersistentHashMap<String, Component> current,
+            List<Component> newComponents, List<Component> canonical) {
+        PersistentHashMap<String, Component> next = current;
+        for (Component newComponent : newComponents) {
+            newComponent = withCanonicalName(current, newComponent);
+            next = next.put(newComponent.getName(), newComponent);
+            canonical.add(newComponent);
+        }
+        return next;
+    }
+
+    /** Returns 'newComponent' with the canonical instance of its name. */
+    private Component withCanonicalName(
+            PersistentHashMap<String, Component> current,
+            Component newComponent) {
+        Component existing = current.get(newComponent.getName());
+        // Index new names before publishing, so that every name in the map
+        // is in the index.
+        String name = existing != null ? existing.getName() :
+                intern(newComponent.getName());
+        if (name != newComponent.getName()) {
+            newComponent = new Component(name, newComponent.getRevision(),
+                    newComponent.getCodec(), newComponent.getValue());
+        }
+        return newComponent;
+    }
+
+    /** Returns the canonical instance of 'name', adding it if needed. */
+    private String intern(String name) {
+        if (!ownsNames) {
+            copyNames();
+        }
+        String canonical = names.putIfAbsent(name, name);
+        return canonical != null ? canonical : name;
+    }
+
+    /**
+     * Replaces a shared index with one that has the names of this State,
+     * so that names added here do not grow the index of the original.
+     */
+    private synchronized void copyNames() {
+        if (ownsNames) {
+            return;
+        }
+        ConcurrentSkipListMap<String, String> copy =
+                new ConcurrentSkipListMap<String, String>();
+        for (Component component : getComponents()) {
+            copy.put(component.getName(), component.getName());
+        }
+        names = copy;
+        ownsNames = true;
+    }
+
+    /** Returns the number of names in the index. */
+    int getIndexSize() {
+        return names.size();
+    }
+
+    private void installed(Component component) {
+        parsedValues.remove(component.getName());
+        for (StateChangedListener listener : listeners) {
+            listener.stateChanged(component);
+        }
+    }
+
+    public void clear() {
+        names = new ConcurrentSkipListMap<String, String>();
+        ownsNames = true;
+        // Marks every shard, so that the State is cleared all at once.
+        Transaction transaction = new Transaction();
+        List<Pending> marked = new ArrayList<Pending>(SHARDS);
+        for (int shard = 0; shard < SHARDS; shard++) {
+            while (true) {
+                Pending pending = new Pending(shard, awaitMap(shard),
+                        transaction);
+                pending.after = PersistentHashMap.empty();
+                if (shards.compareAndSet(shard, pending.before, pending)) {
+                    marked.add(pending);
+                    break;
+                }
+            }
+        }
+        transaction.committed = true;
+        for (Pending pending : marked) {
+            shards.compareAndSet(pending.shard, pending, pending.after);
+        }
+        parsedValues.clear();
+    }
+
+    public boolean checkRevision(String componentName,
             long expectedRevision) {
-        Component component = state.get(componentName);
+        Component component = getComponent(componentName);
         if (component == null) {
             return true;
         } else if (component.getRevision() == expectedRevision) {
@@ -67,45 +486,118 @@ public class State {
         }
     }
     
-    public synchronized void forceUpdate(String componentName,
+    public void forceUpdate(String componentName,
             String data, long revision) {
-        Component oldComponent = state.get(componentName);
-        Component newComponent = new Component(componentName, revision, data);
-        state.put(componentName, newComponent);
+        forceUpdate(new Component(componentName, revision, data));
     }
 
-    public synchronized boolean update(String componentName, String data,
-            long revision) {
-        Component component = null;
-        if (!state.containsKey(componentName)) {
-            component = new Component("", 0, "");
-        } else {
-            component = state.get(componentName);       
+    public void forceUpdate(Component newComponent) {
+        int shard = shardOf(newComponent.getName());
+        while (true) {
+            PersistentHashMap<String, Component> current = awaitMap(shard);
+            if (tryInstall(shard, current, newComponent)) {
+                return;
+            }
         }
+    }
 
-        if (revision > component.getRevision()) {
-            Component newComponent = new Component(componentName, revision, data);
-            state.put(componentName, newComponent);
-            return true;
-        } else {
-            return false;
+    /**
+     * Atomically replaces a component if its revision is still
+     * 'expectedRevision', or if the component does not exist.
+     * 
+     * @return true if the component was updated.
+     */
+    public boolean compareAndSet(String componentName, long expectedRevision,
+            String data, long newRevision) {
+        return compareAndSet(new Component(componentName, newRevision, data),
+                expectedRevision);
+    }
+
+    /**
+     * Atomically installs 'newComponent' if the revision of the current
+     * component is still 'expectedRevision', or if the component does
+     * not exist.
+     * 
+     * @return true if the component was updated.
+     */
+    public boolean compareAndSet(Component newComponent, long expectedRevision) {
+        String componentName = newComponent.getName();
+        int shard = shardOf(componentName);
+        while (true) {
+            PersistentHashMap<String, Component> current = awaitMap(shard);
+            Component component = current.get(componentName);
+            if (component != null &&
+                    component.getRevision() != expectedRevision) {
+                return false;
+            }
+            if (tryInstall(shard, current, newComponent)) {
+                return true;
+            }
         }
     }
 
     /**
-     * Get a copy of a component.
+     * Atomically installs all of 'newComponents' if the revision of each
+     * current component is still the corresponding element of
+     * 'expectedRevisions', or if the component does not exist. Other
+     * threads see either none or all of the new components.
+     * 
+     * @return true if the components were updated.
      */
-    public Component getComponent(String name) {
-        Component component = state.get(name);
-        if (component != null) {
-            return new Component(component);
-        } else {
-            return null;
+    public boolean compareAndSetAll(List<Component> newComponents,
+            long[] expectedRevisions) {
+        if (newComponents.size() != expectedRevisions.length) {
+            throw new IllegalArgumentException(
+                    "Need one expected revision per component.");
         }
+        return installAll(newComponents,
+                new ExpectedRevisions(newComponents, expectedRevisions)) !=
+                null;
+    }
+
+    public boolean update(String componentName, String data,
+            long revision) {
+        return update(new Component(componentName, revision, data));
+    }
+
+    /**
+     * Installs 'newComponent' if it is newer than the current component.
+     */
+    public boolean update(Component newComponent) {
+        String componentName = newComponent.getName();
+        long revision = newComponent.getRevision();
+        int shard = shardOf(componentName);
+        while (true) {
+            PersistentHashMap<String, Component> current = awaitMap(shard);
+            Component component = current.get(componentName);
+            if (component != null && revision <= component.getRevision()) {
+                return false;
+            }
+            if (tryInstall(shard, current, newComponent)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Atomically installs those of 'newComponents' that are newer than the
+     * current components. Other threads see either none or all of them.
+     * 
+     * @return the installed components.
+     */
+    public List<Component> updateAll(List<Component> newComponents) {
+        return installAll(newComponents, NEWER);
+    }
+
+    /**
+     * Get a component. Components are immutable and can be shared.
+     */
+    public Component getComponent(String name) {
+        return read(shardOf(name)).get(name);
     }
 
     public String getDataOf(String componentName) {
-        Component component = state.get(componentName);
+        Component component = getComponent(componentName);
         if (component != null) {
             return component.getData();
         } else {
@@ -114,7 +606,7 @@ public class State {
     }
 
     public long getRevision(String componentName) {
-        Component component = state.get(componentName);
+        Component component = getComponent(componentName);
         if (component != null) {
             return component.getRevision();
         } else {
@@ -125,31 +617,83 @@ public class State {
     }
 
     /**
-     * Parses a JSON value using Jackson ObjectMapper.
+     * Decodes a value using the codec of the component.
+     * 
+     * The decoded value is cached until the component is updated, so the
+     * returned object is shared between callers. Values decoded as a List,
+     * Set, Map or Collection are returned as unmodifiable views. Other
+     * values, and the elements of collections, must not be modified.
      */
+    @SuppressWarnings("unchecked")
     public <T> T getParsedData(String componentName, TypeReference<T> type) {
-        String data = getDataOf(componentName);
-        if (data != null) {
-            try {
-                return mapper.readValue(data, type);
-            } catch (JsonParseException e) {
-                logger.warn("Failed to parse value {} ", data);
-                logger.warn("Parse exception: {}", e);
-            } catch (JsonMappingException e) {
-                logger.warn("Failed to parse value {} ", data);
-                logger.warn("Parse exception: {}", e);
-
-            } catch (IOException e) {
-                logger.warn("Failed to parse value {} ", data);
-                logger.warn("Parse exception: {}", e);
-            }
+        Component component = getComponent(componentName);
+        if (component == null) {
+            return null;
+        }
+        ParsedValue cached = parsedValues.get(componentName);
+        if (cached != null && cached.isValidFor(component, type.getType())) {
+            parsedValueHits.incrementAndGet();
+            return (T)cached.value;
+        }
+        parsedValueMisses.incrementAndGet();
+        try {
+            ValueCodec codec = Codecs.get(component.getCodec());
+            T value = unmodifiable(
+                    codec.decode(component.getValue(), type), type.getType());
+            parsedValues.put(componentName,
+                    new ParsedValue(component, type.getType(), value));
+            return value;
+        } catch (IOException e) {
+            logger.warn("Failed to parse value {} ", component);
+            logger.warn("Parse exception: {}", e);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Failed to parse value {} ", component);
+            logger.warn("Parse exception: {}", e);
         }
         return null;
     }
 
+    /**
+     * Wraps 'value' in an unmodifiable view if 'type' is one of the
+     * collection interfaces. Concrete types are returned as they are,
+     * since the view is not an instance of them.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T unmodifiable(T value, Type type) {
+        if (value == null) {
+            return null;
+        }
+        Type raw = type instanceof ParameterizedType ?
+                ((ParameterizedType)type).getRawType() : type;
+        if (raw == List.class) {
+            return (T)Collections.unmodifiableList((List<?>)value);
+        } else if (raw == Set.class) {
+            return (T)Collections.unmodifiableSet((Set<?>)value);
+        } else if (raw == Map.class) {
+            return (T)Collections.unmodifiableMap((Map<?, ?>)value);
+        } else if (raw == Collection.class) {
+            return (T)Collections.unmodifiableCollection(
+                    (Collection<?>)value);
+        }
+        return value;
+    }
+
+    /**
+     * Returns a JSON list as an unmodifiable view, which is shared between
+     * callers.
+     */
     public List<String> getList(String componentName) {
-        return getParsedData(componentName,
-                new TypeReference<List<String>>(){});
+        return getParsedData(componentName, Types.STRING_LIST);
+    }
+
+    /** The number of getParsedData() calls that were served from cache. */
+    public long getParsedValueHits() {
+        return parsedValueHits.get();
+    }
+
+    /** The number of getParsedData() calls that had to decode JSON. */
+    public long getParsedValueMisses() {
+        return parsedValueMisses.get();
     }
 
     public boolean updateFromObject(String componentName, Object data, long revision) {
@@ -176,26 +720,148 @@ public class State {
      * Pretty print a component.
      */
     public String show(String componentName) {
-        return componentName + ": " + state.get(componentName);
+        return componentName + ": " + getComponent(componentName);
     }
 
     /**
-     * Returns a list of all the components in this State.
+     * Returns a snapshot of all the components in this State.
      * 
-     * This method is thread-safe, and returns a deep copy.
+     * This method is thread-safe and runs in constant time. Later updates
+     * to this State are not visible in the returned snapshot.
      */
-    public synchronized List<Component> getComponents() {
-        ArrayList<Component> list = new ArrayList<Component>();
-        for (Component component : state.values()) {
-            list.add(new Component(component));
+    public Iterable<Component> getComponents() {
+        final Object[] maps = snapshot();
+        return new Iterable<Component>() {
+            @Override public Iterator<Component> iterator() {
+                return new ComponentIterator(maps);
+            }
+        };
+    }
+
+    /** Iterates over the components of the maps of a snapshot. */
+    private static class ComponentIterator implements Iterator<Component> {
+        private final Object[] maps;
+        private int shard = 0;
+        private Iterator<Component> current = null;
+
+        ComponentIterator(Object[] maps) {
+            this.maps = maps;
+        }
+
+        @Override public boolean hasNext() {
+            while (current == null || !current.hasNext()) {
+                if (shard >= maps.length) {
+                    return false;
+                }
+                current = asMap(maps[shard++]).values().iterator();
+            }
+            return true;
+        }
+
+        @Override public Component next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+
+        @Override public void remove() {
+            throw new UnsupportedOperationException();
         }
-        return list;
     }
 
+    /** Returns the component 'name' in the snapshot 'maps'. */
+    private static Component get(Object[] maps, String name) {
+        return asMap(maps[shardOf(name)]).get(name);
+    }
+
+    /**
+     * Returns the components whose names start with 'prefix', sorted by
+     * name. The running time is proportional to the number of matches.
+     */
+    public List<Component> getByPrefix(String prefix) {
+        Object[] current = snapshot();
+        List<Component> result = new ArrayList<Component>();
+        for (String name : names.tailMap(prefix).keySet()) {
+            if (!name.startsWith(prefix)) {
+                break;
+            }
+            Component component = get(current, name);
+            if (component != null) {
+                result.add(component);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the components with names in [from, to), sorted by name.
+     */
+    public List<Component> getRange(String from, String to) {
+        Object[] current = snapshot();
+        List<Component> result = new ArrayList<Component>();
+        for (String name : names.subMap(from, true, to, false).keySet()) {
+            Component component = get(current, name);
+            if (component != null) {
+                result.add(component);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns at most 'limit' components whose names start with 'prefix'
+     * and sort after 'startAfter', sorted by name. If 'startAfter' is null
+     * the scan starts at the first match.
+     */
+    public List<Component> scan(String prefix, String startAfter, int limit) {
+        Object[] current = snapshot();
+        List<Component> result = new ArrayList<Component>();
+        Map<String, String> tail = startAfter != null &&
+                startAfter.compareTo(prefix) >= 0 ?
+                        names.tailMap(startAfter, false) :
+                        names.tailMap(prefix);
+        for (String name : tail.keySet()) {
+            if (result.size() >= limit || !name.startsWith(prefix)) {
+                break;
+            }
+            Component component = get(current, name);
+            if (component != null) {
+                result.add(component);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the components with the given names from a single snapshot.
+     * Names that do not exist are skipped.
+     */
+    public List<Component> getComponents(Collection<String> componentNames) {
+        Object[] current = snapshot();
+        List<Component> result = new ArrayList<Component>(
+                componentNames.size());
+        for (String name : componentNames) {
+            Component component = get(current, name);
+            if (component != null) {
+                result.add(component);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * An immutable component.
+     * 
+     * The value is stored in the encoding of the codec identified by
+     * getCodec(). Components created from a String use the JSON codec.
+     */
     public static class Component {
-        private String name;
-        private long revision;
-        private String data;
+        private static final Charset UTF8 = Charset.forName("UTF-8");
+        private final String name;
+        private final long revision;
+        private final int codec;
+        private final byte[] value;
 
         /**
          * Copy constructor.
@@ -203,41 +869,60 @@ public class State {
         public Component(Component other) {
             this.name = other.name;
             this.revision = other.revision;
-            this.data = other.data;
+            this.codec = other.codec;
+            this.value = other.value;
         }
 
         public Component(String name, long revision, String data) {
+            this(name, revision, JsonCodec.ID, data.getBytes(UTF8));
+        }
+
+        /**
+         * @param value An encoded value. The array must not be modified
+         *      after it is passed to this constructor.
+         */
+        public Component(String name, long revision, int codec, byte[] value) {
             this.name = name;
             this.revision = revision;
-            this.data = data;
+            this.codec = codec;
+            this.value = value;
         }
 
         public long getRevision() {
             return revision;
         }
 
-        public void setRevision(long revision) {
-            this.revision = revision;
+        /**
+         * Returns the JSON text of this component, or null if the component
+         * uses a different codec.
+         */
+        public String getData() {
+            if (codec != JsonCodec.ID) {
+                return null;
+            }
+            return new String(value, UTF8);
         }
 
-        public String getData() {
-            return data;
+        public int getCodec() {
+            return codec;
         }
 
-        public void setData(String data) {
-            this.data = data;
-        }       
+        /**
+         * Returns the encoded value. The array is shared and must not be
+         * modified.
+         */
+        public byte[] getValue() {
+            return value;
+        }
 
         public String getName() {
             return name;
         }
 
-        public void setName(String name) {
-            this.name = name;
-        }
-
         @Override public String toString() {
-            return "[" + this.name + ": " + this.data + "@" + revision + "]";
+            String data = codec == JsonCodec.ID ? getData() :
+                    "<codec " + codec + ", " + value.length + " bytes>";
+            return "[" + this.name + ": " + data + "@" + revision + "]";
         }
 
         @Override public boolean equals(Object other) {
@@ -245,8 +930,12 @@ public class State {
                 return false;
             }
             Component o = (Component)other;
-            return name.equals(o.name) && data.equals(o.data) &&
-                    revision == o.revision;
+            return name.equals(o.name) && codec == o.codec &&
+                    Arrays.equals(value, o.value) && revision == o.revision;
+        }
+
+        @Override public int hashCode() {
+            return name.hashCode() * 31 + (int)revision;
         }
     }
 
@@ -264,7 +953,21 @@ public class State {
         if (!(other instanceof State)) {
             return false;
         }
-        State o = (State)other;
-        return state.equals(o.state);
+        Object[] components = snapshot();
+        Object[] otherComponents = ((State)other).snapshot();
+        for (int i = 0; i < SHARDS; i++) {
+            PersistentHashMap<String, Component> shard = asMap(components[i]);
+            PersistentHashMap<String, Component> otherShard =
+                    asMap(otherComponents[i]);
+            if (shard.size() != otherShard.size()) {
+                return false;
+            }
+            for (Component c : shard.values()) {
+                if (!c.equals(otherShard.get(c.getName()))) {
+                    return false;
+                }
+            }
+        }
+        return true;
     }
 }
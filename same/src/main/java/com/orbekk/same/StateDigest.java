@@ -0,0 +1,110 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import com.orbekk.same.State.Component;
+
+/**
+ * Summaries of a State that let two participants find out which parts of
+ * their states differ without exchanging them.
+ * 
+ * Components are hashed into buckets by name. A bucket's digest is the
+ * sum of a hash of each (name, revision) pair in it, so it does not
+ * depend on the order of the components, and two buckets with the same
+ * digest almost certainly hold the same versions.
+ */
+public class StateDigest {
+    public static final int DEFAULT_BUCKETS = 1024;
+
+    public static int bucketOf(String componentName, int buckets) {
+        return (ShardMap.hash(componentName) & Integer.MAX_VALUE) % buckets;
+    }
+
+    /** The finalizer from MurmurHash3, for 64-bit values. */
+    private static long mix(String componentName, long revision) {
+        long h = ((long)componentName.hashCode() << 32) ^ revision;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    public static Services.StateSummary summarize(State state, int buckets) {
+        long[] maxRevisions = new long[buckets];
+        long[] digests = new long[buckets];
+        for (Component component : state.getComponents()) {
+            int bucket = bucketOf(component.getName(), buckets);
+            maxRevisions[bucket] = Math.max(maxRevisions[bucket],
+                    component.getRevision());
+            digests[bucket] += mix(component.getName(),
+                    component.getRevision());
+        }
+        Services.StateSummary.Builder summary =
+                Services.StateSummary.newBuilder().setNumBuckets(buckets);
+        for (int i = 0; i < buckets; i++) {
+            summary.addMaxRevision(maxRevisions[i]);
+            summary.addDigest(digests[i]);
+        }
+        return summary.build();
+    }
+
+    /**
+     * Returns the buckets whose digests differ. The summaries must have
+     * the same number of buckets.
+     */
+    public static List<Integer> differentBuckets(Services.StateSummary a,
+            Services.StateSummary b) {
+        if (a.getNumBuckets() != b.getNumBuckets()) {
+            throw new IllegalArgumentException("Bucket counts differ.");
+        }
+        List<Integer> buckets = new ArrayList<Integer>();
+        for (int i = 0; i < a.getNumBuckets(); i++) {
+            if (a.getDigest(i) != b.getDigest(i)) {
+                buckets.add(i);
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * Returns the components of 'state' in each bucket, or null for
+     * buckets that are not in 'selected'.
+     */
+    public static List<List<Component>> getBuckets(State state, int buckets,
+            Collection<Integer> selected) {
+        List<List<Component>> result = new ArrayList<List<Component>>(buckets);
+        for (int i = 0; i < buckets; i++) {
+            result.add(null);
+        }
+        for (int bucket : selected) {
+            result.set(bucket, new ArrayList<Component>());
+        }
+        for (Component component : state.getComponents()) {
+            List<Component> bucket = result.get(
+                    bucketOf(component.getName(), buckets));
+            if (bucket != null) {
+                bucket.add(component);
+            }
+        }
+        return result;
+    }
+}
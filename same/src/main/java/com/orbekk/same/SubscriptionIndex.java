@@ -0,0 +1,220 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.orbekk.same.Services.Subscription;
+
+/**
+ * The components each subscribed participant is interested in.
+ * 
+ * A participant subscribes to component ids and id prefixes. Looking up
+ * the subscribers of a component costs one hash lookup per character of
+ * its id plus the number of subscribers, independent of the number of
+ * participants. Participants that have not subscribed are not in the
+ * index and should receive every update. System components, whose ids
+ * start with '.', are sent to every participant.
+ * 
+ * Lookups are thread-safe and do not block changes.
+ */
+public class SubscriptionIndex {
+    /** A participant's subscription. */
+    private static class Interest {
+        final Set<String> ids;
+        final Set<String> prefixes;
+
+        Interest(Subscription subscription) {
+            ids = new HashSet<String>(subscription.getIdList());
+            prefixes = new HashSet<String>(subscription.getPrefixList());
+        }
+
+        boolean matches(String name) {
+            if (ids.contains(name)) {
+                return true;
+            }
+            for (String prefix : prefixes) {
+                if (name.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private final ConcurrentMap<String, Interest> interests =
+            new ConcurrentHashMap<String, Interest>();
+    private final ConcurrentMap<String, Set<String>> byId =
+            new ConcurrentHashMap<String, Set<String>>();
+    private final ConcurrentMap<String, Set<String>> byPrefix =
+            new ConcurrentHashMap<String, Set<String>>();
+    private final AtomicLong version = new AtomicLong(0);
+
+    public static boolean isSystemComponent(String name) {
+        return name.startsWith(".");
+    }
+
+    /**
+     * Replaces the subscription of 'location'.
+     * 
+     * @return the components in 'state' that 'location' is subscribed to
+     *      now but was not before.
+     */
+    public synchronized List<State.Component> subscribe(String location,
+            Subscription subscription, State state) {
+        Interest old = interests.get(location);
+        Interest interest = new Interest(subscription);
+        remove(location);
+        for (String id : interest.ids) {
+            add(byId, id, location);
+        }
+        for (String prefix : interest.prefixes) {
+            add(byPrefix, prefix, location);
+        }
+        interests.put(location, interest);
+        version.incrementAndGet();
+
+        List<State.Component> added = new ArrayList<State.Component>();
+        for (State.Component component : state.getComponents(interest.ids)) {
+            if (old == null || !old.matches(component.getName())) {
+                added.add(component);
+            }
+        }
+        for (String prefix : interest.prefixes) {
+            for (State.Component component : state.getByPrefix(prefix)) {
+                if (!interest.ids.contains(component.getName()) &&
+                        (old == null || !old.matches(component.getName()))) {
+                    added.add(component);
+                }
+            }
+        }
+        return added;
+    }
+
+    /** Removes the subscription of 'location'. */
+    public synchronized void remove(String location) {
+        Interest interest = interests.remove(location);
+        if (interest == null) {
+            return;
+        }
+        for (String id : interest.ids) {
+            remove(byId, id, location);
+        }
+        for (String prefix : interest.prefixes) {
+            remove(byPrefix, prefix, location);
+        }
+        version.incrementAndGet();
+    }
+
+    public synchronized void clear() {
+        interests.clear();
+        byId.clear();
+        byPrefix.clear();
+        version.incrementAndGet();
+    }
+
+    private static void add(ConcurrentMap<String, Set<String>> index,
+            String key, String location) {
+        Set<String> locations = index.get(key);
+        if (locations == null) {
+            locations = Collections.newSetFromMap(
+                    new ConcurrentHashMap<String, Boolean>());
+            index.put(key, locations);
+        }
+        locations.add(location);
+    }
+
+    private static void remove(ConcurrentMap<String, Set<String>> index,
+            String key, String location) {
+        Set<String> locations = index.get(key);
+        if (locations != null) {
+            locations.remove(location);
+            if (locations.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    /** Returns true if 'location' has a subscription. */
+    public boolean isSubscribed(String location) {
+        return interests.containsKey(location);
+    }
+
+    public boolean isEmpty() {
+        return interests.isEmpty();
+    }
+
+    /** Returns the participants that have a subscription. */
+    public Set<String> getLocations() {
+        return interests.keySet();
+    }
+
+    /** Returns true if 'location' should receive 'name'. */
+    public boolean matches(String location, String name) {
+        Interest interest = interests.get(location);
+        return interest == null || isSystemComponent(name) ||
+                interest.matches(name);
+    }
+
+    /**
+     * Returns the subscribed participants that should receive 'name'.
+     * Participants without a subscription are not included.
+     */
+    public Collection<String> getSubscribers(String name) {
+        if (isSystemComponent(name)) {
+            return new ArrayList<String>(interests.keySet());
+        }
+        Set<String> result = new HashSet<String>();
+        Set<String> exact = byId.get(name);
+        if (exact != null) {
+            result.addAll(exact);
+        }
+        if (!byPrefix.isEmpty()) {
+            for (int i = 0; i <= name.length(); i++) {
+                Set<String> locations = byPrefix.get(name.substring(0, i));
+                if (locations != null) {
+                    result.addAll(locations);
+                }
+            }
+        }
+        return result;
+    }
+
+    /** Returns the components that 'location' should receive. */
+    public List<State.Component> filter(String location,
+            Iterable<State.Component> components) {
+        List<State.Component> result = new ArrayList<State.Component>();
+        for (State.Component component : components) {
+            if (matches(location, component.getName())) {
+                result.add(component);
+            }
+        }
+        return result;
+    }
+
+    /** Changes every time a subscription changes. */
+    public long getVersion() {
+        return version.get();
+    }
+}
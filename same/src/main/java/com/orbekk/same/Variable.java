@@ -22,13 +22,27 @@ public interface Variable<T> {
         /**
          * A notification that 'variable' has been changed.
          * 
-         * The user must run variable.update() to get the updated value.
+         * The user must run variable.update() to get the updated value,
+         * unless the variable refreshes itself on changes (see
+         * VariableFactory.setRefreshOnChange()).
          */
         void valueChanged(Variable<T> variable);
     }
 
+    /**
+     * Returns the value from the last update. The value is shared by all
+     * callers and threads, and must not be modified. To change it, modify
+     * a copy and pass the copy to set(). A modified value would remain
+     * until the component changes, even if set() fails.
+     */
     T get();
     DelayedOperation set(T value);
+    /** Applies 'operation' to the value on the master. */
+    DelayedOperation apply(Operation operation);
+    /**
+     * Reads the current value from the state. The value is only decoded
+     * if the component has changed since the last update.
+     */
     void update();
     void addOnChangeListener(OnChangeListener<T> listener);
     void removeOnChangeListener(OnChangeListener<T> listener);
@@ -17,15 +17,25 @@ package com.orbekk.same;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
 
-import org.codehaus.jackson.JsonGenerationException;
-import org.codehaus.jackson.map.JsonMappingException;
-import org.codehaus.jackson.map.ObjectMapper;
 import org.codehaus.jackson.type.TypeReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.orbekk.same.State.Component;
+import com.orbekk.same.codec.Codecs;
+import com.orbekk.same.codec.ValueCodec;
+import com.orbekk.same.crdt.Crdt;
+import com.orbekk.same.crdt.CrdtType;
+import com.orbekk.same.crdt.Crdts;
+import com.orbekk.same.crdt.GCounter;
+import com.orbekk.same.crdt.LwwMap;
+import com.orbekk.same.crdt.LwwRegister;
+import com.orbekk.same.crdt.ORSet;
+import com.orbekk.same.crdt.PNCounter;
 import com.orbekk.util.DelayedOperation;
 
 /**
@@ -34,52 +44,115 @@ import com.orbekk.util.DelayedOperation;
 public class VariableFactory {
     private Logger logger = LoggerFactory.getLogger(getClass());
     private ClientInterface client;
-    private ObjectMapper mapper = new ObjectMapper();
+    private final boolean subscribe;
+    private volatile boolean refreshOnChange = false;
+
+    /** A decoded value and the revision it was decoded from. */
+    private static class Cached<T> {
+        final long revision;
+        final T value;
+
+        Cached(long revision, T value) {
+            this.revision = revision;
+            this.value = value;
+        }
+    }
 
     private class VariableImpl<T> implements Variable<T>, StateChangedListener {
         String identifier;
         TypeReference<T> type;
-        T value;
-        long revision = 0;
+        ValueCodec codec;
+        final boolean refreshOnChange;
+        /** Never matches a component, so the first update decodes. */
+        volatile Cached<T> cached = new Cached<T>(-1, null);
         ArrayList<OnChangeListener<T>> listeners =
                 new ArrayList<OnChangeListener<T>>();
 
-        public VariableImpl(String identifier, TypeReference<T> type) {
+        public VariableImpl(String identifier, TypeReference<T> type,
+                ValueCodec codec, boolean refreshOnChange) {
             this.identifier = identifier;
             this.type = type;
+            this.codec = codec;
+            this.refreshOnChange = refreshOnChange;
         }
 
         @Override
         public T get() {
-            return value;
+            return cached.value;
         }
 
         @Override
         public DelayedOperation set(T value) {
+            return client.set(createUpdate(value));
+        }
+
+        @Override
+        public DelayedOperation apply(Operation operation) {
+            return client.apply(identifier, operation);
+        }
+
+        /** Returns an update to 'value' based on the current revision. */
+        State.Component createUpdate(T value) {
             try {
-                String serializedValue = mapper.writeValueAsString(value);
-                State.Component update = new State.Component(identifier,
-                        revision, serializedValue);
-                return client.set(update);
-            } catch (JsonGenerationException e) {
-                logger.warn("Failed to convert to JSON: {}", value);
-                logger.warn("Parse exception.", e);
-                throw new RuntimeException(e);
-            } catch (JsonMappingException e) {
-                logger.warn("Failed to convert to JSON: {}", value);
-                logger.warn("Parse exception.", e);
-                throw new RuntimeException(e);
+                byte[] serializedValue = codec.encode(value);
+                return new State.Component(identifier, cached.revision,
+                        codec.getId(), serializedValue);
             } catch (IOException e) {
-                logger.warn("Failed to cornvert to JSON: {}", value);
-                logger.warn("Parse exception.", e);
+                logger.warn("Failed to encode value: {}", value);
+                logger.warn("Encode exception.", e);
                 throw new RuntimeException(e);
             }
         }
 
         @Override
         public void update() {
-            value = client.getState().getParsedData(identifier, type);
-            revision = client.getState().getRevision(identifier);
+            refresh(client.getState().getComponent(identifier));
+        }
+
+        /**
+         * Decodes 'component' if it is newer than the cached value. The
+         * value and revision come from the same component, so the next
+         * set() is based on the revision of the value.
+         * 
+         * Listeners and update() may run on several threads, so an older
+         * component can arrive after a newer one. It is ignored.
+         */
+        void refresh(Component component) {
+            if (component == null) {
+                // Components are only missing before they are created, or
+                // after the state has been cleared.
+                if (cached.revision != 0) {
+                    synchronized (this) {
+                        cached = new Cached<T>(0, decode(null));
+                    }
+                }
+                return;
+            }
+            long revision = component.getRevision();
+            if (revision <= cached.revision) {
+                return;
+            }
+            synchronized (this) {
+                if (revision > cached.revision) {
+                    cached = new Cached<T>(revision, decode(component));
+                }
+            }
+        }
+
+        /** Returns the value of 'component', which may be null. */
+        T decode(Component component) {
+            if (component == null) {
+                return null;
+            }
+            try {
+                return Codecs.get(component.getCodec())
+                        .decode(component.getValue(), type);
+            } catch (IOException e) {
+                logger.warn("Failed to decode {}: {}", identifier, e);
+            } catch (IllegalArgumentException e) {
+                logger.warn("Failed to decode {}: {}", identifier, e);
+            }
+            return null;
         }
 
         @Override
@@ -95,6 +168,9 @@ public class VariableFactory {
         @Override
         public synchronized void stateChanged(Component component) {
             if (component.getName().equals(identifier)) {
+                if (refreshOnChange) {
+                    refresh(component);
+                }
                 for (OnChangeListener<T> listener : listeners) {
                     listener.valueChanged(this);
                 }
@@ -102,16 +178,186 @@ public class VariableFactory {
         }
     }
 
+    /** A delta that has been sent to the master. */
+    private static class PendingDelta<T> {
+        final T delta;
+        final DelayedOperation op;
+
+        PendingDelta(T delta, DelayedOperation op) {
+            this.delta = delta;
+            this.op = op;
+        }
+
+        /**
+         * Returns true if the delta failed, or if a component with
+         * 'revision' includes it.
+         */
+        boolean isCoveredBy(long revision) {
+            if (!op.isDone()) {
+                return false;
+            }
+            return !op.getStatus().isOk() || op.getRevision() <= revision;
+        }
+    }
+
+    private class MergeableVariableImpl<T extends Crdt<T>>
+            extends VariableImpl<T> implements MergeableVariable<T> {
+        private final CrdtType<?> crdtType;
+        private final String replicaId = UUID.randomUUID().toString();
+        /**
+         * The deltas merged through this variable that may not be in the
+         * component yet. Guarded by this.
+         */
+        private final List<PendingDelta<T>> pending =
+                new ArrayList<PendingDelta<T>>();
+        /** The value of the component without the pending deltas. */
+        private T confirmed = null;
+
+        public MergeableVariableImpl(String identifier, TypeReference<T> type,
+                CrdtType<?> crdtType, boolean refreshOnChange) {
+            super(identifier, type, Codecs.JSON, refreshOnChange);
+            this.crdtType = crdtType;
+        }
+
+        @Override
+        public String getReplicaId() {
+            return replicaId;
+        }
+
+        @Override
+        public DelayedOperation set(T value) {
+            return merge(value);
+        }
+
+        @Override
+        public DelayedOperation merge(T delta) {
+            DelayedOperation op = client.merge(createUpdate(delta),
+                    crdtType.getName());
+            synchronized (this) {
+                pending.add(new PendingDelta<T>(delta, op));
+                // Other threads may be reading the published value, so it
+                // is replaced rather than merged into.
+                cached = new Cached<T>(cached.revision,
+                        withPending(confirmed, cached.revision));
+            }
+            return op;
+        }
+
+        @Override
+        synchronized T decode(Component component) {
+            confirmed = super.decode(component);
+            return withPending(confirmed,
+                    component == null ? 0 : component.getRevision());
+        }
+
+        /**
+         * Returns a copy of 'value' with the pending deltas merged in.
+         * Deltas that failed, or that are in the component at 'revision',
+         * are dropped.
+         */
+        private T withPending(T value, long revision) {
+            T merged = empty();
+            if (value != null) {
+                merged.merge(value);
+            }
+            Iterator<PendingDelta<T>> it = pending.iterator();
+            while (it.hasNext()) {
+                PendingDelta<T> delta = it.next();
+                if (delta.isCoveredBy(revision)) {
+                    it.remove();
+                } else {
+                    // The master has not sent the delta back yet.
+                    merged.merge(delta.delta);
+                }
+            }
+            return merged;
+        }
+
+        private T empty() {
+            try {
+                return codec.decode("{}".getBytes("UTF-8"), type);
+            } catch (IOException e) {
+                throw new IllegalStateException(
+                        "Failed to create " + crdtType, e);
+            }
+        }
+    }
+
+    /**
+     * Updates several variables atomically. Each update is based on the
+     * revision of the variable when it was last updated, and the
+     * transaction fails with a conflict if any of them has changed since.
+     */
+    public class Transaction {
+        private final List<Component> updates = new ArrayList<Component>();
+
+        private Transaction() {
+        }
+
+        /**
+         * Sets 'variable' to 'value' when the transaction is committed.
+         * 'variable' must have been created by this VariableFactory.
+         */
+        public <T> Transaction set(Variable<T> variable, T value) {
+            if (!(variable instanceof VariableImpl)) {
+                throw new IllegalArgumentException(
+                        "Variable is not from this VariableFactory.");
+            }
+            updates.add(((VariableImpl<T>)variable).createUpdate(value));
+            return this;
+        }
+
+        public DelayedOperation commit() {
+            return client.setAll(updates);
+        }
+    }
+
     public static VariableFactory create(ClientInterface client) {
-        return new VariableFactory(client);
+        return new VariableFactory(client, false);
+    }
+
+    /**
+     * Returns a VariableFactory that subscribes to the component of every
+     * variable it creates, so that the client only receives the
+     * components it has variables for.
+     */
+    public static VariableFactory createSubscribing(ClientInterface client) {
+        return new VariableFactory(client, true);
     }
 
     VariableFactory(ClientInterface client) {
+        this(client, false);
+    }
+
+    VariableFactory(ClientInterface client, boolean subscribe) {
         this.client = client;
+        this.subscribe = subscribe;
+    }
+
+    /**
+     * If set, variables created afterwards decode each new value of their
+     * component when it is received, so that get() returns the current
+     * value without calling update(). Values are then decoded even if they
+     * are never read.
+     */
+    public void setRefreshOnChange(boolean refreshOnChange) {
+        this.refreshOnChange = refreshOnChange;
     }
 
     public <T> Variable<T> create(String identifier, TypeReference<T> type) {
-        VariableImpl<T> variable = new VariableImpl<T>(identifier, type);
+        return create(identifier, type, Codecs.JSON);
+    }
+
+    /**
+     * Creates a variable whose value is encoded with 'codec'.
+     */
+    public <T> Variable<T> create(String identifier, TypeReference<T> type,
+            ValueCodec codec) {
+        if (subscribe) {
+            client.subscribe(identifier);
+        }
+        VariableImpl<T> variable = new VariableImpl<T>(identifier, type, codec,
+                refreshOnChange);
         variable.update();
         client.addStateListener(variable);
         return variable;
@@ -120,4 +366,50 @@ public class VariableFactory {
     public Variable<String> createString(String identifier) {
         return create(identifier, new TypeReference<String>() {});
     }
+
+    /**
+     * Creates a variable whose updates are merged by the master as
+     * 'crdtType'. 'type' must be a type the master merges as 'crdtType'.
+     */
+    public <T extends Crdt<T>> MergeableVariable<T> createMergeable(
+            String identifier, TypeReference<T> type, CrdtType<?> crdtType) {
+        if (subscribe) {
+            client.subscribe(identifier);
+        }
+        MergeableVariableImpl<T> variable = new MergeableVariableImpl<T>(
+                identifier, type, crdtType, refreshOnChange);
+        variable.update();
+        client.addStateListener(variable);
+        return variable;
+    }
+
+    /** Creates a counter that can only be incremented. */
+    public MergeableVariable<GCounter> createGCounter(String identifier) {
+        return createMergeable(identifier, new TypeReference<GCounter>() {},
+                Crdts.G_COUNTER);
+    }
+
+    public MergeableVariable<PNCounter> createCounter(String identifier) {
+        return createMergeable(identifier, new TypeReference<PNCounter>() {},
+                Crdts.PN_COUNTER);
+    }
+
+    public <E> MergeableVariable<ORSet<E>> createSet(String identifier,
+            TypeReference<ORSet<E>> type) {
+        return createMergeable(identifier, type, Crdts.OR_SET);
+    }
+
+    public <T> MergeableVariable<LwwRegister<T>> createRegister(
+            String identifier, TypeReference<LwwRegister<T>> type) {
+        return createMergeable(identifier, type, Crdts.LWW_REGISTER);
+    }
+
+    public <V> MergeableVariable<LwwMap<V>> createMap(String identifier,
+            TypeReference<LwwMap<V>> type) {
+        return createMergeable(identifier, type, Crdts.LWW_MAP);
+    }
+
+    public Transaction newTransaction() {
+        return new Transaction();
+    }
 }
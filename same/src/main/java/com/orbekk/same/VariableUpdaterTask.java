@@ -52,6 +52,12 @@ public class VariableUpdaterTask<T> extends Thread
                 // in order to overwrite it.
                 hasNewValue.countDown();
                 return;
+            } else if (op.getStatus().isOverloaded()) {
+                try {
+                    Thread.sleep(op.getStatus().getRetryAfterMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
             } else if (op.getStatus().isError()) {
                 // Error during update. Just retry.
                 logger.info("Error updating value. Status: " + op.getStatus());
@@ -0,0 +1,239 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import com.google.protobuf.RpcCallback;
+import com.orbekk.same.Client;
+import com.orbekk.same.ConnectionState;
+import com.orbekk.same.Master;
+import com.orbekk.same.RpcFactory;
+import com.orbekk.same.Services;
+import com.orbekk.same.State;
+import com.orbekk.same.config.Configuration;
+
+/**
+ * Measures the update latency of well-behaved participants while another
+ * participant floods the master with updates.
+ * 
+ * The flooding participant sends updates from many threads and ignores
+ * retry-after hints; a rejected thread resends after a network round
+ * trip. The others send one update at a time. Every update is sent to the
+ * participants of the network.
+ */
+public class AdmissionBenchmark {
+    private static final int PARTICIPANTS = 10;
+    private static final int FLOOD_THREADS = 128;
+    private static final int WRITERS = 4;
+    private static final long DURATION_MILLIS = 3000;
+
+    private static final long ROUND_TRIP_NANOS = 200 * 1000;
+
+    private enum Mode { NONE, FAIR_QUEUE, FAIR_QUEUE_AND_RATE_LIMIT }
+
+    private volatile boolean running = true;
+    private final AtomicLong floodAccepted = new AtomicLong(0);
+    private final AtomicLong floodRejected = new AtomicLong(0);
+
+    private static Services.Component request(String id, String origin) {
+        return Services.Component.newBuilder()
+                .setId(id)
+                .setRevision(0)
+                .setData("\"value\"")
+                .setOrigin(origin)
+                .build();
+    }
+
+    /**
+     * Sends 'request' and waits for the response. The master may answer
+     * from another thread if the update waited for admission.
+     */
+    private static Services.UpdateComponentResponse send(
+            Services.Master master, RpcFactory rpcf,
+            Services.Component request) throws InterruptedException {
+        final CountDownLatch answered = new CountDownLatch(1);
+        final List<Services.UpdateComponentResponse> response =
+                new ArrayList<Services.UpdateComponentResponse>(1);
+        master.updateStateRequest(rpcf.create(), request,
+                new RpcCallback<Services.UpdateComponentResponse>() {
+            @Override public void run(
+                    Services.UpdateComponentResponse result) {
+                response.add(result);
+                answered.countDown();
+            }
+        });
+        answered.await();
+        return response.get(0);
+    }
+
+    private class Flooder implements Runnable {
+        private final Services.Master master;
+        private final RpcFactory rpcf;
+        private final int id;
+
+        public Flooder(Services.Master master, RpcFactory rpcf, int id) {
+            this.master = master;
+            this.rpcf = rpcf;
+            this.id = id;
+        }
+
+        @Override public void run() {
+            try {
+                for (int i = 0; running; i++) {
+                    Services.UpdateComponentResponse response = send(master,
+                            rpcf, request("flood/" + id + "/" + i,
+                                    "flooder:1"));
+                    if (response != null && response.hasRetryAfterMillis()) {
+                        floodRejected.incrementAndGet();
+                        LockSupport.parkNanos(ROUND_TRIP_NANOS);
+                    } else {
+                        floodAccepted.incrementAndGet();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private class Writer implements Runnable {
+        private final Services.Master master;
+        private final RpcFactory rpcf;
+        private final int id;
+        final List<Long> latencies = new ArrayList<Long>();
+
+        public Writer(Services.Master master, RpcFactory rpcf, int id) {
+            this.master = master;
+            this.rpcf = rpcf;
+            this.id = id;
+        }
+
+        @Override public void run() {
+            String origin = "writer" + id + ":1";
+            try {
+                for (int i = 0; running; i++) {
+                    long start = System.nanoTime();
+                    send(master, rpcf, request(origin + "/" + i, origin));
+                    latencies.add(System.nanoTime() - start);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public void run(Mode mode, int maxConcurrent) throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty("maxConcurrentUpdates", Integer.toString(
+                mode == Mode.NONE ? 0 : maxConcurrent));
+        properties.setProperty("maxUpdatesPerSecond",
+                mode == Mode.FAIR_QUEUE_AND_RATE_LIMIT ? "5000" : "0");
+
+        SimulatedNetwork network = new SimulatedNetwork(100, 64);
+        RpcFactory rpcf = new RpcFactory(60000);
+        List<String> locations = new ArrayList<String>();
+        List<Client> clients = new ArrayList<Client>();
+        for (int i = 0; i < PARTICIPANTS; i++) {
+            String location = "client" + i + ":1";
+            Client client = new Client(new State(), network,
+                    "http://" + location, location, rpcf);
+            network.addClient(location, client.getNewService());
+            clients.add(client);
+            locations.add(location);
+        }
+        State initialState = new State();
+        initialState.updateFromObject(State.PARTICIPANTS, locations, 2);
+        Master master = Master.create(network, "http://master",
+                "Benchmark", "master:1", rpcf, new Configuration(properties));
+        master.resumeFrom(initialState, 1);
+        for (Client client : clients) {
+            while (client.getConnectionState() != ConnectionState.STABLE) {
+                Thread.sleep(1);
+            }
+        }
+        network.awaitIdle();
+        master.start();
+
+        running = true;
+        floodAccepted.set(0);
+        floodRejected.set(0);
+        Services.Master service = master.getNewService();
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int i = 0; i < FLOOD_THREADS; i++) {
+            threads.add(new Thread(new Flooder(service, rpcf, i)));
+        }
+        List<Writer> writers = new ArrayList<Writer>();
+        for (int i = 0; i < WRITERS; i++) {
+            Writer writer = new Writer(service, rpcf, i);
+            writers.add(writer);
+            threads.add(new Thread(writer));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        Thread.sleep(DURATION_MILLIS);
+        running = false;
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        network.awaitIdle();
+        master.interrupt();
+        for (Client client : clients) {
+            client.interrupt();
+        }
+
+        List<Long> latencies = new ArrayList<Long>();
+        for (Writer writer : writers) {
+            latencies.addAll(writer.latencies);
+        }
+        Collections.sort(latencies);
+        double seconds = DURATION_MILLIS / 1000.0;
+        System.out.println(String.format(
+                "%-26s %3s slots, writers: %5.0f updates/s, median %6.2f ms, " +
+                "p99 %6.2f ms; flooder: %6.0f accepted/s, %7.0f rejected/s",
+                mode.toString().toLowerCase() + ":",
+                mode == Mode.NONE ? "all" : String.valueOf(maxConcurrent),
+                latencies.size() / seconds,
+                latencies.get(latencies.size() / 2) / 1e6,
+                latencies.get((int)(latencies.size() * 0.99)) / 1e6,
+                floodAccepted.get() / seconds,
+                floodRejected.get() / seconds));
+        for (String stats : master.getAdmissionStats()) {
+            if (stats.contains("flooder") || stats.contains("writer0")) {
+                System.out.println("    " + stats);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        AdmissionBenchmark benchmark = new AdmissionBenchmark();
+        benchmark.run(Mode.NONE, 0);  // Warmup.
+        benchmark.run(Mode.NONE, 0);
+        int[] slotCounts = { 16, 64, 256 };
+        for (int slots : slotCounts) {
+            benchmark.run(Mode.FAIR_QUEUE, slots);
+            benchmark.run(Mode.FAIR_QUEUE_AND_RATE_LIMIT, slots);
+        }
+        System.exit(0);
+    }
+}
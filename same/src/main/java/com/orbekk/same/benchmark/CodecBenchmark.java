@@ -0,0 +1,123 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.codehaus.jackson.map.ObjectMapper;
+import org.codehaus.jackson.type.TypeReference;
+
+import com.orbekk.same.Services;
+import com.orbekk.same.ServicesPbConversion;
+import com.orbekk.same.State;
+import com.orbekk.same.codec.Codecs;
+import com.orbekk.same.codec.ValueCodec;
+
+/**
+ * Compares the size on the wire and the encode/decode cost of the value
+ * codecs against the old JSON string path.
+ */
+public class CodecBenchmark {
+    private static final TypeReference<Map<String, Object>> type =
+            new TypeReference<Map<String, Object>>() {};
+    private final int iterations;
+    private final Map<String, Object> value;
+
+    public CodecBenchmark(int iterations, Map<String, Object> value) {
+        this.iterations = iterations;
+        this.value = value;
+    }
+
+    /** Game-like state: a few positions and a score list. */
+    public static Map<String, Object> sampleValue() {
+        Map<String, Object> value = new LinkedHashMap<String, Object>();
+        for (int i = 0; i < 8; i++) {
+            Map<String, Object> player = new LinkedHashMap<String, Object>();
+            player.put("x", 0.25 * i);
+            player.put("y", 100.5 - i);
+            player.put("score", 1000 * i);
+            player.put("alive", i % 2 == 0);
+            value.put("player" + i, player);
+        }
+        List<Integer> history = new ArrayList<Integer>();
+        for (int i = 0; i < 32; i++) {
+            history.add(i * i);
+        }
+        value.put("history", history);
+        return value;
+    }
+
+    private void report(String name, int bytes, long encodeNanos,
+            long decodeNanos) {
+        System.out.println(String.format(
+                "%-12s %6d bytes on wire, encode %6d ns/op, decode %6d ns/op",
+                name, bytes, encodeNanos / iterations, decodeNanos / iterations));
+    }
+
+    /** The path used before codecs: JSON strings in Component.data. */
+    public void benchmarkJsonString() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        Services.Component pb = null;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            String data = mapper.writeValueAsString(value);
+            pb = Services.Component.newBuilder()
+                    .setId("x").setRevision(i).setData(data).build();
+        }
+        long encodeNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            mapper.readValue(pb.getData(), type);
+        }
+        long decodeNanos = System.nanoTime() - start;
+        report("json-string", pb.getSerializedSize(), encodeNanos, decodeNanos);
+    }
+
+    public void benchmarkCodec(String name, ValueCodec codec)
+            throws IOException {
+        Services.Component pb = null;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            State.Component component = new State.Component("x", i,
+                    codec.getId(), codec.encode(value));
+            pb = ServicesPbConversion.componentToPb(component);
+        }
+        long encodeNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            State.Component component = ServicesPbConversion.componentFromPb(pb);
+            codec.decode(component.getValue(), type);
+        }
+        long decodeNanos = System.nanoTime() - start;
+        report(name, pb.getSerializedSize(), encodeNanos, decodeNanos);
+    }
+
+    public void benchmark() throws IOException {
+        benchmarkJsonString();
+        benchmarkCodec("json", Codecs.JSON);
+        benchmarkCodec("compact", Codecs.COMPACT);
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, Object> value = sampleValue();
+        new CodecBenchmark(20000, value).benchmark();  // Warmup.
+        new CodecBenchmark(100000, value).benchmark();
+    }
+}
@@ -0,0 +1,188 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.protobuf.RpcCallback;
+import com.orbekk.same.Client;
+import com.orbekk.same.Master;
+import com.orbekk.same.RpcFactory;
+import com.orbekk.same.Services;
+import com.orbekk.same.State;
+import com.orbekk.same.config.Configuration;
+import com.orbekk.same.storage.StateStorage;
+
+/**
+ * Measures commit throughput and latency of Master.updateStateRequest, in
+ * memory and with the updates logged to disk.
+ * 
+ * Writers call the master service directly, like the RPC server threads
+ * do. Every accepted update is sent to the clients through a
+ * SimulatedNetwork, which counts the RPCs. Throughput includes delivering
+ * the updates to the clients. Latency is the time until the master
+ * responds. Concurrent writers share fsyncs and sends, which the RPCs and
+ * fsyncs per update show.
+ */
+public class CommitBenchmark {
+    private static final int CLIENTS = 10;
+    private final int updatesPerWriter;
+
+    public CommitBenchmark(int updatesPerWriter) {
+        this.updatesPerWriter = updatesPerWriter;
+    }
+
+    private class Writer implements Runnable {
+        private final Services.Master master;
+        private final RpcFactory rpcf;
+        private final int id;
+        private final long[] latencies;
+        private final CountDownLatch finished;
+
+        public Writer(Services.Master master, RpcFactory rpcf, int id,
+                long[] latencies, CountDownLatch finished) {
+            this.master = master;
+            this.rpcf = rpcf;
+            this.id = id;
+            this.latencies = latencies;
+            this.finished = finished;
+        }
+
+        @Override public void run() {
+            RpcCallback<Services.UpdateComponentResponse> done =
+                    new RpcCallback<Services.UpdateComponentResponse>() {
+                @Override public void run(
+                        Services.UpdateComponentResponse response) {
+                }
+            };
+            for (int i = 0; i < updatesPerWriter; i++) {
+                Services.Component request = Services.Component.newBuilder()
+                        .setId("writer" + id + "/" + i)
+                        .setRevision(0)
+                        .setData("\"value\"")
+                        .build();
+                long start = System.nanoTime();
+                master.updateStateRequest(rpcf.create(), request, done);
+                latencies[id * updatesPerWriter + i] =
+                        System.nanoTime() - start;
+            }
+            finished.countDown();
+        }
+    }
+
+    public void run(int writers, boolean durable) throws Exception {
+        SimulatedNetwork network = new SimulatedNetwork(100, 64);
+        RpcFactory rpcf = new RpcFactory(60000);
+        List<String> locations = new ArrayList<String>();
+        List<Client> clients = new ArrayList<Client>();
+        for (int i = 0; i < CLIENTS; i++) {
+            String location = "client" + i + ":1";
+            Client client = new Client(new State(), network,
+                    "http://" + location, location, rpcf);
+            network.addClient(location, client.getNewService());
+            clients.add(client);
+            locations.add(location);
+        }
+        State initialState = new State();
+        initialState.updateFromObject(State.PARTICIPANTS, locations, 2);
+        Master master = Master.create(network, "http://master",
+                "Benchmark", "master:1", rpcf, Configuration.empty());
+        File directory = null;
+        StateStorage storage = null;
+        if (durable) {
+            directory = createTempDirectory();
+            storage = new StateStorage(directory);
+            master.resumeFrom(initialState, 1, storage);
+        } else {
+            master.resumeFrom(initialState, 1);
+        }
+        Thread.sleep(500);  // Let the takeover finish.
+        network.awaitIdle();
+        master.start();
+        network.resetCounters();
+        long initialSyncs = storage == null ? 0 : storage.getSyncs();
+
+        long[] latencies = new long[writers * updatesPerWriter];
+        CountDownLatch finished = new CountDownLatch(writers);
+        long startTime = System.nanoTime();
+        for (int i = 0; i < writers; i++) {
+            new Thread(new Writer(master.getNewService(), rpcf, i,
+                    latencies, finished)).start();
+        }
+        finished.await();
+        network.awaitIdle();
+        double elapsed = (System.nanoTime() - startTime) / 1e9;
+        master.interrupt();
+        for (Client client : clients) {
+            client.interrupt();
+        }
+        long syncs = 0;
+        if (storage != null) {
+            syncs = storage.getSyncs() - initialSyncs;
+            storage.close();
+            deleteDirectory(directory);
+        }
+
+        Arrays.sort(latencies);
+        long p99 = latencies[(int)(latencies.length * 0.99)];
+        System.out.println(String.format(
+                "%3d writers, %-8s %8.0f updates/s, p99 %6.2f ms, " +
+                "%.2f RPCs/update, %.3f fsyncs/update",
+                writers, durable ? "durable:" : "memory:",
+                latencies.length / elapsed, p99 / 1e6,
+                (double)network.getRpcs() / latencies.length,
+                (double)syncs / latencies.length));
+    }
+
+    private static File createTempDirectory() throws IOException {
+        File directory = File.createTempFile("CommitBenchmark", "");
+        if (!directory.delete() || !directory.mkdir()) {
+            throw new IOException("Could not create " + directory);
+        }
+        return directory;
+    }
+
+    private static void deleteDirectory(File directory) {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int updates = 20000;
+        if (args.length > 0) {
+            updates = Integer.valueOf(args[0]);
+        }
+        int[] writerCounts = { 1, 10, 100 };
+        for (int writers : writerCounts) {
+            CommitBenchmark benchmark =
+                    new CommitBenchmark(updates / writers);
+            benchmark.run(writers, false);
+            benchmark.run(writers, true);
+        }
+        System.exit(0);
+    }
+}
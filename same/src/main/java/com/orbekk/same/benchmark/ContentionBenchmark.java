@@ -0,0 +1,219 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.codehaus.jackson.type.TypeReference;
+
+import com.orbekk.same.Client;
+import com.orbekk.same.ConnectionState;
+import com.orbekk.same.Master;
+import com.orbekk.same.MergeableVariable;
+import com.orbekk.same.Operation;
+import com.orbekk.same.RpcFactory;
+import com.orbekk.same.State;
+import com.orbekk.same.Variable;
+import com.orbekk.same.VariableFactory;
+import com.orbekk.same.crdt.PNCounter;
+import com.orbekk.util.DelayedOperation;
+
+/**
+ * Measures increments of one shared counter by concurrent writers, using
+ * compare-and-set with retries, a PN-counter that the master merges, or
+ * an ADD operation that the master applies.
+ * 
+ * Writers on different participants talk to the master through a
+ * SimulatedNetwork. A compare-and-set writer reads its latest copy of the
+ * counter, and retries when the update conflicts.
+ */
+public class ContentionBenchmark {
+    private enum Mode {
+        COMPARE_AND_SET, MERGE, OPERATION
+    }
+
+    private static final int PARTICIPANTS = 4;
+    private final int incrementsPerWriter;
+    private final AtomicLong conflicts = new AtomicLong(0);
+
+    public ContentionBenchmark(int incrementsPerWriter) {
+        this.incrementsPerWriter = incrementsPerWriter;
+    }
+
+    private class CasWriter implements Runnable {
+        private final Variable<Long> counter;
+        private final CountDownLatch finished;
+
+        public CasWriter(Variable<Long> counter, CountDownLatch finished) {
+            this.counter = counter;
+            this.finished = finished;
+        }
+
+        @Override public void run() {
+            int done = 0;
+            while (done < incrementsPerWriter) {
+                counter.update();
+                Long value = counter.get();
+                DelayedOperation op = counter.set(
+                        (value == null ? 0 : value) + 1);
+                if (op.getStatus().isOk()) {
+                    done += 1;
+                } else if (op.getStatus().isConflict()) {
+                    conflicts.incrementAndGet();
+                    Thread.yield();
+                } else {
+                    throw new IllegalStateException(op.getStatus().toString());
+                }
+            }
+            finished.countDown();
+        }
+    }
+
+    private class MergeWriter implements Runnable {
+        private final MergeableVariable<PNCounter> counter;
+        private final CountDownLatch finished;
+
+        public MergeWriter(MergeableVariable<PNCounter> counter,
+                CountDownLatch finished) {
+            this.counter = counter;
+            this.finished = finished;
+        }
+
+        @Override public void run() {
+            for (int i = 0; i < incrementsPerWriter; i++) {
+                DelayedOperation op = counter.merge(
+                        counter.get().add(counter.getReplicaId(), 1));
+                if (!op.getStatus().isOk()) {
+                    throw new IllegalStateException(op.getStatus().toString());
+                }
+            }
+            finished.countDown();
+        }
+    }
+
+    private class OperationWriter implements Runnable {
+        private final Variable<Long> counter;
+        private final CountDownLatch finished;
+
+        public OperationWriter(Variable<Long> counter,
+                CountDownLatch finished) {
+            this.counter = counter;
+            this.finished = finished;
+        }
+
+        @Override public void run() {
+            for (int i = 0; i < incrementsPerWriter; i++) {
+                DelayedOperation op = counter.apply(Operation.add(1));
+                if (!op.getStatus().isOk()) {
+                    throw new IllegalStateException(op.getStatus().toString());
+                }
+            }
+            finished.countDown();
+        }
+    }
+
+    public void run(int writers, Mode mode) throws Exception {
+        SimulatedNetwork network = new SimulatedNetwork(100, 64);
+        RpcFactory rpcf = new RpcFactory(60000);
+        List<String> locations = new ArrayList<String>();
+        List<Client> clients = new ArrayList<Client>();
+        for (int i = 0; i < PARTICIPANTS; i++) {
+            String location = "client" + i + ":1";
+            Client client = new Client(new State(), network,
+                    "http://" + location, location, rpcf);
+            network.addClient(location, client.getNewService());
+            clients.add(client);
+            locations.add(location);
+        }
+        State initialState = new State();
+        initialState.updateFromObject(State.PARTICIPANTS, locations, 2);
+        Master master = Master.create(network, "http://master",
+                "Benchmark", "master:1", rpcf);
+        network.addMaster("master:1", master.getNewService());
+        master.resumeFrom(initialState, 1);
+        master.start();
+        for (Client client : clients) {
+            while (client.getConnectionState() != ConnectionState.STABLE) {
+                Thread.sleep(1);
+            }
+        }
+        network.awaitIdle();
+        conflicts.set(0);
+
+        CountDownLatch finished = new CountDownLatch(writers);
+        List<Runnable> tasks = new ArrayList<Runnable>();
+        for (int i = 0; i < writers; i++) {
+            VariableFactory factory = VariableFactory.create(
+                    clients.get(i % PARTICIPANTS).getInterface());
+            if (mode == Mode.MERGE) {
+                tasks.add(new MergeWriter(factory.createCounter("counter"),
+                        finished));
+            } else if (mode == Mode.OPERATION) {
+                tasks.add(new OperationWriter(factory.create("counter",
+                        new TypeReference<Long>() {}), finished));
+            } else {
+                tasks.add(new CasWriter(factory.create("counter",
+                        new TypeReference<Long>() {}), finished));
+            }
+        }
+        long startTime = System.nanoTime();
+        for (Runnable task : tasks) {
+            new Thread(task).start();
+        }
+        finished.await();
+        double elapsed = (System.nanoTime() - startTime) / 1e9;
+        network.awaitIdle();
+
+        long total = writers * incrementsPerWriter;
+        VariableFactory factory = VariableFactory.create(
+                clients.get(0).getInterface());
+        long value = mode == Mode.MERGE ?
+                factory.createCounter("counter").get().value() :
+                factory.create("counter", new TypeReference<Long>() {}).get();
+        if (value != total) {
+            throw new IllegalStateException("Counter is " + value +
+                    ", expected " + total);
+        }
+        master.interrupt();
+        for (Client client : clients) {
+            client.interrupt();
+        }
+        System.out.println(String.format(
+                "%3d writers, %-16s %8.0f increments/s, " +
+                "%6.2f conflicts/increment",
+                writers, mode.name().toLowerCase().replace('_', '-') + ":",
+                total / elapsed, (double)conflicts.get() / total));
+    }
+
+    public static void main(String[] args) throws Exception {
+        int increments = 500;
+        if (args.length > 0) {
+            increments = Integer.valueOf(args[0]);
+        }
+        ContentionBenchmark benchmark = new ContentionBenchmark(increments);
+        benchmark.run(4, Mode.MERGE);  // Warmup.
+        int[] writerCounts = { 1, 4, 16 };
+        for (int writers : writerCounts) {
+            for (Mode mode : Mode.values()) {
+                benchmark.run(writers, mode);
+            }
+        }
+        System.exit(0);
+    }
+}
@@ -0,0 +1,191 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import com.orbekk.same.PhiAccrualFailureDetector;
+
+/**
+ * Measures the detection time and false positive rate of the heartbeat
+ * failure detector under different network conditions.
+ * 
+ * The benchmark runs in virtual time. A master sends a heartbeat every
+ * HEARTBEAT_INTERVAL ms; each one is delayed by the latency plus an
+ * exponentially distributed jitter, occasionally by a latency spike, and
+ * some are lost. A participant checks its detector every CHECK_INTERVAL ms,
+ * as Client does. A false positive is a live master becoming suspected.
+ * After an hour, the master fails, and the detection time is the time
+ * until the next check that suspects it.
+ * 
+ * The phi accrual detector is compared to a fixed timeout of three
+ * heartbeat intervals. Before heartbeats, a failure was only noticed when
+ * an update to the master timed out after 10 s.
+ */
+public class FailureDetectorBenchmark {
+    private static final long HEARTBEAT_INTERVAL = 1000;
+    private static final long CHECK_INTERVAL = HEARTBEAT_INTERVAL / 4;
+    private static final long FIXED_TIMEOUT = 3 * HEARTBEAT_INTERVAL;
+    private static final long RUN_TIME = 3600 * 1000;
+    private static final int RUNS = 20;
+    private final Random random = new Random(1);
+
+    /** Injected network conditions. */
+    private static class Network {
+        final String name;
+        final double latency;
+        final double jitter;
+        final double spikeProbability;
+        final double spike;
+        final double lossProbability;
+
+        public Network(String name, double latency, double jitter,
+                double spikeProbability, double spike,
+                double lossProbability) {
+            this.name = name;
+            this.latency = latency;
+            this.jitter = jitter;
+            this.spikeProbability = spikeProbability;
+            this.spike = spike;
+            this.lossProbability = lossProbability;
+        }
+    }
+
+    private static class Result {
+        long falsePositives = 0;
+        List<Long> detectionTimes = new ArrayList<Long>();
+
+        public double falsePositivesPerHour() {
+            return (double)falsePositives / RUNS;
+        }
+
+        public long percentile(double p) {
+            Collections.sort(detectionTimes);
+            int index = (int)Math.ceil(p * detectionTimes.size()) - 1;
+            return detectionTimes.get(Math.max(index, 0));
+        }
+
+        public double mean() {
+            double sum = 0;
+            for (long time : detectionTimes) {
+                sum += time;
+            }
+            return sum / detectionTimes.size();
+        }
+    }
+
+    /** Returns the arrival times of the heartbeats sent before 'failTime'. */
+    private List<Long> arrivals(Network network, long failTime) {
+        List<Long> arrivals = new ArrayList<Long>();
+        for (long sent = 0; sent < failTime; sent += HEARTBEAT_INTERVAL) {
+            if (random.nextDouble() < network.lossProbability) {
+                continue;
+            }
+            double delay = network.latency -
+                    network.jitter * Math.log(1 - random.nextDouble());
+            if (random.nextDouble() < network.spikeProbability) {
+                delay += network.spike;
+            }
+            arrivals.add(sent + (long)delay);
+        }
+        Collections.sort(arrivals);
+        return arrivals;
+    }
+
+    private void run(Network network, Result phiResult, Result fixedResult) {
+        long failTime = RUN_TIME + random.nextInt((int)HEARTBEAT_INTERVAL);
+        List<Long> arrivals = arrivals(network, failTime);
+        PhiAccrualFailureDetector detector =
+                new PhiAccrualFailureDetector(HEARTBEAT_INTERVAL);
+        long lastArrival = -1;
+        boolean phiSuspected = false;
+        boolean fixedSuspected = false;
+        boolean phiDetected = false;
+        boolean fixedDetected = false;
+        int next = 0;
+        for (long now = CHECK_INTERVAL; !phiDetected || !fixedDetected;
+                now += CHECK_INTERVAL) {
+            while (next < arrivals.size() && arrivals.get(next) <= now) {
+                lastArrival = arrivals.get(next);
+                detector.heartbeat(lastArrival);
+                next += 1;
+            }
+            if (lastArrival < 0) {
+                continue;
+            }
+            boolean phiSuspects = !detector.isAvailable(now);
+            boolean fixedSuspects = now - lastArrival > FIXED_TIMEOUT;
+            if (now < failTime) {
+                if (phiSuspects && !phiSuspected) {
+                    phiResult.falsePositives += 1;
+                }
+                if (fixedSuspects && !fixedSuspected) {
+                    fixedResult.falsePositives += 1;
+                }
+            } else {
+                if (phiSuspects && !phiDetected) {
+                    phiResult.detectionTimes.add(now - failTime);
+                    phiDetected = true;
+                }
+                if (fixedSuspects && !fixedDetected) {
+                    fixedResult.detectionTimes.add(now - failTime);
+                    fixedDetected = true;
+                }
+            }
+            phiSuspected = phiSuspects;
+            fixedSuspected = fixedSuspects;
+        }
+    }
+
+    public void run(Network network) {
+        Result phiResult = new Result();
+        Result fixedResult = new Result();
+        for (int i = 0; i < RUNS; i++) {
+            run(network, phiResult, fixedResult);
+        }
+        print(network.name, "phi", phiResult);
+        print(network.name, "fixed", fixedResult);
+    }
+
+    private static void print(String network, String detector,
+            Result result) {
+        System.out.println(String.format(
+                "%-24s %-6s false positives: %6.2f/hour, detection: " +
+                "mean %5.0f ms, p50 %5d ms, max %5d ms",
+                network, detector, result.falsePositivesPerHour(),
+                result.mean(), result.percentile(0.5), result.percentile(1.0)));
+    }
+
+    public static void main(String[] args) {
+        Network[] networks = {
+                new Network("lan", 1, 1, 0, 0, 0),
+                new Network("wan", 50, 10, 0, 0, 0),
+                new Network("wan, high jitter", 50, 200, 0, 0, 0),
+                new Network("wan, 1% 2 s spikes", 50, 10, 0.01, 2000, 0),
+                new Network("wan, 5% loss", 50, 10, 0, 0, 0.05),
+                new Network("congested", 200, 500, 0.02, 3000, 0.05),
+        };
+        FailureDetectorBenchmark benchmark = new FailureDetectorBenchmark();
+        for (Network network : networks) {
+            benchmark.run(network);
+        }
+        System.out.println("Before heartbeats, failures were detected when " +
+                "an update timed out, after at least 10000 ms.");
+    }
+}
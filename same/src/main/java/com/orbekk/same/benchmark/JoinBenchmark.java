@@ -0,0 +1,185 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.google.protobuf.RpcCallback;
+import com.orbekk.same.Client;
+import com.orbekk.same.ConnectionState;
+import com.orbekk.same.Master;
+import com.orbekk.same.RpcFactory;
+import com.orbekk.same.Services;
+import com.orbekk.same.State;
+import com.orbekk.same.StateChangedListener;
+
+/**
+ * Measures the update latency seen by a participant while new participants
+ * join a network with a large state.
+ * 
+ * An update is sent to the master, and the latency is the time until the
+ * existing participant has received it. Updates are sent one at a time,
+ * first without joins and then while the joiners fetch the state.
+ */
+public class JoinBenchmark {
+    private static final int NETWORK_THREADS = 64;
+    private static final int MIN_UPDATES = 100;
+    private static final String VALUE = "\"" +
+            "0123456789012345678901234567890123456789" +
+            "0123456789012345678901234567890123456789" + "\"";
+
+    private volatile String expectedId = null;
+    private volatile CountDownLatch delivered = null;
+    private volatile long deliveryTime = 0;
+
+    private final StateChangedListener listener = new StateChangedListener() {
+        @Override public void stateChanged(State.Component component) {
+            if (component.getName().equals(expectedId)) {
+                deliveryTime = System.nanoTime();
+                delivered.countDown();
+            }
+        }
+    };
+
+    private final RpcCallback<Services.UpdateComponentResponse> ignore =
+            new RpcCallback<Services.UpdateComponentResponse>() {
+        @Override public void run(Services.UpdateComponentResponse response) {
+        }
+    };
+
+    /** Returns the latency of one update in nanoseconds. */
+    private long update(Services.Master service, RpcFactory rpcf, String id)
+            throws InterruptedException {
+        delivered = new CountDownLatch(1);
+        expectedId = id;
+        Services.Component request = Services.Component.newBuilder()
+                .setId(id)
+                .setRevision(0)
+                .setData(VALUE)
+                .build();
+        long start = System.nanoTime();
+        service.updateStateRequest(rpcf.create(), request, ignore);
+        if (!delivered.await(60, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Update " + id + " was lost.");
+        }
+        return deliveryTime - start;
+    }
+
+    private static String summarize(List<Long> latencies) {
+        long[] sorted = new long[latencies.size()];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = latencies.get(i);
+        }
+        Arrays.sort(sorted);
+        return String.format("median %7.2f ms, p99 %7.2f ms, max %7.2f ms",
+                sorted[sorted.length / 2] / 1e6,
+                sorted[(int)(sorted.length * 0.99)] / 1e6,
+                sorted[sorted.length - 1] / 1e6);
+    }
+
+    public void run(int components, int numJoiners) throws Exception {
+        SimulatedNetwork network = new SimulatedNetwork(100, NETWORK_THREADS);
+        RpcFactory rpcf = new RpcFactory(60000);
+        State initialState = new State();
+        for (int i = 0; i < components; i++) {
+            initialState.update("component" + i, VALUE, i + 2);
+        }
+        String observerLocation = "observer:1";
+        initialState.updateFromObject(State.PARTICIPANTS,
+                Arrays.asList(observerLocation), components + 2);
+        Client observer = new Client(new State(initialState), network,
+                "http://" + observerLocation, observerLocation, rpcf);
+        network.addClient(observerLocation, observer.getNewService());
+        observer.getInterface().addStateListener(listener);
+        Master master = Master.create(network, "http://master",
+                "Benchmark", "master:1", rpcf);
+        network.addMaster("master:1", master.getNewService());
+        master.resumeFrom(initialState, 1);
+        master.start();
+        while (observer.getConnectionState() != ConnectionState.STABLE) {
+            Thread.sleep(1);
+        }
+        network.awaitIdle();
+
+        Services.Master service = master.getNewService();
+        List<Long> idle = new ArrayList<Long>();
+        for (int i = 0; i < MIN_UPDATES; i++) {
+            idle.add(update(service, rpcf, "idle" + i));
+        }
+
+        List<Client> joiners = new ArrayList<Client>();
+        for (int i = 0; i < numJoiners; i++) {
+            String location = "joiner" + i + ":1";
+            Client joiner = new Client(new State(), network,
+                    "http://" + location, location, rpcf);
+            network.addClient(location, joiner.getNewService());
+            joiners.add(joiner);
+        }
+        List<Long> joining = new ArrayList<Long>();
+        long joinStart = System.nanoTime();
+        for (Client joiner : joiners) {
+            joiner.joinNetwork(master.getMasterInfo());
+        }
+        boolean joined = false;
+        while (!joined || joining.size() < MIN_UPDATES) {
+            joining.add(update(service, rpcf, "joining" + joining.size()));
+            if (!joined) {
+                joined = true;
+                for (Client joiner : joiners) {
+                    joined &= joiner.getConnectionState() ==
+                            ConnectionState.STABLE;
+                }
+            }
+        }
+        network.awaitIdle();
+        double joinTime = (System.nanoTime() - joinStart) / 1e6;
+        for (Client joiner : joiners) {
+            State.Component last = joiner.getState(
+                    "component" + (components - 1));
+            if (last == null) {
+                throw new IllegalStateException("Incomplete join.");
+            }
+        }
+        master.interrupt();
+        observer.interrupt();
+        for (Client joiner : joiners) {
+            joiner.interrupt();
+        }
+
+        System.out.println(String.format("%6d components, %2d joiners:",
+                components, numJoiners));
+        System.out.println("    no joins:     " + summarize(idle));
+        System.out.println("    during joins: " + summarize(joining) +
+                String.format(", joins done in %.0f ms", joinTime));
+    }
+
+    public static void main(String[] args) throws Exception {
+        JoinBenchmark benchmark = new JoinBenchmark();
+        benchmark.run(10000, 1);  // Warmup.
+        int[] stateSizes = { 10000, 100000 };
+        int[] joinerCounts = { 1, 10 };
+        for (int components : stateSizes) {
+            for (int joiners : joinerCounts) {
+                benchmark.run(components, joiners);
+            }
+        }
+        System.exit(0);
+    }
+}
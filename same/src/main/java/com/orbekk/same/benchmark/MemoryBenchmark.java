@@ -0,0 +1,109 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.orbekk.same.State;
+
+/**
+ * Reports the heap used per component by State, compared to the earlier
+ * layout of a HashMap of components with String names and JSON values.
+ * 
+ * Every component is written twice with a fresh copy of its name, the way
+ * updates arrive from the network.
+ * 
+ * Usage: MemoryBenchmark [components...]. Run with a large -Xmx.
+ */
+public class MemoryBenchmark {
+    /** The component layout before values were stored as byte[]. */
+    private static class StringComponent {
+        final String name;
+        final long revision;
+        final String data;
+
+        StringComponent(String name, long revision, String data) {
+            this.name = name;
+            this.revision = revision;
+            this.data = data;
+        }
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static String name(int i) {
+        return "player/" + i + "/score";
+    }
+
+    private static String value(int i) {
+        return String.valueOf(i % 1000);
+    }
+
+    private static double measureHashMap(int components) {
+        long before = usedMemory();
+        Map<String, StringComponent> map =
+                new HashMap<String, StringComponent>();
+        for (int round = 1; round <= 2; round++) {
+            for (int i = 0; i < components; i++) {
+                String name = name(i);
+                map.put(name, new StringComponent(name, round, value(i)));
+            }
+        }
+        long after = usedMemory();
+        if (map.size() != components) {
+            throw new AssertionError();
+        }
+        return (double)(after - before) / components;
+    }
+
+    private static double measureState(int components) {
+        long before = usedMemory();
+        State state = new State();
+        for (int round = 1; round <= 2; round++) {
+            for (int i = 0; i < components; i++) {
+                state.update(name(i), value(i), round + 1);
+            }
+        }
+        long after = usedMemory();
+        if (state.getComponent(name(0)) == null) {
+            throw new AssertionError();
+        }
+        return (double)(after - before) / components;
+    }
+
+    public static void main(String[] args) {
+        int[] sizes = { 1000000, 10000000 };
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.valueOf(args[i]);
+            }
+        }
+        for (int size : sizes) {
+            System.out.println(String.format(
+                    "%d components: HashMap %.0f bytes/component, " +
+                    "State %.0f bytes/component",
+                    size, measureHashMap(size), measureState(size)));
+        }
+    }
+}
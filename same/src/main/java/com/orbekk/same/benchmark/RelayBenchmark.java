@@ -0,0 +1,168 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.google.protobuf.RpcCallback;
+import com.orbekk.same.Client;
+import com.orbekk.same.Master;
+import com.orbekk.same.RpcFactory;
+import com.orbekk.same.Services;
+import com.orbekk.same.State;
+import com.orbekk.same.StateChangedListener;
+import com.orbekk.same.config.Configuration;
+
+/**
+ * Compares sending updates to every participant directly with relaying
+ * them through a tree ("relayFanout" setting).
+ * 
+ * Updates are sent one at a time. Propagation latency is the time until
+ * the last participant has an update. Master CPU is the CPU time of the
+ * thread that commits the update and sends it, including serialization.
+ */
+public class RelayBenchmark {
+    private static final String PREFIX = "relay/";
+    private final int updates;
+
+    public RelayBenchmark(int updates) {
+        this.updates = updates;
+    }
+
+    private class ArrivalListener implements StateChangedListener {
+        private final AtomicLongArray arrivals;
+        private final CountDownLatch[] delivered;
+
+        public ArrivalListener(AtomicLongArray arrivals,
+                CountDownLatch[] delivered) {
+            this.arrivals = arrivals;
+            this.delivered = delivered;
+        }
+
+        @Override public void stateChanged(State.Component component) {
+            if (!component.getName().startsWith(PREFIX)) {
+                return;
+            }
+            int i = Integer.valueOf(
+                    component.getName().substring(PREFIX.length()));
+            long now = System.nanoTime();
+            while (true) {
+                long last = arrivals.get(i);
+                if (now <= last || arrivals.compareAndSet(i, last, now)) {
+                    break;
+                }
+            }
+            delivered[i].countDown();
+        }
+    }
+
+    public void run(int participants, int fanout) throws Exception {
+        SimulatedNetwork network = new SimulatedNetwork(200, 64);
+        RpcFactory rpcf = new RpcFactory(60000);
+        AtomicLongArray arrivals = new AtomicLongArray(updates);
+        CountDownLatch[] delivered = new CountDownLatch[updates];
+        for (int i = 0; i < updates; i++) {
+            delivered[i] = new CountDownLatch(participants);
+        }
+        List<String> locations = new ArrayList<String>();
+        List<Client> clients = new ArrayList<Client>();
+        for (int i = 0; i < participants; i++) {
+            String location = "client" + i + ":1";
+            Client client = new Client(new State(), network,
+                    "http://" + location, location, rpcf);
+            client.getInterface().addStateListener(
+                    new ArrivalListener(arrivals, delivered));
+            network.addClient(location, client.getNewService());
+            clients.add(client);
+            locations.add(location);
+        }
+        State initialState = new State();
+        initialState.updateFromObject(State.PARTICIPANTS, locations, 2);
+        Properties properties = new Properties();
+        properties.setProperty("relayFanout", Integer.toString(fanout));
+        Master master = Master.create(network, "http://master",
+                "Benchmark", "master:1", rpcf, new Configuration(properties));
+        master.resumeFrom(initialState, 1);
+        Thread.sleep(500);  // Let the takeover finish.
+        network.awaitIdle();
+        network.resetCounters();
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Services.Master service = master.getNewService();
+        RpcCallback<Services.UpdateComponentResponse> done =
+                new RpcCallback<Services.UpdateComponentResponse>() {
+            @Override public void run(
+                    Services.UpdateComponentResponse response) {
+            }
+        };
+        long[] latencies = new long[updates];
+        long cpuTime = 0;
+        for (int i = 0; i < updates; i++) {
+            Services.Component request = Services.Component.newBuilder()
+                    .setId(PREFIX + i)
+                    .setRevision(0)
+                    .setData("\"value\"")
+                    .build();
+            long startCpu = threads.getCurrentThreadCpuTime();
+            long start = System.nanoTime();
+            service.updateStateRequest(rpcf.create(), request, done);
+            cpuTime += threads.getCurrentThreadCpuTime() - startCpu;
+            if (!delivered[i].await(60, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Update " + i + " was lost.");
+            }
+            latencies[i] = arrivals.get(i) - start;
+        }
+        network.awaitIdle();
+        master.interrupt();
+        for (Client client : clients) {
+            client.interrupt();
+        }
+
+        Arrays.sort(latencies);
+        System.out.println(String.format(
+                "%5d participants, %-10s median %6.2f ms, p99 %6.2f ms, " +
+                "master %7.1f us CPU and %6.1f RPCs/update, " +
+                "%6.1f RPCs/update in total",
+                participants, fanout == 0 ? "direct:" : "fanout " + fanout + ":",
+                latencies[latencies.length / 2] / 1e6,
+                latencies[(int)(latencies.length * 0.99)] / 1e6,
+                cpuTime / 1e3 / updates,
+                (double)network.getExternalRpcs() / updates,
+                (double)network.getRpcs() / updates));
+    }
+
+    public static void main(String[] args) throws Exception {
+        int updates = 200;
+        if (args.length > 0) {
+            updates = Integer.valueOf(args[0]);
+        }
+        RelayBenchmark benchmark = new RelayBenchmark(updates);
+        int[] participantCounts = { 10, 100, 1000 };
+        for (int participants : participantCounts) {
+            benchmark.run(participants, 0);
+            benchmark.run(participants, 8);
+        }
+        System.exit(0);
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import com.orbekk.same.Client;
+import com.orbekk.same.ClientInterface;
+import com.orbekk.same.ConnectionState;
+import com.orbekk.same.Master;
+import com.orbekk.same.RpcFactory;
+import com.orbekk.same.ShardMap;
+import com.orbekk.same.ShardedClient;
+import com.orbekk.same.State;
+import com.orbekk.util.DelayedOperation;
+
+/**
+ * Measures write throughput with the keyspace split across 1 or more
+ * masters in one process.
+ * 
+ * Every participant joins every shard through a ShardedClient. Writers
+ * set distinct keys through the ShardedClients and wait for each update
+ * to be accepted. The time includes delivering all updates to all
+ * participants.
+ */
+public class ShardBenchmark {
+    private static final int PARTICIPANTS = 4;
+    private final int updatesPerWriter;
+
+    public ShardBenchmark(int updatesPerWriter) {
+        this.updatesPerWriter = updatesPerWriter;
+    }
+
+    private class Writer implements Runnable {
+        private final ClientInterface client;
+        private final int id;
+        private final CountDownLatch finished;
+
+        public Writer(ClientInterface client, int id, CountDownLatch finished) {
+            this.client = client;
+            this.id = id;
+            this.finished = finished;
+        }
+
+        @Override public void run() {
+            for (int i = 0; i < updatesPerWriter; i++) {
+                DelayedOperation op = client.set(new State.Component(
+                        "writer" + id + "/" + i, 0, "\"value\""));
+                if (!op.getStatus().isOk()) {
+                    throw new IllegalStateException(op.getStatus().toString());
+                }
+            }
+            finished.countDown();
+        }
+    }
+
+    public void run(int shardCount, int writers) throws Exception {
+        SimulatedNetwork network = new SimulatedNetwork(100, 64);
+        RpcFactory rpcf = new RpcFactory(60000);
+        List<String> shardNames = new ArrayList<String>();
+        List<List<String>> shardLocations = new ArrayList<List<String>>();
+        for (int i = 0; i < shardCount; i++) {
+            shardNames.add("shard" + i);
+            shardLocations.add(new ArrayList<String>());
+        }
+        ShardMap shardMap = new ShardMap(shardNames);
+        List<Client> clients = new ArrayList<Client>();
+        List<ShardedClient> participants = new ArrayList<ShardedClient>();
+        for (int p = 0; p < PARTICIPANTS; p++) {
+            Map<String, ClientInterface> shards =
+                    new HashMap<String, ClientInterface>();
+            for (int i = 0; i < shardCount; i++) {
+                String location = "client" + p + "-" + i + ":1";
+                Client client = new Client(new State(), network,
+                        "http://" + location, location, rpcf);
+                network.addClient(location, client.getNewService());
+                clients.add(client);
+                shardLocations.get(i).add(location);
+                shards.put(shardNames.get(i), client.getInterface());
+            }
+            participants.add(new ShardedClient(shardMap, shards));
+        }
+        List<Master> masters = new ArrayList<Master>();
+        for (int i = 0; i < shardCount; i++) {
+            String location = "master" + i + ":1";
+            Master master = Master.create(network, "http://" + location,
+                    shardNames.get(i), location, rpcf);
+            network.addMaster(location, master.getNewService());
+            State initialState = new State();
+            initialState.updateFromObject(State.PARTICIPANTS,
+                    shardLocations.get(i), 2);
+            master.resumeFrom(initialState, 1);
+            master.start();
+            masters.add(master);
+        }
+        for (ShardedClient participant : participants) {
+            while (participant.getConnectionState() != ConnectionState.STABLE) {
+                Thread.sleep(10);
+            }
+        }
+        network.awaitIdle();
+
+        CountDownLatch finished = new CountDownLatch(writers);
+        long startTime = System.nanoTime();
+        for (int i = 0; i < writers; i++) {
+            new Thread(new Writer(participants.get(i % PARTICIPANTS), i,
+                    finished)).start();
+        }
+        finished.await();
+        network.awaitIdle();
+        double elapsed = (System.nanoTime() - startTime) / 1e9;
+        for (Master master : masters) {
+            master.interrupt();
+        }
+        for (Client client : clients) {
+            client.interrupt();
+        }
+        System.out.println(String.format(
+                "%d masters, %3d writers: %8.0f updates/s",
+                shardCount, writers,
+                writers * updatesPerWriter / elapsed));
+    }
+
+    public static void main(String[] args) throws Exception {
+        int updates = 20000;
+        if (args.length > 0) {
+            updates = Integer.valueOf(args[0]);
+        }
+        int writers = 32;
+        ShardBenchmark benchmark = new ShardBenchmark(updates / writers);
+        int[] shardCounts = { 1, 2, 4 };
+        for (int shards : shardCounts) {
+            benchmark.run(shards, writers);
+        }
+        System.exit(0);
+    }
+}
@@ -0,0 +1,176 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Descriptors.MethodDescriptor;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import com.google.protobuf.RpcCallback;
+import com.google.protobuf.RpcController;
+import com.google.protobuf.Service;
+import com.orbekk.protobuf.Rpc;
+import com.orbekk.protobuf.RpcChannel;
+import com.orbekk.same.ConnectionManager;
+import com.orbekk.same.Services;
+
+/**
+ * A ConnectionManager for participants running in one process.
+ * 
+ * RPCs are serialized, delayed by a fixed latency and delivered on a
+ * bounded pool of connection threads. The sender pays for serializing the
+ * request. The network counts RPCs and bytes, and separately the RPCs
+ * sent from outside the network, i.e., not while handling another RPC.
+ */
+public class SimulatedNetwork implements ConnectionManager {
+    private final long latencyNanos;
+    private final AtomicLong rpcs = new AtomicLong(0);
+    private final AtomicLong externalRpcs = new AtomicLong(0);
+    private final ThreadLocal<Boolean> delivering = new ThreadLocal<Boolean>();
+    private final AtomicLong bytes = new AtomicLong(0);
+    private final AtomicLong pending = new AtomicLong(0);
+    private final ExecutorService executor;
+    private final Map<String, Services.Client> clients =
+            new ConcurrentHashMap<String, Services.Client>();
+    private final Map<String, Services.Master> masters =
+            new ConcurrentHashMap<String, Services.Master>();
+
+    public SimulatedNetwork(long latencyMicros, int threads) {
+        this.latencyNanos = latencyMicros * 1000;
+        executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            @Override public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /** Delivers RPCs to a local service after the network latency. */
+    private class SimulatedChannel implements com.google.protobuf.RpcChannel {
+        private final Service service;
+
+        public SimulatedChannel(Service service) {
+            this.service = service;
+        }
+
+        @Override public void callMethod(final MethodDescriptor method,
+                final RpcController controller, final Message request,
+                Message responsePrototype, final RpcCallback<Message> done) {
+            rpcs.incrementAndGet();
+            if (delivering.get() == null) {
+                externalRpcs.incrementAndGet();
+            }
+            pending.incrementAndGet();
+            final ByteString data = request.toByteString();
+            bytes.addAndGet(data.size());
+            executor.execute(new Runnable() {
+                @Override public void run() {
+                    delivering.set(Boolean.TRUE);
+                    LockSupport.parkNanos(latencyNanos);
+                    // The service may answer later from another thread.
+                    RpcCallback<Message> answer = new RpcCallback<Message>() {
+                        @Override public void run(Message m) {
+                            done.run(m);
+                            ((Rpc)controller).complete();
+                            pending.decrementAndGet();
+                        }
+                    };
+                    Message received;
+                    try {
+                        received = service.getRequestPrototype(method)
+                                .newBuilderForType()
+                                .mergeFrom(data)
+                                .build();
+                    } catch (InvalidProtocolBufferException e) {
+                        controller.setFailed(e.getMessage());
+                        answer.run(null);
+                        return;
+                    }
+                    service.callMethod(method, controller, received, answer);
+                }
+            });
+        }
+    }
+
+    public void addClient(String location, Services.Client service) {
+        clients.put(location, Services.Client.newStub(
+                new SimulatedChannel(service)));
+    }
+
+    public void addMaster(String location, Services.Master service) {
+        masters.put(location, Services.Master.newStub(
+                new SimulatedChannel(service)));
+    }
+
+    public void removeClient(String location) {
+        clients.remove(location);
+    }
+
+    public long getRpcs() {
+        return rpcs.get();
+    }
+
+    /** Returns the number of RPCs not sent by a participant handling an RPC. */
+    public long getExternalRpcs() {
+        return externalRpcs.get();
+    }
+
+    public long getBytes() {
+        return bytes.get();
+    }
+
+    /** Waits until all RPCs sent so far have been delivered. */
+    public void awaitIdle() throws InterruptedException {
+        while (pending.get() > 0) {
+            Thread.sleep(1);
+        }
+    }
+
+    public void resetCounters() {
+        rpcs.set(0);
+        externalRpcs.set(0);
+        bytes.set(0);
+    }
+
+    @Override public Services.Master getMaster0(String location) {
+        return masters.get(location);
+    }
+
+    @Override public Services.Client getClient0(String location) {
+        return clients.get(location);
+    }
+
+    @Override public Services.Directory getDirectory(String location) {
+        return null;
+    }
+
+    @Override public Services.Paxos getPaxos0(String location) {
+        return null;
+    }
+
+    @Override public RpcChannel getChannel(String location) {
+        return null;
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.orbekk.same.State;
+
+/**
+ * Measures State update throughput as the number of writer threads grows.
+ * 
+ * Each writer updates its own set of components with compareAndSet(), the
+ * same way Master.updateStateRequest() does.
+ */
+public class StateBenchmark {
+    private final int componentsPerThread;
+    private final int iterations;
+
+    public StateBenchmark(int componentsPerThread, int iterations) {
+        this.componentsPerThread = componentsPerThread;
+        this.iterations = iterations;
+    }
+
+    private class Writer implements Runnable {
+        private final State state;
+        private final AtomicLong revision;
+        private final int id;
+        private final CountDownLatch start;
+        private final CountDownLatch finished;
+
+        public Writer(State state, AtomicLong revision, int id,
+                CountDownLatch start, CountDownLatch finished) {
+            this.state = state;
+            this.revision = revision;
+            this.id = id;
+            this.start = start;
+            this.finished = finished;
+        }
+
+        @Override public void run() {
+            String[] names = new String[componentsPerThread];
+            long[] revisions = new long[componentsPerThread];
+            for (int i = 0; i < componentsPerThread; i++) {
+                names[i] = "writer" + id + "/" + i;
+            }
+            try {
+                start.await();
+                for (int i = 0; i < iterations; i++) {
+                    int c = i % componentsPerThread;
+                    long newRevision = revision.incrementAndGet();
+                    if (state.compareAndSet(names[c], revisions[c],
+                            "\"value\"", newRevision)) {
+                        revisions[c] = newRevision;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                finished.countDown();
+            }
+        }
+    }
+
+    /** Returns the number of updates per second with 'threads' writers. */
+    public double run(int threads) throws InterruptedException {
+        State state = new State();
+        AtomicLong revision = new AtomicLong(1);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(threads);
+        List<Thread> writers = new ArrayList<Thread>();
+        for (int i = 0; i < threads; i++) {
+            Thread writer = new Thread(new Writer(state, revision, i,
+                    start, finished));
+            writers.add(writer);
+            writer.start();
+        }
+        long startTime = System.nanoTime();
+        start.countDown();
+        finished.await();
+        long elapsed = System.nanoTime() - startTime;
+        return (double)threads * iterations / (elapsed / 1e9);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+        if (args.length > 0) {
+            maxThreads = Integer.valueOf(args[0]);
+        }
+        StateBenchmark benchmark = new StateBenchmark(100, 1000000);
+        benchmark.run(maxThreads);  // Warmup.
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            double throughput = benchmark.run(threads);
+            System.out.println(String.format("%d threads: %.0f updates/s",
+                    threads, throughput));
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.orbekk.same.State;
+import com.orbekk.same.storage.StateStorage;
+
+/**
+ * Measures durable update throughput and recovery time of StateStorage.
+ * 
+ * Writers wait for each update to be on disk, like Master does, so the
+ * number of fsyncs shows how well updates are group committed.
+ * 
+ * Usage: StorageBenchmark directory [components] [writers]
+ */
+public class StorageBenchmark {
+    private final File directory;
+    private final int components;
+
+    public StorageBenchmark(File directory, int components) {
+        this.directory = directory;
+        this.components = components;
+    }
+
+    public void runUpdates(int writers) throws Exception {
+        final State state = new State();
+        final StateStorage storage = new StateStorage(directory);
+        storage.attach(state);
+        final AtomicLong revision = new AtomicLong(1);
+        final CountDownLatch finished = new CountDownLatch(writers);
+        final int perWriter = components / writers;
+        long startTime = System.nanoTime();
+        for (int i = 0; i < writers; i++) {
+            final int id = i;
+            new Thread(new Runnable() {
+                @Override public void run() {
+                    for (int j = 0; j < perWriter; j++) {
+                        state.update("writer" + id + "/" + j,
+                                "\"value\"", revision.incrementAndGet());
+                        storage.awaitDurable();
+                    }
+                    finished.countDown();
+                }
+            }).start();
+        }
+        finished.await();
+        long elapsed = System.nanoTime() - startTime;
+        long updates = (long)perWriter * writers;
+        System.out.println(String.format(
+                "%d writers: %.0f durable updates/s, %d fsyncs " +
+                "(%.1f updates/fsync)",
+                writers, updates / (elapsed / 1e9), storage.getSyncs(),
+                (double)updates / storage.getSyncs()));
+        long snapshotStart = System.nanoTime();
+        storage.snapshot();
+        System.out.println(String.format("Snapshot of %d components: %.0f ms",
+                updates, (System.nanoTime() - snapshotStart) / 1e6));
+        storage.close();
+    }
+
+    public void runRecovery() throws IOException {
+        State state = new State();
+        long startTime = System.nanoTime();
+        int records = new StateStorage(directory).recoverInto(state);
+        System.out.println(String.format("Recovered %d records: %.0f ms",
+                records, (System.nanoTime() - startTime) / 1e6));
+    }
+
+    private static void deleteContents(File directory) {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: StorageBenchmark directory " +
+                    "[components] [writers]");
+            System.exit(1);
+        }
+        File directory = new File(args[0]);
+        int components = 1000000;
+        int maxWriters = 64;
+        if (args.length > 1) {
+            components = Integer.valueOf(args[1]);
+        }
+        if (args.length > 2) {
+            maxWriters = Integer.valueOf(args[2]);
+        }
+        StorageBenchmark benchmark = new StorageBenchmark(directory, components);
+        for (int writers = 1; writers <= maxWriters; writers *= 4) {
+            deleteContents(directory);
+            benchmark.runUpdates(writers);
+        }
+        benchmark.runRecovery();
+    }
+}
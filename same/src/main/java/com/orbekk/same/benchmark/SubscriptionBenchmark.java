@@ -0,0 +1,150 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import com.google.protobuf.RpcCallback;
+import com.orbekk.same.Client;
+import com.orbekk.same.ConnectionState;
+import com.orbekk.same.Master;
+import com.orbekk.same.RpcFactory;
+import com.orbekk.same.Services;
+import com.orbekk.same.State;
+
+/**
+ * Measures update throughput and fan-out with and without subscriptions.
+ * 
+ * Every client owns the components with the prefix "clientN/". With
+ * subscriptions, each client subscribes to its own prefix, so an update
+ * is only sent to one client instead of all of them.
+ */
+public class SubscriptionBenchmark {
+    private static final int WRITERS = 10;
+    private final int updatesPerWriter;
+
+    public SubscriptionBenchmark(int updatesPerWriter) {
+        this.updatesPerWriter = updatesPerWriter;
+    }
+
+    private class Writer implements Runnable {
+        private final Services.Master master;
+        private final RpcFactory rpcf;
+        private final int id;
+        private final int numClients;
+        private final CountDownLatch finished;
+
+        public Writer(Services.Master master, RpcFactory rpcf, int id,
+                int numClients, CountDownLatch finished) {
+            this.master = master;
+            this.rpcf = rpcf;
+            this.id = id;
+            this.numClients = numClients;
+            this.finished = finished;
+        }
+
+        @Override public void run() {
+            RpcCallback<Services.UpdateComponentResponse> done =
+                    new RpcCallback<Services.UpdateComponentResponse>() {
+                @Override public void run(
+                        Services.UpdateComponentResponse response) {
+                }
+            };
+            for (int i = 0; i < updatesPerWriter; i++) {
+                Services.Component request = Services.Component.newBuilder()
+                        .setId("client" + (i % numClients) + "/writer" +
+                                id + "/" + i)
+                        .setRevision(0)
+                        .setData("\"value\"")
+                        .build();
+                master.updateStateRequest(rpcf.create(), request, done);
+            }
+            finished.countDown();
+        }
+    }
+
+    public void run(int numClients, boolean subscribe) throws Exception {
+        SimulatedNetwork network = new SimulatedNetwork(100, 64);
+        RpcFactory rpcf = new RpcFactory(60000);
+        List<String> locations = new ArrayList<String>();
+        List<Client> clients = new ArrayList<Client>();
+        for (int i = 0; i < numClients; i++) {
+            String location = "client" + i + ":1";
+            Client client = new Client(new State(), network,
+                    "http://" + location, location, rpcf);
+            network.addClient(location, client.getNewService());
+            if (subscribe) {
+                // Sent to the master during the takeover.
+                client.getInterface().subscribePrefix("client" + i + "/");
+            }
+            clients.add(client);
+            locations.add(location);
+        }
+        State initialState = new State();
+        initialState.updateFromObject(State.PARTICIPANTS, locations, 2);
+        Master master = Master.create(network, "http://master",
+                "Benchmark", "master:1", rpcf);
+        master.resumeFrom(initialState, 1);
+        for (Client client : clients) {
+            while (client.getConnectionState() != ConnectionState.STABLE) {
+                Thread.sleep(1);
+            }
+        }
+        network.awaitIdle();
+        master.start();
+        network.resetCounters();
+
+        CountDownLatch finished = new CountDownLatch(WRITERS);
+        long startTime = System.nanoTime();
+        for (int i = 0; i < WRITERS; i++) {
+            new Thread(new Writer(master.getNewService(), rpcf, i,
+                    numClients, finished)).start();
+        }
+        finished.await();
+        network.awaitIdle();
+        double elapsed = (System.nanoTime() - startTime) / 1e9;
+        master.interrupt();
+        for (Client client : clients) {
+            client.interrupt();
+        }
+
+        int updates = WRITERS * updatesPerWriter;
+        System.out.println(String.format(
+                "%3d clients, %-13s %8.0f updates/s, %6.2f RPCs/update, " +
+                "%6.0f bytes/update",
+                numClients, subscribe ? "subscribed:" : "broadcast:",
+                updates / elapsed, (double)network.getRpcs() / updates,
+                (double)network.getBytes() / updates));
+    }
+
+    public static void main(String[] args) throws Exception {
+        int updates = 20000;
+        if (args.length > 0) {
+            updates = Integer.valueOf(args[0]);
+        }
+        SubscriptionBenchmark benchmark =
+                new SubscriptionBenchmark(updates / WRITERS);
+        benchmark.run(10, false);  // Warmup.
+        int[] clientCounts = { 10, 50, 100 };
+        for (int clients : clientCounts) {
+            benchmark.run(clients, false);
+            benchmark.run(clients, true);
+        }
+        System.exit(0);
+    }
+}
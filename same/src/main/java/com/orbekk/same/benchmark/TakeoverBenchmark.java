@@ -0,0 +1,129 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.orbekk.same.Client;
+import com.orbekk.same.ConnectionState;
+import com.orbekk.same.Master;
+import com.orbekk.same.RpcFactory;
+import com.orbekk.same.State;
+
+/**
+ * Measures how long a master takeover takes for different state sizes and
+ * numbers of clients.
+ * 
+ * The participants run in one process and talk through a SimulatedNetwork.
+ * New clients start with an empty state. Clients in a running network
+ * start with the state of the failed master, and one of them has received
+ * a few updates that the new master has not, as when a master fails while
+ * sending them.
+ */
+public class TakeoverBenchmark {
+    private static final int NETWORK_THREADS = 64;
+    /** Updates only the first client received from the failed master. */
+    private static final int UNSEEN_UPDATES = 10;
+    private final SimulatedNetwork network;
+
+    public TakeoverBenchmark(long latencyMicros) {
+        network = new SimulatedNetwork(latencyMicros, NETWORK_THREADS);
+    }
+
+    /** Returns the takeover time in milliseconds. */
+    public double run(int components, int numClients, boolean inSync)
+            throws Exception {
+        RpcFactory rpcf = new RpcFactory(60000);
+        List<String> locations = new ArrayList<String>();
+        for (int i = 0; i < numClients; i++) {
+            locations.add("client" + i + ":1");
+        }
+        State lastKnownState = new State();
+        for (int i = 0; i < components; i++) {
+            lastKnownState.update("component" + i, "\"value" + i + "\"",
+                    i + 2);
+        }
+        lastKnownState.updateFromObject(State.PARTICIPANTS, locations,
+                components + 2);
+        List<Client> clients = new ArrayList<Client>();
+        for (String location : locations) {
+            // Snapshots share the components, so this is cheap.
+            State clientState = inSync ? new State(lastKnownState) :
+                    new State();
+            if (inSync && clients.isEmpty()) {
+                for (int i = 0; i < UNSEEN_UPDATES; i++) {
+                    clientState.update("component" + i, "\"newer\"",
+                            components + 3 + i);
+                }
+            }
+            Client client = new Client(clientState, network,
+                    "http://" + location, location, rpcf);
+            network.addClient(location, client.getNewService());
+            clients.add(client);
+        }
+        Master master = Master.create(network, "http://master",
+                "Benchmark", "master:1", rpcf);
+        network.resetCounters();
+        long startTime = System.nanoTime();
+        master.resumeFrom(lastKnownState, 2);
+        for (Client client : clients) {
+            while (client.getConnectionState() != ConnectionState.STABLE) {
+                Thread.sleep(1);
+            }
+        }
+        double elapsed = (System.nanoTime() - startTime) / 1e6;
+        network.awaitIdle();
+        if (inSync) {
+            for (Client client : clients) {
+                if (!"\"newer\"".equals(
+                        client.getInterface().getState().getDataOf("component0"))) {
+                    throw new IllegalStateException("Update was lost.");
+                }
+            }
+        }
+        for (Client client : clients) {
+            client.interrupt();
+        }
+        return elapsed;
+    }
+
+    public static void main(String[] args) throws Exception {
+        long latencyMicros = 100;
+        if (args.length > 0) {
+            latencyMicros = Long.valueOf(args[0]);
+        }
+        TakeoverBenchmark benchmark = new TakeoverBenchmark(latencyMicros);
+        benchmark.run(1000, 10, false);  // Warmup.
+        int[] stateSizes = { 1000, 10000, 50000 };
+        int[] clientCounts = { 10, 50 };
+        boolean[] inSyncModes = { false, true };
+        for (boolean inSync : inSyncModes) {
+            for (int components : stateSizes) {
+                for (int clients : clientCounts) {
+                    double elapsed = benchmark.run(components, clients, inSync);
+                    System.out.println(String.format(
+                            "%-8s %6d components, %d clients: %6.0f ms, " +
+                            "%5d RPCs, %6d KB",
+                            inSync ? "running" : "new", components, clients,
+                            elapsed, benchmark.network.getRpcs(),
+                            benchmark.network.getBytes() / 1024));
+                }
+            }
+        }
+        System.exit(0);
+    }
+}
@@ -0,0 +1,60 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same.codec;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/** A registry of the available value codecs. */
+public class Codecs {
+    public static final ValueCodec JSON = new JsonCodec();
+    public static final ValueCodec PROTOBUF = new ProtobufCodec();
+    public static final ValueCodec COMPACT = new CompactCodec();
+
+    private static final ConcurrentMap<Integer, ValueCodec> codecs =
+            new ConcurrentHashMap<Integer, ValueCodec>();
+
+    static {
+        register(JSON);
+        register(PROTOBUF);
+        register(COMPACT);
+    }
+
+    private Codecs() {
+    }
+
+    /**
+     * Makes a codec available for decoding. The codec id must be unique.
+     */
+    public static void register(ValueCodec codec) {
+        ValueCodec existing = codecs.putIfAbsent(codec.getId(), codec);
+        if (existing != null && existing != codec) {
+            throw new IllegalArgumentException("Codec id " + codec.getId() +
+                    " is already used by " + existing);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if no codec has the given id.
+     */
+    public static ValueCodec get(int id) {
+        ValueCodec codec = codecs.get(id);
+        if (codec == null) {
+            throw new IllegalArgumentException("Unknown codec: " + id);
+        }
+        return codec;
+    }
+}
@@ -0,0 +1,233 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.codehaus.jackson.map.ObjectMapper;
+import org.codehaus.jackson.type.TypeReference;
+
+/**
+ * A compact, type-tagged binary encoding of JSON-like values.
+ * 
+ * Integers are stored as zig-zag varints and doubles in 8 bytes, so small
+ * numeric state takes a fraction of the space of its JSON text. Values
+ * that are not strings, numbers, booleans, lists or maps are converted to
+ * that form with Jackson first.
+ */
+public class CompactCodec implements ValueCodec {
+    public static final int ID = 2;
+
+    private static final int NULL = 0;
+    private static final int FALSE = 1;
+    private static final int TRUE = 2;
+    private static final int INTEGER = 3;
+    private static final int DOUBLE = 4;
+    private static final int STRING = 5;
+    private static final int LIST = 6;
+    private static final int MAP = 7;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Override public int getId() {
+        return ID;
+    }
+
+    @Override public byte[] encode(Object value) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        write(out, value);
+        return out.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override public <T> T decode(byte[] data, TypeReference<T> type)
+            throws IOException {
+        Reader reader = new Reader(data);
+        Object value = reader.read();
+        if (value == null || isDecodedAs(value, type.getType())) {
+            return (T)value;
+        }
+        return (T)mapper.convertValue(value, type);
+    }
+
+    /**
+     * Whether a decoded value can be returned as 'type' without conversion,
+     * e.g., a decoded map as a Map<String, Object>.
+     */
+    private boolean isDecodedAs(Object value, Type type) {
+        if (type instanceof Class) {
+            return ((Class<?>)type).isInstance(value);
+        }
+        if (!(type instanceof ParameterizedType)) {
+            return false;
+        }
+        ParameterizedType parameterized = (ParameterizedType)type;
+        if (!isDecodedAs(value, parameterized.getRawType())) {
+            return false;
+        }
+        Type[] arguments = parameterized.getActualTypeArguments();
+        if (value instanceof Map) {
+            return arguments.length == 2 && arguments[0] == String.class &&
+                    arguments[1] == Object.class;
+        }
+        return arguments.length == 1 && arguments[0] == Object.class;
+    }
+
+    private void write(ByteArrayOutputStream out, Object value)
+            throws IOException {
+        if (value == null) {
+            out.write(NULL);
+        } else if (value instanceof Boolean) {
+            out.write((Boolean)value ? TRUE : FALSE);
+        } else if (value instanceof Integer || value instanceof Long ||
+                value instanceof Short || value instanceof Byte) {
+            out.write(INTEGER);
+            long n = ((Number)value).longValue();
+            writeVarint(out, (n << 1) ^ (n >> 63));
+        } else if (value instanceof Number) {
+            out.write(DOUBLE);
+            long bits = Double.doubleToLongBits(((Number)value).doubleValue());
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                out.write((int)(bits >>> shift));
+            }
+        } else if (value instanceof String) {
+            out.write(STRING);
+            writeString(out, (String)value);
+        } else if (value instanceof List) {
+            List<?> list = (List<?>)value;
+            out.write(LIST);
+            writeVarint(out, list.size());
+            for (Object item : list) {
+                write(out, item);
+            }
+        } else if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>)value;
+            out.write(MAP);
+            writeVarint(out, map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeString(out, String.valueOf(entry.getKey()));
+                write(out, entry.getValue());
+            }
+        } else {
+            write(out, mapper.convertValue(value, Object.class));
+        }
+    }
+
+    private void writeString(ByteArrayOutputStream out, String s)
+            throws IOException {
+        byte[] bytes = s.getBytes("UTF-8");
+        writeVarint(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private void writeVarint(ByteArrayOutputStream out, long n) {
+        while ((n & ~0x7FL) != 0) {
+            out.write((int)((n & 0x7F) | 0x80));
+            n >>>= 7;
+        }
+        out.write((int)n);
+    }
+
+    private static class Reader {
+        private final byte[] data;
+        private int position = 0;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        private int readByte() throws IOException {
+            if (position >= data.length) {
+                throw new EOFException("Truncated value.");
+            }
+            return data[position++] & 0xFF;
+        }
+
+        private long readVarint() throws IOException {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                result |= (long)(b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IOException("Malformed varint.");
+        }
+
+        private String readString() throws IOException {
+            int length = (int)readVarint();
+            if (length < 0 || position + length > data.length) {
+                throw new EOFException("Truncated string.");
+            }
+            String s = new String(data, position, length, "UTF-8");
+            position += length;
+            return s;
+        }
+
+        Object read() throws IOException {
+            int tag = readByte();
+            switch (tag) {
+            case NULL:
+                return null;
+            case FALSE:
+                return false;
+            case TRUE:
+                return true;
+            case INTEGER:
+                long encoded = readVarint();
+                long n = (encoded >>> 1) ^ -(encoded & 1);
+                if (n >= Integer.MIN_VALUE && n <= Integer.MAX_VALUE) {
+                    return (int)n;
+                }
+                return n;
+            case DOUBLE:
+                long bits = 0;
+                for (int i = 0; i < 8; i++) {
+                    bits = (bits << 8) | readByte();
+                }
+                return Double.longBitsToDouble(bits);
+            case STRING:
+                return readString();
+            case LIST:
+                int size = (int)readVarint();
+                List<Object> list = new ArrayList<Object>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(read());
+                }
+                return list;
+            case MAP:
+                int entries = (int)readVarint();
+                Map<String, Object> map = new LinkedHashMap<String, Object>();
+                for (int i = 0; i < entries; i++) {
+                    String key = readString();
+                    map.put(key, read());
+                }
+                return map;
+            default:
+                throw new IOException("Unknown tag: " + tag);
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same.codec;
+
+import java.io.IOException;
+
+import org.codehaus.jackson.map.ObjectMapper;
+import org.codehaus.jackson.type.TypeReference;
+
+/** Encodes values as UTF-8 JSON. This is the default codec. */
+public class JsonCodec implements ValueCodec {
+    public static final int ID = 0;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Override public int getId() {
+        return ID;
+    }
+
+    @Override public byte[] encode(Object value) throws IOException {
+        return mapper.writeValueAsBytes(value);
+    }
+
+    @Override public <T> T decode(byte[] data, TypeReference<T> type)
+            throws IOException {
+        return mapper.<T>readValue(data, 0, data.length, type);
+    }
+}
@@ -0,0 +1,151 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import org.codehaus.jackson.JsonNode;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.codehaus.jackson.node.ArrayNode;
+import org.codehaus.jackson.node.ObjectNode;
+
+/**
+ * Atomic operations on JSON values, such as adding to a number or
+ * appending to a list. A missing value counts as 0 for numbers, as an
+ * empty list for list operations and as an empty object for object
+ * operations.
+ * 
+ * This class is thread-safe.
+ */
+public class JsonOperations {
+    public enum Operator {
+        ADD, APPEND, REMOVE, PUT, REMOVE_KEY, MIN, MAX
+    }
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private JsonOperations() {
+    }
+
+    /**
+     * Applies 'operator' with 'operand' to the JSON value 'current' and
+     * returns the new value. 'current' is null if there is no value.
+     * 'key' is only used by PUT and REMOVE_KEY.
+     * 
+     * @throws IOException if the operation does not fit the value.
+     */
+    public static byte[] apply(Operator operator, byte[] current,
+            byte[] operand, String key) throws IOException {
+        JsonNode value = current == null ? null : readTree(current);
+        JsonNode argument = operand == null ? null : readTree(operand);
+        JsonNode result;
+        switch (operator) {
+        case ADD:
+            result = add(number(value), number(argument));
+            break;
+        case MIN:
+        case MAX:
+            number(argument);
+            if (value == null) {
+                result = argument;
+            } else {
+                boolean smaller = number(argument).getDoubleValue() <
+                        number(value).getDoubleValue();
+                result = smaller == (operator == Operator.MIN) ?
+                        argument : value;
+            }
+            break;
+        case APPEND:
+            ArrayNode appended = list(value);
+            appended.add(required(argument));
+            result = appended;
+            break;
+        case REMOVE:
+            result = remove(list(value), required(argument));
+            break;
+        case PUT:
+            ObjectNode updated = object(value);
+            updated.put(required(key), required(argument));
+            result = updated;
+            break;
+        case REMOVE_KEY:
+            ObjectNode removed = object(value);
+            removed.remove(required(key));
+            result = removed;
+            break;
+        default:
+            throw new IOException("Unknown operator: " + operator);
+        }
+        return mapper.writeValueAsBytes(result);
+    }
+
+    private static JsonNode readTree(byte[] data) throws IOException {
+        return mapper.readTree(new ByteArrayInputStream(data));
+    }
+
+    private static <T> T required(T argument) throws IOException {
+        if (argument == null) {
+            throw new IOException("Missing operand.");
+        }
+        return argument;
+    }
+
+    private static JsonNode number(JsonNode node) throws IOException {
+        if (node == null) {
+            return mapper.getNodeFactory().numberNode(0L);
+        } else if (!node.isNumber()) {
+            throw new IOException("Not a number: " + node);
+        }
+        return node;
+    }
+
+    private static JsonNode add(JsonNode a, JsonNode b) {
+        if (a.isIntegralNumber() && b.isIntegralNumber()) {
+            return mapper.getNodeFactory().numberNode(
+                    a.getLongValue() + b.getLongValue());
+        }
+        return mapper.getNodeFactory().numberNode(
+                a.getDoubleValue() + b.getDoubleValue());
+    }
+
+    private static ArrayNode list(JsonNode node) throws IOException {
+        if (node == null) {
+            return mapper.createArrayNode();
+        } else if (!node.isArray()) {
+            throw new IOException("Not a list: " + node);
+        }
+        return (ArrayNode)node;
+    }
+
+    private static ArrayNode remove(ArrayNode list, JsonNode element) {
+        for (int i = list.size() - 1; i >= 0; i--) {
+            if (list.get(i).equals(element)) {
+                list.remove(i);
+            }
+        }
+        return list;
+    }
+
+    private static ObjectNode object(JsonNode node) throws IOException {
+        if (node == null) {
+            return mapper.createObjectNode();
+        } else if (!node.isObject()) {
+            throw new IOException("Not an object: " + node);
+        }
+        return (ObjectNode)node;
+    }
+}
@@ -0,0 +1,200 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Iterator;
+
+import org.codehaus.jackson.JsonNode;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.codehaus.jackson.node.ArrayNode;
+import org.codehaus.jackson.node.ObjectNode;
+
+/**
+ * Structural diffs of JSON values.
+ * 
+ * A patch is a JSON list of operations. Each operation has a "path" that
+ * is a list of object keys and array indices:
+ * 
+ *   {"op": "set", "path": [...], "value": v}  Sets or appends a value.
+ *   {"op": "remove", "path": [...]}           Removes an object key.
+ *   {"op": "truncate", "path": [...], "length": n}  Shortens a list.
+ * 
+ * This class is thread-safe.
+ */
+public class JsonPatch {
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private JsonPatch() {
+    }
+
+    /**
+     * Returns a patch that transforms the JSON value 'from' into 'to'.
+     */
+    public static byte[] diff(byte[] from, byte[] to) throws IOException {
+        ArrayNode patch = mapper.createArrayNode();
+        diff(readTree(from), readTree(to), mapper.createArrayNode(), patch);
+        return mapper.writeValueAsBytes(patch);
+    }
+
+    /**
+     * Applies 'patch' to the JSON value 'base' and returns the new value.
+     * 
+     * @throws IOException if the patch is invalid or does not fit 'base'.
+     */
+    public static byte[] apply(byte[] base, byte[] patch) throws IOException {
+        JsonNode root = readTree(base);
+        for (JsonNode op : readTree(patch)) {
+            root = applyOperation(root, op);
+        }
+        return mapper.writeValueAsBytes(root);
+    }
+
+    private static JsonNode readTree(byte[] data) throws IOException {
+        return mapper.readTree(new ByteArrayInputStream(data));
+    }
+
+    private static ArrayNode append(ArrayNode path, JsonNode element) {
+        ArrayNode newPath = mapper.createArrayNode();
+        newPath.addAll(path);
+        newPath.add(element);
+        return newPath;
+    }
+
+    private static void set(ArrayNode path, JsonNode value, ArrayNode patch) {
+        ObjectNode op = patch.addObject();
+        op.put("op", "set");
+        op.put("path", path);
+        op.put("value", value);
+    }
+
+    private static void diff(JsonNode from, JsonNode to, ArrayNode path,
+            ArrayNode patch) {
+        if (from.equals(to)) {
+            return;
+        } else if (from.isObject() && to.isObject()) {
+            Iterator<String> fromFields = from.getFieldNames();
+            while (fromFields.hasNext()) {
+                String field = fromFields.next();
+                if (to.get(field) == null) {
+                    ObjectNode op = patch.addObject();
+                    op.put("op", "remove");
+                    op.put("path", append(path, mapper.getNodeFactory()
+                            .textNode(field)));
+                }
+            }
+            Iterator<String> toFields = to.getFieldNames();
+            while (toFields.hasNext()) {
+                String field = toFields.next();
+                ArrayNode fieldPath = append(path,
+                        mapper.getNodeFactory().textNode(field));
+                JsonNode fromValue = from.get(field);
+                if (fromValue == null) {
+                    set(fieldPath, to.get(field), patch);
+                } else {
+                    diff(fromValue, to.get(field), fieldPath, patch);
+                }
+            }
+        } else if (from.isArray() && to.isArray()) {
+            int common = Math.min(from.size(), to.size());
+            for (int i = 0; i < common; i++) {
+                diff(from.get(i), to.get(i),
+                        append(path, mapper.getNodeFactory().numberNode(i)),
+                        patch);
+            }
+            if (to.size() < from.size()) {
+                ObjectNode op = patch.addObject();
+                op.put("op", "truncate");
+                op.put("path", path);
+                op.put("length", to.size());
+            }
+            for (int i = common; i < to.size(); i++) {
+                set(append(path, mapper.getNodeFactory().numberNode(i)),
+                        to.get(i), patch);
+            }
+        } else {
+            set(path, to, patch);
+        }
+    }
+
+    /** Returns the node at 'path', excluding the last 'skip' elements. */
+    private static JsonNode find(JsonNode root, JsonNode path, int skip)
+            throws IOException {
+        JsonNode node = root;
+        for (int i = 0; i < path.size() - skip; i++) {
+            JsonNode element = path.get(i);
+            node = element.isIntegralNumber() ?
+                    node.get(element.getIntValue()) :
+                    node.get(element.getTextValue());
+            if (node == null) {
+                throw new IOException("Invalid patch path: " + path);
+            }
+        }
+        return node;
+    }
+
+    private static JsonNode applyOperation(JsonNode root, JsonNode op)
+            throws IOException {
+        String type = op.path("op").getTextValue();
+        JsonNode path = op.get("path");
+        if (type == null || path == null || !path.isArray()) {
+            throw new IOException("Invalid patch operation: " + op);
+        }
+        if ("truncate".equals(type)) {
+            JsonNode node = find(root, path, 0);
+            int length = op.path("length").getIntValue();
+            if (!node.isArray() || length > node.size()) {
+                throw new IOException("Invalid truncate: " + op);
+            }
+            ArrayNode array = (ArrayNode)node;
+            while (array.size() > length) {
+                array.remove(array.size() - 1);
+            }
+            return root;
+        }
+        if (path.size() == 0) {
+            if ("set".equals(type) && op.get("value") != null) {
+                return op.get("value");
+            }
+            throw new IOException("Invalid patch operation: " + op);
+        }
+        if ("set".equals(type) && op.get("value") == null) {
+            throw new IOException("Invalid patch operation: " + op);
+        }
+        JsonNode parent = find(root, path, 1);
+        JsonNode last = path.get(path.size() - 1);
+        if ("set".equals(type) && parent.isObject()) {
+            ((ObjectNode)parent).put(last.getTextValue(), op.get("value"));
+        } else if ("set".equals(type) && parent.isArray() &&
+                last.isIntegralNumber()) {
+            ArrayNode array = (ArrayNode)parent;
+            int index = last.getIntValue();
+            if (index == array.size()) {
+                array.add(op.get("value"));
+            } else if (index >= 0 && index < array.size()) {
+                array.set(index, op.get("value"));
+            } else {
+                throw new IOException("Invalid patch index: " + op);
+            }
+        } else if ("remove".equals(type) && parent.isObject()) {
+            ((ObjectNode)parent).remove(last.getTextValue());
+        } else {
+            throw new IOException("Invalid patch operation: " + op);
+        }
+        return root;
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same.codec;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.codehaus.jackson.type.TypeReference;
+
+import com.google.protobuf.MessageLite;
+
+/**
+ * Encodes protobuf messages in their binary format.
+ * 
+ * The type used for decoding must be a generated message class.
+ */
+public class ProtobufCodec implements ValueCodec {
+    public static final int ID = 1;
+    private final ConcurrentMap<Type, Method> parsers =
+            new ConcurrentHashMap<Type, Method>();
+
+    @Override public int getId() {
+        return ID;
+    }
+
+    @Override public byte[] encode(Object value) throws IOException {
+        if (!(value instanceof MessageLite)) {
+            throw new IllegalArgumentException("Not a protobuf message: " +
+                    value);
+        }
+        return ((MessageLite)value).toByteArray();
+    }
+
+    private Method getParser(Type type) {
+        Method parser = parsers.get(type);
+        if (parser == null) {
+            if (!(type instanceof Class) ||
+                    !MessageLite.class.isAssignableFrom((Class<?>)type)) {
+                throw new IllegalArgumentException(
+                        "Not a protobuf message type: " + type);
+            }
+            try {
+                parser = ((Class<?>)type).getMethod("parseFrom", byte[].class);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalArgumentException(
+                        "Not a protobuf message type: " + type, e);
+            }
+            parsers.put(type, parser);
+        }
+        return parser;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override public <T> T decode(byte[] data, TypeReference<T> type)
+            throws IOException {
+        Method parser = getParser(type.getType());
+        try {
+            return (T)parser.invoke(null, data);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException(e);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException)e.getCause();
+            }
+            throw new IllegalArgumentException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same.codec;
+
+import java.io.IOException;
+
+import org.codehaus.jackson.type.TypeReference;
+
+/**
+ * Converts component values to and from bytes.
+ * 
+ * Each codec has an id that is stored with every component, so that
+ * different components can use different encodings. Custom codecs can be
+ * added with Codecs.register().
+ */
+public interface ValueCodec {
+    /** A unique id that identifies this codec on the wire. */
+    int getId();
+
+    byte[] encode(Object value) throws IOException;
+
+    <T> T decode(byte[] data, TypeReference<T> type) throws IOException;
+}
@@ -84,10 +84,42 @@ public class Configuration {
         return value;
     }
 
+    /** Returns the value of an optional property. */
+    public String get(String name, String defaultValue) {
+        return configuration.getProperty(name, defaultValue);
+    }
+
     public Integer getInt(String name) {
         if (get(name) == null) {
             return null;
         }
         return Integer.valueOf(get(name));
     }
+
+    /** Returns the value of an optional integer property. */
+    public int getInt(String name, int defaultValue) {
+        String value = configuration.getProperty(name);
+        return value == null ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    /** Returns the value of an optional long property. */
+    public long getLong(String name, long defaultValue) {
+        String value = configuration.getProperty(name);
+        return value == null ? defaultValue : Long.parseLong(value.trim());
+    }
+
+    /** Returns the value of an optional floating point property. */
+    public double getDouble(String name, double defaultValue) {
+        String value = configuration.getProperty(name);
+        return value == null ? defaultValue :
+                Double.parseDouble(value.trim());
+    }
+
+    /**
+     * Returns a configuration without properties, in which every optional
+     * property has its default value.
+     */
+    public static Configuration empty() {
+        return new Configuration(new Properties());
+    }
 }
@@ -0,0 +1,29 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same.crdt;
+
+/**
+ * A convergent replicated data type.
+ * 
+ * Values are combined with merge(), which is commutative, associative and
+ * idempotent: replicas that have merged the same values, in any order and
+ * any number of times, are equal. Updates are made by merging a delta
+ * that only contains the change, so concurrent updates never conflict.
+ */
+public interface Crdt<T extends Crdt<T>> {
+    /** Merges 'other' into this value. */
+    void merge(T other);
+}
@@ -0,0 +1,58 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same.crdt;
+
+import java.io.IOException;
+
+import org.codehaus.jackson.type.TypeReference;
+
+import com.orbekk.same.codec.Codecs;
+
+/**
+ * A CRDT that the master can merge. Values are stored as JSON, and the
+ * type is identified by its name in update requests.
+ */
+public class CrdtType<T extends Crdt<T>> {
+    private final String name;
+    private final TypeReference<T> type;
+
+    public CrdtType(String name, TypeReference<T> type) {
+        this.name = name;
+        this.type = type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Merges 'delta' into 'current' and returns the encoded result.
+     * 'current' is null if the component does not exist yet.
+     */
+    public byte[] merge(byte[] current, byte[] delta) throws IOException {
+        T value = Codecs.JSON.decode(delta, type);
+        if (current != null) {
+            T base = Codecs.JSON.decode(current, type);
+            base.merge(value);
+            value = base;
+        }
+        return Codecs.JSON.encode(value);
+    }
+
+    @Override public String toString() {
+        return "CrdtType(" + name + ")";
+    }
+}
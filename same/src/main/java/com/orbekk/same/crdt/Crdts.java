@@ -0,0 +1,77 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same.crdt;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.codehaus.jackson.type.TypeReference;
+
+/**
+ * A registry of the CRDT types the master can merge. The master does not
+ * need to know the element types, so it merges them as plain JSON values.
+ */
+public class Crdts {
+    public static final CrdtType<GCounter> G_COUNTER =
+            new CrdtType<GCounter>("g-counter",
+                    new TypeReference<GCounter>() {});
+    public static final CrdtType<PNCounter> PN_COUNTER =
+            new CrdtType<PNCounter>("pn-counter",
+                    new TypeReference<PNCounter>() {});
+    public static final CrdtType<ORSet<Object>> OR_SET =
+            new CrdtType<ORSet<Object>>("or-set",
+                    new TypeReference<ORSet<Object>>() {});
+    public static final CrdtType<LwwRegister<Object>> LWW_REGISTER =
+            new CrdtType<LwwRegister<Object>>("lww-register",
+                    new TypeReference<LwwRegister<Object>>() {});
+    public static final CrdtType<LwwMap<Object>> LWW_MAP =
+            new CrdtType<LwwMap<Object>>("lww-map",
+                    new TypeReference<LwwMap<Object>>() {});
+
+    private static final ConcurrentMap<String, CrdtType<?>> types =
+            new ConcurrentHashMap<String, CrdtType<?>>();
+
+    static {
+        register(G_COUNTER);
+        register(PN_COUNTER);
+        register(OR_SET);
+        register(LWW_REGISTER);
+        register(LWW_MAP);
+    }
+
+    private Crdts() {
+    }
+
+    /** Makes a CRDT type available for merging. The name must be unique. */
+    public static void register(CrdtType<?> type) {
+        CrdtType<?> existing = types.putIfAbsent(type.getName(), type);
+        if (existing != null && existing != type) {
+            throw new IllegalArgumentException("CRDT type " +
+                    type.getName() + " is already registered.");
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if no type has the given name.
+     */
+    public static CrdtType<?> get(String name) {
+        CrdtType<?> type = types.get(name);
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown CRDT type: " + name);
+        }
+        return type;
+    }
+}
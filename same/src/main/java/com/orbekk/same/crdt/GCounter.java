@@ -0,0 +1,75 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same.crdt;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A counter that can only grow. Each replica has its own count, and the
+ * value is the sum of the counts.
+ */
+public class GCounter implements Crdt<GCounter> {
+    private Map<String, Long> counts = new HashMap<String, Long>();
+
+    public Map<String, Long> getCounts() {
+        return counts;
+    }
+
+    public void setCounts(Map<String, Long> counts) {
+        this.counts = counts;
+    }
+
+    public long value() {
+        long sum = 0;
+        for (long count : counts.values()) {
+            sum += count;
+        }
+        return sum;
+    }
+
+    private long countOf(String replica) {
+        Long count = counts.get(replica);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Returns a delta that adds 'amount' to the count of 'replica'. Only
+     * 'replica' may add to its count, and it must see its own earlier
+     * additions in this value.
+     */
+    public GCounter add(String replica, long amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException(
+                    "A GCounter cannot be decremented.");
+        }
+        GCounter delta = new GCounter();
+        delta.counts.put(replica, countOf(replica) + amount);
+        return delta;
+    }
+
+    @Override public void merge(GCounter other) {
+        for (Map.Entry<String, Long> entry : other.counts.entrySet()) {
+            if (entry.getValue() > countOf(entry.getKey())) {
+                counts.put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @Override public String toString() {
+        return "GCounter(" + value() + ")";
+    }
+}
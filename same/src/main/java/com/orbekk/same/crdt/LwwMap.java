@@ -0,0 +1,85 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same.crdt;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A map of last-writer-wins registers. A removed key is kept as a
+ * register with a null value, so that it wins over older puts.
+ */
+public class LwwMap<V> implements Crdt<LwwMap<V>> {
+    private Map<String, LwwRegister<V>> entries =
+            new HashMap<String, LwwRegister<V>>();
+
+    public Map<String, LwwRegister<V>> getEntries() {
+        return entries;
+    }
+
+    public void setEntries(Map<String, LwwRegister<V>> entries) {
+        this.entries = entries;
+    }
+
+    /** Returns the value of 'key', or null if it is not in the map. */
+    public V valueOf(String key) {
+        LwwRegister<V> register = entries.get(key);
+        return register == null ? null : register.getValue();
+    }
+
+    /** Returns the keys and values in this map. */
+    public Map<String, V> toMap() {
+        Map<String, V> result = new HashMap<String, V>();
+        for (Map.Entry<String, LwwRegister<V>> entry : entries.entrySet()) {
+            if (entry.getValue().getValue() != null) {
+                result.put(entry.getKey(), entry.getValue().getValue());
+            }
+        }
+        return result;
+    }
+
+    /** Returns a delta that sets 'key' to 'value' on behalf of 'replica'. */
+    public LwwMap<V> put(String key, V value, String replica) {
+        LwwRegister<V> register = entries.get(key);
+        if (register == null) {
+            register = new LwwRegister<V>();
+        }
+        LwwMap<V> delta = new LwwMap<V>();
+        delta.entries.put(key, register.assign(value, replica));
+        return delta;
+    }
+
+    /** Returns a delta that removes 'key' on behalf of 'replica'. */
+    public LwwMap<V> remove(String key, String replica) {
+        return put(key, null, replica);
+    }
+
+    @Override public void merge(LwwMap<V> other) {
+        for (Map.Entry<String, LwwRegister<V>> entry :
+                other.entries.entrySet()) {
+            LwwRegister<V> register = entries.get(entry.getKey());
+            if (register == null) {
+                register = new LwwRegister<V>();
+                entries.put(entry.getKey(), register);
+            }
+            register.merge(entry.getValue());
+        }
+    }
+
+    @Override public String toString() {
+        return "LwwMap(" + toMap() + ")";
+    }
+}
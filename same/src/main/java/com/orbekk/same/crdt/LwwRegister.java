@@ -0,0 +1,82 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same.crdt;
+
+/**
+ * A last-writer-wins register. The value with the latest timestamp wins,
+ * and the replica id breaks ties.
+ */
+public class LwwRegister<T> implements Crdt<LwwRegister<T>> {
+    private T value;
+    private long timestamp = 0;
+    private String replica = "";
+
+    public T getValue() {
+        return value;
+    }
+
+    public void setValue(T value) {
+        this.value = value;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public String getReplica() {
+        return replica;
+    }
+
+    public void setReplica(String replica) {
+        this.replica = replica;
+    }
+
+    /**
+     * Returns a delta that sets the value on behalf of 'replica'. Its
+     * timestamp is the current time, but always later than this register,
+     * so that it wins over every value this replica has seen.
+     */
+    public LwwRegister<T> assign(T value, String replica) {
+        LwwRegister<T> delta = new LwwRegister<T>();
+        delta.value = value;
+        delta.timestamp = Math.max(System.currentTimeMillis(), timestamp + 1);
+        delta.replica = replica;
+        return delta;
+    }
+
+    private boolean isNewerThan(LwwRegister<T> other) {
+        if (timestamp != other.timestamp) {
+            return timestamp > other.timestamp;
+        }
+        return replica.compareTo(other.replica) > 0;
+    }
+
+    @Override public void merge(LwwRegister<T> other) {
+        if (other.isNewerThan(this)) {
+            value = other.value;
+            timestamp = other.timestamp;
+            replica = other.replica;
+        }
+    }
+
+    @Override public String toString() {
+        return "LwwRegister(" + value + ")";
+    }
+}
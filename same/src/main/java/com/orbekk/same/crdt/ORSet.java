@@ -0,0 +1,92 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same.crdt;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * An observed-remove set.
+ * 
+ * Every add is identified by a unique tag, and a remove only removes the
+ * tags it has observed. An element that is added and removed concurrently
+ * therefore stays in the set. The tags of removed elements are kept as
+ * tombstones so that a late add with the same tag has no effect.
+ */
+public class ORSet<E> implements Crdt<ORSet<E>> {
+    private Map<String, E> adds = new HashMap<String, E>();
+    private Set<String> removed = new HashSet<String>();
+
+    public Map<String, E> getAdds() {
+        return adds;
+    }
+
+    public void setAdds(Map<String, E> adds) {
+        this.adds = adds;
+    }
+
+    public Set<String> getRemoved() {
+        return removed;
+    }
+
+    public void setRemoved(Set<String> removed) {
+        this.removed = removed;
+    }
+
+    public Set<E> elements() {
+        return new LinkedHashSet<E>(adds.values());
+    }
+
+    public boolean contains(E element) {
+        return adds.containsValue(element);
+    }
+
+    /** Returns a delta that adds 'element'. */
+    public ORSet<E> add(E element) {
+        ORSet<E> delta = new ORSet<E>();
+        delta.adds.put(UUID.randomUUID().toString(), element);
+        return delta;
+    }
+
+    /** Returns a delta that removes the adds of 'element' in this set. */
+    public ORSet<E> remove(E element) {
+        ORSet<E> delta = new ORSet<E>();
+        for (Map.Entry<String, E> entry : adds.entrySet()) {
+            if (entry.getValue().equals(element)) {
+                delta.removed.add(entry.getKey());
+            }
+        }
+        return delta;
+    }
+
+    @Override public void merge(ORSet<E> other) {
+        removed.addAll(other.removed);
+        for (Map.Entry<String, E> entry : other.adds.entrySet()) {
+            if (!removed.contains(entry.getKey())) {
+                adds.put(entry.getKey(), entry.getValue());
+            }
+        }
+        adds.keySet().removeAll(removed);
+    }
+
+    @Override public String toString() {
+        return "ORSet(" + elements() + ")";
+    }
+}
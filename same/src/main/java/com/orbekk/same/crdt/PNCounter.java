@@ -0,0 +1,68 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same.crdt;
+
+/**
+ * A counter that can be incremented and decremented. It consists of one
+ * GCounter for increments and one for decrements.
+ */
+public class PNCounter implements Crdt<PNCounter> {
+    private GCounter increments = new GCounter();
+    private GCounter decrements = new GCounter();
+
+    public GCounter getIncrements() {
+        return increments;
+    }
+
+    public void setIncrements(GCounter increments) {
+        this.increments = increments;
+    }
+
+    public GCounter getDecrements() {
+        return decrements;
+    }
+
+    public void setDecrements(GCounter decrements) {
+        this.decrements = decrements;
+    }
+
+    public long value() {
+        return increments.value() - decrements.value();
+    }
+
+    /**
+     * Returns a delta that adds 'amount', which may be negative, on behalf
+     * of 'replica'. See GCounter.add().
+     */
+    public PNCounter add(String replica, long amount) {
+        PNCounter delta = new PNCounter();
+        if (amount >= 0) {
+            delta.increments = increments.add(replica, amount);
+        } else {
+            delta.decrements = decrements.add(replica, -amount);
+        }
+        return delta;
+    }
+
+    @Override public void merge(PNCounter other) {
+        increments.merge(other.increments);
+        decrements.merge(other.decrements);
+    }
+
+    @Override public String toString() {
+        return "PNCounter(" + value() + ")";
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same.storage;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.orbekk.same.Services;
+import com.orbekk.same.ServicesPbConversion;
+import com.orbekk.same.State.Component;
+
+/**
+ * Encoding of components in log and snapshot files.
+ *
+ * Each record is [length:int][crc32:int][Services.Component]. A record
+ * that is cut short or fails the checksum ends the file, which is what a
+ * torn write at the tail of a log looks like.
+ */
+final class Records {
+    static final int HEADER_SIZE = 8;
+
+    private Records() {
+    }
+
+    static byte[] encode(Component component) {
+        return ServicesPbConversion.componentToPb(component).toByteArray();
+    }
+
+    static int size(byte[] payload) {
+        return HEADER_SIZE + payload.length;
+    }
+
+    static void put(ByteBuffer buffer, byte[] payload) {
+        buffer.putInt(payload.length);
+        buffer.putInt(checksum(payload));
+        buffer.put(payload);
+    }
+
+    /** Returns the next component, or null at the end of valid data. */
+    static Component next(ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_SIZE) {
+            return null;
+        }
+        int length = buffer.getInt();
+        int crc = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            return null;
+        }
+        byte[] payload = new byte[length];
+        buffer.get(payload);
+        if (checksum(payload) != crc) {
+            return null;
+        }
+        try {
+            return ServicesPbConversion.componentFromPb(
+                    Services.Component.parseFrom(payload));
+        } catch (InvalidProtocolBufferException e) {
+            return null;
+        }
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+        return (int)crc.getValue();
+    }
+}
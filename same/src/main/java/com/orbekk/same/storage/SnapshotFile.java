@@ -0,0 +1,107 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+import com.orbekk.same.State;
+import com.orbekk.same.State.Component;
+
+/**
+ * A file with all the components of a state. Snapshots are streamed to
+ * disk and read back through a memory mapping.
+ */
+public class SnapshotFile {
+    /** The size of the buffer records are written through. */
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private SnapshotFile() {
+    }
+
+    /**
+     * Writes 'components' to 'file'. The snapshot is written to a temporary
+     * file first, so 'file' is either complete or absent.
+     */
+    public static void write(File file, Iterable<Component> components)
+            throws IOException {
+        File tmp = new File(file.getPath() + ".tmp");
+        RandomAccessFile out = new RandomAccessFile(tmp, "rw");
+        try {
+            out.setLength(0);
+            FileChannel channel = out.getChannel();
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            for (Component component : components) {
+                byte[] payload = Records.encode(component);
+                int size = Records.size(payload);
+                if (size > buffer.remaining()) {
+                    flush(channel, buffer);
+                }
+                if (size > buffer.capacity()) {
+                    ByteBuffer large = ByteBuffer.allocate(size);
+                    Records.put(large, payload);
+                    flush(channel, large);
+                } else {
+                    Records.put(buffer, payload);
+                }
+            }
+            flush(channel, buffer);
+            channel.force(true);
+        } finally {
+            out.close();
+        }
+        if (!tmp.renameTo(file)) {
+            throw new IOException("Failed to rename " + tmp + " to " + file);
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer)
+            throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Reads the records of a snapshot or log file into 'state'.
+     *
+     * @return the number of components read.
+     */
+    public static int read(File file, State state) throws IOException {
+        RandomAccessFile in = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = in.getChannel();
+            MappedByteBuffer buffer = channel.map(
+                    FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int count = 0;
+            Component component = Records.next(buffer);
+            while (component != null) {
+                state.update(component);
+                count += 1;
+                component = Records.next(buffer);
+            }
+            return count;
+        } finally {
+            in.close();
+        }
+    }
+}
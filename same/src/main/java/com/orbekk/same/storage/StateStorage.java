@@ -0,0 +1,305 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.orbekk.same.State;
+import com.orbekk.same.State.Component;
+import com.orbekk.same.StateChangedListener;
+
+/**
+ * Persists a State in a directory as snapshots plus a write-ahead log.
+ *
+ * The directory contains files named snapshot-N and wal-N. snapshot-N
+ * contains every update in the log segments before N, so recovery reads
+ * the latest snapshot and then replays segment N and later. Replaying is
+ * idempotent since State.update() ignores revisions it already has.
+ *
+ * Updates to the attached state are logged as they are installed. An
+ * update that must be durable before anyone can see it is passed to
+ * log() before it is installed instead.
+ */
+public class StateStorage implements StateChangedListener {
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 100000;
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String LOG_PREFIX = "wal-";
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final File directory;
+    /** The number of logged updates between two snapshots. */
+    private final int snapshotInterval;
+    private final AtomicLong sinceSnapshot = new AtomicLong(0);
+    private final AtomicBoolean snapshotScheduled = new AtomicBoolean(false);
+    private final ExecutorService snapshotExecutor =
+            Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "StateStorage");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+    private volatile WriteAheadLog log = null;
+    private volatile State state = null;
+    /**
+     * The revision of each component passed to log() that has not been
+     * installed yet. Notified when one is installed or abandoned.
+     */
+    private final ConcurrentMap<String, Long> unpublished =
+            new ConcurrentHashMap<String, Long>();
+
+    private final Runnable snapshotTask = new Runnable() {
+        @Override public void run() {
+            try {
+                snapshot();
+            } catch (IOException e) {
+                logger.error("Failed to write snapshot: ", e);
+            } finally {
+                snapshotScheduled.set(false);
+            }
+        }
+    };
+
+    public StateStorage(File directory) throws IOException {
+        this(directory, DEFAULT_SNAPSHOT_INTERVAL);
+    }
+
+    public StateStorage(File directory, int snapshotInterval)
+            throws IOException {
+        this.directory = directory;
+        this.snapshotInterval = snapshotInterval;
+        directory.mkdirs();
+        if (!directory.isDirectory()) {
+            throw new IOException("Not a directory: " + directory);
+        }
+    }
+
+    /**
+     * Reads the latest snapshot and the log written after it into 'state'.
+     *
+     * @return the number of records read.
+     */
+    public int recoverInto(State state) throws IOException {
+        List<Long> snapshots = listFiles(SNAPSHOT_PREFIX);
+        long first = 0;
+        int count = 0;
+        if (!snapshots.isEmpty()) {
+            first = snapshots.get(snapshots.size() - 1);
+            count += SnapshotFile.read(file(SNAPSHOT_PREFIX, first), state);
+        }
+        for (long segment : listFiles(LOG_PREFIX)) {
+            if (segment >= first) {
+                count += SnapshotFile.read(file(LOG_PREFIX, segment), state);
+            }
+        }
+        logger.info("Recovered {} records from {}.", count, directory);
+        return count;
+    }
+
+    /**
+     * Persists all further updates to 'newState', and writes a snapshot of
+     * its current contents. Stops persisting the previously attached state.
+     */
+    public synchronized void attach(State newState) throws IOException {
+        if (state != null) {
+            state.removeStateListener(this);
+        }
+        if (log == null) {
+            long segment = 0;
+            for (long existing : listFiles(LOG_PREFIX)) {
+                segment = Math.max(segment, existing + 1);
+            }
+            for (long existing : listFiles(SNAPSHOT_PREFIX)) {
+                segment = Math.max(segment, existing + 1);
+            }
+            log = new WriteAheadLog(directory, segment);
+        }
+        state = newState;
+        newState.addStateListener(this);
+        snapshot();
+    }
+
+    @Override
+    public void stateChanged(Component component) {
+        Long logged = unpublished.get(component.getName());
+        if (logged != null && logged == component.getRevision()) {
+            published(component);
+            return;
+        }
+        append(component);
+    }
+
+    private void append(Component component) {
+        log.append(component);
+        if (sinceSnapshot.incrementAndGet() >= snapshotInterval &&
+                snapshotScheduled.compareAndSet(false, true)) {
+            snapshotExecutor.execute(snapshotTask);
+        }
+    }
+
+    private void published(Component component) {
+        synchronized (unpublished) {
+            unpublished.remove(component.getName(), component.getRevision());
+            unpublished.notifyAll();
+        }
+    }
+
+    /**
+     * Logs 'components' before they are installed in the attached state,
+     * and waits until they are on disk. They are not logged again when
+     * they are installed. Each of them must be installed, or passed to
+     * abandon() if that fails, and only one version of a component may be
+     * waiting to be installed at a time.
+     *
+     * @return false if they could not be written. They are abandoned.
+     */
+    public boolean log(List<Component> components) {
+        for (Component component : components) {
+            // Before the append, so that a snapshot that rotates the log
+            // after it waits for the component to be installed.
+            unpublished.put(component.getName(), component.getRevision());
+            append(component);
+        }
+        if (!awaitDurable()) {
+            abandon(components);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Stops waiting for components passed to log() that will not be
+     * installed.
+     */
+    public void abandon(List<Component> components) {
+        for (Component component : components) {
+            published(component);
+        }
+    }
+
+    /**
+     * Waits until all updates logged so far are on disk.
+     *
+     * @return false if they could not be written.
+     */
+    public boolean awaitDurable() {
+        WriteAheadLog currentLog = log;
+        return currentLog == null || currentLog.awaitDurable();
+    }
+
+    /**
+     * Writes a snapshot of the attached state and deletes the files it
+     * makes obsolete.
+     */
+    public synchronized void snapshot() throws IOException {
+        long segment = log.rotate();
+        sinceSnapshot.set(0);
+        awaitPublished(new HashMap<String, Long>(unpublished));
+        // Everything logged before the rotation is now in the state.
+        State snapshot = new State(state);
+        long startTime = System.currentTimeMillis();
+        SnapshotFile.write(file(SNAPSHOT_PREFIX, segment),
+                snapshot.getComponents());
+        logger.info("Wrote snapshot {} in {} ms.", segment,
+                System.currentTimeMillis() - startTime);
+        for (long old : listFiles(SNAPSHOT_PREFIX)) {
+            if (old < segment) {
+                file(SNAPSHOT_PREFIX, old).delete();
+            }
+        }
+        for (long old : listFiles(LOG_PREFIX)) {
+            if (old < segment) {
+                file(LOG_PREFIX, old).delete();
+            }
+        }
+    }
+
+    /**
+     * Waits until the components 'logged', which were passed to log(),
+     * have been installed or abandoned.
+     */
+    private void awaitPublished(Map<String, Long> logged) throws IOException {
+        synchronized (unpublished) {
+            for (Map.Entry<String, Long> entry : logged.entrySet()) {
+                while (entry.getValue().equals(
+                        unpublished.get(entry.getKey()))) {
+                    try {
+                        unpublished.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException("Interrupted.");
+                    }
+                }
+            }
+        }
+    }
+
+    /** Returns the number of log fsyncs so far. */
+    public long getSyncs() {
+        WriteAheadLog currentLog = log;
+        return currentLog == null ? 0 : currentLog.getSyncs();
+    }
+
+    public synchronized void close() throws InterruptedException {
+        if (state != null) {
+            state.removeStateListener(this);
+        }
+        snapshotExecutor.shutdown();
+        if (log != null) {
+            log.close();
+        }
+    }
+
+    private File file(String prefix, long number) {
+        return new File(directory, prefix + number);
+    }
+
+    /** Returns the sorted numbers of the files named prefix + number. */
+    private List<Long> listFiles(String prefix) {
+        List<Long> numbers = new ArrayList<Long>();
+        String[] names = directory.list();
+        if (names == null) {
+            return numbers;
+        }
+        for (String name : names) {
+            if (name.startsWith(prefix)) {
+                try {
+                    numbers.add(Long.valueOf(name.substring(prefix.length())));
+                } catch (NumberFormatException e) {
+                    // Ignore temporary files.
+                }
+            }
+        }
+        Collections.sort(numbers);
+        return numbers;
+    }
+}
@@ -0,0 +1,221 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same.storage;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.orbekk.same.State.Component;
+
+/**
+ * An append-only log of component updates, split into numbered segments.
+ *
+ * Appends are buffered and written by a single writer thread, which
+ * forces each batch to disk with one fsync (group commit). Callers that
+ * need durability wait with awaitDurable().
+ */
+public class WriteAheadLog {
+    /** Marks a segment boundary in the pending records. */
+    private static final byte[] ROTATE = new byte[0];
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final File directory;
+    private final Object lock = new Object();
+    private final Thread writer;
+    // All fields below are guarded by lock.
+    private List<byte[]> pending = new ArrayList<byte[]>();
+    private long appended = 0;
+    private long durable = 0;
+    private long segment;
+    private long syncs = 0;
+    private boolean closed = false;
+    private boolean stopped = false;
+    private IOException failure = null;
+
+    private class Writer implements Runnable {
+        private FileOutputStream out;
+        private long currentSegment;
+
+        public Writer(long segment) throws IOException {
+            currentSegment = segment;
+            out = new FileOutputStream(segmentFile(directory, segment), true);
+        }
+
+        @Override public void run() {
+            try {
+                while (writeBatch()) {
+                }
+            } catch (IOException e) {
+                logger.error("Write-ahead log failed: ", e);
+                synchronized (lock) {
+                    failure = e;
+                    lock.notifyAll();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                synchronized (lock) {
+                    stopped = true;
+                    lock.notifyAll();
+                }
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    logger.warn("Failed to close write-ahead log: ", e);
+                }
+            }
+        }
+
+        /** Returns false when the log is closed. */
+        private boolean writeBatch() throws IOException, InterruptedException {
+            List<byte[]> batch;
+            long batchEnd;
+            synchronized (lock) {
+                while (pending.isEmpty() && !closed) {
+                    lock.wait();
+                }
+                if (pending.isEmpty()) {
+                    return false;
+                }
+                batch = pending;
+                batchEnd = appended;
+                pending = new ArrayList<byte[]>();
+            }
+            int start = 0;
+            for (int i = 0; i < batch.size(); i++) {
+                if (batch.get(i) == ROTATE) {
+                    write(batch.subList(start, i));
+                    out.getChannel().force(false);
+                    out.close();
+                    currentSegment += 1;
+                    out = new FileOutputStream(
+                            segmentFile(directory, currentSegment), true);
+                    start = i + 1;
+                }
+            }
+            write(batch.subList(start, batch.size()));
+            out.getChannel().force(false);
+            synchronized (lock) {
+                durable = batchEnd;
+                syncs += 1;
+                lock.notifyAll();
+            }
+            return true;
+        }
+
+        private void write(List<byte[]> records) throws IOException {
+            int size = 0;
+            for (byte[] payload : records) {
+                size += Records.size(payload);
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(size);
+            for (byte[] payload : records) {
+                Records.put(buffer, payload);
+            }
+            buffer.flip();
+            FileChannel channel = out.getChannel();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /** Opens a log that appends to 'segment' in 'directory'. */
+    public WriteAheadLog(File directory, long segment) throws IOException {
+        this.directory = directory;
+        this.segment = segment;
+        writer = new Thread(new Writer(segment), "WriteAheadLog");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    static File segmentFile(File directory, long segment) {
+        return new File(directory, "wal-" + segment);
+    }
+
+    public void append(Component component) {
+        byte[] payload = Records.encode(component);
+        synchronized (lock) {
+            pending.add(payload);
+            appended += 1;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Starts a new segment. Records appended earlier are in older segments.
+     *
+     * @return the number of the new segment.
+     */
+    public long rotate() {
+        synchronized (lock) {
+            pending.add(ROTATE);
+            segment += 1;
+            lock.notifyAll();
+            return segment;
+        }
+    }
+
+    /**
+     * Waits until every record appended before this call is on disk.
+     *
+     * @return false if the log has failed or the thread was interrupted.
+     */
+    public boolean awaitDurable() {
+        synchronized (lock) {
+            long target = appended;
+            try {
+                while (durable < target && failure == null && !stopped) {
+                    lock.wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            return durable >= target;
+        }
+    }
+
+    public long getAppended() {
+        synchronized (lock) {
+            return appended;
+        }
+    }
+
+    /** Returns the number of fsyncs, i.e., the number of group commits. */
+    public long getSyncs() {
+        synchronized (lock) {
+            return syncs;
+        }
+    }
+
+    /** Writes all pending records and stops the writer thread. */
+    public void close() throws InterruptedException {
+        synchronized (lock) {
+            closed = true;
+            lock.notifyAll();
+        }
+        writer.join();
+    }
+}
@@ -22,9 +22,12 @@ public class DelayedOperation {
         public final static int OK = 1;
         public final static int CONFLICT = 2;
         public final static int ERROR = 3;
+        /** The master is busy. Retry after getRetryAfterMillis(). */
+        public final static int OVERLOADED = 4;
 
         private int status;
         private String message;
+        private long retryAfterMillis = 0;
 
         public static Status createOk() {
             return new Status(OK, "");
@@ -38,6 +41,13 @@ public class DelayedOperation {
             return new Status(ERROR, message);
         }
 
+        public static Status createOverloaded(String message,
+                long retryAfterMillis) {
+            Status status = new Status(OVERLOADED, message);
+            status.retryAfterMillis = retryAfterMillis;
+            return status;
+        }
+
         public Status(int status, String message) {
             this.status = status;
             this.message = message;
@@ -55,8 +65,17 @@ public class DelayedOperation {
             return status == CONFLICT;
         }
         
+        public boolean isOverloaded() {
+            return status == OVERLOADED;
+        }
+        
         public boolean canRetry() {
-            return isError();
+            return isError() || isOverloaded();
+        }
+        
+        /** Returns how long to wait before retrying an overloaded update. */
+        public long getRetryAfterMillis() {
+            return retryAfterMillis;
         }
         
         public int getStatusCode() {
@@ -75,6 +94,9 @@ public class DelayedOperation {
                 return "Conflicting update: " + message;
             case ERROR:
                 return "Error: " + message;
+            case OVERLOADED:
+                return "Overloaded: " + message + " Retry after " +
+                        retryAfterMillis + " ms.";
             }
             throw new AssertionError("Unhandled case.");
         }
@@ -96,6 +118,7 @@ public class DelayedOperation {
 
     private volatile Status status;
     private volatile int identifier;
+    private volatile long revision = 0;
     private final CountDownLatch done = new CountDownLatch(1);
     
     public DelayedOperation() {
@@ -131,4 +154,16 @@ public class DelayedOperation {
     public synchronized void setIdentifier(int identifier) {
         this.identifier = identifier;
     }
+
+    /**
+     * Returns the revision the master gave a successful update, or 0 if
+     * it is not known.
+     */
+    public long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(long revision) {
+        this.revision = revision;
+    }
 }
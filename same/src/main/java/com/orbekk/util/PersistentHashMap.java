@@ -0,0 +1,301 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.util;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable hash array mapped trie.
+ * 
+ * put() returns a new map that shares all unchanged nodes with the old one,
+ * so keeping an old version around is free. This makes it possible to take
+ * a snapshot of a map in constant time.
+ * 
+ * Null keys and values are not supported.
+ */
+public final class PersistentHashMap<K, V> {
+    private static final PersistentHashMap<Object, Object> EMPTY =
+            new PersistentHashMap<Object, Object>(null, 0);
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    private final Node root;
+    private final int size;
+
+    /**
+     * Each node stores key/value pairs in a flat array. A null key means
+     * that the value is a child node.
+     */
+    private static abstract class Node {
+        final Object[] array;
+
+        Node(Object[] array) {
+            this.array = array;
+        }
+
+        abstract Object get(int shift, int hash, Object key);
+        abstract Node put(int shift, int hash, Object key, Object value,
+                boolean[] added);
+    }
+
+    private static final class BitmapNode extends Node {
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+        final int bitmap;
+
+        BitmapNode(int bitmap, Object[] array) {
+            super(array);
+            this.bitmap = bitmap;
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override Object get(int shift, int hash, Object key) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            int i = 2 * index(bit);
+            Object k = array[i];
+            Object v = array[i + 1];
+            if (k == null) {
+                return ((Node)v).get(shift + BITS, hash, key);
+            } else if (key.equals(k)) {
+                return v;
+            } else {
+                return null;
+            }
+        }
+
+        @Override Node put(int shift, int hash, Object key, Object value,
+                boolean[] added) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            int i = 2 * index(bit);
+            if ((bitmap & bit) == 0) {
+                Object[] newArray = new Object[array.length + 2];
+                System.arraycopy(array, 0, newArray, 0, i);
+                newArray[i] = key;
+                newArray[i + 1] = value;
+                System.arraycopy(array, i, newArray, i + 2, array.length - i);
+                added[0] = true;
+                return new BitmapNode(bitmap | bit, newArray);
+            }
+            Object k = array[i];
+            Object v = array[i + 1];
+            if (k == null) {
+                Node child = (Node)v;
+                Node newChild = child.put(shift + BITS, hash, key, value, added);
+                if (newChild == child) {
+                    return this;
+                }
+                return replace(i + 1, newChild);
+            } else if (key.equals(k)) {
+                if (v == value) {
+                    return this;
+                }
+                return replace(i + 1, value);
+            } else {
+                added[0] = true;
+                Node child = createNode(shift + BITS, k, v, hash, key, value);
+                Object[] newArray = array.clone();
+                newArray[i] = null;
+                newArray[i + 1] = child;
+                return new BitmapNode(bitmap, newArray);
+            }
+        }
+
+        private Node replace(int i, Object value) {
+            Object[] newArray = array.clone();
+            newArray[i] = value;
+            return new BitmapNode(bitmap, newArray);
+        }
+    }
+
+    /** Holds keys with identical hash codes. */
+    private static final class CollisionNode extends Node {
+        final int hash;
+
+        CollisionNode(int hash, Object[] array) {
+            super(array);
+            this.hash = hash;
+        }
+
+        @Override Object get(int shift, int hash, Object key) {
+            if (hash != this.hash) {
+                return null;
+            }
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    return array[i + 1];
+                }
+            }
+            return null;
+        }
+
+        @Override Node put(int shift, int hash, Object key, Object value,
+                boolean[] added) {
+            if (hash != this.hash) {
+                int bit = 1 << ((this.hash >>> shift) & MASK);
+                return new BitmapNode(bit, new Object[] { null, this })
+                        .put(shift, hash, key, value, added);
+            }
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    if (array[i + 1] == value) {
+                        return this;
+                    }
+                    Object[] newArray = array.clone();
+                    newArray[i + 1] = value;
+                    return new CollisionNode(hash, newArray);
+                }
+            }
+            Object[] newArray = new Object[array.length + 2];
+            System.arraycopy(array, 0, newArray, 0, array.length);
+            newArray[array.length] = key;
+            newArray[array.length + 1] = value;
+            added[0] = true;
+            return new CollisionNode(hash, newArray);
+        }
+    }
+
+    private static Node createNode(int shift, Object key1, Object value1,
+            int hash2, Object key2, Object value2) {
+        int hash1 = key1.hashCode();
+        if (hash1 == hash2) {
+            return new CollisionNode(hash1,
+                    new Object[] { key1, value1, key2, value2 });
+        }
+        boolean[] unused = new boolean[1];
+        return BitmapNode.EMPTY
+                .put(shift, hash1, key1, value1, unused)
+                .put(shift, hash2, key2, value2, unused);
+    }
+
+    private static class ValueIterator<V> implements Iterator<V> {
+        // The trie is at most 7 bitmap levels deep, plus a collision node.
+        private final Object[][] arrays = new Object[8][];
+        private final int[] positions = new int[8];
+        private int depth = -1;
+        private V next = null;
+
+        ValueIterator(Node root) {
+            if (root != null) {
+                push(root.array);
+                advance();
+            }
+        }
+
+        private void push(Object[] array) {
+            depth += 1;
+            arrays[depth] = array;
+            positions[depth] = 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            next = null;
+            while (depth >= 0) {
+                Object[] array = arrays[depth];
+                int i = positions[depth];
+                if (i >= array.length) {
+                    arrays[depth] = null;
+                    depth -= 1;
+                    continue;
+                }
+                positions[depth] = i + 2;
+                if (array[i] == null) {
+                    push(((Node)array[i + 1]).array);
+                } else {
+                    next = (V)array[i + 1];
+                    return;
+                }
+            }
+        }
+
+        @Override public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override public V next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            V result = next;
+            advance();
+            return result;
+        }
+
+        @Override public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private PersistentHashMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>)EMPTY;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        if (root == null) {
+            return null;
+        }
+        return (V)root.get(0, key.hashCode(), key);
+    }
+
+    /**
+     * Returns a map where 'key' maps to 'value'. This map is unchanged.
+     */
+    public PersistentHashMap<K, V> put(K key, V value) {
+        if (key == null || value == null) {
+            throw new NullPointerException();
+        }
+        boolean[] added = new boolean[1];
+        Node oldRoot = root != null ? root : BitmapNode.EMPTY;
+        Node newRoot = oldRoot.put(0, key.hashCode(), key, value, added);
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentHashMap<K, V>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the values of this map. Since the map is immutable, the
+     * returned view can be iterated while the map is being updated.
+     */
+    public Iterable<V> values() {
+        return new Iterable<V>() {
+            @Override public Iterator<V> iterator() {
+                return new ValueIterator<V>(root);
+            }
+        };
+    }
+}
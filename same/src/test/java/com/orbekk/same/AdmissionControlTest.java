@@ -0,0 +1,127 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.junit.Test;
+
+public class AdmissionControlTest {
+    private final List<String> served = new ArrayList<String>();
+    /** Runs the queued updates in the thread that releases a slot. */
+    private final Executor executor = new Executor() {
+        @Override public void execute(Runnable command) {
+            command.run();
+        }
+    };
+    /** An update that keeps its slot until released. */
+    private final Runnable holdSlot = new Runnable() {
+        @Override public void run() {
+        }
+    };
+
+    private long startUpdate(final AdmissionControl admission,
+            String origin, final String name) {
+        return admission.admit(origin, new Runnable() {
+            @Override public void run() {
+                served.add(name);
+                admission.release(0);
+            }
+        });
+    }
+
+    @Test public void schedulesOriginsFairly() throws Exception {
+        AdmissionControl admission =
+                new AdmissionControl(0, 0, 1, 100, executor);
+        assertEquals(AdmissionControl.ADMITTED,
+                admission.admit("a", holdSlot));
+        for (int i = 1; i <= 3; i++) {
+            assertEquals(AdmissionControl.ADMITTED,
+                    startUpdate(admission, "a", "a" + i));
+        }
+        assertEquals(AdmissionControl.ADMITTED,
+                startUpdate(admission, "b", "b1"));
+        assertEquals(3, admission.getQueued("a"));
+        assertTrue(served.isEmpty());
+        admission.release(0);
+        // "a" already had its share with the first update.
+        assertEquals(Arrays.asList("b1", "a1", "a2", "a3"), served);
+        assertEquals(0, admission.getQueued("a"));
+    }
+
+    @Test public void runsFreeUpdatesInCallingThread() throws Exception {
+        AdmissionControl admission =
+                new AdmissionControl(0, 0, 1, 100, executor);
+        assertEquals(AdmissionControl.ADMITTED,
+                startUpdate(admission, "a", "a1"));
+        assertEquals(AdmissionControl.ADMITTED,
+                startUpdate(admission, "a", "a2"));
+        assertEquals(Arrays.asList("a1", "a2"), served);
+    }
+
+    @Test public void limitsRate() throws Exception {
+        AdmissionControl admission =
+                new AdmissionControl(10, 2, 10, 100, executor);
+        assertEquals(AdmissionControl.ADMITTED,
+                admission.admit("a", holdSlot));
+        assertEquals(AdmissionControl.ADMITTED,
+                admission.admit("a", holdSlot));
+        long retryAfter = admission.admit("a", holdSlot);
+        assertTrue(retryAfter > 0 && retryAfter <= 100);
+        assertEquals(AdmissionControl.ADMITTED,
+                admission.admit("b", holdSlot));
+        assertEquals(1, admission.getRejected("a"));
+    }
+
+    @Test public void rejectsWhenTooManyQueued() throws Exception {
+        AdmissionControl admission =
+                new AdmissionControl(0, 0, 1, 1, executor);
+        assertEquals(AdmissionControl.ADMITTED,
+                admission.admit("a", holdSlot));
+        assertEquals(AdmissionControl.ADMITTED,
+                startUpdate(admission, "a", "a1"));
+        assertEquals(1, admission.getQueued("a"));
+        assertTrue(startUpdate(admission, "a", "a2") > 0);
+        admission.release(0);
+        assertEquals(Arrays.asList("a1"), served);
+        assertEquals(1, admission.getRejected("a"));
+    }
+
+    @Test public void evictsIdleOrigins() throws Exception {
+        AdmissionControl admission =
+                new AdmissionControl(1, 1, 1, 100, executor);
+        assertEquals(AdmissionControl.ADMITTED,
+                admission.admit("busy", holdSlot));
+        for (int i = 0; i < 10; i++) {
+            startUpdate(admission, "origin" + i, "origin" + i);
+        }
+        admission.setWeight("weighted", 2.0);
+        admission.release(0);
+        assertEquals(12, admission.getOrigins());
+        // The origins are still refilling their buckets.
+        long now = System.nanoTime();
+        admission.evictIdle(now);
+        assertEquals(12, admission.getOrigins());
+        admission.evictIdle(now + 2000000000L);
+        assertEquals(1, admission.getOrigins());
+    }
+}
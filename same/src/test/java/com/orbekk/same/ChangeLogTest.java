@@ -0,0 +1,87 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.orbekk.same.State.Component;
+
+public class ChangeLogTest {
+    State state = new State();
+    ChangeLog log = ChangeLog.forState(3, state);
+
+    @Test public void returnsLatestChangePerComponent() {
+        state.update("x", "1", 2);
+        state.update("y", "1", 3);
+        state.update("x", "2", 4);
+        List<Component> changes = log.getChangesSince(2);
+        assertEquals(2, changes.size());
+        assertEquals("y", changes.get(0).getName());
+        assertEquals("2", changes.get(1).getData());
+    }
+
+    @Test public void keepsAllComponentsOfTransaction() {
+        state.update("z", "1", 2);
+        long[] expected = { 0, 0 };
+        assertTrue(state.compareAndSetAll(Arrays.asList(
+                new Component("x", 5, "1"), new Component("y", 5, "1")),
+                expected));
+        List<Component> changes = log.getChangesSince(2);
+        assertEquals(2, changes.size());
+        assertEquals("x", changes.get(0).getName());
+        assertEquals("y", changes.get(1).getName());
+    }
+
+    @Test public void noChanges() {
+        state.update("x", "1", 2);
+        assertTrue(log.getChangesSince(2).isEmpty());
+    }
+
+    @Test public void truncatedLogFallsBack() {
+        for (int i = 2; i < 7; i++) {
+            state.update("x" + i, "1", i);
+        }
+        assertEquals(3, log.size());
+        assertNull(log.getChangesSince(2));
+        assertEquals(3, log.getChangesSince(3).size());
+    }
+
+    @Test public void doesNotCoverInitialState() {
+        State other = new State();
+        other.update("x", "1", 5);
+        ChangeLog otherLog = ChangeLog.forState(3, other);
+        assertNull(otherLog.getChangesSince(4));
+        assertTrue(otherLog.getChangesSince(5).isEmpty());
+    }
+
+    @Test public void fullStateResponseWhenTruncated() {
+        for (int i = 2; i < 7; i++) {
+            state.update("x" + i, "1", i);
+        }
+        Services.ChangesResponse response = log.getChangesResponse(0, state, 6);
+        assertTrue(response.getFullState());
+        // All five updates and the participants component.
+        assertEquals(6, response.getComponentCount());
+        assertEquals(6, response.getRevision());
+    }
+}
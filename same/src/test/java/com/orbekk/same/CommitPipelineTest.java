@@ -0,0 +1,145 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+import com.orbekk.same.State.Component;
+
+public class CommitPipelineTest {
+    final List<Integer> batchSizes = new CopyOnWriteArrayList<Integer>();
+    final List<Component> committed = new CopyOnWriteArrayList<Component>();
+    final CommitPipeline.Committer committer = new CommitPipeline.Committer() {
+        @Override public void commit(List<Component> components) {
+            batchSizes.add(components.size());
+            committed.addAll(components);
+        }
+    };
+
+    private CommitPipeline.Update update(final CommitPipeline pipeline,
+            final String name, final boolean accept) {
+        return new CommitPipeline.Update() {
+            @Override public List<Component> apply() {
+                if (!accept) {
+                    return null;
+                }
+                long revision = pipeline.begin();
+                List<Component> installed = Collections.singletonList(
+                        new Component(name, revision, "1"));
+                pipeline.finish(revision, installed);
+                return installed;
+            }
+        };
+    }
+
+    private List<Long> committedRevisions() {
+        List<Long> revisions = new ArrayList<Long>();
+        for (Component component : committed) {
+            revisions.add(component.getRevision());
+        }
+        return revisions;
+    }
+
+    @Test public void commitsOnCallingThread() throws Exception {
+        CommitPipeline pipeline = new CommitPipeline(committer, 10);
+        CommitPipeline.Update update = update(pipeline, "x", true);
+        assertEquals(1, pipeline.submit(update).size());
+        assertNull(pipeline.submit(update(pipeline, "y", false)));
+        assertEquals(Collections.singletonList(1), batchSizes);
+    }
+
+    @Test public void commitsInRevisionOrder() throws Exception {
+        CommitPipeline pipeline = new CommitPipeline(committer, 10);
+        long first = pipeline.begin();
+        long second = pipeline.begin();
+        pipeline.finish(second, Collections.singletonList(
+                new Component("y", second, "2")));
+        assertTrue(committed.isEmpty());
+        assertEquals(first - 1, pipeline.getInstalledRevision());
+        pipeline.finish(first, Collections.singletonList(
+                new Component("x", first, "1")));
+        assertEquals(Arrays.asList(first, second), committedRevisions());
+        assertEquals(Collections.singletonList(2), batchSizes);
+        assertEquals(second, pipeline.getInstalledRevision());
+    }
+
+    @Test public void failedUpdatesDoNotHoldBackLaterOnes() throws Exception {
+        CommitPipeline pipeline = new CommitPipeline(committer, 10);
+        long first = pipeline.begin();
+        long second = pipeline.begin();
+        pipeline.finish(second, Collections.singletonList(
+                new Component("y", second, "2")));
+        pipeline.finish(first, null);
+        assertEquals(Collections.singletonList(second), committedRevisions());
+        assertEquals(second, pipeline.getInstalledRevision());
+    }
+
+    @Test public void updateRevisionWaitsForUpdatesInProgress()
+            throws Exception {
+        CommitPipeline pipeline = new CommitPipeline(committer, 10);
+        long first = pipeline.begin();
+        pipeline.updateRevision(10);
+        assertEquals(first - 1, pipeline.getInstalledRevision());
+        assertEquals(11, pipeline.begin());
+        pipeline.finish(first, null);
+        assertEquals(10, pipeline.getInstalledRevision());
+    }
+
+    @Test public void batchesConcurrentUpdates() throws Exception {
+        final CommitPipeline pipeline = new CommitPipeline(committer, 8);
+        final int writers = 20;
+        final CountDownLatch finished = new CountDownLatch(writers);
+        for (int i = 0; i < writers; i++) {
+            final String name = "x" + i;
+            Thread thread = new Thread(new Runnable() {
+                @Override public void run() {
+                    try {
+                        pipeline.submit(update(pipeline, name, true));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                    finished.countDown();
+                }
+            });
+            thread.start();
+        }
+        finished.await();
+        int total = 0;
+        for (int size : batchSizes) {
+            assertTrue(size <= 8);
+            total += size;
+        }
+        assertEquals(writers, total);
+        List<Long> revisions = committedRevisions();
+        List<Long> sorted = new ArrayList<Long>(revisions);
+        Collections.sort(sorted);
+        assertEquals(sorted, revisions);
+    }
+}
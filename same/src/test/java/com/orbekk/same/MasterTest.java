@@ -16,21 +16,44 @@
 package com.orbekk.same;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 import org.junit.Before;
 import org.junit.Ignore;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.protobuf.RpcCallback;
+import com.orbekk.protobuf.Rpc;
+import com.orbekk.same.config.Configuration;
+import com.orbekk.same.storage.StateStorage;
 
 public class MasterTest {
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
     private ExecutorService executor = Executors.newCachedThreadPool();
     private State state = new State();
     private TestConnectionManager connections = new TestConnectionManager();
     private Master master;
-    private RpcFactory rpcf = new RpcFactory(5000);
+    private RpcFactory rpcf = new RpcFactory(5000) {
+        @Override public Rpc create() {
+            Rpc rpc = super.create();
+            rpc.complete();
+            return rpc;
+        };
+    };
     
     @Before
     public void setUp() {
@@ -54,9 +77,389 @@ public class MasterTest {
         System.out.println(master.state);
         assertTrue(state.getList(State.PARTICIPANTS)
                 .contains("clientLocation"));
+        assertEquals(master.getMasterInfo().getRevision(),
+                state.getRevision(State.PARTICIPANTS));
         assertEquals(state, client.testGetState());
     }
 
+    @Test
+    public void membershipEventDoesNotAdvanceClientRevision()
+            throws Exception {
+        Client client = new Client(
+                new State(), connections,
+                "http://client/ClientService.json", "clientLocation", rpcf);
+        connections.clientMap0.put("clientLocation", client.getNewService());
+        client.joinNetwork(master.getMasterInfo());
+        master.performWork();
+        long revision = client.getClientState().getRevision();
+        client.getNewService().membershipChanged(rpcf.create(),
+                Services.MembershipEvent.newBuilder()
+                        .setLocation("otherLocation")
+                        .setJoined(true)
+                        .setRevision(revision + 10)
+                        .build(),
+                new RpcCallback<Services.Empty>() {
+                    @Override public void run(Services.Empty unused) {
+                    }
+                });
+        assertTrue(client.testGetState().getList(State.PARTICIPANTS)
+                .contains("otherLocation"));
+        assertEquals(revision, client.getClientState().getRevision());
+    }
+
+    @Test
+    public void clientJoinInChunks() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            state.update("component" + i, "\"value\"", i + 2);
+        }
+        Properties properties = new Properties();
+        properties.setProperty("maxBatchBytes", "100");
+        master = new Master(state, connections,
+                "http://master/MasterService.json", "master:1000", rpcf,
+                new Configuration(properties));
+        connections.masterMap0.put("master:1000", master.getNewService());
+        Client client = new Client(
+                new State(), connections,
+                "http://client/ClientService.json", "clientLocation", rpcf);
+        connections.clientMap0.put("clientLocation", client.getNewService());
+        client.joinNetwork(master.getMasterInfo());
+        master.performWork();
+        assertEquals(ConnectionState.STABLE, client.getConnectionState());
+        assertEquals(state, client.testGetState());
+    }
+
+    /** Waits until 'state' has 'componentName' at 'revision'. */
+    private void awaitRevision(State state, String componentName,
+            long revision) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (state.getRevision(componentName) != revision &&
+                System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    public void takeoverPullsComponentsBelowMaxRevision() throws Exception {
+        // 'y' is in the same bucket as 'x', which the new master has at a
+        // higher revision.
+        int xBucket = StateDigest.bucketOf("x", StateDigest.DEFAULT_BUCKETS);
+        String y = null;
+        for (int i = 0; y == null; i++) {
+            if (StateDigest.bucketOf("y" + i, StateDigest.DEFAULT_BUCKETS) ==
+                    xBucket) {
+                y = "y" + i;
+            }
+        }
+        Client client = new Client(new State(), connections,
+                "http://client/ClientService.json", "clientLocation", rpcf);
+        connections.clientMap0.put("clientLocation", client.getNewService());
+        client.state.update("x", "1", 10);
+        client.state.update(y, "1", 5);
+        State lastKnownState = new State();
+        lastKnownState.updateFromObject(State.PARTICIPANTS,
+                Arrays.asList("clientLocation"), 2);
+        lastKnownState.update("x", "1", 10);
+        master.resumeFrom(lastKnownState, 2);
+        awaitRevision(master.state, y, 5);
+        assertEquals(5, master.state.getRevision(y));
+        assertEquals(10, master.state.getRevision("x"));
+    }
+
+    @Test
+    public void takeoverPullIsPersisted() throws Exception {
+        Client client = new Client(new State(), connections,
+                "http://client/ClientService.json", "clientLocation", rpcf);
+        connections.clientMap0.put("clientLocation", client.getNewService());
+        client.state.update("x", "1", 5);
+        State lastKnownState = new State();
+        lastKnownState.updateFromObject(State.PARTICIPANTS,
+                Arrays.asList("clientLocation"), 2);
+        File directory = folder.newFolder("data");
+        StateStorage storage = new StateStorage(directory);
+        try {
+            master.resumeFrom(lastKnownState, 2, storage);
+            awaitRevision(master.state, "x", 5);
+            assertTrue(storage.awaitDurable());
+        } finally {
+            storage.close();
+        }
+        State recovered = new State();
+        new StateStorage(directory).recoverInto(recovered);
+        assertEquals(5, recovered.getRevision("x"));
+    }
+
+    @Test
+    public void getComponentsByIdAndPrefix() throws Exception {
+        state.update("player/1", "1", 2);
+        state.update("player/2", "2", 3);
+        state.update("players", "3", 4);
+        Services.ComponentQuery query = Services.ComponentQuery.newBuilder()
+                .addId(".masterUrl")
+                .addId("missing")
+                .setPrefix("player/")
+                .build();
+        final List<String> ids = new ArrayList<String>();
+        master.getNewService().getComponents(rpcf.create(), query,
+                new RpcCallback<Services.FullStateResponse>() {
+                    @Override public void run(Services.FullStateResponse response) {
+                        for (Services.Component component :
+                                response.getComponentList()) {
+                            ids.add(component.getId());
+                        }
+                    }
+                });
+        assertEquals(Arrays.asList(".masterUrl", "player/1", "player/2"), ids);
+    }
+
+    private Services.ScanResponse scan(String prefix, String startAfter,
+            int limit) {
+        Services.ScanRequest.Builder request = Services.ScanRequest.newBuilder()
+                .setPrefix(prefix)
+                .setLimit(limit);
+        if (startAfter != null) {
+            request.setStartAfter(startAfter);
+        }
+        final Services.ScanResponse[] response = new Services.ScanResponse[1];
+        master.getNewService().scan(rpcf.create(), request.build(),
+                new RpcCallback<Services.ScanResponse>() {
+                    @Override public void run(Services.ScanResponse r) {
+                        response[0] = r;
+                    }
+                });
+        return response[0];
+    }
+
+    @Test
+    public void scanInPages() throws Exception {
+        state.update("player/1", "1", 2);
+        state.update("player/2", "2", 3);
+        state.update("player/3", "3", 4);
+        state.update("players", "4", 5);
+        Services.ScanResponse first = scan("player/", null, 2);
+        assertEquals(2, first.getComponentCount());
+        assertEquals("player/2", first.getNextStartAfter());
+        Services.ScanResponse second = scan("player/",
+                first.getNextStartAfter(), 2);
+        assertEquals(1, second.getComponentCount());
+        assertEquals("player/3", second.getComponent(0).getId());
+        assertFalse(second.hasNextStartAfter());
+    }
+
+    @Test
+    public void getComponent() throws Exception {
+        state.update("x", "1", 2);
+        final List<Services.ComponentResponse> responses =
+                new ArrayList<Services.ComponentResponse>();
+        RpcCallback<Services.ComponentResponse> done =
+                new RpcCallback<Services.ComponentResponse>() {
+                    @Override public void run(Services.ComponentResponse r) {
+                        responses.add(r);
+                    }
+                };
+        master.getNewService().getComponent(rpcf.create(),
+                Services.ComponentRequest.newBuilder().setId("x").build(),
+                done);
+        master.getNewService().getComponent(rpcf.create(),
+                Services.ComponentRequest.newBuilder().setId("y").build(),
+                done);
+        assertEquals(2, responses.get(0).getComponent().getRevision());
+        assertFalse(responses.get(1).hasComponent());
+    }
+
+    @Test
+    public void applyOperation() throws Exception {
+        final List<Services.OperationResponse> responses =
+                new ArrayList<Services.OperationResponse>();
+        RpcCallback<Services.OperationResponse> done =
+                new RpcCallback<Services.OperationResponse>() {
+                    @Override public void run(Services.OperationResponse r) {
+                        responses.add(r);
+                    }
+                };
+        master.getNewService().applyOperation(rpcf.create(),
+                Operation.add(2).toRequest("counter"), done);
+        master.getNewService().applyOperation(rpcf.create(),
+                Operation.add(3).toRequest("counter"), done);
+        master.getNewService().applyOperation(rpcf.create(),
+                Operation.append(1).toRequest("counter"), done);
+        assertTrue(responses.get(1).getSuccess());
+        assertEquals(state.getRevision("counter"),
+                responses.get(1).getComponent().getRevision());
+        assertEquals("5", state.getDataOf("counter"));
+        assertFalse(responses.get(2).getSuccess());
+    }
+
+    private boolean transaction(Services.Component... components) {
+        final boolean[] success = new boolean[1];
+        master.getNewService().transaction(rpcf.create(),
+                Services.TransactionRequest.newBuilder()
+                        .addAllComponent(Arrays.asList(components))
+                        .build(),
+                new RpcCallback<Services.UpdateComponentResponse>() {
+                    @Override public void run(
+                            Services.UpdateComponentResponse response) {
+                        success[0] = response.getSuccess();
+                    }
+                });
+        return success[0];
+    }
+
+    private Services.Component update(String id, long revision,
+            String data) {
+        return Services.Component.newBuilder()
+                .setId(id)
+                .setRevision(revision)
+                .setData(data)
+                .build();
+    }
+
+    @Test
+    public void transactionUpdatesAllComponents() throws Exception {
+        state.update("a", "1", 2);
+        state.update("b", "2", 3);
+        assertTrue(transaction(update("a", 2, "10"), update("b", 3, "20"),
+                update("c", 0, "30")));
+        assertEquals("10", state.getDataOf("a"));
+        assertEquals("20", state.getDataOf("b"));
+        assertEquals("30", state.getDataOf("c"));
+        assertEquals(state.getRevision("a"), state.getRevision("b"));
+        assertEquals(state.getRevision("a"), state.getRevision("c"));
+    }
+
+    @Test
+    public void conflictingTransactionChangesNothing() throws Exception {
+        state.update("a", "1", 2);
+        state.update("b", "2", 3);
+        assertFalse(transaction(update("a", 2, "10"), update("b", 2, "20")));
+        assertEquals("1", state.getDataOf("a"));
+        assertEquals("2", state.getDataOf("b"));
+        assertFalse(transaction(update("a", 2, "10"), update("a", 2, "20")));
+        assertEquals("1", state.getDataOf("a"));
+    }
+
+    @Test
+    public void conflictingUpdateDoesNotTakeRevision() throws Exception {
+        RpcCallback<Services.UpdateComponentResponse> done =
+                new RpcCallback<Services.UpdateComponentResponse>() {
+                    @Override public void run(
+                            Services.UpdateComponentResponse r) {
+                    }
+                };
+        master.getNewService().updateStateRequest(rpcf.create(),
+                update("x", 0, "1"), done);
+        long revision = master.getMasterInfo().getRevision();
+        master.getNewService().updateStateRequest(rpcf.create(),
+                update("x", 0, "2"), done);
+        assertEquals(revision, master.getMasterInfo().getRevision());
+        master.getNewService().updateStateRequest(rpcf.create(),
+                update("x", revision, "3"), done);
+        assertEquals(revision + 1, state.getComponent("x").getRevision());
+    }
+
+    /** Storage that holds updates until release is counted down. */
+    private class BlockingStorage extends StateStorage {
+        final CountDownLatch logged = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        BlockingStorage() throws IOException {
+            super(folder.newFolder("data"));
+        }
+
+        @Override public boolean awaitDurable() {
+            logged.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                return false;
+            }
+            return super.awaitDurable();
+        }
+    }
+
+    /** Sends an update of 'x' from another thread. */
+    private void updateInBackground() {
+        executor.execute(new Runnable() {
+            @Override public void run() {
+                master.getNewService().updateStateRequest(rpcf.create(),
+                        update("x", 0, "1"),
+                        new RpcCallback<Services.UpdateComponentResponse>() {
+                            @Override public void run(
+                                    Services.UpdateComponentResponse r) {
+                            }
+                        });
+            }
+        });
+    }
+
+    @Test
+    public void reportsOnlyInstalledRevisions() throws Exception {
+        BlockingStorage storage = new BlockingStorage();
+        master.setStorage(storage);
+        try {
+            long revision = master.getMasterInfo().getRevision();
+            updateInBackground();
+            storage.logged.await();
+            assertEquals(revision, master.getMasterInfo().getRevision());
+            storage.release.countDown();
+            long deadline = System.currentTimeMillis() + 5000;
+            while (master.getMasterInfo().getRevision() == revision &&
+                    System.currentTimeMillis() < deadline) {
+                Thread.sleep(1);
+            }
+            assertEquals(revision + 1, master.getMasterInfo().getRevision());
+            assertEquals(revision + 1, state.getRevision("x"));
+        } finally {
+            storage.release.countDown();
+            storage.close();
+        }
+    }
+
+    @Test
+    public void updateIsDurableBeforeItIsVisible() throws Exception {
+        BlockingStorage storage = new BlockingStorage();
+        master.setStorage(storage);
+        try {
+            long revision = master.getMasterInfo().getRevision();
+            updateInBackground();
+            storage.logged.await();
+            assertNull(state.getComponent("x"));
+            storage.release.countDown();
+            awaitRevision(state, "x", revision + 1);
+            assertEquals("1", state.getDataOf("x"));
+        } finally {
+            storage.release.countDown();
+            storage.close();
+        }
+    }
+
+    @Test
+    public void storageFailureFailsUpdates() throws Exception {
+        StateStorage storage = new StateStorage(folder.newFolder("data")) {
+            @Override public boolean awaitDurable() {
+                return false;
+            }
+        };
+        master.setStorage(storage);
+        try {
+            for (int i = 0; i < 2; i++) {
+                Rpc rpc = rpcf.create();
+                final boolean[] acknowledged = new boolean[1];
+                master.getNewService().updateStateRequest(rpc,
+                        update("x", 0, "1"),
+                        new RpcCallback<Services.UpdateComponentResponse>() {
+                            @Override public void run(
+                                    Services.UpdateComponentResponse r) {
+                                acknowledged[0] = r != null;
+                            }
+                        });
+                assertTrue(rpc.failed());
+                assertFalse(acknowledged[0]);
+            }
+        } finally {
+            storage.close();
+        }
+    }
+
     @Test
     @Ignore
     public void updateStateRequest() throws Exception {
@@ -64,6 +467,54 @@ public class MasterTest {
         throw new IllegalStateException();
     }
 
+    @Test
+    public void unknownOriginsShareAdmissionBucket() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty("maxUpdatesPerSecond", "1000");
+        master = new Master(state, connections,
+                "http://master/MasterService.json", "master:1000", rpcf,
+                new Configuration(properties));
+        RpcCallback<Services.UpdateComponentResponse> done =
+                new RpcCallback<Services.UpdateComponentResponse>() {
+                    @Override public void run(
+                            Services.UpdateComponentResponse r) {
+                    }
+                };
+        for (int i = 0; i < 3; i++) {
+            master.getNewService().updateStateRequest(rpcf.create(),
+                    update("x" + i, 0, "1").toBuilder()
+                            .setOrigin("made-up" + i).build(), done);
+        }
+        List<String> stats = master.getAdmissionStats();
+        assertEquals(1, stats.size());
+        assertTrue(stats.get(0).contains("(unknown)"));
+    }
+
+    @Test
+    public void removedParticipantGetsNoQueue() throws Exception {
+        Client client = new Client(
+                new State(), connections,
+                "http://client/ClientService.json", "clientLocation", rpcf);
+        connections.clientMap0.put("clientLocation", client.getNewService());
+        client.joinNetwork(master.getMasterInfo());
+        master.performWork();
+        assertTrue(master.testHasQueue("clientLocation"));
+        connections.clientMap0.remove("clientLocation");
+        RpcCallback<Services.UpdateComponentResponse> done =
+                new RpcCallback<Services.UpdateComponentResponse>() {
+                    @Override public void run(
+                            Services.UpdateComponentResponse r) {
+                    }
+                };
+        for (int i = 0; i < 2; i++) {
+            master.getNewService().updateStateRequest(rpcf.create(),
+                    update("x" + i, 0, "1"), done);
+        }
+        assertFalse(state.getList(State.PARTICIPANTS)
+                .contains("clientLocation"));
+        assertFalse(master.testHasQueue("clientLocation"));
+    }
+
     @Test
     @Ignore
     public void masterRemovesParticipant() throws Exception {
@@ -0,0 +1,61 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class MembershipTest {
+    Membership membership = new Membership();
+
+    @Test public void joinAndLeave() {
+        assertTrue(membership.join("a", 2));
+        assertTrue(membership.join("b", 3));
+        assertFalse(membership.join("a", 4));
+        assertTrue(membership.leave("a", 5));
+        assertEquals(Arrays.asList("b"), membership.getLocations());
+        assertEquals(5, membership.getRevision());
+    }
+
+    @Test public void ignoresOutOfOrderEvents() {
+        assertFalse(membership.leave("a", 3));
+        assertFalse(membership.join("a", 2));
+        assertFalse(membership.contains("a"));
+        assertEquals(3, membership.getRevision());
+    }
+
+    @Test public void resetIgnoresOlderEvents() {
+        membership.reset(Arrays.asList("a", "b"), 10);
+        assertFalse(membership.leave("a", 9));
+        assertTrue(membership.contains("a"));
+        assertTrue(membership.leave("a", 11));
+    }
+
+    @Test public void componentIsSorted() {
+        membership.join("b", 2);
+        membership.join("a", 3);
+        State state = new State();
+        state.forceUpdate(membership.toComponent());
+        assertEquals(Arrays.asList("a", "b"),
+                state.getList(State.PARTICIPANTS));
+        assertEquals(3, state.getRevision(State.PARTICIPANTS));
+    }
+}
@@ -0,0 +1,143 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.orbekk.same.State.Component;
+
+public class OutboundQueueTest {
+    List<List<Component>> sent = new ArrayList<List<Component>>();
+    List<Long> resyncs = new ArrayList<Long>();
+    List<Runnable> pending = new ArrayList<Runnable>();
+    OutboundQueue.Transport transport = new OutboundQueue.Transport() {
+        @Override public void send(List<Component> components, Runnable done) {
+            sent.add(components);
+            pending.add(done);
+        }
+
+        @Override public void resync(long revision, Runnable done) {
+            resyncs.add(revision);
+            pending.add(done);
+        }
+    };
+    OutboundQueue queue = new OutboundQueue(transport, 3, 1, 10);
+
+    private List<Component> update(String name, long revision) {
+        return Arrays.asList(new Component(name, revision, "\"value\""));
+    }
+
+    private void finishSends() {
+        while (!pending.isEmpty()) {
+            pending.remove(0).run();
+        }
+    }
+
+    @Test public void sendsImmediatelyWhenIdle() {
+        assertTrue(queue.isIdle());
+        queue.add(update("x", 2));
+        assertEquals(1, sent.size());
+        assertEquals(1, queue.getInFlight());
+        assertFalse(queue.isIdle());
+        finishSends();
+        assertTrue(queue.isIdle());
+    }
+
+    @Test public void conflatesQueuedUpdates() {
+        queue.add(update("x", 2));
+        queue.add(update("y", 3));
+        queue.add(update("y", 4));
+        queue.add(update("y", 5));
+        assertEquals(1, sent.size());
+        assertEquals(1, queue.getQueued());
+        finishSends();
+        assertEquals(2, sent.size());
+        assertEquals(update("y", 5), sent.get(1));
+    }
+
+    @Test public void dropsPatchWhenReplacingQueuedUpdate() {
+        queue.add(update("x", 2));
+        queue.add(update("y", 3));
+        queue.add(Arrays.<Component>asList(new PatchedComponent(
+                update("y", 4).get(0), 3, new byte[0])));
+        queue.add(Arrays.<Component>asList(new PatchedComponent(
+                update("z", 5).get(0), 1, new byte[0])));
+        finishSends();
+        assertEquals(2, sent.size());
+        assertFalse(sent.get(1).get(0) instanceof PatchedComponent);
+        assertTrue(sent.get(1).get(1) instanceof PatchedComponent);
+    }
+
+    @Test public void ignoresOlderQueuedUpdate() {
+        queue.add(update("x", 2));
+        queue.add(update("y", 4));
+        queue.add(update("y", 3));
+        finishSends();
+        assertEquals(update("y", 4), sent.get(1));
+    }
+
+    @Test public void batchesQueuedUpdates() {
+        queue.add(update("x", 2));
+        queue.add(update("a", 3));
+        queue.add(update("b", 4));
+        finishSends();
+        assertEquals(2, sent.size());
+        assertEquals(2, sent.get(1).size());
+    }
+
+    @Test public void resyncsSlowParticipant() {
+        queue.add(update("x", 2));
+        for (int i = 0; i < 10; i++) {
+            queue.add(update("y" + i, 3 + i));
+        }
+        assertEquals(0, queue.getQueued());
+        assertEquals(Arrays.<Long>asList(), resyncs);
+        finishSends();
+        assertEquals(Arrays.asList(2L), resyncs);
+        assertEquals(1, sent.size());
+        assertEquals(1, queue.getResyncs());
+        assertTrue(queue.isIdle());
+    }
+
+    @Test public void resyncCoversLateOlderUpdate() {
+        queue.add(update("x", 2));
+        for (int i = 0; i < 4; i++) {
+            queue.add(update("y" + i, 10 + i));
+        }
+        queue.add(update("z", 5));
+        finishSends();
+        assertEquals(Arrays.asList(4L), resyncs);
+    }
+
+    @Test public void heldQueueSendsOnRelease() {
+        queue.hold();
+        queue.add(update("x", 2));
+        queue.add(update("y", 3));
+        assertEquals(0, sent.size());
+        assertFalse(queue.isIdle());
+        queue.release();
+        assertEquals(1, sent.size());
+        assertEquals(2, sent.get(0).size());
+    }
+}
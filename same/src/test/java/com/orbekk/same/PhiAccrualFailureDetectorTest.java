@@ -0,0 +1,69 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class PhiAccrualFailureDetectorTest {
+    PhiAccrualFailureDetector detector = new PhiAccrualFailureDetector(100);
+
+    private long sendHeartbeats(long start, long interval, int count) {
+        long time = start;
+        for (int i = 0; i < count; i++) {
+            time += interval;
+            detector.heartbeat(time);
+        }
+        return time;
+    }
+
+    @Test public void availableBeforeFirstHeartbeat() {
+        assertEquals(0.0, detector.phi(1000000), 0.0);
+        assertTrue(detector.isAvailable(1000000));
+    }
+
+    @Test public void suspectsWhenHeartbeatsStop() {
+        long last = sendHeartbeats(0, 100, 50);
+        assertTrue(detector.isAvailable(last + 100));
+        assertTrue(detector.isAvailable(last + 190));
+        assertFalse(detector.isAvailable(last + 400));
+    }
+
+    @Test public void phiIncreasesWithTime() {
+        long last = sendHeartbeats(0, 100, 10);
+        double previous = -1;
+        for (long elapsed = 0; elapsed < 500; elapsed += 50) {
+            double phi = detector.phi(last + elapsed);
+            assertTrue(phi >= previous);
+            previous = phi;
+        }
+    }
+
+    @Test public void adaptsToSlowHeartbeats() {
+        long last = sendHeartbeats(0, 500, 100);
+        assertTrue(detector.isAvailable(last + 700));
+        assertFalse(detector.isAvailable(last + 2000));
+    }
+
+    @Test public void ignoresOldHeartbeats() {
+        long last = sendHeartbeats(0, 100, 10);
+        detector.heartbeat(last - 50);
+        assertEquals(last, detector.getLastHeartbeat());
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.orbekk.protobuf.Rpc;
+
+public class RelayTreeTest {
+    TestConnectionManager connections = new TestConnectionManager();
+    RpcFactory rpcf = new RpcFactory(5000) {
+        @Override public Rpc create() {
+            Rpc rpc = super.create();
+            rpc.complete();
+            return rpc;
+        };
+    };
+    RelayTree relayTree = new RelayTree(connections, rpcf);
+    List<String> locations = new ArrayList<String>();
+    List<Client> clients = new ArrayList<Client>();
+    List<String> failed = new ArrayList<String>();
+    RelayTree.FailureListener listener = new RelayTree.FailureListener() {
+        @Override public void relayFailed(String location) {
+            failed.add(location);
+        }
+    };
+
+    @Before public void setUp() {
+        for (int i = 0; i < 20; i++) {
+            String location = "client" + i;
+            Client client = new Client(new State(), connections,
+                    "http://" + location, location, rpcf);
+            connections.clientMap0.put(location, client.getNewService());
+            locations.add(location);
+            clients.add(client);
+        }
+    }
+
+    private List<Services.Component> component(String name, long revision) {
+        return Collections.singletonList(Services.Component.newBuilder()
+                .setId(name)
+                .setRevision(revision)
+                .setData("\"value\"")
+                .build());
+    }
+
+    @Test public void splitsEvenly() {
+        List<List<String>> subtrees = RelayTree.split(
+                Arrays.asList("a", "b", "c", "d", "e", "f", "g"), 3);
+        assertEquals(Arrays.asList(
+                Arrays.asList("a", "b"),
+                Arrays.asList("c", "d"),
+                Arrays.asList("e", "f", "g")), subtrees);
+    }
+
+    @Test public void splitWithFewTargets() {
+        assertEquals(2, RelayTree.split(Arrays.asList("a", "b"), 8).size());
+        assertEquals(0, RelayTree.split(
+                Collections.<String>emptyList(), 8).size());
+    }
+
+    @Test public void reachesAllParticipants() {
+        relayTree.send(component("x", 2), locations, 3, listener);
+        for (Client client : clients) {
+            assertEquals(2, client.state.getRevision("x"));
+        }
+        assertEquals(Collections.emptyList(), failed);
+    }
+
+    @Test public void sendsAroundFailedRelay() {
+        connections.clientMap0.remove("client0");
+        connections.clientMap0.remove("client7");
+        connections.clientMap0.remove("client10");
+        relayTree.send(component("x", 2), locations, 2, listener);
+        // client7 is reached by another participant, which sends to its
+        // subtree instead.
+        assertEquals(Arrays.asList("client0", "client10"), failed);
+        for (int i = 1; i < clients.size(); i++) {
+            if (i != 7 && i != 10) {
+                assertEquals(2, clients.get(i).state.getRevision("x"));
+            }
+        }
+    }
+
+    @Test public void ignoresOlderRevisions() {
+        relayTree.send(component("x", 3), locations, 4, listener);
+        relayTree.send(component("x", 2), locations, 4, listener);
+        for (Client client : clients) {
+            assertEquals(3, client.state.getRevision("x"));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.orbekk.same.State.Component;
+
+public class ServicesPbConversionTest {
+    private List<Component> components(int count, int valueSize) {
+        List<Component> components = new ArrayList<Component>();
+        for (int i = 0; i < count; i++) {
+            components.add(new Component("c" + i, i + 1, 0,
+                    new byte[valueSize]));
+        }
+        return components;
+    }
+
+    @Test public void batchesAreBounded() {
+        List<Services.ComponentBatch> batches =
+                ServicesPbConversion.componentsToBatches(
+                        components(100, 100), 1000);
+        int total = 0;
+        for (Services.ComponentBatch batch : batches) {
+            assertTrue(batch.getSerializedSize() <= 1000);
+            total += batch.getComponentCount();
+        }
+        assertEquals(100, total);
+        // Each component is a bit over 100 bytes.
+        assertTrue(batches.size() >= 11);
+    }
+
+    @Test public void largeComponentGetsOwnBatch() {
+        List<Services.ComponentBatch> batches =
+                ServicesPbConversion.componentsToBatches(
+                        components(3, 2000), 1000);
+        assertEquals(3, batches.size());
+    }
+
+    @Test public void noComponents() {
+        assertEquals(0, ServicesPbConversion.componentsToBatches(
+                new ArrayList<Component>(), 1000).size());
+    }
+}
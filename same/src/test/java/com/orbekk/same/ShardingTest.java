@@ -0,0 +1,140 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.orbekk.protobuf.Rpc;
+import com.orbekk.same.State.Component;
+import com.orbekk.util.DelayedOperation;
+
+public class ShardingTest {
+    TestConnectionManager connections = new TestConnectionManager();
+    RpcFactory rpcf = new RpcFactory(5000) {
+        @Override public Rpc create() {
+            Rpc rpc = super.create();
+            rpc.complete();
+            return rpc;
+        };
+    };
+    List<String> shardNames = Arrays.asList("shard0", "shard1", "shard2");
+    ShardMap shardMap = new ShardMap(shardNames);
+    List<Master> masters = new ArrayList<Master>();
+    List<Client> clients = new ArrayList<Client>();
+    ShardedClient client1;
+    ShardedClient client2;
+
+    @Before public void setUp() {
+        for (String shard : shardNames) {
+            String location = shard + "-master";
+            Master master = Master.create(connections, "http://" + location,
+                    shard, location, rpcf);
+            connections.masterMap0.put(location, master.getNewService());
+            masters.add(master);
+        }
+        client1 = newShardedClient("client1");
+        client2 = newShardedClient("client2");
+        for (Master master : masters) {
+            master.performWork();
+        }
+    }
+
+    ShardedClient newShardedClient(String name) {
+        Map<String, ClientInterface> shards =
+                new HashMap<String, ClientInterface>();
+        for (int i = 0; i < shardNames.size(); i++) {
+            String location = name + "-" + shardNames.get(i);
+            Client client = new Client(new State(), connections,
+                    "http://" + location, location, rpcf);
+            connections.clientMap0.put(location, client.getNewService());
+            client.joinNetwork(masters.get(i).getMasterInfo());
+            clients.add(client);
+            shards.put(shardNames.get(i), client.getInterface());
+        }
+        return new ShardedClient(shardMap, shards);
+    }
+
+    @Test public void shardMapIsBalanced() {
+        Map<String, Integer> counts = new HashMap<String, Integer>();
+        for (int i = 0; i < 30000; i++) {
+            String shard = shardMap.getShard("key" + i);
+            Integer count = counts.get(shard);
+            counts.put(shard, count == null ? 1 : count + 1);
+        }
+        for (String shard : shardNames) {
+            assertTrue(counts.get(shard) > 5000);
+        }
+    }
+
+    @Test public void addingShardMovesFewKeys() {
+        ShardMap larger = new ShardMap(
+                Arrays.asList("shard0", "shard1", "shard2", "shard3"));
+        int moved = 0;
+        for (int i = 0; i < 10000; i++) {
+            String shard = larger.getShard("key" + i);
+            if (!shard.equals(shardMap.getShard("key" + i))) {
+                assertEquals("shard3", shard);
+                moved += 1;
+            }
+        }
+        assertTrue(moved < 4000);
+    }
+
+    @Test public void updatesAreMerged() {
+        for (int i = 0; i < 10; i++) {
+            Component update = new Component("key" + i, 0, "\"" + i + "\"");
+            assertTrue(client1.set(update).getStatus().isOk());
+        }
+        for (int i = 0; i < 10; i++) {
+            assertEquals("\"" + i + "\"",
+                    client2.getState().getDataOf("key" + i));
+        }
+        assertNull(client2.getState().getComponent(State.PARTICIPANTS));
+    }
+
+    @Test public void transactionWithinShard() {
+        List<Component> updates = new ArrayList<Component>();
+        String shard = shardMap.getShard("key0");
+        for (int i = 0; updates.size() < 2; i++) {
+            if (shardMap.getShard("key" + i).equals(shard)) {
+                updates.add(new Component("key" + i, 0, "1"));
+            }
+        }
+        assertTrue(client1.setAll(updates).getStatus().isOk());
+        assertEquals("1", client2.getState().getDataOf(
+                updates.get(1).getName()));
+    }
+
+    @Test public void transactionAcrossShardsFails() {
+        List<Component> updates = new ArrayList<Component>();
+        for (int i = 0; i < 10; i++) {
+            updates.add(new Component("key" + i, 0, "1"));
+        }
+        assertEquals(DelayedOperation.Status.ERROR,
+                client1.setAll(updates).getStatus().getStatusCode());
+    }
+}
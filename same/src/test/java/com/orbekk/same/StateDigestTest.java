@@ -0,0 +1,73 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.orbekk.same.State.Component;
+
+public class StateDigestTest {
+    State state1 = new State();
+    State state2 = new State();
+
+    private void updateBoth(String name, String data, long revision) {
+        state1.update(name, data, revision);
+        state2.update(name, data, revision);
+    }
+
+    @Test public void equalStatesHaveEqualSummaries() {
+        state1.update("a", "1", 2);
+        state1.update("b", "2", 3);
+        state2.update("b", "2", 3);
+        state2.update("a", "1", 2);
+        assertEquals(StateDigest.summarize(state1, 16),
+                StateDigest.summarize(state2, 16));
+    }
+
+    @Test public void findsDifferentBucket() {
+        for (int i = 0; i < 100; i++) {
+            updateBoth("x" + i, "1", i + 2);
+        }
+        state2.update("x7", "2", 200);
+        List<Integer> different = StateDigest.differentBuckets(
+                StateDigest.summarize(state1, 16),
+                StateDigest.summarize(state2, 16));
+        assertEquals(Arrays.asList(StateDigest.bucketOf("x7", 16)), different);
+        assertEquals(200, StateDigest.summarize(state2, 16)
+                .getMaxRevision(different.get(0)));
+    }
+
+    @Test public void getsSelectedBuckets() {
+        for (int i = 0; i < 100; i++) {
+            state1.update("x" + i, "1", i + 2);
+        }
+        int bucket = StateDigest.bucketOf("x7", 16);
+        List<List<Component>> buckets = StateDigest.getBuckets(state1, 16,
+                Arrays.asList(bucket));
+        assertNull(buckets.get((bucket + 1) % 16));
+        for (Component component : buckets.get(bucket)) {
+            assertEquals(bucket, StateDigest.bucketOf(component.getName(), 16));
+        }
+        assertTrue(buckets.get(bucket).contains(state1.getComponent("x7")));
+    }
+}
@@ -0,0 +1,250 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class StateTest {
+    State state = new State();
+
+    @Test public void compareAndSetCreatesComponent() {
+        assertTrue(state.compareAndSet("x", 0, "1", 5));
+        assertEquals("1", state.getDataOf("x"));
+        assertEquals(5, state.getRevision("x"));
+    }
+
+    @Test public void compareAndSetChecksRevision() {
+        state.update("x", "1", 5);
+        assertFalse(state.compareAndSet("x", 4, "2", 6));
+        assertEquals("1", state.getDataOf("x"));
+        assertTrue(state.compareAndSet("x", 5, "2", 6));
+        assertEquals("2", state.getDataOf("x"));
+    }
+
+    @Test public void updateIgnoresOldRevisions() {
+        assertTrue(state.update("x", "1", 5));
+        assertFalse(state.update("x", "0", 4));
+        assertEquals("1", state.getDataOf("x"));
+    }
+
+    @Test public void getByPrefix() {
+        state.update("b/2", "1", 2);
+        state.update("a", "1", 3);
+        state.update("b/1", "1", 4);
+        state.update("c", "1", 5);
+        List<State.Component> matches = state.getByPrefix("b/");
+        assertEquals(2, matches.size());
+        assertEquals("b/1", matches.get(0).getName());
+        assertEquals("b/2", matches.get(1).getName());
+        assertEquals(3, state.getRange("a", "c").size());
+    }
+
+    @Test public void getByPrefixInSnapshot() {
+        state.update("b/1", "1", 2);
+        State snapshot = new State(state);
+        state.update("b/2", "1", 3);
+        assertEquals(1, snapshot.getByPrefix("b/").size());
+        assertEquals(2, state.getByPrefix("b/").size());
+        state.clear();
+        assertEquals(0, state.getByPrefix("b/").size());
+        assertEquals(1, snapshot.getByPrefix("b/").size());
+    }
+
+    @Test public void namesAreStoredOnce() {
+        String name = "x";
+        state.update(name, "1", 2);
+        state.update(new String(name), "2", 3);
+        assertSame(name, state.getComponent("x").getName());
+    }
+
+    @Test public void failedTransactionAddsNoNames() {
+        state.update("a", "1", 2);
+        int size = state.getIndexSize();
+        for (int i = 0; i < 100; i++) {
+            assertFalse(state.compareAndSetAll(Arrays.asList(
+                    new State.Component("a", 4, "10"),
+                    new State.Component("new" + i, 4, "20")),
+                    new long[] { 3, 0 }));
+        }
+        assertEquals(size, state.getIndexSize());
+    }
+
+    @Test public void updatedSnapshotHasItsOwnIndex() {
+        state.update("a/1", "1", 2);
+        State snapshot = new State(state);
+        int size = state.getIndexSize();
+        for (int i = 0; i < 100; i++) {
+            snapshot.update("a/snapshot" + i, "1", 3);
+        }
+        assertEquals(size, state.getIndexSize());
+        assertEquals(1, state.getByPrefix("a/").size());
+        assertEquals(101, snapshot.getByPrefix("a/").size());
+        assertEquals(size + 100, snapshot.getIndexSize());
+    }
+
+    @Test public void getComponentsByName() {
+        state.update("x", "1", 2);
+        state.update("y", "1", 3);
+        List<State.Component> components = state.getComponents(
+                Arrays.asList("y", "missing", "x"));
+        assertEquals(2, components.size());
+        assertEquals("y", components.get(0).getName());
+    }
+
+    @Test public void concurrentCompareAndSet() throws Exception {
+        final int iterations = 1000;
+        Runnable incrementer = new Runnable() {
+            @Override public void run() {
+                int done = 0;
+                while (done < iterations) {
+                    State.Component c = state.getComponent("counter");
+                    long value = Long.valueOf(c.getData());
+                    if (state.compareAndSet("counter", c.getRevision(),
+                            String.valueOf(value + 1), c.getRevision() + 1)) {
+                        done += 1;
+                    }
+                }
+            }
+        };
+        state.update("counter", "0", 1);
+        Thread t1 = new Thread(incrementer);
+        Thread t2 = new Thread(incrementer);
+        t1.start();
+        t2.start();
+        t1.join();
+        t2.join();
+        assertEquals(String.valueOf(2 * iterations), state.getDataOf("counter"));
+    }
+
+    @Test public void cachesParsedData() {
+        state.update("list", "[\"a\"]", 1);
+        List<String> first = state.getList("list");
+        assertSame(first, state.getList("list"));
+        assertEquals(1, state.getParsedValueHits());
+        assertEquals(1, state.getParsedValueMisses());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void parsedListIsUnmodifiable() {
+        state.update("list", "[\"a\"]", 1);
+        state.getList("list").add("b");
+    }
+
+    @Test public void updateInvalidatesParsedData() {
+        state.update("list", "[\"a\"]", 1);
+        state.getList("list");
+        state.update("list", "[\"b\"]", 2);
+        assertEquals("b", state.getList("list").get(0));
+        state.forceUpdate("list", "[\"c\"]", 2);
+        assertEquals("c", state.getList("list").get(0));
+    }
+
+    @Test public void cacheDistinguishesTypes() {
+        state.update("x", "\"1\"", 1);
+        assertEquals("1", state.getParsedData("x", Types.STRING));
+        assertEquals(Integer.valueOf(1), state.getParsedData("x", Types.INTEGER));
+    }
+
+    @Test public void compareAndSetAllIsAllOrNothing() {
+        state.update("a", "1", 2);
+        state.update("b", "2", 3);
+        assertFalse(state.compareAndSetAll(Arrays.asList(
+                new State.Component("a", 4, "10"),
+                new State.Component("b", 4, "20")), new long[] { 2, 2 }));
+        assertEquals("1", state.getDataOf("a"));
+        assertTrue(state.compareAndSetAll(Arrays.asList(
+                new State.Component("a", 4, "10"),
+                new State.Component("b", 4, "20")), new long[] { 2, 3 }));
+        assertEquals("10", state.getDataOf("a"));
+        assertEquals("20", state.getDataOf("b"));
+    }
+
+    @Test public void updateAllSkipsOlderComponents() {
+        state.update("a", "1", 5);
+        List<State.Component> installed = state.updateAll(Arrays.asList(
+                new State.Component("a", 4, "10"),
+                new State.Component("b", 4, "20")));
+        assertEquals(1, installed.size());
+        assertEquals("1", state.getDataOf("a"));
+        assertEquals("20", state.getDataOf("b"));
+    }
+
+    /** Returns a name in a different shard than 'name'. */
+    private static String otherShard(String name) {
+        for (int i = 0; ; i++) {
+            if (State.shardOf("n" + i) != State.shardOf(name)) {
+                return "n" + i;
+            }
+        }
+    }
+
+    @Test public void transactionsAcrossShardsAreAtomic() throws Exception {
+        final String a = "a";
+        final String b = otherShard(a);
+        final int iterations = 1000;
+        state.update(a, "100", 1);
+        state.update(b, "0", 1);
+        Runnable mover = new Runnable() {
+            @Override public void run() {
+                int done = 0;
+                while (done < iterations) {
+                    State.Component ca = state.getComponent(a);
+                    State.Component cb = state.getComponent(b);
+                    long revision = Math.max(ca.getRevision(),
+                            cb.getRevision()) + 1;
+                    long va = Long.valueOf(ca.getData());
+                    long vb = Long.valueOf(cb.getData());
+                    if (state.compareAndSetAll(Arrays.asList(
+                            new State.Component(a, revision,
+                                    String.valueOf(va - 1)),
+                            new State.Component(b, revision,
+                                    String.valueOf(vb + 1))),
+                            new long[] { ca.getRevision(), cb.getRevision() })) {
+                        done += 1;
+                    }
+                }
+            }
+        };
+        Thread t1 = new Thread(mover);
+        Thread t2 = new Thread(mover);
+        t1.start();
+        t2.start();
+        while (t1.isAlive() || t2.isAlive()) {
+            State snapshot = new State(state);
+            assertEquals(100, Long.valueOf(snapshot.getDataOf(a)) +
+                    Long.valueOf(snapshot.getDataOf(b)));
+        }
+        t1.join();
+        t2.join();
+        assertEquals(String.valueOf(2 * iterations), state.getDataOf(b));
+    }
+
+    @Test public void clearRemovesAllShards() {
+        for (int i = 0; i < 100; i++) {
+            state.update("x" + i, "1", 1);
+        }
+        state.clear();
+        assertFalse(state.getComponents().iterator().hasNext());
+    }
+}
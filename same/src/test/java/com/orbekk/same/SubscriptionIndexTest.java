@@ -0,0 +1,95 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.orbekk.same.Services.Subscription;
+
+public class SubscriptionIndexTest {
+    private SubscriptionIndex index = new SubscriptionIndex();
+    private State state = new State();
+
+    private Subscription subscription(List<String> ids,
+            List<String> prefixes) {
+        return Subscription.newBuilder()
+                .addAllId(ids)
+                .addAllPrefix(prefixes)
+                .build();
+    }
+
+    private List<String> sorted(Iterable<String> locations) {
+        List<String> result = new ArrayList<String>();
+        for (String location : locations) {
+            result.add(location);
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    @Test public void findsSubscribersByIdAndPrefix() {
+        index.subscribe("a", subscription(list("x"), list("player/")),
+                state);
+        index.subscribe("b", subscription(list("player/1"), list("p")),
+                state);
+        assertEquals(list("a"), sorted(index.getSubscribers("x")));
+        assertEquals(list("a", "b"),
+                sorted(index.getSubscribers("player/1")));
+        assertEquals(list("b"), sorted(index.getSubscribers("players")));
+        assertTrue(index.getSubscribers("y").isEmpty());
+        assertEquals(list("a", "b"),
+                sorted(index.getSubscribers(State.PARTICIPANTS)));
+    }
+
+    @Test public void unsubscribedParticipantsMatchEverything() {
+        index.subscribe("a", subscription(list("x"), list()), state);
+        assertTrue(index.matches("b", "y"));
+        assertTrue(index.matches("a", ".system"));
+        assertFalse(index.matches("a", "y"));
+        index.remove("a");
+        assertTrue(index.isEmpty());
+        assertTrue(index.getSubscribers("x").isEmpty());
+        assertTrue(index.matches("a", "y"));
+    }
+
+    @Test public void returnsNewlySubscribedComponents() {
+        state.update("x", "1", 2);
+        state.update("player/1", "1", 3);
+        state.update("player/2", "1", 4);
+        List<State.Component> added = index.subscribe("a",
+                subscription(list("x", "player/1"), list()), state);
+        assertEquals(2, added.size());
+        added = index.subscribe("a",
+                subscription(list("x"), list("player/")), state);
+        assertEquals(1, added.size());
+        assertEquals("player/2", added.get(0).getName());
+        assertFalse(index.matches("a", "y"));
+    }
+
+    private static List<String> list(String... items) {
+        List<String> result = new ArrayList<String>();
+        Collections.addAll(result, items);
+        return result;
+    }
+}
@@ -16,18 +16,26 @@
 package com.orbekk.same;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
 
+import java.util.Arrays;
 import java.util.List;
 
 import org.codehaus.jackson.type.TypeReference;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.orbekk.same.crdt.PNCounter;
+import com.orbekk.util.DelayedOperation;
+
 public class VariableFactoryTest {
     Client.ClientInterfaceImpl client;
     VariableFactory vf;
@@ -67,6 +75,98 @@ public class VariableFactoryTest {
         assertEquals("CONTENT", list.get().get(0));
     }
     
+    @Test
+    public void decodesOnlyChangedRevisions() {
+        Variable<List<String>> list = vf.create("TestList", listType);
+        List<String> first = list.get();
+        // A new component with the same revision is not decoded again.
+        sampleState.forceUpdate(new State.Component("TestList", 1, "[]"));
+        list.update();
+        assertSame(first, list.get());
+        sampleState.update("TestList", "[]", 2);
+        list.update();
+        assertNotSame(first, list.get());
+    }
+
+    @Test
+    public void refreshesOnChange() {
+        vf.setRefreshOnChange(true);
+        Variable<Integer> v = vf.create("TestVariable", intType);
+        sampleState.update("TestVariable", "2", 2);
+        ((StateChangedListener) v).stateChanged(
+                sampleState.getComponent("TestVariable"));
+        assertEquals(2, (int)v.get());
+        v.set(3);
+        verify(client).set(new State.Component("TestVariable", 2, "3"));
+    }
+
+    @Test
+    public void ignoresOlderComponents() {
+        vf.setRefreshOnChange(true);
+        Variable<Integer> v = vf.create("TestVariable", intType);
+        ((StateChangedListener) v).stateChanged(
+                new State.Component("TestVariable", 3, "3"));
+        // A listener on another thread delivers an older update late.
+        ((StateChangedListener) v).stateChanged(
+                new State.Component("TestVariable", 2, "2"));
+        assertEquals(3, (int)v.get());
+        v.set(4);
+        verify(client).set(new State.Component("TestVariable", 3, "4"));
+    }
+
+    @Test
+    public void resetsWhenComponentIsRemoved() {
+        Variable<Integer> v = vf.create("TestVariable", intType);
+        sampleState.clear();
+        v.update();
+        assertNull(v.get());
+    }
+
+    private DelayedOperation stubMerge() {
+        DelayedOperation op = new DelayedOperation();
+        when(client.merge(any(State.Component.class), anyString()))
+                .thenReturn(op);
+        return op;
+    }
+
+    @Test
+    public void mergePublishesNewValue() {
+        stubMerge();
+        MergeableVariable<PNCounter> counter = vf.createCounter("counter");
+        PNCounter before = counter.get();
+        counter.merge(before.add(counter.getReplicaId(), 2));
+        assertEquals(0, before.value());
+        assertEquals(2, counter.get().value());
+    }
+
+    @Test
+    public void dropsFailedDeltas() {
+        DelayedOperation op = stubMerge();
+        MergeableVariable<PNCounter> counter = vf.createCounter("counter");
+        counter.merge(counter.get().add(counter.getReplicaId(), 2));
+        op.complete(DelayedOperation.Status.createError("Failed."));
+        sampleState.update("counter", "{}", 2);
+        counter.update();
+        assertEquals(0, counter.get().value());
+    }
+
+    @Test
+    public void dropsDeltasOnceTheComponentHasThem() {
+        DelayedOperation op = stubMerge();
+        MergeableVariable<PNCounter> counter = vf.createCounter("counter");
+        counter.merge(counter.get().add(counter.getReplicaId(), 2));
+        op.setRevision(3);
+        op.complete(DelayedOperation.Status.createOk());
+        sampleState.update("counter", "{}", 2);
+        counter.update();
+        assertEquals(2, counter.get().value());
+        // The component at revision 3 is taken to include the delta, so it
+        // is no longer merged in locally.
+        sampleState.update("counter", "{}", 3);
+        counter.update();
+        assertEquals(0, counter.get().value());
+    }
+
     @Test
     public void setsValue() throws Exception {
         Variable<String> string = vf.create("X", stringType);
@@ -75,6 +175,16 @@ public class VariableFactoryTest {
         verify(client).set(new State.Component("X", 0, "\"NewValue\""));
     }
     
+    @Test
+    public void setsInTransaction() throws Exception {
+        Variable<String> x = vf.create("X", stringType);
+        Variable<Integer> y = vf.create("TestVariable", intType);
+        vf.newTransaction().set(x, "NewValue").set(y, 2).commit();
+        verify(client).setAll(Arrays.asList(
+                new State.Component("X", 0, "\"NewValue\""),
+                new State.Component("TestVariable", 1, "2")));
+    }
+    
     @Test
     public void addsListener() throws Exception {
         Variable<String> v = vf.create("X", stringType);
@@ -0,0 +1,92 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same.codec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.codehaus.jackson.type.TypeReference;
+import org.junit.Test;
+
+import com.orbekk.same.Services;
+import com.orbekk.same.Types;
+
+public class CodecsTest {
+    TypeReference<Map<String, Object>> mapType =
+            new TypeReference<Map<String, Object>>() {};
+    TypeReference<List<Long>> longListType =
+            new TypeReference<List<Long>>() {};
+
+    private Map<String, Object> sampleMap() {
+        Map<String, Object> map = new LinkedHashMap<String, Object>();
+        map.put("int", -5);
+        map.put("long", 1L << 40);
+        map.put("double", 0.5);
+        map.put("string", "æøå");
+        map.put("bool", true);
+        map.put("null", null);
+        map.put("list", Arrays.<Object>asList(1, "two", 3.0));
+        return map;
+    }
+
+    @Test public void compactRoundTrip() throws Exception {
+        ValueCodec codec = Codecs.COMPACT;
+        Map<String, Object> map = sampleMap();
+        assertEquals(map, codec.decode(codec.encode(map), mapType));
+    }
+
+    @Test public void compactConvertsToTargetType() throws Exception {
+        ValueCodec codec = Codecs.COMPACT;
+        List<Long> list = codec.decode(codec.encode(Arrays.asList(1, 2, 3)),
+                longListType);
+        assertEquals(Arrays.asList(1L, 2L, 3L), list);
+        assertEquals(Integer.valueOf(7),
+                codec.decode(codec.encode(7), Types.INTEGER));
+    }
+
+    @Test public void compactIsSmallerThanJson() throws Exception {
+        Map<String, Object> map = sampleMap();
+        assertTrue(Codecs.COMPACT.encode(map).length <
+                Codecs.JSON.encode(map).length);
+    }
+
+    @Test public void jsonRoundTrip() throws Exception {
+        ValueCodec codec = Codecs.JSON;
+        assertEquals("\"x\"", new String(codec.encode("x"), "UTF-8"));
+        assertEquals("x", codec.decode(codec.encode("x"), Types.STRING));
+    }
+
+    @Test public void protobufRoundTrip() throws Exception {
+        ValueCodec codec = Codecs.PROTOBUF;
+        Services.ClientState message = Services.ClientState.newBuilder()
+                .setLocation("client:1")
+                .setRevision(10)
+                .build();
+        TypeReference<Services.ClientState> type =
+                new TypeReference<Services.ClientState>() {};
+        assertEquals(message, codec.decode(codec.encode(message), type));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownCodec() {
+        Codecs.get(1000);
+    }
+}
@@ -0,0 +1,73 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same.codec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+import com.orbekk.same.codec.JsonOperations.Operator;
+
+public class JsonOperationsTest {
+    private String apply(Operator operator, String current, String operand,
+            String key) throws IOException {
+        byte[] result = JsonOperations.apply(operator,
+                current == null ? null : current.getBytes("UTF-8"),
+                operand == null ? null : operand.getBytes("UTF-8"), key);
+        return new String(result, "UTF-8");
+    }
+
+    @Test public void addsNumbers() throws Exception {
+        assertEquals("3", apply(Operator.ADD, null, "3", null));
+        assertEquals("1", apply(Operator.ADD, "3", "-2", null));
+        assertEquals("3.5", apply(Operator.ADD, "3", "0.5", null));
+    }
+
+    @Test public void keepsMinAndMax() throws Exception {
+        assertEquals("2", apply(Operator.MIN, "2", "5", null));
+        assertEquals("5", apply(Operator.MAX, "2", "5", null));
+        assertEquals("5", apply(Operator.MIN, null, "5", null));
+    }
+
+    @Test public void updatesLists() throws Exception {
+        assertEquals("[\"a\"]", apply(Operator.APPEND, null, "\"a\"", null));
+        assertEquals("[1,2,1]", apply(Operator.APPEND, "[1,2]", "1", null));
+        assertEquals("[2]", apply(Operator.REMOVE, "[1,2,1]", "1", null));
+    }
+
+    @Test public void updatesObjects() throws Exception {
+        assertEquals("{\"a\":1,\"b\":[2]}",
+                apply(Operator.PUT, "{\"a\":1}", "[2]", "b"));
+        assertEquals("{\"b\":2}",
+                apply(Operator.REMOVE_KEY, "{\"a\":1,\"b\":2}", null, "a"));
+    }
+
+    @Test public void rejectsMismatchedValues() throws Exception {
+        try {
+            apply(Operator.ADD, "\"text\"", "1", null);
+            fail("Added to a string.");
+        } catch (IOException e) {
+        }
+        try {
+            apply(Operator.PUT, "{}", "1", null);
+            fail("Put without a key.");
+        } catch (IOException e) {
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same.codec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.codehaus.jackson.JsonNode;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.junit.Test;
+
+public class JsonPatchTest {
+    ObjectMapper mapper = new ObjectMapper();
+
+    private void assertPatchWorks(String from, String to) throws Exception {
+        byte[] patch = JsonPatch.diff(from.getBytes("UTF-8"),
+                to.getBytes("UTF-8"));
+        byte[] result = JsonPatch.apply(from.getBytes("UTF-8"), patch);
+        JsonNode expected = mapper.readTree(to);
+        assertEquals(expected, mapper.readTree(new String(result, "UTF-8")));
+    }
+
+    @Test public void scalars() throws Exception {
+        assertPatchWorks("1", "2");
+        assertPatchWorks("\"a\"", "[1, 2]");
+        assertPatchWorks("null", "{\"a\": 1}");
+    }
+
+    @Test public void objects() throws Exception {
+        assertPatchWorks("{\"a\": 1, \"b\": {\"c\": 2}}",
+                "{\"b\": {\"c\": 3, \"d\": [1]}, \"e\": true}");
+    }
+
+    @Test public void lists() throws Exception {
+        assertPatchWorks("[1, 2, 3]", "[1, 5, 3, 4]");
+        assertPatchWorks("[1, 2, 3]", "[1]");
+        assertPatchWorks("[[1, 2], {\"x\": 1}]", "[[1], {\"x\": 2}]");
+    }
+
+    @Test public void smallChangeGivesSmallPatch() throws Exception {
+        StringBuilder from = new StringBuilder("[");
+        StringBuilder to = new StringBuilder("[");
+        for (int i = 0; i < 1000; i++) {
+            String separator = i > 0 ? "," : "";
+            from.append(separator + "\"item" + i + "\"");
+            to.append(separator + (i == 500 ? "\"changed\"" : "\"item" + i + "\""));
+        }
+        from.append("]");
+        to.append("]");
+        byte[] patch = JsonPatch.diff(from.toString().getBytes("UTF-8"),
+                to.toString().getBytes("UTF-8"));
+        assertTrue(patch.length < 100);
+        assertPatchWorks(from.toString(), to.toString());
+    }
+
+    @Test(expected = IOException.class)
+    public void invalidPath() throws Exception {
+        JsonPatch.apply("{}".getBytes("UTF-8"),
+                "[{\"op\": \"set\", \"path\": [\"a\", \"b\"], \"value\": 1}]"
+                .getBytes("UTF-8"));
+    }
+}
@@ -17,6 +17,8 @@ package com.orbekk.same.config;
 
 import static org.junit.Assert.*;
 
+import java.util.Properties;
+
 import org.junit.Test;
 
 public class ConfigurationTest {
@@ -29,4 +31,13 @@ public class ConfigurationTest {
                 configuration.get("testProperty"));
                 
     }
+
+    @Test public void optionalProperties() {
+        Properties properties = new Properties();
+        properties.setProperty("heartbeatInterval", "1000");
+        Configuration configuration = new Configuration(properties);
+        assertEquals(1000, configuration.getLong("heartbeatInterval", 0));
+        assertEquals(5, configuration.getInt("maxInFlight", 5));
+        assertEquals(0.5, configuration.getDouble("rate", 0.5), 0);
+    }
 }
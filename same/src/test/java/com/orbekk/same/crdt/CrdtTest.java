@@ -0,0 +1,93 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same.crdt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.codehaus.jackson.type.TypeReference;
+import org.junit.Test;
+
+import com.orbekk.same.codec.Codecs;
+
+public class CrdtTest {
+    @Test public void counterMergeIsIdempotent() {
+        PNCounter a = new PNCounter();
+        PNCounter deltaA = a.add("a", 2);
+        a.merge(deltaA);
+        PNCounter b = new PNCounter();
+        b.merge(b.add("b", -5));
+        a.merge(b);
+        a.merge(b);
+        b.merge(deltaA);
+        assertEquals(-3, a.value());
+        assertEquals(-3, b.value());
+    }
+
+    @Test public void concurrentAddWinsOverRemove() {
+        ORSet<String> a = new ORSet<String>();
+        a.merge(a.add("x"));
+        ORSet<String> b = new ORSet<String>();
+        b.merge(a);
+        ORSet<String> removeX = b.remove("x");
+        ORSet<String> addX = a.add("x");
+        a.merge(addX);
+        a.merge(removeX);
+        b.merge(removeX);
+        assertFalse(b.contains("x"));
+        b.merge(addX);
+        assertTrue(a.contains("x"));
+        assertTrue(b.contains("x"));
+        assertEquals(a.getAdds(), b.getAdds());
+    }
+
+    @Test public void lastWriterWins() {
+        LwwMap<Integer> map = new LwwMap<Integer>();
+        LwwMap<Integer> first = map.put("k", 1, "a");
+        map.merge(first);
+        LwwMap<Integer> second = map.put("k", 2, "b");
+        LwwMap<Integer> removal = map.remove("j", "b");
+        map.merge(second);
+        map.merge(first);
+        map.merge(removal);
+        assertEquals(Integer.valueOf(2), map.valueOf("k"));
+        assertEquals(new HashSet<String>(Arrays.asList("k")),
+                map.toMap().keySet());
+    }
+
+    @Test public void mergesEncodedValues() throws Exception {
+        ORSet<String> set = new ORSet<String>();
+        byte[] value = Crdts.OR_SET.merge(null,
+                Codecs.JSON.encode(set.add("x")));
+        value = Crdts.OR_SET.merge(value, Codecs.JSON.encode(set.add("y")));
+        ORSet<String> decoded = Codecs.JSON.decode(value,
+                new TypeReference<ORSet<String>>() {});
+        assertEquals(new HashSet<String>(Arrays.asList("x", "y")),
+                decoded.elements());
+
+        PNCounter counter = new PNCounter();
+        byte[] counterValue = Crdts.PN_COUNTER.merge(null,
+                Codecs.JSON.encode(counter.add("a", 3)));
+        counterValue = Crdts.PN_COUNTER.merge(counterValue,
+                Codecs.JSON.encode(counter.add("b", -1)));
+        assertEquals(2, Codecs.JSON.decode(counterValue,
+                new TypeReference<PNCounter>() {}).value());
+    }
+}
@@ -0,0 +1,159 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.same.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.orbekk.same.State;
+import com.orbekk.same.State.Component;
+
+public class StateStorageTest {
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+    File directory;
+    StateStorage storage;
+    State state = new State();
+
+    @Before public void setUp() throws Exception {
+        directory = folder.newFolder("data");
+        storage = new StateStorage(directory);
+        storage.attach(state);
+    }
+
+    @After public void tearDown() throws Exception {
+        storage.close();
+    }
+
+    private State recover() throws Exception {
+        storage.close();
+        State recovered = new State();
+        new StateStorage(directory).recoverInto(recovered);
+        return recovered;
+    }
+
+    @Test public void recoversFromLog() throws Exception {
+        state.update("x", "1", 2);
+        state.update("x", "2", 3);
+        state.update("y", "3", 4);
+        assertTrue(storage.awaitDurable());
+        State recovered = recover();
+        assertEquals("2", recovered.getDataOf("x"));
+        assertEquals(3, recovered.getRevision("x"));
+        assertEquals("3", recovered.getDataOf("y"));
+    }
+
+    @Test public void recoversFromSnapshotAndLog() throws Exception {
+        state.update("x", "1", 2);
+        storage.snapshot();
+        state.update("y", "2", 3);
+        storage.snapshot();
+        state.update("z", "3", 4);
+        State recovered = recover();
+        assertEquals("1", recovered.getDataOf("x"));
+        assertEquals("2", recovered.getDataOf("y"));
+        assertEquals("3", recovered.getDataOf("z"));
+        assertEquals(1, directory.list(new java.io.FilenameFilter() {
+            @Override public boolean accept(File dir, String name) {
+                return name.startsWith("snapshot-");
+            }
+        }).length);
+    }
+
+    @Test public void snapshotSpansSeveralBuffers() throws Exception {
+        StringBuilder large = new StringBuilder();
+        for (int i = 0; i < (3 << 20) / 8; i++) {
+            large.append("01234567");
+        }
+        state.update("large", large.toString(), 2);
+        for (int i = 0; i < 20000; i++) {
+            state.update("x" + i, "value" + i, 3);
+        }
+        storage.snapshot();
+        State recovered = recover();
+        assertEquals(large.toString(), recovered.getDataOf("large"));
+        assertEquals("value19999", recovered.getDataOf("x19999"));
+        assertEquals("value0", recovered.getDataOf("x0"));
+    }
+
+    @Test public void loggedComponentIsNotLoggedAgain() throws Exception {
+        Component x = new Component("x", 2, "1");
+        assertTrue(storage.log(Collections.singletonList(x)));
+        state.update(x);
+        storage.close();
+        State recovered = new State();
+        // The snapshot has State.PARTICIPANTS, and the log has 'x' once.
+        assertEquals(2, new StateStorage(directory).recoverInto(recovered));
+        assertEquals("1", recovered.getDataOf("x"));
+    }
+
+    @Test public void snapshotWaitsForLoggedComponents() throws Exception {
+        Component x = new Component("x", 2, "1");
+        assertTrue(storage.log(Collections.singletonList(x)));
+        Thread snapshot = new Thread(new Runnable() {
+            @Override public void run() {
+                try {
+                    storage.snapshot();
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        });
+        snapshot.start();
+        snapshot.join(100);
+        assertTrue(snapshot.isAlive());
+        state.update(x);
+        snapshot.join();
+        assertEquals("1", recover().getDataOf("x"));
+    }
+
+    @Test public void ignoresTornRecord() throws Exception {
+        state.update("x", "1", 2);
+        storage.close();
+        File[] logs = directory.listFiles();
+        File last = null;
+        for (File file : logs) {
+            if (file.getName().startsWith("wal-") &&
+                    (last == null || file.getName().compareTo(last.getName()) > 0)) {
+                last = file;
+            }
+        }
+        appendGarbage(last);
+        State recovered = recover();
+        assertEquals("1", recovered.getDataOf("x"));
+        assertNull(recovered.getComponent("y"));
+    }
+
+    private void appendGarbage(File file) throws IOException {
+        FileOutputStream out = new FileOutputStream(file, true);
+        try {
+            out.write(new byte[] { 0, 0, 0, 100, 1, 2, 3, 4, 5 });
+        } finally {
+            out.close();
+        }
+    }
+}
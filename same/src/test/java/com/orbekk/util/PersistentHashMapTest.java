@@ -0,0 +1,108 @@
+/**
+ * Copyright 2012 Kjetil Ørbekk <kjetil.orbekk@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orbekk.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class PersistentHashMapTest {
+    /** A key with a configurable hash code. */
+    private static class Key {
+        final String name;
+        final int hash;
+
+        Key(String name, int hash) {
+            this.name = name;
+            this.hash = hash;
+        }
+
+        @Override public int hashCode() {
+            return hash;
+        }
+
+        @Override public boolean equals(Object other) {
+            return other instanceof Key && ((Key)other).name.equals(name);
+        }
+    }
+
+    @Test public void emptyMap() {
+        PersistentHashMap<String, String> map = PersistentHashMap.empty();
+        assertEquals(0, map.size());
+        assertNull(map.get("a"));
+        assertEquals(false, map.values().iterator().hasNext());
+    }
+
+    @Test public void putDoesNotModifyOldVersion() {
+        PersistentHashMap<String, String> m1 =
+                PersistentHashMap.<String, String>empty().put("a", "1");
+        PersistentHashMap<String, String> m2 = m1.put("a", "2").put("b", "3");
+        assertEquals("1", m1.get("a"));
+        assertNull(m1.get("b"));
+        assertEquals(1, m1.size());
+        assertEquals("2", m2.get("a"));
+        assertEquals("3", m2.get("b"));
+        assertEquals(2, m2.size());
+    }
+
+    @Test public void putSameValueReturnsSameMap() {
+        PersistentHashMap<String, String> m1 =
+                PersistentHashMap.<String, String>empty().put("a", "1");
+        assertSame(m1, m1.put("a", m1.get("a")));
+    }
+
+    @Test public void manyKeys() {
+        PersistentHashMap<Integer, Integer> map = PersistentHashMap.empty();
+        Map<Integer, Integer> expected = new HashMap<Integer, Integer>();
+        for (int i = 0; i < 100000; i++) {
+            int key = i * 7919;
+            map = map.put(key, i);
+            expected.put(key, i);
+        }
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Integer, Integer> e : expected.entrySet()) {
+            assertEquals(e.getValue(), map.get(e.getKey()));
+        }
+        int count = 0;
+        for (Integer unused : map.values()) {
+            count += 1;
+        }
+        assertEquals(expected.size(), count);
+    }
+
+    @Test public void hashCollisions() {
+        PersistentHashMap<Key, String> map = PersistentHashMap.empty();
+        map = map.put(new Key("a", 42), "a")
+                .put(new Key("b", 42), "b")
+                .put(new Key("c", 42 + (1 << 20)), "c")
+                .put(new Key("b", 42), "B");
+        assertEquals(3, map.size());
+        assertEquals("a", map.get(new Key("a", 42)));
+        assertEquals("B", map.get(new Key("b", 42)));
+        assertEquals("c", map.get(new Key("c", 42 + (1 << 20))));
+        assertNull(map.get(new Key("d", 42)));
+        int count = 0;
+        for (String unused : map.values()) {
+            count += 1;
+        }
+        assertEquals(3, count);
+    }
+}